@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -20,6 +21,7 @@ import com.aixone.directory.group.application.dto.UpdateGroupRequest;
 import com.aixone.directory.group.domain.aggregate.Group;
 import com.aixone.directory.group.domain.repository.GroupRepository;
 import com.aixone.directory.group.infrastructure.persistence.GroupMapper;
+import com.aixone.directory.permission.domain.event.RoleBindingChangedEvent;
 import com.aixone.directory.user.infrastructure.persistence.dbo.UserDbo;
 import com.aixone.directory.role.infrastructure.persistence.dbo.RoleDbo;
 import com.aixone.directory.group.infrastructure.persistence.dbo.GroupDbo;
@@ -49,6 +51,7 @@ public class GroupApplicationService {
     private final UserDtoMapper userDtoMapper;
     private final RoleJpaRepository roleJpaRepository;
     private final RoleMapper roleMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public GroupDto createGroup(String tenantId, CreateGroupRequest request) {
@@ -62,6 +65,7 @@ public class GroupApplicationService {
         Group group = findGroupAndCheckTenant(tenantId, groupId);
         group.addMember(request.getUserId());
         groupRepository.save(group);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(tenantId, Set.of(request.getUserId())));
     }
     
     @Transactional
@@ -69,6 +73,7 @@ public class GroupApplicationService {
         Group group = findGroupAndCheckTenant(tenantId, groupId);
         group.removeMember(userId);
         groupRepository.save(group);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(tenantId, Set.of(userId)));
     }
     
     @Transactional(readOnly = true)
@@ -91,6 +96,8 @@ public class GroupApplicationService {
     public void deleteGroup(String tenantId, String groupId) {
         Group group = findGroupAndCheckTenant(tenantId, groupId);
         groupRepository.deleteById(groupId);
+        // 原成员不再继承该组的角色
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(tenantId, group.getMembers()));
     }
 
     @Transactional(readOnly = true)
@@ -137,10 +144,13 @@ public class GroupApplicationService {
             }
         }
         
-        // 批量替换成员
+        // 批量替换成员，移出与加入的成员都需要刷新有效角色
+        Set<String> affectedUserIds = new java.util.HashSet<>(group.getMembers());
+        users.forEach(user -> affectedUserIds.add(user.getId()));
         groupDbo.getUsers().clear();
         groupDbo.getUsers().addAll(users);
         groupJpaRepository.save(groupDbo);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(tenantId, affectedUserIds));
     }
 
     @Transactional
@@ -156,6 +166,7 @@ public class GroupApplicationService {
         
         group.addMember(userId);
         groupRepository.save(group);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(tenantId, Set.of(userId)));
     }
 
     @Transactional
@@ -176,6 +187,7 @@ public class GroupApplicationService {
         groupDbo.getRoles().clear();
         groupDbo.getRoles().addAll(roles);
         groupJpaRepository.save(groupDbo);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofGroups(tenantId, Set.of(groupId)));
     }
 
     @Transactional
@@ -191,6 +203,7 @@ public class GroupApplicationService {
         
         group.addRole(roleId);
         groupRepository.save(group);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofGroups(tenantId, Set.of(groupId)));
     }
 
     @Transactional
@@ -198,6 +211,7 @@ public class GroupApplicationService {
         Group group = findGroupAndCheckTenant(tenantId, groupId);
         group.removeRole(roleId);
         groupRepository.save(group);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofGroups(tenantId, Set.of(groupId)));
     }
 
     // 保留旧方法以兼容（已废弃，建议使用新方法）
@@ -208,6 +222,7 @@ public class GroupApplicationService {
         Set<UserDbo> users = new java.util.HashSet<>(userJpaRepository.findAllById(userIds));
         group.getUsers().addAll(users);
         groupJpaRepository.save(group);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(group.getTenantId(), userIds));
     }
 
     @Deprecated
@@ -216,6 +231,7 @@ public class GroupApplicationService {
         GroupDbo group = groupJpaRepository.findById(groupId).orElseThrow();
         group.getUsers().removeIf(u -> userIds.contains(u.getId()));
         groupJpaRepository.save(group);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(group.getTenantId(), userIds));
     }
 
     @Deprecated
@@ -225,6 +241,7 @@ public class GroupApplicationService {
         Set<RoleDbo> roles = new java.util.HashSet<>(roleJpaRepository.findAllById(roleIds));
         group.getRoles().addAll(roles);
         groupJpaRepository.save(group);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofGroups(group.getTenantId(), Set.of(groupId)));
     }
 
     @Deprecated
@@ -233,6 +250,7 @@ public class GroupApplicationService {
         GroupDbo group = groupJpaRepository.findById(groupId).orElseThrow();
         group.getRoles().removeIf(r -> roleIds.contains(r.getId()));
         groupJpaRepository.save(group);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofGroups(group.getTenantId(), Set.of(groupId)));
     }
 
     private Group findGroupAndCheckTenant(String tenantId, String groupId) {
@@ -2,37 +2,53 @@ package com.aixone.directory.group.infrastructure.persistence;
 
 import com.aixone.directory.group.domain.aggregate.Group;
 import com.aixone.directory.group.domain.repository.GroupRepository;
+import com.aixone.directory.group.infrastructure.persistence.dbo.GroupDbo;
+import com.aixone.directory.role.infrastructure.persistence.RoleJpaRepository;
+import com.aixone.directory.user.infrastructure.persistence.UserJpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Repository
 public class PostgresGroupRepository implements GroupRepository {
 
     private final GroupJpaRepository jpaRepository;
     private final GroupMapper mapper;
+    private final UserJpaRepository userJpaRepository;
+    private final RoleJpaRepository roleJpaRepository;
 
-    public PostgresGroupRepository(GroupJpaRepository jpaRepository, GroupMapper mapper) {
+    public PostgresGroupRepository(GroupJpaRepository jpaRepository, GroupMapper mapper,
+                                   UserJpaRepository userJpaRepository, RoleJpaRepository roleJpaRepository) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
+        this.userJpaRepository = userJpaRepository;
+        this.roleJpaRepository = roleJpaRepository;
     }
 
     @Override
     public void save(Group group) {
-        // Temporarily disabled
+        GroupDbo dbo = jpaRepository.findById(group.getId()).orElseGet(() -> mapper.toDbo(group));
+        dbo.setName(group.getName());
+        dbo.setUpdatedAt(group.getUpdatedAt());
+        // 成员与角色保存在 group_members、group_roles 关联表中，按聚合中的ID集合同步
+        dbo.setUsers(new HashSet<>(userJpaRepository.findAllById(group.getMembers())));
+        dbo.setRoles(new HashSet<>(roleJpaRepository.findAllById(group.getRoles())));
+        jpaRepository.save(dbo);
     }
 
     @Override
     public Optional<Group> findById(String id) {
-        return Optional.empty();
+        return jpaRepository.findById(id).map(mapper::toDomain);
     }
 
     @Override
     public List<Group> findByTenantId(String tenantId) {
-        return Collections.emptyList();
+        return jpaRepository.findByTenantId(tenantId).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -40,4 +56,3 @@ public class PostgresGroupRepository implements GroupRepository {
         jpaRepository.deleteById(id);
     }
 }
-
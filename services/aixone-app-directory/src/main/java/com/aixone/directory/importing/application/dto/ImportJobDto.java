@@ -0,0 +1,35 @@
+package com.aixone.directory.importing.application.dto;
+
+import com.aixone.directory.importing.domain.aggregate.ImportEntityType;
+import com.aixone.directory.importing.domain.aggregate.ImportFormat;
+import com.aixone.directory.importing.domain.aggregate.ImportJobStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导入任务DTO
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Data
+public class ImportJobDto {
+
+    private String id;
+    private String tenantId;
+    private ImportEntityType entityType;
+    private ImportFormat format;
+    private String sourceName;
+    private ImportJobStatus status;
+    private long processedRows;
+    private long insertedRows;
+    private long updatedRows;
+    private long failedRows;
+    private long checkpointLine;
+    private double rowsPerSecond;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime createdAt;
+}
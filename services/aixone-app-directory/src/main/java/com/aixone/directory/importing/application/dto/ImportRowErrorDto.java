@@ -0,0 +1,20 @@
+package com.aixone.directory.importing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 导入行错误DTO
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDto {
+
+    private long lineNumber;
+    private String message;
+}
@@ -0,0 +1,37 @@
+package com.aixone.directory.importing.domain.aggregate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.Getter;
+
+/**
+ * 单个分块的写入结果
+ * 记录新增、更新行数、行错误，以及角色绑定可能发生变化的用户和用户组
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Getter
+public class ImportChunkResult {
+
+    private int inserted;
+    private int updated;
+    private final List<ImportRowError> errors = new ArrayList<>();
+    private final Set<String> affectedUserIds = new LinkedHashSet<>();
+    private final Set<String> affectedGroupIds = new LinkedHashSet<>();
+
+    public void inserted() {
+        inserted++;
+    }
+
+    public void updated() {
+        updated++;
+    }
+
+    public void error(ImportRecord record, String message) {
+        errors.add(new ImportRowError(record.getLineNumber(), message));
+    }
+}
@@ -0,0 +1,26 @@
+package com.aixone.directory.importing.domain.aggregate;
+
+/**
+ * 导入对象类型
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public enum ImportEntityType {
+    /**
+     * 用户，按（租户、邮箱）更新或新增，可同时加入用户组、部门
+     */
+    USER,
+    /**
+     * 用户组，按（租户、名称）更新或新增
+     */
+    GROUP,
+    /**
+     * 部门，按部门ID更新或新增，上级部门需先于下级部门出现
+     */
+    DEPARTMENT,
+    /**
+     * 角色绑定，为用户或用户组授予角色
+     */
+    ROLE_BINDING
+}
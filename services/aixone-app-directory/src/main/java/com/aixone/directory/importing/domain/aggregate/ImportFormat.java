@@ -0,0 +1,18 @@
+package com.aixone.directory.importing.domain.aggregate;
+
+/**
+ * 导入文件格式
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public enum ImportFormat {
+    /**
+     * 首行为表头的CSV，字段不支持跨行
+     */
+    CSV,
+    /**
+     * 每行一个JSON对象（JSON Lines）
+     */
+    JSONL
+}
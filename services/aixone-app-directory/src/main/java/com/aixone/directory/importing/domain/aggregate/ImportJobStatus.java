@@ -0,0 +1,13 @@
+package com.aixone.directory.importing.domain.aggregate;
+
+/**
+ * 导入任务状态
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public enum ImportJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,89 @@
+package com.aixone.directory.importing.domain.aggregate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 导入记录
+ * 源文件中的一行，字段名区分大小写；多值字段以 "|" 分隔。
+ * 解析失败的行以 parseError 表示，由调用方记为行错误。
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public final class ImportRecord {
+
+    /**
+     * 多值字段分隔符
+     */
+    public static final String LIST_SEPARATOR = "|";
+
+    private final long lineNumber;
+    private final Map<String, String> fields;
+    private final String parseError;
+
+    private ImportRecord(long lineNumber, Map<String, String> fields, String parseError) {
+        this.lineNumber = lineNumber;
+        this.fields = fields;
+        this.parseError = parseError;
+    }
+
+    public static ImportRecord of(long lineNumber, Map<String, String> fields) {
+        return new ImportRecord(lineNumber, Collections.unmodifiableMap(new HashMap<>(fields)), null);
+    }
+
+    public static ImportRecord invalid(long lineNumber, String parseError) {
+        return new ImportRecord(lineNumber, Collections.emptyMap(), parseError);
+    }
+
+    /**
+     * 源文件行号，从1开始
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getParseError() {
+        return parseError;
+    }
+
+    /**
+     * 读取字段，空白值视为未提供
+     */
+    public String get(String name) {
+        String value = fields.get(name);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * 读取多值字段
+     */
+    public List<String> getList(String name) {
+        String value = get(name);
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split("\\|"))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * 返回替换了一个字段的新记录
+     */
+    public ImportRecord with(String name, String value) {
+        Map<String, String> copy = new HashMap<>(fields);
+        copy.put(name, value);
+        return new ImportRecord(lineNumber, Collections.unmodifiableMap(copy), parseError);
+    }
+
+    @Override
+    public String toString() {
+        return "ImportRecord{line=" + lineNumber + ", fields=" + fields.keySet() + "}";
+    }
+}
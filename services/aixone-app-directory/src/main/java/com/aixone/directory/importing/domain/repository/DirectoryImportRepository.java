@@ -0,0 +1,41 @@
+package com.aixone.directory.importing.domain.repository;
+
+import com.aixone.directory.importing.domain.aggregate.ImportChunkResult;
+import com.aixone.directory.importing.domain.aggregate.ImportRecord;
+
+import java.util.List;
+
+/**
+ * 目录批量写入仓储接口
+ * 每个方法处理一个分块：引用解析为每类引用一次查询，写入为批量语句；
+ * 引用无法解析的行记为行错误，不影响同一分块的其他行。调用方负责事务。
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public interface DirectoryImportRepository {
+
+    /**
+     * 导入用户
+     * 字段：email、username、hashedPassword（新用户必填）、status、groups（用户组名称）、departments（部门ID）
+     */
+    ImportChunkResult importUsers(String tenantId, List<ImportRecord> records);
+
+    /**
+     * 导入用户组
+     * 字段：name
+     */
+    ImportChunkResult importGroups(String tenantId, List<ImportRecord> records);
+
+    /**
+     * 导入部门
+     * 字段：id、organizationId、name、parentId
+     */
+    ImportChunkResult importDepartments(String tenantId, List<ImportRecord> records);
+
+    /**
+     * 导入角色绑定
+     * 字段：role（角色名称），以及 user（邮箱）或 group（用户组名称）之一
+     */
+    ImportChunkResult importRoleBindings(String tenantId, List<ImportRecord> records);
+}
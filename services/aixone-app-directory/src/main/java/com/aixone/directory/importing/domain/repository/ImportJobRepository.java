@@ -0,0 +1,32 @@
+package com.aixone.directory.importing.domain.repository;
+
+import com.aixone.directory.importing.domain.aggregate.ImportJob;
+import com.aixone.directory.importing.domain.aggregate.ImportRowError;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 导入任务仓储接口
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public interface ImportJobRepository {
+
+    ImportJob save(ImportJob job);
+
+    Optional<ImportJob> findById(String id);
+
+    Optional<ImportJob> findByTenantIdAndId(String tenantId, String id);
+
+    /**
+     * 保存行错误
+     */
+    void saveErrors(String jobId, List<ImportRowError> errors);
+
+    /**
+     * 按行号顺序查询行错误
+     */
+    List<ImportRowError> findErrors(String jobId, int limit);
+}
@@ -0,0 +1,19 @@
+package com.aixone.directory.importing.infrastructure.persistence;
+
+import com.aixone.directory.importing.infrastructure.persistence.dbo.ImportJobDbo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 导入任务JPA仓储
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Repository
+public interface ImportJobJpaRepository extends JpaRepository<ImportJobDbo, String> {
+
+    Optional<ImportJobDbo> findByTenantIdAndId(String tenantId, String id);
+}
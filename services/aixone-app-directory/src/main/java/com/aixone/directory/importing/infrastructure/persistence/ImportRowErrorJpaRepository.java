@@ -0,0 +1,20 @@
+package com.aixone.directory.importing.infrastructure.persistence;
+
+import com.aixone.directory.importing.infrastructure.persistence.dbo.ImportRowErrorDbo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 导入行错误JPA仓储
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Repository
+public interface ImportRowErrorJpaRepository extends JpaRepository<ImportRowErrorDbo, String> {
+
+    List<ImportRowErrorDbo> findByJobIdOrderByLineNumber(String jobId, Pageable pageable);
+}
@@ -0,0 +1,394 @@
+package com.aixone.directory.importing.infrastructure.persistence;
+
+import com.aixone.directory.importing.domain.aggregate.ImportChunkResult;
+import com.aixone.directory.importing.domain.aggregate.ImportRecord;
+import com.aixone.directory.importing.domain.repository.DirectoryImportRepository;
+import com.aixone.directory.organization.domain.repository.DepartmentHierarchyRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 目录批量写入仓储实现
+ * 直接使用JDBC批量语句，绕过聚合加载与持久化上下文；
+ * 「更新或新增」通过每类键一次 IN 查询区分，关联表以 NOT EXISTS 插入保证幂等，
+ * 语句只使用 H2（PostgreSQL 模式）与 PostgreSQL 共有的语法。
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Repository
+public class JdbcDirectoryImportRepository implements DirectoryImportRepository {
+
+    private static final String DEFAULT_USER_STATUS = "ACTIVE";
+
+    private static final String INSERT_USER = "INSERT INTO users "
+            + "(id, tenant_id, email, hashed_password, username, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_USER_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private static final String UPDATE_USER = "UPDATE users SET username = ?, status = COALESCE(?, status), "
+            + "hashed_password = COALESCE(?, hashed_password), updated_at = ? WHERE id = ?";
+    private static final int[] UPDATE_USER_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.VARCHAR};
+
+    private static final String INSERT_GROUP = "INSERT INTO groups (id, tenant_id, name, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    private static final int[] INSERT_GROUP_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private static final String INSERT_DEPARTMENT = "INSERT INTO departments "
+            + "(id, organization_id, tenant_id, name, parent_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_DEPARTMENT_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private static final String UPDATE_DEPARTMENT_NAME = "UPDATE departments SET name = ?, updated_at = ? WHERE id = ?";
+    private static final String UPDATE_DEPARTMENT_PARENT = "UPDATE departments SET parent_id = ?, updated_at = ? WHERE id = ?";
+    private static final int[] UPDATE_DEPARTMENT_TYPES = {Types.VARCHAR, Types.TIMESTAMP, Types.VARCHAR};
+
+    private static final String INSERT_GROUP_MEMBER = insertLink("group_members", "group_id", "user_id");
+    private static final String INSERT_DEPARTMENT_MEMBER = insertLink("department_members", "department_id", "user_id");
+    private static final String INSERT_USER_ROLE = insertLink("user_roles", "user_id", "role_id");
+    private static final String INSERT_GROUP_ROLE = insertLink("group_roles", "group_id", "role_id");
+    private static final int[] LINK_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DepartmentHierarchyRepository departmentHierarchyRepository;
+
+    public JdbcDirectoryImportRepository(JdbcTemplate jdbcTemplate, DepartmentHierarchyRepository departmentHierarchyRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.departmentHierarchyRepository = departmentHierarchyRepository;
+    }
+
+    @Override
+    public ImportChunkResult importUsers(String tenantId, List<ImportRecord> records) {
+        ImportChunkResult result = new ImportChunkResult();
+        Map<String, String> userIds = lookup("SELECT id, email FROM users WHERE tenant_id = :tenantId AND email IN (:keys)",
+                tenantId, values(records, "email"));
+        Map<String, String> groupIds = lookup("SELECT id, name FROM groups WHERE tenant_id = :tenantId AND name IN (:keys)",
+                tenantId, listValues(records, "groups"));
+        Map<String, String> departmentIds = lookup("SELECT id, id FROM departments WHERE tenant_id = :tenantId AND id IN (:keys)",
+                tenantId, listValues(records, "departments"));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> groupMembers = new ArrayList<>();
+        List<Object[]> departmentMembers = new ArrayList<>();
+        for (ImportRecord record : records) {
+            List<String> groups = record.getList("groups");
+            List<String> departments = record.getList("departments");
+            String missingGroup = firstMissing(groups, groupIds);
+            if (missingGroup != null) {
+                result.error(record, "用户组不存在: " + missingGroup);
+                continue;
+            }
+            String missingDepartment = firstMissing(departments, departmentIds);
+            if (missingDepartment != null) {
+                result.error(record, "部门不存在: " + missingDepartment);
+                continue;
+            }
+
+            String email = record.get("email");
+            String userId = userIds.get(email);
+            if (userId == null) {
+                if (record.get("hashedPassword") == null) {
+                    result.error(record, "新用户必须提供 password 或 hashedPassword");
+                    continue;
+                }
+                userId = UUID.randomUUID().toString();
+                userIds.put(email, userId);
+                String status = record.get("status");
+                inserts.add(new Object[]{userId, tenantId, email, record.get("hashedPassword"), record.get("username"),
+                        status != null ? status : DEFAULT_USER_STATUS, now, now});
+                result.inserted();
+            } else {
+                updates.add(new Object[]{record.get("username"), record.get("status"), record.get("hashedPassword"), now, userId});
+                result.updated();
+            }
+
+            for (String group : groups) {
+                groupMembers.add(link(groupIds.get(group), userId));
+            }
+            if (!groups.isEmpty()) {
+                result.getAffectedUserIds().add(userId);
+            }
+            for (String department : departments) {
+                departmentMembers.add(link(department, userId));
+            }
+        }
+
+        batch(INSERT_USER, inserts, INSERT_USER_TYPES);
+        batch(UPDATE_USER, updates, UPDATE_USER_TYPES);
+        batch(INSERT_GROUP_MEMBER, groupMembers, LINK_TYPES);
+        batch(INSERT_DEPARTMENT_MEMBER, departmentMembers, LINK_TYPES);
+        return result;
+    }
+
+    @Override
+    public ImportChunkResult importGroups(String tenantId, List<ImportRecord> records) {
+        ImportChunkResult result = new ImportChunkResult();
+        Map<String, String> groupIds = lookup("SELECT id, name FROM groups WHERE tenant_id = :tenantId AND name IN (:keys)",
+                tenantId, values(records, "name"));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        for (ImportRecord record : records) {
+            String name = record.get("name");
+            if (groupIds.containsKey(name)) {
+                // 用户组除名称外没有可更新的字段
+                result.updated();
+                continue;
+            }
+            String groupId = UUID.randomUUID().toString();
+            groupIds.put(name, groupId);
+            inserts.add(new Object[]{groupId, tenantId, name, now, now});
+            result.inserted();
+        }
+
+        batch(INSERT_GROUP, inserts, INSERT_GROUP_TYPES);
+        return result;
+    }
+
+    @Override
+    public ImportChunkResult importDepartments(String tenantId, List<ImportRecord> records) {
+        ImportChunkResult result = new ImportChunkResult();
+        Set<String> keys = new LinkedHashSet<>(values(records, "id"));
+        keys.addAll(values(records, "parentId"));
+        Map<String, DepartmentRow> existing = findDepartments(keys);
+        Set<String> organizationIds = lookup("SELECT id, id FROM organizations WHERE tenant_id = :tenantId AND id IN (:keys)",
+                tenantId, values(records, "organizationId")).keySet();
+
+        // 已知部门（库中或本分块中先出现的）所属组织与上级部门
+        Map<String, String> organizationOf = new HashMap<>();
+        Map<String, String> parentOf = new HashMap<>();
+        existing.forEach((id, row) -> {
+            if (tenantId.equals(row.tenantId())) {
+                organizationOf.put(id, row.organizationId());
+                parentOf.put(id, row.parentId());
+            }
+        });
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<String[]> created = new ArrayList<>();
+        List<Object[]> renames = new ArrayList<>();
+        for (ImportRecord record : records) {
+            String id = record.get("id");
+            String organizationId = record.get("organizationId");
+            String parentId = record.get("parentId");
+            DepartmentRow current = existing.get(id);
+            if (current != null && !tenantId.equals(current.tenantId())) {
+                result.error(record, "部门ID已被其他租户使用: " + id);
+                continue;
+            }
+            if (!organizationIds.contains(organizationId)) {
+                result.error(record, "组织不存在: " + organizationId);
+                continue;
+            }
+            boolean known = organizationOf.containsKey(id);
+            if (known && !organizationOf.get(id).equals(organizationId)) {
+                result.error(record, "不支持变更部门所属组织: " + id);
+                continue;
+            }
+            if (parentId != null) {
+                String parentOrganizationId = organizationOf.get(parentId);
+                if (parentOrganizationId == null) {
+                    result.error(record, "上级部门不存在（上级部门需先于下级部门导入）: " + parentId);
+                    continue;
+                }
+                if (!parentOrganizationId.equals(organizationId)) {
+                    result.error(record, "上级部门不属于同一组织: " + parentId);
+                    continue;
+                }
+            }
+
+            if (!known) {
+                inserts.add(new Object[]{id, organizationId, tenantId, record.get("name"), parentId, now, now});
+                created.add(new String[]{id, parentId});
+                organizationOf.put(id, organizationId);
+                parentOf.put(id, parentId);
+                result.inserted();
+                continue;
+            }
+            if (!Objects.equals(parentOf.get(id), parentId)) {
+                // 移动很少见，逐条执行：先写入之前积累的新部门，环检测基于已生效的层级
+                insertDepartments(tenantId, inserts, created);
+                if (parentId != null && departmentHierarchyRepository.isInSubtree(id, parentId)) {
+                    result.error(record, "上级部门不能是部门自身或其下级部门: " + parentId);
+                    continue;
+                }
+                jdbcTemplate.update(UPDATE_DEPARTMENT_PARENT, new Object[]{parentId, now, id}, UPDATE_DEPARTMENT_TYPES);
+                departmentHierarchyRepository.move(id, parentId);
+                parentOf.put(id, parentId);
+            }
+            renames.add(new Object[]{record.get("name"), now, id});
+            result.updated();
+        }
+
+        insertDepartments(tenantId, inserts, created);
+        batch(UPDATE_DEPARTMENT_NAME, renames, UPDATE_DEPARTMENT_TYPES);
+        return result;
+    }
+
+    /**
+     * 批量写入积累的新部门并按出现顺序登记层级（上级先于下级）
+     */
+    private void insertDepartments(String tenantId, List<Object[]> inserts, List<String[]> created) {
+        batch(INSERT_DEPARTMENT, inserts, INSERT_DEPARTMENT_TYPES);
+        for (String[] department : created) {
+            departmentHierarchyRepository.insert(tenantId, department[0], department[1]);
+        }
+        inserts.clear();
+        created.clear();
+    }
+
+    @Override
+    public ImportChunkResult importRoleBindings(String tenantId, List<ImportRecord> records) {
+        ImportChunkResult result = new ImportChunkResult();
+        Map<String, String> roleIds = lookup("SELECT role_id, name FROM roles WHERE tenant_id = :tenantId AND name IN (:keys)",
+                tenantId, values(records, "role"));
+        Map<String, String> userIds = lookup("SELECT id, email FROM users WHERE tenant_id = :tenantId AND email IN (:keys)",
+                tenantId, values(records, "user"));
+        Map<String, String> groupIds = lookup("SELECT id, name FROM groups WHERE tenant_id = :tenantId AND name IN (:keys)",
+                tenantId, values(records, "group"));
+
+        List<Object[]> userRoles = new ArrayList<>();
+        List<Object[]> groupRoles = new ArrayList<>();
+        for (ImportRecord record : records) {
+            String roleId = roleIds.get(record.get("role"));
+            if (roleId == null) {
+                result.error(record, "角色不存在: " + record.get("role"));
+                continue;
+            }
+            if (record.get("user") != null) {
+                String userId = userIds.get(record.get("user"));
+                if (userId == null) {
+                    result.error(record, "用户不存在: " + record.get("user"));
+                    continue;
+                }
+                userRoles.add(link(userId, roleId));
+                result.getAffectedUserIds().add(userId);
+            } else {
+                String groupId = groupIds.get(record.get("group"));
+                if (groupId == null) {
+                    result.error(record, "用户组不存在: " + record.get("group"));
+                    continue;
+                }
+                groupRoles.add(link(groupId, roleId));
+                result.getAffectedGroupIds().add(groupId);
+            }
+        }
+
+        for (int count : concat(batch(INSERT_USER_ROLE, userRoles, LINK_TYPES), batch(INSERT_GROUP_ROLE, groupRoles, LINK_TYPES))) {
+            // 已存在的绑定不会重复插入，计为更新
+            if (count == 0) {
+                result.updated();
+            } else {
+                result.inserted();
+            }
+        }
+        return result;
+    }
+
+    private Map<String, DepartmentRow> findDepartments(Collection<String> ids) {
+        Map<String, DepartmentRow> rows = new HashMap<>();
+        if (ids.isEmpty()) {
+            return rows;
+        }
+        namedParameterJdbcTemplate.query(
+                "SELECT id, tenant_id, organization_id, parent_id FROM departments WHERE id IN (:keys)",
+                Map.of("keys", ids),
+                (RowCallbackHandler) rs -> rows.put(rs.getString(1),
+                        new DepartmentRow(rs.getString(2), rs.getString(3), rs.getString(4))));
+        return rows;
+    }
+
+    /**
+     * 按业务键查询ID，返回 业务键 → ID；查询的第一列为ID，第二列为业务键
+     */
+    private Map<String, String> lookup(String sql, String tenantId, Collection<String> keys) {
+        Map<String, String> ids = new HashMap<>();
+        if (keys.isEmpty()) {
+            return ids;
+        }
+        namedParameterJdbcTemplate.query(sql, Map.of("tenantId", tenantId, "keys", keys),
+                (RowCallbackHandler) rs -> ids.put(rs.getString(2), rs.getString(1)));
+        return ids;
+    }
+
+    private int[] batch(String sql, List<Object[]> args, int[] types) {
+        if (args.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(sql, args, types);
+    }
+
+    private static Set<String> values(List<ImportRecord> records, String field) {
+        Set<String> values = new LinkedHashSet<>();
+        for (ImportRecord record : records) {
+            String value = record.get(field);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private static Set<String> listValues(List<ImportRecord> records, String field) {
+        Set<String> values = new LinkedHashSet<>();
+        for (ImportRecord record : records) {
+            values.addAll(record.getList(field));
+        }
+        return values;
+    }
+
+    private static String firstMissing(List<String> keys, Map<String, String> ids) {
+        for (String key : keys) {
+            if (!ids.containsKey(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private static Object[] link(String left, String right) {
+        return new Object[]{left, right, left, right};
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        int[] all = new int[first.length + second.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+
+    private static String insertLink(String table, String left, String right) {
+        return "INSERT INTO " + table + " (" + left + ", " + right + ") "
+                + "SELECT CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)) "
+                + "WHERE NOT EXISTS (SELECT 1 FROM " + table + " WHERE " + left + " = ? AND " + right + " = ?)";
+    }
+
+    private record DepartmentRow(String tenantId, String organizationId, String parentId) {
+    }
+}
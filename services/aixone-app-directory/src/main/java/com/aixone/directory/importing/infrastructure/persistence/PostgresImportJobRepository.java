@@ -0,0 +1,125 @@
+package com.aixone.directory.importing.infrastructure.persistence;
+
+import com.aixone.directory.importing.domain.aggregate.ImportJob;
+import com.aixone.directory.importing.domain.aggregate.ImportRowError;
+import com.aixone.directory.importing.domain.repository.ImportJobRepository;
+import com.aixone.directory.importing.infrastructure.persistence.dbo.ImportJobDbo;
+import com.aixone.directory.importing.infrastructure.persistence.dbo.ImportRowErrorDbo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 导入任务仓储实现
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostgresImportJobRepository implements ImportJobRepository {
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final ImportJobJpaRepository importJobJpaRepository;
+    private final ImportRowErrorJpaRepository importRowErrorJpaRepository;
+
+    @Override
+    public ImportJob save(ImportJob job) {
+        importJobJpaRepository.save(convertToDbo(job));
+        return job;
+    }
+
+    @Override
+    public Optional<ImportJob> findById(String id) {
+        return importJobJpaRepository.findById(id).map(this::convertToDomain);
+    }
+
+    @Override
+    public Optional<ImportJob> findByTenantIdAndId(String tenantId, String id) {
+        return importJobJpaRepository.findByTenantIdAndId(tenantId, id).map(this::convertToDomain);
+    }
+
+    @Override
+    public void saveErrors(String jobId, List<ImportRowError> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        importRowErrorJpaRepository.saveAll(errors.stream()
+                .map(error -> {
+                    ImportRowErrorDbo dbo = new ImportRowErrorDbo();
+                    dbo.setId(UUID.randomUUID().toString());
+                    dbo.setJobId(jobId);
+                    dbo.setLineNumber(error.getLineNumber());
+                    dbo.setMessage(truncate(error.getMessage()));
+                    dbo.setCreatedAt(now);
+                    return dbo;
+                })
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<ImportRowError> findErrors(String jobId, int limit) {
+        return importRowErrorJpaRepository.findByJobIdOrderByLineNumber(jobId, PageRequest.of(0, limit)).stream()
+                .map(dbo -> new ImportRowError(dbo.getLineNumber(), dbo.getMessage()))
+                .collect(Collectors.toList());
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "";
+        }
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    private ImportJobDbo convertToDbo(ImportJob job) {
+        ImportJobDbo dbo = new ImportJobDbo();
+        dbo.setId(job.getId());
+        dbo.setTenantId(job.getTenantId());
+        dbo.setEntityType(job.getEntityType());
+        dbo.setFormat(job.getFormat());
+        dbo.setSourceName(job.getSourceName());
+        dbo.setStatus(job.getStatus());
+        dbo.setProcessedRows(job.getProcessedRows());
+        dbo.setInsertedRows(job.getInsertedRows());
+        dbo.setUpdatedRows(job.getUpdatedRows());
+        dbo.setFailedRows(job.getFailedRows());
+        dbo.setCheckpointLine(job.getCheckpointLine());
+        dbo.setElapsedMillis(job.getElapsedMillis());
+        dbo.setErrorMessage(job.getErrorMessage());
+        dbo.setStartedAt(job.getStartedAt());
+        dbo.setFinishedAt(job.getFinishedAt());
+        dbo.setCreatedAt(job.getCreatedAt());
+        dbo.setUpdatedAt(job.getUpdatedAt());
+        return dbo;
+    }
+
+    private ImportJob convertToDomain(ImportJobDbo dbo) {
+        return ImportJob.builder()
+                .id(dbo.getId())
+                .tenantId(dbo.getTenantId())
+                .entityType(dbo.getEntityType())
+                .format(dbo.getFormat())
+                .sourceName(dbo.getSourceName())
+                .status(dbo.getStatus())
+                .processedRows(dbo.getProcessedRows())
+                .insertedRows(dbo.getInsertedRows())
+                .updatedRows(dbo.getUpdatedRows())
+                .failedRows(dbo.getFailedRows())
+                .checkpointLine(dbo.getCheckpointLine())
+                .elapsedMillis(dbo.getElapsedMillis())
+                .errorMessage(dbo.getErrorMessage())
+                .startedAt(dbo.getStartedAt())
+                .finishedAt(dbo.getFinishedAt())
+                .createdAt(dbo.getCreatedAt())
+                .updatedAt(dbo.getUpdatedAt())
+                .build();
+    }
+}
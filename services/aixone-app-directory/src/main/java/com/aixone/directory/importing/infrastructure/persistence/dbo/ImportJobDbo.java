@@ -0,0 +1,96 @@
+package com.aixone.directory.importing.infrastructure.persistence.dbo;
+
+import com.aixone.directory.importing.domain.aggregate.ImportEntityType;
+import com.aixone.directory.importing.domain.aggregate.ImportFormat;
+import com.aixone.directory.importing.domain.aggregate.ImportJobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import org.hibernate.annotations.Comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导入任务数据对象
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "import_jobs", indexes = {
+    @Index(name = "idx_import_jobs_tenant_id", columnList = "tenant_id")
+})
+@Data
+public class ImportJobDbo {
+
+    @Id
+    private String id;
+
+    @Comment("租户ID")
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    @Comment("导入对象类型")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private ImportEntityType entityType;
+
+    @Comment("文件格式")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ImportFormat format;
+
+    @Comment("源文件名")
+    @Column(name = "source_name")
+    private String sourceName;
+
+    @Comment("任务状态")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ImportJobStatus status;
+
+    @Comment("已处理行数")
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;
+
+    @Comment("新增行数")
+    @Column(name = "inserted_rows", nullable = false)
+    private long insertedRows;
+
+    @Comment("更新行数")
+    @Column(name = "updated_rows", nullable = false)
+    private long updatedRows;
+
+    @Comment("失败行数")
+    @Column(name = "failed_rows", nullable = false)
+    private long failedRows;
+
+    @Comment("最后一个已提交行的行号")
+    @Column(name = "checkpoint_line", nullable = false)
+    private long checkpointLine;
+
+    @Comment("分块累计耗时（毫秒）")
+    @Column(name = "elapsed_millis", nullable = false)
+    private long elapsedMillis;
+
+    @Comment("失败原因")
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.aixone.directory.importing.infrastructure.persistence.dbo;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import org.hibernate.annotations.Comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导入行错误数据对象
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "import_job_errors", indexes = {
+    @Index(name = "idx_import_job_errors_job_line", columnList = "job_id, line_number")
+})
+@Data
+public class ImportRowErrorDbo {
+
+    @Id
+    private String id;
+
+    @Comment("导入任务ID")
+    @Column(name = "job_id", nullable = false)
+    private String jobId;
+
+    @Comment("源文件行号")
+    @Column(name = "line_number", nullable = false)
+    private long lineNumber;
+
+    @Comment("错误信息")
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
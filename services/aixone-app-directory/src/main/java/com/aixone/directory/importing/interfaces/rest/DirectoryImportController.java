@@ -0,0 +1,126 @@
+package com.aixone.directory.importing.interfaces.rest;
+
+import com.aixone.common.api.ApiResponse;
+import com.aixone.common.session.SessionContext;
+import com.aixone.directory.importing.application.DirectoryImportService;
+import com.aixone.directory.importing.application.dto.ImportJobDto;
+import com.aixone.directory.importing.application.dto.ImportRowErrorDto;
+import com.aixone.directory.importing.domain.aggregate.ImportEntityType;
+import com.aixone.directory.importing.domain.aggregate.ImportFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * 目录批量导入 Controller
+ * 请求体为原始文件内容（CSV 或 JSONL），服务端流式读取；租户ID从token自动获取
+ * 路径: /api/v1/imports
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/imports")
+@RequiredArgsConstructor
+@Slf4j
+public class DirectoryImportController {
+
+    private final DirectoryImportService directoryImportService;
+
+    /**
+     * 创建并运行导入任务
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<ImportJobDto>> startImport(
+            @RequestParam ImportEntityType type,
+            @RequestParam(defaultValue = "CSV") ImportFormat format,
+            @RequestParam(required = false) String sourceName,
+            InputStream content) {
+        String tenantId = SessionContext.getTenantId();
+        if (!StringUtils.hasText(tenantId)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(401, "未提供有效的租户信息"));
+        }
+
+        log.info("批量导入: type={}, format={}, sourceName={}, tenantId={}", type, format, sourceName, tenantId);
+
+        try {
+            ImportJobDto job = directoryImportService.startImport(tenantId, type, format, sourceName, content);
+            return ResponseEntity.ok(ApiResponse.success(job));
+        } catch (Exception e) {
+            log.error("批量导入失败", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, "批量导入失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 从检查点续传导入任务，请求体为与首次导入相同的文件内容
+     */
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ApiResponse<ImportJobDto>> resumeImport(@PathVariable String jobId, InputStream content) {
+        String tenantId = SessionContext.getTenantId();
+        if (!StringUtils.hasText(tenantId)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(401, "未提供有效的租户信息"));
+        }
+
+        log.info("续传导入任务: jobId={}, tenantId={}", jobId, tenantId);
+
+        try {
+            return ResponseEntity.ok(ApiResponse.success(directoryImportService.resumeImport(tenantId, jobId, content)));
+        } catch (Exception e) {
+            log.error("续传导入任务失败", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, "续传导入任务失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 查询导入任务
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<ImportJobDto>> getJob(@PathVariable String jobId) {
+        String tenantId = SessionContext.getTenantId();
+        if (!StringUtils.hasText(tenantId)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(401, "未提供有效的租户信息"));
+        }
+
+        try {
+            return ResponseEntity.ok(ApiResponse.success(directoryImportService.getJob(tenantId, jobId)));
+        } catch (Exception e) {
+            log.error("查询导入任务失败", e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(404, "查询导入任务失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 查询导入任务的行错误，按行号排序
+     */
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<ApiResponse<List<ImportRowErrorDto>>> getErrors(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "100") int limit) {
+        String tenantId = SessionContext.getTenantId();
+        if (!StringUtils.hasText(tenantId)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(401, "未提供有效的租户信息"));
+        }
+
+        try {
+            return ResponseEntity.ok(ApiResponse.success(directoryImportService.getErrors(tenantId, jobId, limit)));
+        } catch (Exception e) {
+            log.error("查询导入行错误失败", e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(404, "查询导入行错误失败: " + e.getMessage()));
+        }
+    }
+}
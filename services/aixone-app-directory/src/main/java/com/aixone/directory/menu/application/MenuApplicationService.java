@@ -13,16 +13,22 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import jakarta.persistence.criteria.Predicate;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
  * 菜单应用服务
+ * 租户的完整菜单树以只读快照缓存在内存中，命中时不访问数据库；
+ * 菜单创建、更新、删除提交后失效，快照另有过期时间以感知其他实例的变更
  * 
  * @author AixOne Team
  * @since 1.0.0
@@ -35,6 +41,13 @@ public class MenuApplicationService {
     private final MenuRepository menuRepository;
     private final MenuJpaRepository menuJpaRepository;
 
+    /**
+     * 菜单树快照有效期（毫秒）
+     */
+    static final long TREE_TTL_MILLIS = 60_000L;
+
+    private final ConcurrentMap<String, TreeSnapshot> trees = new ConcurrentHashMap<>();
+
     /**
      * 创建菜单
      */
@@ -90,6 +103,7 @@ public class MenuApplicationService {
         }
 
         Menu savedMenu = menuRepository.save(menu);
+        evictMenuTree(savedMenu.getTenantId());
         return convertToView(savedMenu);
     }
 
@@ -215,18 +229,23 @@ public class MenuApplicationService {
 
     /**
      * 根据租户ID查找所有菜单（树形结构）
+     * 返回缓存快照中的只读节点
      */
     public List<MenuDto.MenuView> findMenusByTenantId(String tenantId) {
-        List<Menu> menus = menuRepository.findByTenantId(tenantId);
-        return buildMenuTree(menus);
+        return menuTree(tenantId).roots();
     }
 
     /**
      * 查找菜单树（支持过滤和快速搜索）
-     * 返回树形结构数据，不分页
+     * 返回树形结构数据，不分页；无过滤条件时直接返回缓存快照
      */
     @Transactional(readOnly = true)
     public List<MenuDto.MenuView> findMenusTree(String tenantId, String name, String title, String type, String quickSearch) {
+        if (!StringUtils.hasText(name) && !StringUtils.hasText(title)
+                && !StringUtils.hasText(type) && !StringUtils.hasText(quickSearch)) {
+            return menuTree(tenantId).roots();
+        }
+
         // 构建查询规格
         Specification<MenuDbo> spec = (root, query, cb) -> {
             List<Predicate> predicates = new java.util.ArrayList<>();
@@ -263,42 +282,13 @@ public class MenuApplicationService {
         // 构建排序：按displayOrder升序
         org.springframework.data.domain.Sort sort = org.springframework.data.domain.Sort.by("displayOrder").ascending();
         
-        // 查询所有符合条件的菜单（不分页）
-        List<MenuDbo> menuDbos = menuJpaRepository.findAll(spec, sort);
-        
-        // 转换为领域对象
-        List<Menu> menus = menuDbos.stream()
-                .map(this::convertDboToDomain)
+        // 查询所有符合条件的菜单（不分页），每条记录只转换一次
+        List<MenuDto.MenuView> menus = menuJpaRepository.findAll(spec, sort).stream()
+                .map(this::convertDboToView)
                 .collect(Collectors.toList());
         
         // 构建树形结构
-        return buildMenuTree(menus);
-    }
-
-    /**
-     * 将 MenuDbo 转换为 Menu 领域对象
-     */
-    private Menu convertDboToDomain(MenuDbo dbo) {
-        return Menu.builder()
-                .id(dbo.getId())
-                .tenantId(dbo.getTenantId())
-                .parentId(dbo.getParentId())
-                .name(dbo.getName())
-                .title(dbo.getTitle())
-                .path(dbo.getPath())
-                .icon(dbo.getIcon())
-                .type(dbo.getType())
-                .renderType(dbo.getRenderType())
-                .component(dbo.getComponent())
-                .url(dbo.getUrl())
-                .keepalive(dbo.getKeepalive())
-                .displayOrder(dbo.getDisplayOrder())
-                .visible(dbo.getVisible())
-                .config(dbo.getConfig())
-                .extend(dbo.getExtend())
-                .createdAt(dbo.getCreatedAt())
-                .updatedAt(dbo.getUpdatedAt())
-                .build();
+        return MenuTree.of(menus).roots();
     }
 
     /**
@@ -331,6 +321,7 @@ public class MenuApplicationService {
         // 更新其他属性
         // parentId 需要特殊处理：如果为 null 表示设置为根菜单，如果为空字符串也表示设置为根菜单
         if (command.getParentId() != null) {
+            checkParent(menu, command.getParentId());
             menu.setParent(command.getParentId());
         } else {
             // 如果 parentId 为 null，设置为根菜单（parentId = null）
@@ -368,6 +359,7 @@ public class MenuApplicationService {
         }
 
         Menu savedMenu = menuRepository.save(menu);
+        evictMenuTree(tenantId);
         return convertToView(savedMenu);
     }
 
@@ -386,6 +378,7 @@ public class MenuApplicationService {
         // 更新其他属性
         // parentId 需要特殊处理：如果为 null 表示设置为根菜单，如果为空字符串也表示设置为根菜单
         if (command.getParentId() != null) {
+            checkParent(menu, command.getParentId());
             menu.setParent(command.getParentId());
         } else {
             // 如果 parentId 为 null，设置为根菜单（parentId = null）
@@ -423,6 +416,7 @@ public class MenuApplicationService {
         }
 
         Menu savedMenu = menuRepository.save(menu);
+        evictMenuTree(savedMenu.getTenantId());
         return convertToView(savedMenu);
     }
 
@@ -441,13 +435,10 @@ public class MenuApplicationService {
             throw new IllegalArgumentException("菜单不属于当前租户");
         }
         
-        // 检查是否有子菜单
-        List<Menu> children = menuRepository.findByTenantIdAndParentId(tenantId, menuId);
-        if (!children.isEmpty()) {
-            throw new IllegalArgumentException("菜单存在子菜单，无法删除");
-        }
+        checkNoDescendants(tenantId, menuId);
 
         menuRepository.delete(menuId);
+        evictMenuTree(tenantId);
     }
 
     /**
@@ -460,68 +451,100 @@ public class MenuApplicationService {
         Menu menu = menuRepository.findById(menuId)
                 .orElseThrow(() -> new IllegalArgumentException("菜单不存在"));
         
-        // 检查是否有子菜单（需要知道租户ID）
-        // 注意：管理员接口删除时，需要检查所有租户下的子菜单
-        // 这里简化处理，只检查当前菜单的tenantId下的子菜单
-        List<Menu> children = menuRepository.findByTenantIdAndParentId(menu.getTenantId(), menuId);
-        if (!children.isEmpty()) {
-            throw new IllegalArgumentException("菜单存在子菜单，无法删除");
-        }
+        // 子菜单与父菜单属于同一租户，按菜单的tenantId检查
+        checkNoDescendants(menu.getTenantId(), menuId);
 
         menuRepository.delete(menuId);
+        evictMenuTree(menu.getTenantId());
     }
 
     /**
-     * 构建菜单树
+     * 获取租户的菜单树快照
      */
-    private List<MenuDto.MenuView> buildMenuTree(List<Menu> menus) {
-        // 转换为View对象
-        List<MenuDto.MenuView> menuViews = menus.stream()
+    MenuTree menuTree(String tenantId) {
+        TreeSnapshot snapshot = trees.get(tenantId);
+        if (snapshot != null && !snapshot.isExpired()) {
+            return snapshot.tree;
+        }
+        TreeSnapshot loaded = new TreeSnapshot(loadMenuTree(tenantId), System.currentTimeMillis());
+        if (snapshot == null) {
+            TreeSnapshot existing = trees.putIfAbsent(tenantId, loaded);
+            return existing != null ? existing.tree : loaded.tree;
+        }
+        // 只替换读到的旧快照，避免覆盖并发加载的新快照
+        trees.replace(tenantId, snapshot, loaded);
+        return loaded.tree;
+    }
+
+    /**
+     * 从数据库加载租户的完整菜单树（一次查询）
+     */
+    private MenuTree loadMenuTree(String tenantId) {
+        List<MenuDto.MenuView> menus = menuRepository.findByTenantId(tenantId).stream()
                 .map(this::convertToView)
                 .collect(Collectors.toList());
+        return MenuTree.of(menus);
+    }
 
-        // 构建父子关系
-        for (MenuDto.MenuView menu : menuViews) {
-            if (menu.getParentId() != null) {
-                menuViews.stream()
-                        .filter(parent -> parent.getId().equals(menu.getParentId()))
-                        .findFirst()
-                        .ifPresent(parent -> {
-                            if (parent.getChildren() == null) {
-                                parent.setChildren(new java.util.ArrayList<>());
-                            }
-                            parent.getChildren().add(menu);
-                        });
-            }
+    /**
+     * 失效租户的菜单树快照
+     * 立即移除，并在事务提交后再次移除，防止提交前并发加载的旧数据被缓存
+     */
+    private void evictMenuTree(String tenantId) {
+        if (tenantId == null) {
+            return;
+        }
+        trees.remove(tenantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    trees.remove(tenantId);
+                }
+            });
         }
+    }
 
-        // 对每个节点的children按displayOrder排序
-        sortMenuTree(menuViews);
+    /**
+     * 检查菜单没有后代菜单
+     * 写操作基于数据库最新数据构建索引，一次查询覆盖整棵子树
+     */
+    private void checkNoDescendants(String tenantId, String menuId) {
+        List<String> descendants = loadMenuTree(tenantId).descendantIds(menuId);
+        if (!descendants.isEmpty()) {
+            log.info("菜单存在子菜单: id={}, 后代数量={}", menuId, descendants.size());
+            throw new IllegalArgumentException("菜单存在子菜单，无法删除");
+        }
+    }
 
-        // 返回根菜单（按displayOrder排序）
-        return menuViews.stream()
-                .filter(menu -> menu.getParentId() == null)
-                .sorted((a, b) -> {
-                    int orderA = a.getDisplayOrder() != null ? a.getDisplayOrder() : 0;
-                    int orderB = b.getDisplayOrder() != null ? b.getDisplayOrder() : 0;
-                    return Integer.compare(orderA, orderB);
-                })
-                .collect(Collectors.toList());
+    /**
+     * 检查新的父菜单不是菜单自身或其后代，避免形成环
+     */
+    private void checkParent(Menu menu, String parentId) {
+        if (!StringUtils.hasText(parentId) || parentId.equals(menu.getParentId())) {
+            return;
+        }
+        if (parentId.equals(menu.getId())
+                || loadMenuTree(menu.getTenantId()).descendantIds(menu.getId()).contains(parentId)) {
+            throw new IllegalArgumentException("父菜单不能是菜单自身或其子菜单");
+        }
     }
 
     /**
-     * 递归排序菜单树
+     * 菜单树快照
      */
-    private void sortMenuTree(List<MenuDto.MenuView> menus) {
-        for (MenuDto.MenuView menu : menus) {
-            if (menu.getChildren() != null && !menu.getChildren().isEmpty()) {
-                menu.getChildren().sort((a, b) -> {
-                    int orderA = a.getDisplayOrder() != null ? a.getDisplayOrder() : 0;
-                    int orderB = b.getDisplayOrder() != null ? b.getDisplayOrder() : 0;
-                    return Integer.compare(orderA, orderB);
-                });
-                sortMenuTree(menu.getChildren());
-            }
+    private static final class TreeSnapshot {
+
+        private final MenuTree tree;
+        private final long loadedAt;
+
+        TreeSnapshot(MenuTree tree, long loadedAt) {
+            this.tree = tree;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt > TREE_TTL_MILLIS;
         }
     }
 
@@ -0,0 +1,118 @@
+package com.aixone.directory.menu.application;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 菜单树
+ * 按 parentId 一次分组构建（O(n log n)，排序只发生在各自的子列表内），
+ * 子列表按 displayOrder 稳定排序并包装为只读列表。
+ * 父菜单不在输入中的节点不会出现在树里，与原实现一致。
+ * 构建后只读，可作为租户快照在多个请求间共享。
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public final class MenuTree {
+
+    /**
+     * 空菜单树
+     */
+    public static final MenuTree EMPTY = new MenuTree(Collections.emptyList(), Collections.emptyMap(), 0);
+
+    private static final Comparator<MenuDto.MenuView> DISPLAY_ORDER = Comparator.comparingInt(
+            menu -> menu.getDisplayOrder() != null ? menu.getDisplayOrder() : 0);
+
+    private final List<MenuDto.MenuView> roots;
+    private final Map<String, List<MenuDto.MenuView>> childrenByParentId;
+    private final int size;
+
+    private MenuTree(List<MenuDto.MenuView> roots, Map<String, List<MenuDto.MenuView>> childrenByParentId, int size) {
+        this.roots = roots;
+        this.childrenByParentId = childrenByParentId;
+        this.size = size;
+    }
+
+    /**
+     * 构建菜单树
+     *
+     * @param menus 平铺的菜单视图，children 会被覆盖
+     * @return 菜单树
+     */
+    public static MenuTree of(List<MenuDto.MenuView> menus) {
+        if (menus == null || menus.isEmpty()) {
+            return EMPTY;
+        }
+        List<MenuDto.MenuView> roots = new ArrayList<>();
+        Map<String, List<MenuDto.MenuView>> children = new HashMap<>(menus.size() * 2);
+        for (MenuDto.MenuView menu : menus) {
+            if (menu.getParentId() == null) {
+                roots.add(menu);
+            } else {
+                children.computeIfAbsent(menu.getParentId(), k -> new ArrayList<>()).add(menu);
+            }
+        }
+        for (Map.Entry<String, List<MenuDto.MenuView>> entry : children.entrySet()) {
+            entry.getValue().sort(DISPLAY_ORDER);
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        for (MenuDto.MenuView menu : menus) {
+            menu.setChildren(children.getOrDefault(menu.getId(), Collections.emptyList()));
+        }
+        roots.sort(DISPLAY_ORDER);
+        return new MenuTree(Collections.unmodifiableList(roots), children, menus.size());
+    }
+
+    /**
+     * 根菜单，按 displayOrder 排序
+     */
+    public List<MenuDto.MenuView> roots() {
+        return roots;
+    }
+
+    /**
+     * 直接子菜单，按 displayOrder 排序
+     */
+    public List<MenuDto.MenuView> children(String menuId) {
+        return childrenByParentId.getOrDefault(menuId, Collections.emptyList());
+    }
+
+    /**
+     * 全部后代菜单ID（广度优先）
+     *
+     * @param menuId 菜单ID
+     * @return 后代菜单ID列表，不含自身
+     */
+    public List<String> descendantIds(String menuId) {
+        List<String> result = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        visited.add(menuId);
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(menuId);
+        while (!pending.isEmpty()) {
+            for (MenuDto.MenuView child : children(pending.poll())) {
+                // 数据中若存在环，避免无限遍历
+                if (visited.add(child.getId())) {
+                    result.add(child.getId());
+                    pending.add(child.getId());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 树中的菜单数量（含未挂到根上的节点）
+     */
+    public int size() {
+        return size;
+    }
+}
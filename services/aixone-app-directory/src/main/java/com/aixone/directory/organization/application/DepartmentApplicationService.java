@@ -1,11 +1,15 @@
 package com.aixone.directory.organization.application;
 
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import com.aixone.common.api.PageRequest;
 import com.aixone.common.api.PageResult;
+import com.aixone.directory.organization.domain.repository.DepartmentHierarchyRepository;
 import com.aixone.directory.organization.infrastructure.persistence.dbo.DepartmentDbo;
 import com.aixone.directory.organization.infrastructure.persistence.DepartmentJpaRepository;
 import com.aixone.directory.organization.infrastructure.persistence.DepartmentMapper;
@@ -19,6 +23,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.criteria.Predicate;
 
 @Service
@@ -28,12 +33,102 @@ public class DepartmentApplicationService {
     private final UserJpaRepository userJpaRepository;
     private final DepartmentMapper departmentMapper;
     private final DepartmentDtoMapper departmentDtoMapper;
+    private final DepartmentHierarchyRepository departmentHierarchyRepository;
 
-    public DepartmentApplicationService(DepartmentJpaRepository departmentJpaRepository, UserJpaRepository userJpaRepository, DepartmentMapper departmentMapper, DepartmentDtoMapper departmentDtoMapper) {
+    public DepartmentApplicationService(DepartmentJpaRepository departmentJpaRepository, UserJpaRepository userJpaRepository, DepartmentMapper departmentMapper, DepartmentDtoMapper departmentDtoMapper, DepartmentHierarchyRepository departmentHierarchyRepository) {
         this.departmentJpaRepository = departmentJpaRepository;
         this.userJpaRepository = userJpaRepository;
         this.departmentMapper = departmentMapper;
         this.departmentDtoMapper = departmentDtoMapper;
+        this.departmentHierarchyRepository = departmentHierarchyRepository;
+    }
+
+    /**
+     * 移动部门（连同其子树）到新的上级部门下
+     *
+     * @param tenantId     租户ID
+     * @param departmentId 部门ID
+     * @param newParentId  新的上级部门ID，为空表示成为根部门
+     */
+    @Transactional
+    public DepartmentDto moveDepartment(String tenantId, String departmentId, String newParentId) {
+        DepartmentDbo department = findDepartment(tenantId, departmentId);
+        if (newParentId != null) {
+            DepartmentDbo parent = findDepartment(tenantId, newParentId);
+            if (!parent.getOrganization().getId().equals(department.getOrganization().getId())) {
+                throw new IllegalStateException("Parent department does not belong to the same organization.");
+            }
+            if (departmentHierarchyRepository.isInSubtree(departmentId, newParentId)) {
+                throw new IllegalStateException("Department cannot be moved under itself or its descendants.");
+            }
+        }
+        department.setParentId(newParentId);
+        department.setUpdatedAt(LocalDateTime.now());
+        departmentJpaRepository.save(department);
+        departmentHierarchyRepository.move(departmentId, newParentId);
+        return departmentDtoMapper.toDto(departmentMapper.toDomain(department));
+    }
+
+    /**
+     * 删除部门，存在下级部门时拒绝删除
+     *
+     * @param tenantId     租户ID
+     * @param departmentId 部门ID
+     */
+    @Transactional
+    public void deleteDepartment(String tenantId, String departmentId) {
+        DepartmentDbo department = findDepartment(tenantId, departmentId);
+        if (!departmentHierarchyRepository.findDescendantIds(departmentId).isEmpty()) {
+            throw new IllegalStateException("Cannot delete department with sub-departments. Please delete sub-departments first.");
+        }
+        department.getUsers().clear();
+        // 从组织的部门集合中移除，避免级联保存时重新持久化
+        department.getOrganization().getDepartments().remove(department);
+        departmentJpaRepository.delete(department);
+        departmentHierarchyRepository.delete(departmentId);
+    }
+
+    /**
+     * 查询全部后代部门ID，按层级由近及远
+     */
+    @Transactional(readOnly = true)
+    public List<String> getDescendantIds(String tenantId, String departmentId) {
+        findDepartment(tenantId, departmentId);
+        return departmentHierarchyRepository.findDescendantIds(departmentId);
+    }
+
+    /**
+     * 查询祖先部门，从根部门到直接上级
+     */
+    @Transactional(readOnly = true)
+    public List<DepartmentDto> getAncestors(String tenantId, String departmentId) {
+        findDepartment(tenantId, departmentId);
+        List<String> ancestorIds = departmentHierarchyRepository.findAncestorIds(departmentId);
+        Map<String, DepartmentDbo> ancestors = departmentJpaRepository.findAllById(ancestorIds).stream()
+                .collect(Collectors.toMap(DepartmentDbo::getId, Function.identity()));
+        return ancestorIds.stream()
+                .map(ancestors::get)
+                .filter(java.util.Objects::nonNull)
+                .map(dbo -> departmentDtoMapper.toDto(departmentMapper.toDomain(dbo)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 判断用户是否属于部门或其任一下级部门
+     */
+    @Transactional(readOnly = true)
+    public boolean isUserInDepartmentSubtree(String tenantId, String departmentId, String userId) {
+        findDepartment(tenantId, departmentId);
+        return departmentHierarchyRepository.isUserInSubtree(departmentId, userId);
+    }
+
+    /**
+     * 统计部门及其全部下级部门的去重成员数
+     */
+    @Transactional(readOnly = true)
+    public long countSubtreeUsers(String tenantId, String departmentId) {
+        findDepartment(tenantId, departmentId);
+        return departmentHierarchyRepository.countUsersInSubtree(departmentId);
     }
 
     @Transactional
@@ -123,4 +218,13 @@ public class DepartmentApplicationService {
         
         return PageResult.of(page.getTotalElements(), pageRequest, content);
     }
-} 
\ No newline at end of file
+
+    private DepartmentDbo findDepartment(String tenantId, String departmentId) {
+        DepartmentDbo department = departmentJpaRepository.findById(departmentId)
+                .orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + departmentId));
+        if (!department.getTenantId().equals(tenantId)) {
+            throw new IllegalStateException("Department does not belong to the current tenant.");
+        }
+        return department;
+    }
+}
@@ -25,6 +25,7 @@ import com.aixone.directory.organization.application.dto.OrganizationDto;
 import com.aixone.directory.organization.domain.aggregate.Department;
 import com.aixone.directory.organization.domain.aggregate.Organization;
 import com.aixone.directory.organization.domain.aggregate.Position;
+import com.aixone.directory.organization.domain.repository.DepartmentHierarchyRepository;
 import com.aixone.directory.organization.domain.repository.OrganizationRepository;
 import com.aixone.directory.organization.infrastructure.persistence.DepartmentMapper;
 import com.aixone.directory.organization.infrastructure.persistence.PositionMapper;
@@ -40,6 +41,7 @@ import lombok.RequiredArgsConstructor;
 public class OrganizationApplicationService {
 
     private final OrganizationRepository organizationRepository;
+    private final DepartmentHierarchyRepository departmentHierarchyRepository;
     private final OrganizationJpaRepository organizationJpaRepository;
     private final DepartmentMapper departmentMapper;
     private final PositionMapper positionMapper;
@@ -105,8 +107,13 @@ public class OrganizationApplicationService {
     @Transactional
     public DepartmentDto addDepartmentToOrganization(String organizationId, CreateDepartmentRequest request) {
         Organization organization = findOrganization(organizationId);
+        if (request.getParentId() != null && organization.getDepartments().stream()
+                .noneMatch(department -> department.getId().equals(request.getParentId()))) {
+            throw new IllegalStateException("Parent department does not belong to the organization.");
+        }
         Department newDepartment = organization.addDepartment(request.getName(), request.getParentId());
         organizationRepository.save(organization);
+        departmentHierarchyRepository.insert(organization.getTenantId(), newDepartment.getId(), request.getParentId());
         return departmentDtoMapper.toDto(newDepartment);
     }
 
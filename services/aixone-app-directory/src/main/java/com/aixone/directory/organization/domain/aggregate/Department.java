@@ -48,23 +48,20 @@ public class Department {
     }
 
     public void changeParent(String newParentId) {
-        // Business logic for moving a department
+        // 层级关系由部门闭包表维护，移动时需同步更新
         this.parentId = newParentId;
+        this.updatedAt = LocalDateTime.now();
     }
 
     public void addUser(String userId) {
-        System.out.println("[DEBUG][Department.addUser] userId=" + userId + ", users(before)=" + this.users);
         Objects.requireNonNull(userId, "userId不能为空");
         this.users.add(userId);
         this.updatedAt = LocalDateTime.now();
-        System.out.println("[DEBUG][Department.addUser] users(after)=" + this.users);
     }
 
     public void removeUser(String userId) {
-        System.out.println("[DEBUG][Department.removeUser] userId=" + userId + ", users(before)=" + this.users);
         Objects.requireNonNull(userId, "userId不能为空");
         this.users.remove(userId);
         this.updatedAt = LocalDateTime.now();
-        System.out.println("[DEBUG][Department.removeUser] users(after)=" + this.users);
     }
 } 
\ No newline at end of file
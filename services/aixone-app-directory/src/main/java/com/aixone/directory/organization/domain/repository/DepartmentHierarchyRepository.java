@@ -0,0 +1,85 @@
+package com.aixone.directory.organization.domain.repository;
+
+import java.util.List;
+
+/**
+ * 部门层级仓储接口
+ * 以闭包表维护部门树的全部祖先-后代关系，层级查询均为一次索引查询。
+ * 写操作需与部门本身的变更处于同一事务。
+ */
+public interface DepartmentHierarchyRepository {
+
+    /**
+     * 登记新部门。
+     *
+     * @param tenantId     租户ID
+     * @param departmentId 部门ID
+     * @param parentId     上级部门ID，可为空
+     */
+    void insert(String tenantId, String departmentId, String parentId);
+
+    /**
+     * 将部门（连同其子树）移动到新的上级部门下。
+     *
+     * @param departmentId 部门ID
+     * @param newParentId  新的上级部门ID，为空表示成为根部门
+     */
+    void move(String departmentId, String newParentId);
+
+    /**
+     * 删除部门及其子树的层级记录。
+     *
+     * @param departmentId 部门ID
+     */
+    void delete(String departmentId);
+
+    /**
+     * 查找全部后代部门ID，按层级由近及远。
+     *
+     * @param departmentId 部门ID
+     * @return 后代部门ID列表，不含自身
+     */
+    List<String> findDescendantIds(String departmentId);
+
+    /**
+     * 查找祖先部门ID，从根部门到直接上级。
+     *
+     * @param departmentId 部门ID
+     * @return 祖先部门ID列表，不含自身
+     */
+    List<String> findAncestorIds(String departmentId);
+
+    /**
+     * 判断部门是否为另一部门自身或其后代。
+     *
+     * @param ancestorId   祖先部门ID
+     * @param departmentId 部门ID
+     * @return 是否位于子树中
+     */
+    boolean isInSubtree(String ancestorId, String departmentId);
+
+    /**
+     * 判断用户是否属于部门子树（含部门自身）。
+     *
+     * @param departmentId 部门ID
+     * @param userId       用户ID
+     * @return 是否属于
+     */
+    boolean isUserInSubtree(String departmentId, String userId);
+
+    /**
+     * 统计部门子树（含部门自身）的去重成员数。
+     *
+     * @param departmentId 部门ID
+     * @return 成员数
+     */
+    long countUsersInSubtree(String departmentId);
+
+    /**
+     * 查找部门子树（含部门自身）的成员ID。
+     *
+     * @param departmentId 部门ID
+     * @return 用户ID列表
+     */
+    List<String> findUserIdsInSubtree(String departmentId);
+}
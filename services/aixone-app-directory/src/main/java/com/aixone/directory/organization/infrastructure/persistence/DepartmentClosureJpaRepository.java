@@ -0,0 +1,87 @@
+package com.aixone.directory.organization.infrastructure.persistence;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.aixone.directory.organization.infrastructure.persistence.dbo.DepartmentClosureDbo;
+import com.aixone.directory.organization.infrastructure.persistence.dbo.DepartmentClosureId;
+
+@Repository
+public interface DepartmentClosureJpaRepository extends JpaRepository<DepartmentClosureDbo, DepartmentClosureId> {
+
+    /**
+     * 全部后代部门ID，按层级由近及远
+     */
+    @Query("SELECT c.descendantId FROM DepartmentClosureDbo c WHERE c.ancestorId = :departmentId AND c.depth > 0 ORDER BY c.depth")
+    List<String> findDescendantIds(@Param("departmentId") String departmentId);
+
+    /**
+     * 祖先部门ID，从根部门到直接上级
+     */
+    @Query("SELECT c.ancestorId FROM DepartmentClosureDbo c WHERE c.descendantId = :departmentId AND c.depth > 0 ORDER BY c.depth DESC")
+    List<String> findAncestorIds(@Param("departmentId") String departmentId);
+
+    /**
+     * 是否存在祖先到后代的路径（含自身）
+     */
+    @Query("SELECT COUNT(c) > 0 FROM DepartmentClosureDbo c WHERE c.ancestorId = :ancestorId AND c.descendantId = :descendantId")
+    boolean existsPath(@Param("ancestorId") String ancestorId, @Param("descendantId") String descendantId);
+
+    /**
+     * 用户是否属于部门子树（含部门自身）
+     */
+    @Query(value = "SELECT COUNT(*) > 0 FROM department_closure c "
+            + "JOIN department_members m ON m.department_id = c.descendant_id "
+            + "WHERE c.ancestor_id = :departmentId AND m.user_id = :userId", nativeQuery = true)
+    boolean existsUserInSubtree(@Param("departmentId") String departmentId, @Param("userId") String userId);
+
+    /**
+     * 部门子树（含部门自身）的去重成员数
+     */
+    @Query(value = "SELECT COUNT(DISTINCT m.user_id) FROM department_closure c "
+            + "JOIN department_members m ON m.department_id = c.descendant_id "
+            + "WHERE c.ancestor_id = :departmentId", nativeQuery = true)
+    long countUsersInSubtree(@Param("departmentId") String departmentId);
+
+    /**
+     * 部门子树（含部门自身）的成员ID
+     */
+    @Query(value = "SELECT DISTINCT m.user_id FROM department_closure c "
+            + "JOIN department_members m ON m.department_id = c.descendant_id "
+            + "WHERE c.ancestor_id = :departmentId", nativeQuery = true)
+    List<String> findUserIdsInSubtree(@Param("departmentId") String departmentId);
+
+    /**
+     * 将部门子树挂到新的上级部门下：新上级的每个祖先（含自身）与子树的每个节点各生成一条记录
+     */
+    @Modifying
+    @Query(value = "INSERT INTO department_closure (ancestor_id, descendant_id, depth, tenant_id) "
+            + "SELECT p.ancestor_id, s.descendant_id, p.depth + s.depth + 1, s.tenant_id "
+            + "FROM department_closure p CROSS JOIN department_closure s "
+            + "WHERE p.descendant_id = :parentId AND s.ancestor_id = :departmentId", nativeQuery = true)
+    int attachSubtree(@Param("departmentId") String departmentId, @Param("parentId") String parentId);
+
+    /**
+     * 断开部门子树与其外部祖先之间的记录，子树内部的记录保留
+     */
+    @Modifying
+    @Query(value = "DELETE FROM department_closure "
+            + "WHERE descendant_id IN (SELECT s.descendant_id FROM department_closure s WHERE s.ancestor_id = :departmentId) "
+            + "AND ancestor_id NOT IN (SELECT s.descendant_id FROM department_closure s WHERE s.ancestor_id = :departmentId)",
+            nativeQuery = true)
+    int detachSubtree(@Param("departmentId") String departmentId);
+
+    /**
+     * 删除部门子树（含部门自身）涉及的全部记录
+     */
+    @Modifying
+    @Query(value = "DELETE FROM department_closure "
+            + "WHERE descendant_id IN (SELECT s.descendant_id FROM department_closure s WHERE s.ancestor_id = :departmentId)",
+            nativeQuery = true)
+    int deleteSubtree(@Param("departmentId") String departmentId);
+}
@@ -0,0 +1,75 @@
+package com.aixone.directory.organization.infrastructure.persistence;
+
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aixone.directory.organization.domain.repository.DepartmentHierarchyRepository;
+import com.aixone.directory.organization.infrastructure.persistence.dbo.DepartmentClosureDbo;
+
+@Repository
+public class PostgresDepartmentHierarchyRepository implements DepartmentHierarchyRepository {
+
+    private final DepartmentClosureJpaRepository closureJpaRepository;
+
+    public PostgresDepartmentHierarchyRepository(DepartmentClosureJpaRepository closureJpaRepository) {
+        this.closureJpaRepository = closureJpaRepository;
+    }
+
+    @Override
+    @Transactional
+    public void insert(String tenantId, String departmentId, String parentId) {
+        closureJpaRepository.save(new DepartmentClosureDbo(departmentId, departmentId, 0, tenantId));
+        if (parentId != null) {
+            // 原生语句执行前写入自身记录
+            closureJpaRepository.flush();
+            closureJpaRepository.attachSubtree(departmentId, parentId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void move(String departmentId, String newParentId) {
+        closureJpaRepository.detachSubtree(departmentId);
+        if (newParentId != null) {
+            closureJpaRepository.attachSubtree(departmentId, newParentId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void delete(String departmentId) {
+        closureJpaRepository.deleteSubtree(departmentId);
+    }
+
+    @Override
+    public List<String> findDescendantIds(String departmentId) {
+        return closureJpaRepository.findDescendantIds(departmentId);
+    }
+
+    @Override
+    public List<String> findAncestorIds(String departmentId) {
+        return closureJpaRepository.findAncestorIds(departmentId);
+    }
+
+    @Override
+    public boolean isInSubtree(String ancestorId, String departmentId) {
+        return closureJpaRepository.existsPath(ancestorId, departmentId);
+    }
+
+    @Override
+    public boolean isUserInSubtree(String departmentId, String userId) {
+        return closureJpaRepository.existsUserInSubtree(departmentId, userId);
+    }
+
+    @Override
+    public long countUsersInSubtree(String departmentId) {
+        return closureJpaRepository.countUsersInSubtree(departmentId);
+    }
+
+    @Override
+    public List<String> findUserIdsInSubtree(String departmentId) {
+        return closureJpaRepository.findUserIdsInSubtree(departmentId);
+    }
+}
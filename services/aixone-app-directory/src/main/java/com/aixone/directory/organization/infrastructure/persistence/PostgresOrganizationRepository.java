@@ -1,16 +1,26 @@
 package com.aixone.directory.organization.infrastructure.persistence;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.aixone.directory.organization.domain.aggregate.Department;
 import com.aixone.directory.organization.domain.aggregate.Organization;
+import com.aixone.directory.organization.domain.aggregate.Position;
 import com.aixone.directory.organization.domain.repository.OrganizationRepository;
+import com.aixone.directory.organization.infrastructure.persistence.dbo.DepartmentDbo;
 import com.aixone.directory.organization.infrastructure.persistence.dbo.OrganizationDbo;
+import com.aixone.directory.organization.infrastructure.persistence.dbo.PositionDbo;
 
 @Repository
 public class PostgresOrganizationRepository implements OrganizationRepository {
@@ -30,12 +40,56 @@ public class PostgresOrganizationRepository implements OrganizationRepository {
     @Override
     @Transactional
     public void save(Organization organization) {
-        OrganizationDbo dbo = organizationMapper.toDboSimple(organization);
-        dbo.setDepartments(organization.getDepartments().stream().map(departmentMapper::toDbo).collect(Collectors.toSet()));
-        dbo.setPositions(organization.getPositions().stream().map(positionMapper::toDbo).collect(Collectors.toSet()));
+        OrganizationDbo dbo = organizationJpaRepository.findById(organization.getId())
+                .orElseGet(() -> organizationMapper.toDboSimple(organization));
+        dbo.setName(organization.getName());
+        dbo.setUpdatedAt(organization.getUpdatedAt());
+        syncDepartments(dbo, organization);
+        syncPositions(dbo, organization);
         organizationJpaRepository.save(dbo);
     }
 
+    /**
+     * 同步部门：已存在的记录原地更新（保留成员关系），新增的关联到组织，移除的由 orphanRemoval 删除
+     */
+    private void syncDepartments(OrganizationDbo dbo, Organization organization) {
+        Map<String, DepartmentDbo> existing = dbo.getDepartments().stream()
+                .collect(Collectors.toMap(DepartmentDbo::getId, Function.identity()));
+        Set<String> ids = new HashSet<>();
+        for (Department department : organization.getDepartments()) {
+            ids.add(department.getId());
+            DepartmentDbo departmentDbo = existing.get(department.getId());
+            if (departmentDbo == null) {
+                departmentDbo = departmentMapper.toDbo(department);
+                departmentDbo.setOrganization(dbo);
+                dbo.getDepartments().add(departmentDbo);
+            } else if (!Objects.equals(departmentDbo.getName(), department.getName())
+                    || !Objects.equals(departmentDbo.getParentId(), department.getParentId())) {
+                departmentDbo.setName(department.getName());
+                departmentDbo.setParentId(department.getParentId());
+                departmentDbo.setUpdatedAt(LocalDateTime.now());
+            }
+        }
+        dbo.getDepartments().removeIf(departmentDbo -> !ids.contains(departmentDbo.getId()));
+    }
+
+    /**
+     * 同步岗位：已存在的记录保留，新增的关联到组织，移除的由 orphanRemoval 删除
+     */
+    private void syncPositions(OrganizationDbo dbo, Organization organization) {
+        Set<String> existing = dbo.getPositions().stream().map(PositionDbo::getId).collect(Collectors.toSet());
+        Set<String> ids = new HashSet<>();
+        for (Position position : organization.getPositions()) {
+            ids.add(position.getId());
+            if (!existing.contains(position.getId())) {
+                PositionDbo positionDbo = positionMapper.toDbo(position);
+                positionDbo.setOrganization(dbo);
+                dbo.getPositions().add(positionDbo);
+            }
+        }
+        dbo.getPositions().removeIf(positionDbo -> !ids.contains(positionDbo.getId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Organization> findById(String id) {
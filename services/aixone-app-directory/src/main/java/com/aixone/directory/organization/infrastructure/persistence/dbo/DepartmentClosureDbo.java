@@ -0,0 +1,47 @@
+package com.aixone.directory.organization.infrastructure.persistence.dbo;
+
+import org.hibernate.annotations.Comment;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 部门闭包数据对象
+ * 每条记录表示一对（祖先、后代）部门，自身记录的 depth 为 0
+ */
+@Entity
+@Table(name = "department_closure", indexes = {
+    @Index(name = "idx_department_closure_descendant", columnList = "descendant_id, depth"),
+    @Index(name = "idx_department_closure_tenant_id", columnList = "tenant_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(DepartmentClosureId.class)
+public class DepartmentClosureDbo {
+
+    @Id
+    @Comment("祖先部门ID")
+    @Column(name = "ancestor_id")
+    private String ancestorId;
+
+    @Id
+    @Comment("后代部门ID")
+    @Column(name = "descendant_id")
+    private String descendantId;
+
+    @Comment("层级距离")
+    @Column(nullable = false)
+    private int depth;
+
+    @Comment("租户ID")
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+}
@@ -0,0 +1,18 @@
+package com.aixone.directory.organization.infrastructure.persistence.dbo;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 部门闭包复合主键
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentClosureId implements Serializable {
+    private String ancestorId;
+    private String descendantId;
+}
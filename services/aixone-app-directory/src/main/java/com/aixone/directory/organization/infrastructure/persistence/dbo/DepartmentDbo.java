@@ -55,6 +55,8 @@ public class DepartmentDbo {
     private LocalDateTime updatedAt;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinTable(
             name = "department_members",
             joinColumns = @JoinColumn(name = "department_id"),
@@ -1,15 +1,19 @@
 package com.aixone.directory.organization.interfaces.rest;
 
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.aixone.directory.organization.application.OrganizationApplicationService;
@@ -48,4 +52,33 @@ public class DepartmentController {
     public void removeUsersFromDepartment(@PathVariable String departmentId, @RequestBody Set<String> userIds) {
         departmentApplicationService.removeUsersFromDepartment(departmentId, userIds);
     }
-} 
\ No newline at end of file
+
+    @PutMapping("/{departmentId}/parent")
+    public DepartmentDto moveDepartment(
+            @PathVariable String tenantId,
+            @PathVariable String departmentId,
+            @RequestParam(required = false) String parentId) {
+        return departmentApplicationService.moveDepartment(tenantId, departmentId, parentId);
+    }
+
+    @DeleteMapping("/{departmentId}")
+    public ResponseEntity<Void> deleteDepartment(@PathVariable String tenantId, @PathVariable String departmentId) {
+        departmentApplicationService.deleteDepartment(tenantId, departmentId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{departmentId}/descendants")
+    public List<String> getDescendantIds(@PathVariable String tenantId, @PathVariable String departmentId) {
+        return departmentApplicationService.getDescendantIds(tenantId, departmentId);
+    }
+
+    @GetMapping("/{departmentId}/ancestors")
+    public List<DepartmentDto> getAncestors(@PathVariable String tenantId, @PathVariable String departmentId) {
+        return departmentApplicationService.getAncestors(tenantId, departmentId);
+    }
+
+    @GetMapping("/{departmentId}/user-count")
+    public long countSubtreeUsers(@PathVariable String tenantId, @PathVariable String departmentId) {
+        return departmentApplicationService.countSubtreeUsers(tenantId, departmentId);
+    }
+}
@@ -3,11 +3,13 @@ package com.aixone.directory.permission.application;
 import com.aixone.common.api.PageRequest;
 import com.aixone.common.api.PageResult;
 import com.aixone.directory.permission.domain.aggregate.PermissionRule;
+import com.aixone.directory.permission.domain.event.PermissionRuleChangedEvent;
 import com.aixone.directory.permission.domain.repository.PermissionRuleRepository;
 import com.aixone.directory.permission.infrastructure.persistence.dbo.PermissionRuleDbo;
 import com.aixone.directory.permission.infrastructure.persistence.PermissionRuleJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -35,6 +37,7 @@ public class PermissionRuleApplicationService {
 
     private final PermissionRuleRepository permissionRuleRepository;
     private final PermissionRuleJpaRepository permissionRuleJpaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 创建权限规则
@@ -71,6 +74,7 @@ public class PermissionRuleApplicationService {
         permissionRule.setId(UUID.randomUUID().toString());
 
         PermissionRule savedRule = permissionRuleRepository.save(permissionRule);
+        eventPublisher.publishEvent(new PermissionRuleChangedEvent(savedRule.getTenantId()));
         return convertToView(savedRule);
     }
 
@@ -94,6 +98,7 @@ public class PermissionRuleApplicationService {
         );
 
         PermissionRule updatedRule = permissionRuleRepository.save(permissionRule);
+        eventPublisher.publishEvent(new PermissionRuleChangedEvent(updatedRule.getTenantId()));
         return convertToView(updatedRule);
     }
 
@@ -104,11 +109,11 @@ public class PermissionRuleApplicationService {
     public void deletePermissionRule(String ruleId) {
         log.info("删除权限规则: id={}", ruleId);
 
-        if (!permissionRuleRepository.existsById(ruleId)) {
-            throw new IllegalArgumentException("权限规则不存在: " + ruleId);
-        }
+        PermissionRule permissionRule = permissionRuleRepository.findById(ruleId)
+                .orElseThrow(() -> new IllegalArgumentException("权限规则不存在: " + ruleId));
 
         permissionRuleRepository.delete(ruleId);
+        eventPublisher.publishEvent(new PermissionRuleChangedEvent(permissionRule.getTenantId()));
     }
 
     /**
@@ -172,10 +177,10 @@ public class PermissionRuleApplicationService {
 
     /**
      * 根据路径和方法查找匹配的权限规则
+     * 每个管理请求都会调用，命中规则快照时不访问数据库，因此不开启事务
      */
-    @Transactional(readOnly = true)
     public List<PermissionRuleDto.PermissionRuleView> findPermissionRulesByPathAndMethod(String tenantId, String path, String method) {
-        log.info("查找匹配的权限规则: tenantId={}, path={}, method={}", tenantId, path, method);
+        log.debug("查找匹配的权限规则: tenantId={}, path={}, method={}", tenantId, path, method);
 
         List<PermissionRule> rules = permissionRuleRepository.findByPathAndMethod(tenantId, path, method);
         return rules.stream()
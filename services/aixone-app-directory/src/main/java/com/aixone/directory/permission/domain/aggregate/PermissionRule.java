@@ -103,7 +103,7 @@ public class PermissionRule {
     
     /**
      * Ant路径匹配
-     * 支持 * 和 ** 通配符
+     * 支持 * 和 ** 通配符，语义见 {@link RoutePattern}
      */
     private boolean matchesPattern(String path, String pattern) {
         if (path == null || pattern == null) {
@@ -115,13 +115,7 @@ public class PermissionRule {
             return true;
         }
         
-        // 转换为正则表达式
-        String regex = pattern
-                .replace(".", "\\.")
-                .replace("**", ".*")
-                .replace("*", "[^/]*");
-        
-        return path.matches(regex);
+        return RoutePattern.compile(pattern).matches(path);
     }
 }
 
@@ -0,0 +1,185 @@
+package com.aixone.directory.permission.domain.aggregate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 路径模式值对象
+ * 将Ant风格路径模式按“/”拆分为路径段，只解析一次：
+ * - 普通段：按字面量比较
+ * - *：匹配任意一个路径段
+ * - **：匹配零个或多个路径段
+ * - 段内通配（如 user-*、v?）：编译为仅作用于该段的正则
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public final class RoutePattern {
+
+    /**
+     * 路径段类型
+     */
+    public enum SegmentType {
+        LITERAL,
+        ANY_SEGMENT,
+        ANY_SEGMENTS,
+        WILDCARD
+    }
+
+    /**
+     * 路径段
+     */
+    public static final class Segment {
+
+        private final SegmentType type;
+        private final String text;
+        private final Pattern regex;
+
+        private Segment(SegmentType type, String text, Pattern regex) {
+            this.type = type;
+            this.text = text;
+            this.regex = regex;
+        }
+
+        static Segment parse(String text) {
+            if ("**".equals(text)) {
+                return new Segment(SegmentType.ANY_SEGMENTS, text, null);
+            }
+            if ("*".equals(text)) {
+                return new Segment(SegmentType.ANY_SEGMENT, text, null);
+            }
+            if (text.indexOf('*') < 0 && text.indexOf('?') < 0) {
+                return new Segment(SegmentType.LITERAL, text, null);
+            }
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '*' || c == '?') {
+                    if (literal.length() > 0) {
+                        regex.append(Pattern.quote(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    regex.append(c == '*' ? ".*" : ".");
+                } else {
+                    literal.append(c);
+                }
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+            }
+            return new Segment(SegmentType.WILDCARD, text, Pattern.compile(regex.toString()));
+        }
+
+        /**
+         * 是否匹配单个路径段（** 不适用）
+         */
+        public boolean matches(String segment) {
+            switch (type) {
+                case LITERAL:
+                    return text.equals(segment);
+                case WILDCARD:
+                    return regex.matcher(segment).matches();
+                default:
+                    return true;
+            }
+        }
+
+        public SegmentType getType() {
+            return type;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    private final String pattern;
+    private final List<Segment> segments;
+
+    private RoutePattern(String pattern, List<Segment> segments) {
+        this.pattern = pattern;
+        this.segments = segments;
+    }
+
+    /**
+     * 解析路径模式
+     */
+    public static RoutePattern compile(String pattern) {
+        List<String> parts = splitPath(pattern);
+        List<Segment> segments = new ArrayList<>(parts.size());
+        for (String part : parts) {
+            Segment segment = Segment.parse(part);
+            // 连续的 ** 等价于一个
+            if (segment.type == SegmentType.ANY_SEGMENTS && !segments.isEmpty()
+                    && segments.get(segments.size() - 1).type == SegmentType.ANY_SEGMENTS) {
+                continue;
+            }
+            segments.add(segment);
+        }
+        return new RoutePattern(pattern, Collections.unmodifiableList(segments));
+    }
+
+    /**
+     * 按“/”拆分路径，忽略空段
+     */
+    public static List<String> splitPath(String path) {
+        if (path == null || path.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                if (i > start) {
+                    parts.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * 是否匹配指定路径
+     */
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        return matches(splitPath(path), 0, 0);
+    }
+
+    private boolean matches(List<String> path, int pathIndex, int segmentIndex) {
+        if (segmentIndex == segments.size()) {
+            return pathIndex == path.size();
+        }
+        Segment segment = segments.get(segmentIndex);
+        if (segment.type == SegmentType.ANY_SEGMENTS) {
+            for (int i = pathIndex; i <= path.size(); i++) {
+                if (matches(path, i, segmentIndex + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return pathIndex < path.size()
+                && segment.matches(path.get(pathIndex))
+                && matches(path, pathIndex + 1, segmentIndex + 1);
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public List<Segment> getSegments() {
+        return segments;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
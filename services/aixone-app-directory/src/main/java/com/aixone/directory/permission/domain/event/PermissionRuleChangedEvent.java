@@ -0,0 +1,26 @@
+package com.aixone.directory.permission.domain.event;
+
+/**
+ * 权限规则变更事件
+ * 规则创建、更新、删除后发布，用于重建租户的规则匹配快照
+ * 
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public class PermissionRuleChangedEvent {
+
+    private final String tenantId;
+
+    public PermissionRuleChangedEvent(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    @Override
+    public String toString() {
+        return "PermissionRuleChangedEvent{tenantId=" + tenantId + "}";
+    }
+}
@@ -0,0 +1,56 @@
+package com.aixone.directory.permission.domain.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 角色绑定变更事件
+ * 用户角色、用户组成员或用户组角色变更后发布，用于刷新受影响用户的有效角色。
+ * 用户组变更以组ID表示，由监听方展开为组内成员。
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public class RoleBindingChangedEvent {
+
+    private final String tenantId;
+    private final Set<String> userIds;
+    private final Set<String> groupIds;
+
+    private RoleBindingChangedEvent(String tenantId, Set<String> userIds, Set<String> groupIds) {
+        this.tenantId = tenantId;
+        this.userIds = userIds;
+        this.groupIds = groupIds;
+    }
+
+    /**
+     * 用户的角色或所属用户组发生变更
+     */
+    public static RoleBindingChangedEvent ofUsers(String tenantId, Collection<String> userIds) {
+        return new RoleBindingChangedEvent(tenantId, Set.copyOf(userIds), Set.of());
+    }
+
+    /**
+     * 用户组的角色发生变更，影响组内全部成员
+     */
+    public static RoleBindingChangedEvent ofGroups(String tenantId, Collection<String> groupIds) {
+        return new RoleBindingChangedEvent(tenantId, Set.of(), Set.copyOf(groupIds));
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public Set<String> getUserIds() {
+        return userIds;
+    }
+
+    public Set<String> getGroupIds() {
+        return groupIds;
+    }
+
+    @Override
+    public String toString() {
+        return "RoleBindingChangedEvent{tenantId=" + tenantId + ", userIds=" + userIds + ", groupIds=" + groupIds + "}";
+    }
+}
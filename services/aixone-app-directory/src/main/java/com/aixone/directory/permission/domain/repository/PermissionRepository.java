@@ -2,6 +2,7 @@ package com.aixone.directory.permission.domain.repository;
 
 import com.aixone.directory.permission.domain.aggregate.Permission;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +39,11 @@ public interface PermissionRepository {
      */
     Optional<Permission> findByTenantIdAndResourceAndAction(String tenantId, String resource, String action);
     
+    /**
+     * 根据租户ID和角色ID列表一次性查找角色拥有的全部权限（去重）
+     */
+    List<Permission> findByTenantIdAndRoleIds(String tenantId, Collection<String> roleIds);
+    
     /**
      * 删除权限
      */
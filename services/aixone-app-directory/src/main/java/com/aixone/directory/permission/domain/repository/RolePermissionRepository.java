@@ -2,6 +2,7 @@ package com.aixone.directory.permission.domain.repository;
 
 import com.aixone.directory.permission.domain.aggregate.Permission;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -51,5 +52,10 @@ public interface RolePermissionRepository {
      * 检查角色是否拥有权限
      */
     boolean hasPermission(String roleId, String permissionId);
+    
+    /**
+     * 检查角色列表中是否有任一角色拥有权限
+     */
+    boolean hasAnyPermission(Collection<String> roleIds, String permissionId);
 }
 
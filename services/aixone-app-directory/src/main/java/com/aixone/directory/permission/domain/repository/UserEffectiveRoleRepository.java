@@ -0,0 +1,39 @@
+package com.aixone.directory.permission.domain.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户有效角色仓储接口
+ * 有效角色 = 直接授予的角色 ∪ 所在用户组的角色，以物化表保存
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public interface UserEffectiveRoleRepository {
+
+    /**
+     * 查找用户的有效角色ID列表
+     *
+     * @param tenantId 租户ID
+     * @param userId 用户ID
+     * @return 角色ID列表
+     */
+    List<String> findRoleIds(String tenantId, String userId);
+
+    /**
+     * 查找用户组的成员ID列表
+     *
+     * @param groupIds 用户组ID集合
+     * @return 用户ID列表
+     */
+    List<String> findUserIdsByGroupIds(Collection<String> groupIds);
+
+    /**
+     * 重新计算指定用户的有效角色
+     *
+     * @param userIds 用户ID集合
+     * @return 刷新后的有效角色行数
+     */
+    int refresh(Collection<String> userIds);
+}
@@ -0,0 +1,89 @@
+package com.aixone.directory.permission.domain.service;
+
+import com.aixone.directory.permission.domain.aggregate.Permission;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 用户有效权限集合
+ * 由用户全部角色的权限一次性加载得到，按权限标识（{resource}:{action}）索引，
+ * 用于在内存中回答同一用户的多次权限检查
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public final class EffectivePermissionSet {
+
+    /**
+     * 空权限集合
+     */
+    public static final EffectivePermissionSet EMPTY = new EffectivePermissionSet(Collections.emptyMap());
+
+    private final Map<String, Permission> permissions;
+
+    private EffectivePermissionSet(Map<String, Permission> permissions) {
+        this.permissions = permissions;
+    }
+
+    /**
+     * 由权限列表构建
+     *
+     * @param permissions 权限列表
+     * @return 有效权限集合
+     */
+    public static EffectivePermissionSet of(Collection<Permission> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Permission> index = new HashMap<>(permissions.size() * 2);
+        for (Permission permission : permissions) {
+            if (permission != null && permission.getResource() != null && permission.getAction() != null) {
+                index.putIfAbsent(permission.getPermissionIdentifier(), permission);
+            }
+        }
+        return new EffectivePermissionSet(Collections.unmodifiableMap(index));
+    }
+
+    /**
+     * 查找授予的权限
+     *
+     * @param resource 资源标识
+     * @param action 操作标识
+     * @return 权限，未授予时为空
+     */
+    public Optional<Permission> find(String resource, String action) {
+        return Optional.ofNullable(permissions.get(resource + ":" + action));
+    }
+
+    /**
+     * 是否授予了指定权限标识
+     *
+     * @param permissionIdentifier 权限标识（格式：{resource}:{action}）
+     * @return 是否授予
+     */
+    public boolean contains(String permissionIdentifier) {
+        return permissionIdentifier != null && permissions.containsKey(permissionIdentifier);
+    }
+
+    /**
+     * 全部权限标识
+     *
+     * @return 权限标识集合
+     */
+    public Set<String> identifiers() {
+        return permissions.keySet();
+    }
+
+    public int size() {
+        return permissions.size();
+    }
+
+    public boolean isEmpty() {
+        return permissions.isEmpty();
+    }
+}
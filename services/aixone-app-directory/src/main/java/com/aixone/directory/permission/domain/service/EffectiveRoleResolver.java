@@ -0,0 +1,67 @@
+package com.aixone.directory.permission.domain.service;
+
+import com.aixone.directory.permission.domain.event.RoleBindingChangedEvent;
+import com.aixone.directory.permission.domain.repository.UserEffectiveRoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 有效角色解析器
+ * 用户的有效角色为直接授予的角色与所在用户组角色的并集，预先物化到 user_effective_roles 表：
+ * - 解析：按（租户、用户）一次索引读取
+ * - 维护：角色绑定变更事件在发布方事务内同步处理，只重新计算受影响的用户
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EffectiveRoleResolver {
+
+    private final UserEffectiveRoleRepository userEffectiveRoleRepository;
+
+    /**
+     * 解析用户的有效角色
+     *
+     * @param userId 用户ID
+     * @param tenantId 租户ID
+     * @return 角色ID列表，用户不存在或不属于该租户时为空
+     */
+    public List<String> resolve(String userId, String tenantId) {
+        if (userId == null || tenantId == null) {
+            return List.of();
+        }
+        return userEffectiveRoleRepository.findRoleIds(tenantId, userId);
+    }
+
+    /**
+     * 重新计算指定用户的有效角色
+     *
+     * @param userIds 用户ID集合
+     */
+    public void refreshUsers(Set<String> userIds) {
+        int rows = userEffectiveRoleRepository.refresh(userIds);
+        log.debug("刷新用户有效角色: users={}, rows={}", userIds.size(), rows);
+    }
+
+    /**
+     * 处理角色绑定变更事件
+     * 与发布方处于同一事务，提交后读取到的有效角色即为最新结果
+     */
+    @EventListener
+    public void onRoleBindingChanged(RoleBindingChangedEvent event) {
+        Set<String> userIds = new LinkedHashSet<>(event.getUserIds());
+        userIds.addAll(userEffectiveRoleRepository.findUserIdsByGroupIds(event.getGroupIds()));
+        if (userIds.isEmpty()) {
+            return;
+        }
+        refreshUsers(userIds);
+    }
+}
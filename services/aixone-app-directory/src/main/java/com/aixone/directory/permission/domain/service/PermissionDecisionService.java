@@ -7,14 +7,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 权限决策服务
  * 提供RBAC+ABAC混合权限决策能力
+ * 批量检查只查询一次用户角色和有效权限集合，各项检查在内存中完成
  * 
  * @author AixOne Team
  * @since 1.0.0
@@ -65,26 +66,16 @@ public class PermissionDecisionService {
             return false;
         }
 
-        // 3. 执行RBAC权限决策
-        boolean rbacResult = rbacDecisionEngine.checkPermission(userId, tenantId, roleIds, resource, action);
+        // 3. 执行RBAC权限决策（复用已查出的权限，不再重复查询）
+        boolean rbacResult = rbacDecisionEngine.hasPermission(roleIds, permission);
         if (!rbacResult) {
             log.debug("RBAC权限检查失败");
             return false;
         }
 
         // 4. 如果权限有ABAC条件，执行ABAC权限决策
-        if (permission.hasAbacConditions()) {
-            Map<String, Object> userAttributes = context != null ? context.getUserAttributes() : null;
-            Map<String, Object> resourceAttributes = context != null ? context.getResourceAttributes() : null;
-            Map<String, Object> environmentAttributes = context != null ? context.getEnvironmentAttributes() : null;
-
-            boolean abacResult = abacDecisionEngine.checkPermission(
-                    userId, tenantId, permission, userAttributes, resourceAttributes, environmentAttributes);
-
-            if (!abacResult) {
-                log.debug("ABAC权限检查失败");
-                return false;
-            }
+        if (!checkAbac(userId, tenantId, permission, context)) {
+            return false;
         }
 
         log.debug("权限检查通过: resource={}, action={}", resource, action);
@@ -140,11 +131,64 @@ public class PermissionDecisionService {
         
         log.debug("批量权限决策: userId={}, tenantId={}, permissions={}", userId, tenantId, permissions);
 
-        return permissions.stream()
-                .collect(Collectors.toMap(
-                        permission -> permission,
-                        permission -> checkPermissionByIdentifier(userId, tenantId, permission, context)
-                ));
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        if (permissions == null || permissions.isEmpty()) {
+            return result;
+        }
+
+        // 角色与有效权限集合各查询一次，与检查项数量无关
+        List<String> roleIds = userPermissionProvider.getUserRoles(userId, tenantId);
+        EffectivePermissionSet effective = rbacDecisionEngine.loadEffectivePermissions(tenantId, roleIds);
+
+        for (String identifier : permissions) {
+            result.put(identifier, decide(userId, tenantId, effective, identifier, context));
+        }
+        return result;
+    }
+
+    /**
+     * 基于已加载的有效权限集合判定单项权限
+     */
+    private boolean decide(
+            String userId,
+            String tenantId,
+            EffectivePermissionSet effective,
+            String permissionIdentifier,
+            PermissionContext context) {
+
+        if (permissionIdentifier == null || !permissionIdentifier.contains(":")) {
+            log.warn("无效的权限标识格式: {}", permissionIdentifier);
+            return false;
+        }
+
+        String[] parts = permissionIdentifier.split(":", 2);
+        Permission permission = effective.find(parts[0], parts[1]).orElse(null);
+        if (permission == null) {
+            log.debug("用户未被授予权限: {}", permissionIdentifier);
+            return false;
+        }
+
+        return checkAbac(userId, tenantId, permission, context);
+    }
+
+    /**
+     * 权限带有ABAC条件时执行ABAC权限决策，否则直接通过
+     */
+    private boolean checkAbac(String userId, String tenantId, Permission permission, PermissionContext context) {
+        if (!permission.hasAbacConditions()) {
+            return true;
+        }
+
+        Map<String, Object> userAttributes = context != null ? context.getUserAttributes() : null;
+        Map<String, Object> resourceAttributes = context != null ? context.getResourceAttributes() : null;
+        Map<String, Object> environmentAttributes = context != null ? context.getEnvironmentAttributes() : null;
+
+        boolean abacResult = abacDecisionEngine.checkPermission(
+                userId, tenantId, permission, userAttributes, resourceAttributes, environmentAttributes);
+        if (!abacResult) {
+            log.debug("ABAC权限检查失败: {}", permission.getPermissionIdentifier());
+        }
+        return abacResult;
     }
 
     /**
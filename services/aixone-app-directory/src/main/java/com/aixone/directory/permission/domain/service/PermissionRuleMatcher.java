@@ -0,0 +1,228 @@
+package com.aixone.directory.permission.domain.service;
+
+import com.aixone.directory.permission.domain.aggregate.PermissionRule;
+import com.aixone.directory.permission.domain.aggregate.RoutePattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 权限规则匹配器
+ * 租户启用规则的不可变快照：按路径段构建前缀树（字面量、*、**、段内通配四类子节点），
+ * 叶子节点按HTTP方法分桶保存规则序号。构建后只读，可被多个请求线程并发使用，
+ * 规则变更时整体重建并替换。
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+public final class PermissionRuleMatcher {
+
+    /**
+     * 空快照
+     */
+    public static final PermissionRuleMatcher EMPTY = new PermissionRuleMatcher(Collections.emptyList());
+
+    private static final int[] NO_RULES = new int[0];
+
+    private final List<PermissionRule> rules;
+    private final Node root = new Node();
+
+    private PermissionRuleMatcher(List<PermissionRule> rules) {
+        this.rules = rules;
+        for (int i = 0; i < rules.size(); i++) {
+            insert(RoutePattern.compile(rules.get(i).getPattern()).getSegments(), rules.get(i).getMethods(), i);
+        }
+        root.freeze();
+    }
+
+    /**
+     * 构建快照
+     *
+     * @param rules 启用的规则，已按优先级降序、创建时间升序排列
+     * @return 匹配器
+     */
+    public static PermissionRuleMatcher build(List<PermissionRule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return EMPTY;
+        }
+        List<PermissionRule> enabled = new ArrayList<>(rules.size());
+        for (PermissionRule rule : rules) {
+            if (rule != null && rule.getPattern() != null && Boolean.TRUE.equals(rule.getEnabled())) {
+                enabled.add(rule);
+            }
+        }
+        return new PermissionRuleMatcher(Collections.unmodifiableList(enabled));
+    }
+
+    /**
+     * 查找匹配的规则
+     *
+     * @param path 请求路径
+     * @param method HTTP方法
+     * @return 匹配的规则，保持快照中的优先级顺序
+     */
+    public List<PermissionRule> match(String path, String method) {
+        if (path == null || rules.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> segments = RoutePattern.splitPath(path);
+        BitSet matched = new BitSet(rules.size());
+        collect(root, segments, 0, method, matched);
+        if (matched.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<PermissionRule> result = new ArrayList<>(matched.cardinality());
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+            result.add(rules.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 快照中的规则数量
+     */
+    public int size() {
+        return rules.size();
+    }
+
+    private void insert(List<RoutePattern.Segment> segments, List<String> methods, int ruleIndex) {
+        Node node = root;
+        for (RoutePattern.Segment segment : segments) {
+            node = node.child(segment);
+        }
+        node.addRule(methods, ruleIndex);
+    }
+
+    private static void collect(Node node, List<String> path, int index, String method, BitSet matched) {
+        if (node.anySegments != null) {
+            // ** 可以吞掉从当前位置开始的零个或多个路径段
+            for (int i = index; i <= path.size(); i++) {
+                collect(node.anySegments, path, i, method, matched);
+            }
+        }
+        if (index == path.size()) {
+            node.addMatches(method, matched);
+            return;
+        }
+        String segment = path.get(index);
+        Node literal = node.literals.get(segment);
+        if (literal != null) {
+            collect(literal, path, index + 1, method, matched);
+        }
+        if (node.anySegment != null) {
+            collect(node.anySegment, path, index + 1, method, matched);
+        }
+        for (int i = 0; i < node.wildcards.length; i++) {
+            if (node.wildcards[i].matches(segment)) {
+                collect(node.wildcardNodes[i], path, index + 1, method, matched);
+            }
+        }
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static final class Node {
+
+        private static final RoutePattern.Segment[] NO_WILDCARDS = new RoutePattern.Segment[0];
+        private static final Node[] NO_NODES = new Node[0];
+
+        private Map<String, Node> literals = new HashMap<>();
+        private Node anySegment;
+        private Node anySegments;
+        private RoutePattern.Segment[] wildcards = NO_WILDCARDS;
+        private Node[] wildcardNodes = NO_NODES;
+
+        /**
+         * 不限方法的规则序号
+         */
+        private int[] anyMethodRules = NO_RULES;
+
+        /**
+         * 按方法分桶的规则序号
+         */
+        private Map<String, int[]> methodRules = Collections.emptyMap();
+
+        Node child(RoutePattern.Segment segment) {
+            switch (segment.getType()) {
+                case LITERAL:
+                    return literals.computeIfAbsent(segment.getText(), k -> new Node());
+                case ANY_SEGMENT:
+                    if (anySegment == null) {
+                        anySegment = new Node();
+                    }
+                    return anySegment;
+                case ANY_SEGMENTS:
+                    if (anySegments == null) {
+                        anySegments = new Node();
+                    }
+                    return anySegments;
+                default:
+                    for (int i = 0; i < wildcards.length; i++) {
+                        if (wildcards[i].getText().equals(segment.getText())) {
+                            return wildcardNodes[i];
+                        }
+                    }
+                    Node node = new Node();
+                    wildcards = Arrays.copyOf(wildcards, wildcards.length + 1);
+                    wildcardNodes = Arrays.copyOf(wildcardNodes, wildcardNodes.length + 1);
+                    wildcards[wildcards.length - 1] = segment;
+                    wildcardNodes[wildcardNodes.length - 1] = node;
+                    return node;
+            }
+        }
+
+        void addRule(List<String> methods, int ruleIndex) {
+            if (methods == null || methods.isEmpty()) {
+                anyMethodRules = append(anyMethodRules, ruleIndex);
+                return;
+            }
+            if (methodRules.isEmpty()) {
+                methodRules = new HashMap<>();
+            }
+            for (String method : methods) {
+                methodRules.put(method, append(methodRules.getOrDefault(method, NO_RULES), ruleIndex));
+            }
+        }
+
+        void addMatches(String method, BitSet matched) {
+            for (int rule : anyMethodRules) {
+                matched.set(rule);
+            }
+            int[] bucket = method != null ? methodRules.get(method) : null;
+            if (bucket != null) {
+                for (int rule : bucket) {
+                    matched.set(rule);
+                }
+            }
+        }
+
+        void freeze() {
+            literals = literals.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(literals);
+            methodRules = methodRules.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(methodRules);
+            for (Node node : literals.values()) {
+                node.freeze();
+            }
+            for (Node node : wildcardNodes) {
+                node.freeze();
+            }
+            if (anySegment != null) {
+                anySegment.freeze();
+            }
+            if (anySegments != null) {
+                anySegments.freeze();
+            }
+        }
+
+        private static int[] append(int[] array, int value) {
+            int[] copy = Arrays.copyOf(array, array.length + 1);
+            copy[array.length] = value;
+            return copy;
+        }
+    }
+}
@@ -7,13 +7,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * RBAC权限决策引擎
  * 基于角色的访问控制（Role-Based Access Control）
+ * 单项检查以一条 IN 查询判断角色是否拥有权限；批量检查先一次性加载用户有效权限集合，再在内存中判定
  * 
  * @author AixOne Team
  * @since 1.0.0
@@ -54,16 +56,44 @@ public class RbacDecisionEngine {
             return false;
         }
 
-        // 检查用户角色是否拥有该权限
-        for (String roleId : roleIds) {
-            if (rolePermissionRepository.hasPermission(roleId, permission.getPermissionId())) {
-                log.debug("用户通过角色 {} 拥有权限: resource={}, action={}", roleId, resource, action);
-                return true;
-            }
+        return hasPermission(roleIds, permission);
+    }
+
+    /**
+     * 检查角色列表是否拥有已查出的权限（一次查询覆盖全部角色）
+     * 
+     * @param roleIds 用户角色ID列表
+     * @param permission 权限对象
+     * @return 是否有权限
+     */
+    public boolean hasPermission(List<String> roleIds, Permission permission) {
+        if (roleIds == null || roleIds.isEmpty() || permission == null) {
+            return false;
+        }
+
+        boolean granted = rolePermissionRepository.hasAnyPermission(roleIds, permission.getPermissionId());
+        if (!granted) {
+            log.debug("用户角色都不拥有该权限: permission={}", permission.getPermissionIdentifier());
+        }
+        return granted;
+    }
+
+    /**
+     * 加载角色列表的有效权限集合（一次关联查询）
+     * 
+     * @param tenantId 租户ID
+     * @param roleIds 用户角色ID列表
+     * @return 有效权限集合
+     */
+    public EffectivePermissionSet loadEffectivePermissions(String tenantId, List<String> roleIds) {
+        if (roleIds == null || roleIds.isEmpty()) {
+            return EffectivePermissionSet.EMPTY;
         }
 
-        log.debug("用户角色都不拥有该权限: resource={}, action={}", resource, action);
-        return false;
+        EffectivePermissionSet permissions = EffectivePermissionSet.of(
+                permissionRepository.findByTenantIdAndRoleIds(tenantId, roleIds));
+        log.debug("加载有效权限: tenantId={}, roleIds={}, count={}", tenantId, roleIds, permissions.size());
+        return permissions;
     }
 
     /**
@@ -108,16 +138,7 @@ public class RbacDecisionEngine {
             return Set.of();
         }
 
-        // 获取所有角色的权限
-        Set<String> permissions = roleIds.stream()
-                .flatMap(roleId -> rolePermissionRepository.findPermissionIdsByRoleId(roleId, tenantId).stream())
-                .distinct()
-                .map(permissionId -> permissionRepository.findById(permissionId))
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .map(Permission::getPermissionIdentifier)
-                .collect(Collectors.toSet());
-
+        Set<String> permissions = loadEffectivePermissions(tenantId, roleIds).identifiers();
         log.debug("用户权限数量: {}", permissions.size());
         return permissions;
     }
@@ -131,15 +152,16 @@ public class RbacDecisionEngine {
      * @param permissions 权限列表（格式：{resource}:{action}）
      * @return 权限检查结果映射（权限标识 -> 是否有权限）
      */
-    public java.util.Map<String, Boolean> checkPermissions(String userId, String tenantId, List<String> roleIds, List<String> permissions) {
+    public Map<String, Boolean> checkPermissions(String userId, String tenantId, List<String> roleIds, List<String> permissions) {
         log.debug("批量RBAC权限检查: userId={}, tenantId={}, roleIds={}, permissions={}", 
                 userId, tenantId, roleIds, permissions);
 
-        return permissions.stream()
-                .collect(Collectors.toMap(
-                        permission -> permission,
-                        permission -> checkPermissionByIdentifier(userId, tenantId, roleIds, permission)
-                ));
+        EffectivePermissionSet effective = loadEffectivePermissions(tenantId, roleIds);
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String permission : permissions) {
+            result.put(permission, effective.contains(permission));
+        }
+        return result;
     }
 }
 
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,6 +49,16 @@ public interface PermissionJpaRepository extends JpaRepository<PermissionDbo, St
             @Param("resource") String resource, 
             @Param("action") String action);
     
+    /**
+     * 根据租户ID和角色ID列表查找权限
+     * 通过子查询关联角色权限关系，一条语句返回去重后的权限
+     */
+    @Query("SELECT p FROM PermissionDbo p WHERE p.tenantId = :tenantId AND p.permissionId IN " +
+            "(SELECT rp.permissionId FROM RolePermissionDbo rp WHERE rp.tenantId = :tenantId AND rp.roleId IN :roleIds)")
+    List<PermissionDbo> findByTenantIdAndRoleIds(
+            @Param("tenantId") String tenantId,
+            @Param("roleIds") Collection<String> roleIds);
+    
     /**
      * 检查编码是否存在
      */
@@ -6,6 +6,7 @@ import com.aixone.directory.permission.infrastructure.persistence.dbo.Permission
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -56,6 +57,16 @@ public class PostgresPermissionRepository implements PermissionRepository {
                 .map(this::convertToDomain);
     }
 
+    @Override
+    public List<Permission> findByTenantIdAndRoleIds(String tenantId, Collection<String> roleIds) {
+        if (roleIds == null || roleIds.isEmpty()) {
+            return List.of();
+        }
+        return permissionJpaRepository.findByTenantIdAndRoleIds(tenantId, roleIds).stream()
+                .map(this::convertToDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void delete(String permissionId) {
         permissionJpaRepository.deleteById(permissionId);
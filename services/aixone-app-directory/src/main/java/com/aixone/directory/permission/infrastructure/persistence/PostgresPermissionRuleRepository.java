@@ -1,28 +1,44 @@
 package com.aixone.directory.permission.infrastructure.persistence;
 
 import com.aixone.directory.permission.domain.aggregate.PermissionRule;
+import com.aixone.directory.permission.domain.event.PermissionRuleChangedEvent;
 import com.aixone.directory.permission.domain.repository.PermissionRuleRepository;
+import com.aixone.directory.permission.domain.service.PermissionRuleMatcher;
 import com.aixone.directory.permission.infrastructure.persistence.dbo.PermissionRuleDbo;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
  * 权限规则仓储实现
+ * 路径匹配使用按租户缓存的规则快照（{@link PermissionRuleMatcher}），不再每次请求全量读取规则；
+ * 快照在规则变更事件提交后整体重建并替换，另按固定时长过期，兜底多实例部署下其他节点的变更
  * 
  * @author AixOne Team
  * @since 1.0.0
  */
+@Slf4j
 @Repository
 @RequiredArgsConstructor
 public class PostgresPermissionRuleRepository implements PermissionRuleRepository {
 
+    /**
+     * 快照最长使用时间（毫秒）
+     */
+    static final long SNAPSHOT_TTL_MILLIS = 60_000L;
+
     private final PermissionRuleJpaRepository permissionRuleJpaRepository;
 
+    private final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
     @Override
     public PermissionRule save(PermissionRule permissionRule) {
         PermissionRuleDbo dbo = convertToDbo(permissionRule);
@@ -46,14 +62,47 @@ public class PostgresPermissionRuleRepository implements PermissionRuleRepositor
 
     @Override
     public List<PermissionRule> findByPathAndMethod(String tenantId, String path, String method) {
-        // 获取该租户下所有启用的权限规则
-        List<PermissionRuleDbo> dbos = permissionRuleJpaRepository.findByTenantIdAndEnabledOrderByPriorityDesc(tenantId);
-        
-        // 过滤匹配的权限规则
-        return dbos.stream()
+        return snapshot(tenantId).match(path, method);
+    }
+
+    /**
+     * 规则变更提交后重建租户快照
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionRuleChanged(PermissionRuleChangedEvent event) {
+        String tenantId = event.getTenantId();
+        if (tenantId == null) {
+            snapshots.clear();
+            return;
+        }
+        snapshots.put(tenantId, loadSnapshot(tenantId));
+        log.debug("权限规则快照已重建: tenantId={}", tenantId);
+    }
+
+    /**
+     * 获取租户规则快照，不存在或已过期时重新加载
+     */
+    PermissionRuleMatcher snapshot(String tenantId) {
+        Snapshot snapshot = snapshots.get(tenantId);
+        if (snapshot != null && !snapshot.isExpired()) {
+            return snapshot.matcher;
+        }
+        Snapshot loaded = loadSnapshot(tenantId);
+        if (snapshot == null) {
+            Snapshot existing = snapshots.putIfAbsent(tenantId, loaded);
+            return existing != null ? existing.matcher : loaded.matcher;
+        }
+        // 只替换读到的旧快照，避免覆盖并发重建的新快照
+        snapshots.replace(tenantId, snapshot, loaded);
+        return loaded.matcher;
+    }
+
+    private Snapshot loadSnapshot(String tenantId) {
+        List<PermissionRule> rules = permissionRuleJpaRepository.findByTenantIdAndEnabledOrderByPriorityDesc(tenantId)
+                .stream()
                 .map(this::convertToDomain)
-                .filter(rule -> rule.matches(path, method))
                 .collect(Collectors.toList());
+        return new Snapshot(PermissionRuleMatcher.build(rules), System.currentTimeMillis());
     }
 
     @Override
@@ -111,5 +160,22 @@ public class PostgresPermissionRuleRepository implements PermissionRuleRepositor
                 .updatedAt(dbo.getUpdatedAt())
                 .build();
     }
-}
 
+    /**
+     * 租户规则快照
+     */
+    private static final class Snapshot {
+
+        private final PermissionRuleMatcher matcher;
+        private final long loadedAt;
+
+        Snapshot(PermissionRuleMatcher matcher, long loadedAt) {
+            this.matcher = matcher;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt > SNAPSHOT_TTL_MILLIS;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -37,12 +38,7 @@ public class PostgresRolePermissionRepository implements RolePermissionRepositor
 
     @Override
     public List<Permission> findPermissionsByRoleId(String roleId, String tenantId) {
-        List<String> permissionIds = rolePermissionJpaRepository.findPermissionIdsByRoleIdAndTenantId(roleId, tenantId);
-        return permissionIds.stream()
-                .map(permissionId -> permissionRepository.findById(permissionId))
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .collect(Collectors.toList());
+        return permissionRepository.findByTenantIdAndRoleIds(tenantId, List.of(roleId));
     }
 
     @Override
@@ -72,5 +68,13 @@ public class PostgresRolePermissionRepository implements RolePermissionRepositor
     public boolean hasPermission(String roleId, String permissionId) {
         return rolePermissionJpaRepository.existsByRoleIdAndPermissionId(roleId, permissionId);
     }
+
+    @Override
+    public boolean hasAnyPermission(Collection<String> roleIds, String permissionId) {
+        if (roleIds == null || roleIds.isEmpty()) {
+            return false;
+        }
+        return rolePermissionJpaRepository.existsByRoleIdsAndPermissionId(roleIds, permissionId);
+    }
 }
 
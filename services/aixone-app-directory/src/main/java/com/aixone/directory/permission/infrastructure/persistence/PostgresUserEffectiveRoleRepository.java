@@ -0,0 +1,65 @@
+package com.aixone.directory.permission.infrastructure.persistence;
+
+import com.aixone.directory.permission.domain.repository.UserEffectiveRoleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 用户有效角色仓储实现
+ * 刷新时先删除再以一条 INSERT ... SELECT 重新计算，用户ID按批拆分以限制 IN 列表长度；
+ * 删除前按用户ID顺序锁定用户行，并发刷新同一用户时后者等待前者提交，不会插入重复主键
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostgresUserEffectiveRoleRepository implements UserEffectiveRoleRepository {
+
+    /**
+     * 单条语句中的最大用户数
+     */
+    static final int REFRESH_BATCH_SIZE = 500;
+
+    private final UserEffectiveRoleJpaRepository userEffectiveRoleJpaRepository;
+
+    @Override
+    public List<String> findRoleIds(String tenantId, String userId) {
+        return userEffectiveRoleJpaRepository.findRoleIdsByTenantIdAndUserId(tenantId, userId);
+    }
+
+    @Override
+    public List<String> findUserIdsByGroupIds(Collection<String> groupIds) {
+        if (groupIds == null || groupIds.isEmpty()) {
+            return List.of();
+        }
+        return userEffectiveRoleJpaRepository.findUserIdsByGroupIds(groupIds);
+    }
+
+    @Override
+    @Transactional
+    public int refresh(Collection<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return 0;
+        }
+        // 关联表的变更可能仍在持久化上下文中，先写入数据库再重新计算
+        userEffectiveRoleJpaRepository.flush();
+
+        // 排序后分批加锁，所有事务按相同顺序获取行锁，避免死锁
+        List<String> distinct = new ArrayList<>(new TreeSet<>(userIds));
+        int rows = 0;
+        for (int from = 0; from < distinct.size(); from += REFRESH_BATCH_SIZE) {
+            List<String> batch = distinct.subList(from, Math.min(from + REFRESH_BATCH_SIZE, distinct.size()));
+            userEffectiveRoleJpaRepository.lockUsers(batch);
+            userEffectiveRoleJpaRepository.deleteByUserIds(batch);
+            rows += userEffectiveRoleJpaRepository.insertEffectiveRoles(batch);
+        }
+        return rows;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,6 +32,12 @@ public interface RolePermissionJpaRepository extends JpaRepository<RolePermissio
     @Query("SELECT COUNT(rp) > 0 FROM RolePermissionDbo rp WHERE rp.roleId = :roleId AND rp.permissionId = :permissionId")
     boolean existsByRoleIdAndPermissionId(@Param("roleId") String roleId, @Param("permissionId") String permissionId);
     
+    /**
+     * 检查角色列表中是否有任一角色拥有权限
+     */
+    @Query("SELECT COUNT(rp) > 0 FROM RolePermissionDbo rp WHERE rp.roleId IN :roleIds AND rp.permissionId = :permissionId")
+    boolean existsByRoleIdsAndPermissionId(@Param("roleIds") Collection<String> roleIds, @Param("permissionId") String permissionId);
+    
     /**
      * 删除角色的所有权限
      */
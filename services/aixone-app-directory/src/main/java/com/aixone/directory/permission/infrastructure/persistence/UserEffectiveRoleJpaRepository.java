@@ -0,0 +1,65 @@
+package com.aixone.directory.permission.infrastructure.persistence;
+
+import com.aixone.directory.permission.infrastructure.persistence.dbo.UserEffectiveRoleDbo;
+import com.aixone.directory.permission.infrastructure.persistence.dbo.UserEffectiveRoleId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户有效角色 JPA 仓储
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Repository
+public interface UserEffectiveRoleJpaRepository extends JpaRepository<UserEffectiveRoleDbo, UserEffectiveRoleId> {
+
+    /**
+     * 查找用户的有效角色ID列表
+     */
+    @Query("SELECT r.roleId FROM UserEffectiveRoleDbo r WHERE r.tenantId = :tenantId AND r.userId = :userId")
+    List<String> findRoleIdsByTenantIdAndUserId(@Param("tenantId") String tenantId, @Param("userId") String userId);
+
+    /**
+     * 查找用户组的成员ID列表
+     */
+    @Query(value = "SELECT DISTINCT gm.user_id FROM group_members gm WHERE gm.group_id IN (:groupIds)",
+            nativeQuery = true)
+    List<String> findUserIdsByGroupIds(@Param("groupIds") Collection<String> groupIds);
+
+    /**
+     * 按用户ID顺序锁定用户行，串行化同一用户的并发刷新
+     */
+    @Query(value = "SELECT u.id FROM users u WHERE u.id IN (:userIds) ORDER BY u.id FOR UPDATE", nativeQuery = true)
+    List<String> lockUsers(@Param("userIds") Collection<String> userIds);
+
+    /**
+     * 删除用户的有效角色
+     */
+    @Modifying
+    @Query("DELETE FROM UserEffectiveRoleDbo r WHERE r.userId IN :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<String> userIds);
+
+    /**
+     * 由直接角色与用户组角色重新计算用户的有效角色
+     * 只保留与用户同租户的角色
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_effective_roles (user_id, role_id, tenant_id, updated_at) "
+            + "SELECT u.id, b.role_id, u.tenant_id, CURRENT_TIMESTAMP FROM ("
+            + "SELECT ur.user_id, ur.role_id FROM user_roles ur WHERE ur.user_id IN (:userIds) "
+            + "UNION "
+            + "SELECT gm.user_id, gr.role_id FROM group_members gm "
+            + "JOIN group_roles gr ON gr.group_id = gm.group_id WHERE gm.user_id IN (:userIds)"
+            + ") b "
+            + "JOIN users u ON u.id = b.user_id "
+            + "JOIN roles r ON r.role_id = b.role_id AND r.tenant_id = u.tenant_id",
+            nativeQuery = true)
+    int insertEffectiveRoles(@Param("userIds") Collection<String> userIds);
+}
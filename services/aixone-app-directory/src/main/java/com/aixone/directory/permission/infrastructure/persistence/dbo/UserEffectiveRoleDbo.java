@@ -0,0 +1,47 @@
+package com.aixone.directory.permission.infrastructure.persistence.dbo;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户有效角色数据对象
+ * 直接角色与用户组继承角色的物化结果
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "user_effective_roles", indexes = {
+    @Index(name = "idx_user_effective_roles_tenant_user", columnList = "tenant_id, user_id"),
+    @Index(name = "idx_user_effective_roles_role_id", columnList = "role_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(UserEffectiveRoleId.class)
+public class UserEffectiveRoleDbo {
+
+    @Id
+    @Column(name = "user_id", length = 255)
+    private String userId;
+
+    @Id
+    @Column(name = "role_id", length = 255)
+    private String roleId;
+
+    @Column(name = "tenant_id", nullable = false, length = 255)
+    private String tenantId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
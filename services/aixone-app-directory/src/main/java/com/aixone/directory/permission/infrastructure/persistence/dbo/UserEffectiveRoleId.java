@@ -0,0 +1,21 @@
+package com.aixone.directory.permission.infrastructure.persistence.dbo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 用户有效角色复合主键类
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserEffectiveRoleId implements Serializable {
+    private String userId;
+    private String roleId;
+}
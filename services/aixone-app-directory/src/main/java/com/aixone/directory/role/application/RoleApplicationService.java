@@ -4,9 +4,11 @@ import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.aixone.directory.permission.domain.event.RoleBindingChangedEvent;
 import com.aixone.directory.role.application.dto.AddMemberToRoleRequest;
 import com.aixone.directory.role.application.dto.CreateRoleRequest;
 import com.aixone.directory.role.application.dto.RoleDto;
@@ -32,6 +34,7 @@ public class RoleApplicationService {
     private final UserRepository userRepository;
     private final UserJpaRepository userJpaRepository;
     private final GroupJpaRepository groupJpaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RoleDto createRole(String tenantId, CreateRoleRequest request) {
@@ -48,6 +51,7 @@ public class RoleApplicationService {
                 .orElseThrow(() -> new EntityNotFoundException("Role not found: " + roleId));
         roleDbo.getUsers().add(userDbo);
         roleJpaRepository.save(roleDbo);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(roleDbo.getTenantId(), Set.of(userDbo.getId())));
     }
     
     @Transactional
@@ -55,6 +59,7 @@ public class RoleApplicationService {
         RoleDbo role = findRoleDboAndCheckTenant(tenantId, roleId);
         role.getUsers().removeIf(u -> u.getId().equals(userId));
         roleJpaRepository.save(role);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(tenantId, Set.of(userId)));
     }
     
     public Optional<RoleDto> getRole(String roleId) {
@@ -67,6 +72,7 @@ public class RoleApplicationService {
         Set<UserDbo> users = new java.util.HashSet<>(userJpaRepository.findAllById(userIds));
         role.getUsers().addAll(users);
         roleJpaRepository.save(role);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(role.getTenantId(), userIds));
     }
 
     @Transactional
@@ -74,6 +80,7 @@ public class RoleApplicationService {
         RoleDbo role = roleJpaRepository.findById(roleId).orElseThrow();
         role.getUsers().removeIf(u -> userIds.contains(u.getId()));
         roleJpaRepository.save(role);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(role.getTenantId(), userIds));
     }
 
     @Transactional
@@ -82,6 +89,7 @@ public class RoleApplicationService {
         Set<GroupDbo> groups = new java.util.HashSet<>(groupJpaRepository.findAllById(groupIds));
         role.getGroups().addAll(groups);
         roleJpaRepository.save(role);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofGroups(role.getTenantId(), groupIds));
     }
 
     @Transactional
@@ -89,6 +97,7 @@ public class RoleApplicationService {
         RoleDbo role = roleJpaRepository.findById(roleId).orElseThrow();
         role.getGroups().removeIf(g -> groupIds.contains(g.getId()));
         roleJpaRepository.save(role);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofGroups(role.getTenantId(), groupIds));
     }
 
     private RoleDto toRoleDto(RoleDbo roleDbo) {
@@ -7,6 +7,7 @@ import com.aixone.directory.user.domain.aggregate.User;
 import com.aixone.directory.user.domain.aggregate.UserStatus;
 import com.aixone.directory.user.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -22,6 +23,7 @@ import java.util.UUID;
 import java.util.Set;
 import java.util.stream.Collectors;
 import com.aixone.directory.organization.infrastructure.persistence.dbo.DepartmentDbo;
+import com.aixone.directory.permission.domain.event.RoleBindingChangedEvent;
 import com.aixone.directory.organization.infrastructure.persistence.dbo.PositionDbo;
 import com.aixone.directory.role.infrastructure.persistence.dbo.RoleDbo;
 import com.aixone.directory.user.infrastructure.persistence.dbo.UserDbo;
@@ -45,6 +47,7 @@ public class UserApplicationService {
     private final DepartmentJpaRepository departmentJpaRepository;
     private final PositionJpaRepository positionJpaRepository;
     private final RoleJpaRepository roleJpaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public UserDto createUser(String tenantId, UserDto.CreateUserCommand command) {
@@ -209,6 +212,7 @@ public class UserApplicationService {
         Set<RoleDbo> roles = new java.util.HashSet<>(roleJpaRepository.findAllById(roleIds));
         user.getRoles().addAll(roles);
         userJpaRepository.save(user);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(user.getTenantId(), Set.of(userId)));
     }
 
     @Transactional
@@ -216,6 +220,7 @@ public class UserApplicationService {
         UserDbo user = userJpaRepository.findById(userId).orElseThrow();
         user.getRoles().removeIf(r -> roleIds.contains(r.getId()));
         userJpaRepository.save(user);
+        eventPublisher.publishEvent(RoleBindingChangedEvent.ofUsers(user.getTenantId(), Set.of(userId)));
     }
 }
 
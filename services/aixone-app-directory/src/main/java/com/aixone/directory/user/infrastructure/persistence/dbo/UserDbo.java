@@ -59,9 +59,10 @@ public class UserDbo {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // 与 DepartmentDbo.users 共用部门成员表
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
-        name = "user_departments",
+        name = "department_members",
         joinColumns = @JoinColumn(name = "user_id"),
         inverseJoinColumns = @JoinColumn(name = "department_id")
     )
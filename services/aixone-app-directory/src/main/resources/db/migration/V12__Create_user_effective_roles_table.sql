@@ -0,0 +1,34 @@
+-- 创建用户有效角色表
+-- 物化用户直接角色（user_roles）与用户组继承角色（group_members + group_roles）的并集，
+-- 权限决策时按用户一次索引读取；成员关系或角色绑定变更时按受影响用户增量刷新
+CREATE TABLE IF NOT EXISTS user_effective_roles (
+    user_id VARCHAR(255) NOT NULL,
+    role_id VARCHAR(255) NOT NULL,
+    tenant_id VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, role_id)
+);
+
+-- 创建索引
+CREATE INDEX IF NOT EXISTS idx_user_effective_roles_tenant_user ON user_effective_roles(tenant_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_user_effective_roles_role_id ON user_effective_roles(role_id);
+
+-- 回填现有数据
+INSERT INTO user_effective_roles (user_id, role_id, tenant_id, updated_at)
+SELECT u.id, b.role_id, u.tenant_id, CURRENT_TIMESTAMP
+FROM (
+    SELECT ur.user_id, ur.role_id FROM user_roles ur
+    UNION
+    SELECT gm.user_id, gr.role_id FROM group_members gm
+    JOIN group_roles gr ON gr.group_id = gm.group_id
+) b
+JOIN users u ON u.id = b.user_id
+JOIN roles r ON r.role_id = b.role_id AND r.tenant_id = u.tenant_id
+ON CONFLICT DO NOTHING;
+
+-- 添加注释
+COMMENT ON TABLE user_effective_roles IS '用户有效角色表，直接角色与用户组继承角色的物化结果';
+COMMENT ON COLUMN user_effective_roles.user_id IS '用户ID';
+COMMENT ON COLUMN user_effective_roles.role_id IS '角色ID';
+COMMENT ON COLUMN user_effective_roles.tenant_id IS '租户ID';
+COMMENT ON COLUMN user_effective_roles.updated_at IS '最近一次刷新时间';
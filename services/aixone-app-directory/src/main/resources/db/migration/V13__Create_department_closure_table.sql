@@ -0,0 +1,56 @@
+-- 创建部门闭包表
+-- 保存部门树中每一对（祖先、后代）及其距离，包含 depth = 0 的自身记录；
+-- 子树、祖先链、子树成员查询均为一次索引查询
+CREATE TABLE IF NOT EXISTS department_closure (
+    ancestor_id VARCHAR(255) NOT NULL,
+    descendant_id VARCHAR(255) NOT NULL,
+    depth INTEGER NOT NULL,
+    tenant_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+-- 创建索引
+CREATE INDEX IF NOT EXISTS idx_department_closure_descendant ON department_closure(descendant_id, depth);
+CREATE INDEX IF NOT EXISTS idx_department_closure_tenant_id ON department_closure(tenant_id);
+
+-- 由 parent_id 邻接表回填闭包（深度上限用于防御历史数据中的环）
+WITH RECURSIVE tree AS (
+    SELECT d.id AS ancestor_id, d.id AS descendant_id, 0 AS depth, d.tenant_id
+    FROM departments d
+    UNION ALL
+    SELECT t.ancestor_id, d.id, t.depth + 1, d.tenant_id
+    FROM tree t
+    JOIN departments d ON d.parent_id = t.descendant_id
+    WHERE t.depth < 64
+)
+INSERT INTO department_closure (ancestor_id, descendant_id, depth, tenant_id)
+SELECT ancestor_id, descendant_id, MIN(depth), MIN(tenant_id)
+FROM tree
+GROUP BY ancestor_id, descendant_id
+ON CONFLICT DO NOTHING;
+
+-- 部门成员统一保存在 department_members，迁移旧的 user_departments 数据
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1 FROM information_schema.tables
+        WHERE table_name = 'user_departments'
+    ) THEN
+        INSERT INTO department_members (department_id, user_id)
+        SELECT DISTINCT ud.department_id, ud.user_id
+        FROM user_departments ud
+        WHERE NOT EXISTS (
+            SELECT 1 FROM department_members dm
+            WHERE dm.department_id = ud.department_id AND dm.user_id = ud.user_id
+        );
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_department_members_user_id ON department_members(user_id);
+
+-- 添加注释
+COMMENT ON TABLE department_closure IS '部门闭包表，保存部门树中所有祖先-后代关系';
+COMMENT ON COLUMN department_closure.ancestor_id IS '祖先部门ID';
+COMMENT ON COLUMN department_closure.descendant_id IS '后代部门ID';
+COMMENT ON COLUMN department_closure.depth IS '祖先到后代的层级距离，自身为0';
+COMMENT ON COLUMN department_closure.tenant_id IS '租户ID';
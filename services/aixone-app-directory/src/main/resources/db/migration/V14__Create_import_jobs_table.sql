@@ -0,0 +1,46 @@
+-- 创建目录批量导入任务表
+-- 每个分块提交时与数据一起更新进度，checkpoint_line 为最后一个已提交行的行号，续传时从其后继续
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id VARCHAR(255) PRIMARY KEY,
+    tenant_id VARCHAR(255) NOT NULL,
+    entity_type VARCHAR(32) NOT NULL,
+    format VARCHAR(16) NOT NULL,
+    source_name VARCHAR(255),
+    status VARCHAR(16) NOT NULL,
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    inserted_rows BIGINT NOT NULL DEFAULT 0,
+    updated_rows BIGINT NOT NULL DEFAULT 0,
+    failed_rows BIGINT NOT NULL DEFAULT 0,
+    checkpoint_line BIGINT NOT NULL DEFAULT 0,
+    elapsed_millis BIGINT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 创建导入行错误表
+CREATE TABLE IF NOT EXISTS import_job_errors (
+    id VARCHAR(255) PRIMARY KEY,
+    job_id VARCHAR(255) NOT NULL REFERENCES import_jobs(id) ON DELETE CASCADE,
+    line_number BIGINT NOT NULL,
+    message VARCHAR(1000) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 创建索引
+CREATE INDEX IF NOT EXISTS idx_import_jobs_tenant_id ON import_jobs(tenant_id);
+CREATE INDEX IF NOT EXISTS idx_import_job_errors_job_line ON import_job_errors(job_id, line_number);
+
+-- 批量导入按业务键查找已有记录
+CREATE INDEX IF NOT EXISTS idx_groups_tenant_name ON groups(tenant_id, name);
+CREATE INDEX IF NOT EXISTS idx_roles_tenant_name ON roles(tenant_id, name);
+
+-- 添加注释
+COMMENT ON TABLE import_jobs IS '目录批量导入任务表';
+COMMENT ON COLUMN import_jobs.entity_type IS '导入对象类型：USER、GROUP、DEPARTMENT、ROLE_BINDING';
+COMMENT ON COLUMN import_jobs.format IS '文件格式：CSV、JSONL';
+COMMENT ON COLUMN import_jobs.checkpoint_line IS '最后一个已提交行的行号';
+COMMENT ON COLUMN import_jobs.elapsed_millis IS '分块累计耗时（毫秒），用于计算吞吐';
+COMMENT ON TABLE import_job_errors IS '目录批量导入行错误表';
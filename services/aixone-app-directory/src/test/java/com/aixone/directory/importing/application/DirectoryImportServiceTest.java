@@ -0,0 +1,401 @@
+package com.aixone.directory.importing.application;
+
+import com.aixone.directory.group.infrastructure.persistence.dbo.GroupDbo;
+import com.aixone.directory.importing.application.dto.ImportJobDto;
+import com.aixone.directory.importing.application.dto.ImportRowErrorDto;
+import com.aixone.directory.importing.domain.aggregate.ImportEntityType;
+import com.aixone.directory.importing.domain.aggregate.ImportFormat;
+import com.aixone.directory.importing.domain.aggregate.ImportJobStatus;
+import com.aixone.directory.importing.domain.repository.DirectoryImportRepository;
+import com.aixone.directory.importing.domain.repository.ImportJobRepository;
+import com.aixone.directory.importing.infrastructure.persistence.ImportJobJpaRepository;
+import com.aixone.directory.importing.infrastructure.persistence.ImportRowErrorJpaRepository;
+import com.aixone.directory.importing.infrastructure.persistence.JdbcDirectoryImportRepository;
+import com.aixone.directory.importing.infrastructure.persistence.PostgresImportJobRepository;
+import com.aixone.directory.importing.infrastructure.persistence.dbo.ImportJobDbo;
+import com.aixone.directory.organization.domain.repository.DepartmentHierarchyRepository;
+import com.aixone.directory.organization.infrastructure.persistence.DepartmentClosureJpaRepository;
+import com.aixone.directory.organization.infrastructure.persistence.PostgresDepartmentHierarchyRepository;
+import com.aixone.directory.organization.infrastructure.persistence.dbo.DepartmentDbo;
+import com.aixone.directory.organization.infrastructure.persistence.dbo.OrganizationDbo;
+import com.aixone.directory.permission.domain.repository.UserEffectiveRoleRepository;
+import com.aixone.directory.permission.domain.service.EffectiveRoleResolver;
+import com.aixone.directory.permission.infrastructure.persistence.PostgresUserEffectiveRoleRepository;
+import com.aixone.directory.permission.infrastructure.persistence.UserEffectiveRoleJpaRepository;
+import com.aixone.directory.permission.infrastructure.persistence.dbo.UserEffectiveRoleDbo;
+import com.aixone.directory.role.infrastructure.persistence.dbo.RoleDbo;
+import com.aixone.directory.user.infrastructure.persistence.dbo.UserDbo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 目录批量导入服务测试
+ * 使用H2内存数据库与生成的导入文件端到端验证分块写入、更新或新增、行错误、续传与有效角色刷新
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@DisplayName("目录批量导入服务测试")
+class DirectoryImportServiceTest {
+
+    private AnnotationConfigApplicationContext applicationContext;
+    private JdbcTemplate jdbcTemplate;
+    private MeterRegistry meterRegistry;
+    private DirectoryImportService directoryImportService;
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() {
+        applicationContext = new AnnotationConfigApplicationContext(JpaConfig.class);
+        jdbcTemplate = applicationContext.getBean(JdbcTemplate.class);
+        meterRegistry = applicationContext.getBean(MeterRegistry.class);
+        directoryImportService = applicationContext.getBean(DirectoryImportService.class);
+        tenantId = "tenant-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationContext.close();
+    }
+
+    @Test
+    @DisplayName("导入用户 - 生成的多分块文件全部写入并记录吞吐指标")
+    void testImportUsers_MultipleChunks() {
+        // Given
+        int rows = DirectoryImportService.CHUNK_SIZE * 2 + 200;
+
+        // When
+        ImportJobDto job = importCsv(ImportEntityType.USER, users(0, rows, "user"));
+
+        // Then
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(rows, job.getProcessedRows());
+        assertEquals(rows, job.getInsertedRows());
+        assertEquals(0, job.getFailedRows());
+        assertEquals(rows + 1, job.getCheckpointLine());
+        assertEquals(rows, countUsers());
+        assertEquals(3, meterRegistry.timer("directory.import.chunk", "type", "USER").count());
+        assertEquals(rows, meterRegistry.counter("directory.import.rows", "type", "USER", "outcome", "inserted").count());
+    }
+
+    @Test
+    @DisplayName("导入用户 - 按邮箱更新已有用户，未提供密码时保留原密码")
+    void testImportUsers_Upsert() {
+        // Given
+        importCsv(ImportEntityType.USER, users(0, 3, "user"));
+
+        // When
+        String content = "email,username,status,hashedPassword\n"
+                + "user0@example.com,renamed,SUSPENDED,\n"
+                + "user1@example.com,user1,,\n"
+                + "user2@example.com,user2,,\n"
+                + "user3@example.com,user3,,hashed\n";
+        ImportJobDto job = importCsv(ImportEntityType.USER, content);
+
+        // Then
+        assertEquals(1, job.getInsertedRows());
+        assertEquals(3, job.getUpdatedRows());
+        assertEquals(4, countUsers());
+        assertEquals("renamed", jdbcTemplate.queryForObject(
+                "SELECT username FROM users WHERE tenant_id = ? AND email = ?", String.class, tenantId, "user0@example.com"));
+        assertEquals("SUSPENDED", jdbcTemplate.queryForObject(
+                "SELECT status FROM users WHERE tenant_id = ? AND email = ?", String.class, tenantId, "user0@example.com"));
+        assertEquals("ACTIVE", jdbcTemplate.queryForObject(
+                "SELECT status FROM users WHERE tenant_id = ? AND email = ?", String.class, tenantId, "user1@example.com"));
+        assertEquals("hashed", jdbcTemplate.queryForObject(
+                "SELECT hashed_password FROM users WHERE tenant_id = ? AND email = ?", String.class, tenantId, "user1@example.com"));
+    }
+
+    @Test
+    @DisplayName("导入用户 - 逐行校验错误带行号，其余行照常写入")
+    void testImportUsers_RowErrors() {
+        // Given
+        String content = "email,username,password,status,groups\n"
+                + "ok@example.com,ok,secret,,\n"
+                + "not-an-email,bad,secret,,\n"
+                + "nopassword@example.com,nopassword,,,\n"
+                + "status@example.com,status,secret,UNKNOWN,\n"
+                + "group@example.com,group,secret,,不存在的组\n"
+                + "short@example.com,short\n";
+
+        // When
+        ImportJobDto job = importCsv(ImportEntityType.USER, content);
+
+        // Then
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(6, job.getProcessedRows());
+        assertEquals(1, job.getInsertedRows());
+        assertEquals(5, job.getFailedRows());
+        List<ImportRowErrorDto> errors = directoryImportService.getErrors(tenantId, job.getId(), 100);
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), errors.stream().map(ImportRowErrorDto::getLineNumber).toList());
+        assertTrue(errors.get(3).getMessage().contains("不存在的组"));
+        String hashed = jdbcTemplate.queryForObject(
+                "SELECT hashed_password FROM users WHERE tenant_id = ? AND email = ?", String.class, tenantId, "ok@example.com");
+        assertTrue(new BCryptPasswordEncoder().matches("secret", hashed));
+    }
+
+    @Test
+    @DisplayName("续传 - 读取中断后从检查点继续，已提交的分块不重复写入")
+    void testResumeImport_FromCheckpoint() {
+        // Given：读取到第二个分块中途时输入流中断
+        int rows = DirectoryImportService.CHUNK_SIZE * 2;
+        String content = users(0, rows, "user");
+        int cut = nthLineEnd(content, DirectoryImportService.CHUNK_SIZE + 400);
+        InputStream broken = new SequenceInputStream(
+                new ByteArrayInputStream(content.substring(0, cut).getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                });
+        ImportJobDto failed = directoryImportService.startImport(tenantId, ImportEntityType.USER, ImportFormat.CSV, "users.csv", broken);
+        assertEquals(ImportJobStatus.FAILED, failed.getStatus());
+        assertEquals(DirectoryImportService.CHUNK_SIZE, failed.getProcessedRows());
+        assertEquals(DirectoryImportService.CHUNK_SIZE, countUsers());
+
+        // When
+        ImportJobDto resumed = directoryImportService.resumeImport(tenantId, failed.getId(), stream(content));
+
+        // Then
+        assertEquals(ImportJobStatus.COMPLETED, resumed.getStatus());
+        assertEquals(rows, resumed.getProcessedRows());
+        assertEquals(rows, resumed.getInsertedRows());
+        assertEquals(0, resumed.getUpdatedRows());
+        assertEquals(rows, countUsers());
+        assertThrows(IllegalStateException.class,
+                () -> directoryImportService.resumeImport(tenantId, failed.getId(), stream(content)));
+    }
+
+    @Test
+    @DisplayName("导入部门、用户组、成员与角色绑定 - 维护部门层级并刷新有效角色")
+    void testImportDirectory_EndToEnd() {
+        // Given
+        String organizationId = UUID.randomUUID().toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO organizations (id, tenant_id, name, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                organizationId, tenantId, "总公司", now, now);
+        String roleId = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO roles (role_id, tenant_id, name, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                roleId, tenantId, "developer", now, now);
+
+        // When
+        ImportJobDto departments = importJsonLines(ImportEntityType.DEPARTMENT,
+                "{\"id\":\"d-root\",\"organizationId\":\"" + organizationId + "\",\"name\":\"总部\"}\n"
+                        + "{\"id\":\"d-rd\",\"organizationId\":\"" + organizationId + "\",\"name\":\"研发中心\",\"parentId\":\"d-root\"}\n"
+                        + "{\"id\":\"d-be\",\"organizationId\":\"" + organizationId + "\",\"name\":\"后端组\",\"parentId\":\"d-rd\"}\n"
+                        + "{\"id\":\"d-orphan\",\"organizationId\":\"" + organizationId + "\",\"name\":\"孤儿\",\"parentId\":\"d-none\"}\n");
+        ImportJobDto groups = importCsv(ImportEntityType.GROUP, "name\n研发组\n研发组\n");
+        ImportJobDto members = importJsonLines(ImportEntityType.USER,
+                "{\"email\":\"alice@example.com\",\"username\":\"alice\",\"hashedPassword\":\"hashed\",\"departments\":[\"d-be\"],\"groups\":[\"研发组\"]}\n"
+                        + "{\"email\":\"bob@example.com\",\"username\":\"bob\",\"hashedPassword\":\"hashed\",\"departments\":[\"d-rd\"]}\n");
+        ImportJobDto bindings = importCsv(ImportEntityType.ROLE_BINDING,
+                "role,user,group\ndeveloper,,研发组\ndeveloper,bob@example.com,\ndeveloper,bob@example.com,\nunknown,bob@example.com,\n");
+
+        // Then
+        assertEquals(3, departments.getInsertedRows());
+        assertEquals(1, departments.getFailedRows());
+        assertEquals(1, groups.getInsertedRows());
+        assertEquals(1, groups.getUpdatedRows());
+        assertEquals(2, members.getInsertedRows());
+        assertEquals(2, bindings.getInsertedRows());
+        assertEquals(1, bindings.getUpdatedRows());
+        assertEquals(1, bindings.getFailedRows());
+
+        DepartmentHierarchyRepository hierarchy = applicationContext.getBean(DepartmentHierarchyRepository.class);
+        assertEquals(List.of("d-root", "d-rd"), hierarchy.findAncestorIds("d-be"));
+        assertEquals(2L, hierarchy.countUsersInSubtree("d-root"));
+
+        EffectiveRoleResolver resolver = applicationContext.getBean(EffectiveRoleResolver.class);
+        String aliceId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", String.class, "alice@example.com");
+        String bobId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", String.class, "bob@example.com");
+        assertEquals(List.of(roleId), resolver.resolve(aliceId, tenantId));
+        assertEquals(List.of(roleId), resolver.resolve(bobId, tenantId));
+    }
+
+    @Test
+    @DisplayName("导入部门 - 移动已有部门时同步层级，拒绝形成环")
+    void testImportDepartments_Move() {
+        // Given
+        String organizationId = UUID.randomUUID().toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO organizations (id, tenant_id, name, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                organizationId, tenantId, "总公司", now, now);
+        importCsv(ImportEntityType.DEPARTMENT, "id,organizationId,name,parentId\n"
+                + "a," + organizationId + ",A,\n"
+                + "b," + organizationId + ",B,\n"
+                + "a1," + organizationId + ",A1,a\n");
+
+        // When
+        ImportJobDto job = importCsv(ImportEntityType.DEPARTMENT, "id,organizationId,name,parentId\n"
+                + "a," + organizationId + ",A2,b\n"
+                + "b," + organizationId + ",B,a1\n");
+
+        // Then
+        assertEquals(1, job.getUpdatedRows());
+        assertEquals(1, job.getFailedRows());
+        DepartmentHierarchyRepository hierarchy = applicationContext.getBean(DepartmentHierarchyRepository.class);
+        assertEquals(List.of("b", "a"), hierarchy.findAncestorIds("a1"));
+        assertEquals("b", jdbcTemplate.queryForObject("SELECT parent_id FROM departments WHERE id = 'a'", String.class));
+        assertEquals("A2", jdbcTemplate.queryForObject("SELECT name FROM departments WHERE id = 'a'", String.class));
+    }
+
+    private ImportJobDto importCsv(ImportEntityType entityType, String content) {
+        return directoryImportService.startImport(tenantId, entityType, ImportFormat.CSV, null, stream(content));
+    }
+
+    private ImportJobDto importJsonLines(ImportEntityType entityType, String content) {
+        return directoryImportService.startImport(tenantId, entityType, ImportFormat.JSONL, null, stream(content));
+    }
+
+    private int countUsers() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE tenant_id = ?", Integer.class, tenantId);
+    }
+
+    /**
+     * 生成用户导入文件，预先提供密码哈希以免测试耗时在密码编码上
+     */
+    private static String users(int from, int count, String prefix) {
+        StringBuilder content = new StringBuilder("email,username,hashedPassword\n");
+        for (int i = from; i < from + count; i++) {
+            content.append(prefix).append(i).append("@example.com,").append(prefix).append(i).append(",hashed\n");
+        }
+        return content.toString();
+    }
+
+    private static int nthLineEnd(String content, int lines) {
+        int index = -1;
+        for (int i = 0; i <= lines; i++) {
+            index = content.indexOf('\n', index + 1);
+        }
+        return index + 1;
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ==================== 测试配置 ====================
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = {
+            ImportJobJpaRepository.class, DepartmentClosureJpaRepository.class, UserEffectiveRoleJpaRepository.class})
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            // groups 在H2中是关键字；abac_conditions 列声明为 JSONB，以 JSON 域代替
+            return new DriverManagerDataSource(
+                    "jdbc:h2:mem:directory_import;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=GROUPS;"
+                            + "INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+                    "sa", "");
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            Properties properties = new Properties();
+            properties.put("hibernate.hbm2ddl.auto", "create-drop");
+            // 与 Spring Boot 默认一致，列名为下划线形式，JDBC语句才能直接使用
+            properties.put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(
+                    ImportJobDbo.class.getPackageName(),
+                    DepartmentDbo.class.getPackageName(),
+                    UserDbo.class.getPackageName(),
+                    RoleDbo.class.getPackageName(),
+                    GroupDbo.class.getPackageName(),
+                    UserEffectiveRoleDbo.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaProperties(properties);
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        DepartmentHierarchyRepository departmentHierarchyRepository(DepartmentClosureJpaRepository closureJpaRepository) {
+            return new PostgresDepartmentHierarchyRepository(closureJpaRepository);
+        }
+
+        @Bean
+        UserEffectiveRoleRepository userEffectiveRoleRepository(UserEffectiveRoleJpaRepository jpaRepository) {
+            return new PostgresUserEffectiveRoleRepository(jpaRepository);
+        }
+
+        @Bean
+        EffectiveRoleResolver effectiveRoleResolver(UserEffectiveRoleRepository userEffectiveRoleRepository) {
+            return new EffectiveRoleResolver(userEffectiveRoleRepository);
+        }
+
+        @Bean
+        ImportJobRepository importJobRepository(ImportJobJpaRepository importJobJpaRepository,
+                                                ImportRowErrorJpaRepository importRowErrorJpaRepository) {
+            return new PostgresImportJobRepository(importJobJpaRepository, importRowErrorJpaRepository);
+        }
+
+        @Bean
+        DirectoryImportRepository directoryImportRepository(JdbcTemplate jdbcTemplate,
+                                                            DepartmentHierarchyRepository departmentHierarchyRepository) {
+            return new JdbcDirectoryImportRepository(jdbcTemplate, departmentHierarchyRepository);
+        }
+
+        @Bean
+        DirectoryImportService directoryImportService(ImportJobRepository importJobRepository,
+                                                      DirectoryImportRepository directoryImportRepository,
+                                                      ApplicationContext applicationContext,
+                                                      PlatformTransactionManager transactionManager,
+                                                      MeterRegistry meterRegistry) {
+            return new DirectoryImportService(importJobRepository, directoryImportRepository,
+                    new BCryptPasswordEncoder(4), applicationContext, transactionManager, meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.aixone.directory.importing.application;
+
+import com.aixone.directory.importing.domain.aggregate.ImportFormat;
+import com.aixone.directory.importing.domain.aggregate.ImportRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 导入记录读取器测试
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@DisplayName("导入记录读取器测试")
+class ImportRecordReaderTest {
+
+    @Test
+    @DisplayName("CSV - 表头映射、引号转义与物理行号")
+    void testCsv_QuotedFieldsAndLineNumbers() {
+        // Given
+        String content = "\uFEFFemail,username,groups\n"
+                + "alice@example.com,\"Alice, A.\",研发|测试\n"
+                + "\n"
+                + "bob@example.com,\"Bob \"\"B\"\"\",\n";
+
+        // When
+        List<ImportRecord> records = read(content, ImportFormat.CSV);
+
+        // Then
+        assertEquals(2, records.size());
+        assertEquals(2, records.get(0).getLineNumber());
+        assertEquals("Alice, A.", records.get(0).get("username"));
+        assertEquals(List.of("研发", "测试"), records.get(0).getList("groups"));
+        assertEquals(4, records.get(1).getLineNumber());
+        assertEquals("Bob \"B\"", records.get(1).get("username"));
+        assertNull(records.get(1).get("groups"));
+        assertTrue(records.get(1).getList("groups").isEmpty());
+    }
+
+    @Test
+    @DisplayName("CSV - 列数不一致与引号未闭合记为解析错误")
+    void testCsv_ParseErrors() {
+        // Given
+        String content = "email,username\n"
+                + "alice@example.com\n"
+                + "bob@example.com,\"Bob\n"
+                + "carol@example.com,Carol\n";
+
+        // When
+        List<ImportRecord> records = read(content, ImportFormat.CSV);
+
+        // Then
+        assertEquals(3, records.size());
+        assertNotNull(records.get(0).getParseError());
+        assertNotNull(records.get(1).getParseError());
+        assertNull(records.get(2).getParseError());
+        assertEquals("Carol", records.get(2).get("username"));
+    }
+
+    @Test
+    @DisplayName("JSONL - 数组拼接为多值字段，null 视为未提供")
+    void testJsonLines() {
+        // Given
+        String content = "{\"email\":\"alice@example.com\",\"groups\":[\"研发\",\"测试\"],\"status\":null}\n"
+                + "not-json\n"
+                + "[1,2]\n";
+
+        // When
+        List<ImportRecord> records = read(content, ImportFormat.JSONL);
+
+        // Then
+        assertEquals(3, records.size());
+        assertEquals(List.of("研发", "测试"), records.get(0).getList("groups"));
+        assertNull(records.get(0).get("status"));
+        assertNotNull(records.get(1).getParseError());
+        assertNotNull(records.get(2).getParseError());
+        assertEquals(3, records.get(2).getLineNumber());
+    }
+
+    private static List<ImportRecord> read(String content, ImportFormat format) {
+        List<ImportRecord> records = new ArrayList<>();
+        ImportRecordReader reader = new ImportRecordReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format);
+        reader.forEachRemaining(records::add);
+        return records;
+    }
+}
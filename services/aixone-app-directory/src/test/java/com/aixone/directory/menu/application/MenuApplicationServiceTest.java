@@ -19,7 +19,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -572,7 +571,7 @@ class MenuApplicationServiceTest {
     void testDeleteMenu_WithTenantId_Success() {
         // Given
         when(menuRepository.findById(menuId)).thenReturn(Optional.of(testMenu));
-        when(menuRepository.findByTenantIdAndParentId(tenantId, menuId)).thenReturn(new ArrayList<>());
+        when(menuRepository.findByTenantId(tenantId)).thenReturn(List.of(testMenu));
         doNothing().when(menuRepository).delete(menuId);
 
         // When
@@ -580,7 +579,7 @@ class MenuApplicationServiceTest {
 
         // Then
         verify(menuRepository, times(1)).findById(menuId);
-        verify(menuRepository, times(1)).findByTenantIdAndParentId(tenantId, menuId);
+        verify(menuRepository, times(1)).findByTenantId(tenantId);
         verify(menuRepository, times(1)).delete(menuId);
     }
 
@@ -633,7 +632,7 @@ class MenuApplicationServiceTest {
                 .build();
 
         when(menuRepository.findById(menuId)).thenReturn(Optional.of(testMenu));
-        when(menuRepository.findByTenantIdAndParentId(tenantId, menuId)).thenReturn(List.of(childMenu));
+        when(menuRepository.findByTenantId(tenantId)).thenReturn(List.of(testMenu, childMenu));
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -642,7 +641,7 @@ class MenuApplicationServiceTest {
 
         assertEquals("菜单存在子菜单，无法删除", exception.getMessage());
         verify(menuRepository, times(1)).findById(menuId);
-        verify(menuRepository, times(1)).findByTenantIdAndParentId(tenantId, menuId);
+        verify(menuRepository, times(1)).findByTenantId(tenantId);
         verify(menuRepository, never()).delete(anyString());
     }
 
@@ -651,7 +650,7 @@ class MenuApplicationServiceTest {
     void testDeleteMenu_WithoutTenantId_Success() {
         // Given
         when(menuRepository.findById(menuId)).thenReturn(Optional.of(testMenu));
-        when(menuRepository.findByTenantIdAndParentId(tenantId, menuId)).thenReturn(new ArrayList<>());
+        when(menuRepository.findByTenantId(tenantId)).thenReturn(List.of(testMenu));
         doNothing().when(menuRepository).delete(menuId);
 
         // When
@@ -659,7 +658,7 @@ class MenuApplicationServiceTest {
 
         // Then
         verify(menuRepository, times(1)).findById(menuId);
-        verify(menuRepository, times(1)).findByTenantIdAndParentId(tenantId, menuId);
+        verify(menuRepository, times(1)).findByTenantId(tenantId);
         verify(menuRepository, times(1)).delete(menuId);
     }
 
@@ -738,6 +737,96 @@ class MenuApplicationServiceTest {
         verify(menuRepository, times(1)).findRootMenusByTenantId(tenantId);
     }
 
+    @Test
+    @DisplayName("根据租户ID查找所有菜单 - 命中快照不再访问数据库")
+    void testFindMenusByTenantId_CachedSnapshot() {
+        // Given
+        when(menuRepository.findByTenantId(tenantId)).thenReturn(List.of(testMenu));
+
+        // When
+        List<MenuDto.MenuView> first = menuApplicationService.findMenusByTenantId(tenantId);
+        List<MenuDto.MenuView> second = menuApplicationService.findMenusTree(tenantId, null, null, null, null);
+
+        // Then
+        assertSame(first, second);
+        verify(menuRepository, times(1)).findByTenantId(tenantId);
+        verifyNoInteractions(menuJpaRepository);
+    }
+
+    @Test
+    @DisplayName("根据租户ID查找所有菜单 - 更新菜单后快照失效")
+    void testFindMenusByTenantId_EvictedOnUpdate() {
+        // Given
+        when(menuRepository.findByTenantId(tenantId)).thenReturn(List.of(testMenu));
+        when(menuRepository.findById(menuId)).thenReturn(Optional.of(testMenu));
+        when(menuRepository.save(any(Menu.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        menuApplicationService.findMenusByTenantId(tenantId);
+
+        // When
+        menuApplicationService.updateMenu(menuId, tenantId, MenuDto.UpdateMenuCommand.builder()
+                .name("测试菜单").title("新标题").path("/test").build());
+        List<MenuDto.MenuView> result = menuApplicationService.findMenusByTenantId(tenantId);
+
+        // Then
+        assertEquals("新标题", result.get(0).getTitle());
+        verify(menuRepository, times(2)).findByTenantId(tenantId);
+    }
+
+    @Test
+    @DisplayName("删除菜单 - 一次查询检查整棵子树")
+    void testDeleteMenu_ChecksWholeSubtree() {
+        // Given
+        Menu child = createMenu("child", menuId, 1);
+        Menu grandchild = createMenu("grandchild", "child", 1);
+        when(menuRepository.findById("child")).thenReturn(Optional.of(child));
+        when(menuRepository.findById("grandchild")).thenReturn(Optional.of(grandchild));
+        when(menuRepository.findByTenantId(tenantId)).thenReturn(List.of(testMenu, child, grandchild));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> menuApplicationService.deleteMenu("child", tenantId));
+        menuApplicationService.deleteMenu("grandchild", tenantId);
+
+        verify(menuRepository, never()).findByTenantIdAndParentId(anyString(), anyString());
+        verify(menuRepository, never()).delete("child");
+        verify(menuRepository, times(1)).delete("grandchild");
+    }
+
+    @Test
+    @DisplayName("更新菜单 - 父菜单不能是自身的后代")
+    void testUpdateMenu_ParentIsDescendant_ThrowsException() {
+        // Given
+        Menu child = createMenu("child", menuId, 1);
+        Menu grandchild = createMenu("grandchild", "child", 1);
+        when(menuRepository.findById(menuId)).thenReturn(Optional.of(testMenu));
+        when(menuRepository.findByTenantId(tenantId)).thenReturn(List.of(testMenu, child, grandchild));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                menuApplicationService.updateMenu(menuId, tenantId, MenuDto.UpdateMenuCommand.builder()
+                        .parentId("grandchild").name("测试菜单").title("测试菜单标题").path("/test").build()));
+
+        assertEquals("父菜单不能是菜单自身或其子菜单", exception.getMessage());
+        verify(menuRepository, never()).save(any(Menu.class));
+    }
+
+    /**
+     * 创建测试用的Menu对象
+     */
+    private Menu createMenu(String id, String parentId, Integer displayOrder) {
+        return Menu.builder()
+                .id(id)
+                .tenantId(tenantId)
+                .parentId(parentId)
+                .name(id)
+                .title(id + "标题")
+                .path("/" + id)
+                .type("menu")
+                .displayOrder(displayOrder)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
     /**
      * 创建测试用的MenuDbo对象
      */
@@ -0,0 +1,136 @@
+package com.aixone.directory.menu.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * 菜单树单元测试
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@DisplayName("菜单树测试")
+class MenuTreeTest {
+
+    @Test
+    @DisplayName("构建 - 根菜单与子菜单按displayOrder排序")
+    void testOf_SortedByDisplayOrder() {
+        // Given
+        List<MenuDto.MenuView> menus = List.of(
+                view("b", null, 2),
+                view("b2", "b", 2),
+                view("a", null, 1),
+                view("b1", "b", 1),
+                view("b0", "b", null));
+
+        // When
+        MenuTree tree = MenuTree.of(menus);
+
+        // Then
+        assertEquals(List.of("a", "b"), ids(tree.roots()));
+        assertEquals(List.of("b0", "b1", "b2"), ids(tree.roots().get(1).getChildren()));
+        assertTrue(tree.roots().get(0).getChildren().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> tree.roots().get(1).getChildren().clear());
+    }
+
+    @Test
+    @DisplayName("构建 - 父菜单不存在的节点不出现在树中")
+    void testOf_OrphanDropped() {
+        // Given
+        List<MenuDto.MenuView> menus = List.of(view("a", null, 1), view("orphan", "missing", 1));
+
+        // When
+        MenuTree tree = MenuTree.of(menus);
+
+        // Then
+        assertEquals(List.of("a"), ids(tree.roots()));
+        assertEquals(2, tree.size());
+    }
+
+    @Test
+    @DisplayName("后代 - 返回整棵子树，数据中存在环时也能结束")
+    void testDescendantIds() {
+        // Given
+        MenuTree tree = MenuTree.of(List.of(
+                view("root", null, 1),
+                view("a", "root", 1),
+                view("a1", "a", 1),
+                view("a11", "a1", 1),
+                view("b", "root", 2),
+                view("x", "y", 1),
+                view("y", "x", 1)));
+
+        // When & Then
+        assertEquals(List.of("a", "b", "a1", "a11"), tree.descendantIds("root"));
+        assertEquals(List.of("a11"), tree.descendantIds("a1"));
+        assertTrue(tree.descendantIds("a11").isEmpty());
+        assertEquals(List.of("y"), tree.descendantIds("x"));
+    }
+
+    @Test
+    @DisplayName("构建 - 2万个菜单的大租户")
+    void testOf_LargeTenant() {
+        // Given：200个根菜单，每个根下100个子菜单
+        List<MenuDto.MenuView> menus = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            menus.add(view("root-" + i, null, 200 - i));
+            for (int j = 0; j < 100; j++) {
+                menus.add(view("child-" + i + "-" + j, "root-" + i, 100 - j));
+            }
+        }
+
+        // When
+        MenuTree tree = MenuTree.of(menus);
+
+        // Then
+        assertEquals(20_200, tree.size());
+        assertEquals(200, tree.roots().size());
+        assertEquals("root-199", tree.roots().get(0).getId());
+        assertEquals("child-199-99", tree.roots().get(0).getChildren().get(0).getId());
+        assertEquals(100, tree.descendantIds("root-0").size());
+    }
+
+    @Test
+    @DisplayName("构建 - 每个菜单的父ID读取次数为常数，只设置一次子列表")
+    void testOf_SinglePassGrouping() {
+        // Given：逐个菜单扫描查找子菜单的实现会对每个菜单读取 n 次父ID
+        List<MenuDto.MenuView> menus = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            menus.add(spy(view("root-" + i, null, i)));
+            for (int j = 0; j < 100; j++) {
+                menus.add(spy(view("child-" + i + "-" + j, "root-" + i, j)));
+            }
+        }
+
+        // When
+        MenuTree tree = MenuTree.of(menus);
+
+        // Then
+        assertEquals(10, tree.roots().size());
+        for (MenuDto.MenuView menu : menus) {
+            verify(menu, atMost(2)).getParentId();
+            verify(menu, times(1)).setChildren(anyList());
+        }
+    }
+
+    private static MenuDto.MenuView view(String id, String parentId, Integer displayOrder) {
+        return MenuDto.MenuView.builder()
+                .id(id)
+                .parentId(parentId)
+                .name(id)
+                .displayOrder(displayOrder)
+                .build();
+    }
+
+    private static List<String> ids(List<MenuDto.MenuView> menus) {
+        return menus.stream().map(MenuDto.MenuView::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,251 @@
+package com.aixone.directory.organization.infrastructure.persistence;
+
+import com.aixone.directory.group.infrastructure.persistence.dbo.GroupDbo;
+import com.aixone.directory.organization.domain.repository.DepartmentHierarchyRepository;
+import com.aixone.directory.organization.infrastructure.persistence.dbo.DepartmentDbo;
+import com.aixone.directory.organization.infrastructure.persistence.dbo.OrganizationDbo;
+import com.aixone.directory.permission.infrastructure.persistence.dbo.UserEffectiveRoleDbo;
+import com.aixone.directory.role.infrastructure.persistence.dbo.RoleDbo;
+import com.aixone.directory.user.domain.aggregate.UserStatus;
+import com.aixone.directory.user.infrastructure.persistence.dbo.UserDbo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 部门层级仓储测试
+ * 使用H2内存数据库验证闭包表在新增、移动、删除部门时的维护，以及子树查询均为单条语句
+ *
+ * 部门树：root → a → a1，root → b
+ */
+@DisplayName("部门层级仓储测试")
+class PostgresDepartmentHierarchyRepositoryTest {
+
+    private AnnotationConfigApplicationContext applicationContext;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private DepartmentHierarchyRepository hierarchyRepository;
+
+    private String tenantId;
+    private OrganizationDbo organization;
+    private String root;
+    private String a;
+    private String a1;
+    private String b;
+
+    @BeforeEach
+    void setUp() {
+        applicationContext = new AnnotationConfigApplicationContext(JpaConfig.class);
+        EntityManagerFactory entityManagerFactory = applicationContext.getBean(EntityManagerFactory.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        transactionTemplate = new TransactionTemplate(applicationContext.getBean(PlatformTransactionManager.class));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        hierarchyRepository = applicationContext.getBean(DepartmentHierarchyRepository.class);
+
+        tenantId = "tenant-" + UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> {
+            organization = new OrganizationDbo();
+            organization.setId(UUID.randomUUID().toString());
+            organization.setTenantId(tenantId);
+            organization.setName("总公司");
+            organization.setCreatedAt(LocalDateTime.now());
+            organization.setUpdatedAt(LocalDateTime.now());
+            entityManager.persist(organization);
+
+            root = department("root", null);
+            a = department("a", root);
+            a1 = department("a1", a);
+            b = department("b", root);
+        });
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationContext.close();
+    }
+
+    @Test
+    @DisplayName("新增 - 祖先链从根部门开始，后代按层级由近及远")
+    void testInsert_AncestorsAndDescendants() {
+        // When
+        List<String> ancestors = hierarchyRepository.findAncestorIds(a1);
+        List<String> descendants = hierarchyRepository.findDescendantIds(root);
+
+        // Then
+        assertEquals(List.of(root, a), ancestors);
+        assertEquals(3, descendants.size());
+        assertEquals(Set.of(a, b), Set.copyOf(descendants.subList(0, 2)));
+        assertEquals(a1, descendants.get(2));
+        assertTrue(hierarchyRepository.isInSubtree(root, a1));
+        assertTrue(hierarchyRepository.isInSubtree(a1, a1));
+        assertFalse(hierarchyRepository.isInSubtree(b, a1));
+    }
+
+    @Test
+    @DisplayName("移动 - 子树随部门一起挂到新上级下")
+    void testMove_SubtreeFollows() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> hierarchyRepository.move(a, b));
+
+        // Then
+        assertEquals(List.of(root, b, a), hierarchyRepository.findAncestorIds(a1));
+        assertEquals(List.of(a, a1), hierarchyRepository.findDescendantIds(b));
+        assertEquals(List.of(a1), hierarchyRepository.findDescendantIds(a));
+        assertEquals(3, hierarchyRepository.findDescendantIds(root).size());
+    }
+
+    @Test
+    @DisplayName("移动 - 成为根部门后与原祖先断开")
+    void testMove_ToRoot() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> hierarchyRepository.move(a, null));
+
+        // Then
+        assertEquals(List.of(a), hierarchyRepository.findAncestorIds(a1));
+        assertFalse(hierarchyRepository.isInSubtree(root, a1));
+        assertEquals(List.of(b), hierarchyRepository.findDescendantIds(root));
+    }
+
+    @Test
+    @DisplayName("删除 - 清除子树全部层级记录")
+    void testDelete_RemovesSubtree() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> hierarchyRepository.delete(a));
+
+        // Then
+        assertEquals(List.of(b), hierarchyRepository.findDescendantIds(root));
+        assertTrue(hierarchyRepository.findAncestorIds(a1).isEmpty());
+        assertFalse(hierarchyRepository.isInSubtree(a, a1));
+    }
+
+    @Test
+    @DisplayName("子树成员 - 去重统计且每次查询只有一条语句")
+    void testSubtreeMembers() {
+        // Given：alice 属于 a1，bob 同时属于 a 与 b
+        String[] users = new String[2];
+        transactionTemplate.executeWithoutResult(status -> {
+            UserDbo alice = user("alice");
+            UserDbo bob = user("bob");
+            entityManager.find(DepartmentDbo.class, a1).getUsers().add(alice);
+            entityManager.find(DepartmentDbo.class, a).getUsers().add(bob);
+            entityManager.find(DepartmentDbo.class, b).getUsers().add(bob);
+            users[0] = alice.getId();
+            users[1] = bob.getId();
+        });
+        statistics.clear();
+
+        // When
+        long rootCount = hierarchyRepository.countUsersInSubtree(root);
+        boolean aliceInA = hierarchyRepository.isUserInSubtree(a, users[0]);
+
+        // Then
+        assertEquals(2L, rootCount);
+        assertTrue(aliceInA);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertFalse(hierarchyRepository.isUserInSubtree(b, users[0]));
+        assertEquals(1L, hierarchyRepository.countUsersInSubtree(b));
+        assertEquals(Set.of(users[0], users[1]), Set.copyOf(hierarchyRepository.findUserIdsInSubtree(a)));
+    }
+
+    private String department(String name, String parentId) {
+        DepartmentDbo department = new DepartmentDbo();
+        department.setId(UUID.randomUUID().toString());
+        department.setOrganization(organization);
+        department.setTenantId(tenantId);
+        department.setName(name);
+        department.setParentId(parentId);
+        department.setCreatedAt(LocalDateTime.now());
+        department.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(department);
+        hierarchyRepository.insert(tenantId, department.getId(), parentId);
+        return department.getId();
+    }
+
+    private UserDbo user(String name) {
+        UserDbo user = new UserDbo();
+        user.setId(UUID.randomUUID().toString());
+        user.setTenantId(tenantId);
+        user.setEmail(name + "@example.com");
+        user.setHashedPassword("hashed");
+        user.setUsername(name);
+        user.setStatus(UserStatus.ACTIVE);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(user);
+        return user;
+    }
+
+    // ==================== 测试配置 ====================
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = DepartmentClosureJpaRepository.class)
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            // groups 在H2中是关键字；abac_conditions 列声明为 JSONB，以 JSON 域代替
+            return new DriverManagerDataSource(
+                    "jdbc:h2:mem:department_hierarchy;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=GROUPS;"
+                            + "INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+                    "sa", "");
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            Properties properties = new Properties();
+            properties.put("hibernate.hbm2ddl.auto", "create-drop");
+            properties.put("hibernate.generate_statistics", "true");
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(
+                    DepartmentDbo.class.getPackageName(),
+                    UserDbo.class.getPackageName(),
+                    RoleDbo.class.getPackageName(),
+                    GroupDbo.class.getPackageName(),
+                    UserEffectiveRoleDbo.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaProperties(properties);
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        DepartmentHierarchyRepository departmentHierarchyRepository(DepartmentClosureJpaRepository closureJpaRepository) {
+            return new PostgresDepartmentHierarchyRepository(closureJpaRepository);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.aixone.directory.permission.domain.service;
+
+import com.aixone.directory.group.infrastructure.persistence.dbo.GroupDbo;
+import com.aixone.directory.organization.infrastructure.persistence.dbo.DepartmentDbo;
+import com.aixone.directory.permission.domain.event.RoleBindingChangedEvent;
+import com.aixone.directory.permission.domain.repository.UserEffectiveRoleRepository;
+import com.aixone.directory.permission.infrastructure.persistence.PostgresUserEffectiveRoleRepository;
+import com.aixone.directory.permission.infrastructure.persistence.UserEffectiveRoleJpaRepository;
+import com.aixone.directory.permission.infrastructure.persistence.dbo.UserEffectiveRoleDbo;
+import com.aixone.directory.role.infrastructure.persistence.dbo.RoleDbo;
+import com.aixone.directory.user.domain.aggregate.UserStatus;
+import com.aixone.directory.user.infrastructure.persistence.dbo.UserDbo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 有效角色解析器测试
+ * 使用H2内存数据库验证直接角色与用户组角色的合并、变更事件的增量刷新以及单次索引读取
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@DisplayName("有效角色解析器测试")
+class EffectiveRoleResolverTest {
+
+    private AnnotationConfigApplicationContext applicationContext;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private EffectiveRoleResolver effectiveRoleResolver;
+
+    private String tenantId;
+    private UserDbo alice;
+    private UserDbo bob;
+    private RoleDbo directRole;
+    private RoleDbo groupRole;
+    private GroupDbo group;
+
+    @BeforeEach
+    void setUp() {
+        applicationContext = new AnnotationConfigApplicationContext(JpaConfig.class);
+        EntityManagerFactory entityManagerFactory = applicationContext.getBean(EntityManagerFactory.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        transactionTemplate = new TransactionTemplate(applicationContext.getBean(PlatformTransactionManager.class));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        effectiveRoleResolver = applicationContext.getBean(EffectiveRoleResolver.class);
+
+        // Given：alice 直接拥有 directRole，并与 bob 同属 group，group 绑定 groupRole
+        tenantId = "tenant-" + UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> {
+            alice = user("alice");
+            bob = user("bob");
+            directRole = role(tenantId, "direct");
+            groupRole = role(tenantId, "group");
+            alice.getRoles().add(directRole);
+            group = new GroupDbo();
+            group.setId(UUID.randomUUID().toString());
+            group.setTenantId(tenantId);
+            group.setName("研发组");
+            group.setUsers(new HashSet<>(Set.of(alice, bob)));
+            group.setRoles(new HashSet<>(Set.of(groupRole)));
+            group.setCreatedAt(LocalDateTime.now());
+            group.setUpdatedAt(LocalDateTime.now());
+            entityManager.persist(group);
+            applicationContext.publishEvent(RoleBindingChangedEvent.ofUsers(tenantId, Set.of(alice.getId(), bob.getId())));
+        });
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationContext.close();
+    }
+
+    @Test
+    @DisplayName("解析 - 合并直接角色与用户组角色，一次查询")
+    void testResolve_MergesDirectAndGroupRoles() {
+        // When
+        List<String> aliceRoles = effectiveRoleResolver.resolve(alice.getId(), tenantId);
+
+        // Then
+        assertEquals(Set.of(directRole.getId(), groupRole.getId()), Set.copyOf(aliceRoles));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(groupRole.getId()), effectiveRoleResolver.resolve(bob.getId(), tenantId));
+    }
+
+    @Test
+    @DisplayName("解析 - 其他租户下查询不到角色")
+    void testResolve_OtherTenant() {
+        // When & Then
+        assertTrue(effectiveRoleResolver.resolve(alice.getId(), "tenant-other").isEmpty());
+        assertTrue(effectiveRoleResolver.resolve(null, tenantId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("用户组角色变更 - 刷新全部组成员")
+    void testOnRoleBindingChanged_GroupRoleAdded() {
+        // Given
+        RoleDbo[] auditor = new RoleDbo[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            auditor[0] = role(tenantId, "auditor");
+            GroupDbo managed = entityManager.find(GroupDbo.class, group.getId());
+            managed.getRoles().add(auditor[0]);
+
+            // When
+            applicationContext.publishEvent(RoleBindingChangedEvent.ofGroups(tenantId, Set.of(group.getId())));
+        });
+
+        // Then
+        assertTrue(effectiveRoleResolver.resolve(alice.getId(), tenantId).contains(auditor[0].getId()));
+        assertTrue(effectiveRoleResolver.resolve(bob.getId(), tenantId).contains(auditor[0].getId()));
+    }
+
+    @Test
+    @DisplayName("移出用户组 - 失去组角色，保留直接角色")
+    void testOnRoleBindingChanged_MemberRemoved() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> {
+            GroupDbo managed = entityManager.find(GroupDbo.class, group.getId());
+            managed.getUsers().removeIf(user -> user.getId().equals(alice.getId()));
+
+            // When
+            applicationContext.publishEvent(RoleBindingChangedEvent.ofUsers(tenantId, Set.of(alice.getId())));
+        });
+
+        // Then
+        assertEquals(List.of(directRole.getId()), effectiveRoleResolver.resolve(alice.getId(), tenantId));
+        assertEquals(List.of(groupRole.getId()), effectiveRoleResolver.resolve(bob.getId(), tenantId));
+    }
+
+    @Test
+    @DisplayName("刷新 - 忽略其他租户的角色，直接与组内重复授予只保留一行")
+    void testRefresh_TenantFilterAndDeduplication() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> {
+            UserDbo managed = entityManager.find(UserDbo.class, bob.getId());
+            managed.getRoles().add(entityManager.find(RoleDbo.class, groupRole.getId()));
+            managed.getRoles().add(role("tenant-other", "foreign"));
+
+            // When
+            applicationContext.publishEvent(RoleBindingChangedEvent.ofUsers(tenantId, Set.of(bob.getId())));
+        });
+
+        // Then
+        assertEquals(List.of(groupRole.getId()), effectiveRoleResolver.resolve(bob.getId(), tenantId));
+        Long rows = entityManager.createQuery(
+                        "SELECT COUNT(r) FROM UserEffectiveRoleDbo r WHERE r.userId = :userId", Long.class)
+                .setParameter("userId", bob.getId())
+                .getSingleResult();
+        assertEquals(1L, rows);
+    }
+
+    @Test
+    @DisplayName("并发刷新同一用户 - 后者等待前者提交，不产生主键冲突")
+    void testRefresh_ConcurrentRefreshOfSameUser() throws Exception {
+        // Given：carol 尚无有效角色，两个事务同时为其插入
+        UserDbo[] carol = new UserDbo[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            carol[0] = user("carol");
+            carol[0].getRoles().add(entityManager.find(RoleDbo.class, directRole.getId()));
+        });
+        CountDownLatch firstRefreshed = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                effectiveRoleResolver.refreshUsers(Set.of(carol[0].getId()));
+                firstRefreshed.countDown();
+                await(releaseFirst);
+            }));
+            assertTrue(firstRefreshed.await(5, TimeUnit.SECONDS));
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                    effectiveRoleResolver.refreshUsers(Set.of(carol[0].getId()))));
+            Thread.sleep(200);
+            assertFalse(second.isDone(), "第二个刷新应等待第一个事务释放用户行锁");
+            releaseFirst.countDown();
+
+            // Then
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            releaseFirst.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(List.of(directRole.getId()), effectiveRoleResolver.resolve(carol[0].getId(), tenantId));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private UserDbo user(String name) {
+        UserDbo user = new UserDbo();
+        user.setId(UUID.randomUUID().toString());
+        user.setTenantId(tenantId);
+        user.setEmail(name + "@example.com");
+        user.setHashedPassword("hashed");
+        user.setUsername(name);
+        user.setStatus(UserStatus.ACTIVE);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(user);
+        return user;
+    }
+
+    private RoleDbo role(String roleTenantId, String name) {
+        RoleDbo role = new RoleDbo();
+        role.setId(UUID.randomUUID().toString());
+        role.setTenantId(roleTenantId);
+        role.setName(name);
+        role.setCreatedAt(LocalDateTime.now());
+        role.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(role);
+        return role;
+    }
+
+    // ==================== 测试配置 ====================
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = UserEffectiveRoleJpaRepository.class)
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            // groups 在H2中是关键字；abac_conditions 列声明为 JSONB，以 JSON 域代替
+            return new DriverManagerDataSource(
+                    "jdbc:h2:mem:effective_roles;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=GROUPS;"
+                            + "INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+                    "sa", "");
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            Properties properties = new Properties();
+            properties.put("hibernate.hbm2ddl.auto", "create-drop");
+            properties.put("hibernate.generate_statistics", "true");
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(
+                    UserEffectiveRoleDbo.class.getPackageName(),
+                    UserDbo.class.getPackageName(),
+                    RoleDbo.class.getPackageName(),
+                    GroupDbo.class.getPackageName(),
+                    DepartmentDbo.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaProperties(properties);
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        UserEffectiveRoleRepository userEffectiveRoleRepository(UserEffectiveRoleJpaRepository jpaRepository) {
+            return new PostgresUserEffectiveRoleRepository(jpaRepository);
+        }
+
+        @Bean
+        EffectiveRoleResolver effectiveRoleResolver(UserEffectiveRoleRepository userEffectiveRoleRepository) {
+            return new EffectiveRoleResolver(userEffectiveRoleRepository);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.aixone.directory.permission.domain.service;
+
+import com.aixone.directory.permission.domain.aggregate.Permission;
+import com.aixone.directory.permission.domain.repository.PermissionRepository;
+import com.aixone.directory.permission.domain.repository.RolePermissionRepository;
+import com.aixone.directory.permission.infrastructure.persistence.PermissionJpaRepository;
+import com.aixone.directory.permission.infrastructure.persistence.PostgresPermissionRepository;
+import com.aixone.directory.permission.infrastructure.persistence.PostgresRolePermissionRepository;
+import com.aixone.directory.permission.infrastructure.persistence.RolePermissionJpaRepository;
+import com.aixone.directory.permission.infrastructure.persistence.dbo.PermissionDbo;
+import com.aixone.directory.permission.infrastructure.provider.UserPermissionProviderImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 权限决策查询次数测试
+ * 使用H2内存数据库与Hibernate统计信息，验证批量检查的SQL语句数量与检查项数量无关
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@DisplayName("权限决策查询次数测试")
+class PermissionDecisionQueryCountTest {
+
+    private static final int PERMISSION_COUNT = 40;
+
+    private AnnotationConfigApplicationContext applicationContext;
+    private Statistics statistics;
+    private PermissionDecisionService permissionDecisionService;
+    private UserPermissionProviderImpl userPermissionProvider;
+
+    private String tenantId;
+    private String userId;
+    private List<String> roleIds;
+    private List<String> identifiers;
+
+    @BeforeEach
+    void setUp() {
+        applicationContext = new AnnotationConfigApplicationContext(JpaConfig.class);
+        statistics = applicationContext.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        PermissionRepository permissionRepository =
+                new PostgresPermissionRepository(applicationContext.getBean(PermissionJpaRepository.class));
+        RolePermissionRepository rolePermissionRepository = new PostgresRolePermissionRepository(
+                applicationContext.getBean(RolePermissionJpaRepository.class), permissionRepository);
+        userPermissionProvider = mock(UserPermissionProviderImpl.class);
+        permissionDecisionService = new PermissionDecisionService(
+                new RbacDecisionEngine(rolePermissionRepository, permissionRepository),
+                new AbacDecisionEngine(),
+                permissionRepository,
+                userPermissionProvider);
+
+        // Given：3个角色，40个权限，偶数序号的权限分别授予其中一个角色
+        tenantId = "tenant-" + UUID.randomUUID();
+        userId = UUID.randomUUID().toString();
+        roleIds = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        identifiers = new ArrayList<>();
+        for (int i = 0; i < PERMISSION_COUNT; i++) {
+            Permission permission = permissionRepository.save(Permission.create(
+                    tenantId, "权限" + i, "res" + i + ":read", "res" + i, "read"));
+            identifiers.add(permission.getPermissionIdentifier());
+            if (i % 2 == 0) {
+                rolePermissionRepository.assignPermission(
+                        roleIds.get(i % roleIds.size()), permission.getPermissionId(), tenantId);
+            }
+        }
+        when(userPermissionProvider.getUserRoles(userId, tenantId)).thenReturn(roleIds);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationContext.close();
+    }
+
+    @Test
+    @DisplayName("批量检查 - 任意数量的检查项只执行一条SQL")
+    void testCheckPermissions_SingleQuery() {
+        // When
+        Map<String, Boolean> result = permissionDecisionService.checkPermissions(userId, tenantId, identifiers, null);
+
+        // Then
+        assertEquals(PERMISSION_COUNT, result.size());
+        for (int i = 0; i < PERMISSION_COUNT; i++) {
+            assertEquals(i % 2 == 0, result.get(identifiers.get(i)), identifiers.get(i));
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("单项检查 - 权限只查询一次，角色授权一条SQL覆盖全部角色")
+    void testCheckPermission_TwoQueries() {
+        // When
+        boolean granted = permissionDecisionService.checkPermission(userId, tenantId, "res38", "read", null);
+        statistics.clear();
+        boolean denied = permissionDecisionService.checkPermission(userId, tenantId, "res39", "read", null);
+
+        // Then
+        assertTrue(granted);
+        assertFalse(denied);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("获取用户有效权限 - 一条关联查询")
+    void testGetUserEffectivePermissions_SingleQuery() {
+        // When
+        Set<String> permissions = permissionDecisionService.getUserEffectivePermissions(userId, tenantId);
+
+        // Then
+        assertEquals(PERMISSION_COUNT / 2, permissions.size());
+        assertTrue(permissions.contains("res0:read"));
+        assertFalse(permissions.contains("res1:read"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // ==================== 测试配置 ====================
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = PermissionJpaRepository.class)
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            // abac_conditions 列声明为 JSONB，H2 中以 JSON 域代替
+            return new DriverManagerDataSource(
+                    "jdbc:h2:mem:permission_decision;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+                            + "INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+                    "sa", "");
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            Properties properties = new Properties();
+            properties.put("hibernate.hbm2ddl.auto", "create-drop");
+            properties.put("hibernate.generate_statistics", "true");
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(PermissionDbo.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaProperties(properties);
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
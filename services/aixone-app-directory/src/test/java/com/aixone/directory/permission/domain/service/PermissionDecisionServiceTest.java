@@ -102,7 +102,7 @@ class PermissionDecisionServiceTest {
         when(userPermissionProvider.getUserRoles(userId, tenantId)).thenReturn(roleIds);
         when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, resource, action))
                 .thenReturn(Optional.of(testPermission));
-        when(rbacDecisionEngine.checkPermission(userId, tenantId, roleIds, resource, action))
+        when(rbacDecisionEngine.hasPermission(roleIds, testPermission))
                 .thenReturn(true);
 
         // When
@@ -113,7 +113,8 @@ class PermissionDecisionServiceTest {
         assertTrue(result);
         verify(userPermissionProvider, times(1)).getUserRoles(userId, tenantId);
         verify(permissionRepository, times(1)).findByTenantIdAndResourceAndAction(tenantId, resource, action);
-        verify(rbacDecisionEngine, times(1)).checkPermission(userId, tenantId, roleIds, resource, action);
+        verify(rbacDecisionEngine, times(1)).hasPermission(roleIds, testPermission);
+        verify(rbacDecisionEngine, never()).checkPermission(anyString(), anyString(), any(), anyString(), anyString());
         verify(abacDecisionEngine, never()).checkPermission(anyString(), anyString(), any(), any(), any(), any());
     }
 
@@ -133,7 +134,7 @@ class PermissionDecisionServiceTest {
         when(userPermissionProvider.getUserRoles(userId, tenantId)).thenReturn(roleIds);
         when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, resource, action))
                 .thenReturn(Optional.of(permissionWithAbac));
-        when(rbacDecisionEngine.checkPermission(userId, tenantId, roleIds, resource, action))
+        when(rbacDecisionEngine.hasPermission(roleIds, permissionWithAbac))
                 .thenReturn(true);
         when(abacDecisionEngine.checkPermission(
                 eq(userId), eq(tenantId), eq(permissionWithAbac), 
@@ -146,7 +147,7 @@ class PermissionDecisionServiceTest {
 
         // Then
         assertTrue(result);
-        verify(rbacDecisionEngine, times(1)).checkPermission(userId, tenantId, roleIds, resource, action);
+        verify(rbacDecisionEngine, times(1)).hasPermission(roleIds, permissionWithAbac);
         verify(abacDecisionEngine, times(1)).checkPermission(
                 eq(userId), eq(tenantId), eq(permissionWithAbac), 
                 eq(userAttributes), isNull(), isNull());
@@ -168,7 +169,7 @@ class PermissionDecisionServiceTest {
         when(userPermissionProvider.getUserRoles(userId, tenantId)).thenReturn(roleIds);
         when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, resource, action))
                 .thenReturn(Optional.of(permissionWithAbac));
-        when(rbacDecisionEngine.checkPermission(userId, tenantId, roleIds, resource, action))
+        when(rbacDecisionEngine.hasPermission(roleIds, permissionWithAbac))
                 .thenReturn(true);
         when(abacDecisionEngine.checkPermission(
                 eq(userId), eq(tenantId), eq(permissionWithAbac), 
@@ -181,7 +182,7 @@ class PermissionDecisionServiceTest {
 
         // Then
         assertFalse(result);
-        verify(rbacDecisionEngine, times(1)).checkPermission(userId, tenantId, roleIds, resource, action);
+        verify(rbacDecisionEngine, times(1)).hasPermission(roleIds, permissionWithAbac);
         verify(abacDecisionEngine, times(1)).checkPermission(
                 eq(userId), eq(tenantId), eq(permissionWithAbac), 
                 eq(userAttributes), isNull(), isNull());
@@ -198,7 +199,7 @@ class PermissionDecisionServiceTest {
         when(userPermissionProvider.getUserRoles(userId, tenantId)).thenReturn(roleIds);
         when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, resource, action))
                 .thenReturn(Optional.of(testPermission));
-        when(rbacDecisionEngine.checkPermission(userId, tenantId, roleIds, resource, action))
+        when(rbacDecisionEngine.hasPermission(roleIds, testPermission))
                 .thenReturn(false);
 
         // When
@@ -207,7 +208,7 @@ class PermissionDecisionServiceTest {
 
         // Then
         assertFalse(result);
-        verify(rbacDecisionEngine, times(1)).checkPermission(userId, tenantId, roleIds, resource, action);
+        verify(rbacDecisionEngine, times(1)).hasPermission(roleIds, testPermission);
         verify(abacDecisionEngine, never()).checkPermission(anyString(), anyString(), any(), any(), any(), any());
     }
 
@@ -228,7 +229,7 @@ class PermissionDecisionServiceTest {
         assertFalse(result);
         verify(userPermissionProvider, times(1)).getUserRoles(userId, tenantId);
         verify(permissionRepository, never()).findByTenantIdAndResourceAndAction(anyString(), anyString(), anyString());
-        verify(rbacDecisionEngine, never()).checkPermission(anyString(), anyString(), any(), anyString(), anyString());
+        verify(rbacDecisionEngine, never()).hasPermission(any(), any());
     }
 
     @Test
@@ -251,7 +252,7 @@ class PermissionDecisionServiceTest {
         assertFalse(result);
         verify(userPermissionProvider, times(1)).getUserRoles(userId, tenantId);
         verify(permissionRepository, times(1)).findByTenantIdAndResourceAndAction(tenantId, resource, action);
-        verify(rbacDecisionEngine, never()).checkPermission(anyString(), anyString(), any(), anyString(), anyString());
+        verify(rbacDecisionEngine, never()).hasPermission(any(), any());
     }
 
     @Test
@@ -264,7 +265,7 @@ class PermissionDecisionServiceTest {
         when(userPermissionProvider.getUserRoles(userId, tenantId)).thenReturn(roleIds);
         when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, "test", "read"))
                 .thenReturn(Optional.of(testPermission));
-        when(rbacDecisionEngine.checkPermission(userId, tenantId, roleIds, "test", "read"))
+        when(rbacDecisionEngine.hasPermission(roleIds, testPermission))
                 .thenReturn(true);
 
         // When
@@ -313,14 +314,8 @@ class PermissionDecisionServiceTest {
         List<String> roleIds = List.of(roleId1);
 
         when(userPermissionProvider.getUserRoles(userId, tenantId)).thenReturn(roleIds);
-        when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, "test", "read"))
-                .thenReturn(Optional.of(testPermission));
-        when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, "test", "write"))
-                .thenReturn(Optional.of(permissionWithAbac));
-        when(rbacDecisionEngine.checkPermission(userId, tenantId, roleIds, "test", "read"))
-                .thenReturn(true);
-        when(rbacDecisionEngine.checkPermission(userId, tenantId, roleIds, "test", "write"))
-                .thenReturn(false);
+        when(rbacDecisionEngine.loadEffectivePermissions(tenantId, roleIds))
+                .thenReturn(EffectivePermissionSet.of(List.of(testPermission)));
 
         // When
         Map<String, Boolean> result = permissionDecisionService.checkPermissions(
@@ -331,6 +326,44 @@ class PermissionDecisionServiceTest {
         assertEquals(2, result.size());
         assertTrue(result.get("test:read"));
         assertFalse(result.get("test:write"));
+        verify(userPermissionProvider, times(1)).getUserRoles(userId, tenantId);
+        verify(rbacDecisionEngine, times(1)).loadEffectivePermissions(tenantId, roleIds);
+        verify(permissionRepository, never()).findByTenantIdAndResourceAndAction(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("批量检查权限 - 角色和权限只加载一次，ABAC按项评估")
+    void testCheckPermissions_LoadsOnce_EvaluatesAbacPerItem() {
+        // Given
+        List<String> permissions = List.of("test:read", "test:write", "test:delete", "invalid-format", "test:read");
+        List<String> roleIds = List.of(roleId1);
+        Map<String, Object> userAttributes = new HashMap<>();
+        userAttributes.put("department", "HR");
+        PermissionDecisionService.PermissionContext context = PermissionDecisionService.PermissionContext.builder()
+                .userAttributes(userAttributes)
+                .build();
+
+        when(userPermissionProvider.getUserRoles(userId, tenantId)).thenReturn(roleIds);
+        when(rbacDecisionEngine.loadEffectivePermissions(tenantId, roleIds))
+                .thenReturn(EffectivePermissionSet.of(List.of(testPermission, permissionWithAbac)));
+        when(abacDecisionEngine.checkPermission(
+                eq(userId), eq(tenantId), eq(permissionWithAbac),
+                eq(userAttributes), isNull(), isNull()))
+                .thenReturn(false);
+
+        // When
+        Map<String, Boolean> result = permissionDecisionService.checkPermissions(
+                userId, tenantId, permissions, context);
+
+        // Then
+        assertEquals(4, result.size());
+        assertTrue(result.get("test:read"));
+        assertFalse(result.get("test:write"));
+        assertFalse(result.get("test:delete"));
+        assertFalse(result.get("invalid-format"));
+        verify(userPermissionProvider, times(1)).getUserRoles(userId, tenantId);
+        verify(rbacDecisionEngine, times(1)).loadEffectivePermissions(tenantId, roleIds);
+        verify(rbacDecisionEngine, never()).hasPermission(any(), any());
     }
 
     @Test
@@ -379,7 +412,7 @@ class PermissionDecisionServiceTest {
         when(userPermissionProvider.getUserRoles(userId, tenantId)).thenReturn(roleIds);
         when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, resource, action))
                 .thenReturn(Optional.of(permissionWithAbac));
-        when(rbacDecisionEngine.checkPermission(userId, tenantId, roleIds, resource, action))
+        when(rbacDecisionEngine.hasPermission(roleIds, permissionWithAbac))
                 .thenReturn(true);
         when(abacDecisionEngine.checkPermission(
                 eq(userId), eq(tenantId), eq(permissionWithAbac), 
@@ -0,0 +1,103 @@
+package com.aixone.directory.permission.domain.service;
+
+import com.aixone.directory.permission.domain.aggregate.PermissionRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 权限规则匹配器基准测试
+ * 每个资源一条带通配的 GET 规则和一条 POST 规则，在 10、1000、10000 个资源的规则集中匹配最后一个资源的路径，
+ * 对比前缀树查找与原实现逐条转换正则匹配的单次耗时；正则对照的次数随规则数缩减，避免大规则集时运行过久。
+ * 类名不以 Test 结尾，默认构建不执行，手动运行：
+ * mvn test -Dtest=PermissionRuleMatcherBenchmark
+ */
+@Tag("benchmark")
+@DisplayName("权限规则匹配器基准测试")
+class PermissionRuleMatcherBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int OPERATIONS_PER_ITERATION = 200_000;
+
+    @ParameterizedTest(name = "{0}条规则")
+    @ValueSource(ints = {10, 1_000, 10_000})
+    @DisplayName("前缀树查找与逐条正则匹配对比")
+    void benchmarkMatch(int size) {
+        List<PermissionRule> rules = rules(size);
+        PermissionRuleMatcher matcher = PermissionRuleMatcher.build(rules);
+        String path = "/api/v1/admin/res" + (size - 1) + "/123";
+
+        long trie = run("trie", rules.size(), i -> matcher.match(path, "GET").size(), OPERATIONS_PER_ITERATION);
+        long legacy = run("legacy-regex", rules.size(), i -> legacyMatch(rules, path, "GET").size(),
+                Math.max(5, OPERATIONS_PER_ITERATION / size));
+
+        assertTrue(trie > 0);
+        assertTrue(legacy > 0);
+    }
+
+    private long run(String name, int ruleCount, ToIntFunction<Integer> operation, int operations) {
+        long sink = 0;
+        for (int iteration = 0; iteration < WARMUP_ITERATIONS; iteration++) {
+            for (int i = 0; i < operations; i++) {
+                sink += operation.applyAsInt(i);
+            }
+        }
+        double best = Double.MAX_VALUE;
+        double total = 0;
+        for (int iteration = 0; iteration < MEASUREMENT_ITERATIONS; iteration++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < operations; i++) {
+                sink += operation.applyAsInt(i);
+            }
+            double nanosPerOp = (double) (System.nanoTime() - start) / operations;
+            best = Math.min(best, nanosPerOp);
+            total += nanosPerOp;
+        }
+        System.out.printf("%-14s avg %12.1f ns/op, best %12.1f ns/op (%d rules)%n",
+                name, total / MEASUREMENT_ITERATIONS, best, ruleCount);
+        return sink;
+    }
+
+    private static List<PermissionRule> rules(int size) {
+        List<PermissionRule> rules = new ArrayList<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            rules.add(rule("item-" + i, "/api/v1/admin/res" + i + "/*", List.of("GET")));
+            rules.add(rule("list-" + i, "/api/v1/admin/res" + i, List.of("POST")));
+        }
+        return rules;
+    }
+
+    /**
+     * 原实现：逐条将Ant模式转换为正则并匹配
+     */
+    private static List<String> legacyMatch(List<PermissionRule> rules, String path, String method) {
+        List<String> result = new ArrayList<>();
+        for (PermissionRule rule : rules) {
+            if (rule.getMethods() != null && !rule.getMethods().isEmpty() && !rule.getMethods().contains(method)) {
+                continue;
+            }
+            String regex = rule.getPattern()
+                    .replace(".", "\\.")
+                    .replace("**", ".*")
+                    .replace("*", "[^/]*");
+            if (path.equals(rule.getPattern()) || path.matches(regex)) {
+                result.add(rule.getId());
+            }
+        }
+        return result;
+    }
+
+    private static PermissionRule rule(String id, String pattern, List<String> methods) {
+        PermissionRule rule = PermissionRule.create("tenant-1", pattern, methods, "admin:" + id + ":read");
+        rule.setId(id);
+        return rule;
+    }
+}
@@ -0,0 +1,173 @@
+package com.aixone.directory.permission.domain.service;
+
+import com.aixone.directory.permission.domain.aggregate.PermissionRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 权限规则匹配器单元测试
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@DisplayName("权限规则匹配器测试")
+class PermissionRuleMatcherTest {
+
+    @Nested
+    @DisplayName("路径匹配")
+    class MatchTests {
+
+        @Test
+        @DisplayName("字面量、* 与 ** 路径段")
+        void testMatch_Segments() {
+            // Given
+            PermissionRuleMatcher matcher = PermissionRuleMatcher.build(List.of(
+                    rule("exact", "/api/v1/admin/users", List.of()),
+                    rule("single", "/api/v1/admin/users/*", List.of()),
+                    rule("deep", "/api/v1/admin/users/**", List.of()),
+                    rule("middle", "/api/v1/admin/*/roles", List.of()),
+                    rule("partial", "/api/v1/admin/user-*", List.of())
+            ));
+
+            // When & Then
+            assertEquals(List.of("exact", "deep"), ids(matcher.match("/api/v1/admin/users", "GET")));
+            assertEquals(List.of("single", "deep"), ids(matcher.match("/api/v1/admin/users/u1", "GET")));
+            assertEquals(List.of("single", "deep", "middle"), ids(matcher.match("/api/v1/admin/users/roles", "GET")));
+            assertEquals(List.of("deep"), ids(matcher.match("/api/v1/admin/users/u1/roles", "GET")));
+            assertEquals(List.of("partial"), ids(matcher.match("/api/v1/admin/user-groups", "GET")));
+            assertTrue(matcher.match("/api/v1/admin/tenants", "GET").isEmpty());
+        }
+
+        @Test
+        @DisplayName("** 位于中间时可以匹配零个或多个路径段")
+        void testMatch_DoubleWildcardInMiddle() {
+            // Given
+            PermissionRuleMatcher matcher = PermissionRuleMatcher.build(List.of(
+                    rule("export", "/api/v1/admin/**/export", List.of("POST"))
+            ));
+
+            // When & Then
+            assertEquals(1, matcher.match("/api/v1/admin/export", "POST").size());
+            assertEquals(1, matcher.match("/api/v1/admin/users/u1/export", "POST").size());
+            assertTrue(matcher.match("/api/v1/admin/users/u1/export/x", "POST").isEmpty());
+        }
+
+        @Test
+        @DisplayName("按HTTP方法分桶，未指定方法的规则匹配所有方法")
+        void testMatch_MethodBuckets() {
+            // Given
+            PermissionRuleMatcher matcher = PermissionRuleMatcher.build(List.of(
+                    rule("write", "/api/v1/admin/users", List.of("POST", "PUT")),
+                    rule("read", "/api/v1/admin/users", List.of("GET")),
+                    rule("any", "/api/v1/admin/**", List.of())
+            ));
+
+            // When & Then
+            assertEquals(List.of("write", "any"), ids(matcher.match("/api/v1/admin/users", "PUT")));
+            assertEquals(List.of("read", "any"), ids(matcher.match("/api/v1/admin/users", "GET")));
+            assertEquals(List.of("any"), ids(matcher.match("/api/v1/admin/users", "DELETE")));
+        }
+
+        @Test
+        @DisplayName("结果保持快照中的优先级顺序，禁用规则不参与匹配")
+        void testMatch_PriorityOrderAndDisabled() {
+            // Given
+            PermissionRule disabled = rule("disabled", "/api/v1/admin/users", List.of());
+            disabled.setEnabled(false);
+            PermissionRuleMatcher matcher = PermissionRuleMatcher.build(List.of(
+                    rule("high", "/api/v1/admin/**", List.of()),
+                    disabled,
+                    rule("low", "/api/v1/admin/users", List.of())
+            ));
+
+            // When & Then
+            assertEquals(2, matcher.size());
+            assertEquals(List.of("high", "low"), ids(matcher.match("/api/v1/admin/users", "GET")));
+        }
+
+        @Test
+        @DisplayName("与逐条匹配的结果一致")
+        void testMatch_SameAsRuleMatches() {
+            // Given
+            Random random = new Random(42);
+            String[] patternSegments = {"users", "roles", "*", "**", "user*", "v?"};
+            String[] pathSegments = {"users", "roles", "user1", "v1", "v10", "x"};
+            String[] methods = {"GET", "POST"};
+
+            for (int round = 0; round < 500; round++) {
+                List<PermissionRule> rules = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    rules.add(rule("r" + i, randomPath(random, patternSegments),
+                            random.nextBoolean() ? List.of() : List.of(methods[random.nextInt(2)])));
+                }
+                PermissionRuleMatcher matcher = PermissionRuleMatcher.build(rules);
+
+                for (int q = 0; q < 10; q++) {
+                    String path = randomPath(random, pathSegments);
+                    String method = methods[random.nextInt(2)];
+
+                    // When
+                    List<PermissionRule> expected = rules.stream()
+                            .filter(rule -> rule.matches(path, method))
+                            .collect(Collectors.toList());
+
+                    // Then
+                    assertEquals(ids(expected), ids(matcher.match(path, method)), path + " " + rules);
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("大规模规则")
+    class LargeRuleSetTests {
+
+        @Test
+        @DisplayName("10、1k、10k条规则时仅命中目标规则")
+        void testMatch_LargeRuleSets() {
+            for (int size : new int[]{10, 1_000, 10_000}) {
+                // Given
+                List<PermissionRule> rules = new ArrayList<>(size * 2);
+                for (int i = 0; i < size; i++) {
+                    rules.add(rule("item-" + i, "/api/v1/admin/res" + i + "/*", List.of("GET")));
+                    rules.add(rule("list-" + i, "/api/v1/admin/res" + i, List.of("POST")));
+                }
+                PermissionRuleMatcher matcher = PermissionRuleMatcher.build(rules);
+                String last = "/api/v1/admin/res" + (size - 1);
+
+                // When & Then
+                assertEquals(List.of("item-" + (size - 1)), ids(matcher.match(last + "/123", "GET")));
+                assertEquals(List.of("list-" + (size - 1)), ids(matcher.match(last, "POST")));
+                assertTrue(matcher.match(last + "/123", "POST").isEmpty());
+                assertTrue(matcher.match("/api/v1/admin/res" + size + "/123", "GET").isEmpty());
+            }
+        }
+    }
+
+    private static PermissionRule rule(String id, String pattern, List<String> methods) {
+        PermissionRule rule = PermissionRule.create("tenant-1", pattern, methods, "admin:" + id + ":read");
+        rule.setId(id);
+        return rule;
+    }
+
+    private static String randomPath(Random random, String[] segments) {
+        StringBuilder path = new StringBuilder("/api");
+        int length = random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            path.append('/').append(segments[random.nextInt(segments.length)]);
+        }
+        return path.toString();
+    }
+
+    private static List<String> ids(List<PermissionRule> rules) {
+        return rules.stream().map(PermissionRule::getId).collect(Collectors.toList());
+    }
+}
@@ -78,8 +78,7 @@ class RbacDecisionEngineTest {
 
         when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, resource, action))
                 .thenReturn(Optional.of(testPermission));
-        when(rolePermissionRepository.hasPermission(roleId1, permissionId)).thenReturn(false);
-        when(rolePermissionRepository.hasPermission(roleId2, permissionId)).thenReturn(true);
+        when(rolePermissionRepository.hasAnyPermission(roleIds, permissionId)).thenReturn(true);
 
         // When
         boolean result = rbacDecisionEngine.checkPermission(userId, tenantId, roleIds, resource, action);
@@ -87,8 +86,8 @@ class RbacDecisionEngineTest {
         // Then
         assertTrue(result);
         verify(permissionRepository, times(1)).findByTenantIdAndResourceAndAction(tenantId, resource, action);
-        verify(rolePermissionRepository, times(1)).hasPermission(roleId1, permissionId);
-        verify(rolePermissionRepository, times(1)).hasPermission(roleId2, permissionId);
+        verify(rolePermissionRepository, times(1)).hasAnyPermission(roleIds, permissionId);
+        verify(rolePermissionRepository, never()).hasPermission(anyString(), anyString());
     }
 
     @Test
@@ -101,8 +100,7 @@ class RbacDecisionEngineTest {
 
         when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, resource, action))
                 .thenReturn(Optional.of(testPermission));
-        when(rolePermissionRepository.hasPermission(roleId1, permissionId)).thenReturn(false);
-        when(rolePermissionRepository.hasPermission(roleId2, permissionId)).thenReturn(false);
+        when(rolePermissionRepository.hasAnyPermission(roleIds, permissionId)).thenReturn(false);
 
         // When
         boolean result = rbacDecisionEngine.checkPermission(userId, tenantId, roleIds, resource, action);
@@ -110,8 +108,7 @@ class RbacDecisionEngineTest {
         // Then
         assertFalse(result);
         verify(permissionRepository, times(1)).findByTenantIdAndResourceAndAction(tenantId, resource, action);
-        verify(rolePermissionRepository, times(1)).hasPermission(roleId1, permissionId);
-        verify(rolePermissionRepository, times(1)).hasPermission(roleId2, permissionId);
+        verify(rolePermissionRepository, times(1)).hasAnyPermission(roleIds, permissionId);
     }
 
     @Test
@@ -177,7 +174,7 @@ class RbacDecisionEngineTest {
 
         when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, "test", "read"))
                 .thenReturn(Optional.of(testPermission));
-        when(rolePermissionRepository.hasPermission(roleId1, permissionId)).thenReturn(true);
+        when(rolePermissionRepository.hasAnyPermission(roleIds, permissionId)).thenReturn(true);
 
         // When
         boolean result = rbacDecisionEngine.checkPermissionByIdentifier(userId, tenantId, roleIds, permissionIdentifier);
@@ -236,12 +233,8 @@ class RbacDecisionEngineTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(rolePermissionRepository.findPermissionIdsByRoleId(roleId1, tenantId))
-                .thenReturn(List.of(permissionId));
-        when(rolePermissionRepository.findPermissionIdsByRoleId(roleId2, tenantId))
-                .thenReturn(List.of(permissionId, permissionId2));
-        when(permissionRepository.findById(permissionId)).thenReturn(Optional.of(testPermission));
-        when(permissionRepository.findById(permissionId2)).thenReturn(Optional.of(permission2));
+        when(permissionRepository.findByTenantIdAndRoleIds(tenantId, roleIds))
+                .thenReturn(List.of(testPermission, permission2));
 
         // When
         Set<String> result = rbacDecisionEngine.getUserPermissions(userId, tenantId, roleIds);
@@ -251,8 +244,8 @@ class RbacDecisionEngineTest {
         assertEquals(2, result.size());
         assertTrue(result.contains("test:read"));
         assertTrue(result.contains("test:write"));
-        verify(rolePermissionRepository, times(1)).findPermissionIdsByRoleId(roleId1, tenantId);
-        verify(rolePermissionRepository, times(1)).findPermissionIdsByRoleId(roleId2, tenantId);
+        verify(permissionRepository, times(1)).findByTenantIdAndRoleIds(tenantId, roleIds);
+        verify(permissionRepository, never()).findById(anyString());
     }
 
     @Test
@@ -305,12 +298,8 @@ class RbacDecisionEngineTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, "test", "read"))
-                .thenReturn(Optional.of(testPermission));
-        when(permissionRepository.findByTenantIdAndResourceAndAction(tenantId, "test", "write"))
-                .thenReturn(Optional.of(permission2));
-        when(rolePermissionRepository.hasPermission(roleId1, permissionId)).thenReturn(true);
-        when(rolePermissionRepository.hasPermission(roleId1, permissionId2)).thenReturn(false);
+        when(permissionRepository.findByTenantIdAndRoleIds(tenantId, roleIds))
+                .thenReturn(List.of(testPermission));
 
         // When
         java.util.Map<String, Boolean> result = rbacDecisionEngine.checkPermissions(userId, tenantId, roleIds, permissions);
@@ -320,6 +309,9 @@ class RbacDecisionEngineTest {
         assertEquals(2, result.size());
         assertTrue(result.get("test:read"));
         assertFalse(result.get("test:write"));
+        verify(permissionRepository, times(1)).findByTenantIdAndRoleIds(tenantId, roleIds);
+        verify(permissionRepository, never()).findByTenantIdAndResourceAndAction(anyString(), anyString(), anyString());
+        verify(rolePermissionRepository, never()).hasAnyPermission(any(), anyString());
     }
 }
 
@@ -0,0 +1,99 @@
+package com.aixone.directory.user.application;
+
+import com.aixone.directory.permission.domain.event.RoleBindingChangedEvent;
+import com.aixone.directory.role.infrastructure.persistence.RoleJpaRepository;
+import com.aixone.directory.role.infrastructure.persistence.dbo.RoleDbo;
+import com.aixone.directory.user.infrastructure.persistence.UserJpaRepository;
+import com.aixone.directory.user.infrastructure.persistence.dbo.UserDbo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户应用服务单元测试
+ *
+ * @author AixOne Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("用户应用服务测试")
+class UserApplicationServiceTest {
+
+    @Mock
+    private UserJpaRepository userJpaRepository;
+
+    @Mock
+    private RoleJpaRepository roleJpaRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserApplicationService userApplicationService;
+
+    private UserDbo user;
+    private RoleDbo role;
+
+    @BeforeEach
+    void setUp() {
+        role = new RoleDbo();
+        role.setId("role-1");
+        role.setTenantId("tenant-1");
+        user = new UserDbo();
+        user.setId("user-1");
+        user.setTenantId("tenant-1");
+        user.setRoles(new HashSet<>());
+        when(userJpaRepository.findById("user-1")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    @DisplayName("分配角色 - 发布角色绑定变更事件")
+    void testAssignRolesToUser_PublishesRoleBindingChanged() {
+        // Given
+        when(roleJpaRepository.findAllById(Set.of("role-1"))).thenReturn(List.of(role));
+
+        // When
+        userApplicationService.assignRolesToUser("user-1", Set.of("role-1"));
+
+        // Then
+        assertTrue(user.getRoles().contains(role));
+        assertRoleBindingChanged();
+    }
+
+    @Test
+    @DisplayName("移除角色 - 发布角色绑定变更事件")
+    void testRemoveRolesFromUser_PublishesRoleBindingChanged() {
+        // Given
+        user.getRoles().add(role);
+
+        // When
+        userApplicationService.removeRolesFromUser("user-1", Set.of("role-1"));
+
+        // Then
+        assertTrue(user.getRoles().isEmpty());
+        assertRoleBindingChanged();
+    }
+
+    private void assertRoleBindingChanged() {
+        verify(userJpaRepository).save(user);
+        ArgumentCaptor<RoleBindingChangedEvent> captor = ArgumentCaptor.forClass(RoleBindingChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals("tenant-1", captor.getValue().getTenantId());
+        assertEquals(Set.of("user-1"), captor.getValue().getUserIds());
+        assertTrue(captor.getValue().getGroupIds().isEmpty());
+    }
+}
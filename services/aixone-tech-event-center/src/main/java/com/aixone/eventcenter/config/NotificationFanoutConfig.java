@@ -0,0 +1,72 @@
+package com.aixone.eventcenter.config;
+
+import com.aixone.eventcenter.notification.domain.Notification;
+import com.aixone.eventcenter.notification.infrastructure.NotificationFanoutExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 批量通知执行器配置类
+ * 按渠道配置发送并发批次数与速率上限，未单独配置的渠道使用默认配置
+ */
+@Configuration
+public class NotificationFanoutConfig {
+
+    @Value("${event-center.notification.bulk.render-threads:0}")
+    private int renderThreads;
+
+    @Value("${event-center.notification.channel.default.concurrency:4}")
+    private int defaultConcurrency;
+
+    @Value("${event-center.notification.channel.default.rate-per-second:0}")
+    private double defaultRatePerSecond;
+
+    @Value("${event-center.notification.channel.email.concurrency:4}")
+    private int emailConcurrency;
+
+    @Value("${event-center.notification.channel.email.rate-per-second:100}")
+    private double emailRatePerSecond;
+
+    @Value("${event-center.notification.channel.sms.concurrency:8}")
+    private int smsConcurrency;
+
+    @Value("${event-center.notification.channel.sms.rate-per-second:200}")
+    private double smsRatePerSecond;
+
+    @Value("${event-center.notification.channel.push.concurrency:16}")
+    private int pushConcurrency;
+
+    @Value("${event-center.notification.channel.push.rate-per-second:1000}")
+    private double pushRatePerSecond;
+
+    /**
+     * 批量通知执行器，应用关闭时释放线程
+     */
+    @Bean(destroyMethod = "shutdown")
+    public NotificationFanoutExecutor notificationFanoutExecutor(ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<Notification.NotificationChannel, NotificationFanoutExecutor.ChannelSettings> channels =
+                new EnumMap<>(Notification.NotificationChannel.class);
+        channels.put(Notification.NotificationChannel.EMAIL, channelSettings(emailConcurrency, emailRatePerSecond));
+        channels.put(Notification.NotificationChannel.SMS, channelSettings(smsConcurrency, smsRatePerSecond));
+        channels.put(Notification.NotificationChannel.PUSH, channelSettings(pushConcurrency, pushRatePerSecond));
+
+        int threads = renderThreads > 0 ? renderThreads : Runtime.getRuntime().availableProcessors();
+        NotificationFanoutExecutor executor = new NotificationFanoutExecutor(channels,
+                channelSettings(defaultConcurrency, defaultRatePerSecond), threads);
+        meterRegistry.ifAvailable(executor::bindMetrics);
+        return executor;
+    }
+
+    private static NotificationFanoutExecutor.ChannelSettings channelSettings(int concurrency, double ratePerSecond) {
+        return NotificationFanoutExecutor.ChannelSettings.builder()
+                .concurrency(concurrency)
+                .ratePerSecond(ratePerSecond)
+                .build();
+    }
+}
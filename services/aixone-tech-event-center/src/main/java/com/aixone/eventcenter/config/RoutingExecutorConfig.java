@@ -0,0 +1,102 @@
+package com.aixone.eventcenter.config;
+
+import com.aixone.eventcenter.event.infrastructure.RoutingExecutors;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 事件路由执行器配置类
+ * 按租户分级提供有界的路由执行通道，租户未配置时归入标准通道
+ */
+@Configuration
+public class RoutingExecutorConfig {
+
+    @Value("${event-center.routing.executor.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${event-center.routing.executor.priority-tenants:}")
+    private String priorityTenants;
+
+    @Value("${event-center.routing.executor.bulk-tenants:}")
+    private String bulkTenants;
+
+    @Value("${event-center.routing.executor.priority.concurrency:8}")
+    private int priorityConcurrency;
+
+    @Value("${event-center.routing.executor.priority.queue-capacity:1000}")
+    private int priorityQueueCapacity;
+
+    @Value("${event-center.routing.executor.priority.overflow-policy:CALLER_RUNS}")
+    private RoutingExecutors.OverflowPolicy priorityOverflowPolicy;
+
+    @Value("${event-center.routing.executor.standard.concurrency:16}")
+    private int standardConcurrency;
+
+    @Value("${event-center.routing.executor.standard.queue-capacity:5000}")
+    private int standardQueueCapacity;
+
+    @Value("${event-center.routing.executor.standard.overflow-policy:CALLER_RUNS}")
+    private RoutingExecutors.OverflowPolicy standardOverflowPolicy;
+
+    @Value("${event-center.routing.executor.bulk.concurrency:4}")
+    private int bulkConcurrency;
+
+    @Value("${event-center.routing.executor.bulk.queue-capacity:1000}")
+    private int bulkQueueCapacity;
+
+    @Value("${event-center.routing.executor.bulk.overflow-policy:REJECT}")
+    private RoutingExecutors.OverflowPolicy bulkOverflowPolicy;
+
+    /**
+     * 事件路由执行器，应用关闭时释放线程
+     */
+    @Bean(destroyMethod = "shutdown")
+    public RoutingExecutors routingExecutors(ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<RoutingExecutors.Lane, RoutingExecutors.LaneSettings> lanes = new EnumMap<>(RoutingExecutors.Lane.class);
+        lanes.put(RoutingExecutors.Lane.PRIORITY,
+                laneSettings(priorityConcurrency, priorityQueueCapacity, priorityOverflowPolicy));
+        lanes.put(RoutingExecutors.Lane.STANDARD,
+                laneSettings(standardConcurrency, standardQueueCapacity, standardOverflowPolicy));
+        lanes.put(RoutingExecutors.Lane.BULK,
+                laneSettings(bulkConcurrency, bulkQueueCapacity, bulkOverflowPolicy));
+
+        Map<String, RoutingExecutors.Lane> tenantLanes = new HashMap<>();
+        putTenants(tenantLanes, bulkTenants, RoutingExecutors.Lane.BULK);
+        putTenants(tenantLanes, priorityTenants, RoutingExecutors.Lane.PRIORITY);
+
+        RoutingExecutors executors = new RoutingExecutors(lanes, tenantLanes, virtualThreads);
+        meterRegistry.ifAvailable(executors::bindMetrics);
+        return executors;
+    }
+
+    private static RoutingExecutors.LaneSettings laneSettings(int concurrency, int queueCapacity,
+                                                              RoutingExecutors.OverflowPolicy overflowPolicy) {
+        return RoutingExecutors.LaneSettings.builder()
+                .concurrency(concurrency)
+                .queueCapacity(queueCapacity)
+                .overflowPolicy(overflowPolicy)
+                .build();
+    }
+
+    /**
+     * 逗号分隔的租户ID归入指定通道，同时出现在多个列表中的租户以优先通道为准
+     */
+    private static void putTenants(Map<String, RoutingExecutors.Lane> tenantLanes, String tenants,
+                                   RoutingExecutors.Lane lane) {
+        if (tenants == null || tenants.isBlank()) {
+            return;
+        }
+        for (String tenantId : tenants.split(",")) {
+            if (!tenantId.isBlank()) {
+                tenantLanes.put(tenantId.trim(), lane);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.aixone.eventcenter.config;
+
+import com.aixone.eventcenter.event.infrastructure.WebhookDeliveryEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Webhook 投递配置类
+ * 提供全局共享的 Webhook 投递引擎
+ */
+@Configuration
+public class WebhookDeliveryConfig {
+
+    @Value("${event-center.delivery.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${event-center.delivery.request-timeout-ms:10000}")
+    private long requestTimeoutMs;
+
+    @Value("${event-center.delivery.max-concurrency-per-endpoint:8}")
+    private int maxConcurrencyPerEndpoint;
+
+    @Value("${event-center.delivery.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${event-center.delivery.io-threads:8}")
+    private int ioThreads;
+
+    @Value("${event-center.delivery.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${event-center.delivery.circuit-breaker.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    @Value("${event-center.delivery.channel-idle-timeout-ms:600000}")
+    private long channelIdleTimeoutMs;
+
+    /**
+     * Webhook 投递引擎，应用关闭时释放连接与线程
+     */
+    @Bean(destroyMethod = "shutdown")
+    public WebhookDeliveryEngine webhookDeliveryEngine(ObjectProvider<MeterRegistry> meterRegistry) {
+        WebhookDeliveryEngine engine = new WebhookDeliveryEngine(WebhookDeliveryEngine.Settings.builder()
+                .connectTimeoutMs(connectTimeoutMs)
+                .requestTimeoutMs(requestTimeoutMs)
+                .maxConcurrencyPerEndpoint(maxConcurrencyPerEndpoint)
+                .queueCapacity(queueCapacity)
+                .ioThreads(ioThreads)
+                .failureThreshold(failureThreshold)
+                .openDurationMs(openDurationMs)
+                .channelIdleTimeoutMs(channelIdleTimeoutMs)
+                .build());
+        meterRegistry.ifAvailable(engine::bindMetrics);
+        return engine;
+    }
+}
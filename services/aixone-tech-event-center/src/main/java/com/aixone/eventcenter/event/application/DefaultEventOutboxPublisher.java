@@ -0,0 +1,31 @@
+package com.aixone.eventcenter.event.application;
+
+import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.infrastructure.KafkaEventPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 默认发件箱发送目标：Kafka事件发布器与事件路由服务
+ */
+@Component
+public class DefaultEventOutboxPublisher implements EventOutboxPublisher {
+
+    @Autowired
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    @Autowired
+    private EventRoutingService eventRoutingService;
+
+    @Override
+    public CompletableFuture<?> publishToKafka(String topicName, String key, Event event) {
+        return kafkaEventPublisher.publishEventAsync(topicName, key, event);
+    }
+
+    @Override
+    public CompletableFuture<Integer> route(Event event) {
+        return eventRoutingService.route(event);
+    }
+}
@@ -1,11 +1,15 @@
 package com.aixone.eventcenter.event.application;
 
 import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.EventOutboxMessage;
+import com.aixone.eventcenter.event.domain.EventOutboxRepository;
+import com.aixone.eventcenter.event.domain.EventOutboxWrittenEvent;
 import com.aixone.eventcenter.event.domain.EventRepository;
 import com.aixone.eventcenter.event.domain.EventType;
 import com.aixone.eventcenter.event.infrastructure.KafkaEventPublisher;
 import com.aixone.common.ddd.DomainEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,57 +29,45 @@ public class EventApplicationService {
     private EventRepository eventRepository;
     
     @Autowired
-    private KafkaEventPublisher kafkaEventPublisher;
+    private EventOutboxRepository outboxRepository;
     
     @Autowired
-    private EventRoutingService eventRoutingService;
+    private KafkaEventPublisher kafkaEventPublisher;
+    
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
     
     /**
-     * 发布事件（仅持久化）
+     * 发布事件
+     * 事件与路由消息在同一事务中写入发件箱，由发件箱中继路由到订阅者，不占用请求线程
      */
     public Event publishEvent(String eventType, String eventSource, String eventData, String tenantId) {
         Event event = new Event(eventType, eventSource, eventData, tenantId);
         event.markAsPublished();
         
         Event savedEvent = eventRepository.save(event);
+        outboxRepository.save(EventOutboxMessage.forRouting(savedEvent));
         
         // 发布领域事件
         publishDomainEvent(new EventPublishedEvent(savedEvent));
         
-        // 异步路由和分发事件到订阅者
-        eventRoutingService.routeAndDistributeAsync(savedEvent);
-        
+        notifyOutboxWritten(savedEvent);
         return savedEvent;
     }
     
     /**
      * 发布事件到Kafka
+     * 事件以待处理状态与Kafka消息在同一事务中写入发件箱，中继收到Broker确认后标记为已发布并路由到订阅者
      */
     public Event publishEventToKafka(String topicName, String eventType, String eventSource, String eventData, String tenantId) {
-        Event event = new Event(eventType, eventSource, eventData, tenantId);
+        // Topic未注册或未激活时直接拒绝，不写入事件
+        kafkaEventPublisher.validateTopic(topicName);
         
-        // 先持久化
+        Event event = new Event(eventType, eventSource, eventData, tenantId);
         Event savedEvent = eventRepository.save(event);
+        outboxRepository.save(EventOutboxMessage.forKafka(savedEvent, topicName, null));
         
-        try {
-            // 发布到Kafka
-            kafkaEventPublisher.publishEvent(topicName, savedEvent);
-            // 标记为已发布
-            savedEvent.markAsPublished();
-            savedEvent = eventRepository.save(savedEvent);
-            
-            // 发布领域事件
-            publishDomainEvent(new EventPublishedToKafkaEvent(savedEvent, topicName));
-            
-            // 异步路由和分发事件到订阅者
-            eventRoutingService.routeAndDistributeAsync(savedEvent);
-        } catch (Exception e) {
-            // 标记为失败
-            savedEvent.markAsFailed();
-            savedEvent = eventRepository.save(savedEvent);
-            throw e;
-        }
-        
+        notifyOutboxWritten(savedEvent);
         return savedEvent;
     }
     
@@ -128,6 +120,15 @@ public class EventApplicationService {
         return eventRepository.countByTenantId(tenantId);
     }
     
+    /**
+     * 通知发件箱中继有新消息，事务提交后触发发送
+     */
+    private void notifyOutboxWritten(Event event) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new EventOutboxWrittenEvent(event.getTenantId(), event.getEventId()));
+        }
+    }
+    
     /**
      * 发布领域事件
      */
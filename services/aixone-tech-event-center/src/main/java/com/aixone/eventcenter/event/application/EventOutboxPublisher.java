@@ -0,0 +1,24 @@
+package com.aixone.eventcenter.event.application;
+
+import com.aixone.eventcenter.event.domain.Event;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 发件箱发送目标
+ * 发件箱中继通过该接口把消息发送到Kafka或订阅路由，测试时可替换为内存实现
+ */
+public interface EventOutboxPublisher {
+
+    /**
+     * 发布事件到Kafka Topic
+     * @return Broker确认结果，发送失败时异常完成
+     */
+    CompletableFuture<?> publishToKafka(String topicName, String key, Event event);
+
+    /**
+     * 路由事件到订阅者，不等待投递完成，失败时抛出异常
+     * @return 交给投递引擎的订阅数，所有分发记录提交后完成，创建记录失败时异常完成
+     */
+    CompletableFuture<Integer> route(Event event);
+}
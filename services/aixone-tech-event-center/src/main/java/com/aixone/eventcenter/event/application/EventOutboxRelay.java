@@ -0,0 +1,369 @@
+package com.aixone.eventcenter.event.application;
+
+import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.EventOutboxMessage;
+import com.aixone.eventcenter.event.domain.EventOutboxWrittenEvent;
+import com.aixone.eventcenter.event.domain.EventRepository;
+import com.aixone.eventcenter.event.infrastructure.EventOutboxService;
+import com.aixone.eventcenter.event.infrastructure.RoutingExecutors;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 事件发件箱中继
+ * 按写入顺序分批认领发件箱消息并发送：
+ * - 事务提交后由写入事件唤醒立即发送，定时轮询兜底（节点重启、唤醒丢失、等待退避的消息）
+ * - 认领与发送在中继自己的单线程上执行，不占用请求线程和公共线程池，同一节点同一时刻只有一轮发送
+ * - 同一批的Kafka消息按顺序发出后统一等待Broker确认，确认成功后再路由到订阅者
+ * - 路由按租户分组提交到租户所属的路由通道，不同租户并行，同一租户内保持写入顺序
+ * - 消息在所有分发记录提交后才标记已发送，批量投递的事件要等所在批次的分发记录提交
+ * - 根据确认结果标记消息已发送或按退避时间再次发送，超过最大尝试次数后标记失败
+ * 消息至少发送一次：确认超时或路由失败后再次发送可能产生重复，订阅者分发记录按事件与订阅去重
+ */
+@Service
+public class EventOutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(EventOutboxRelay.class);
+
+    @Autowired
+    private EventOutboxService outboxService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventOutboxPublisher outboxPublisher;
+
+    @Autowired(required = false)
+    private RoutingExecutors routingExecutors;
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${event-center.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${event-center.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${event-center.outbox.ack-timeout-ms:30000}")
+    private long ackTimeoutMs;
+
+    @Value("${event-center.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${event-center.outbox.node-id:}")
+    private String nodeId;
+
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = defaultNodeId();
+        }
+        if (nodeId.length() > 60) {
+            nodeId = nodeId.substring(0, 60);
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(ackTimeoutMs, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 发件箱写入的事务提交后立即唤醒中继
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOutboxWritten(EventOutboxWrittenEvent event) {
+        requestDrain();
+    }
+
+    /**
+     * 定时轮询发件箱，默认每秒一次
+     */
+    @Scheduled(fixedDelayString = "${event-center.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        requestDrain();
+    }
+
+    /**
+     * 定期清理保留期之前已发送的消息，默认每小时一次
+     */
+    @Scheduled(fixedDelayString = "${event-center.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        try {
+            int purged = outboxService.purgeSentBefore(Instant.now().minus(Duration.ofHours(retentionHours)));
+            if (purged > 0) {
+                logger.info("清理已发送的发件箱消息 {} 条", purged);
+            }
+        } catch (Exception e) {
+            logger.error("清理发件箱消息失败", e);
+        }
+    }
+
+    /**
+     * 请求一轮发送，已有一轮在排队时合并为一次
+     */
+    public void requestDrain() {
+        if (!drainRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                // 先清除标记，发送期间写入的消息会再排一轮
+                drainRequested.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            drainRequested.set(false);
+        }
+    }
+
+    /**
+     * 按写入顺序逐批认领并发送，直到没有待发送消息
+     * @return 本轮处理的消息数
+     */
+    int drain() {
+        int processed = 0;
+        try {
+            while (true) {
+                List<EventOutboxMessage> claimed = outboxService.claim(nodeId, batchSize, Duration.ofMillis(leaseMs));
+                if (claimed.isEmpty()) {
+                    break;
+                }
+                relayBatch(claimed);
+                processed += claimed.size();
+                if (claimed.size() < batchSize) {
+                    break;
+                }
+            }
+
+            if (processed > 0) {
+                logger.debug("发件箱中继完成 - Node: {}, 处理了 {} 条消息", nodeId, processed);
+            }
+
+        } catch (Exception e) {
+            logger.error("发件箱中继执行失败", e);
+        }
+        return processed;
+    }
+
+    /**
+     * 发送一批已认领的消息并回写结果
+     */
+    void relayBatch(List<EventOutboxMessage> messages) {
+        Set<Long> eventIds = messages.stream().map(EventOutboxMessage::getEventId).collect(Collectors.toSet());
+        Map<Long, Event> events = eventRepository.findByEventIdIn(eventIds).stream()
+                .collect(Collectors.toMap(Event::getEventId, Function.identity(), (a, b) -> a));
+
+        // 1. Kafka消息按写入顺序发出
+        Map<EventOutboxMessage, CompletableFuture<?>> acks = new IdentityHashMap<>();
+        for (EventOutboxMessage message : messages) {
+            Event event = events.get(message.getEventId());
+            if (event != null && message.getDestination() == EventOutboxMessage.Destination.KAFKA) {
+                acks.put(message, publishToKafka(message, event));
+            }
+        }
+
+        // 2. 统一等待Broker确认
+        awaitAcks(acks.values());
+
+        // 3. 按写入顺序根据确认结果确定需要路由的消息
+        Set<Event> updatedEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<String, List<EventOutboxMessage>> routableByTenant = new LinkedHashMap<>();
+        for (EventOutboxMessage message : messages) {
+            Event event = events.get(message.getEventId());
+            if (event == null) {
+                message.markAsFailed("事件不存在");
+                continue;
+            }
+
+            if (message.getDestination() == EventOutboxMessage.Destination.KAFKA) {
+                String error = ackError(acks.get(message));
+                if (error != null) {
+                    logger.warn("Kafka发布未确认 - OutboxId: {}, EventId: {}, Topic: {}, Attempts: {}, Error: {}",
+                            message.getOutboxId(), event.getEventId(), message.getTopicName(),
+                            message.getAttempts() + 1, error);
+                    message.markAttemptFailed("Kafka发布失败: " + error);
+                    if (message.isFailed()) {
+                        event.markAsFailed();
+                        updatedEvents.add(event);
+                    }
+                    continue;
+                }
+                if (event.getStatus() != Event.EventStatus.PUBLISHED) {
+                    event.markAsPublished();
+                    updatedEvents.add(event);
+                }
+                publishDomainEvent(new EventApplicationService.EventPublishedToKafkaEvent(event, message.getTopicName()));
+            }
+            routableByTenant.computeIfAbsent(String.valueOf(event.getTenantId()), tenant -> new ArrayList<>()).add(message);
+        }
+
+        // 4. 各租户在所属路由通道上并行路由，同一租户内按写入顺序
+        List<CompletableFuture<?>> routing = new ArrayList<>();
+        for (List<EventOutboxMessage> tenantMessages : routableByTenant.values()) {
+            routing.add(routeTenant(tenantMessages, events));
+        }
+        CompletableFuture.allOf(routing.toArray(new CompletableFuture[0])).exceptionally(error -> null).join();
+
+        outboxService.saveResults(messages, new ArrayList<>(updatedEvents));
+    }
+
+    /**
+     * 路由同一租户的消息：有路由执行器时提交到租户所属通道，否则在中继线程上执行；
+     * 通道拒绝时整组消息按退避时间再次发送
+     */
+    private CompletableFuture<?> routeTenant(List<EventOutboxMessage> tenantMessages, Map<Long, Event> events) {
+        if (routingExecutors == null) {
+            return routeInOrder(tenantMessages, events);
+        }
+        String tenantId = events.get(tenantMessages.get(0).getEventId()).getTenantId();
+        return routingExecutors.submit(tenantId, () -> routeInOrder(tenantMessages, events))
+                .thenCompose(Function.identity())
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        logger.warn("路由通道拒绝 - TenantId: {}, Messages: {}, Error: {}",
+                                tenantId, tenantMessages.size(), error.getMessage());
+                        for (EventOutboxMessage message : tenantMessages) {
+                            message.markAttemptFailed("路由失败: " + error.getMessage());
+                        }
+                    }
+                });
+    }
+
+    /**
+     * 按写入顺序路由，不在路由通道上等待分发记录提交；全部提交或超时后统一回写，
+     * 未在确认超时内提交记录的消息按退避时间再次发送
+     */
+    private CompletableFuture<?> routeInOrder(List<EventOutboxMessage> tenantMessages, Map<Long, Event> events) {
+        Map<EventOutboxMessage, CompletableFuture<?>> routed = new LinkedHashMap<>();
+        for (EventOutboxMessage message : tenantMessages) {
+            Event event = events.get(message.getEventId());
+            try {
+                routed.put(message, outboxPublisher.route(event));
+            } catch (Exception e) {
+                logger.warn("事件路由失败 - OutboxId: {}, EventId: {}, Error: {}",
+                        message.getOutboxId(), event.getEventId(), e.getMessage());
+                message.markAttemptFailed("路由失败: " + e.getMessage());
+            }
+        }
+        return CompletableFuture.allOf(routed.values().toArray(new CompletableFuture[0]))
+                .orTimeout(ackTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((ignored, timeout) -> {
+                    routed.forEach((message, future) -> {
+                        String error = ackError(future);
+                        if (error == null) {
+                            message.markAsSent();
+                            return;
+                        }
+                        logger.warn("分发记录未提交 - OutboxId: {}, EventId: {}, Error: {}",
+                                message.getOutboxId(), message.getEventId(), error);
+                        message.markAttemptFailed("路由失败: " + error);
+                    });
+                    return null;
+                });
+    }
+
+    private CompletableFuture<?> publishToKafka(EventOutboxMessage message, Event event) {
+        try {
+            return outboxPublisher.publishToKafka(message.getTopicName(), message.getMessageKey(), event);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void awaitAcks(Iterable<CompletableFuture<?>> acks) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ackTimeoutMs);
+        for (CompletableFuture<?> ack : acks) {
+            try {
+                ack.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | TimeoutException e) {
+                // 结果在回写时逐条判断
+            }
+        }
+    }
+
+    /**
+     * 确认结果的错误信息，确认成功时返回 null
+     */
+    private static String ackError(CompletableFuture<?> ack) {
+        if (ack == null || !ack.isDone()) {
+            return "等待确认超时";
+        }
+        try {
+            ack.join();
+            return null;
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause.getMessage();
+        }
+    }
+
+    private void publishDomainEvent(Object domainEvent) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(domainEvent);
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "event-center";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -6,20 +6,35 @@ import com.aixone.eventcenter.event.domain.EventDeliveryRecordRepository;
 import com.aixone.eventcenter.event.domain.EventRepository;
 import com.aixone.eventcenter.event.domain.Subscription;
 import com.aixone.eventcenter.event.domain.SubscriptionRepository;
+import com.aixone.eventcenter.event.infrastructure.EventDeliveryRecordService;
 import com.aixone.eventcenter.event.infrastructure.EventDistributor;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Instant;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 事件重试服务
- * 定期检查失败的分发记录并重试
+ * 定期认领到期的失败分发记录并重试：
+ * - 每批最多认领 batch-size 条，通过租约保证多节点部署时同一记录只被一个节点重试
+ * - 一批记录涉及的事件与订阅批量加载，不再逐条查询
+ * - 同一批的重试经投递引擎并行发送，整批完成后再认领下一批，内存中最多只有一批记录
  */
 @Service
 public class EventRetryService {
@@ -28,6 +43,9 @@ public class EventRetryService {
     @Autowired
     private EventDeliveryRecordRepository deliveryRecordRepository;
     
+    @Autowired
+    private EventDeliveryRecordService deliveryRecordService;
+    
     @Autowired
     private EventRepository eventRepository;
     
@@ -37,95 +55,150 @@ public class EventRetryService {
     @Autowired
     private EventDistributor eventDistributor;
     
+    @Value("${event-center.retry.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${event-center.retry.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+    
+    @Value("${event-center.retry.lease-ms:300000}")
+    private long leaseMs;
+    
+    @Value("${event-center.retry.node-id:}")
+    private String nodeId;
+    
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = defaultNodeId();
+        }
+        if (nodeId.length() > 60) {
+            nodeId = nodeId.substring(0, 60);
+        }
+    }
+    
     /**
      * 定期重试失败的事件分发
-     * 每30秒执行一次
+     * 默认每30秒执行一次，每次最多处理 max-batches-per-run 批
      */
-    @Scheduled(fixedDelay = 30000) // 30秒
-    @Transactional
+    @Scheduled(fixedDelayString = "${event-center.retry.interval-ms:30000}")
     public void retryFailedDeliveries() {
+        int processed = 0;
         try {
-            List<EventDeliveryRecord> recordsToRetry = deliveryRecordRepository.findRecordsForRetry(Instant.now());
-            
-            if (recordsToRetry.isEmpty()) {
-                return;
+            for (int round = 0; round < maxBatchesPerRun; round++) {
+                List<EventDeliveryRecord> claimed = deliveryRecordService.claimForRetry(
+                        nodeId, batchSize, Duration.ofMillis(leaseMs));
+                if (claimed.isEmpty()) {
+                    break;
+                }
+                retryBatch(claimed);
+                processed += claimed.size();
             }
             
-            logger.info("开始重试 {} 个失败的事件分发", recordsToRetry.size());
-            
-            for (EventDeliveryRecord record : recordsToRetry) {
-                retryDelivery(record);
+            if (processed > 0) {
+                logger.info("事件分发重试完成 - Node: {}, 处理了 {} 条记录", nodeId, processed);
             }
-            
-            logger.info("事件分发重试完成，处理了 {} 条记录", recordsToRetry.size());
-            
+        
         } catch (Exception e) {
             logger.error("事件分发重试服务执行失败", e);
         }
     }
     
+    /**
+     * 重试一批已认领的记录，并行发送并等待全部完成
+     */
+    void retryBatch(List<EventDeliveryRecord> records) {
+        Set<Long> eventIds = new HashSet<>();
+        Set<Long> subscriptionIds = new HashSet<>();
+        for (EventDeliveryRecord record : records) {
+            eventIds.addAll(record.getEventIdList());
+            subscriptionIds.add(record.getSubscriptionId());
+        }
+        Map<Long, Event> events = eventRepository.findByEventIdIn(eventIds).stream()
+                .collect(Collectors.toMap(Event::getEventId, Function.identity(), (a, b) -> a));
+        Map<Long, Subscription> subscriptions = subscriptionRepository.findBySubscriptionIdIn(subscriptionIds).stream()
+                .collect(Collectors.toMap(Subscription::getSubscriptionId, Function.identity(), (a, b) -> a));
+        
+        logger.info("开始重试 {} 个失败的事件分发 - Node: {}", records.size(), nodeId);
+        
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (EventDeliveryRecord record : records) {
+            CompletableFuture<?> future = retryDelivery(record, events, subscriptions);
+            if (future != null) {
+                futures.add(future);
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+    
     /**
      * 重试单个分发记录
+     * @return 发送中的投递，记录无法重试时返回 null
      */
-    private void retryDelivery(EventDeliveryRecord record) {
+    private CompletableFuture<?> retryDelivery(EventDeliveryRecord record, Map<Long, Event> events,
+                                               Map<Long, Subscription> subscriptions) {
         try {
-            // 查找事件
-            Event event = eventRepository.findById(record.getEventId())
-                    .orElse(null);
-            
-            if (event == null) {
-                logger.warn("事件不存在，跳过重试 - EventId: {}, RecordId: {}", 
-                        record.getEventId(), record.getRecordId());
-                record.markAsFailed("事件不存在");
-                deliveryRecordRepository.save(record);
-                return;
-            }
-            
             // 查找订阅
-            Subscription subscription = subscriptionRepository.findById(record.getSubscriptionId())
-                    .orElse(null);
+            Subscription subscription = subscriptions.get(record.getSubscriptionId());
             
             if (subscription == null) {
-                logger.warn("订阅不存在，跳过重试 - SubscriptionId: {}, RecordId: {}", 
+                logger.warn("订阅不存在，跳过重试 - SubscriptionId: {}, RecordId: {}",
                         record.getSubscriptionId(), record.getRecordId());
-                record.markAsFailed("订阅不存在");
-                deliveryRecordRepository.save(record);
-                return;
+                failWithoutDelivery(record, "订阅不存在");
+                return null;
             }
             
             // 检查订阅是否仍然活跃
             if (subscription.getStatus() != Subscription.SubscriptionStatus.ACTIVE) {
-                logger.warn("订阅已停用，跳过重试 - SubscriptionId: {}, RecordId: {}", 
+                logger.warn("订阅已停用，跳过重试 - SubscriptionId: {}, RecordId: {}",
                         subscription.getSubscriptionId(), record.getRecordId());
-                record.markAsFailed("订阅已停用");
-                deliveryRecordRepository.save(record);
-                return;
+                failWithoutDelivery(record, "订阅已停用");
+                return null;
             }
             
-            // 执行重试
-            logger.info("重试事件分发 - EventId: {}, SubscriptionId: {}, RetryCount: {}", 
-                    event.getEventId(), subscription.getSubscriptionId(), record.getRetryCount());
+            // 查找事件，批量记录只补投仍存在的事件
+            List<Event> recordEvents = record.getEventIdList().stream()
+                    .map(events::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
             
-            boolean success = eventDistributor.distribute(event, subscription, record);
-            
-            if (!success && record.canRetry()) {
-                // 如果失败且可以重试，记录已由distribute方法更新
-                logger.info("事件分发重试失败，将再次重试 - EventId: {}, SubscriptionId: {}, NextRetryAt: {}", 
-                        event.getEventId(), subscription.getSubscriptionId(), record.getNextRetryAt());
+            if (recordEvents.isEmpty()) {
+                logger.warn("事件不存在，跳过重试 - EventId: {}, RecordId: {}",
+                        record.getEventId(), record.getRecordId());
+                failWithoutDelivery(record, "事件不存在");
+                return null;
             }
             
-        } catch (Exception e) {
-            logger.error("重试事件分发异常 - RecordId: {}, Error: {}", 
-                    record.getRecordId(), e.getMessage(), e);
+            // 执行重试，结果由分发器写回记录并释放租约
+            logger.debug("重试事件分发 - RecordId: {}, SubscriptionId: {}, Events: {}, RetryCount: {}",
+                    record.getRecordId(), subscription.getSubscriptionId(), recordEvents.size(),
+                    record.getRetryCount());
             
-            if (record.canRetry()) {
-                record.markAsFailed(e.getMessage());
-                deliveryRecordRepository.save(record);
-            } else {
-                record.markAsFailed("重试异常: " + e.getMessage());
-                deliveryRecordRepository.save(record);
+            if (record.isBatch()) {
+                return eventDistributor.distributeBatchAsync(recordEvents, subscription, record);
             }
+            return eventDistributor.distributeAsync(recordEvents.get(0), subscription, record);
+        
+        } catch (Exception e) {
+            logger.error("重试事件分发异常 - RecordId: {}, Error: {}",
+                    record.getRecordId(), e.getMessage(), e);
+            failWithoutDelivery(record, "重试异常: " + e.getMessage());
+            return null;
         }
     }
+    
+    private void failWithoutDelivery(EventDeliveryRecord record, String errorMessage) {
+        record.markAsFailed(errorMessage);
+        deliveryRecordRepository.save(record);
+    }
+    
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "event-center";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
 }
-
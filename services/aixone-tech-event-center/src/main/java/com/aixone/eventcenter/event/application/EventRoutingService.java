@@ -6,22 +6,25 @@ import com.aixone.eventcenter.event.domain.EventRouter;
 import com.aixone.eventcenter.event.domain.Subscription;
 import com.aixone.eventcenter.event.infrastructure.EventDistributor;
 import com.aixone.eventcenter.event.infrastructure.EventDeliveryRecordService;
+import com.aixone.eventcenter.event.infrastructure.RoutingExecutors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 事件路由服务
- * 负责事件的路由和分发
+ * 负责事件的路由和分发。
+ * 路由本身不开启事务：每条分发记录由分发记录服务在独立的短事务中提交后再交给投递引擎，
+ * 投递结果回调更新的始终是已提交的记录；批量投递的事件在所在批次的分发记录提交后才算路由完成
  */
 @Service
-@Transactional
 public class EventRoutingService {
     private static final Logger logger = LoggerFactory.getLogger(EventRoutingService.class);
     
@@ -34,66 +37,30 @@ public class EventRoutingService {
     @Autowired(required = false)
     private EventDeliveryRecordService deliveryRecordService;
     
+    @Autowired(required = false)
+    private RoutingExecutors routingExecutors;
+    
     /**
      * 路由并分发事件
-     * 根据事件类型查找订阅，过滤后分发到订阅者端点
+     * 根据租户和事件类型查找订阅，过滤后分发到订阅者端点，等待所有投递完成
      */
     public void routeAndDistribute(Event event) {
         try {
-            // 1. 根据事件类型查找所有活跃订阅
-            List<Subscription> subscriptions = eventRouter.routeSubscriptions(event.getEventType());
-            
-            if (subscriptions.isEmpty()) {
-                logger.debug("事件类型 {} 没有活跃订阅，跳过分发 - EventId: {}", 
-                        event.getEventType(), event.getEventId());
-                return;
-            }
-            
-            // 2. 根据过滤配置过滤订阅
-            List<Subscription> matchedSubscriptions = subscriptions.stream()
-                    .filter(subscription -> eventRouter.matchesFilter(event, subscription))
-                    .collect(Collectors.toList());
-            
-            if (matchedSubscriptions.isEmpty()) {
-                logger.debug("事件 {} 没有匹配的订阅，跳过分发 - EventId: {}", 
-                        event.getEventType(), event.getEventId());
+            List<CompletableFuture<Boolean>> futures = dispatch(event, new ArrayList<>());
+            if (futures.isEmpty()) {
                 return;
             }
             
-            logger.info("事件 {} 找到 {} 个匹配的订阅，开始分发 - EventId: {}", 
-                    event.getEventType(), matchedSubscriptions.size(), event.getEventId());
-            
-            // 3. 创建分发记录并异步分发到所有匹配的订阅者
-            List<CompletableFuture<Boolean>> futures = matchedSubscriptions.stream()
-                    .map(subscription -> {
-                        // 创建分发记录
-                        EventDeliveryRecord record = null;
-                        if (deliveryRecordService != null) {
-                            record = deliveryRecordService.findOrCreateRecord(
-                                    event.getEventId(), 
-                                    subscription.getSubscriptionId(), 
-                                    event.getTenantId(), 
-                                    3 // 默认最大重试3次
-                            );
-                        }
-                        
-                        final EventDeliveryRecord finalRecord = record;
-                        return CompletableFuture.supplyAsync(() -> {
-                            return eventDistributor.distribute(event, subscription, finalRecord);
-                        });
-                    })
-                    .collect(Collectors.toList());
-            
-            // 4. 等待所有分发完成（可选：可以改为异步处理，不等待）
+            // 等待所有分发完成
             CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
             
-            // 5. 统计分发结果
+            // 统计分发结果
             long successCount = futures.stream()
                     .mapToLong(future -> future.join() ? 1 : 0)
                     .sum();
             
             logger.info("事件分发完成 - EventId: {}, 总数: {}, 成功: {}", 
-                    event.getEventId(), matchedSubscriptions.size(), successCount);
+                    event.getEventId(), futures.size(), successCount);
             
         } catch (Exception e) {
             logger.error("事件路由和分发失败 - EventId: {}, Error: {}", 
@@ -102,13 +69,97 @@ public class EventRoutingService {
         }
     }
     
+    /**
+     * 路由事件并交给投递引擎，不等待投递完成
+     * 返回的 Future 在所有分发记录提交后完成，之后的投递失败由分发记录重试；批量投递的事件要等所在批次切出并提交记录。
+     * 查找订阅或创建分发记录失败时抛出异常或异常完成，由调用方（发件箱中继）再次发送。
+     * 逐条投递的分发记录按事件与订阅去重，重复路由同一事件不会重复创建记录
+     * @return 交给投递引擎的订阅数
+     */
+    public CompletableFuture<Integer> route(Event event) {
+        List<CompletableFuture<?>> recorded = new ArrayList<>();
+        int dispatched = dispatch(event, recorded).size();
+        return CompletableFuture.allOf(recorded.toArray(new CompletableFuture[0])).thenApply(ignored -> dispatched);
+    }
+    
+    /**
+     * 查找并过滤订阅，为每个匹配的订阅创建分发记录并异步投递
+     * @param recorded 收集批量投递的分发记录提交结果
+     */
+    private List<CompletableFuture<Boolean>> dispatch(Event event, List<CompletableFuture<?>> recorded) {
+        // 1. 根据租户和事件类型查找所有活跃订阅
+        List<Subscription> subscriptions = eventRouter.routeSubscriptions(
+                event.getTenantId(), event.getEventType());
+        
+        if (subscriptions.isEmpty()) {
+            logger.debug("事件类型 {} 没有活跃订阅，跳过分发 - EventId: {}", 
+                    event.getEventType(), event.getEventId());
+            return List.of();
+        }
+        
+        // 2. 根据过滤配置过滤订阅
+        List<Subscription> matchedSubscriptions = eventRouter.filterSubscriptions(event, subscriptions);
+        
+        if (matchedSubscriptions.isEmpty()) {
+            logger.debug("事件 {} 没有匹配的订阅，跳过分发 - EventId: {}", 
+                    event.getEventType(), event.getEventId());
+            return List.of();
+        }
+        
+        logger.info("事件 {} 找到 {} 个匹配的订阅，开始分发 - EventId: {}", 
+                event.getEventType(), matchedSubscriptions.size(), event.getEventId());
+        
+        // 3. 创建分发记录并异步分发到所有匹配的订阅者
+        return matchedSubscriptions.stream()
+                .map(subscription -> {
+                    // 批量投递的订阅只加入累积器，切出批次时再创建分发记录；缓冲已满时退回逐条投递
+                    if (subscription.isBatchEnabled()) {
+                        CompletableFuture<?> batchRecorded = eventDistributor.enqueueBatch(event, subscription);
+                        if (batchRecorded != null) {
+                            recorded.add(batchRecorded);
+                            return batchRecorded.thenApply(record -> true);
+                        }
+                    }
+                    
+                    // 创建分发记录
+                    EventDeliveryRecord record = null;
+                    if (deliveryRecordService != null) {
+                        record = deliveryRecordService.findOrCreateRecord(
+                                event.getEventId(), 
+                                subscription.getSubscriptionId(), 
+                                event.getTenantId(), 
+                                3 // 默认最大重试3次
+                        );
+                    }
+                    
+                    // 投递引擎异步发送，不占用调用线程
+                    return eventDistributor.distributeAsync(event, subscription, record);
+                })
+                .collect(Collectors.toList());
+    }
+    
     /**
      * 异步路由并分发事件（不阻塞）
+     * 在租户所属的路由通道上执行，只等待分发记录创建，不占用线程等待投递完成；
+     * 未配置路由执行器时在调用线程上路由
+     * @return 路由结果（交给投递引擎的订阅数），通道拒绝时以 RejectedExecutionException 异常完成
      */
-    public void routeAndDistributeAsync(Event event) {
-        CompletableFuture.runAsync(() -> {
-            routeAndDistribute(event);
+    public CompletableFuture<Integer> routeAndDistributeAsync(Event event) {
+        if (routingExecutors == null) {
+            try {
+                return route(event);
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        CompletableFuture<Integer> future = routingExecutors.submit(event.getTenantId(), () -> route(event))
+                .thenCompose(Function.identity());
+        future.whenComplete((count, error) -> {
+            if (error != null) {
+                logger.error("事件异步路由失败 - EventId: {}, Lane: {}, Error: {}",
+                        event.getEventId(), routingExecutors.laneOf(event.getTenantId()), error.getMessage());
+            }
         });
+        return future;
     }
 }
-
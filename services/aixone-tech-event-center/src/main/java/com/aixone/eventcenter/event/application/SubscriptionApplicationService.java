@@ -3,8 +3,10 @@ package com.aixone.eventcenter.event.application;
 import com.aixone.common.exception.BizException;
 import com.aixone.common.util.ValidationUtils;
 import com.aixone.eventcenter.event.domain.Subscription;
+import com.aixone.eventcenter.event.domain.SubscriptionChangedEvent;
 import com.aixone.eventcenter.event.domain.SubscriptionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,9 +21,15 @@ import java.util.Optional;
 @Transactional
 public class SubscriptionApplicationService {
     
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_BATCH_LINGER_MS = 60_000;
+    
     @Autowired
     private SubscriptionRepository subscriptionRepository;
     
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * 创建订阅
      */
@@ -49,7 +57,7 @@ public class SubscriptionApplicationService {
             subscription.setRetryConfig(retryConfig);
         }
         
-        return subscriptionRepository.save(subscription);
+        return publishChanged(subscriptionRepository.save(subscription));
     }
     
     /**
@@ -70,7 +78,32 @@ public class SubscriptionApplicationService {
             subscription.updateConfig(filterConfig, retryConfig);
         }
         
-        return subscriptionRepository.save(subscription);
+        return publishChanged(subscriptionRepository.save(subscription));
+    }
+    
+    /**
+     * 更新批量投递配置
+     * @param batchSize 批量大小，为空或1时关闭批量投递
+     * @param batchLingerMs 最长等待时间（毫秒），为空时使用全局默认值
+     * @param partitionKey 保序分区键，为空时整个订阅保序
+     */
+    public Subscription updateBatchConfig(Long subscriptionId, String tenantId,
+                                          Integer batchSize, Integer batchLingerMs, String partitionKey) {
+        ValidationUtils.notNull(subscriptionId, "订阅ID不能为空");
+        ValidationUtils.notBlank(tenantId, "租户ID不能为空");
+        if (batchSize != null && (batchSize < 1 || batchSize > MAX_BATCH_SIZE)) {
+            throw new BizException("INVALID_BATCH_CONFIG", "批量大小必须在1到" + MAX_BATCH_SIZE + "之间");
+        }
+        if (batchLingerMs != null && (batchLingerMs < 1 || batchLingerMs > MAX_BATCH_LINGER_MS)) {
+            throw new BizException("INVALID_BATCH_CONFIG", "批量等待时间必须在1到" + MAX_BATCH_LINGER_MS + "毫秒之间");
+        }
+        
+        Subscription subscription = subscriptionRepository.findBySubscriptionIdAndTenantId(subscriptionId, tenantId)
+                .orElseThrow(() -> new BizException("SUBSCRIPTION_NOT_FOUND", "订阅不存在"));
+        
+        String key = partitionKey != null && !partitionKey.isBlank() ? partitionKey.trim() : null;
+        subscription.updateBatchConfig(batchSize, batchLingerMs, key);
+        return publishChanged(subscriptionRepository.save(subscription));
     }
     
     /**
@@ -84,7 +117,7 @@ public class SubscriptionApplicationService {
                 .orElseThrow(() -> new BizException("SUBSCRIPTION_NOT_FOUND", "订阅不存在"));
         
         subscription.activate();
-        return subscriptionRepository.save(subscription);
+        return publishChanged(subscriptionRepository.save(subscription));
     }
     
     /**
@@ -98,7 +131,7 @@ public class SubscriptionApplicationService {
                 .orElseThrow(() -> new BizException("SUBSCRIPTION_NOT_FOUND", "订阅不存在"));
         
         subscription.deactivate();
-        return subscriptionRepository.save(subscription);
+        return publishChanged(subscriptionRepository.save(subscription));
     }
     
     /**
@@ -112,7 +145,7 @@ public class SubscriptionApplicationService {
                 .orElseThrow(() -> new BizException("SUBSCRIPTION_NOT_FOUND", "订阅不存在"));
         
         subscription.cancel();
-        subscriptionRepository.save(subscription);
+        publishChanged(subscriptionRepository.save(subscription));
     }
     
     /**
@@ -161,5 +194,15 @@ public class SubscriptionApplicationService {
         ValidationUtils.notBlank(tenantId, "租户ID不能为空");
         return subscriptionRepository.countByTenantId(tenantId);
     }
+    
+    /**
+     * 发布订阅变更事件，事务提交后刷新路由表
+     */
+    private Subscription publishChanged(Subscription subscription) {
+        if (eventPublisher != null && subscription != null) {
+            eventPublisher.publishEvent(new SubscriptionChangedEvent(
+                    subscription.getTenantId(), subscription.getSubscriptionId()));
+        }
+        return subscription;
+    }
 }
-
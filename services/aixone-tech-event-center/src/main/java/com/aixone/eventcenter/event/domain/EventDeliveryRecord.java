@@ -6,6 +6,11 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 /**
  * 事件分发记录聚合根
@@ -50,6 +55,24 @@ public class EventDeliveryRecord extends Entity<Long> {
     @Column(name = "error_message", length = 1000)
     private String errorMessage;
     
+    /**
+     * 批量分发记录覆盖的事件ID（逗号分隔），单条分发记录为空
+     */
+    @Column(name = "batch_event_ids", columnDefinition = "TEXT")
+    private String batchEventIds;
+    
+    /**
+     * 重试租约持有者，认领重试的节点令牌
+     */
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+    
+    /**
+     * 重试租约到期时间，到期后其他节点可重新认领
+     */
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+    
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
     
@@ -75,10 +98,60 @@ public class EventDeliveryRecord extends Entity<Long> {
         this.createdAt = Instant.now();
     }
     
+    /**
+     * 创建批量分发记录，eventId 取批次中的第一个事件
+     */
+    public static EventDeliveryRecord forBatch(List<Long> eventIds, Long subscriptionId, String tenantId,
+                                               Integer maxRetries) {
+        EventDeliveryRecord record = new EventDeliveryRecord(eventIds.get(0), subscriptionId, tenantId, maxRetries);
+        record.setBatchEventIds(joinEventIds(eventIds));
+        return record;
+    }
+    
+    /**
+     * 是否为批量分发记录
+     */
+    public boolean isBatch() {
+        return batchEventIds != null && !batchEventIds.isEmpty();
+    }
+    
+    /**
+     * 记录覆盖的事件ID，单条分发记录只有 eventId
+     */
+    public List<Long> getEventIdList() {
+        if (!isBatch()) {
+            return List.of(eventId);
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String id : batchEventIds.split(",")) {
+            ids.add(Long.valueOf(id.trim()));
+        }
+        return ids;
+    }
+    
+    /**
+     * 批量部分失败时只保留失败的事件，重试时仅补投这些事件
+     */
+    public void retainBatchEvents(Collection<Long> failedEventIds) {
+        List<Long> remaining = getEventIdList().stream()
+                .filter(failedEventIds::contains)
+                .collect(Collectors.toList());
+        if (remaining.isEmpty()) {
+            return;
+        }
+        this.eventId = remaining.get(0);
+        this.batchEventIds = joinEventIds(remaining);
+    }
+    
+    private static String joinEventIds(List<Long> eventIds) {
+        return eventIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+    
     /**
      * 标记为成功
      */
     public void markAsDelivered() {
+        releaseLease();
         this.status = DeliveryStatus.DELIVERED;
         this.deliveredAt = Instant.now();
         this.updatedAt = Instant.now();
@@ -88,6 +161,7 @@ public class EventDeliveryRecord extends Entity<Long> {
      * 标记为失败
      */
     public void markAsFailed(String errorMessage) {
+        releaseLease();
         this.errorMessage = errorMessage;
         this.updatedAt = Instant.now();
         
@@ -117,10 +191,21 @@ public class EventDeliveryRecord extends Entity<Long> {
     }
     
     /**
-     * 计算重试延迟（指数退避）
+     * 计算重试延迟（指数退避加等量抖动）
+     * 在退避时长的一半到全长之间随机取值，避免同一时刻失败的记录在同一时刻集中重试
+     */
+    static long calculateRetryDelay(int retryCount) {
+        long backoff = Math.min(300, (long) Math.pow(2, retryCount) * 30); // 最大5分钟
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+    
+    /**
+     * 释放重试租约
      */
-    private long calculateRetryDelay(int retryCount) {
-        return Math.min(300, (long) Math.pow(2, retryCount) * 30); // 最大5分钟
+    public void releaseLease() {
+        this.leaseOwner = null;
+        this.leaseUntil = null;
     }
     
     /**
@@ -3,6 +3,7 @@ package com.aixone.eventcenter.event.domain;
 import com.aixone.common.ddd.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,23 @@ public interface EventDeliveryRecordRepository extends Repository<EventDeliveryR
      */
     List<EventDeliveryRecord> findRecordsForRetry(Instant now);
     
+    /**
+     * 查找到期可重试且未被认领（或租约已过期）的记录ID，按下次重试时间排序
+     * @param limit 最多返回条数
+     */
+    List<Long> findRetryCandidateIds(Instant now, int limit);
+    
+    /**
+     * 认领重试记录：仅更新仍可重试且未被认领的记录，并发认领同一记录时只有一个节点成功
+     * @return 认领成功的记录数
+     */
+    int claimForRetry(Collection<Long> recordIds, String leaseOwner, Instant leaseUntil, Instant now);
+    
+    /**
+     * 根据租约持有者查找记录
+     */
+    List<EventDeliveryRecord> findByLeaseOwner(String leaseOwner);
+    
     /**
      * 根据租户ID查找记录
      */
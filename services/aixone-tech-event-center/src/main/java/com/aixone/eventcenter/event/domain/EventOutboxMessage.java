@@ -0,0 +1,190 @@
+package com.aixone.eventcenter.event.domain;
+
+import com.aixone.common.ddd.Entity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 事件发件箱消息
+ * 与事件在同一事务中写入，由发件箱中继发送到Kafka或订阅路由并根据确认结果更新状态，
+ * 进程在事件提交后、发送前崩溃时消息仍在发件箱中，不会丢失
+ */
+@jakarta.persistence.Entity
+@Table(name = "event_outbox")
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class EventOutboxMessage extends Entity<Long> {
+    
+    /**
+     * 默认最大发送尝试次数
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 10;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Column(name = "tenant_id", length = 50)
+    private String tenantId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "destination", nullable = false, length = 20)
+    private Destination destination;
+    
+    @Column(name = "topic_name", length = 255)
+    private String topicName;
+    
+    @Column(name = "message_key", length = 255)
+    private String messageKey;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+    
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "max_attempts", nullable = false)
+    private Integer maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+    
+    /**
+     * 中继租约持有者，认领消息的节点令牌
+     */
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+    
+    /**
+     * 中继租约到期时间，到期后其他节点可重新认领
+     */
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+    
+    @Column(name = "sent_at")
+    private Instant sentAt;
+    
+    public EventOutboxMessage() {
+        super(0L);
+        this.status = OutboxStatus.PENDING;
+        this.attempts = 0;
+        this.maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+    
+    private EventOutboxMessage(Event event, Destination destination) {
+        this();
+        this.eventId = event.getEventId();
+        this.tenantId = event.getTenantId();
+        this.destination = destination;
+    }
+    
+    /**
+     * 创建路由到订阅者的发件箱消息
+     */
+    public static EventOutboxMessage forRouting(Event event) {
+        return new EventOutboxMessage(event, Destination.ROUTER);
+    }
+    
+    /**
+     * 创建发布到Kafka的发件箱消息，Kafka确认后再路由到订阅者
+     */
+    public static EventOutboxMessage forKafka(Event event, String topicName, String messageKey) {
+        EventOutboxMessage message = new EventOutboxMessage(event, Destination.KAFKA);
+        message.topicName = topicName;
+        message.messageKey = messageKey != null ? messageKey : String.valueOf(event.getEventId());
+        return message;
+    }
+    
+    /**
+     * 标记为已发送（已收到确认）
+     */
+    public void markAsSent() {
+        releaseLease();
+        this.status = OutboxStatus.SENT;
+        this.attempts++;
+        this.sentAt = Instant.now();
+        this.lastError = null;
+    }
+    
+    /**
+     * 记录一次发送失败，未超过最大尝试次数时按退避时间再次发送
+     */
+    public void markAttemptFailed(String error) {
+        releaseLease();
+        this.attempts++;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        if (attempts >= maxAttempts) {
+            this.status = OutboxStatus.FAILED;
+        } else {
+            this.nextAttemptAt = Instant.now().plusMillis(calculateBackoffMillis(attempts));
+        }
+    }
+    
+    /**
+     * 标记为失败，不再发送（如事件已不存在）
+     */
+    public void markAsFailed(String error) {
+        markAttemptFailed(error);
+        this.status = OutboxStatus.FAILED;
+    }
+    
+    /**
+     * 是否已放弃发送
+     */
+    public boolean isFailed() {
+        return status == OutboxStatus.FAILED;
+    }
+    
+    /**
+     * 计算再次发送的等待时间（指数退避加等量抖动），从1秒开始，最长5分钟
+     */
+    static long calculateBackoffMillis(int attempts) {
+        long backoff = Math.min(300_000L, 1_000L << Math.min(attempts - 1, 20));
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+    
+    /**
+     * 释放中继租约
+     */
+    public void releaseLease() {
+        this.leaseOwner = null;
+        this.leaseUntil = null;
+    }
+    
+    @Override
+    public Long getId() {
+        return outboxId;
+    }
+    
+    /**
+     * 发送目标
+     */
+    public enum Destination {
+        ROUTER,     // 路由到订阅者
+        KAFKA       // 发布到Kafka Topic，确认后路由到订阅者
+    }
+    
+    public enum OutboxStatus {
+        PENDING,    // 待发送
+        SENT,       // 已发送并确认
+        FAILED      // 失败（尝试次数用完）
+    }
+}
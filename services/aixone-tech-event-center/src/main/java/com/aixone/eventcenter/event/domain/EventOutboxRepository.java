@@ -0,0 +1,46 @@
+package com.aixone.eventcenter.event.domain;
+
+import com.aixone.common.ddd.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 事件发件箱仓储接口
+ */
+public interface EventOutboxRepository extends Repository<EventOutboxMessage, Long> {
+    
+    /**
+     * 查找到期待发送且未被认领（或租约已过期）的消息ID，按写入顺序排序
+     * @param limit 最多返回条数
+     */
+    List<Long> findPendingIds(Instant now, int limit);
+    
+    /**
+     * 认领待发送消息：仅更新仍待发送且未被认领的消息，并发认领同一消息时只有一个节点成功
+     * @return 认领成功的消息数
+     */
+    int claim(Collection<Long> outboxIds, String leaseOwner, Instant leaseUntil, Instant now);
+    
+    /**
+     * 根据租约持有者查找消息，按写入顺序排序
+     */
+    List<EventOutboxMessage> findByLeaseOwner(String leaseOwner);
+    
+    /**
+     * 批量保存消息
+     */
+    <S extends EventOutboxMessage> List<S> saveAll(Iterable<S> messages);
+    
+    /**
+     * 删除指定时间之前已发送的消息
+     * @return 删除的消息数
+     */
+    int deleteSentBefore(Instant before);
+    
+    /**
+     * 根据事件ID查找消息
+     */
+    List<EventOutboxMessage> findByEventId(Long eventId);
+}
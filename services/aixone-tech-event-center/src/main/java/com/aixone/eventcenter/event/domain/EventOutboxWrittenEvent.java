@@ -0,0 +1,20 @@
+package com.aixone.eventcenter.event.domain;
+
+import lombok.Getter;
+
+/**
+ * 发件箱写入事件
+ * 事件与发件箱消息写入后发布，事务提交后唤醒发件箱中继立即发送，不必等到下一次轮询
+ */
+@Getter
+public class EventOutboxWrittenEvent {
+
+    private final String tenantId;
+
+    private final Long eventId;
+
+    public EventOutboxWrittenEvent(String tenantId, Long eventId) {
+        this.tenantId = tenantId;
+        this.eventId = eventId;
+    }
+}
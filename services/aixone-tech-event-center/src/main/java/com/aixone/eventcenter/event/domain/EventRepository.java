@@ -3,6 +3,7 @@ package com.aixone.eventcenter.event.domain;
 import com.aixone.common.ddd.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,6 +53,11 @@ public interface EventRepository extends Repository<Event, Long> {
      */
     List<Event> findByTenantIdAndCorrelationId(String tenantId, String correlationId);
     
+    /**
+     * 根据事件ID批量查找事件
+     */
+    List<Event> findByEventIdIn(Collection<Long> eventIds);
+    
     /**
      * 统计租户的事件数量
      */
@@ -15,6 +15,15 @@ public interface EventRouter {
      */
     List<Subscription> routeSubscriptions(String eventType);
     
+    /**
+     * 根据租户和事件类型获取需要接收该事件的订阅
+     * 订阅的事件类型支持 * 通配符及以 * 结尾的前缀模式
+     * @param tenantId 租户ID，为空时在全部租户中查找
+     * @param eventType 事件类型
+     * @return 订阅列表
+     */
+    List<Subscription> routeSubscriptions(String tenantId, String eventType);
+    
     /**
      * 判断事件是否匹配订阅的过滤条件
      * @param event 事件
@@ -22,5 +31,14 @@ public interface EventRouter {
      * @return 是否匹配
      */
     boolean matchesFilter(Event event, Subscription subscription);
+    
+    /**
+     * 筛选过滤条件匹配事件的订阅
+     * 事件数据只解析一次，供全部订阅的过滤条件共享
+     * @param event 事件
+     * @param subscriptions 候选订阅
+     * @return 匹配的订阅列表，保持原有顺序
+     */
+    List<Subscription> filterSubscriptions(Event event, List<Subscription> subscriptions);
 }
 
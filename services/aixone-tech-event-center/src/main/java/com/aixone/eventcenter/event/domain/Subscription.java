@@ -43,6 +43,24 @@ public class Subscription extends com.aixone.common.ddd.Entity<Long> {
     @Column(name = "retry_config", columnDefinition = "JSONB")
     private String retryConfig;
     
+    /**
+     * 批量投递的最大事件数，为空或不大于1时逐条投递
+     */
+    @Column(name = "batch_size")
+    private Integer batchSize;
+
+    /**
+     * 批量投递的最长等待时间（毫秒），为空时使用全局默认值
+     */
+    @Column(name = "batch_linger_ms")
+    private Integer batchLingerMs;
+
+    /**
+     * 保序分区键：事件数据中的字段路径（点分隔），同一分区的批次按顺序投递；为空时整个订阅保序
+     */
+    @Column(name = "partition_key", length = 200)
+    private String partitionKey;
+
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
     
@@ -112,6 +130,23 @@ public class Subscription extends com.aixone.common.ddd.Entity<Long> {
         this.updatedAt = Instant.now();
     }
     
+    /**
+     * 更新批量投递配置，batchSize 为空或不大于1时关闭批量投递
+     */
+    public void updateBatchConfig(Integer batchSize, Integer batchLingerMs, String partitionKey) {
+        this.batchSize = batchSize;
+        this.batchLingerMs = batchLingerMs;
+        this.partitionKey = partitionKey;
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * 是否启用批量投递
+     */
+    public boolean isBatchEnabled() {
+        return batchSize != null && batchSize > 1;
+    }
+
     @Override
     public Long getId() {
         return subscriptionId;
@@ -0,0 +1,20 @@
+package com.aixone.eventcenter.event.domain;
+
+import lombok.Getter;
+
+/**
+ * 订阅变更事件
+ * 订阅创建、更新、激活、停用或取消后发布，用于刷新内存中的路由表
+ */
+@Getter
+public class SubscriptionChangedEvent {
+
+    private final String tenantId;
+
+    private final Long subscriptionId;
+
+    public SubscriptionChangedEvent(String tenantId, Long subscriptionId) {
+        this.tenantId = tenantId;
+        this.subscriptionId = subscriptionId;
+    }
+}
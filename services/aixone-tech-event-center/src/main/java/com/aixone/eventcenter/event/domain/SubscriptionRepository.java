@@ -2,6 +2,7 @@ package com.aixone.eventcenter.event.domain;
 
 import com.aixone.common.ddd.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +42,16 @@ public interface SubscriptionRepository extends Repository<Subscription, Long> {
      */
     List<Subscription> findByEventTypeAndStatus(String eventType, Subscription.SubscriptionStatus status);
     
+    /**
+     * 根据状态查找订阅（用于加载路由表）
+     */
+    List<Subscription> findByStatus(Subscription.SubscriptionStatus status);
+    
+    /**
+     * 根据订阅ID批量查找订阅
+     */
+    List<Subscription> findBySubscriptionIdIn(Collection<Long> subscriptionIds);
+    
     /**
      * 统计租户的订阅数量
      */
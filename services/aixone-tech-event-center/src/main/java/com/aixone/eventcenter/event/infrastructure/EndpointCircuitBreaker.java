@@ -0,0 +1,114 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 订阅端点熔断器
+ * 连续失败达到阈值后打开，打开期间的投递直接失败；
+ * 打开时长结束后进入半开状态，只放行一个试探请求，成功则关闭，失败则重新打开。
+ * 每次打开熔断器时递增代数，许可携带申请时的代数，打开之前发出的请求迟到的结果不再改变熔断器状态
+ */
+public class EndpointCircuitBreaker {
+
+    /**
+     * 未获得许可
+     */
+    public static final long NO_PERMIT = -1;
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long generation;
+
+    public EndpointCircuitBreaker(int failureThreshold, long openDurationMillis, LongSupplier nanoClock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationNanos = openDurationMillis * 1_000_000L;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 申请一次调用许可，半开状态下会占用唯一的试探名额
+     * @return 许可代数，调用结束后传给 onSuccess 或 onFailure；不允许调用时为 NO_PERMIT
+     */
+    public synchronized long tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return generation;
+            case OPEN:
+                if (nanoClock.getAsLong() - openedAt < openDurationNanos) {
+                    return NO_PERMIT;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return generation;
+            default:
+                if (trialInFlight) {
+                    return NO_PERMIT;
+                }
+                trialInFlight = true;
+                return generation;
+        }
+    }
+
+    /**
+     * 是否处于打开状态且尚未到达试探时间，不占用许可
+     */
+    public synchronized boolean isRejecting() {
+        return state == State.OPEN && nanoClock.getAsLong() - openedAt < openDurationNanos;
+    }
+
+    /**
+     * 记录调用成功
+     * @param permit tryAcquire 返回的许可代数，早于最近一次打开的许可被忽略
+     */
+    public synchronized void onSuccess(long permit) {
+        if (permit != generation) {
+            return;
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * 记录调用失败
+     * @param permit tryAcquire 返回的许可代数，早于最近一次打开的许可被忽略
+     */
+    public synchronized void onFailure(long permit) {
+        if (permit != generation) {
+            return;
+        }
+        trialInFlight = false;
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        consecutiveFailures = 0;
+        generation++;
+    }
+}
@@ -0,0 +1,318 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.EventDeliveryRecord;
+import com.aixone.eventcenter.event.domain.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 订阅事件批量累积器
+ * 按（订阅，分区）累积事件，达到订阅的批量大小或等待时间到期时切出一个批次，先持久化分发记录再交给发送方：
+ * - 同一分区同一时刻最多一个批次在发送，后续批次排队，分区内按事件到达顺序投递
+ * - 所有分区累积、排队与发送中的事件总数有上限，超出时拒绝，由调用方改为逐条投递
+ * - 累积中的事件只在内存中，加入时返回的 Future 在所在批次的分发记录持久化后才完成；
+ *   调用方（发件箱中继）据此确认消息，进程异常退出时尚未持久化的事件由调用方再次发送
+ */
+public class EventBatchAccumulator {
+    private static final Logger logger = LoggerFactory.getLogger(EventBatchAccumulator.class);
+
+    /**
+     * 批次记录方，切出批次时调用，返回的 Future 在分发记录持久化后完成；
+     * 不应在调用线程上执行数据库操作，调用方可能是路由线程或等待时间定时器
+     */
+    @FunctionalInterface
+    public interface BatchRecorder {
+        CompletableFuture<EventDeliveryRecord> record(Subscription subscription, List<Event> batch);
+    }
+
+    /**
+     * 批次发送方，返回的 Future 完成后才会发送同一分区的下一个批次；分发记录持久化失败的批次不会发送
+     */
+    @FunctionalInterface
+    public interface BatchSender {
+        CompletableFuture<?> send(Subscription subscription, List<Event> batch, EventDeliveryRecord record);
+    }
+
+    private final BatchRecorder recorder;
+    private final BatchSender sender;
+    private final int maxBufferedEvents;
+    private final long defaultLingerMs;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    public EventBatchAccumulator(BatchRecorder recorder, BatchSender sender, int maxBufferedEvents,
+                                 long defaultLingerMs) {
+        this.recorder = recorder;
+        this.sender = sender;
+        this.maxBufferedEvents = maxBufferedEvents;
+        this.defaultLingerMs = defaultLingerMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-batch-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 加入事件
+     * @param subscription 启用批量投递的订阅
+     * @param partition 分区值，同一分区内保序
+     * @param event 事件
+     * @return 所在批次的分发记录持久化后完成的 Future，持久化失败时异常完成；累积总数已达上限时返回 null
+     */
+    public CompletableFuture<?> offer(Subscription subscription, String partition, Event event) {
+        if (!reserve()) {
+            return null;
+        }
+        String key = subscription.getSubscriptionId() + ":" + (partition != null ? partition : "");
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(key, Lane::new);
+            CompletableFuture<?> recorded = lane.append(subscription, event);
+            if (recorded != null) {
+                return recorded;
+            }
+            // 分区刚被回收，重新获取
+        }
+    }
+
+    /**
+     * 已接收但尚未发送完成的事件数
+     */
+    public int bufferedCount() {
+        return buffered.get();
+    }
+
+    /**
+     * 活跃分区数
+     */
+    public int partitionCount() {
+        return lanes.size();
+    }
+
+    /**
+     * 立即切出所有累积中的批次，并等待发送完成
+     * @param timeoutMs 最长等待时间（毫秒）
+     * @return 是否在等待时间内全部发送完成
+     */
+    public boolean flushAll(long timeoutMs) {
+        for (Lane lane : lanes.values()) {
+            lane.flush();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (buffered.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                logger.warn("批量投递刷新超时，仍有 {} 个事件未发送完成", buffered.get());
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 停止等待时间定时器
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private boolean reserve() {
+        while (true) {
+            int current = buffered.get();
+            if (current >= maxBufferedEvents) {
+                return false;
+            }
+            if (buffered.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private long lingerMs(Subscription subscription) {
+        Integer linger = subscription.getBatchLingerMs();
+        return linger != null && linger > 0 ? linger : defaultLingerMs;
+    }
+
+    /**
+     * 已切出的批次：加入时的订阅、事件与分发记录
+     */
+    private static final class PendingBatch {
+
+        private final Subscription subscription;
+        private final List<Event> events;
+        private final CompletableFuture<EventDeliveryRecord> record;
+
+        PendingBatch(Subscription subscription, List<Event> events, CompletableFuture<EventDeliveryRecord> record) {
+            this.subscription = subscription;
+            this.events = events;
+            this.record = record;
+        }
+    }
+
+    /**
+     * 单个分区：累积中的事件、待发送批次与发送状态
+     */
+    private final class Lane {
+
+        private final String key;
+        private Subscription subscription;
+        private List<Event> buffer = new ArrayList<>();
+        // 累积中的事件所在批次的分发记录，切出批次后由记录方完成
+        private CompletableFuture<EventDeliveryRecord> bufferRecord = new CompletableFuture<>();
+        private final Deque<PendingBatch> ready = new ArrayDeque<>();
+        private ScheduledFuture<?> lingerTask;
+        private boolean sending;
+        private boolean retired;
+
+        Lane(String key) {
+            this.key = key;
+        }
+
+        /**
+         * @return 所在批次的分发记录持久化后完成的 Future；分区已回收时返回 null
+         */
+        CompletableFuture<?> append(Subscription latest, Event event) {
+            CompletableFuture<?> recorded;
+            PendingBatch batch = null;
+            synchronized (this) {
+                if (retired) {
+                    return null;
+                }
+                subscription = latest;
+                buffer.add(event);
+                // 返回副本，调用方无法改变批次的记录结果
+                recorded = bufferRecord.copy();
+                Integer batchSize = latest.getBatchSize();
+                if (batchSize == null || buffer.size() >= batchSize) {
+                    batch = cut();
+                } else if (buffer.size() == 1) {
+                    lingerTask = scheduler.schedule(this::onLinger, lingerMs(latest), TimeUnit.MILLISECONDS);
+                }
+            }
+            record(batch);
+            drain();
+            return recorded;
+        }
+
+        void flush() {
+            PendingBatch batch = null;
+            synchronized (this) {
+                if (!buffer.isEmpty()) {
+                    batch = cut();
+                }
+            }
+            record(batch);
+            drain();
+        }
+
+        private void onLinger() {
+            PendingBatch batch = null;
+            synchronized (this) {
+                lingerTask = null;
+                if (!buffer.isEmpty()) {
+                    batch = cut();
+                }
+            }
+            record(batch);
+            drain();
+        }
+
+        private PendingBatch cut() {
+            PendingBatch batch = new PendingBatch(subscription, buffer, bufferRecord);
+            ready.addLast(batch);
+            buffer = new ArrayList<>();
+            bufferRecord = new CompletableFuture<>();
+            if (lingerTask != null) {
+                lingerTask.cancel(false);
+                lingerTask = null;
+            }
+            return batch;
+        }
+
+        /**
+         * 在锁外持久化批次的分发记录，完成后批次才可发送
+         */
+        private void record(PendingBatch batch) {
+            if (batch == null) {
+                return;
+            }
+            CompletableFuture<EventDeliveryRecord> persisted;
+            try {
+                persisted = recorder.record(batch.subscription, batch.events);
+            } catch (Exception e) {
+                persisted = CompletableFuture.failedFuture(e);
+            }
+            persisted.whenComplete((record, error) -> {
+                if (error != null) {
+                    batch.record.completeExceptionally(error);
+                } else {
+                    batch.record.complete(record);
+                }
+            });
+        }
+
+        /**
+         * 依次发送待发送批次；同步完成的批次在循环内处理，避免递归
+         */
+        private void drain() {
+            while (true) {
+                PendingBatch batch;
+                Subscription target;
+                synchronized (this) {
+                    if (sending || ready.isEmpty()) {
+                        return;
+                    }
+                    batch = ready.pollFirst();
+                    target = subscription;
+                    sending = true;
+                }
+                // 分发记录尚未持久化时，由完成持久化的线程发送
+                CompletableFuture<?> future = batch.record.thenCompose(
+                        record -> sender.send(target, batch.events, record));
+                if (!future.isDone()) {
+                    future.whenComplete((result, error) -> {
+                        onSent(batch, error);
+                        drain();
+                    });
+                    return;
+                }
+                future.whenComplete((result, error) -> onSent(batch, error));
+            }
+        }
+
+        private void onSent(PendingBatch batch, Throwable error) {
+            if (error != null) {
+                logger.error("批量投递异常 - Partition: {}, Size: {}, Error: {}",
+                        key, batch.events.size(), error.getMessage());
+            }
+            buffered.addAndGet(-batch.events.size());
+            synchronized (this) {
+                sending = false;
+                if (buffer.isEmpty() && ready.isEmpty()) {
+                    retired = true;
+                    lanes.remove(key, this);
+                }
+            }
+        }
+    }
+}
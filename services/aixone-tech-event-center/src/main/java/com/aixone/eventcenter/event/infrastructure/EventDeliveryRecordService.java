@@ -4,11 +4,19 @@ import com.aixone.eventcenter.event.domain.EventDeliveryRecord;
 import com.aixone.eventcenter.event.domain.EventDeliveryRecordRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
 /**
  * 事件分发记录服务
- * 管理事件分发记录的创建和更新
+ * 管理事件分发记录的创建和更新。
+ * 分发记录在独立的短事务中创建并提交后才交给投递引擎：投递结果回调在其他线程上按ID更新记录，
+ * 若记录仍在调用方未提交的事务中，回调会读不到记录而重复插入，或被调用方提交时的旧状态覆盖
  */
 @Service
 @Transactional
@@ -18,13 +26,45 @@ public class EventDeliveryRecordService {
     private EventDeliveryRecordRepository deliveryRecordRepository;
     
     /**
-     * 创建分发记录
+     * 创建分发记录，在独立事务中提交
      */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public EventDeliveryRecord createRecord(Long eventId, Long subscriptionId, String tenantId, Integer maxRetries) {
         EventDeliveryRecord record = new EventDeliveryRecord(eventId, subscriptionId, tenantId, maxRetries);
         return deliveryRecordRepository.save(record);
     }
     
+    /**
+     * 创建覆盖整批事件的分发记录，在独立事务中提交
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public EventDeliveryRecord createBatchRecord(List<Long> eventIds, Long subscriptionId, String tenantId, Integer maxRetries) {
+        return deliveryRecordRepository.save(EventDeliveryRecord.forBatch(eventIds, subscriptionId, tenantId, maxRetries));
+    }
+    
+    /**
+     * 认领一批到期的重试记录
+     * 先查候选ID，再以条件更新写入租约，多个节点并发认领时每条记录只会被一个节点认领；
+     * 租约在记录标记成功或失败时释放，节点宕机时租约到期后可被其他节点重新认领
+     * @param nodeId 节点标识
+     * @param limit 本批最多认领条数
+     * @param lease 租约时长
+     * @return 本次认领到的记录
+     */
+    public List<EventDeliveryRecord> claimForRetry(String nodeId, int limit, Duration lease) {
+        Instant now = Instant.now();
+        List<Long> candidateIds = deliveryRecordRepository.findRetryCandidateIds(now, limit);
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+        String leaseOwner = nodeId + ":" + UUID.randomUUID();
+        int claimed = deliveryRecordRepository.claimForRetry(candidateIds, leaseOwner, now.plus(lease), now);
+        if (claimed == 0) {
+            return List.of();
+        }
+        return deliveryRecordRepository.findByLeaseOwner(leaseOwner);
+    }
+    
     /**
      * 保存分发记录
      */
@@ -34,8 +74,9 @@ public class EventDeliveryRecordService {
     }
     
     /**
-     * 查找或创建分发记录
+     * 查找或创建分发记录，在独立事务中提交
      */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public EventDeliveryRecord findOrCreateRecord(Long eventId, Long subscriptionId, String tenantId, Integer maxRetries) {
         return deliveryRecordRepository.findByEventIdAndSubscriptionId(eventId, subscriptionId)
                 .orElseGet(() -> createRecord(eventId, subscriptionId, tenantId, maxRetries));
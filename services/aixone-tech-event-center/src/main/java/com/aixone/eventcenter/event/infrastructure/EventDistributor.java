@@ -5,43 +5,139 @@ import com.aixone.eventcenter.event.domain.EventDeliveryRecord;
 import com.aixone.eventcenter.event.domain.Subscription;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * 事件分发器
- * 负责将事件分发到订阅者的端点
+ * 负责将事件分发到订阅者的端点，HTTP 请求统一交由共享的 Webhook 投递引擎异步发送。
+ * 启用批量投递的订阅按分区累积事件，以 JSON 数组一次投递整批，整批共用一条分发记录；
+ * 端点可在 2xx 响应体中返回 {"failedEventIds":[...]} 表示部分失败，分发记录只保留失败的事件用于重试。
+ * 批次切出后先在回调线程池中持久化分发记录，再交给投递引擎，加入批量投递返回的 Future 随之完成；
+ * 投递结果的处理（保存分发记录）在有界的回调线程池中执行，不占用投递引擎的 I/O 线程；
+ * 回调队列满时由完成投递的线程自行处理，以此向投递引擎施加背压。
  */
 @Service
 public class EventDistributor {
     private static final Logger logger = LoggerFactory.getLogger(EventDistributor.class);
     
-    private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    
+    @Autowired
+    private WebhookDeliveryEngine deliveryEngine;
     
     @Autowired(required = false)
     private EventDeliveryRecordService deliveryRecordService;
     
+    @Value("${event-center.delivery.batch.max-buffered-events:100000}")
+    private int maxBufferedEvents;
+    
+    @Value("${event-center.delivery.batch.default-linger-ms:200}")
+    private long defaultLingerMs;
+    
+    @Value("${event-center.delivery.batch.shutdown-flush-timeout-ms:5000}")
+    private long shutdownFlushTimeoutMs;
+    
+    @Value("${event-center.delivery.callback-threads:4}")
+    private int callbackThreads;
+    
+    @Value("${event-center.delivery.callback-queue-capacity:10000}")
+    private int callbackQueueCapacity;
+    
+    private EventBatchAccumulator batchAccumulator;
+    
+    private ThreadPoolExecutor callbackExecutor;
+    
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, callbackThreads);
+        AtomicInteger sequence = new AtomicInteger();
+        callbackExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, callbackQueueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "event-delivery-callback-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // 队列满或已关闭时都在提交线程上执行，CallerRunsPolicy 在关闭后会丢弃任务，回调对应的 future 将永不完成
+                (task, executor) -> task.run());
+        batchAccumulator = new EventBatchAccumulator(
+                this::createBatchRecordAsync,
+                (subscription, batch, record) -> distributeBatchAsync(batch, subscription, record),
+                maxBufferedEvents, defaultLingerMs);
+    }
+    
+    /**
+     * 关闭前投递所有累积中的批次
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (batchAccumulator != null) {
+            batchAccumulator.flushAll(shutdownFlushTimeoutMs);
+            batchAccumulator.shutdown();
+        }
+        if (callbackExecutor != null) {
+            callbackExecutor.shutdown();
+            try {
+                if (!callbackExecutor.awaitTermination(shutdownFlushTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    callbackExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                callbackExecutor.shutdownNow();
+            }
+        }
+    }
+    
     /**
      * 异步分发事件到订阅者
      */
     public CompletableFuture<Boolean> distributeAsync(Event event, Subscription subscription) {
-        return CompletableFuture.supplyAsync(() -> {
-            return distribute(event, subscription);
-        }, executorService);
+        return distributeAsync(event, subscription, null);
+    }
+    
+    /**
+     * 异步分发事件到订阅者，不阻塞调用线程
+     * @param event 事件
+     * @param subscription 订阅
+     * @param deliveryRecord 分发记录（可选，用于重试）
+     * @return 是否成功，不会以异常结束
+     */
+    public CompletableFuture<Boolean> distributeAsync(Event event, Subscription subscription, 
+                                                      EventDeliveryRecord deliveryRecord) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(buildNotification(event));
+        } catch (Exception e) {
+            logger.error("事件序列化失败 - SubscriptionId: {}, EventId: {}, Error: {}", 
+                    subscription.getSubscriptionId(), event.getEventId(), e.getMessage(), e);
+            recordFailure(deliveryRecord, e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        return deliveryEngine.deliver(subscription.getSubscriberEndpoint(), body)
+                .thenApplyAsync(result -> handleResult(event, subscription, deliveryRecord, result), callbackExecutor)
+                .exceptionally(e -> {
+                    logger.error("事件分发异常 - SubscriptionId: {}, EventId: {}, Endpoint: {}, Error: {}", 
+                            subscription.getSubscriptionId(), event.getEventId(), 
+                            subscription.getSubscriberEndpoint(), e.getMessage(), e);
+                    return false;
+                });
     }
     
     /**
@@ -52,77 +148,212 @@ public class EventDistributor {
      * @return 是否成功
      */
     public boolean distribute(Event event, Subscription subscription, EventDeliveryRecord deliveryRecord) {
+        return distributeAsync(event, subscription, deliveryRecord).join();
+    }
+    
+    /**
+     * 同步分发事件到订阅者（无记录）
+     */
+    public boolean distribute(Event event, Subscription subscription) {
+        return distribute(event, subscription, null);
+    }
+    
+    /**
+     * 加入批量投递，由累积器按批量大小或等待时间切批后发送
+     * @param event 事件
+     * @param subscription 启用批量投递的订阅
+     * @return 事件所在批次的分发记录提交后完成的 Future，创建记录失败时异常完成；
+     *         累积事件数已达上限时返回 null，调用方应改为逐条投递
+     */
+    public CompletableFuture<?> enqueueBatch(Event event, Subscription subscription) {
+        CompletableFuture<?> recorded = batchAccumulator.offer(subscription, partitionOf(event, subscription), event);
+        if (recorded == null) {
+            logger.warn("批量投递缓冲已满，改为逐条投递 - SubscriptionId: {}, EventId: {}", 
+                    subscription.getSubscriptionId(), event.getEventId());
+        }
+        return recorded;
+    }
+    
+    /**
+     * 异步批量分发事件到订阅者，请求体为事件通知的 JSON 数组
+     * @param events 同一订阅的事件，按投递顺序排列
+     * @param subscription 订阅
+     * @param deliveryRecord 批量分发记录（可选，用于重试）；为空时创建覆盖整批的记录
+     * @return 投递成功的事件数，不会以异常结束
+     */
+    public CompletableFuture<Integer> distributeBatchAsync(List<Event> events, Subscription subscription, 
+                                                           EventDeliveryRecord deliveryRecord) {
+        EventDeliveryRecord record = deliveryRecord;
+        if (record == null && deliveryRecordService != null) {
+            record = deliveryRecordService.createBatchRecord(
+                    events.stream().map(Event::getEventId).collect(Collectors.toList()),
+                    subscription.getSubscriptionId(), subscription.getTenantId(), 3);
+        }
+        
+        String body;
         try {
-            // 构建请求体
-            EventNotification notification = new EventNotification();
-            notification.setEventId(event.getEventId());
-            notification.setEventType(event.getEventType());
-            notification.setEventSource(event.getEventSource());
-            notification.setEventData(event.getEventData());
-            notification.setTenantId(event.getTenantId());
-            notification.setCorrelationId(event.getCorrelationId());
-            notification.setCreatedAt(event.getCreatedAt().toString());
-            
-            // 设置请求头
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            HttpEntity<EventNotification> request = new HttpEntity<>(notification, headers);
-            
-            // 发送HTTP POST请求
-            ResponseEntity<String> response = restTemplate.exchange(
-                    subscription.getSubscriberEndpoint(),
-                    HttpMethod.POST,
-                    request,
-                    String.class
-            );
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
-                logger.info("事件分发成功 - SubscriptionId: {}, EventId: {}, Endpoint: {}", 
-                        subscription.getSubscriptionId(), event.getEventId(), subscription.getSubscriberEndpoint());
-                
-                // 记录成功
-                if (deliveryRecord != null && deliveryRecordService != null) {
-                    deliveryRecord.markAsDelivered();
-                    deliveryRecordService.save(deliveryRecord);
-                }
-                
-                return true;
-            } else {
-                String errorMsg = String.format("HTTP状态码: %s", response.getStatusCode());
-                logger.warn("事件分发失败 - SubscriptionId: {}, EventId: {}, Status: {}", 
-                        subscription.getSubscriptionId(), event.getEventId(), response.getStatusCode());
-                
-                // 记录失败
-                if (deliveryRecord != null && deliveryRecordService != null) {
-                    deliveryRecord.markAsFailed(errorMsg);
-                    deliveryRecordService.save(deliveryRecord);
-                }
-                
-                return false;
-            }
-            
+            body = objectMapper.writeValueAsString(
+                    events.stream().map(this::buildNotification).collect(Collectors.toList()));
         } catch (Exception e) {
-            String errorMsg = e.getMessage();
-            logger.error("事件分发异常 - SubscriptionId: {}, EventId: {}, Endpoint: {}, Error: {}", 
-                    subscription.getSubscriptionId(), event.getEventId(), 
-                    subscription.getSubscriberEndpoint(), errorMsg, e);
+            logger.error("批量事件序列化失败 - SubscriptionId: {}, Size: {}, Error: {}", 
+                    subscription.getSubscriptionId(), events.size(), e.getMessage(), e);
+            recordFailure(record, e.getMessage());
+            return CompletableFuture.completedFuture(0);
+        }
+        
+        EventDeliveryRecord batchRecord = record;
+        return deliveryEngine.deliver(subscription.getSubscriberEndpoint(), body, true)
+                .thenApplyAsync(result -> handleBatchResult(events, subscription, batchRecord, result), callbackExecutor)
+                .exceptionally(e -> {
+                    logger.error("批量事件分发异常 - SubscriptionId: {}, Size: {}, Endpoint: {}, Error: {}", 
+                            subscription.getSubscriptionId(), events.size(), 
+                            subscription.getSubscriberEndpoint(), e.getMessage(), e);
+                    return 0;
+                });
+    }
+    
+    /**
+     * 同步批量分发事件到订阅者
+     * @return 投递成功的事件数
+     */
+    public int distributeBatch(List<Event> events, Subscription subscription, EventDeliveryRecord deliveryRecord) {
+        return distributeBatchAsync(events, subscription, deliveryRecord).join();
+    }
+    
+    /**
+     * 已接收但尚未投递完成的批量事件数
+     */
+    public int bufferedBatchEventCount() {
+        return batchAccumulator.bufferedCount();
+    }
+    
+    /**
+     * 在回调线程池中创建覆盖整批事件的分发记录，不占用路由线程和等待时间定时器
+     */
+    private CompletableFuture<EventDeliveryRecord> createBatchRecordAsync(Subscription subscription, List<Event> events) {
+        if (deliveryRecordService == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> deliveryRecordService.createBatchRecord(
+                events.stream().map(Event::getEventId).collect(Collectors.toList()),
+                subscription.getSubscriptionId(), subscription.getTenantId(), 3), callbackExecutor);
+    }
+    
+    private boolean handleResult(Event event, Subscription subscription, EventDeliveryRecord deliveryRecord,
+                                 WebhookDeliveryResult result) {
+        if (result.isSuccess()) {
+            logger.info("事件分发成功 - SubscriptionId: {}, EventId: {}, Endpoint: {}", 
+                    subscription.getSubscriptionId(), event.getEventId(), subscription.getSubscriberEndpoint());
             
-            // 记录失败
+            // 记录成功
             if (deliveryRecord != null && deliveryRecordService != null) {
-                deliveryRecord.markAsFailed(errorMsg);
+                deliveryRecord.markAsDelivered();
                 deliveryRecordService.save(deliveryRecord);
             }
-            
-            return false;
+            return true;
         }
+        
+        logger.warn("事件分发失败 - SubscriptionId: {}, EventId: {}, Endpoint: {}, Outcome: {}, Error: {}", 
+                subscription.getSubscriptionId(), event.getEventId(), subscription.getSubscriberEndpoint(),
+                result.getOutcome(), result.getError());
+        recordFailure(deliveryRecord, result.getError());
+        return false;
+    }
+    
+    private int handleBatchResult(List<Event> events, Subscription subscription, EventDeliveryRecord deliveryRecord,
+                                  WebhookDeliveryResult result) {
+        if (!result.isSuccess()) {
+            logger.warn("批量事件分发失败 - SubscriptionId: {}, Size: {}, Endpoint: {}, Outcome: {}, Error: {}", 
+                    subscription.getSubscriptionId(), events.size(), subscription.getSubscriberEndpoint(),
+                    result.getOutcome(), result.getError());
+            recordFailure(deliveryRecord, result.getError());
+            return 0;
+        }
+        
+        Set<Long> failedEventIds = parseFailedEventIds(result.getResponseBody(), events);
+        if (failedEventIds.isEmpty()) {
+            logger.info("批量事件分发成功 - SubscriptionId: {}, Size: {}, Endpoint: {}", 
+                    subscription.getSubscriptionId(), events.size(), subscription.getSubscriberEndpoint());
+            if (deliveryRecord != null && deliveryRecordService != null) {
+                deliveryRecord.markAsDelivered();
+                deliveryRecordService.save(deliveryRecord);
+            }
+            return events.size();
+        }
+        
+        logger.warn("批量事件分发部分失败 - SubscriptionId: {}, Size: {}, Failed: {}", 
+                subscription.getSubscriptionId(), events.size(), failedEventIds);
+        if (deliveryRecord != null) {
+            deliveryRecord.retainBatchEvents(failedEventIds);
+        }
+        recordFailure(deliveryRecord, "批量投递部分失败: " + failedEventIds.size() + "/" + events.size());
+        return events.size() - failedEventIds.size();
     }
     
     /**
-     * 同步分发事件到订阅者（无记录）
+     * 解析端点返回的失败事件ID，只保留属于本批次的ID；响应体缺失或无法解析时视为全部成功
      */
-    public boolean distribute(Event event, Subscription subscription) {
-        return distribute(event, subscription, null);
+    private Set<Long> parseFailedEventIds(String responseBody, List<Event> events) {
+        Set<Long> failed = new HashSet<>();
+        if (responseBody == null || responseBody.isBlank()) {
+            return failed;
+        }
+        try {
+            JsonNode ids = objectMapper.readTree(responseBody).path("failedEventIds");
+            if (!ids.isArray()) {
+                return failed;
+            }
+            Set<Long> batchIds = events.stream().map(Event::getEventId).collect(Collectors.toSet());
+            for (JsonNode id : ids) {
+                if (id.canConvertToLong() && batchIds.contains(id.asLong())) {
+                    failed.add(id.asLong());
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("批量投递响应体不是 JSON，视为全部成功 - Body: {}", responseBody);
+        }
+        return failed;
+    }
+    
+    /**
+     * 计算事件的保序分区：取事件数据中分区键路径的值，订阅未配置分区键或取不到值时为空字符串
+     */
+    private String partitionOf(Event event, Subscription subscription) {
+        String partitionKey = subscription.getPartitionKey();
+        if (partitionKey == null || partitionKey.isBlank() || event.getEventData() == null) {
+            return "";
+        }
+        try {
+            JsonNode node = objectMapper.readTree(event.getEventData());
+            for (String segment : partitionKey.split("\\.")) {
+                node = node.path(segment);
+            }
+            if (node.isMissingNode() || node.isNull()) {
+                return "";
+            }
+            return node.isValueNode() ? node.asText() : node.toString();
+        } catch (Exception e) {
+            return "";
+        }
+    }
+    
+    private void recordFailure(EventDeliveryRecord deliveryRecord, String errorMsg) {
+        if (deliveryRecord != null && deliveryRecordService != null) {
+            deliveryRecord.markAsFailed(errorMsg);
+            deliveryRecordService.save(deliveryRecord);
+        }
+    }
+    
+    private EventNotification buildNotification(Event event) {
+        EventNotification notification = new EventNotification();
+        notification.setEventId(event.getEventId());
+        notification.setEventType(event.getEventType());
+        notification.setEventSource(event.getEventSource());
+        notification.setEventData(event.getEventData());
+        notification.setTenantId(event.getTenantId());
+        notification.setCorrelationId(event.getCorrelationId());
+        notification.setCreatedAt(event.getCreatedAt() != null ? event.getCreatedAt().toString() : null);
+        return notification;
     }
     
     /**
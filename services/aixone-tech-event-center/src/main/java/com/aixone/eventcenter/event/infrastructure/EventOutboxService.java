@@ -0,0 +1,71 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.EventOutboxMessage;
+import com.aixone.eventcenter.event.domain.EventOutboxRepository;
+import com.aixone.eventcenter.event.domain.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 事件发件箱服务
+ * 管理发件箱消息的认领与发送结果回写，每个方法各自一个短事务，发送过程不占用事务
+ */
+@Service
+@Transactional
+public class EventOutboxService {
+    
+    @Autowired
+    private EventOutboxRepository outboxRepository;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    /**
+     * 认领一批待发送消息
+     * 先按写入顺序查候选ID，再以条件更新写入租约，多个节点并发认领时每条消息只会被一个节点认领；
+     * 租约在消息标记发送成功或失败时释放，节点宕机时租约到期后可被其他节点重新认领
+     * @param nodeId 节点标识
+     * @param limit 本批最多认领条数
+     * @param lease 租约时长
+     * @return 本次认领到的消息，按写入顺序排序
+     */
+    public List<EventOutboxMessage> claim(String nodeId, int limit, Duration lease) {
+        Instant now = Instant.now();
+        List<Long> candidateIds = outboxRepository.findPendingIds(now, limit);
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+        String leaseOwner = nodeId + ":" + UUID.randomUUID();
+        int claimed = outboxRepository.claim(candidateIds, leaseOwner, now.plus(lease), now);
+        if (claimed == 0) {
+            return List.of();
+        }
+        return outboxRepository.findByLeaseOwner(leaseOwner);
+    }
+    
+    /**
+     * 在同一事务中回写一批消息的发送结果及随之变更状态的事件
+     */
+    public void saveResults(List<EventOutboxMessage> messages, Collection<Event> updatedEvents) {
+        outboxRepository.saveAll(messages);
+        for (Event event : updatedEvents) {
+            eventRepository.save(event);
+        }
+    }
+    
+    /**
+     * 清理指定时间之前已发送的消息
+     * @return 删除的消息数
+     */
+    public int purgeSentBefore(Instant before) {
+        return outboxRepository.deleteSentBefore(before);
+    }
+}
@@ -11,12 +11,15 @@ import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * 事件路由实现
  * 负责根据事件类型和订阅配置进行事件路由决策
+ * 订阅查找优先使用内存路由表，路由表未加载时回退到数据库查询；
+ * 过滤配置预先编译为谓词树，事件数据每个事件只解析一次
  */
 @Service
 public class EventRouterImpl implements EventRouter {
@@ -25,11 +28,21 @@ public class EventRouterImpl implements EventRouter {
     @Autowired
     private SubscriptionRepository subscriptionRepository;
     
+    @Autowired(required = false)
+    private SubscriptionRoutingTable routingTable;
+    
+    @Autowired
+    private SubscriptionFilterCompiler filterCompiler;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     @Override
     public List<Subscription> routeSubscriptions(String eventType) {
-        // 获取该事件类型的所有活跃订阅
+        if (routingTable != null && routingTable.isLoaded()) {
+            return routingTable.route(eventType);
+        }
+        
+        // 路由表尚未加载，查询该事件类型的所有活跃订阅
         List<Subscription> subscriptions = subscriptionRepository
                 .findByEventTypeAndStatus(eventType, Subscription.SubscriptionStatus.ACTIVE);
         
@@ -37,68 +50,67 @@ public class EventRouterImpl implements EventRouter {
         return subscriptions;
     }
     
+    @Override
+    public List<Subscription> routeSubscriptions(String tenantId, String eventType) {
+        if (tenantId == null) {
+            return routeSubscriptions(eventType);
+        }
+        if (routingTable != null && routingTable.isLoaded()) {
+            return routingTable.route(tenantId, eventType);
+        }
+        
+        // 路由表尚未加载，查询租户的活跃订阅并按事件类型模式匹配
+        List<Subscription> subscriptions = subscriptionRepository
+                .findByTenantIdAndStatus(tenantId, Subscription.SubscriptionStatus.ACTIVE).stream()
+                .filter(subscription -> SubscriptionRoutingTable.matches(subscription.getEventType(), eventType))
+                .collect(Collectors.toList());
+        
+        logger.debug("租户 {} 事件类型 {} 找到 {} 个活跃订阅", tenantId, eventType, subscriptions.size());
+        return subscriptions;
+    }
+    
     @Override
     public boolean matchesFilter(Event event, Subscription subscription) {
-        // 如果没有过滤配置，则匹配所有事件
-        if (subscription.getFilterConfig() == null || subscription.getFilterConfig().isEmpty()) {
+        SubscriptionFilter filter = filterCompiler.filterFor(subscription.getFilterConfig());
+        // 没有过滤配置时匹配所有事件，无需解析事件数据
+        if (filter == SubscriptionFilter.MATCH_ALL) {
             return true;
         }
-        
-        try {
-            // 解析过滤配置（JSON格式）
-            JsonNode filterConfig = objectMapper.readTree(subscription.getFilterConfig());
-            JsonNode eventData = objectMapper.readTree(event.getEventData());
-            
-            // 简单的字段匹配过滤
-            // 支持格式：{"field": "value"} 或 {"field": {"$eq": "value"}}
-            return matchesFilterConfig(eventData, filterConfig);
-            
-        } catch (Exception e) {
-            logger.warn("过滤配置解析失败，默认匹配 - SubscriptionId: {}, Error: {}", 
-                    subscription.getSubscriptionId(), e.getMessage());
-            // 解析失败时，为了安全起见，不匹配
-            return false;
+        return filter.matches(parseEventData(event));
+    }
+    
+    @Override
+    public List<Subscription> filterSubscriptions(Event event, List<Subscription> subscriptions) {
+        List<Subscription> matched = new ArrayList<>(subscriptions.size());
+        JsonNode eventData = null;
+        boolean parsed = false;
+        for (Subscription subscription : subscriptions) {
+            SubscriptionFilter filter = filterCompiler.filterFor(subscription.getFilterConfig());
+            // 首个带过滤配置的订阅触发解析，之后的订阅共享解析结果
+            if (filter != SubscriptionFilter.MATCH_ALL && !parsed) {
+                eventData = parseEventData(event);
+                parsed = true;
+            }
+            if (filter.matches(eventData)) {
+                matched.add(subscription);
+            }
         }
+        return matched;
     }
     
     /**
-     * 匹配过滤配置
+     * 解析事件数据，解析失败时返回 null，带过滤配置的订阅均不匹配
      */
-    private boolean matchesFilterConfig(JsonNode eventData, JsonNode filterConfig) {
-        if (!filterConfig.isObject()) {
-            return false;
+    private JsonNode parseEventData(Event event) {
+        if (event.getEventData() == null) {
+            return null;
         }
-        
-        // 遍历过滤配置的所有字段，所有字段都必须匹配
-        var fieldsIterator = filterConfig.fields();
-        while (fieldsIterator.hasNext()) {
-            var entry = fieldsIterator.next();
-            String fieldName = entry.getKey();
-            JsonNode filterValue = entry.getValue();
-            
-            JsonNode eventFieldValue = eventData.get(fieldName);
-            if (eventFieldValue == null) {
-                return false; // 字段不存在，不匹配
-            }
-            
-            // 如果过滤值是对象，可能是操作符（如 $eq, $ne, $gt 等）
-            if (filterValue.isObject()) {
-                // 简化实现：只支持 $eq
-                if (filterValue.has("$eq")) {
-                    String expectedValue = filterValue.get("$eq").asText();
-                    if (!eventFieldValue.asText().equals(expectedValue)) {
-                        return false; // 值不匹配
-                    }
-                }
-            } else {
-                // 直接值匹配
-                if (!eventFieldValue.asText().equals(filterValue.asText())) {
-                    return false; // 值不匹配
-                }
-            }
+        try {
+            return objectMapper.readTree(event.getEventData());
+        } catch (Exception e) {
+            logger.warn("事件数据解析失败，带过滤配置的订阅均不匹配 - EventId: {}, Error: {}", 
+                    event.getEventId(), e.getMessage());
+            return null;
         }
-        
-        return true;
     }
 }
-
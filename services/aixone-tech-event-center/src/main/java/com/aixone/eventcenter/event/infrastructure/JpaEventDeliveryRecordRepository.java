@@ -2,12 +2,16 @@ package com.aixone.eventcenter.event.infrastructure;
 
 import com.aixone.eventcenter.event.domain.EventDeliveryRecord;
 import com.aixone.eventcenter.event.domain.EventDeliveryRecordRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +29,27 @@ public interface JpaEventDeliveryRecordRepository extends JpaRepository<EventDel
     @Query("SELECT r FROM EventDeliveryRecord r WHERE r.status = 'RETRYING' AND r.nextRetryAt <= :now")
     List<EventDeliveryRecord> findRecordsForRetry(@Param("now") Instant now);
     
+    @Query("SELECT r.recordId FROM EventDeliveryRecord r WHERE r.status = 'RETRYING' AND r.nextRetryAt <= :now " +
+           "AND (r.leaseUntil IS NULL OR r.leaseUntil < :now) ORDER BY r.nextRetryAt")
+    List<Long> findRetryCandidateIds(@Param("now") Instant now, Pageable pageable);
+    
+    @Override
+    default List<Long> findRetryCandidateIds(Instant now, int limit) {
+        return findRetryCandidateIds(now, PageRequest.of(0, limit));
+    }
+    
+    @Override
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EventDeliveryRecord r SET r.leaseOwner = :leaseOwner, r.leaseUntil = :leaseUntil " +
+           "WHERE r.recordId IN :recordIds AND r.status = 'RETRYING' " +
+           "AND (r.leaseUntil IS NULL OR r.leaseUntil < :now)")
+    int claimForRetry(@Param("recordIds") Collection<Long> recordIds, @Param("leaseOwner") String leaseOwner,
+                      @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+    
+    @Override
+    @Query("SELECT r FROM EventDeliveryRecord r WHERE r.leaseOwner = :leaseOwner")
+    List<EventDeliveryRecord> findByLeaseOwner(@Param("leaseOwner") String leaseOwner);
+    
     @Override
     @Query("SELECT r FROM EventDeliveryRecord r WHERE r.tenantId = :tenantId")
     List<EventDeliveryRecord> findByTenantId(@Param("tenantId") String tenantId);
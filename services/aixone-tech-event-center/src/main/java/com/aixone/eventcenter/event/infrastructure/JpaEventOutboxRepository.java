@@ -0,0 +1,56 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.aixone.eventcenter.event.domain.EventOutboxMessage;
+import com.aixone.eventcenter.event.domain.EventOutboxRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JPA事件发件箱仓储实现
+ */
+@Repository
+public interface JpaEventOutboxRepository extends JpaRepository<EventOutboxMessage, Long>, EventOutboxRepository {
+    
+    @Query("SELECT m.outboxId FROM EventOutboxMessage m WHERE m.status = 'PENDING' AND m.nextAttemptAt <= :now " +
+           "AND (m.leaseUntil IS NULL OR m.leaseUntil < :now) ORDER BY m.outboxId")
+    List<Long> findPendingIds(@Param("now") Instant now, Pageable pageable);
+    
+    @Override
+    default List<Long> findPendingIds(Instant now, int limit) {
+        return findPendingIds(now, PageRequest.of(0, limit));
+    }
+    
+    @Override
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EventOutboxMessage m SET m.leaseOwner = :leaseOwner, m.leaseUntil = :leaseUntil " +
+           "WHERE m.outboxId IN :outboxIds AND m.status = 'PENDING' " +
+           "AND (m.leaseUntil IS NULL OR m.leaseUntil < :now)")
+    int claim(@Param("outboxIds") Collection<Long> outboxIds, @Param("leaseOwner") String leaseOwner,
+              @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+    
+    @Override
+    @Query("SELECT m FROM EventOutboxMessage m WHERE m.leaseOwner = :leaseOwner ORDER BY m.outboxId")
+    List<EventOutboxMessage> findByLeaseOwner(@Param("leaseOwner") String leaseOwner);
+    
+    @Override
+    @Modifying
+    @Query("DELETE FROM EventOutboxMessage m WHERE m.status = 'SENT' AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") Instant before);
+    
+    @Override
+    @Query("SELECT m FROM EventOutboxMessage m WHERE m.eventId = :eventId ORDER BY m.outboxId")
+    List<EventOutboxMessage> findByEventId(@Param("eventId") Long eventId);
+    
+    @Override
+    @Query("SELECT m FROM EventOutboxMessage m WHERE m.tenantId = :tenantId")
+    List<EventOutboxMessage> findByTenantId(@Param("tenantId") String tenantId);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,6 +29,10 @@ public interface JpaEventRepository extends JpaRepository<Event, Long>, EventRep
     @Query("SELECT e FROM Event e WHERE e.tenantId = :tenantId AND e.eventType = :eventType")
     List<Event> findByTenantIdAndEventType(@Param("tenantId") String tenantId, @Param("eventType") String eventType);
     
+    @Override
+    @Query("SELECT e FROM Event e WHERE e.eventId IN :eventIds")
+    List<Event> findByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
+    
     @Override
     @Query("SELECT e FROM Event e WHERE e.createdAt BETWEEN :startTime AND :endTime")
     List<Event> findByCreatedAtBetween(@Param("startTime") Instant startTime, @Param("endTime") Instant endTime);
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,6 +45,14 @@ public interface JpaSubscriptionRepository extends JpaRepository<Subscription, L
     List<Subscription> findByEventTypeAndStatus(@Param("eventType") String eventType, 
                                                  @Param("status") Subscription.SubscriptionStatus status);
     
+    @Override
+    @Query("SELECT s FROM Subscription s WHERE s.status = :status")
+    List<Subscription> findByStatus(@Param("status") Subscription.SubscriptionStatus status);
+    
+    @Override
+    @Query("SELECT s FROM Subscription s WHERE s.subscriptionId IN :subscriptionIds")
+    List<Subscription> findBySubscriptionIdIn(@Param("subscriptionIds") Collection<Long> subscriptionIds);
+    
     @Override
     @Query("SELECT COUNT(s) FROM Subscription s WHERE s.tenantId = :tenantId")
     long countByTenantId(@Param("tenantId") String tenantId);
@@ -5,11 +5,13 @@ import com.aixone.eventcenter.event.domain.Topic;
 import com.aixone.eventcenter.event.domain.TopicRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Kafka事件发布器
@@ -29,27 +31,7 @@ public class KafkaEventPublisher {
      * 发布事件到指定Topic
      */
     public void publishEvent(String topicName, Event event) {
-        try {
-            // 验证Topic是否已注册
-            Optional<Topic> topicOpt = topicRepository.findByName(topicName);
-            if (!topicOpt.isPresent()) {
-                throw new IllegalArgumentException("Topic未注册: " + topicName);
-            }
-            
-            Topic topic = topicOpt.get();
-            if (topic.getStatus() != Topic.TopicStatus.ACTIVE) {
-                throw new IllegalStateException("Topic未激活: " + topicName);
-            }
-            
-            // 发布事件到Kafka
-            kafkaTemplate.send(topicName, event.getEventId().toString(), event);
-            logger.info("事件发布成功 - Topic: {}, EventId: {}", topicName, event.getEventId());
-            
-        } catch (Exception e) {
-            logger.error("事件发布失败 - Topic: {}, EventId: {}, Error: {}", 
-                    topicName, event.getEventId(), e.getMessage(), e);
-            throw new RuntimeException("事件发布失败: " + e.getMessage(), e);
-        }
+        publishEvent(topicName, event.getEventId().toString(), event);
     }
 
     /**
@@ -57,19 +39,12 @@ public class KafkaEventPublisher {
      */
     public void publishEvent(String topicName, String key, Event event) {
         try {
-            // 验证Topic是否已注册
-            Optional<Topic> topicOpt = topicRepository.findByName(topicName);
-            if (!topicOpt.isPresent()) {
-                throw new IllegalArgumentException("Topic未注册: " + topicName);
-            }
-            
-            Topic topic = topicOpt.get();
-            if (topic.getStatus() != Topic.TopicStatus.ACTIVE) {
-                throw new IllegalStateException("Topic未激活: " + topicName);
-            }
-            
-            // 发布事件到Kafka
-            kafkaTemplate.send(topicName, key, event);
+            send(topicName, key, event).whenComplete((result, error) -> {
+                if (error != null) {
+                    logger.error("事件发布未被确认 - Topic: {}, Key: {}, EventId: {}, Error: {}",
+                            topicName, key, event.getEventId(), error.getMessage());
+                }
+            });
             logger.info("事件发布成功 - Topic: {}, Key: {}, EventId: {}", 
                     topicName, key, event.getEventId());
             
@@ -79,4 +54,39 @@ public class KafkaEventPublisher {
             throw new RuntimeException("事件发布失败: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * 发布事件到指定Topic并返回Broker确认结果
+     * Topic校验失败或发送失败时返回异常完成的结果，不抛出异常
+     */
+    public CompletableFuture<SendResult<String, Object>> publishEventAsync(String topicName, String key, Event event) {
+        try {
+            return send(topicName, key, event);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new RuntimeException("事件发布失败: " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * 校验Topic已注册且处于激活状态
+     */
+    public void validateTopic(String topicName) {
+        // 验证Topic是否已注册
+        Optional<Topic> topicOpt = topicRepository.findByName(topicName);
+        if (!topicOpt.isPresent()) {
+            throw new IllegalArgumentException("Topic未注册: " + topicName);
+        }
+        
+        Topic topic = topicOpt.get();
+        if (topic.getStatus() != Topic.TopicStatus.ACTIVE) {
+            throw new IllegalStateException("Topic未激活: " + topicName);
+        }
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(String topicName, String key, Event event) {
+        validateTopic(topicName);
+        
+        // 发布事件到Kafka
+        return kafkaTemplate.send(topicName, key, event);
+    }
 }
@@ -0,0 +1,346 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 事件路由执行器
+ * 路由任务按租户分级提交到各自独立、有界的执行通道，不使用 JVM 公共线程池：
+ * - 每个通道（优先、标准、批量）有独立的并发上限与等待队列，线程按通道命名
+ * - 租户按配置归入通道，未配置的租户使用标准通道，一个租户的慢路由只占用本通道的名额
+ * - 可选虚拟线程模式：每个任务一个虚拟线程，并发上限仍按通道生效
+ * - 等待队列满时按通道的溢出策略处理：拒绝、由提交线程执行或丢弃最早的等待任务
+ * - 提供每个通道的等待数、执行数、拒绝数与提交线程执行数指标
+ */
+public class RoutingExecutors {
+    private static final Logger logger = LoggerFactory.getLogger(RoutingExecutors.class);
+
+    private final Map<Lane, LaneExecutor> lanes = new EnumMap<>(Lane.class);
+    private final Map<String, Lane> tenantLanes;
+    private final boolean virtualThreads;
+
+    public RoutingExecutors(Map<Lane, LaneSettings> laneSettings, Map<String, Lane> tenantLanes,
+                            boolean virtualThreads) {
+        this.tenantLanes = Collections.unmodifiableMap(new HashMap<>(tenantLanes));
+        this.virtualThreads = virtualThreads;
+        for (Lane lane : Lane.values()) {
+            LaneSettings settings = laneSettings.getOrDefault(lane, LaneSettings.builder().build());
+            lanes.put(lane, new LaneExecutor(lane, settings));
+        }
+    }
+
+    /**
+     * 租户所属的通道，未配置的租户使用标准通道
+     */
+    public Lane laneOf(String tenantId) {
+        return tenantId != null ? tenantLanes.getOrDefault(tenantId, Lane.STANDARD) : Lane.STANDARD;
+    }
+
+    /**
+     * 在租户所属通道上执行路由任务
+     * @return 任务结果；被溢出策略拒绝时以 RejectedExecutionException 异常完成
+     */
+    public <T> CompletableFuture<T> submit(String tenantId, Supplier<T> task) {
+        return submit(laneOf(tenantId), task);
+    }
+
+    /**
+     * 在指定通道上执行路由任务
+     * @return 任务结果；被溢出策略拒绝时以 RejectedExecutionException 异常完成
+     */
+    public <T> CompletableFuture<T> submit(Lane lane, Supplier<T> task) {
+        RoutingTask<T> routingTask = new RoutingTask<>(task);
+        lanes.get(lane).submit(routingTask);
+        return routingTask.future;
+    }
+
+    /**
+     * 通道中等待执行的任务数
+     */
+    public int queuedCount(Lane lane) {
+        return lanes.get(lane).queuedCount();
+    }
+
+    /**
+     * 通道中执行中的任务数（不含由提交线程执行的任务）
+     */
+    public int activeCount(Lane lane) {
+        return lanes.get(lane).activeCount();
+    }
+
+    /**
+     * 通道被溢出策略拒绝或丢弃的任务数
+     */
+    public long rejectedCount(Lane lane) {
+        return lanes.get(lane).rejected.get();
+    }
+
+    /**
+     * 通道因队列已满由提交线程执行的任务数
+     */
+    public long callerRunsCount(Lane lane) {
+        return lanes.get(lane).callerRuns.get();
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * 注册路由执行器指标，按通道打标签
+     */
+    public void bindMetrics(MeterRegistry meterRegistry) {
+        for (Lane lane : Lane.values()) {
+            String tag = lane.tagValue();
+            Gauge.builder("event.routing.executor.queued", this, executors -> executors.queuedCount(lane))
+                    .description("等待执行的路由任务数")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("event.routing.executor.active", this, executors -> executors.activeCount(lane))
+                    .description("执行中的路由任务数")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("event.routing.executor.rejected", this, executors -> executors.rejectedCount(lane))
+                    .description("被溢出策略拒绝或丢弃的路由任务数")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("event.routing.executor.caller_runs", this, executors -> executors.callerRunsCount(lane))
+                    .description("队列已满时由提交线程执行的路由任务数")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 关闭执行器，等待中的任务以 RejectedExecutionException 异常完成
+     */
+    public void shutdown() {
+        for (LaneExecutor lane : lanes.values()) {
+            lane.shutdown();
+        }
+    }
+
+    /**
+     * 单个通道：并发上限、等待队列与溢出策略
+     */
+    private final class LaneExecutor {
+
+        private final Lane lane;
+        private final LaneSettings settings;
+        private final ExecutorService workers;
+        private final Deque<RoutingTask<?>> waiting = new ArrayDeque<>();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong callerRuns = new AtomicLong();
+        private int active;
+        private volatile boolean shutdown;
+
+        LaneExecutor(Lane lane, LaneSettings settings) {
+            this.lane = lane;
+            this.settings = settings;
+            String prefix = "event-routing-" + lane.tagValue() + "-";
+            this.workers = virtualThreads
+                    ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory())
+                    : Executors.newFixedThreadPool(settings.getConcurrency(), daemonThreadFactory(prefix));
+        }
+
+        void submit(RoutingTask<?> task) {
+            Admission admission;
+            RoutingTask<?> discarded = null;
+            synchronized (this) {
+                if (shutdown) {
+                    admission = Admission.REJECTED;
+                } else if (active < settings.getConcurrency()) {
+                    active++;
+                    admission = Admission.DISPATCHED;
+                } else if (waiting.size() < settings.getQueueCapacity()) {
+                    waiting.addLast(task);
+                    admission = Admission.QUEUED;
+                } else if (settings.getOverflowPolicy() == OverflowPolicy.CALLER_RUNS) {
+                    callerRuns.incrementAndGet();
+                    admission = Admission.CALLER_RUNS;
+                } else if (settings.getOverflowPolicy() == OverflowPolicy.DISCARD_OLDEST && !waiting.isEmpty()) {
+                    discarded = waiting.pollFirst();
+                    waiting.addLast(task);
+                    rejected.incrementAndGet();
+                    admission = Admission.QUEUED;
+                } else {
+                    rejected.incrementAndGet();
+                    admission = Admission.REJECTED;
+                }
+            }
+            if (discarded != null) {
+                logger.warn("路由队列已满，丢弃最早的等待任务 - Lane: {}, Capacity: {}", lane, settings.getQueueCapacity());
+                discarded.reject("路由队列已满，任务被丢弃: " + lane);
+            }
+            switch (admission) {
+                case DISPATCHED -> dispatch(task);
+                case CALLER_RUNS -> task.run();
+                case REJECTED -> {
+                    if (!shutdown) {
+                        logger.warn("路由队列已满，拒绝任务 - Lane: {}, Capacity: {}", lane, settings.getQueueCapacity());
+                    }
+                    task.reject(shutdown ? "路由执行器已关闭" : "路由队列已满: " + lane);
+                }
+                default -> {
+                    // 已加入等待队列，由执行中的任务接手
+                }
+            }
+        }
+
+        private void dispatch(RoutingTask<?> first) {
+            try {
+                workers.execute(() -> runLoop(first));
+            } catch (RejectedExecutionException e) {
+                first.reject("路由执行器已关闭");
+                release();
+            }
+        }
+
+        /**
+         * 执行任务后直接接手等待中的下一个任务，直到队列为空再归还名额
+         */
+        private void runLoop(RoutingTask<?> first) {
+            RoutingTask<?> next = first;
+            while (next != null) {
+                next.run();
+                next = pollOrRelease();
+            }
+        }
+
+        private synchronized RoutingTask<?> pollOrRelease() {
+            RoutingTask<?> next = waiting.pollFirst();
+            if (next == null) {
+                active--;
+            }
+            return next;
+        }
+
+        private synchronized void release() {
+            active--;
+        }
+
+        synchronized int queuedCount() {
+            return waiting.size();
+        }
+
+        synchronized int activeCount() {
+            return active;
+        }
+
+        void shutdown() {
+            Deque<RoutingTask<?>> aborted;
+            synchronized (this) {
+                shutdown = true;
+                aborted = new ArrayDeque<>(waiting);
+                waiting.clear();
+            }
+            for (RoutingTask<?> task : aborted) {
+                task.reject("路由执行器已关闭");
+            }
+            workers.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 路由任务，结果通过 future 返回
+     */
+    private static final class RoutingTask<T> {
+
+        private final Supplier<T> task;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        RoutingTask(Supplier<T> task) {
+            this.task = task;
+        }
+
+        void run() {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        void reject(String reason) {
+            future.completeExceptionally(new RejectedExecutionException(reason));
+        }
+    }
+
+    /**
+     * 任务提交结果
+     */
+    private enum Admission {
+        DISPATCHED, QUEUED, CALLER_RUNS, REJECTED
+    }
+
+    /**
+     * 路由通道，按租户分级
+     */
+    public enum Lane {
+        PRIORITY,   // 优先租户
+        STANDARD,   // 默认
+        BULK;       // 批量/低优先级租户
+
+        String tagValue() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * 等待队列满时的溢出策略
+     */
+    public enum OverflowPolicy {
+        REJECT,         // 拒绝新任务，由调用方稍后重试
+        CALLER_RUNS,    // 由提交线程执行，对提交方形成背压
+        DISCARD_OLDEST  // 丢弃最早的等待任务（以异常完成），接收新任务
+    }
+
+    /**
+     * 通道配置
+     */
+    @Getter
+    @Builder
+    public static class LaneSettings {
+
+        /** 并发执行的任务数上限 */
+        @Builder.Default
+        private int concurrency = 8;
+
+        /** 等待队列容量 */
+        @Builder.Default
+        private int queueCapacity = 1_000;
+
+        /** 等待队列满时的溢出策略 */
+        @Builder.Default
+        private OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+    }
+}
@@ -0,0 +1,28 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 编译后的订阅过滤条件
+ * 由 SubscriptionFilterCompiler 从订阅的过滤配置编译得到，线程安全，可在多个事件间复用
+ */
+@FunctionalInterface
+public interface SubscriptionFilter {
+
+    /**
+     * 匹配所有事件（未配置过滤条件）
+     */
+    SubscriptionFilter MATCH_ALL = eventData -> true;
+
+    /**
+     * 不匹配任何事件（过滤配置无效）
+     */
+    SubscriptionFilter MATCH_NONE = eventData -> false;
+
+    /**
+     * 判断事件数据是否满足过滤条件
+     * @param eventData 已解析的事件数据，解析失败时为 null
+     * @return 是否匹配
+     */
+    boolean matches(JsonNode eventData);
+}
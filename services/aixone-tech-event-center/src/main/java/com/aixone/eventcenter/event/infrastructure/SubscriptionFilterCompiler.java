@@ -0,0 +1,296 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * 订阅过滤条件编译器
+ * 将订阅的过滤配置（JSON）一次性编译为谓词树，事件分发时只需在已解析的事件数据上求值。
+ * 过滤配置格式：
+ * - {"field": "value"}：字段值（按文本）相等
+ * - {"a.b": "value"} 或 {"a": {"b": "value"}}：嵌套路径
+ * - {"field": {"$op": operand, ...}}：操作符，同一字段的多个操作符同时满足
+ * 支持的操作符：$eq、$ne、$in、$gt、$lt、$exists、$prefix。
+ * 字段缺失时只有 $ne 与 $exists: false 成立；配置无效时订阅不匹配任何事件。
+ * 编译结果按过滤配置文本缓存，相同配置的订阅共享同一谓词树
+ */
+@Component
+public class SubscriptionFilterCompiler {
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionFilterCompiler.class);
+
+    /**
+     * 缓存的编译结果数量上限，超过后清空重建
+     */
+    private static final int MAX_CACHED_FILTERS = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ConcurrentMap<String, SubscriptionFilter> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 获取过滤配置对应的编译结果，未编译过时编译并缓存
+     * @param filterConfig 过滤配置，为空表示匹配所有事件
+     * @return 编译后的过滤条件
+     */
+    public SubscriptionFilter filterFor(String filterConfig) {
+        if (filterConfig == null || filterConfig.isEmpty()) {
+            return SubscriptionFilter.MATCH_ALL;
+        }
+        SubscriptionFilter cached = cache.get(filterConfig);
+        if (cached != null) {
+            return cached;
+        }
+        SubscriptionFilter filter = compile(filterConfig);
+        if (cache.size() >= MAX_CACHED_FILTERS) {
+            cache.clear();
+        }
+        SubscriptionFilter existing = cache.putIfAbsent(filterConfig, filter);
+        return existing != null ? existing : filter;
+    }
+
+    /**
+     * 编译过滤配置，不使用缓存
+     * @param filterConfig 过滤配置
+     * @return 编译后的过滤条件，配置无效时为 MATCH_NONE
+     */
+    public SubscriptionFilter compile(String filterConfig) {
+        if (filterConfig == null || filterConfig.isEmpty()) {
+            return SubscriptionFilter.MATCH_ALL;
+        }
+        try {
+            JsonNode config = objectMapper.readTree(filterConfig);
+            if (config == null || !config.isObject()) {
+                throw new IllegalArgumentException("过滤配置必须是JSON对象");
+            }
+            List<FieldCondition> conditions = new ArrayList<>();
+            compileObject(new ArrayList<>(), config, conditions);
+            return new CompiledFilter(conditions.toArray(new FieldCondition[0]));
+        } catch (Exception e) {
+            logger.warn("过滤配置编译失败，订阅将不匹配任何事件 - Filter: {}, Error: {}", filterConfig, e.getMessage());
+            return SubscriptionFilter.MATCH_NONE;
+        }
+    }
+
+    private void compileObject(List<String> parentPath, JsonNode node, List<FieldCondition> conditions) {
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            if (entry.getKey().startsWith("$")) {
+                throw new IllegalArgumentException("操作符只能用于字段条件: " + entry.getKey());
+            }
+            List<String> path = new ArrayList<>(parentPath);
+            path.addAll(Arrays.asList(entry.getKey().split("\\.")));
+            JsonNode value = entry.getValue();
+
+            if (value.isObject()) {
+                int operators = countOperators(value);
+                if (value.size() == 0) {
+                    // 空对象只要求字段存在，与旧的过滤实现一致
+                    conditions.add(new FieldCondition(path, Objects::nonNull));
+                } else if (operators == value.size()) {
+                    conditions.add(new FieldCondition(path, compileOperators(value)));
+                } else if (operators == 0) {
+                    compileObject(path, value, conditions);
+                } else {
+                    throw new IllegalArgumentException("字段条件不能同时包含操作符和嵌套字段: " + entry.getKey());
+                }
+            } else if (value.isArray()) {
+                throw new IllegalArgumentException("多个候选值请使用 $in: " + entry.getKey());
+            } else {
+                conditions.add(new FieldCondition(path, equalTo(value.asText())));
+            }
+        }
+    }
+
+    private Predicate<JsonNode> compileOperators(JsonNode operators) {
+        Predicate<JsonNode> result = null;
+        Iterator<Map.Entry<String, JsonNode>> fields = operators.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            Predicate<JsonNode> predicate = compileOperator(entry.getKey(), entry.getValue());
+            result = result == null ? predicate : result.and(predicate);
+        }
+        return result;
+    }
+
+    private Predicate<JsonNode> compileOperator(String operator, JsonNode operand) {
+        switch (operator) {
+            case "$eq":
+                return equalTo(scalar(operator, operand).asText());
+            case "$ne":
+                return equalTo(scalar(operator, operand).asText()).negate();
+            case "$in": {
+                if (!operand.isArray()) {
+                    throw new IllegalArgumentException("$in 的参数必须是数组");
+                }
+                Set<String> candidates = new HashSet<>();
+                operand.forEach(candidate -> candidates.add(scalar(operator, candidate).asText()));
+                return value -> value != null && candidates.contains(value.asText());
+            }
+            case "$gt": {
+                Comparison comparison = Comparison.of(scalar(operator, operand));
+                return value -> comparison.compareTo(value) > 0;
+            }
+            case "$lt": {
+                Comparison comparison = Comparison.of(scalar(operator, operand));
+                return value -> comparison.compareTo(value) < 0;
+            }
+            case "$exists": {
+                if (!operand.isBoolean()) {
+                    throw new IllegalArgumentException("$exists 的参数必须是布尔值");
+                }
+                boolean expected = operand.booleanValue();
+                return value -> (value != null) == expected;
+            }
+            case "$prefix": {
+                if (!operand.isTextual()) {
+                    throw new IllegalArgumentException("$prefix 的参数必须是字符串");
+                }
+                String prefix = operand.textValue();
+                return value -> value != null && value.isValueNode() && value.asText().startsWith(prefix);
+            }
+            default:
+                throw new IllegalArgumentException("不支持的过滤操作符: " + operator);
+        }
+    }
+
+    private static Predicate<JsonNode> equalTo(String expected) {
+        return value -> value != null && value.asText().equals(expected);
+    }
+
+    private static JsonNode scalar(String operator, JsonNode operand) {
+        if (!operand.isValueNode()) {
+            throw new IllegalArgumentException(operator + " 的参数必须是标量值");
+        }
+        return operand;
+    }
+
+    private static int countOperators(JsonNode node) {
+        int count = 0;
+        Iterator<String> names = node.fieldNames();
+        while (names.hasNext()) {
+            if (names.next().startsWith("$")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 编译后的过滤条件：全部字段条件同时满足
+     */
+    private static final class CompiledFilter implements SubscriptionFilter {
+
+        private final FieldCondition[] conditions;
+
+        CompiledFilter(FieldCondition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public boolean matches(JsonNode eventData) {
+            if (eventData == null) {
+                return false;
+            }
+            for (FieldCondition condition : conditions) {
+                if (!condition.test(eventData)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 单个字段路径上的条件，字段缺失时以 null 求值
+     */
+    private static final class FieldCondition {
+
+        private final String[] path;
+        private final Predicate<JsonNode> predicate;
+
+        FieldCondition(List<String> path, Predicate<JsonNode> predicate) {
+            this.path = path.toArray(new String[0]);
+            this.predicate = predicate;
+        }
+
+        boolean test(JsonNode eventData) {
+            JsonNode node = eventData;
+            for (String segment : path) {
+                if (node == null || !node.isObject()) {
+                    return predicate.test(null);
+                }
+                node = node.get(segment);
+            }
+            return predicate.test(node);
+        }
+    }
+
+    /**
+     * $gt / $lt 的比较：参数为数字时按数值比较（事件中的数字字符串也参与比较），否则按文本比较
+     */
+    private static final class Comparison {
+
+        private final BigDecimal number;
+        private final String text;
+
+        private Comparison(BigDecimal number, String text) {
+            this.number = number;
+            this.text = text;
+        }
+
+        static Comparison of(JsonNode operand) {
+            if (operand.isNumber()) {
+                return new Comparison(operand.decimalValue(), null);
+            }
+            if (operand.isTextual()) {
+                return new Comparison(null, operand.textValue());
+            }
+            throw new IllegalArgumentException("比较操作符的参数必须是数字或字符串");
+        }
+
+        /**
+         * 事件值与参数比较，不可比较时返回 0（$gt 与 $lt 均不成立）
+         */
+        int compareTo(JsonNode value) {
+            if (value == null || !value.isValueNode() || value.isNull()) {
+                return 0;
+            }
+            if (number != null) {
+                BigDecimal actual = toNumber(value);
+                return actual == null ? 0 : Integer.signum(actual.compareTo(number));
+            }
+            return value.isTextual() ? Integer.signum(value.textValue().compareTo(text)) : 0;
+        }
+
+        private static BigDecimal toNumber(JsonNode value) {
+            if (value.isNumber()) {
+                return value.decimalValue();
+            }
+            if (value.isTextual()) {
+                try {
+                    return new BigDecimal(value.textValue().trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+}
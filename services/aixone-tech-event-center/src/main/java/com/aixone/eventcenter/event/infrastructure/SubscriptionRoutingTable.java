@@ -0,0 +1,360 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.aixone.eventcenter.event.domain.Subscription;
+import com.aixone.eventcenter.event.domain.SubscriptionChangedEvent;
+import com.aixone.eventcenter.event.domain.SubscriptionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * 订阅路由表
+ * 将活跃订阅按租户、事件类型预先建立索引，事件路由不再逐条查询数据库：
+ * - 订阅的事件类型支持精确匹配、前缀模式（如 USER_*、order.*）以及匹配全部事件的通配符 *
+ * - 每个租户一份只读索引，路由结果为不可变列表，并按事件类型缓存
+ * - 启动时全量加载；订阅变更事务提交后重新加载该租户，以原子方式替换整个快照
+ * - 定期全量刷新，用于同步其他实例上发生的订阅变更
+ * - 加载订阅时同时编译其过滤配置
+ * 快照中的订阅对象在多个线程间共享，只读使用
+ */
+@Component
+public class SubscriptionRoutingTable {
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionRoutingTable.class);
+
+    /**
+     * 匹配全部事件类型的通配符，以 * 结尾的事件类型均按前缀匹配
+     */
+    public static final String WILDCARD = "*";
+
+    /**
+     * 每个租户缓存的路由结果数量上限，防止事件类型无限增长
+     */
+    private static final int MAX_CACHED_ROUTES = 4096;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired(required = false)
+    private SubscriptionFilterCompiler filterCompiler;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * 串行化快照的重建，读取数据库与替换快照在同一临界区内，避免旧数据覆盖新数据
+     */
+    private final Object reloadLock = new Object();
+
+    /**
+     * 注册路由表指标
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("event.routing.table.version", this, SubscriptionRoutingTable::version)
+                .description("路由表快照版本")
+                .register(meterRegistry);
+        Gauge.builder("event.routing.table.size", this, SubscriptionRoutingTable::size)
+                .description("路由表中的活跃订阅数")
+                .register(meterRegistry);
+        Gauge.builder("event.routing.table.tenants", this, SubscriptionRoutingTable::tenantCount)
+                .description("路由表中的租户数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 应用启动完成后全量加载
+     * 加载失败时路由回退到数据库查询，由定期刷新重试
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reloadAll();
+        } catch (Exception e) {
+            logger.error("订阅路由表加载失败，暂时回退到数据库路由 - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 定期全量刷新
+     */
+    @Scheduled(fixedDelayString = "${event-center.routing.refresh-interval-ms:60000}",
+            initialDelayString = "${event-center.routing.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        try {
+            reloadAll();
+        } catch (Exception e) {
+            logger.warn("订阅路由表定期刷新失败，继续使用版本 {} - Error: {}", version(), e.getMessage());
+        }
+    }
+
+    /**
+     * 订阅变更事务提交后重新加载该租户
+     * 在独立的只读事务中查询，不复用发布方会话中的托管实体
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        reloadTenant(event.getTenantId());
+    }
+
+    /**
+     * 全量加载全部租户的活跃订阅
+     */
+    public void reloadAll() {
+        synchronized (reloadLock) {
+            List<Subscription> subscriptions = subscriptionRepository
+                    .findByStatus(Subscription.SubscriptionStatus.ACTIVE);
+            precompileFilters(subscriptions);
+            Map<String, List<Subscription>> byTenant = subscriptions.stream()
+                    .filter(subscription -> subscription.getTenantId() != null)
+                    .collect(Collectors.groupingBy(Subscription::getTenantId));
+            Map<String, TenantRoutes> tenants = new HashMap<>(byTenant.size() * 2);
+            byTenant.forEach((tenantId, tenantSubscriptions) ->
+                    tenants.put(tenantId, TenantRoutes.of(tenantSubscriptions)));
+
+            Snapshot next = new Snapshot(snapshot.get().version + 1, true, tenants);
+            snapshot.set(next);
+            logger.info("订阅路由表已加载 - 版本: {}, 租户数: {}, 订阅数: {}",
+                    next.version, next.tenants.size(), next.size);
+        }
+    }
+
+    /**
+     * 重新加载单个租户的活跃订阅
+     * 路由表尚未完成全量加载时忽略，由全量加载统一处理
+     *
+     * @param tenantId 租户ID
+     */
+    public void reloadTenant(String tenantId) {
+        if (tenantId == null) {
+            return;
+        }
+        synchronized (reloadLock) {
+            Snapshot current = snapshot.get();
+            if (!current.loaded) {
+                return;
+            }
+            List<Subscription> subscriptions = subscriptionRepository
+                    .findByTenantIdAndStatus(tenantId, Subscription.SubscriptionStatus.ACTIVE);
+            precompileFilters(subscriptions);
+            Map<String, TenantRoutes> tenants = new HashMap<>(current.tenants);
+            if (subscriptions.isEmpty()) {
+                tenants.remove(tenantId);
+            } else {
+                tenants.put(tenantId, TenantRoutes.of(subscriptions));
+            }
+
+            Snapshot next = new Snapshot(current.version + 1, true, tenants);
+            snapshot.set(next);
+            logger.debug("订阅路由表已更新 - 租户: {}, 版本: {}, 订阅数: {}",
+                    tenantId, next.version, next.size);
+        }
+    }
+
+    /**
+     * 查找租户内接收该事件类型的活跃订阅
+     *
+     * @param tenantId 租户ID，为空时在全部租户中查找
+     * @param eventType 事件类型
+     * @return 不可变的订阅列表，精确匹配在前，模式匹配在后
+     */
+    public List<Subscription> route(String tenantId, String eventType) {
+        Snapshot current = snapshot.get();
+        if (tenantId == null) {
+            return current.routeAllTenants(eventType);
+        }
+        TenantRoutes routes = current.tenants.get(tenantId);
+        return routes != null ? routes.route(eventType) : List.of();
+    }
+
+    /**
+     * 在全部租户中查找接收该事件类型的活跃订阅
+     */
+    public List<Subscription> route(String eventType) {
+        return snapshot.get().routeAllTenants(eventType);
+    }
+
+    /**
+     * 是否已完成全量加载
+     */
+    public boolean isLoaded() {
+        return snapshot.get().loaded;
+    }
+
+    /**
+     * 当前快照版本，每次替换递增
+     */
+    public long version() {
+        return snapshot.get().version;
+    }
+
+    /**
+     * 当前快照中的活跃订阅数
+     */
+    public int size() {
+        return snapshot.get().size;
+    }
+
+    /**
+     * 当前快照中的租户数
+     */
+    public int tenantCount() {
+        return snapshot.get().tenants.size();
+    }
+
+    /**
+     * 加载订阅时预先编译过滤配置，分发时直接命中编译缓存
+     */
+    private void precompileFilters(List<Subscription> subscriptions) {
+        if (filterCompiler == null) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            filterCompiler.filterFor(subscription.getFilterConfig());
+        }
+    }
+
+    /**
+     * 判断订阅的事件类型模式是否匹配事件类型
+     *
+     * @param pattern 订阅的事件类型，* 匹配全部，以 * 结尾表示前缀
+     * @param eventType 事件类型
+     * @return 是否匹配
+     */
+    public static boolean matches(String pattern, String eventType) {
+        if (pattern == null || eventType == null) {
+            return false;
+        }
+        if (pattern.endsWith(WILDCARD)) {
+            return eventType.startsWith(pattern.substring(0, pattern.length() - 1));
+        }
+        return pattern.equals(eventType);
+    }
+
+    /**
+     * 路由表快照，创建后只读
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, false, Map.of());
+
+        final long version;
+        final boolean loaded;
+        final Map<String, TenantRoutes> tenants;
+        final int size;
+
+        Snapshot(long version, boolean loaded, Map<String, TenantRoutes> tenants) {
+            this.version = version;
+            this.loaded = loaded;
+            this.tenants = Map.copyOf(tenants);
+            this.size = tenants.values().stream().mapToInt(routes -> routes.size).sum();
+        }
+
+        List<Subscription> routeAllTenants(String eventType) {
+            List<Subscription> result = new ArrayList<>();
+            for (TenantRoutes routes : tenants.values()) {
+                result.addAll(routes.route(eventType));
+            }
+            return List.copyOf(result);
+        }
+    }
+
+    /**
+     * 单个租户的路由索引
+     */
+    private static final class TenantRoutes {
+
+        private static final Comparator<Subscription> BY_ID = Comparator.comparing(
+                Subscription::getSubscriptionId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+        private final Map<String, List<Subscription>> exact;
+        private final Map<String, List<Subscription>> prefixes;
+        private final int size;
+        private final ConcurrentMap<String, List<Subscription>> resolved = new ConcurrentHashMap<>();
+
+        private TenantRoutes(Map<String, List<Subscription>> exact, Map<String, List<Subscription>> prefixes, int size) {
+            this.exact = exact;
+            this.prefixes = prefixes;
+            this.size = size;
+        }
+
+        static TenantRoutes of(List<Subscription> subscriptions) {
+            List<Subscription> sorted = new ArrayList<>(subscriptions);
+            sorted.sort(BY_ID);
+            Map<String, List<Subscription>> exact = new HashMap<>();
+            Map<String, List<Subscription>> prefixes = new LinkedHashMap<>();
+            int size = 0;
+            for (Subscription subscription : sorted) {
+                String pattern = subscription.getEventType();
+                if (pattern == null) {
+                    continue;
+                }
+                if (pattern.endsWith(WILDCARD)) {
+                    prefixes.computeIfAbsent(pattern.substring(0, pattern.length() - 1), k -> new ArrayList<>())
+                            .add(subscription);
+                } else {
+                    exact.computeIfAbsent(pattern, k -> new ArrayList<>()).add(subscription);
+                }
+                size++;
+            }
+            exact.replaceAll((pattern, list) -> List.copyOf(list));
+            prefixes.replaceAll((prefix, list) -> List.copyOf(list));
+            return new TenantRoutes(exact, prefixes, size);
+        }
+
+        List<Subscription> route(String eventType) {
+            if (eventType == null) {
+                return List.of();
+            }
+            List<Subscription> cached = resolved.get(eventType);
+            if (cached != null) {
+                return cached;
+            }
+            List<Subscription> result = resolve(eventType);
+            if (resolved.size() < MAX_CACHED_ROUTES) {
+                resolved.putIfAbsent(eventType, result);
+            }
+            return result;
+        }
+
+        private List<Subscription> resolve(String eventType) {
+            List<Subscription> exactMatches = exact.getOrDefault(eventType, List.of());
+            if (prefixes.isEmpty()) {
+                return exactMatches;
+            }
+            List<Subscription> result = new ArrayList<>(exactMatches);
+            for (Map.Entry<String, List<Subscription>> entry : prefixes.entrySet()) {
+                if (eventType.startsWith(entry.getKey())) {
+                    result.addAll(entry.getValue());
+                }
+            }
+            return List.copyOf(result);
+        }
+    }
+}
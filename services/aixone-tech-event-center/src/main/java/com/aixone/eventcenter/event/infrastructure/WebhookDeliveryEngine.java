@@ -0,0 +1,415 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Webhook 投递引擎
+ * 所有订阅共享一个 HttpClient（HTTP/1.1 长连接池）与一组 I/O 线程，请求异步发送：
+ * - 每个端点并发数有上限，超出的投递在该端点的等待队列中排队
+ * - 所有端点的等待总数有上限，队列满时立即返回 REJECTED，由重试机制稍后补投
+ * - 每个端点一个熔断器，连接失败、超时、5xx 与 429 计为失败；熔断器打开前发出的请求迟到的结果被忽略
+ * - 空闲超过 channelIdleTimeoutMs 的端点通道被回收，端点数量不会随历史订阅无限增长
+ * - 连接与请求均有超时，慢端点只占用自己的并发名额，不会拖住其他订阅者
+ */
+public class WebhookDeliveryEngine {
+    private static final Logger logger = LoggerFactory.getLogger(WebhookDeliveryEngine.class);
+
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+    private final ExecutorService ioExecutor;
+    private final HttpClient httpClient;
+    private final ConcurrentMap<String, EndpointChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong nextSweepAt;
+
+    public WebhookDeliveryEngine(Settings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    WebhookDeliveryEngine(Settings settings, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.nextSweepAt = new AtomicLong(nanoClock.getAsLong() + sweepIntervalNanos());
+        this.ioExecutor = Executors.newFixedThreadPool(settings.getIoThreads(), daemonThreadFactory());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(settings.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(ioExecutor)
+                .build();
+    }
+
+    /**
+     * 投递 JSON 请求体到端点
+     * @param endpoint 订阅端点地址
+     * @param body JSON 请求体
+     * @return 投递结果，不会以异常结束
+     */
+    public CompletableFuture<WebhookDeliveryResult> deliver(String endpoint, String body) {
+        return deliver(endpoint, body, false);
+    }
+
+    /**
+     * 投递 JSON 请求体到端点
+     * @param endpoint 订阅端点地址
+     * @param body JSON 请求体
+     * @param readResponse 是否读取响应体（批量投递需要解析部分失败），否则直接丢弃
+     * @return 投递结果，不会以异常结束
+     */
+    public CompletableFuture<WebhookDeliveryResult> deliver(String endpoint, String body, boolean readResponse) {
+        URI uri;
+        try {
+            uri = URI.create(endpoint);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                throw new IllegalArgumentException("缺少协议或主机");
+            }
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(WebhookDeliveryResult.ioError("端点地址无效: " + endpoint));
+        }
+        sweepIdleChannels();
+        PendingDelivery delivery = new PendingDelivery(uri, body, readResponse);
+        while (true) {
+            // 通道可能在取出后被回收，此时重新创建
+            CompletableFuture<WebhookDeliveryResult> future =
+                    channels.computeIfAbsent(endpoint, EndpointChannel::new).submit(delivery);
+            if (future != null) {
+                return future;
+            }
+        }
+    }
+
+    /**
+     * 等待发送的投递数（不含发送中的）
+     */
+    public int queuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * 发送中的投递数
+     */
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * 当前保留的端点通道数
+     */
+    public int channelCount() {
+        return channels.size();
+    }
+
+    /**
+     * 熔断器处于打开或半开状态的端点数
+     */
+    public int openCircuitCount() {
+        return (int) channels.values().stream()
+                .filter(channel -> channel.breaker.getState() != EndpointCircuitBreaker.State.CLOSED)
+                .count();
+    }
+
+    /**
+     * 端点的熔断器状态，未投递过的端点为 CLOSED
+     */
+    public EndpointCircuitBreaker.State circuitState(String endpoint) {
+        EndpointChannel channel = channels.get(endpoint);
+        return channel != null ? channel.breaker.getState() : EndpointCircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * 注册投递引擎指标
+     */
+    public void bindMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("event.delivery.queued", this, WebhookDeliveryEngine::queuedCount)
+                .description("等待发送的 Webhook 投递数")
+                .register(meterRegistry);
+        Gauge.builder("event.delivery.in_flight", this, WebhookDeliveryEngine::inFlightCount)
+                .description("发送中的 Webhook 投递数")
+                .register(meterRegistry);
+        Gauge.builder("event.delivery.open_circuits", this, WebhookDeliveryEngine::openCircuitCount)
+                .description("熔断中的订阅端点数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 关闭引擎，未完成的投递以 IO_ERROR 结束
+     */
+    public void shutdown() {
+        for (EndpointChannel channel : channels.values()) {
+            channel.abortWaiting();
+        }
+        httpClient.shutdownNow();
+        ioExecutor.shutdownNow();
+    }
+
+    /**
+     * 回收空闲超时的端点通道，每个回收间隔最多由一个线程执行一次
+     */
+    void sweepIdleChannels() {
+        long now = nanoClock.getAsLong();
+        long sweepAt = nextSweepAt.get();
+        if (now - sweepAt < 0 || !nextSweepAt.compareAndSet(sweepAt, now + sweepIntervalNanos())) {
+            return;
+        }
+        long idleTimeoutNanos = settings.getChannelIdleTimeoutMs() * 1_000_000L;
+        for (EndpointChannel channel : channels.values()) {
+            if (channel.retireIfIdle(now, idleTimeoutNanos)) {
+                channels.remove(channel.endpoint, channel);
+            }
+        }
+    }
+
+    private long sweepIntervalNanos() {
+        return Math.max(1, settings.getChannelIdleTimeoutMs() / 2) * 1_000_000L;
+    }
+
+    private void send(EndpointChannel channel, PendingDelivery delivery, long permit) {
+        HttpRequest request = HttpRequest.newBuilder(delivery.uri)
+                .timeout(Duration.ofMillis(settings.getRequestTimeoutMs()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(delivery.body))
+                .build();
+        inFlight.incrementAndGet();
+        CompletableFuture<HttpResponse<String>> response;
+        try {
+            response = httpClient.sendAsync(request, delivery.readResponse
+                    ? HttpResponse.BodyHandlers.ofString()
+                    : HttpResponse.BodyHandlers.<String>replacing(null));
+        } catch (Exception e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((httpResponse, error) -> {
+            inFlight.decrementAndGet();
+            WebhookDeliveryResult result = error != null
+                    ? onError(channel, permit, error)
+                    : onResponse(channel, permit, httpResponse.statusCode(), httpResponse.body());
+            channel.release();
+            delivery.future.complete(result);
+        });
+    }
+
+    private WebhookDeliveryResult onResponse(EndpointChannel channel, long permit, int statusCode,
+                                             String responseBody) {
+        if (statusCode >= 500 || statusCode == 429 || statusCode == 408) {
+            channel.breaker.onFailure(permit);
+        } else {
+            channel.breaker.onSuccess(permit);
+        }
+        return statusCode >= 200 && statusCode < 300
+                ? WebhookDeliveryResult.delivered(statusCode, responseBody)
+                : WebhookDeliveryResult.httpError(statusCode, responseBody);
+    }
+
+    private WebhookDeliveryResult onError(EndpointChannel channel, long permit, Throwable error) {
+        channel.breaker.onFailure(permit);
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        String message = cause instanceof HttpTimeoutException
+                ? "请求超时: " + settings.getRequestTimeoutMs() + "ms"
+                : cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        logger.debug("Webhook 投递失败 - Endpoint: {}, Error: {}", channel.endpoint, message);
+        return WebhookDeliveryResult.ioError(message);
+    }
+
+    private boolean reserveQueueSlot() {
+        while (true) {
+            int current = queued.get();
+            if (current >= settings.getQueueCapacity()) {
+                return false;
+            }
+            if (queued.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "webhook-delivery-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 单个端点的并发控制与等待队列
+     */
+    private final class EndpointChannel {
+
+        private final String endpoint;
+        private final EndpointCircuitBreaker breaker;
+        private final Deque<PendingDelivery> waiting = new ArrayDeque<>();
+        private int active;
+        private long lastUsedAt = nanoClock.getAsLong();
+        private boolean retired;
+
+        EndpointChannel(String endpoint) {
+            this.endpoint = endpoint;
+            this.breaker = new EndpointCircuitBreaker(
+                    settings.getFailureThreshold(), settings.getOpenDurationMs(), nanoClock);
+        }
+
+        /**
+         * 提交投递
+         * @return 投递结果；通道已被回收时为 null，调用方应重新获取通道
+         */
+        CompletableFuture<WebhookDeliveryResult> submit(PendingDelivery delivery) {
+            synchronized (this) {
+                if (retired) {
+                    return null;
+                }
+                lastUsedAt = nanoClock.getAsLong();
+                if (breaker.isRejecting()) {
+                    return CompletableFuture.completedFuture(WebhookDeliveryResult.circuitOpen(endpoint));
+                }
+                if (active >= settings.getMaxConcurrencyPerEndpoint()) {
+                    if (!reserveQueueSlot()) {
+                        logger.warn("Webhook 投递队列已满，拒绝投递 - Endpoint: {}, Capacity: {}",
+                                endpoint, settings.getQueueCapacity());
+                        return CompletableFuture.completedFuture(
+                                WebhookDeliveryResult.rejected("投递队列已满"));
+                    }
+                    waiting.addLast(delivery);
+                    return delivery.future;
+                }
+                active++;
+            }
+            long permit = breaker.tryAcquire();
+            if (permit != EndpointCircuitBreaker.NO_PERMIT) {
+                send(this, delivery, permit);
+            } else {
+                delivery.future.complete(WebhookDeliveryResult.circuitOpen(endpoint));
+                release();
+            }
+            return delivery.future;
+        }
+
+        /**
+         * 释放一个并发名额：有等待的投递时直接转交，熔断中的等待投递依次快速失败
+         */
+        void release() {
+            while (true) {
+                PendingDelivery next;
+                synchronized (this) {
+                    next = waiting.pollFirst();
+                    if (next == null) {
+                        active--;
+                        return;
+                    }
+                }
+                queued.decrementAndGet();
+                long permit = breaker.tryAcquire();
+                if (permit != EndpointCircuitBreaker.NO_PERMIT) {
+                    send(this, next, permit);
+                    return;
+                }
+                next.future.complete(WebhookDeliveryResult.circuitOpen(endpoint));
+            }
+        }
+
+        /**
+         * 没有发送中与等待中的投递、熔断器未在拒绝且空闲超时后标记为已回收，之后的提交改由新通道处理
+         */
+        synchronized boolean retireIfIdle(long now, long idleTimeoutNanos) {
+            if (active > 0 || !waiting.isEmpty() || now - lastUsedAt < idleTimeoutNanos || breaker.isRejecting()) {
+                return false;
+            }
+            retired = true;
+            return true;
+        }
+
+        void abortWaiting() {
+            PendingDelivery next;
+            while ((next = pollWaiting()) != null) {
+                queued.decrementAndGet();
+                next.future.complete(WebhookDeliveryResult.ioError("投递引擎已关闭"));
+            }
+        }
+
+        private synchronized PendingDelivery pollWaiting() {
+            return waiting.pollFirst();
+        }
+    }
+
+    /**
+     * 等待发送的投递
+     */
+    private static final class PendingDelivery {
+
+        private final URI uri;
+        private final String body;
+        private final boolean readResponse;
+        private final CompletableFuture<WebhookDeliveryResult> future = new CompletableFuture<>();
+
+        PendingDelivery(URI uri, String body, boolean readResponse) {
+            this.uri = uri;
+            this.body = body;
+            this.readResponse = readResponse;
+        }
+    }
+
+    /**
+     * 投递引擎配置
+     */
+    @Getter
+    @Builder
+    public static class Settings {
+
+        /** 建立连接超时（毫秒） */
+        @Builder.Default
+        private long connectTimeoutMs = 2_000;
+
+        /** 单次请求超时（毫秒），包含等待响应的时间 */
+        @Builder.Default
+        private long requestTimeoutMs = 10_000;
+
+        /** 每个端点的最大并发请求数 */
+        @Builder.Default
+        private int maxConcurrencyPerEndpoint = 8;
+
+        /** 所有端点等待发送的投递总数上限 */
+        @Builder.Default
+        private int queueCapacity = 10_000;
+
+        /** I/O 线程数 */
+        @Builder.Default
+        private int ioThreads = 8;
+
+        /** 熔断器打开前允许的连续失败次数 */
+        @Builder.Default
+        private int failureThreshold = 5;
+
+        /** 熔断器打开时长（毫秒），之后放行一个试探请求 */
+        @Builder.Default
+        private long openDurationMs = 30_000;
+
+        /** 端点通道空闲多久后回收（毫秒），回收时熔断器状态一并丢弃 */
+        @Builder.Default
+        private long channelIdleTimeoutMs = 600_000;
+    }
+}
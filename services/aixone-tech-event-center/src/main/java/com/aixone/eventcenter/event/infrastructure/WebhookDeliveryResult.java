@@ -0,0 +1,75 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import lombok.Getter;
+
+/**
+ * Webhook 投递结果
+ */
+@Getter
+public class WebhookDeliveryResult {
+
+    /**
+     * 投递结果类型
+     */
+    public enum Outcome {
+        /** 端点返回 2xx */
+        DELIVERED,
+        /** 端点返回非 2xx */
+        HTTP_ERROR,
+        /** 连接失败或请求超时 */
+        IO_ERROR,
+        /** 端点熔断中，未发送 */
+        CIRCUIT_OPEN,
+        /** 投递队列已满，未发送 */
+        REJECTED
+    }
+
+    private final Outcome outcome;
+    private final int statusCode;
+    private final String error;
+    /** 端点响应体，仅在投递时要求读取响应时有值 */
+    private final String responseBody;
+
+    private WebhookDeliveryResult(Outcome outcome, int statusCode, String error) {
+        this(outcome, statusCode, error, null);
+    }
+
+    private WebhookDeliveryResult(Outcome outcome, int statusCode, String error, String responseBody) {
+        this.outcome = outcome;
+        this.statusCode = statusCode;
+        this.error = error;
+        this.responseBody = responseBody;
+    }
+
+    public static WebhookDeliveryResult delivered(int statusCode) {
+        return delivered(statusCode, null);
+    }
+
+    public static WebhookDeliveryResult delivered(int statusCode, String responseBody) {
+        return new WebhookDeliveryResult(Outcome.DELIVERED, statusCode, null, responseBody);
+    }
+
+    public static WebhookDeliveryResult httpError(int statusCode) {
+        return httpError(statusCode, null);
+    }
+
+    public static WebhookDeliveryResult httpError(int statusCode, String responseBody) {
+        return new WebhookDeliveryResult(Outcome.HTTP_ERROR, statusCode, "HTTP状态码: " + statusCode, responseBody);
+    }
+
+    public static WebhookDeliveryResult ioError(String error) {
+        return new WebhookDeliveryResult(Outcome.IO_ERROR, 0, error);
+    }
+
+    public static WebhookDeliveryResult circuitOpen(String endpoint) {
+        return new WebhookDeliveryResult(Outcome.CIRCUIT_OPEN, 0, "端点熔断中: " + endpoint);
+    }
+
+    public static WebhookDeliveryResult rejected(String error) {
+        return new WebhookDeliveryResult(Outcome.REJECTED, 0, error);
+    }
+
+    public boolean isSuccess() {
+        return outcome == Outcome.DELIVERED;
+    }
+}
@@ -102,6 +102,29 @@ public class SubscriptionController {
         return ApiResponse.success(subscription);
     }
 
+    /**
+     * 更新批量投递配置
+     */
+    @PutMapping("/{subscriptionId}/batch")
+    public ApiResponse<Subscription> updateBatchConfig(
+            @PathVariable Long subscriptionId,
+            @RequestBody BatchConfigRequest request) {
+        String tenantId = SessionContext.getTenantId();
+        if (tenantId == null) {
+            return ApiResponse.error(40001, "缺少租户ID");
+        }
+        
+        Subscription subscription = subscriptionApplicationService.updateBatchConfig(
+                subscriptionId,
+                tenantId,
+                request.getBatchSize(),
+                request.getBatchLingerMs(),
+                request.getPartitionKey()
+        );
+        
+        return ApiResponse.success(subscription);
+    }
+
     /**
      * 激活订阅
      */
@@ -183,5 +206,21 @@ public class SubscriptionController {
         public String getRetryConfig() { return retryConfig; }
         public void setRetryConfig(String retryConfig) { this.retryConfig = retryConfig; }
     }
-}
 
+    /**
+     * 批量投递配置请求DTO
+     */
+    public static class BatchConfigRequest {
+        private Integer batchSize;
+        private Integer batchLingerMs;
+        private String partitionKey;
+
+        // Getters and Setters
+        public Integer getBatchSize() { return batchSize; }
+        public void setBatchSize(Integer batchSize) { this.batchSize = batchSize; }
+        public Integer getBatchLingerMs() { return batchLingerMs; }
+        public void setBatchLingerMs(Integer batchLingerMs) { this.batchLingerMs = batchLingerMs; }
+        public String getPartitionKey() { return partitionKey; }
+        public void setPartitionKey(String partitionKey) { this.partitionKey = partitionKey; }
+    }
+}
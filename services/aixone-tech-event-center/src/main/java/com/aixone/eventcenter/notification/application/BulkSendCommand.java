@@ -0,0 +1,55 @@
+package com.aixone.eventcenter.notification.application;
+
+import com.aixone.eventcenter.notification.domain.Notification;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 使用模板批量发送通知命令
+ */
+@Data
+public class BulkSendCommand {
+    
+    /**
+     * 模板ID
+     */
+    private Long templateId;
+    
+    /**
+     * 公共变量（JSON格式），接收者未提供的变量使用公共变量
+     */
+    private String variables;
+    
+    /**
+     * 优先级，为空时使用默认优先级
+     */
+    private Notification.NotificationPriority priority;
+    
+    /**
+     * 接收者列表
+     */
+    private List<Recipient> recipients;
+    
+    /**
+     * 接收者
+     */
+    @Data
+    public static class Recipient {
+        
+        /**
+         * 接收者信息（JSON格式）
+         */
+        private String recipientInfo;
+        
+        /**
+         * 接收者变量（JSON格式），覆盖同名的公共变量
+         */
+        private String variables;
+        
+        /**
+         * 通知渠道，为空时使用模板的第一个渠道
+         */
+        private Notification.NotificationChannel channel;
+    }
+}
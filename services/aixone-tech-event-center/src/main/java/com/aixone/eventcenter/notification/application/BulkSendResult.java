@@ -0,0 +1,47 @@
+package com.aixone.eventcenter.notification.application;
+
+import lombok.Data;
+
+/**
+ * 批量发送通知结果
+ */
+@Data
+public class BulkSendResult {
+    
+    /**
+     * 批量发送ID，用于查询发送进度
+     */
+    private String bulkId;
+    
+    /**
+     * 模板ID
+     */
+    private Long templateId;
+    
+    /**
+     * 通知总数
+     */
+    private int totalCount;
+    
+    /**
+     * 待发送数
+     */
+    private int pendingCount;
+    
+    /**
+     * 发送成功数
+     */
+    private int sentCount;
+    
+    /**
+     * 发送失败数
+     */
+    private int failedCount;
+    
+    /**
+     * 是否已全部发送完成（没有待发送的通知）
+     */
+    public boolean isCompleted() {
+        return pendingCount == 0;
+    }
+}
@@ -3,20 +3,28 @@ package com.aixone.eventcenter.notification.application;
 import com.aixone.common.exception.BizException;
 import com.aixone.common.util.ValidationUtils;
 import com.aixone.eventcenter.notification.domain.Notification;
+import com.aixone.eventcenter.notification.domain.NotificationBatchRepository;
 import com.aixone.eventcenter.notification.domain.NotificationRepository;
 import com.aixone.eventcenter.notification.domain.NotificationTemplate;
 import com.aixone.eventcenter.notification.domain.NotificationTemplateRepository;
+import com.aixone.eventcenter.notification.infrastructure.NotificationFanoutExecutor;
 import com.aixone.eventcenter.notification.infrastructure.NotificationSender;
 import com.aixone.eventcenter.notification.infrastructure.TemplateEngine;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * 通知应用服务
@@ -39,6 +47,18 @@ public class NotificationApplicationService {
     @Autowired
     private com.aixone.eventcenter.notification.infrastructure.TemplateEngine templateEngine;
     
+    @Autowired
+    private NotificationBatchRepository batchRepository;
+    
+    @Autowired(required = false)
+    private NotificationFanoutExecutor fanoutExecutor;
+    
+    @Value("${event-center.notification.bulk.max-recipients:10000}")
+    private int maxBulkRecipients = 10_000;
+    
+    @Value("${event-center.notification.bulk.lease-ms:600000}")
+    private long bulkLeaseMs = 600_000;
+    
     /**
      * 发送通知
      */
@@ -103,15 +123,159 @@ public class NotificationApplicationService {
         NotificationTemplate template = templateRepository.findByTemplateIdAndTenantId(templateId, tenantId)
                 .orElseThrow(() -> new BizException("TEMPLATE_NOT_FOUND", "模板不存在"));
         
-        // 渲染模板
-        String renderedSubject = templateEngine.render(template.getSubjectTemplate(), variables);
-        String renderedBody = templateEngine.render(template.getBodyTemplate(), variables);
+        // 渲染模板：变量只解析一次，主题和正文按编译后的模板一次渲染为通知内容JSON
+        JsonNode parsedVariables = templateEngine.parseVariables(variables);
+        String notificationContent = templateEngine.renderContent(template, parsedVariables);
         
-        // 构建通知内容
-        String notificationContent = String.format("{\"subject\":\"%s\",\"body\":\"%s\"}", 
-                renderedSubject, renderedBody);
+        // 发送通知
+        return sendNotification(tenantId, template.getNotificationType(), recipientInfo, 
+                              notificationContent, resolveChannel(template), templateId, null);
+    }
+    
+    /**
+     * 使用模板批量发送通知
+     * 公共变量只解析一次，接收者并行渲染后按批写入通知即返回批量发送ID；
+     * 按渠道分批发送与按批回写结果在发送线程上异步完成，进度通过 {@link #getBulkSendResult} 查询。
+     * 通知写入时带发送租约，节点重启或发送任务未执行导致租约到期仍待发送的通知由 {@link NotificationRecoveryService} 重新发送。
+     * 不在一个长事务中完成，每批写入各自一个短事务，发送过程不占用事务
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkSendResult sendBulkNotificationWithTemplate(String tenantId, BulkSendCommand command) {
+        ValidationUtils.notBlank(tenantId, "租户ID不能为空");
+        ValidationUtils.notNull(command, "批量发送命令不能为空");
+        ValidationUtils.notNull(command.getTemplateId(), "模板ID不能为空");
+        List<BulkSendCommand.Recipient> recipients = command.getRecipients();
+        if (recipients == null || recipients.isEmpty()) {
+            throw new BizException("BULK_RECIPIENTS_EMPTY", "接收者列表不能为空");
+        }
+        if (recipients.size() > maxBulkRecipients) {
+            throw new BizException("BULK_RECIPIENTS_TOO_MANY", "单次批量发送的接收者不能超过" + maxBulkRecipients + "个");
+        }
+        for (int i = 0; i < recipients.size(); i++) {
+            BulkSendCommand.Recipient recipient = recipients.get(i);
+            if (recipient == null || recipient.getRecipientInfo() == null || recipient.getRecipientInfo().isBlank()) {
+                throw new BizException("BULK_RECIPIENT_INVALID", "第" + (i + 1) + "个接收者信息不能为空");
+            }
+        }
+        
+        // 获取模板
+        Long templateId = command.getTemplateId();
+        NotificationTemplate template = templateRepository.findByTemplateIdAndTenantId(templateId, tenantId)
+                .orElseThrow(() -> new BizException("TEMPLATE_NOT_FOUND", "模板不存在"));
+        Notification.NotificationChannel defaultChannel = resolveChannel(template);
+        JsonNode sharedVariables = templateEngine.parseVariables(command.getVariables());
+        String bulkId = UUID.randomUUID().toString();
+        Instant leaseUntil = Instant.now().plusMillis(bulkLeaseMs);
+        
+        // 并行渲染
+        Function<BulkSendCommand.Recipient, Notification> render = recipient -> {
+            JsonNode variables = templateEngine.parseVariables(recipient.getVariables(), sharedVariables);
+            Notification notification = new Notification(tenantId, template.getNotificationType(),
+                    recipient.getRecipientInfo(), templateEngine.renderContent(template, variables),
+                    recipient.getChannel() != null ? recipient.getChannel() : defaultChannel);
+            notification.setTemplateId(templateId);
+            notification.setBulkId(bulkId);
+            notification.setLeaseUntil(leaseUntil);
+            if (command.getPriority() != null) {
+                notification.setPriority(command.getPriority());
+            }
+            return notification;
+        };
+        List<Notification> notifications = fanoutExecutor != null
+                ? fanoutExecutor.renderAll(recipients, render)
+                : recipients.stream().map(render).toList();
+        
+        // 按批写入后异步发送
+        batchRepository.insertAll(notifications);
+        if (fanoutExecutor != null) {
+            fanoutExecutor.dispatch(() -> deliverBulk(bulkId, notifications))
+                    .exceptionally(e -> {
+                        logger.warn("批量通知发送任务提交失败，租约到期后由恢复任务发送 - BulkId: {}", bulkId, e);
+                        return null;
+                    });
+        } else {
+            deliverBulk(bulkId, notifications);
+        }
         
-        // 确定渠道（从模板的channels中取第一个）
+        BulkSendResult result = new BulkSendResult();
+        result.setBulkId(bulkId);
+        result.setTemplateId(templateId);
+        result.setTotalCount(notifications.size());
+        result.setPendingCount(notifications.size());
+        logger.info("批量通知已受理 - BulkId: {}, TemplateId: {}, Total: {}", bulkId, templateId, notifications.size());
+        return result;
+    }
+    
+    /**
+     * 查询批量发送进度
+     */
+    @Transactional(readOnly = true)
+    public Optional<BulkSendResult> getBulkSendResult(String tenantId, String bulkId) {
+        ValidationUtils.notBlank(tenantId, "租户ID不能为空");
+        ValidationUtils.notBlank(bulkId, "批量发送ID不能为空");
+        Map<Notification.NotificationStatus, Long> counts = batchRepository.countByBulkId(tenantId, bulkId);
+        if (counts.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        BulkSendResult result = new BulkSendResult();
+        result.setBulkId(bulkId);
+        result.setTotalCount((int) counts.values().stream().mapToLong(Long::longValue).sum());
+        result.setPendingCount(counts.getOrDefault(Notification.NotificationStatus.PENDING, 0L).intValue());
+        result.setSentCount(counts.getOrDefault(Notification.NotificationStatus.SENT, 0L).intValue());
+        result.setFailedCount(counts.getOrDefault(Notification.NotificationStatus.FAILED, 0L).intValue());
+        return Optional.of(result);
+    }
+    
+    /**
+     * 发送一批已写入的待发送通知并按批回写结果，供批量发送与恢复任务使用
+     * 发送过程抛出异常时整批标记为失败；回写结果失败时异常抛给调用方，通知保持待发送，租约到期后由恢复任务重新发送
+     * @return 发送成功数
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int deliverPending(List<Notification> notifications) {
+        boolean[] results;
+        String failure = "发送失败";
+        try {
+            results = notificationSender.sendBatch(notifications);
+        } catch (Exception e) {
+            logger.error("批量通知发送异常，整批标记为失败 - Count: {}", notifications.size(), e);
+            results = new boolean[notifications.size()];
+            failure = "发送异常: " + e.getMessage();
+        }
+        int sentCount = 0;
+        for (int i = 0; i < notifications.size(); i++) {
+            if (i < results.length && results[i]) {
+                notifications.get(i).markAsSent();
+                sentCount++;
+            } else {
+                notifications.get(i).markAsFailed(failure);
+            }
+        }
+        batchRepository.updateStatuses(notifications);
+        return sentCount;
+    }
+    
+    /**
+     * 在发送线程上发送一次批量发送的通知；回写失败时通知保持待发送，由恢复任务在租约到期后重新发送
+     */
+    private void deliverBulk(String bulkId, List<Notification> notifications) {
+        long startedAt = System.currentTimeMillis();
+        try {
+            int sentCount = deliverPending(notifications);
+            logger.info("批量通知发送完成 - BulkId: {}, Total: {}, Sent: {}, Failed: {}, Duration: {}ms",
+                    bulkId, notifications.size(), sentCount, notifications.size() - sentCount,
+                    System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            logger.error("批量通知回写发送结果失败，租约到期后由恢复任务重新发送 - BulkId: {}, Total: {}",
+                    bulkId, notifications.size(), e);
+        }
+    }
+    
+    /**
+     * 确定模板的渠道（从模板的channels中取第一个）
+     */
+    private Notification.NotificationChannel resolveChannel(NotificationTemplate template) {
         Notification.NotificationChannel channel = Notification.NotificationChannel.EMAIL; // 默认
         if (template.getChannels() != null && !template.getChannels().isEmpty()) {
             String[] channelArray = template.getChannels().split(",");
@@ -123,10 +287,7 @@ public class NotificationApplicationService {
                 }
             }
         }
-        
-        // 发送通知
-        return sendNotification(tenantId, template.getNotificationType(), recipientInfo, 
-                              notificationContent, channel, templateId, null);
+        return channel;
     }
     
     /**
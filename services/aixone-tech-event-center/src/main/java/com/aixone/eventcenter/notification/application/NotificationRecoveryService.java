@@ -0,0 +1,96 @@
+package com.aixone.eventcenter.notification.application;
+
+import com.aixone.eventcenter.notification.domain.Notification;
+import com.aixone.eventcenter.notification.domain.NotificationBatchRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 批量通知恢复服务
+ * 批量发送在写入通知后异步发送，节点重启、发送任务未能提交或回写结果失败时通知会停留在待发送状态；
+ * 本服务定期认领发送租约已到期仍待发送的批量通知并重新发送：
+ * - 每批最多认领 batch-size 条，通过租约保证多节点部署时同一通知只被一个节点重新发送
+ * - 同一批发送并回写结果后再认领下一批，内存中最多只有一批通知
+ * 通知至少发送一次：原发送任务在租约到期后才回写结果时可能重复发送，租约时长应大于一次批量发送的最长耗时
+ */
+@Service
+public class NotificationRecoveryService {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRecoveryService.class);
+
+    @Autowired
+    private NotificationBatchRepository batchRepository;
+
+    @Autowired
+    private NotificationApplicationService notificationApplicationService;
+
+    @Value("${event-center.notification.bulk.recovery-batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${event-center.notification.bulk.recovery-max-batches-per-run:20}")
+    private int maxBatchesPerRun = 20;
+
+    @Value("${event-center.notification.bulk.lease-ms:600000}")
+    private long leaseMs = 600_000;
+
+    @Value("${event-center.notification.bulk.node-id:}")
+    private String nodeId;
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = defaultNodeId();
+        }
+        if (nodeId.length() > 60) {
+            nodeId = nodeId.substring(0, 60);
+        }
+    }
+
+    /**
+     * 定期重新发送租约已到期的待发送批量通知
+     * 默认每分钟执行一次，每次最多处理 max-batches-per-run 批
+     */
+    @Scheduled(fixedDelayString = "${event-center.notification.bulk.recovery-interval-ms:60000}")
+    public void recoverStalePending() {
+        int processed = 0;
+        try {
+            for (int round = 0; round < maxBatchesPerRun; round++) {
+                Instant now = Instant.now();
+                List<Notification> claimed = batchRepository.claimStalePending(
+                        nodeId + ":" + UUID.randomUUID(), batchSize, now, now.plusMillis(leaseMs));
+                if (claimed.isEmpty()) {
+                    break;
+                }
+                int sentCount = notificationApplicationService.deliverPending(claimed);
+                logger.info("重新发送待发送的批量通知 - Node: {}, Count: {}, Sent: {}", nodeId, claimed.size(), sentCount);
+                processed += claimed.size();
+            }
+
+            if (processed > 0) {
+                logger.info("批量通知恢复完成 - Node: {}, 处理了 {} 条通知", nodeId, processed);
+            }
+
+        } catch (Exception e) {
+            logger.error("批量通知恢复服务执行失败", e);
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "event-center";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
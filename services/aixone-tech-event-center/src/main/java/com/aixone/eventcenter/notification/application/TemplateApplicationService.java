@@ -5,6 +5,8 @@ import com.aixone.common.util.ValidationUtils;
 import com.aixone.eventcenter.notification.domain.Notification;
 import com.aixone.eventcenter.notification.domain.NotificationTemplate;
 import com.aixone.eventcenter.notification.domain.NotificationTemplateRepository;
+import com.aixone.eventcenter.notification.infrastructure.EscapeMode;
+import com.aixone.eventcenter.notification.infrastructure.TemplateEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +28,9 @@ public class TemplateApplicationService {
     @Autowired
     private NotificationTemplateRepository templateRepository;
     
+    @Autowired
+    private TemplateEngine templateEngine;
+    
     /**
      * 创建模板
      */
@@ -74,7 +79,9 @@ public class TemplateApplicationService {
             template.updateVariables(variables);
         }
         
-        return templateRepository.save(template);
+        NotificationTemplate saved = templateRepository.save(template);
+        templateEngine.evict(templateId);
+        return saved;
     }
     
     /**
@@ -88,6 +95,7 @@ public class TemplateApplicationService {
                 .orElseThrow(() -> new BizException("TEMPLATE_NOT_FOUND", "模板不存在"));
         
         templateRepository.delete(template);
+        templateEngine.evict(templateId);
     }
     
     /**
@@ -141,10 +149,8 @@ public class TemplateApplicationService {
         NotificationTemplate template = templateRepository.findByTemplateIdAndTenantId(templateId, tenantId)
                 .orElseThrow(() -> new BizException("TEMPLATE_NOT_FOUND", "模板不存在"));
         
-        // 使用模板引擎渲染
-        com.aixone.eventcenter.notification.infrastructure.TemplateEngine templateEngine = 
-                new com.aixone.eventcenter.notification.infrastructure.TemplateEngine();
-        return templateEngine.render(template.getBodyTemplate(), variables);
+        // 使用缓存的编译结果渲染
+        return templateEngine.renderBody(template, templateEngine.parseVariables(variables), EscapeMode.PLAIN);
     }
     
     /**
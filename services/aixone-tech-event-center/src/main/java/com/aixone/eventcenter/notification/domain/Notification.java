@@ -58,6 +58,21 @@ public class Notification extends com.aixone.common.ddd.Entity<Long> {
     @Column(name = "error_message", length = 1000)
     private String errorMessage;
     
+    @Column(name = "bulk_id", length = 64)
+    private String bulkId;
+    
+    /**
+     * 恢复任务租约持有者，认领通知的节点令牌
+     */
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+    
+    /**
+     * 发送租约到期时间，到期后仍待发送的批量通知可被恢复任务认领
+     */
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+    
     /**
      * 默认构造函数
      */
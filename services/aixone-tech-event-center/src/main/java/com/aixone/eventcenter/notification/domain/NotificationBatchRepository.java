@@ -0,0 +1,38 @@
+package com.aixone.eventcenter.notification.domain;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 通知批量写入仓储接口
+ * 批量发送时按批写入通知及其发送结果，不逐条保存
+ */
+public interface NotificationBatchRepository {
+
+    /**
+     * 批量新增通知，并回填通知ID
+     */
+    void insertAll(List<Notification> notifications);
+
+    /**
+     * 批量回写通知的状态、发送时间与失败原因
+     */
+    void updateStatuses(List<Notification> notifications);
+
+    /**
+     * 认领一批租约已到期仍待发送的批量通知
+     * 先按写入顺序查候选ID，再以条件更新写入租约，多个节点并发认领时每条通知只会被一个节点认领
+     * @param leaseOwner 本次认领的租约令牌
+     * @param limit 本批最多认领条数
+     * @param now 当前时间，租约早于该时间的通知可被认领
+     * @param leaseUntil 新租约的到期时间
+     * @return 本次认领到的通知，按写入顺序排序
+     */
+    List<Notification> claimStalePending(String leaseOwner, int limit, Instant now, Instant leaseUntil);
+
+    /**
+     * 按状态统计一次批量发送的通知数，没有该批量发送时返回空映射
+     */
+    Map<Notification.NotificationStatus, Long> countByBulkId(String tenantId, String bulkId);
+}
@@ -0,0 +1,113 @@
+package com.aixone.eventcenter.notification.infrastructure;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 编译后的模板
+ * 由文本段与变量段组成，渲染时按顺序一次追加到预分配容量的结果中；
+ * 变量不存在时保留原始占位符。实例不可变，可在线程间共享
+ */
+public final class CompiledTemplate {
+
+    /** 每个变量的预估长度，用于首次渲染时预分配容量 */
+    private static final int ESTIMATED_VARIABLE_LENGTH = 16;
+
+    private final Segment[] segments;
+    private final List<String> variableNames;
+    private final int estimatedLength;
+
+    /** 最近一次渲染结果的长度，作为下次渲染的容量提示 */
+    private volatile int lastLength;
+
+    CompiledTemplate(List<Segment> segments) {
+        this.segments = segments.toArray(new Segment[0]);
+        List<String> names = new ArrayList<>();
+        int length = 0;
+        for (Segment segment : this.segments) {
+            if (segment.isVariable()) {
+                if (!names.contains(segment.variable())) {
+                    names.add(segment.variable());
+                }
+                length += ESTIMATED_VARIABLE_LENGTH;
+            } else {
+                length += segment.text().length();
+            }
+        }
+        this.variableNames = Collections.unmodifiableList(names);
+        this.estimatedLength = length;
+    }
+
+    /**
+     * 渲染模板
+     * @param variables 已解析的变量对象，为 null 时保留全部占位符
+     * @param mode 变量值的转义模式
+     * @return 渲染后的内容
+     */
+    public String render(JsonNode variables, EscapeMode mode) {
+        StringBuilder out = new StringBuilder(Math.max(estimatedLength, lastLength));
+        renderTo(out, variables, mode);
+        lastLength = out.length();
+        return out.toString();
+    }
+
+    /**
+     * 渲染模板并追加到指定结果中
+     */
+    public void renderTo(StringBuilder out, JsonNode variables, EscapeMode mode) {
+        for (Segment segment : segments) {
+            if (!segment.isVariable()) {
+                out.append(segment.text());
+                continue;
+            }
+            JsonNode value = variables != null ? variables.get(segment.variable()) : null;
+            if (value != null) {
+                mode.append(out, value.isTextual() ? value.asText() : value.toString());
+            } else {
+                // 变量不存在，保留原样
+                mode.append(out, segment.text());
+            }
+        }
+    }
+
+    /**
+     * 模板引用的变量名，按首次出现顺序
+     */
+    public List<String> getVariableNames() {
+        return variableNames;
+    }
+
+    /**
+     * 模板是否不含变量
+     */
+    public boolean isConstant() {
+        return variableNames.isEmpty();
+    }
+
+    int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * 模板段
+     * @param text 文本段为输出文本，变量段为原始占位符
+     * @param variable 变量名，文本段为 null
+     */
+    record Segment(String text, String variable) {
+
+        static Segment ofText(String text) {
+            return new Segment(text, null);
+        }
+
+        static Segment ofVariable(String placeholder, String name) {
+            return new Segment(placeholder, name);
+        }
+
+        boolean isVariable() {
+            return variable != null;
+        }
+    }
+}
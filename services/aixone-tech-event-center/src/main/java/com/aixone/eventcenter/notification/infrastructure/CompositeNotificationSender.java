@@ -2,17 +2,23 @@ package com.aixone.eventcenter.notification.infrastructure;
 
 import com.aixone.eventcenter.notification.domain.Notification;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import jakarta.annotation.PostConstruct;
 
 /**
  * 组合通知发送器
- * 根据通知渠道选择合适的发送器
+ * 根据通知渠道选择合适的发送器；批量发送时按渠道分组、按批次大小拆分，
+ * 各批次在批量通知执行器的渠道并发与速率上限内发送
  */
 @Service
 public class CompositeNotificationSender implements NotificationSender {
@@ -29,22 +35,35 @@ public class CompositeNotificationSender implements NotificationSender {
     @Autowired(required = false)
     private PushNotificationSender pushNotificationSender;
     
+    @Autowired(required = false)
+    private NotificationFanoutExecutor fanoutExecutor;
+    
+    @Value("${event-center.notification.bulk.batch-size:500}")
+    private int batchSize = 500;
+    
     /**
      * 初始化发送器映射
      */
     @PostConstruct
     public void initSenders() {
         if (emailNotificationSender != null) {
-            senders.put(Notification.NotificationChannel.EMAIL, emailNotificationSender);
+            registerSender(Notification.NotificationChannel.EMAIL, emailNotificationSender);
         }
         if (smsNotificationSender != null) {
-            senders.put(Notification.NotificationChannel.SMS, smsNotificationSender);
+            registerSender(Notification.NotificationChannel.SMS, smsNotificationSender);
         }
         if (pushNotificationSender != null) {
-            senders.put(Notification.NotificationChannel.PUSH, pushNotificationSender);
+            registerSender(Notification.NotificationChannel.PUSH, pushNotificationSender);
         }
     }
     
+    /**
+     * 注册渠道的发送器
+     */
+    void registerSender(Notification.NotificationChannel channel, NotificationSender sender) {
+        senders.put(channel, sender);
+    }
+    
     @Override
     public boolean send(Notification notification) {
         
@@ -63,5 +82,77 @@ public class CompositeNotificationSender implements NotificationSender {
             return false;
         }
     }
+    
+    /**
+     * 批量发送通知：按渠道分组后每批最多 batch-size 条调用渠道发送器的批量接口，
+     * 配置了批量通知执行器时各批次并行发送，否则在调用线程上依次发送
+     * @return 每条通知是否发送成功，顺序与入参一致；没有发送器的渠道全部失败
+     */
+    @Override
+    public boolean[] sendBatch(List<Notification> notifications) {
+        boolean[] results = new boolean[notifications.size()];
+        Map<Notification.NotificationChannel, List<Integer>> byChannel = new EnumMap<>(Notification.NotificationChannel.class);
+        int unrouted = 0;
+        for (int i = 0; i < results.length; i++) {
+            Notification.NotificationChannel channel = notifications.get(i).getChannel();
+            if (channel == null || !senders.containsKey(channel)) {
+                unrouted++;
+                continue;
+            }
+            byChannel.computeIfAbsent(channel, key -> new ArrayList<>()).add(i);
+        }
+        if (unrouted > 0) {
+            logger.warn("部分通知未找到渠道的发送器，发送失败 - Count: {}", unrouted);
+        }
+        
+        int size = Math.max(1, batchSize);
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (Map.Entry<Notification.NotificationChannel, List<Integer>> entry : byChannel.entrySet()) {
+            Notification.NotificationChannel channel = entry.getKey();
+            NotificationSender sender = senders.get(channel);
+            List<Integer> indexes = entry.getValue();
+            for (int from = 0; from < indexes.size(); from += size) {
+                List<Integer> batchIndexes = indexes.subList(from, Math.min(indexes.size(), from + size));
+                List<Notification> batch = new ArrayList<>(batchIndexes.size());
+                for (int index : batchIndexes) {
+                    batch.add(notifications.get(index));
+                }
+                CompletableFuture<boolean[]> sent = fanoutExecutor != null
+                        ? fanoutExecutor.submit(channel, batch, items -> sendBatchSafely(sender, channel, items))
+                        : CompletableFuture.completedFuture(sendBatchSafely(sender, channel, batch));
+                pending.add(sent.handle((batchResults, error) -> {
+                    if (error != null) {
+                        logger.error("通知批次发送异常 - Channel: {}, Count: {}, Error: {}", 
+                                channel, batch.size(), error.getMessage());
+                        return null;
+                    }
+                    for (int i = 0; i < batchIndexes.size(); i++) {
+                        results[batchIndexes.get(i)] = batchResults[i];
+                    }
+                    return null;
+                }));
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        return results;
+    }
+    
+    /**
+     * 调用渠道发送器的批量接口，异常或结果数量不符时整批按失败处理
+     */
+    private boolean[] sendBatchSafely(NotificationSender sender, Notification.NotificationChannel channel,
+                                      List<Notification> batch) {
+        try {
+            boolean[] batchResults = sender.sendBatch(batch);
+            if (batchResults == null || batchResults.length != batch.size()) {
+                logger.error("通知批次发送结果数量不符 - Channel: {}, Count: {}", channel, batch.size());
+                return new boolean[batch.size()];
+            }
+            return batchResults;
+        } catch (Exception e) {
+            logger.error("通知批次发送异常 - Channel: {}, Count: {}, Error: {}", 
+                    channel, batch.size(), e.getMessage(), e);
+            return new boolean[batch.size()];
+        }
+    }
 }
-
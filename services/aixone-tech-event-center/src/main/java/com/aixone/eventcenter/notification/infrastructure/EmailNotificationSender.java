@@ -7,10 +7,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 邮件通知发送器
  */
@@ -34,31 +39,15 @@ public class EmailNotificationSender implements NotificationSender {
         }
         
         try {
-            // 解析接收者信息
-            JsonNode recipientInfo = objectMapper.readTree(notification.getRecipientInfo());
-            String toEmail = recipientInfo.has("email") ? recipientInfo.get("email").asText() : null;
-            
-            if (toEmail == null || toEmail.isEmpty()) {
-                logger.warn("邮件地址为空，发送失败 - NotificationId: {}", notification.getNotificationId());
+            SimpleMailMessage message = toMessage(notification);
+            if (message == null) {
                 return false;
             }
             
-            // 解析通知内容
-            JsonNode content = objectMapper.readTree(notification.getNotificationContent());
-            String subject = content.has("subject") ? content.get("subject").asText() : "通知";
-            String body = content.has("body") ? content.get("body").asText() : "";
-            
-            // 创建邮件消息
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject(subject);
-            message.setText(body);
-            
             // 发送邮件
             mailSender.send(message);
             
-            logger.info("邮件发送成功 - NotificationId: {}, To: {}", notification.getNotificationId(), toEmail);
+            logger.info("邮件发送成功 - NotificationId: {}, To: {}", notification.getNotificationId(), message.getTo()[0]);
             return true;
             
         } catch (Exception e) {
@@ -67,5 +56,82 @@ public class EmailNotificationSender implements NotificationSender {
             return false;
         }
     }
+    
+    /**
+     * 批量发送邮件，一批邮件共用一次邮件服务器连接；部分邮件失败时只标记失败的邮件
+     */
+    @Override
+    public boolean[] sendBatch(List<Notification> notifications) {
+        boolean[] results = new boolean[notifications.size()];
+        if (mailSender == null) {
+            logger.warn("JavaMailSender未配置，邮件批量发送失败 - Count: {}", notifications.size());
+            return results;
+        }
+        
+        SimpleMailMessage[] messages = new SimpleMailMessage[notifications.size()];
+        List<SimpleMailMessage> valid = new ArrayList<>(notifications.size());
+        for (int i = 0; i < messages.length; i++) {
+            try {
+                messages[i] = toMessage(notifications.get(i));
+            } catch (Exception e) {
+                logger.error("邮件内容解析失败 - NotificationId: {}, Error: {}", 
+                        notifications.get(i).getNotificationId(), e.getMessage());
+            }
+            if (messages[i] != null) {
+                valid.add(messages[i]);
+            }
+        }
+        if (valid.isEmpty()) {
+            return results;
+        }
+        
+        Map<Object, Exception> failed = Map.of();
+        try {
+            mailSender.send(valid.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                logger.error("邮件批量发送失败 - Count: {}, Error: {}", valid.size(), e.getMessage(), e);
+                return results;
+            }
+            failed = e.getFailedMessages();
+            logger.error("邮件批量发送部分失败 - Count: {}, Failed: {}", valid.size(), failed.size());
+        } catch (Exception e) {
+            logger.error("邮件批量发送失败 - Count: {}, Error: {}", valid.size(), e.getMessage(), e);
+            return results;
+        }
+        for (int i = 0; i < messages.length; i++) {
+            results[i] = messages[i] != null && !failed.containsKey(messages[i]);
+        }
+        logger.info("邮件批量发送完成 - Count: {}, Failed: {}", notifications.size(), 
+                notifications.size() - valid.size() + failed.size());
+        return results;
+    }
+    
+    /**
+     * 构建邮件消息
+     * @return 邮件消息，邮件地址为空时返回 null
+     */
+    private SimpleMailMessage toMessage(Notification notification) throws Exception {
+        // 解析接收者信息
+        JsonNode recipientInfo = objectMapper.readTree(notification.getRecipientInfo());
+        String toEmail = recipientInfo.has("email") ? recipientInfo.get("email").asText() : null;
+        
+        if (toEmail == null || toEmail.isEmpty()) {
+            logger.warn("邮件地址为空，发送失败 - NotificationId: {}", notification.getNotificationId());
+            return null;
+        }
+        
+        // 解析通知内容
+        JsonNode content = objectMapper.readTree(notification.getNotificationContent());
+        String subject = content.has("subject") ? content.get("subject").asText() : "通知";
+        String body = content.has("body") ? content.get("body").asText() : "";
+        
+        // 创建邮件消息
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(toEmail);
+        message.setSubject(subject);
+        message.setText(body);
+        return message;
+    }
 }
-
@@ -0,0 +1,75 @@
+package com.aixone.eventcenter.notification.infrastructure;
+
+/**
+ * 模板变量转义模式
+ * 渲染时变量值按模式转义后写入结果，模板本身的文本不做转义
+ */
+public enum EscapeMode {
+    /** 原样输出 */
+    PLAIN,
+    /** HTML文本与属性值转义：&amp; &lt; &gt; &quot; &#39; */
+    HTML,
+    /** JSON字符串内容转义，不含两侧引号 */
+    JSON;
+
+    /**
+     * 转义后追加到结果
+     */
+    public void append(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        if (this == PLAIN) {
+            out.append(value);
+            return;
+        }
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            String replacement = replacement(value.charAt(i));
+            if (replacement != null) {
+                out.append(value, start, i).append(replacement);
+                start = i + 1;
+            }
+        }
+        out.append(value, start, length);
+    }
+
+    /**
+     * 转义字符串
+     */
+    public String escape(String value) {
+        if (value == null || this == PLAIN) {
+            return value;
+        }
+        StringBuilder out = new StringBuilder(value.length() + 16);
+        append(out, value);
+        return out.toString();
+    }
+
+    private String replacement(char c) {
+        if (this == HTML) {
+            switch (c) {
+                case '&': return "&amp;";
+                case '<': return "&lt;";
+                case '>': return "&gt;";
+                case '"': return "&quot;";
+                case '\'': return "&#39;";
+                default: return null;
+            }
+        }
+        switch (c) {
+            case '"': return "\\\"";
+            case '\\': return "\\\\";
+            case '\n': return "\\n";
+            case '\r': return "\\r";
+            case '\t': return "\\t";
+            case '\b': return "\\b";
+            case '\f': return "\\f";
+            case '\u2028': return "\\u2028";
+            case '\u2029': return "\\u2029";
+            default:
+                return c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.aixone.eventcenter.notification.infrastructure;
+
+import com.aixone.eventcenter.notification.domain.Notification;
+import com.aixone.eventcenter.notification.domain.NotificationBatchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JDBC通知批量写入仓储实现
+ * 每批最多 batch-size 条，一次JDBC批量执行完成写入，每个方法一个短事务；
+ * 租约到期仍待发送的批量通知按条件更新认领，供恢复任务重新发送
+ */
+@Repository
+@Transactional
+public class JdbcNotificationBatchRepository implements NotificationBatchRepository {
+
+    /** 失败原因列的长度上限 */
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:}")
+    private String schema;
+
+    @Value("${event-center.notification.bulk.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void insertAll(List<Notification> notifications) {
+        String sql = "INSERT INTO " + table() + " (tenant_id, notification_type, recipient_info, notification_content,"
+                + " status, priority, channel, template_id, created_at, sent_at, error_message, bulk_id, lease_owner,"
+                + " lease_until) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        forEachBatch(notifications, batch -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[]{"notification_id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Notification notification = batch.get(i);
+                            ps.setString(1, notification.getTenantId());
+                            ps.setString(2, name(notification.getNotificationType()));
+                            // JSONB 列按未指定类型绑定，由数据库转换
+                            ps.setObject(3, notification.getRecipientInfo(), Types.OTHER);
+                            ps.setObject(4, notification.getNotificationContent(), Types.OTHER);
+                            ps.setString(5, name(notification.getStatus()));
+                            ps.setString(6, name(notification.getPriority()));
+                            ps.setString(7, name(notification.getChannel()));
+                            ps.setObject(8, notification.getTemplateId(), Types.BIGINT);
+                            ps.setTimestamp(9, timestamp(notification.getCreatedAt()));
+                            ps.setTimestamp(10, timestamp(notification.getSentAt()));
+                            ps.setString(11, truncate(notification.getErrorMessage()));
+                            ps.setString(12, notification.getBulkId());
+                            ps.setString(13, notification.getLeaseOwner());
+                            ps.setTimestamp(14, timestamp(notification.getLeaseUntil()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keyHolder);
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < batch.size(); i++) {
+                Object key = keys.get(i).values().iterator().next();
+                batch.get(i).setNotificationId(((Number) key).longValue());
+            }
+        });
+    }
+
+    @Override
+    public void updateStatuses(List<Notification> notifications) {
+        String sql = "UPDATE " + table() + " SET status = ?, sent_at = ?, error_message = ? WHERE notification_id = ?";
+        forEachBatch(notifications, batch -> jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Notification notification = batch.get(i);
+                ps.setString(1, name(notification.getStatus()));
+                ps.setTimestamp(2, timestamp(notification.getSentAt()));
+                ps.setString(3, truncate(notification.getErrorMessage()));
+                ps.setLong(4, notification.getNotificationId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        }));
+    }
+
+    @Override
+    public List<Notification> claimStalePending(String leaseOwner, int limit, Instant now, Instant leaseUntil) {
+        String stale = " AND status = 'PENDING' AND bulk_id IS NOT NULL AND (lease_until IS NULL OR lease_until < ?)";
+        List<Long> candidateIds = jdbcTemplate.queryForList("SELECT notification_id FROM " + table()
+                + " WHERE 1 = 1" + stale + " ORDER BY notification_id LIMIT ?", Long.class, timestamp(now), limit);
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(candidateIds.size() + 3);
+        args.add(leaseOwner);
+        args.add(timestamp(leaseUntil));
+        args.addAll(candidateIds);
+        args.add(timestamp(now));
+        int claimed = jdbcTemplate.update("UPDATE " + table() + " SET lease_owner = ?, lease_until = ?"
+                + " WHERE notification_id IN (" + String.join(", ", Collections.nCopies(candidateIds.size(), "?")) + ")"
+                + stale, args.toArray());
+        if (claimed == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT * FROM " + table() + " WHERE lease_owner = ? AND status = 'PENDING'"
+                + " ORDER BY notification_id", (rs, rowNum) -> mapNotification(rs), leaseOwner);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Notification.NotificationStatus, Long> countByBulkId(String tenantId, String bulkId) {
+        String sql = "SELECT status, COUNT(*) AS total FROM " + table()
+                + " WHERE tenant_id = ? AND bulk_id = ? GROUP BY status";
+        Map<Notification.NotificationStatus, Long> counts = new EnumMap<>(Notification.NotificationStatus.class);
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(Notification.NotificationStatus.valueOf(rs.getString("status")), rs.getLong("total"));
+        }, tenantId, bulkId);
+        return counts;
+    }
+
+    private static Notification mapNotification(ResultSet rs) throws SQLException {
+        Notification notification = new Notification(rs.getString("tenant_id"),
+                Notification.NotificationType.valueOf(rs.getString("notification_type")),
+                rs.getString("recipient_info"), rs.getString("notification_content"),
+                Notification.NotificationChannel.valueOf(rs.getString("channel")));
+        notification.setNotificationId(rs.getLong("notification_id"));
+        notification.setStatus(Notification.NotificationStatus.valueOf(rs.getString("status")));
+        notification.setPriority(Notification.NotificationPriority.valueOf(rs.getString("priority")));
+        notification.setTemplateId(rs.getObject("template_id", Long.class));
+        notification.setCreatedAt(instant(rs.getTimestamp("created_at")));
+        notification.setSentAt(instant(rs.getTimestamp("sent_at")));
+        notification.setErrorMessage(rs.getString("error_message"));
+        notification.setBulkId(rs.getString("bulk_id"));
+        notification.setLeaseOwner(rs.getString("lease_owner"));
+        notification.setLeaseUntil(instant(rs.getTimestamp("lease_until")));
+        return notification;
+    }
+
+    private void forEachBatch(List<Notification> notifications, Consumer<List<Notification>> action) {
+        int size = Math.max(1, batchSize);
+        for (int from = 0; from < notifications.size(); from += size) {
+            action.accept(notifications.subList(from, Math.min(notifications.size(), from + size)));
+        }
+    }
+
+    private String table() {
+        return schema == null || schema.isBlank() ? "notifications" : schema + ".notifications";
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private static String truncate(String errorMessage) {
+        return errorMessage != null && errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH
+                ? errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH) : errorMessage;
+    }
+}
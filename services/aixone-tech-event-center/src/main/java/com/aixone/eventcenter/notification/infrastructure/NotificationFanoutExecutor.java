@@ -0,0 +1,329 @@
+package com.aixone.eventcenter.notification.infrastructure;
+
+import com.aixone.eventcenter.notification.domain.Notification;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 批量通知执行器
+ * 批量发送时在独立、有界的线程上渲染和发送，不使用 JVM 公共线程池：
+ * - 渲染：收件人按段拆分到固定数量的渲染线程上并行渲染，结果保持收件人顺序
+ * - 发送：每个渠道有独立的并发批次上限与发送速率上限（条/秒），一个渠道的慢服务商不占用其他渠道的名额；
+ *   发送批次在虚拟线程上等待名额，未单独配置的渠道使用默认配置
+ * - 异步：批量发送整体在虚拟线程上执行，接口写入通知后即可返回
+ * - 提供每个渠道的发送中批次数、发送条数、失败条数与限速等待时间指标
+ */
+public class NotificationFanoutExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationFanoutExecutor.class);
+
+    /** 每个渲染段的最少收件人数，收件人较少时不拆分 */
+    static final int MIN_RENDER_CHUNK = 256;
+
+    private final Map<Notification.NotificationChannel, ChannelLane> lanes =
+            new EnumMap<>(Notification.NotificationChannel.class);
+    private final int renderThreads;
+    private final ExecutorService renderWorkers;
+    private final ExecutorService sendWorkers;
+
+    public NotificationFanoutExecutor(Map<Notification.NotificationChannel, ChannelSettings> channelSettings,
+                                      ChannelSettings defaultSettings, int renderThreads) {
+        this(channelSettings, defaultSettings, renderThreads, System::nanoTime);
+    }
+
+    NotificationFanoutExecutor(Map<Notification.NotificationChannel, ChannelSettings> channelSettings,
+                               ChannelSettings defaultSettings, int renderThreads, LongSupplier nanoClock) {
+        for (Notification.NotificationChannel channel : Notification.NotificationChannel.values()) {
+            ChannelSettings settings = channelSettings.getOrDefault(channel, defaultSettings);
+            lanes.put(channel, new ChannelLane(channel, settings, nanoClock));
+        }
+        this.renderThreads = Math.max(1, renderThreads);
+        this.renderWorkers = Executors.newFixedThreadPool(this.renderThreads, daemonThreadFactory("notification-render-"));
+        this.sendWorkers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-send-", 1).factory());
+    }
+
+    /**
+     * 并行渲染，结果与输入顺序一致
+     * @param inputs 输入列表
+     * @param renderer 渲染函数，需线程安全
+     * @throws RuntimeException 渲染函数抛出的异常
+     */
+    public <I, O> List<O> renderAll(List<I> inputs, Function<I, O> renderer) {
+        int size = inputs.size();
+        int chunks = Math.min(renderThreads, (size + MIN_RENDER_CHUNK - 1) / MIN_RENDER_CHUNK);
+        if (chunks <= 1) {
+            List<O> results = new ArrayList<>(size);
+            for (I input : inputs) {
+                results.add(renderer.apply(input));
+            }
+            return results;
+        }
+
+        List<I> source = inputs instanceof RandomAccess ? inputs : new ArrayList<>(inputs);
+        Object[] rendered = new Object[size];
+        int chunkSize = (size + chunks - 1) / chunks;
+        List<Future<?>> futures = new ArrayList<>(chunks);
+        for (int from = 0; from < size; from += chunkSize) {
+            int start = from;
+            int end = Math.min(size, from + chunkSize);
+            futures.add(renderWorkers.submit(() -> {
+                for (int i = start; i < end; i++) {
+                    rendered[i] = renderer.apply(source.get(i));
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("批量渲染被中断", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("批量渲染失败: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        List<O> results = new ArrayList<>(size);
+        for (Object value : rendered) {
+            @SuppressWarnings("unchecked")
+            O result = (O) value;
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * 在渠道的并发与速率上限内发送一批通知
+     * @param sender 批量发送函数，返回每条通知是否发送成功
+     * @return 发送结果，执行器已关闭时以 RejectedExecutionException 异常完成
+     */
+    public CompletableFuture<boolean[]> submit(Notification.NotificationChannel channel, List<Notification> batch,
+                                               Function<List<Notification>, boolean[]> sender) {
+        ChannelLane lane = lanes.get(channel);
+        try {
+            return CompletableFuture.supplyAsync(() -> lane.send(batch, sender), sendWorkers);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 在发送线程上异步执行一次批量发送，调用方不等待发送完成
+     * @return 任务结果，执行器已关闭时以 RejectedExecutionException 异常完成
+     */
+    public CompletableFuture<Void> dispatch(Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, sendWorkers);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 渠道中发送中的批次数
+     */
+    public int inFlightCount(Notification.NotificationChannel channel) {
+        return lanes.get(channel).inFlight();
+    }
+
+    /**
+     * 渠道已发送成功的通知数
+     */
+    public long sentCount(Notification.NotificationChannel channel) {
+        return lanes.get(channel).sent.get();
+    }
+
+    /**
+     * 渠道发送失败的通知数
+     */
+    public long failedCount(Notification.NotificationChannel channel) {
+        return lanes.get(channel).failed.get();
+    }
+
+    /**
+     * 渠道因速率上限累计等待的毫秒数
+     */
+    public long throttledMillis(Notification.NotificationChannel channel) {
+        return TimeUnit.NANOSECONDS.toMillis(lanes.get(channel).throttledNanos.get());
+    }
+
+    public ChannelSettings settingsOf(Notification.NotificationChannel channel) {
+        return lanes.get(channel).settings;
+    }
+
+    /**
+     * 注册批量通知指标，按渠道打标签
+     */
+    public void bindMetrics(MeterRegistry meterRegistry) {
+        for (Notification.NotificationChannel channel : Notification.NotificationChannel.values()) {
+            String tag = channel.name().toLowerCase();
+            Gauge.builder("notification.fanout.in_flight", this, executor -> executor.inFlightCount(channel))
+                    .description("发送中的通知批次数")
+                    .tag("channel", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("notification.fanout.sent", this, executor -> executor.sentCount(channel))
+                    .description("批量发送成功的通知数")
+                    .tag("channel", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("notification.fanout.failed", this, executor -> executor.failedCount(channel))
+                    .description("批量发送失败的通知数")
+                    .tag("channel", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("notification.fanout.throttled", this, executor -> executor.throttledMillis(channel))
+                    .description("因发送速率上限累计等待的毫秒数")
+                    .tag("channel", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 关闭执行器，等待名额的批次以中断结束并按发送失败处理
+     */
+    public void shutdown() {
+        renderWorkers.shutdownNow();
+        sendWorkers.shutdownNow();
+    }
+
+    /**
+     * 单个渠道：并发批次上限与发送速率上限
+     */
+    private static final class ChannelLane {
+
+        private final Notification.NotificationChannel channel;
+        private final ChannelSettings settings;
+        private final Semaphore permits;
+        private final RateLimiter rateLimiter;
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong throttledNanos = new AtomicLong();
+
+        ChannelLane(Notification.NotificationChannel channel, ChannelSettings settings, LongSupplier nanoClock) {
+            this.channel = channel;
+            this.settings = settings;
+            this.permits = new Semaphore(Math.max(1, settings.getConcurrency()), true);
+            this.rateLimiter = new RateLimiter(settings.getRatePerSecond(), nanoClock);
+        }
+
+        boolean[] send(List<Notification> batch, Function<List<Notification>, boolean[]> sender) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("通知批次等待发送名额时被中断 - Channel: {}, Count: {}", channel, batch.size());
+                failed.addAndGet(batch.size());
+                return new boolean[batch.size()];
+            }
+            try {
+                long waitNanos = rateLimiter.reserve(batch.size());
+                if (waitNanos > 0) {
+                    throttledNanos.addAndGet(waitNanos);
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+                boolean[] results = sender.apply(batch);
+                int succeeded = 0;
+                for (boolean result : results) {
+                    if (result) {
+                        succeeded++;
+                    }
+                }
+                sent.addAndGet(succeeded);
+                failed.addAndGet(batch.size() - succeeded);
+                return results;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("通知批次等待发送速率名额时被中断 - Channel: {}, Count: {}", channel, batch.size());
+                failed.addAndGet(batch.size());
+                return new boolean[batch.size()];
+            } finally {
+                permits.release();
+            }
+        }
+
+        int inFlight() {
+            return Math.max(1, settings.getConcurrency()) - permits.availablePermits();
+        }
+    }
+
+    /**
+     * 发送速率限制器：按固定间隔发放名额，不累积空闲期的名额
+     */
+    static final class RateLimiter {
+
+        private final long intervalNanos;
+        private final LongSupplier nanoClock;
+        private long nextFreeNanos;
+
+        RateLimiter(double permitsPerSecond, LongSupplier nanoClock) {
+            this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+            this.nanoClock = nanoClock;
+            this.nextFreeNanos = nanoClock.getAsLong();
+        }
+
+        /**
+         * 预占名额
+         * @return 需要等待的纳秒数，未限速时为 0
+         */
+        synchronized long reserve(int count) {
+            if (intervalNanos == 0) {
+                return 0;
+            }
+            long now = nanoClock.getAsLong();
+            long start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + intervalNanos * count;
+            return start - now;
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 渠道配置
+     */
+    @Getter
+    @Builder
+    public static class ChannelSettings {
+
+        /** 同时发送的批次数上限 */
+        @Builder.Default
+        private int concurrency = 4;
+
+        /** 每秒发送的通知数上限，0 表示不限速 */
+        @Builder.Default
+        private double ratePerSecond = 0;
+    }
+}
@@ -2,6 +2,8 @@ package com.aixone.eventcenter.notification.infrastructure;
 
 import com.aixone.eventcenter.notification.domain.Notification;
 
+import java.util.List;
+
 /**
  * 通知发送器接口
  * 定义通知发送的统一接口
@@ -14,5 +16,18 @@ public interface NotificationSender {
      * @return 是否发送成功
      */
     boolean send(Notification notification);
+    
+    /**
+     * 批量发送同一渠道的通知，默认逐条发送
+     * @param notifications 通知列表
+     * @return 每条通知是否发送成功，顺序与入参一致
+     */
+    default boolean[] sendBatch(List<Notification> notifications) {
+        boolean[] results = new boolean[notifications.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = send(notifications.get(i));
+        }
+        return results;
+    }
 }
 
@@ -0,0 +1,95 @@
+package com.aixone.eventcenter.notification.infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 模板编译器
+ * 将 {{variableName}} 格式的模板一次性拆分为文本段与变量段，渲染时不再做正则匹配。
+ * 占位符规则与原正则 \{\{([^}]+)\}\} 一致：变量名非空且不含 }，首尾空白忽略
+ */
+public final class TemplateCompiler {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private TemplateCompiler() {
+    }
+
+    /**
+     * 编译模板
+     */
+    public static CompiledTemplate compile(String source) {
+        List<CompiledTemplate.Segment> segments = new ArrayList<>();
+        appendSegments(segments, source, EscapeMode.PLAIN);
+        return new CompiledTemplate(segments);
+    }
+
+    /**
+     * 将主题与正文模板编译为通知内容JSON {"subject": ..., "body": ...}
+     * 模板文本在编译时完成JSON转义，渲染时变量值需使用 {@link EscapeMode#JSON}；主题为 null 时不输出 subject
+     */
+    public static CompiledTemplate compileContent(String subjectTemplate, String bodyTemplate) {
+        List<CompiledTemplate.Segment> segments = new ArrayList<>();
+        if (subjectTemplate != null) {
+            appendText(segments, "{\"subject\":\"");
+            appendSegments(segments, subjectTemplate, EscapeMode.JSON);
+            appendText(segments, "\",\"body\":\"");
+        } else {
+            appendText(segments, "{\"body\":\"");
+        }
+        appendSegments(segments, bodyTemplate, EscapeMode.JSON);
+        appendText(segments, "\"}");
+        return new CompiledTemplate(segments);
+    }
+
+    /**
+     * 拆分模板并追加到段列表
+     * @param textMode 模板文本的转义模式
+     */
+    private static void appendSegments(List<CompiledTemplate.Segment> segments, String source, EscapeMode textMode) {
+        if (source == null || source.isEmpty()) {
+            return;
+        }
+        int textStart = 0;
+        int from = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, from);
+            if (open < 0) {
+                break;
+            }
+            int nameStart = open + OPEN.length();
+            int nameEnd = source.indexOf('}', nameStart);
+            if (nameEnd < 0) {
+                break;
+            }
+            if (nameEnd == nameStart || !source.startsWith(CLOSE, nameEnd)) {
+                // 不是完整的占位符，从下一个字符继续查找
+                from = open + 1;
+                continue;
+            }
+            int end = nameEnd + CLOSE.length();
+            appendText(segments, textMode.escape(source.substring(textStart, open)));
+            segments.add(CompiledTemplate.Segment.ofVariable(source.substring(open, end),
+                    source.substring(nameStart, nameEnd).trim()));
+            textStart = end;
+            from = end;
+        }
+        appendText(segments, textMode.escape(source.substring(textStart)));
+    }
+
+    /**
+     * 追加文本段，与前一个文本段相邻时合并
+     */
+    private static void appendText(List<CompiledTemplate.Segment> segments, String text) {
+        if (text.isEmpty()) {
+            return;
+        }
+        int last = segments.size() - 1;
+        if (last >= 0 && !segments.get(last).isVariable()) {
+            segments.set(last, CompiledTemplate.Segment.ofText(segments.get(last).text() + text));
+        } else {
+            segments.add(CompiledTemplate.Segment.ofText(text));
+        }
+    }
+}
@@ -1,25 +1,39 @@
 package com.aixone.eventcenter.notification.infrastructure;
 
+import com.aixone.eventcenter.notification.domain.NotificationTemplate;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 模板引擎
- * 负责模板变量的替换和渲染
+ * 负责模板变量的替换和渲染。模板只编译一次：
+ * - 通知模板的编译结果按模板ID缓存，版本变化或调用 {@link #evict(Long)} 后重新编译
+ * - 直接传入的模板文本按文本缓存
+ * 变量JSON由调用方解析一次后可用于多次渲染
  */
 @Component
 public class TemplateEngine {
     private static final Logger logger = LoggerFactory.getLogger(TemplateEngine.class);
-    
+
+    /**
+     * 缓存的编译结果数量上限，超过后清空重建
+     */
+    static final int MAX_CACHED_TEMPLATES = 10_000;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{\\{([^}]+)\\}\\}");
-    
+
+    private final ConcurrentMap<Long, CompiledNotificationTemplate> templateCache = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, CompiledTemplate> sourceCache = new ConcurrentHashMap<>();
+
     /**
      * 渲染模板
      * @param template 模板内容，支持 {{variableName}} 格式的变量
@@ -30,40 +44,141 @@ public class TemplateEngine {
         if (template == null || template.isEmpty()) {
             return template;
         }
-        
+
         if (variablesJson == null || variablesJson.isEmpty()) {
             return template;
         }
-        
+
+        return render(template, parseVariables(variablesJson), EscapeMode.PLAIN);
+    }
+
+    /**
+     * 使用已解析的变量渲染模板
+     * @param variables 变量对象，为 null 时保留全部占位符
+     * @param mode 变量值的转义模式
+     */
+    public String render(String template, JsonNode variables, EscapeMode mode) {
+        if (template == null || template.isEmpty()) {
+            return template;
+        }
+        return compile(template).render(variables, mode);
+    }
+
+    /**
+     * 渲染通知内容JSON {"subject": ..., "body": ...}，主题和正文一次渲染完成
+     * @param variables 已解析的变量对象
+     */
+    public String renderContent(NotificationTemplate template, JsonNode variables) {
+        return compiled(template).content().render(variables, EscapeMode.JSON);
+    }
+
+    /**
+     * 渲染通知模板正文
+     * @param mode 变量值的转义模式
+     */
+    public String renderBody(NotificationTemplate template, JsonNode variables, EscapeMode mode) {
+        return compiled(template).body().render(variables, mode);
+    }
+
+    /**
+     * 解析变量JSON
+     * @return 变量对象，为空或无效时返回 null（渲染时保留全部占位符）
+     */
+    public JsonNode parseVariables(String variablesJson) {
+        if (variablesJson == null || variablesJson.isEmpty()) {
+            return null;
+        }
         try {
-            // 解析变量JSON
-            JsonNode variables = objectMapper.readTree(variablesJson);
-            
-            // 替换模板中的变量
-            StringBuffer result = new StringBuffer();
-            Matcher matcher = VARIABLE_PATTERN.matcher(template);
-            
-            while (matcher.find()) {
-                String variableName = matcher.group(1).trim();
-                JsonNode value = variables.get(variableName);
-                
-                if (value != null) {
-                    String replacement = value.isTextual() ? value.asText() : value.toString();
-                    matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
-                } else {
-                    // 变量不存在，保留原样
-                    logger.warn("模板变量不存在: {}", variableName);
-                    matcher.appendReplacement(result, matcher.group(0));
-                }
-            }
-            matcher.appendTail(result);
-            
-            return result.toString();
-            
+            return objectMapper.readTree(variablesJson);
         } catch (Exception e) {
-            logger.error("模板渲染失败: {}", e.getMessage(), e);
-            return template; // 渲染失败时返回原模板
+            logger.error("模板变量解析失败: {}", e.getMessage(), e);
+            return null;
         }
     }
-}
 
+    /**
+     * 解析变量JSON，并以公共变量补全未提供的变量
+     * @param variablesJson 变量JSON字符串，为空时直接使用公共变量
+     * @param defaults 已解析的公共变量，不会被修改
+     * @return 变量对象，两者都为空时返回 null
+     */
+    public JsonNode parseVariables(String variablesJson, JsonNode defaults) {
+        JsonNode variables = parseVariables(variablesJson);
+        if (variables == null) {
+            return defaults;
+        }
+        if (defaults == null || !defaults.isObject() || !variables.isObject()) {
+            return variables;
+        }
+        ObjectNode merged = (ObjectNode) variables;
+        defaults.fields().forEachRemaining(entry -> {
+            if (!merged.has(entry.getKey())) {
+                merged.set(entry.getKey(), entry.getValue());
+            }
+        });
+        return merged;
+    }
+
+    /**
+     * 编译模板文本，编译结果按文本缓存
+     */
+    public CompiledTemplate compile(String template) {
+        CompiledTemplate cached = sourceCache.get(template);
+        if (cached != null) {
+            return cached;
+        }
+        CompiledTemplate compiled = TemplateCompiler.compile(template);
+        if (sourceCache.size() >= MAX_CACHED_TEMPLATES) {
+            sourceCache.clear();
+        }
+        CompiledTemplate existing = sourceCache.putIfAbsent(template, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    /**
+     * 移除通知模板的编译结果，模板更新或删除后调用
+     */
+    public void evict(Long templateId) {
+        if (templateId != null) {
+            templateCache.remove(templateId);
+        }
+    }
+
+    /**
+     * 已缓存的通知模板数量
+     */
+    public int size() {
+        return templateCache.size();
+    }
+
+    /**
+     * 获取通知模板的编译结果，缓存的版本与模板版本不一致时重新编译；未保存的模板不缓存
+     */
+    private CompiledNotificationTemplate compiled(NotificationTemplate template) {
+        Long templateId = template.getTemplateId();
+        CompiledNotificationTemplate cached = templateId != null ? templateCache.get(templateId) : null;
+        if (cached != null && Objects.equals(cached.version(), template.getVersion())) {
+            return cached;
+        }
+        CompiledNotificationTemplate compiled = new CompiledNotificationTemplate(template.getVersion(),
+                TemplateCompiler.compile(template.getBodyTemplate()),
+                TemplateCompiler.compileContent(template.getSubjectTemplate(), template.getBodyTemplate()));
+        if (templateId != null) {
+            if (templateCache.size() >= MAX_CACHED_TEMPLATES) {
+                templateCache.clear();
+            }
+            templateCache.put(templateId, compiled);
+            logger.debug("通知模板已编译 - TemplateId: {}, Version: {}", templateId, template.getVersion());
+        }
+        return compiled;
+    }
+
+    /**
+     * 通知模板的编译结果
+     * @param version 编译时的模板版本
+     * @param body 正文模板
+     * @param content 通知内容JSON模板
+     */
+    private record CompiledNotificationTemplate(Integer version, CompiledTemplate body, CompiledTemplate content) {
+    }
+}
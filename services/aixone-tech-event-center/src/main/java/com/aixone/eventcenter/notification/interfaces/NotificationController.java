@@ -1,6 +1,8 @@
 package com.aixone.eventcenter.notification.interfaces;
 
 import com.aixone.common.api.ApiResponse;
+import com.aixone.eventcenter.notification.application.BulkSendCommand;
+import com.aixone.eventcenter.notification.application.BulkSendResult;
 import com.aixone.eventcenter.notification.application.NotificationApplicationService;
 import com.aixone.eventcenter.notification.domain.Notification;
 import com.aixone.common.session.SessionContext;
@@ -68,6 +70,36 @@ public class NotificationController {
         return ApiResponse.success(notification);
     }
 
+    /**
+     * 使用模板批量发送通知
+     * 通知写入后即返回批量发送ID，发送异步进行
+     */
+    @PostMapping("/template/bulk")
+    public ApiResponse<BulkSendResult> sendBulkNotificationWithTemplate(@RequestBody BulkSendCommand command) {
+        String tenantId = SessionContext.getTenantId();
+        if (tenantId == null) {
+            return ApiResponse.error(40001, "缺少租户ID");
+        }
+        
+        BulkSendResult result = notificationApplicationService.sendBulkNotificationWithTemplate(tenantId, command);
+        return ApiResponse.success(result);
+    }
+
+    /**
+     * 查询批量发送进度
+     */
+    @GetMapping("/template/bulk/{bulkId}")
+    public ApiResponse<BulkSendResult> getBulkSendResult(@PathVariable String bulkId) {
+        String tenantId = SessionContext.getTenantId();
+        if (tenantId == null) {
+            return ApiResponse.error(40001, "缺少租户ID");
+        }
+        
+        return notificationApplicationService.getBulkSendResult(tenantId, bulkId)
+                .map(ApiResponse::success)
+                .orElseGet(() -> ApiResponse.error(40401, "批量发送不存在"));
+    }
+
     /**
      * 获取当前租户的通知列表
      */
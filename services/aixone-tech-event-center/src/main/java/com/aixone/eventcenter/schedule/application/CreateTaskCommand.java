@@ -29,6 +29,11 @@ public class CreateTaskCommand {
      */
     private String scheduleExpression;
     
+    /**
+     * Cron表达式使用的时区（如 Asia/Shanghai），为空时使用调度中心默认时区
+     */
+    private String timeZone;
+    
     /**
      * 执行微服务名称
      */
@@ -40,6 +40,7 @@ public class TaskApplicationService {
         ValidationUtils.notBlank(command.getExecutorService(), "执行微服务不能为空");
         ValidationUtils.notNull(command.getTaskType(), "任务类型不能为空");
         ValidationUtils.notBlank(command.getScheduleExpression(), "调度表达式不能为空");
+        taskSchedulerService.validateSchedule(command.getTaskType(), command.getScheduleExpression(), command.getTimeZone());
         
         // 检查任务名称是否已存在
         String tenantId = SessionContext.getTenantId();
@@ -64,6 +65,7 @@ public class TaskApplicationService {
         if (command.getTimeoutSeconds() != null) {
             task.setTimeoutSeconds(command.getTimeoutSeconds());
         }
+        task.setTimeZone(command.getTimeZone());
         task.setCreator(SessionContext.getUserId());
         
         // 保存任务
@@ -88,6 +90,12 @@ public class TaskApplicationService {
         Task task = taskRepository.findByIdAndTenantId(taskId, tenantId)
             .orElseThrow(() -> new BizException("TASK_NOT_FOUND", "任务不存在: " + taskId));
         
+        if (command.getScheduleExpression() != null || command.getTimeZone() != null) {
+            taskSchedulerService.validateSchedule(task.getTaskType(),
+                command.getScheduleExpression() != null ? command.getScheduleExpression() : task.getScheduleExpression(),
+                command.getTimeZone() != null ? command.getTimeZone() : task.getTimeZone());
+        }
+        
         // 更新任务属性
         if (command.getDescription() != null) {
             task.setDescription(command.getDescription());
@@ -95,6 +103,9 @@ public class TaskApplicationService {
         if (command.getScheduleExpression() != null) {
             task.setScheduleExpression(command.getScheduleExpression());
         }
+        if (command.getTimeZone() != null) {
+            task.setTimeZone(command.getTimeZone());
+        }
         if (command.getTaskParams() != null) {
             task.setTaskParams(command.getTaskParams());
         }
@@ -0,0 +1,170 @@
+package com.aixone.eventcenter.schedule.application;
+
+import com.aixone.common.session.SessionContext;
+import com.aixone.eventcenter.schedule.domain.TaskLease;
+import com.aixone.eventcenter.schedule.infrastructure.ExecutorNodeRegistry;
+import com.aixone.eventcenter.schedule.infrastructure.TaskLeaseService;
+import com.aixone.eventcenter.schedule.infrastructure.TaskScheduleQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 任务调度分发器
+ * 启动时从任务表恢复调度队列，之后每个时钟周期从内存调度队列取出到期任务并触发：
+ * - 到期任务在所属租户的会话上下文中触发
+ * - 触发失败（如数据库暂不可用）的任务延迟 retry-delay-ms 后再次触发，不会丢出队列
+ * - 多节点部署时各节点都可启用调度引擎，同一次执行通过任务执行租约只由一个节点认领
+ * - 定期回收到期租约：接管失联节点执行中的任务，回收超过截止时间仍未回报结果的执行；
+ *   发现失联节点时重新加载调度队列，接管只在该节点队列中的任务
+ */
+@Component
+public class TaskScheduleDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(TaskScheduleDispatcher.class);
+
+    @Autowired
+    private TaskSchedulerService taskSchedulerService;
+
+    @Autowired
+    private TaskScheduleQueue scheduleQueue;
+
+    @Autowired
+    private TaskLeaseService leaseService;
+
+    @Autowired
+    private ExecutorNodeRegistry nodeRegistry;
+
+    @Autowired(required = false)
+    private Clock clock = Clock.systemUTC();
+
+    @Value("${event-center.schedule.engine.enabled:true}")
+    private boolean enabled;
+
+    @Value("${event-center.schedule.batch-size:500}")
+    private int batchSize;
+
+    @Value("${event-center.schedule.retry-delay-ms:30000}")
+    private long retryDelayMs;
+
+    /**
+     * 应用启动完成后恢复调度队列
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverSchedules() {
+        if (!enabled) {
+            logger.info("任务调度引擎未启用");
+            return;
+        }
+        taskSchedulerService.loadSchedules();
+    }
+
+    /**
+     * 定时触发到期任务
+     */
+    @Scheduled(fixedDelayString = "${event-center.schedule.tick-ms:1000}")
+    public void tick() {
+        if (enabled) {
+            fireDueTasks();
+        }
+    }
+
+    /**
+     * 定时回收到期的执行租约
+     */
+    @Scheduled(fixedDelayString = "${event-center.schedule.executor.sweep-ms:15000}")
+    public void sweep() {
+        if (enabled) {
+            recoverExecutions();
+        }
+    }
+
+    /**
+     * 触发所有已到期的任务
+     * @return 已触发执行的任务数
+     */
+    int fireDueTasks() {
+        Instant now = clock.instant();
+        int limit = Math.max(1, batchSize);
+        int fired = 0;
+        List<TaskScheduleQueue.ScheduledTask> due;
+        do {
+            due = scheduleQueue.pollDue(now, limit);
+            for (TaskScheduleQueue.ScheduledTask task : due) {
+                if (fire(task, now)) {
+                    fired++;
+                }
+            }
+        } while (due.size() == limit);
+        return fired;
+    }
+
+    /**
+     * 回收到期的执行租约
+     * @return 接管或回收的执行数
+     */
+    int recoverExecutions() {
+        List<String> deadNodes = nodeRegistry.detectDeadNodes();
+        if (!deadNodes.isEmpty()) {
+            logger.warn("执行节点失联，重新加载调度队列 - Nodes: {}", deadNodes);
+            taskSchedulerService.loadSchedules();
+        }
+        int recovered = 0;
+        for (TaskLease lease : leaseService.findExpired(clock.instant(), Math.max(1, batchSize))) {
+            boolean done = inTenant(lease.getTenantId(), () -> {
+                try {
+                    return taskSchedulerService.recoverExpiredLease(lease);
+                } catch (Exception e) {
+                    logger.error("回收执行租约失败 - TaskId: {}, Owner: {}, Error: {}",
+                            lease.getTaskId(), lease.getLeaseOwner(), e.getMessage());
+                    return false;
+                }
+            });
+            if (done) {
+                recovered++;
+            }
+        }
+        return recovered;
+    }
+
+    private boolean fire(TaskScheduleQueue.ScheduledTask task, Instant now) {
+        return inTenant(task.getTenantId(), () -> {
+            try {
+                return taskSchedulerService.fireScheduledTask(task.getTaskId(), task.getFireTime());
+            } catch (Exception e) {
+                logger.error("调度任务触发失败，稍后重试 - TaskId: {}, FireTime: {}, Error: {}",
+                        task.getTaskId(), task.getFireTime(), e.getMessage());
+                if (scheduleQueue.get(task.getTaskId()) == null) {
+                    scheduleQueue.schedule(task.getTaskId(), task.getTenantId(), now.plusMillis(retryDelayMs));
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * 在指定租户的会话上下文中执行，结束后还原原有上下文
+     */
+    private boolean inTenant(String tenantId, BooleanSupplier action) {
+        SessionContext.SessionInfo previous = SessionContext.get();
+        SessionContext.set(new SessionContext.SessionInfo(null, tenantId));
+        try {
+            return action.getAsBoolean();
+        } finally {
+            if (previous != null) {
+                SessionContext.set(previous);
+            } else {
+                SessionContext.clear();
+            }
+        }
+    }
+}
@@ -1,21 +1,39 @@
 package com.aixone.eventcenter.schedule.application;
 
+import com.aixone.common.exception.BizException;
 import com.aixone.eventcenter.schedule.domain.*;
+import com.aixone.eventcenter.schedule.infrastructure.CronScheduleCache;
+import com.aixone.eventcenter.schedule.infrastructure.ExecutorNodeRegistry;
+import com.aixone.eventcenter.schedule.infrastructure.TaskLeaseService;
+import com.aixone.eventcenter.schedule.infrastructure.TaskScheduleQueue;
 import com.aixone.common.session.SessionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 任务调度服务
- * 负责任务的调度和执行
+ * 负责任务的调度和执行：
+ * - Cron表达式编译后缓存，按任务时区计算下次执行时间
+ * - 下次执行时间写入任务表用于崩溃恢复，同时放入内存调度队列，到期任务由 TaskScheduleDispatcher 触发
+ * - 触发时从计划执行时间推算下一次，间隔任务按固定频率调度，错过的周期只补执行一次
+ * - 发送执行前认领任务的执行租约：多节点部署时同一计划执行时间只由一个节点执行，上一次执行未结束时跳过本次，
+ *   执行结果回报后释放租约，重复或已回收执行的结果被忽略
  */
 @Service
 public class TaskSchedulerService {
@@ -31,18 +49,81 @@ public class TaskSchedulerService {
     @Autowired
     private KafkaTemplate<String, Object> kafkaTemplate;
     
+    @Autowired
+    private CronScheduleCache cronScheduleCache;
+    
+    @Autowired
+    private TaskScheduleQueue scheduleQueue;
+    
+    @Autowired
+    private TaskLeaseService leaseService;
+    
+    @Autowired
+    private ExecutorNodeRegistry nodeRegistry;
+    
+    @Autowired(required = false)
+    private Clock clock = Clock.systemUTC();
+    
+    @Value("${event-center.schedule.default-time-zone:}")
+    private String defaultTimeZone;
+    
+    @Value("${event-center.schedule.executor.busy-retry-ms:1000}")
+    private long busyRetryMs;
+    
+    /**
+     * 待执行任务列表的最大返回数量
+     */
+    private static final int PENDING_TASKS_LIMIT = 100;
+    
+    /**
+     * 任务未设置超时时间时的默认超时（秒）
+     */
+    private static final int DEFAULT_TIMEOUT_SECONDS = 300;
+    
+    /**
+     * 校验调度表达式和时区
+     * @throws BizException 表达式或时区无效
+     */
+    public void validateSchedule(TaskType taskType, String scheduleExpression, String timeZone) {
+        ScheduleStrategy strategy = new ScheduleStrategy(scheduleExpression, taskType);
+        if (strategy.isCron()) {
+            ZoneId zone = cronScheduleCache.resolveZone(timeZone, defaultZone());
+            cronScheduleCache.compile(strategy.getCronExpression(), zone);
+        } else if (strategy.isInterval()) {
+            long intervalSeconds;
+            try {
+                intervalSeconds = strategy.getIntervalSeconds();
+            } catch (IllegalStateException e) {
+                throw new BizException("INVALID_SCHEDULE_EXPRESSION", e.getMessage());
+            }
+            if (intervalSeconds <= 0) {
+                throw new BizException("INVALID_SCHEDULE_EXPRESSION", "执行间隔必须大于0秒: " + scheduleExpression);
+            }
+        } else if (strategy.isOnce()) {
+            try {
+                strategy.getExecuteTime();
+            } catch (IllegalStateException e) {
+                throw new BizException("INVALID_SCHEDULE_EXPRESSION", e.getMessage());
+            }
+        }
+    }
+    
     /**
      * 调度任务
      */
     public void scheduleTask(Task task) {
         try {
             // 根据任务类型计算下次执行时间
-            Instant nextExecuteTime = calculateNextExecuteTime(task);
-            task.updateExecuteTime(null, nextExecuteTime);
+            Instant nextExecuteTime = calculateNextExecuteTime(task, null, clock.instant());
+            task.updateExecuteTime(task.getLastExecuteTime(), nextExecuteTime);
             taskRepository.save(task);
+            leaseService.ensureLease(task.getTaskId(), task.getTenantId());
+            enqueue(task);
             
             logger.info("任务已调度 - TaskId: {}, TaskName: {}, NextExecuteTime: {}", 
                 task.getTaskId(), task.getTaskName(), nextExecuteTime);
+        } catch (BizException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("任务调度失败 - TaskId: {}, Error: {}", task.getTaskId(), e.getMessage(), e);
             throw new RuntimeException("任务调度失败", e);
@@ -64,7 +145,7 @@ public class TaskSchedulerService {
      */
     public void unscheduleTask(Long taskId) {
         try {
-            // 这里可以添加取消调度的逻辑
+            scheduleQueue.cancel(taskId);
             logger.info("任务调度已取消 - TaskId: {}", taskId);
         } catch (Exception e) {
             logger.error("取消任务调度失败 - TaskId: {}, Error: {}", taskId, e.getMessage(), e);
@@ -73,37 +154,104 @@ public class TaskSchedulerService {
     
     /**
      * 立即执行任务
+     * @throws BizException 本节点已达并发上限，或任务上一次执行尚未结束
      */
     @Transactional
     public void executeTaskImmediately(Task task) {
-        String executorNode = getExecutorNode();
-        
-        // 创建执行记录
-        TaskLog taskLog = new TaskLog(task.getTaskId(), executorNode, Instant.now());
-        taskLogRepository.save(taskLog);
-        
-        // 更新任务状态
-        task.updateStatus(TaskStatus.RUNNING);
-        taskRepository.save(task);
+        Instant now = clock.instant();
+        TaskLeaseService.Claim claim = claimExecution(task, now, now);
+        if (claim == null) {
+            throw new BizException("EXECUTOR_NODE_BUSY", "执行节点已达并发上限: " + nodeRegistry.getNodeId());
+        }
+        if (claim != TaskLeaseService.Claim.ACQUIRED) {
+            throw new BizException("TASK_ALREADY_RUNNING", "任务正在执行中: " + task.getTaskId());
+        }
+        startExecution(task, now);
+    }
+    
+    /**
+     * 触发调度队列中到期的任务
+     * 以任务表中的下次执行时间为准：队列条目早于该时间说明任务已被重新调度，只按新时间重新入队
+     * @param dueAt 队列条目的到期时间
+     * @return 是否已触发执行
+     */
+    @Transactional
+    public boolean fireScheduledTask(Long taskId, Instant dueAt) {
+        Task task = taskRepository.findById(taskId).orElse(null);
+        if (task == null || !isSchedulable(task) || task.getNextExecuteTime() == null) {
+            logger.debug("任务不再需要调度，跳过 - TaskId: {}", taskId);
+            return false;
+        }
+        Instant scheduledTime = task.getNextExecuteTime();
+        if (scheduledTime.isAfter(dueAt)) {
+            enqueue(task);
+            return false;
+        }
         
-        try {
-            // 发送任务到执行微服务
-            sendTaskToExecutor(task, taskLog);
-            
-            logger.info("任务已发送执行 - TaskId: {}, TaskName: {}, ExecutorNode: {}", 
-                task.getTaskId(), task.getTaskName(), executorNode);
-        } catch (Exception e) {
-            logger.error("任务执行失败 - TaskId: {}, Error: {}", task.getTaskId(), e.getMessage(), e);
-            
-            // 更新执行记录
-            taskLog.fail(e.getMessage(), getStackTrace(e), 0L);
-            taskLogRepository.save(taskLog);
-            
-            // 更新任务状态
-            task.updateStatus(TaskStatus.FAILED);
-            task.incrementRetryCount();
+        Instant now = clock.instant();
+        TaskLeaseService.Claim claim = claimExecution(task, scheduledTime, now);
+        if (claim == null) {
+            // 本节点已达并发上限，稍后再试，期间有空闲的节点会先认领
+            scheduleQueue.schedule(taskId, task.getTenantId(), now.plusMillis(busyRetryMs));
+            return false;
+        }
+        Instant nextExecuteTime = calculateNextExecuteTime(task, scheduledTime, now);
+        if (claim == TaskLeaseService.Claim.ALREADY_FIRED) {
+            // 其他节点已触发本次执行，按相同规则推算下一次入队，触发时再以任务表为准
+            if (nextExecuteTime != null) {
+                scheduleQueue.schedule(taskId, task.getTenantId(), nextExecuteTime);
+            } else {
+                scheduleQueue.cancel(taskId);
+            }
+            return false;
+        }
+        if (claim == TaskLeaseService.Claim.HELD) {
+            if (nextExecuteTime == null) {
+                scheduleQueue.schedule(taskId, task.getTenantId(), now.plusMillis(busyRetryMs));
+                return false;
+            }
+            // 上一次执行尚未结束，跳过本次执行
+            task.updateExecuteTime(task.getLastExecuteTime(), nextExecuteTime);
             taskRepository.save(task);
+            enqueue(task);
+            logger.warn("任务上一次执行尚未结束，跳过本次执行 - TaskId: {}, ScheduledTime: {}, NextExecuteTime: {}",
+                taskId, scheduledTime, nextExecuteTime);
+            return false;
         }
+        task.updateExecuteTime(now, nextExecuteTime);
+        startExecution(task, now);
+        enqueue(task);
+        
+        logger.debug("调度任务已触发 - TaskId: {}, ScheduledTime: {}, Lag: {}ms, NextExecuteTime: {}", 
+            taskId, scheduledTime, Duration.between(scheduledTime, now).toMillis(), nextExecuteTime);
+        return true;
+    }
+    
+    /**
+     * 从任务表恢复调度队列
+     * 节点重启期间错过的执行时间在恢复后立即补执行一次；缺少下次执行时间的周期任务重新计算
+     * @return 恢复的任务数
+     */
+    @Transactional
+    public int loadSchedules() {
+        Instant now = clock.instant();
+        int loaded = 0;
+        for (Task task : taskRepository.findSchedulableTasks()) {
+            try {
+                if (task.getNextExecuteTime() == null && task.getTaskType() != TaskType.ONCE) {
+                    task.updateExecuteTime(task.getLastExecuteTime(), calculateNextExecuteTime(task, null, now));
+                    taskRepository.save(task);
+                }
+                if (task.getNextExecuteTime() != null) {
+                    enqueue(task);
+                    loaded++;
+                }
+            } catch (Exception e) {
+                logger.error("恢复任务调度失败 - TaskId: {}, Error: {}", task.getTaskId(), e.getMessage());
+            }
+        }
+        logger.info("调度队列已恢复 - Tasks: {}, NextFireTime: {}", loaded, scheduleQueue.nextFireTime());
+        return loaded;
     }
     
     /**
@@ -119,6 +267,13 @@ public class TaskSchedulerService {
         TaskLog taskLog = taskLogRepository.findById(result.getLogId())
             .orElseThrow(() -> new RuntimeException("任务执行记录不存在: " + result.getLogId()));
         
+        // 执行记录已结束：重复投递的结果，或执行超时已被回收
+        if (taskLog.getStatus() != TaskStatus.RUNNING) {
+            logger.warn("忽略重复或已回收执行的结果 - TaskId: {}, LogId: {}, LogStatus: {}", 
+                result.getTaskId(), result.getLogId(), taskLog.getStatus());
+            return;
+        }
+        
         if (result.isSuccess()) {
             // 执行成功
             taskLog.complete(TaskStatus.SUCCESS, result.getResult(), result.getDurationMs());
@@ -127,10 +282,9 @@ public class TaskSchedulerService {
             task.updateStatus(TaskStatus.SUCCESS);
             task.resetRetryCount();
             
-            // 如果不是一次性任务，计算下次执行时间
+            // 如果不是一次性任务，保留触发时已计算的下次执行时间，已过期时重新计算
             if (!task.getTaskType().equals(TaskType.ONCE)) {
-                Instant nextExecuteTime = calculateNextExecuteTime(task);
-                task.updateExecuteTime(Instant.now(), nextExecuteTime);
+                task.updateExecuteTime(clock.instant(), upcomingExecuteTime(task));
             } else {
                 // 一次性任务执行完成后禁用
                 task.setEnabled(false);
@@ -142,56 +296,251 @@ public class TaskSchedulerService {
             // 执行失败
             taskLog.fail(result.getErrorMessage(), result.getErrorStack(), result.getDurationMs());
             taskLogRepository.save(taskLog);
-            
-            if (task.canRetry()) {
-                // 可以重试
-                task.updateStatus(TaskStatus.PENDING);
-                task.incrementRetryCount();
-                
-                // 延迟重试（指数退避）
-                long delaySeconds = calculateRetryDelay(task.getCurrentRetryCount());
-                Instant retryTime = Instant.now().plusSeconds(delaySeconds);
-                task.updateExecuteTime(null, retryTime);
-                
-                logger.info("任务执行失败，将重试 - TaskId: {}, RetryCount: {}, RetryTime: {}", 
-                    task.getTaskId(), task.getCurrentRetryCount(), retryTime);
-            } else {
-                // 重试次数用完，标记为失败
-                task.updateStatus(TaskStatus.FAILED);
-                logger.error("任务执行失败，重试次数已用完 - TaskId: {}", task.getTaskId());
-            }
+            applyFailure(task);
         }
         
         taskRepository.save(task);
+        if (leaseService.release(task.getTaskId(), taskLog.getLogId())
+                && nodeRegistry.getNodeId().equals(taskLog.getExecutorNode())) {
+            nodeRegistry.releaseSlot();
+        }
+        enqueue(task);
+    }
+    
+    /**
+     * 回收租约已到期的执行
+     * 持有节点失联但执行未超过截止时间时由本节点接管租约，继续等待执行结果；
+     * 已超过截止时间仍未回报结果时把执行记录标记为失败，按执行失败重试或等待下次调度，并释放租约
+     * @return 是否已接管或回收
+     */
+    @Transactional
+    public boolean recoverExpiredLease(TaskLease lease) {
+        Instant now = clock.instant();
+        String nodeId = nodeRegistry.getNodeId();
+        boolean adopt = lease.getLogId() != null && !lease.isPastDeadline(now);
+        if (adopt && !nodeRegistry.tryAcquireSlot()) {
+            return false;
+        }
+        if (!leaseService.takeOver(lease.getTaskId(), lease.getLeaseOwner(), nodeId,
+                now.plus(nodeRegistry.getLeaseDuration()), now)) {
+            if (adopt) {
+                nodeRegistry.releaseSlot();
+            }
+            return false;
+        }
+        if (adopt) {
+            logger.warn("接管失联节点的执行 - TaskId: {}, LogId: {}, FromNode: {}, Deadline: {}", 
+                lease.getTaskId(), lease.getLogId(), lease.getLeaseOwner(), lease.getDeadline());
+            return true;
+        }
+        
+        Task task = taskRepository.findById(lease.getTaskId()).orElse(null);
+        TaskLog taskLog = lease.getLogId() == null ? null : taskLogRepository.findById(lease.getLogId()).orElse(null);
+        if (task != null && taskLog != null && taskLog.getStatus() == TaskStatus.RUNNING) {
+            taskLog.fail("执行超时或执行节点失联，未收到执行结果 - Node: " + lease.getLeaseOwner(), null,
+                Duration.between(taskLog.getStartTime(), now).toMillis());
+            taskLogRepository.save(taskLog);
+            applyFailure(task);
+            taskRepository.save(task);
+            enqueue(task);
+            logger.warn("回收未回报结果的执行 - TaskId: {}, LogId: {}, Node: {}", 
+                lease.getTaskId(), lease.getLogId(), lease.getLeaseOwner());
+        }
+        leaseService.releaseOwned(lease.getTaskId(), nodeId);
+        return true;
     }
     
     /**
      * 获取需要执行的任务
+     * 从内存调度队列按下次执行时间先后返回当前租户已到期（下次执行时间不晚于当前时间）的任务，不扫描任务表；
+     * 没有租户上下文时返回空列表
      */
     @Transactional(readOnly = true)
     public List<Task> getPendingTasks() {
         String tenantId = SessionContext.getTenantId();
-        return taskRepository.findPendingTasksForExecution(Instant.now(), tenantId);
+        if (tenantId == null) {
+            return List.of();
+        }
+        Instant now = clock.instant();
+        List<TaskScheduleQueue.ScheduledTask> scheduled = scheduleQueue.scheduledTasks(tenantId, PENDING_TASKS_LIMIT)
+            .stream()
+            .filter(entry -> !entry.getFireTime().isAfter(now))
+            .toList();
+        if (scheduled.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Task> tasks = taskRepository.findAllById(
+                scheduled.stream().map(TaskScheduleQueue.ScheduledTask::getTaskId).toList())
+            .stream()
+            .collect(Collectors.toMap(Task::getTaskId, Function.identity()));
+        return scheduled.stream()
+            .map(entry -> tasks.get(entry.getTaskId()))
+            .filter(task -> task != null)
+            .sorted(Comparator.comparing(Task::getNextExecuteTime, Comparator.nullsLast(Comparator.naturalOrder())))
+            .toList();
+    }
+    
+    /**
+     * 已调度的任务数（所有租户）
+     */
+    public int getScheduledTaskCount() {
+        return scheduleQueue.size();
+    }
+    
+    /**
+     * 占用本节点执行槽位并认领执行租约
+     * @return 认领结果，本节点已达并发上限时返回 null
+     */
+    private TaskLeaseService.Claim claimExecution(Task task, Instant fireTime, Instant now) {
+        if (!nodeRegistry.tryAcquireSlot()) {
+            return null;
+        }
+        TaskLeaseService.Claim claim = leaseService.acquire(task.getTaskId(), task.getTenantId(),
+            nodeRegistry.getNodeId(), fireTime, now.plus(nodeRegistry.getLeaseDuration()),
+            executionDeadline(task, now), now);
+        if (claim != TaskLeaseService.Claim.ACQUIRED) {
+            nodeRegistry.releaseSlot();
+        }
+        return claim;
+    }
+    
+    /**
+     * 执行截止时间：任务超时时间之后再留一个租约时长，超过后不再续约
+     */
+    private Instant executionDeadline(Task task, Instant now) {
+        int timeoutSeconds = task.getTimeoutSeconds() != null && task.getTimeoutSeconds() > 0
+            ? task.getTimeoutSeconds() : DEFAULT_TIMEOUT_SECONDS;
+        return now.plusSeconds(timeoutSeconds).plus(nodeRegistry.getLeaseDuration());
+    }
+    
+    /**
+     * 创建执行记录并发送任务到执行微服务，调用前已认领执行租约
+     */
+    private void startExecution(Task task, Instant now) {
+        String executorNode = nodeRegistry.getNodeId();
+        
+        // 创建执行记录
+        TaskLog taskLog = new TaskLog(task.getTaskId(), executorNode, now);
+        taskLogRepository.save(taskLog);
+        leaseService.bindLog(task.getTaskId(), executorNode, taskLog.getLogId());
+        
+        // 更新任务状态
+        task.updateStatus(TaskStatus.RUNNING);
+        taskRepository.save(task);
+        
+        try {
+            // 发送任务到执行微服务
+            sendTaskToExecutor(task, taskLog);
+            
+            logger.info("任务已发送执行 - TaskId: {}, TaskName: {}, ExecutorNode: {}", 
+                task.getTaskId(), task.getTaskName(), executorNode);
+        } catch (Exception e) {
+            logger.error("任务执行失败 - TaskId: {}, Error: {}", task.getTaskId(), e.getMessage(), e);
+            
+            // 更新执行记录
+            taskLog.fail(e.getMessage(), getStackTrace(e), 0L);
+            taskLogRepository.save(taskLog);
+            
+            // 更新任务状态
+            task.updateStatus(TaskStatus.FAILED);
+            task.incrementRetryCount();
+            taskRepository.save(task);
+            
+            leaseService.release(task.getTaskId(), taskLog.getLogId());
+            nodeRegistry.releaseSlot();
+        }
+    }
+    
+    /**
+     * 按执行失败更新任务：可重试时按指数退避安排重试，重试次数用完时标记失败，周期任务继续按计划执行
+     */
+    private void applyFailure(Task task) {
+        if (task.canRetry()) {
+            // 可以重试
+            task.updateStatus(TaskStatus.PENDING);
+            task.incrementRetryCount();
+            
+            // 延迟重试（指数退避）
+            long delaySeconds = calculateRetryDelay(task.getCurrentRetryCount());
+            Instant retryTime = clock.instant().plusSeconds(delaySeconds);
+            task.updateExecuteTime(task.getLastExecuteTime(), retryTime);
+            
+            logger.info("任务执行失败，将重试 - TaskId: {}, RetryCount: {}, RetryTime: {}", 
+                task.getTaskId(), task.getCurrentRetryCount(), retryTime);
+        } else {
+            // 重试次数用完，标记为失败；周期任务继续按计划执行
+            task.updateStatus(TaskStatus.FAILED);
+            if (!task.getTaskType().equals(TaskType.ONCE)) {
+                task.updateExecuteTime(task.getLastExecuteTime(), upcomingExecuteTime(task));
+            }
+            logger.error("任务执行失败，重试次数已用完 - TaskId: {}", task.getTaskId());
+        }
     }
     
     /**
      * 计算下次执行时间
+     * @param scheduledTime 本次计划执行时间，首次调度时为 null
+     * @return 下次执行时间，一次性任务已执行或Cron表达式不再触发时返回 null
      */
-    private Instant calculateNextExecuteTime(Task task) {
+    Instant calculateNextExecuteTime(Task task, Instant scheduledTime, Instant now) {
         ScheduleStrategy strategy = new ScheduleStrategy(task.getScheduleExpression(), task.getTaskType());
         
         if (strategy.isCron()) {
-            // Cron表达式任务，这里简化处理，实际应该使用Cron解析器
-            return Instant.now().plusSeconds(60); // 默认1分钟后执行
+            // Cron任务：按任务时区取当前时间之后的第一个触发时刻
+            ZoneId zone = cronScheduleCache.resolveZone(task.getTimeZone(), defaultZone());
+            return cronScheduleCache.nextFireTime(strategy.getCronExpression(), zone, now);
         } else if (strategy.isOnce()) {
             // 一次性任务
-            return strategy.getExecuteTime();
+            return scheduledTime == null ? strategy.getExecuteTime() : null;
         } else if (strategy.isInterval()) {
-            // 间隔任务
-            return Instant.now().plusSeconds(strategy.getIntervalSeconds());
+            // 间隔任务：从计划执行时间按固定频率推算，跳过已错过的周期
+            long intervalSeconds = strategy.getIntervalSeconds();
+            if (scheduledTime == null) {
+                return now.plusSeconds(intervalSeconds);
+            }
+            long elapsed = Math.max(0, Duration.between(scheduledTime, now).getSeconds());
+            return scheduledTime.plusSeconds((elapsed / intervalSeconds + 1) * intervalSeconds);
         }
         
-        return Instant.now().plusSeconds(60);
+        return null;
+    }
+    
+    /**
+     * 未过期的下次执行时间；已过期或为空时从当前时间重新计算
+     */
+    private Instant upcomingExecuteTime(Task task) {
+        Instant now = clock.instant();
+        Instant next = task.getNextExecuteTime();
+        if (next != null && next.isAfter(now)) {
+            return next;
+        }
+        return calculateNextExecuteTime(task, next, now);
+    }
+    
+    /**
+     * 按任务表中的下次执行时间放入调度队列，不再需要调度时移出队列
+     */
+    private void enqueue(Task task) {
+        if (task.getTaskId() == null) {
+            return;
+        }
+        if (isSchedulable(task) && task.getNextExecuteTime() != null) {
+            scheduleQueue.schedule(task.getTaskId(), task.getTenantId(), task.getNextExecuteTime());
+        } else {
+            scheduleQueue.cancel(task.getTaskId());
+        }
+    }
+    
+    private boolean isSchedulable(Task task) {
+        return Boolean.TRUE.equals(task.getEnabled())
+            && task.getStatus() != TaskStatus.PAUSED
+            && task.getStatus() != TaskStatus.CANCELLED;
+    }
+    
+    private ZoneId defaultZone() {
+        return defaultTimeZone == null || defaultTimeZone.isBlank()
+            ? ZoneId.systemDefault()
+            : cronScheduleCache.resolveZone(defaultTimeZone, ZoneId.systemDefault());
     }
     
     /**
@@ -215,13 +564,6 @@ public class TaskSchedulerService {
         kafkaTemplate.send(topic, message);
     }
     
-    /**
-     * 获取执行节点标识
-     */
-    private String getExecutorNode() {
-        return "scheduler-" + System.getProperty("user.name") + "-" + System.currentTimeMillis();
-    }
-    
     /**
      * 计算重试延迟（指数退避）
      */
@@ -18,6 +18,11 @@ public class UpdateTaskCommand {
      */
     private String scheduleExpression;
     
+    /**
+     * Cron表达式使用的时区（如 Asia/Shanghai），为空时使用调度中心默认时区
+     */
+    private String timeZone;
+    
     /**
      * 任务参数（JSON格式）
      */
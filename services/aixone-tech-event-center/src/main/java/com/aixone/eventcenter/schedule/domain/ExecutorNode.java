@@ -0,0 +1,108 @@
+package com.aixone.eventcenter.schedule.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * 调度执行节点
+ * 每个调度中心实例启动时注册并定期写入心跳，心跳超时的节点被标记为失联
+ */
+@Entity
+@Table(name = "schedule_executor_nodes")
+@Data
+public class ExecutorNode {
+
+    /**
+     * 节点ID
+     */
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    /**
+     * 主机名
+     */
+    @Column(name = "host_name", length = 255)
+    private String hostName;
+
+    /**
+     * 节点状态
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private NodeStatus status = NodeStatus.ACTIVE;
+
+    /**
+     * 最多同时持有的执行租约数
+     */
+    @Column(name = "max_concurrency", nullable = false)
+    private Integer maxConcurrency;
+
+    /**
+     * 最近一次心跳时持有的执行租约数
+     */
+    @Column(name = "running_tasks", nullable = false)
+    private Integer runningTasks = 0;
+
+    /**
+     * 启动时间
+     */
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    /**
+     * 最近一次心跳时间
+     */
+    @Column(name = "last_heartbeat", nullable = false)
+    private Instant lastHeartbeat;
+
+    /**
+     * 构造函数
+     */
+    public ExecutorNode() {
+    }
+
+    /**
+     * 构造函数
+     */
+    public ExecutorNode(String nodeId, String hostName, int maxConcurrency, Instant startedAt) {
+        this.nodeId = nodeId;
+        this.hostName = hostName;
+        this.maxConcurrency = maxConcurrency;
+        this.startedAt = startedAt;
+        this.lastHeartbeat = startedAt;
+    }
+
+    /**
+     * 记录心跳
+     */
+    public void heartbeat(Instant now, int runningTasks, int maxConcurrency) {
+        this.status = NodeStatus.ACTIVE;
+        this.lastHeartbeat = now;
+        this.runningTasks = runningTasks;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * 正常下线
+     */
+    public void leave(Instant now) {
+        this.status = NodeStatus.LEFT;
+        this.lastHeartbeat = now;
+        this.runningTasks = 0;
+    }
+
+    /**
+     * 节点状态
+     */
+    public enum NodeStatus {
+        /** 在线 */
+        ACTIVE,
+        /** 心跳超时 */
+        DEAD,
+        /** 已正常下线 */
+        LEFT
+    }
+}
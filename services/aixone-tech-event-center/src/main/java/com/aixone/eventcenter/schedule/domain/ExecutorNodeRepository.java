@@ -0,0 +1,45 @@
+package com.aixone.eventcenter.schedule.domain;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 调度执行节点仓储接口
+ * 执行节点不属于任何租户，不继承租户仓储基类
+ */
+public interface ExecutorNodeRepository {
+
+    /**
+     * 保存节点
+     */
+    ExecutorNode save(ExecutorNode node);
+
+    /**
+     * 根据节点ID查找节点
+     */
+    Optional<ExecutorNode> findById(String nodeId);
+
+    /**
+     * 查找指定状态的节点
+     */
+    List<ExecutorNode> findByStatus(ExecutorNode.NodeStatus status);
+
+    /**
+     * 查找心跳早于指定时间的在线节点ID
+     */
+    List<String> findStaleNodeIds(Instant heartbeatBefore);
+
+    /**
+     * 把心跳仍早于指定时间的在线节点标记为失联，节点已恢复心跳时不生效
+     * @return 标记的节点数
+     */
+    int markDead(Collection<String> nodeIds, Instant heartbeatBefore);
+
+    /**
+     * 删除指定时间之前已离线的节点
+     * @return 删除的节点数
+     */
+    int deleteInactiveBefore(Instant heartbeatBefore);
+}
@@ -49,6 +49,12 @@ public class Task extends com.aixone.common.ddd.Entity<Long> {
     @Column(name = "schedule_expression", nullable = false, length = 200)
     private String scheduleExpression;
     
+    /**
+     * Cron表达式使用的时区（如 Asia/Shanghai），为空时使用调度中心默认时区
+     */
+    @Column(name = "time_zone", length = 50)
+    private String timeZone;
+    
     /**
      * 任务状态
      */
@@ -0,0 +1,111 @@
+package com.aixone.eventcenter.schedule.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.Instant;
+
+/**
+ * 任务执行租约
+ * 每个任务一行，执行节点以条件更新认领租约后才发送执行；持有节点通过心跳续约，
+ * 节点失联后租约到期，由其他节点接管或按执行失败回收
+ */
+@Entity
+@Table(name = "schedule_task_leases")
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TaskLease extends com.aixone.common.ddd.Entity<Long> {
+
+    /**
+     * 任务ID
+     */
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    /**
+     * 租户ID
+     */
+    @Column(name = "tenant_id", length = 50)
+    private String tenantId;
+
+    /**
+     * 租约持有节点，为空表示任务未在执行
+     */
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    /**
+     * 租约到期时间
+     */
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    /**
+     * 最近一次认领的计划执行时间
+     */
+    @Column(name = "fire_time")
+    private Instant fireTime;
+
+    /**
+     * 执行截止时间，超过后不再续约
+     */
+    @Column(name = "deadline")
+    private Instant deadline;
+
+    /**
+     * 租约对应的执行记录ID
+     */
+    @Column(name = "log_id")
+    private Long logId;
+
+    /**
+     * 认领时间
+     */
+    @Column(name = "acquired_at")
+    private Instant acquiredAt;
+
+    /**
+     * 构造函数
+     */
+    public TaskLease() {
+        super(0L);
+    }
+
+    /**
+     * 构造函数
+     */
+    public TaskLease(Long taskId, String tenantId) {
+        super(taskId, tenantId);
+        this.taskId = taskId;
+        this.tenantId = tenantId;
+    }
+
+    /**
+     * 获取任务ID（重写父类方法）
+     */
+    @Override
+    public Long getId() {
+        return taskId;
+    }
+
+    /**
+     * 认领租约
+     */
+    public void acquire(String owner, Instant fireTime, Instant leaseUntil, Instant deadline, Instant now) {
+        this.leaseOwner = owner;
+        this.fireTime = fireTime;
+        this.leaseUntil = leaseUntil;
+        this.deadline = deadline;
+        this.acquiredAt = now;
+        this.logId = null;
+    }
+
+    /**
+     * 执行是否已超过截止时间
+     */
+    public boolean isPastDeadline(Instant now) {
+        return deadline != null && !deadline.isAfter(now);
+    }
+}
@@ -0,0 +1,60 @@
+package com.aixone.eventcenter.schedule.domain;
+
+import com.aixone.common.ddd.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 任务执行租约仓储接口
+ * 租约的认领、续约、接管与释放都是条件更新，多个节点并发操作同一租约时只有一个节点成功
+ */
+public interface TaskLeaseRepository extends Repository<TaskLease, Long> {
+
+    /**
+     * 认领租约：仅当租约空闲且该计划执行时间尚未被认领过时成功；已到期未释放的租约需先接管回收
+     * @return 认领成功的行数
+     */
+    int acquire(Long taskId, String owner, Instant fireTime, Instant leaseUntil, Instant deadline, Instant now);
+
+    /**
+     * 记录租约对应的执行记录
+     */
+    int bindLog(Long taskId, String owner, Long logId);
+
+    /**
+     * 续约节点持有的、未超过执行截止时间的租约
+     * @return 续约的租约数
+     */
+    int renew(String owner, Instant leaseUntil, Instant now);
+
+    /**
+     * 接管已到期的租约：仅当租约仍由 expectedOwner 持有且已到期时成功
+     */
+    int takeOver(Long taskId, String expectedOwner, String owner, Instant leaseUntil, Instant now);
+
+    /**
+     * 释放执行记录对应的租约，租约已被重新认领时不生效
+     */
+    int releaseByLog(Long taskId, Long logId);
+
+    /**
+     * 释放节点持有的租约
+     */
+    int releaseByOwner(Long taskId, String owner);
+
+    /**
+     * 使节点持有的全部租约立即到期，节点正常下线时调用
+     */
+    int expireByOwner(String owner, Instant now);
+
+    /**
+     * 查找已到期仍被持有的租约，按到期时间先后排序
+     */
+    List<TaskLease> findExpired(Instant now, int limit);
+
+    /**
+     * 统计节点持有且未到期的租约数
+     */
+    long countHeldByOwner(String owner, Instant now);
+}
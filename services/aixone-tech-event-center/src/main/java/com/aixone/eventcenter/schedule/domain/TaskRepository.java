@@ -49,6 +49,16 @@ public interface TaskRepository extends Repository<Task, Long> {
      */
     List<Task> findPendingTasksForExecution(Instant currentTime, String tenantId);
     
+    /**
+     * 查找所有租户中需要调度的任务（已启用且未暂停、未取消），用于启动时恢复调度队列
+     */
+    List<Task> findSchedulableTasks();
+    
+    /**
+     * 根据任务ID批量查找任务
+     */
+    List<Task> findAllById(Iterable<Long> taskIds);
+    
     /**
      * 根据执行微服务查找任务
      */
@@ -0,0 +1,91 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import com.aixone.common.exception.BizException;
+import org.quartz.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.text.ParseException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cron表达式缓存
+ * 使用与Quartz触发器相同的解析器，周字段 1=周日、7=周六，支持可选的年字段，计算结果与Quartz实际触发一致；
+ * 表达式按（时区，表达式）只解析一次，编译结果缓存后不再修改；下次执行时间按任务时区的本地时间计算，
+ * 夏令时切换前后的UTC偏移由时区规则决定
+ */
+@Component
+public class CronScheduleCache {
+
+    /** 缓存的表达式数量上限，超过后整体清空重新编译 */
+    static final int MAX_CACHED_EXPRESSIONS = 10_000;
+
+    private final Map<String, CronExpression> compiled = new ConcurrentHashMap<>();
+    private final Map<String, ZoneId> zones = new ConcurrentHashMap<>();
+
+    /**
+     * 编译Cron表达式（Quartz语法：秒 分 时 日 月 周 [年]，支持 ? L W #）
+     * @param zone 计算触发时间使用的时区
+     * @throws BizException 表达式无效
+     */
+    public CronExpression compile(String expression, ZoneId zone) {
+        if (expression == null || expression.isBlank()) {
+            throw new BizException("INVALID_CRON_EXPRESSION", "Cron表达式不能为空");
+        }
+        String trimmed = expression.trim();
+        String key = zone.getId() + " " + trimmed;
+        CronExpression cron = compiled.get(key);
+        if (cron != null) {
+            return cron;
+        }
+        try {
+            cron = new CronExpression(trimmed);
+        } catch (ParseException e) {
+            throw new BizException("INVALID_CRON_EXPRESSION", "无效的Cron表达式: " + trimmed + "，" + e.getMessage());
+        }
+        cron.setTimeZone(TimeZone.getTimeZone(zone));
+        if (compiled.size() >= MAX_CACHED_EXPRESSIONS) {
+            compiled.clear();
+        }
+        compiled.put(key, cron);
+        return cron;
+    }
+
+    /**
+     * 解析时区，为空时返回默认时区
+     * @throws BizException 时区无效
+     */
+    public ZoneId resolveZone(String timeZone, ZoneId defaultZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return defaultZone;
+        }
+        return zones.computeIfAbsent(timeZone.trim(), id -> {
+            try {
+                return ZoneId.of(id);
+            } catch (DateTimeException e) {
+                throw new BizException("INVALID_TIME_ZONE", "无效的时区: " + id);
+            }
+        });
+    }
+
+    /**
+     * 计算指定时刻之后的下次执行时间
+     * @return 下次执行时间，表达式再也不会触发时返回 null
+     */
+    public Instant nextFireTime(String expression, ZoneId zone, Instant after) {
+        Date next = compile(expression, zone).getNextValidTimeAfter(Date.from(after));
+        return next != null ? next.toInstant() : null;
+    }
+
+    /**
+     * 已缓存的表达式数量
+     */
+    public int size() {
+        return compiled.size();
+    }
+}
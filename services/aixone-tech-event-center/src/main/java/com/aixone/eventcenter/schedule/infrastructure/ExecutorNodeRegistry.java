@@ -0,0 +1,189 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import com.aixone.eventcenter.schedule.domain.ExecutorNode;
+import com.aixone.eventcenter.schedule.domain.ExecutorNodeRepository;
+import com.aixone.eventcenter.schedule.domain.TaskLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 调度执行节点注册表
+ * 节点启动时注册，之后定期写入心跳并续约本节点持有的执行租约：
+ * - 本节点同时持有的执行租约数不超过 max-concurrency，心跳时以数据库中实际持有的租约数校准
+ * - 心跳超过 node-timeout-ms 的节点被标记为失联，其租约不再续约，到期后由其他节点接管
+ * - 正常下线时使本节点的租约立即到期，由其他节点尽快接管
+ */
+@Component
+public class ExecutorNodeRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorNodeRegistry.class);
+
+    @Autowired
+    private ExecutorNodeRepository nodeRepository;
+
+    @Autowired
+    private TaskLeaseRepository leaseRepository;
+
+    @Autowired(required = false)
+    private Clock clock = Clock.systemUTC();
+
+    @Value("${event-center.schedule.executor.node-id:}")
+    private String nodeId;
+
+    @Value("${event-center.schedule.executor.max-concurrency:200}")
+    private int maxConcurrency;
+
+    @Value("${event-center.schedule.executor.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${event-center.schedule.executor.node-timeout-ms:30000}")
+    private long nodeTimeoutMs;
+
+    @Value("${event-center.schedule.executor.node-retention-hours:24}")
+    private long nodeRetentionHours;
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private String hostName;
+
+    @PostConstruct
+    public void init() {
+        try {
+            hostName = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            hostName = "event-center";
+        }
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = hostName + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        if (nodeId.length() > 100) {
+            nodeId = nodeId.substring(0, 100);
+        }
+    }
+
+    /**
+     * 应用启动完成后注册节点
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void register() {
+        heartbeat();
+        logger.info("执行节点已注册 - Node: {}, MaxConcurrency: {}", nodeId, maxConcurrency);
+    }
+
+    /**
+     * 定时写入心跳并续约本节点持有的执行租约
+     */
+    @Scheduled(fixedDelayString = "${event-center.schedule.executor.heartbeat-ms:10000}")
+    @Transactional
+    public void heartbeat() {
+        Instant now = clock.instant();
+        leaseRepository.renew(nodeId, now.plusMillis(leaseMs), now);
+        int held = (int) leaseRepository.countHeldByOwner(nodeId, now);
+        running.set(held);
+        ExecutorNode node = nodeRepository.findById(nodeId)
+                .orElseGet(() -> new ExecutorNode(nodeId, hostName, maxConcurrency, now));
+        node.heartbeat(now, held, maxConcurrency);
+        nodeRepository.save(node);
+    }
+
+    /**
+     * 应用关闭时下线节点
+     */
+    @EventListener(ContextClosedEvent.class)
+    @Transactional
+    public void deregister() {
+        Instant now = clock.instant();
+        int expired = leaseRepository.expireByOwner(nodeId, now);
+        nodeRepository.findById(nodeId).ifPresent(node -> {
+            node.leave(now);
+            nodeRepository.save(node);
+        });
+        running.set(0);
+        logger.info("执行节点已下线 - Node: {}, 移交租约: {}", nodeId, expired);
+    }
+
+    /**
+     * 标记心跳超时的节点为失联，并清理保留期之前已离线的节点
+     * @return 本次由本节点标记为失联的节点ID，其他节点已标记时返回空列表
+     */
+    @Transactional
+    public List<String> detectDeadNodes() {
+        Instant now = clock.instant();
+        Instant heartbeatBefore = now.minusMillis(nodeTimeoutMs);
+        List<String> staleNodeIds = nodeRepository.findStaleNodeIds(heartbeatBefore).stream()
+                .filter(id -> !id.equals(nodeId))
+                .toList();
+        nodeRepository.deleteInactiveBefore(now.minus(Duration.ofHours(nodeRetentionHours)));
+        if (staleNodeIds.isEmpty() || nodeRepository.markDead(staleNodeIds, heartbeatBefore) == 0) {
+            return List.of();
+        }
+        logger.warn("执行节点心跳超时，已标记为失联 - Nodes: {}", staleNodeIds);
+        return staleNodeIds;
+    }
+
+    /**
+     * 在线节点列表
+     */
+    @Transactional(readOnly = true)
+    public List<ExecutorNode> activeNodes() {
+        return nodeRepository.findByStatus(ExecutorNode.NodeStatus.ACTIVE);
+    }
+
+    /**
+     * 占用一个执行槽位
+     * @return 本节点已达并发上限时返回 false
+     */
+    public boolean tryAcquireSlot() {
+        int current;
+        do {
+            current = running.get();
+            if (current >= maxConcurrency) {
+                return false;
+            }
+        } while (!running.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * 归还执行槽位
+     */
+    public void releaseSlot() {
+        running.updateAndGet(value -> Math.max(0, value - 1));
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int getRunningCount() {
+        return running.get();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * 执行租约时长
+     */
+    public Duration getLeaseDuration() {
+        return Duration.ofMillis(leaseMs);
+    }
+}
@@ -0,0 +1,46 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import com.aixone.eventcenter.schedule.domain.ExecutorNode;
+import com.aixone.eventcenter.schedule.domain.ExecutorNodeRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA调度执行节点仓储实现
+ */
+@Repository
+public interface JpaExecutorNodeRepository extends JpaRepository<ExecutorNode, String>, ExecutorNodeRepository {
+
+    /**
+     * 同时继承自 CrudRepository 与 ExecutorNodeRepository，在此声明以消除调用歧义
+     */
+    @Override
+    Optional<ExecutorNode> findById(String nodeId);
+
+    @Override
+    @Query("SELECT n FROM ExecutorNode n WHERE n.status = :status ORDER BY n.nodeId")
+    List<ExecutorNode> findByStatus(@Param("status") ExecutorNode.NodeStatus status);
+
+    @Override
+    @Query("SELECT n.nodeId FROM ExecutorNode n WHERE n.status = 'ACTIVE' AND n.lastHeartbeat < :heartbeatBefore")
+    List<String> findStaleNodeIds(@Param("heartbeatBefore") Instant heartbeatBefore);
+
+    @Override
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ExecutorNode n SET n.status = 'DEAD' WHERE n.nodeId IN :nodeIds AND n.status = 'ACTIVE' " +
+           "AND n.lastHeartbeat < :heartbeatBefore")
+    int markDead(@Param("nodeIds") Collection<String> nodeIds, @Param("heartbeatBefore") Instant heartbeatBefore);
+
+    @Override
+    @Modifying
+    @Query("DELETE FROM ExecutorNode n WHERE n.status <> 'ACTIVE' AND n.lastHeartbeat < :heartbeatBefore")
+    int deleteInactiveBefore(@Param("heartbeatBefore") Instant heartbeatBefore);
+}
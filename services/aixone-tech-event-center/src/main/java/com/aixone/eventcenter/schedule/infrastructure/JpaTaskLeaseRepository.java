@@ -0,0 +1,77 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import com.aixone.eventcenter.schedule.domain.TaskLease;
+import com.aixone.eventcenter.schedule.domain.TaskLeaseRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JPA任务执行租约仓储实现
+ */
+@Repository
+public interface JpaTaskLeaseRepository extends JpaRepository<TaskLease, Long>, TaskLeaseRepository {
+
+    @Override
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskLease l SET l.leaseOwner = :owner, l.fireTime = :fireTime, l.leaseUntil = :leaseUntil, " +
+           "l.deadline = :deadline, l.acquiredAt = :now, l.logId = NULL " +
+           "WHERE l.taskId = :taskId AND l.leaseOwner IS NULL " +
+           "AND (l.fireTime IS NULL OR l.fireTime < :fireTime)")
+    int acquire(@Param("taskId") Long taskId, @Param("owner") String owner, @Param("fireTime") Instant fireTime,
+                @Param("leaseUntil") Instant leaseUntil, @Param("deadline") Instant deadline, @Param("now") Instant now);
+
+    @Override
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskLease l SET l.logId = :logId WHERE l.taskId = :taskId AND l.leaseOwner = :owner")
+    int bindLog(@Param("taskId") Long taskId, @Param("owner") String owner, @Param("logId") Long logId);
+
+    @Override
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskLease l SET l.leaseUntil = :leaseUntil WHERE l.leaseOwner = :owner AND l.leaseUntil >= :now " +
+           "AND (l.deadline IS NULL OR l.deadline > :now)")
+    int renew(@Param("owner") String owner, @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+
+    @Override
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskLease l SET l.leaseOwner = :owner, l.leaseUntil = :leaseUntil " +
+           "WHERE l.taskId = :taskId AND l.leaseOwner = :expectedOwner AND l.leaseUntil < :now")
+    int takeOver(@Param("taskId") Long taskId, @Param("expectedOwner") String expectedOwner,
+                 @Param("owner") String owner, @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+
+    @Override
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskLease l SET l.leaseOwner = NULL, l.leaseUntil = NULL, l.deadline = NULL " +
+           "WHERE l.taskId = :taskId AND l.logId = :logId AND l.leaseOwner IS NOT NULL")
+    int releaseByLog(@Param("taskId") Long taskId, @Param("logId") Long logId);
+
+    @Override
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskLease l SET l.leaseOwner = NULL, l.leaseUntil = NULL, l.deadline = NULL " +
+           "WHERE l.taskId = :taskId AND l.leaseOwner = :owner")
+    int releaseByOwner(@Param("taskId") Long taskId, @Param("owner") String owner);
+
+    @Override
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskLease l SET l.leaseUntil = :now WHERE l.leaseOwner = :owner AND l.leaseUntil > :now")
+    int expireByOwner(@Param("owner") String owner, @Param("now") Instant now);
+
+    @Query("SELECT l FROM TaskLease l WHERE l.leaseOwner IS NOT NULL AND l.leaseUntil < :now ORDER BY l.leaseUntil")
+    List<TaskLease> findExpired(@Param("now") Instant now, Pageable pageable);
+
+    @Override
+    default List<TaskLease> findExpired(Instant now, int limit) {
+        return findExpired(now, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Query("SELECT COUNT(l) FROM TaskLease l WHERE l.leaseOwner = :owner AND l.leaseUntil >= :now")
+    long countHeldByOwner(@Param("owner") String owner, @Param("now") Instant now);
+}
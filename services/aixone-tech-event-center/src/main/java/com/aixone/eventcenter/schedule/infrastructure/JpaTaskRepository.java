@@ -41,6 +41,10 @@ public interface JpaTaskRepository extends JpaRepository<Task, Long>, TaskReposi
     @Query("SELECT t FROM Task t WHERE t.status = 'PENDING' AND t.enabled = true AND t.nextExecuteTime <= :currentTime AND t.tenantId = :tenantId")
     List<Task> findPendingTasksForExecution(@Param("currentTime") Instant currentTime, @Param("tenantId") String tenantId);
     
+    @Override
+    @Query("SELECT t FROM Task t WHERE t.enabled = true AND t.status NOT IN ('PAUSED', 'CANCELLED')")
+    List<Task> findSchedulableTasks();
+    
     @Override
     @Query("SELECT t FROM Task t WHERE t.executorService = :executorService AND t.tenantId = :tenantId")
     List<Task> findByExecutorServiceAndTenantId(@Param("executorService") String executorService, @Param("tenantId") String tenantId);
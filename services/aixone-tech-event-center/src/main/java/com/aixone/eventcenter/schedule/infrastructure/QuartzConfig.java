@@ -1,11 +1,16 @@
 package com.aixone.eventcenter.schedule.infrastructure;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import org.springframework.scheduling.quartz.SpringBeanJobFactory;
 
 import javax.sql.DataSource;
 import java.util.Properties;
@@ -19,13 +24,39 @@ public class QuartzConfig {
     @Autowired
     private DataSource dataSource;
     
+    @Autowired
+    private ApplicationContext applicationContext;
+    
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+    
+    @Value("${event-center.schedule.quartz.thread-count:5}")
+    private int threadCount;
+    
+    /**
+     * Quartz 任务执行指标
+     */
+    @Bean
+    public QuartzJobMetrics quartzJobMetrics() {
+        QuartzJobMetrics metrics = new QuartzJobMetrics();
+        meterRegistry.ifAvailable(metrics::bindMetrics);
+        return metrics;
+    }
+    
     /**
      * Quartz 调度器工厂Bean
+     * Job 实例由 Spring 创建并注入依赖，执行指标作为全局监听器注册
      */
     @Bean
     public SchedulerFactoryBean schedulerFactoryBean() {
+        SpringBeanJobFactory jobFactory = new SpringBeanJobFactory();
+        jobFactory.setApplicationContext(applicationContext);
+        
         SchedulerFactoryBean factory = new SchedulerFactoryBean();
         factory.setDataSource(dataSource);
+        factory.setJobFactory(jobFactory);
+        factory.setGlobalJobListeners(quartzJobMetrics());
+        factory.setGlobalTriggerListeners(quartzJobMetrics());
         factory.setQuartzProperties(quartzProperties());
         factory.setWaitForJobsToCompleteOnShutdown(true);
         factory.setOverwriteExistingJobs(true);
@@ -54,7 +85,7 @@ public class QuartzConfig {
         
         // 线程池配置
         properties.setProperty("org.quartz.threadPool.class", "org.quartz.simpl.SimpleThreadPool");
-        properties.setProperty("org.quartz.threadPool.threadCount", "5");
+        properties.setProperty("org.quartz.threadPool.threadCount", String.valueOf(threadCount));
         properties.setProperty("org.quartz.threadPool.threadPriority", "5");
         properties.setProperty("org.quartz.threadPool.threadsInheritContextClassLoaderOfInitializingThread", "true");
         
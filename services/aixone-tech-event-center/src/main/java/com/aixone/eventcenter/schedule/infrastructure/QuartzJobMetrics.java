@@ -0,0 +1,289 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Builder;
+import lombok.Getter;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+import org.quartz.Trigger;
+import org.quartz.TriggerListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Quartz 任务执行指标
+ * 作为全局 Job/Trigger 监听器记录每个任务的执行耗时、错过触发次数和排队延迟（计划触发时间到实际开始执行的时间），
+ * 用于评估 Quartz 线程池大小；按任务汇总的数据通过 ScheduleMonitorController 查询
+ */
+public class QuartzJobMetrics implements JobListener, TriggerListener {
+
+    static final String NAME = "task-job-metrics";
+
+    private final Map<String, JobStats> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger executing = new AtomicInteger();
+    private final LongAdder misfires = new LongAdder();
+
+    private volatile Timer successTimer;
+    private volatile Timer failureTimer;
+    private volatile Timer lagTimer;
+
+    /**
+     * 注册全局指标（不按任务打标签，避免任务数量过多时指标膨胀）
+     */
+    public void bindMetrics(MeterRegistry meterRegistry) {
+        successTimer = Timer.builder("schedule.job.execution")
+                .description("Quartz任务执行耗时")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        failureTimer = Timer.builder("schedule.job.execution")
+                .description("Quartz任务执行耗时")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        lagTimer = Timer.builder("schedule.job.lag")
+                .description("计划触发时间到实际开始执行的延迟")
+                .register(meterRegistry);
+        FunctionCounter.builder("schedule.job.misfires", misfires, LongAdder::sum)
+                .description("错过触发的次数")
+                .register(meterRegistry);
+        Gauge.builder("schedule.job.executing", executing, AtomicInteger::get)
+                .description("执行中的Quartz任务数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+        executing.incrementAndGet();
+        long lagMs = lagMillis(context);
+        stats(context).recordStart(lagMs, context.getFireTime());
+        Timer timer = lagTimer;
+        if (timer != null) {
+            timer.record(Duration.ofMillis(lagMs));
+        }
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+        // 被否决的执行不计入指标
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        executing.decrementAndGet();
+        long runTimeMs = Math.max(0, context.getJobRunTime());
+        stats(context).recordCompletion(runTimeMs, jobException == null);
+        Timer timer = jobException == null ? successTimer : failureTimer;
+        if (timer != null) {
+            timer.record(Duration.ofMillis(runTimeMs));
+        }
+    }
+
+    @Override
+    public void triggerFired(Trigger trigger, JobExecutionContext context) {
+        // 执行开始在 jobToBeExecuted 中记录
+    }
+
+    @Override
+    public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+        return false;
+    }
+
+    @Override
+    public void triggerMisfired(Trigger trigger) {
+        misfires.increment();
+        jobs.computeIfAbsent(trigger.getJobKey().getName(), key -> new JobStats(key, null)).misfires.increment();
+    }
+
+    @Override
+    public void triggerComplete(Trigger trigger, JobExecutionContext context,
+                                Trigger.CompletedExecutionInstruction triggerInstructionCode) {
+        // 执行完成在 jobWasExecuted 中记录
+    }
+
+    /**
+     * 执行中的任务数
+     */
+    public int executingCount() {
+        return executing.get();
+    }
+
+    /**
+     * 移除任务的指标（任务取消调度后调用）
+     */
+    public void remove(String jobName) {
+        jobs.remove(jobName);
+    }
+
+    /**
+     * 按任务汇总的指标，按最大执行耗时降序
+     * @param tenantId 只返回该租户的任务，为 null 时返回全部
+     */
+    public List<JobSnapshot> snapshot(String tenantId, int limit) {
+        return jobs.values().stream()
+                .filter(stats -> tenantId == null || tenantId.equals(stats.tenantId))
+                .map(JobStats::snapshot)
+                .sorted(Comparator.comparingLong(JobSnapshot::getMaxLatencyMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 所有任务（或指定租户任务）的汇总指标
+     */
+    public Summary summary(String tenantId) {
+        long executions = 0;
+        long failures = 0;
+        long misfireCount = 0;
+        long totalLatency = 0;
+        long maxLatency = 0;
+        long totalLag = 0;
+        long maxLag = 0;
+        for (JobStats stats : jobs.values()) {
+            if (tenantId != null && !tenantId.equals(stats.tenantId)) {
+                continue;
+            }
+            executions += stats.executions.sum();
+            failures += stats.failures.sum();
+            misfireCount += stats.misfires.sum();
+            totalLatency += stats.totalLatencyMs.sum();
+            maxLatency = Math.max(maxLatency, stats.maxLatencyMs.get());
+            totalLag += stats.totalLagMs.sum();
+            maxLag = Math.max(maxLag, stats.maxLagMs.get());
+        }
+        return Summary.builder()
+                .jobs(tenantId == null ? jobs.size() : (int) jobs.values().stream()
+                        .filter(stats -> tenantId.equals(stats.tenantId)).count())
+                .executions(executions)
+                .failures(failures)
+                .misfires(misfireCount)
+                .avgLatencyMs(executions > 0 ? totalLatency / executions : 0)
+                .maxLatencyMs(maxLatency)
+                .avgLagMs(executions > 0 ? totalLag / executions : 0)
+                .maxLagMs(maxLag)
+                .build();
+    }
+
+    private JobStats stats(JobExecutionContext context) {
+        String tenantId = context.getMergedJobDataMap().getString(TaskJobContext.TENANT_ID);
+        JobStats stats = jobs.computeIfAbsent(context.getJobDetail().getKey().getName(),
+                key -> new JobStats(key, tenantId));
+        if (stats.tenantId == null) {
+            stats.tenantId = tenantId;
+        }
+        return stats;
+    }
+
+    private static long lagMillis(JobExecutionContext context) {
+        if (context.getScheduledFireTime() == null || context.getFireTime() == null) {
+            return 0;
+        }
+        return Math.max(0, context.getFireTime().getTime() - context.getScheduledFireTime().getTime());
+    }
+
+    /**
+     * 单个任务的累计指标
+     */
+    private static final class JobStats {
+        private final String jobName;
+        private volatile String tenantId;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder misfires = new LongAdder();
+        private final LongAdder totalLatencyMs = new LongAdder();
+        private final AtomicLong maxLatencyMs = new AtomicLong();
+        private final LongAdder totalLagMs = new LongAdder();
+        private final AtomicLong maxLagMs = new AtomicLong();
+        private volatile long lastLagMs;
+        private volatile Instant lastFireTime;
+
+        JobStats(String jobName, String tenantId) {
+            this.jobName = jobName;
+            this.tenantId = tenantId;
+        }
+
+        void recordStart(long lagMs, Date fireTime) {
+            totalLagMs.add(lagMs);
+            maxLagMs.accumulateAndGet(lagMs, Math::max);
+            lastLagMs = lagMs;
+            lastFireTime = fireTime != null ? fireTime.toInstant() : null;
+        }
+
+        void recordCompletion(long latencyMs, boolean success) {
+            executions.increment();
+            if (!success) {
+                failures.increment();
+            }
+            totalLatencyMs.add(latencyMs);
+            maxLatencyMs.accumulateAndGet(latencyMs, Math::max);
+        }
+
+        JobSnapshot snapshot() {
+            long count = executions.sum();
+            return JobSnapshot.builder()
+                    .jobName(jobName)
+                    .tenantId(tenantId)
+                    .executions(count)
+                    .failures(failures.sum())
+                    .misfires(misfires.sum())
+                    .avgLatencyMs(count > 0 ? totalLatencyMs.sum() / count : 0)
+                    .maxLatencyMs(maxLatencyMs.get())
+                    .avgLagMs(count > 0 ? totalLagMs.sum() / count : 0)
+                    .maxLagMs(maxLagMs.get())
+                    .lastLagMs(lastLagMs)
+                    .lastFireTime(lastFireTime)
+                    .build();
+        }
+    }
+
+    /**
+     * 单个任务的指标快照
+     */
+    @Getter
+    @Builder
+    public static class JobSnapshot {
+        private final String jobName;
+        private final String tenantId;
+        private final long executions;
+        private final long failures;
+        private final long misfires;
+        private final long avgLatencyMs;
+        private final long maxLatencyMs;
+        private final long avgLagMs;
+        private final long maxLagMs;
+        private final long lastLagMs;
+        private final Instant lastFireTime;
+    }
+
+    /**
+     * 汇总指标
+     */
+    @Getter
+    @Builder
+    public static class Summary {
+        private final int jobs;
+        private final long executions;
+        private final long failures;
+        private final long misfires;
+        private final long avgLatencyMs;
+        private final long maxLatencyMs;
+        private final long avgLagMs;
+        private final long maxLagMs;
+    }
+}
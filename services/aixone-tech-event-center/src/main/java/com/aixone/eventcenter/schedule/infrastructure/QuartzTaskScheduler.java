@@ -9,7 +9,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.TimeZone;
 
 /**
  * Quartz 任务调度器实现
@@ -22,6 +24,9 @@ public class QuartzTaskScheduler {
     @Autowired
     private Scheduler scheduler;
     
+    @Autowired(required = false)
+    private QuartzJobMetrics quartzJobMetrics;
+    
     /**
      * 调度任务
      */
@@ -73,6 +78,9 @@ public class QuartzTaskScheduler {
             
             if (scheduler.checkExists(jobKey)) {
                 scheduler.deleteJob(jobKey);
+                if (quartzJobMetrics != null) {
+                    quartzJobMetrics.remove(jobKey.getName());
+                }
                 logger.info("任务已从Quartz中移除 - TaskId: {}", taskId);
             }
         } catch (SchedulerException e) {
@@ -113,6 +121,7 @@ public class QuartzTaskScheduler {
         jobDataMap.put("executorService", task.getExecutorService());
         jobDataMap.put("taskParams", task.getTaskParams());
         jobDataMap.put("timeoutSeconds", task.getTimeoutSeconds());
+        TaskJobContext.capture(jobDataMap, task);
         
         return JobBuilder.newJob(TaskExecutionJob.class)
             .withIdentity("task-" + task.getTaskId())
@@ -137,6 +146,9 @@ public class QuartzTaskScheduler {
         } else if (task.getTaskType() == TaskType.CRON) {
             // Cron任务
             CronScheduleBuilder cronSchedule = CronScheduleBuilder.cronSchedule(task.getScheduleExpression());
+            if (task.getTimeZone() != null && !task.getTimeZone().isBlank()) {
+                cronSchedule = cronSchedule.inTimeZone(TimeZone.getTimeZone(ZoneId.of(task.getTimeZone())));
+            }
             triggerBuilder.withSchedule(cronSchedule);
         } else if (task.getTaskType() == TaskType.INTERVAL) {
             // 间隔任务
@@ -5,6 +5,7 @@ import com.aixone.eventcenter.schedule.domain.Task;
 import com.aixone.eventcenter.schedule.domain.TaskRepository;
 import com.aixone.common.session.SessionContext;
 import org.quartz.Job;
+import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.slf4j.Logger;
@@ -14,7 +15,7 @@ import org.springframework.stereotype.Component;
 
 /**
  * 任务执行Job
- * Quartz调度的任务执行器
+ * Quartz调度的任务执行器，执行前从 JobDataMap 恢复调度时记录的租户、用户和链路上下文
  */
 @Component
 public class TaskExecutionJob implements Job {
@@ -29,15 +30,24 @@ public class TaskExecutionJob implements Job {
     
     @Override
     public void execute(JobExecutionContext context) throws JobExecutionException {
+        JobDataMap jobDataMap = context.getMergedJobDataMap();
+        Long taskId = jobDataMap.getLong("taskId");
+        String taskName = jobDataMap.getString("taskName");
+        
+        try (TaskJobContext.Scope ignored = TaskJobContext.restore(jobDataMap)) {
+            executeInContext(taskId, taskName);
+        }
+    }
+    
+    private void executeInContext(Long taskId, String taskName) throws JobExecutionException {
         try {
-            // 获取任务信息
-            Long taskId = context.getJobDetail().getJobDataMap().getLong("taskId");
-            String taskName = context.getJobDetail().getJobDataMap().getString("taskName");
-            
             logger.info("开始执行任务 - TaskId: {}, TaskName: {}", taskId, taskName);
             
             // 查找任务
             String tenantId = SessionContext.getTenantId();
+            if (tenantId == null) {
+                throw new JobExecutionException("任务缺少租户上下文: " + taskId);
+            }
             Task task = taskRepository.findByIdAndTenantId(taskId, tenantId)
                 .orElseThrow(() -> new JobExecutionException("任务不存在: " + taskId));
             
@@ -52,9 +62,11 @@ public class TaskExecutionJob implements Job {
             
             logger.info("任务执行完成 - TaskId: {}, TaskName: {}", taskId, taskName);
             
+        } catch (JobExecutionException e) {
+            logger.error("任务执行异常 - TaskId: {}, Error: {}", taskId, e.getMessage());
+            throw e;
         } catch (Exception e) {
-            logger.error("任务执行异常 - TaskId: {}, Error: {}", 
-                context.getJobDetail().getJobDataMap().getLong("taskId"), e.getMessage(), e);
+            logger.error("任务执行异常 - TaskId: {}, Error: {}", taskId, e.getMessage(), e);
             throw new JobExecutionException("任务执行失败", e);
         }
     }
@@ -0,0 +1,88 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import com.aixone.common.session.SessionContext;
+import com.aixone.eventcenter.schedule.domain.Task;
+import org.quartz.JobDataMap;
+import org.slf4j.MDC;
+
+import java.util.UUID;
+
+/**
+ * Quartz 任务执行上下文
+ * 调度时把租户、用户和链路标识写入 JobDataMap，执行时在 Quartz 工作线程上恢复为会话上下文和日志 MDC，
+ * 执行结束后还原工作线程原有的上下文
+ */
+public final class TaskJobContext {
+
+    public static final String TENANT_ID = "context.tenantId";
+    public static final String USER_ID = "context.userId";
+    public static final String TRACE_ID = "context.traceId";
+
+    /** 日志 MDC 中的链路标识 */
+    public static final String MDC_TRACE_ID = "traceId";
+    /** 日志 MDC 中的租户标识 */
+    public static final String MDC_TENANT_ID = "tenantId";
+
+    private TaskJobContext() {
+    }
+
+    /**
+     * 在调度时记录上下文：租户以任务所属租户为准，用户取当前会话或任务创建者
+     */
+    public static void capture(JobDataMap jobDataMap, Task task) {
+        String tenantId = task.getTenantId() != null ? task.getTenantId() : SessionContext.getTenantId();
+        String userId = SessionContext.getUserId() != null ? SessionContext.getUserId() : task.getCreator();
+        putIfPresent(jobDataMap, TENANT_ID, tenantId);
+        putIfPresent(jobDataMap, USER_ID, userId);
+        putIfPresent(jobDataMap, TRACE_ID, MDC.get(MDC_TRACE_ID));
+    }
+
+    /**
+     * 在执行线程上恢复上下文，关闭时还原线程原有的上下文
+     * 调度时没有链路标识的任务每次执行生成新的链路标识
+     */
+    public static Scope restore(JobDataMap jobDataMap) {
+        SessionContext.SessionInfo previousSession = SessionContext.get();
+        String previousTraceId = MDC.get(MDC_TRACE_ID);
+        String previousTenantId = MDC.get(MDC_TENANT_ID);
+
+        String tenantId = jobDataMap.getString(TENANT_ID);
+        String traceId = jobDataMap.getString(TRACE_ID);
+        SessionContext.set(new SessionContext.SessionInfo(jobDataMap.getString(USER_ID), tenantId));
+        MDC.put(MDC_TRACE_ID, traceId != null ? traceId : UUID.randomUUID().toString());
+        putMdc(MDC_TENANT_ID, tenantId);
+
+        return () -> {
+            if (previousSession != null) {
+                SessionContext.set(previousSession);
+            } else {
+                SessionContext.clear();
+            }
+            putMdc(MDC_TRACE_ID, previousTraceId);
+            putMdc(MDC_TENANT_ID, previousTenantId);
+        };
+    }
+
+    private static void putIfPresent(JobDataMap jobDataMap, String key, String value) {
+        if (value != null) {
+            jobDataMap.put(key, value);
+        }
+    }
+
+    private static void putMdc(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        } else {
+            MDC.remove(key);
+        }
+    }
+
+    /**
+     * 已恢复的上下文，关闭时还原
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
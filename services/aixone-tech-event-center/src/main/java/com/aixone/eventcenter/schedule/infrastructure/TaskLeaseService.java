@@ -0,0 +1,106 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import com.aixone.eventcenter.schedule.domain.TaskLease;
+import com.aixone.eventcenter.schedule.domain.TaskLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 任务执行租约服务
+ * 执行节点发送任务前先认领任务的租约行：同一计划执行时间只会被一个节点认领，
+ * 上一次执行的租约释放前不会再次执行；租约在收到执行结果时释放，持有节点失联时到期后由其他节点接管
+ */
+@Service
+@Transactional
+public class TaskLeaseService {
+
+    @Autowired
+    private TaskLeaseRepository leaseRepository;
+
+    /**
+     * 认领结果
+     */
+    public enum Claim {
+        /** 认领成功 */
+        ACQUIRED,
+        /** 上一次执行的租约尚未释放 */
+        HELD,
+        /** 该计划执行时间已被其他节点认领 */
+        ALREADY_FIRED
+    }
+
+    /**
+     * 确保任务有租约行，任务创建时调用
+     */
+    public void ensureLease(Long taskId, String tenantId) {
+        if (!leaseRepository.existsById(taskId)) {
+            leaseRepository.save(new TaskLease(taskId, tenantId));
+        }
+    }
+
+    /**
+     * 认领任务某个计划执行时间的执行租约，任务还没有租约行时创建
+     * @param fireTime 计划执行时间，立即执行时为当前时间
+     * @param deadline 执行截止时间，超过后不再续约
+     */
+    public Claim acquire(Long taskId, String tenantId, String nodeId, Instant fireTime,
+                         Instant leaseUntil, Instant deadline, Instant now) {
+        if (leaseRepository.acquire(taskId, nodeId, fireTime, leaseUntil, deadline, now) > 0) {
+            return Claim.ACQUIRED;
+        }
+        TaskLease lease = leaseRepository.findById(taskId).orElse(null);
+        if (lease == null) {
+            lease = new TaskLease(taskId, tenantId);
+            lease.acquire(nodeId, fireTime, leaseUntil, deadline, now);
+            leaseRepository.save(lease);
+            return Claim.ACQUIRED;
+        }
+        if (lease.getFireTime() != null && !lease.getFireTime().isBefore(fireTime)) {
+            return Claim.ALREADY_FIRED;
+        }
+        return Claim.HELD;
+    }
+
+    /**
+     * 记录租约对应的执行记录
+     */
+    public void bindLog(Long taskId, String nodeId, Long logId) {
+        leaseRepository.bindLog(taskId, nodeId, logId);
+    }
+
+    /**
+     * 接管已到期的租约
+     * @param expectedOwner 查询到期租约时的持有节点，租约已被其他节点接管时不生效
+     * @return 是否接管成功
+     */
+    public boolean takeOver(Long taskId, String expectedOwner, String nodeId, Instant leaseUntil, Instant now) {
+        return leaseRepository.takeOver(taskId, expectedOwner, nodeId, leaseUntil, now) > 0;
+    }
+
+    /**
+     * 收到执行结果后释放租约
+     * @return 是否已释放，租约已被回收并重新认领时返回 false
+     */
+    public boolean release(Long taskId, Long logId) {
+        return logId != null && leaseRepository.releaseByLog(taskId, logId) > 0;
+    }
+
+    /**
+     * 释放节点持有的租约
+     */
+    public boolean releaseOwned(Long taskId, String nodeId) {
+        return leaseRepository.releaseByOwner(taskId, nodeId) > 0;
+    }
+
+    /**
+     * 查找已到期仍被持有的租约
+     */
+    @Transactional(readOnly = true)
+    public List<TaskLease> findExpired(Instant now, int limit) {
+        return leaseRepository.findExpired(now, limit);
+    }
+}
@@ -0,0 +1,120 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 任务调度队列
+ * 按下次执行时间排序的内存最小堆，到期任务直接从堆顶取出，不轮询数据库：
+ * - 每个任务只保留最新的一次调度，重新调度时旧条目作废（出堆时跳过）
+ * - 取消调度只移除索引，堆中的作废条目在出堆时清理
+ */
+@Component
+public class TaskScheduleQueue {
+
+    private final PriorityQueue<ScheduledTask> heap = new PriorityQueue<>(
+            Comparator.comparing(ScheduledTask::getFireTime).thenComparing(ScheduledTask::getTaskId));
+    private final Map<Long, ScheduledTask> current = new HashMap<>();
+
+    /**
+     * 调度任务，替换该任务已有的调度
+     */
+    public synchronized void schedule(Long taskId, String tenantId, Instant fireTime) {
+        ScheduledTask task = new ScheduledTask(taskId, tenantId, fireTime);
+        current.put(taskId, task);
+        heap.add(task);
+        compactIfNeeded();
+    }
+
+    /**
+     * 取消任务调度
+     */
+    public synchronized void cancel(Long taskId) {
+        current.remove(taskId);
+        compactIfNeeded();
+    }
+
+    /**
+     * 取出已到期的任务，按执行时间先后返回
+     */
+    public synchronized List<ScheduledTask> pollDue(Instant now, int limit) {
+        List<ScheduledTask> due = new ArrayList<>();
+        while (due.size() < limit && !heap.isEmpty() && !heap.peek().getFireTime().isAfter(now)) {
+            ScheduledTask task = heap.poll();
+            if (current.get(task.getTaskId()) == task) {
+                current.remove(task.getTaskId());
+                due.add(task);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * 任务当前的调度，未调度时返回 null
+     */
+    public synchronized ScheduledTask get(Long taskId) {
+        return current.get(taskId);
+    }
+
+    /**
+     * 租户已调度的任务，按执行时间先后返回；租户为空时返回空列表
+     */
+    public synchronized List<ScheduledTask> scheduledTasks(String tenantId, int limit) {
+        return current.values().stream()
+                .filter(task -> tenantId != null && tenantId.equals(task.getTenantId()))
+                .sorted(heap.comparator())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 最早的下次执行时间，队列为空时返回 null
+     */
+    public synchronized Instant nextFireTime() {
+        while (!heap.isEmpty() && current.get(heap.peek().getTaskId()) != heap.peek()) {
+            heap.poll();
+        }
+        return heap.isEmpty() ? null : heap.peek().getFireTime();
+    }
+
+    /**
+     * 已调度的任务数
+     */
+    public synchronized int size() {
+        return current.size();
+    }
+
+    /**
+     * 作废条目过多时重建堆，避免频繁重新调度的任务占用内存
+     */
+    private void compactIfNeeded() {
+        if (heap.size() > 64 && heap.size() > current.size() * 2) {
+            heap.clear();
+            heap.addAll(current.values());
+        }
+    }
+
+    /**
+     * 已调度的任务
+     */
+    @Getter
+    public static final class ScheduledTask {
+        private final Long taskId;
+        private final String tenantId;
+        private final Instant fireTime;
+
+        ScheduledTask(Long taskId, String tenantId, Instant fireTime) {
+            this.taskId = taskId;
+            this.tenantId = tenantId;
+            this.fireTime = fireTime;
+        }
+    }
+}
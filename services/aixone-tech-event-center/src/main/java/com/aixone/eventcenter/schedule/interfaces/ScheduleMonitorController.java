@@ -3,10 +3,19 @@ package com.aixone.eventcenter.schedule.interfaces;
 import com.aixone.common.api.ApiResponse;
 import com.aixone.eventcenter.schedule.application.TaskApplicationService;
 import com.aixone.eventcenter.schedule.application.TaskSchedulerService;
+import com.aixone.common.session.SessionContext;
 import com.aixone.eventcenter.schedule.domain.Task;
+import com.aixone.eventcenter.schedule.infrastructure.ExecutorNodeRegistry;
+import com.aixone.eventcenter.schedule.infrastructure.QuartzJobMetrics;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SchedulerMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
@@ -21,12 +30,23 @@ import java.util.Map;
 @RequestMapping("/api/v1/schedule/monitor")
 public class ScheduleMonitorController {
     
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleMonitorController.class);
+    
     @Autowired
     private TaskApplicationService taskApplicationService;
     
     @Autowired
     private TaskSchedulerService taskSchedulerService;
     
+    @Autowired
+    private ExecutorNodeRegistry nodeRegistry;
+    
+    @Autowired(required = false)
+    private QuartzJobMetrics quartzJobMetrics;
+    
+    @Autowired(required = false)
+    private Scheduler scheduler;
+    
     /**
      * 获取调度中心状态
      */
@@ -58,6 +78,9 @@ public class ScheduleMonitorController {
         long totalTasks = pendingTasks.size() + runningTasks.size() + successTasks.size() + failTasks.size() + pausedTasks.size();
         status.put("totalTasks", totalTasks);
         
+        // 调度队列中的任务数（所有租户）
+        status.put("scheduledTasks", taskSchedulerService.getScheduledTaskCount());
+        
         // 计算成功率
         long completedTasks = successTasks.size() + failTasks.size();
         double successRate = completedTasks > 0 ? (double) successTasks.size() / completedTasks * 100 : 0.0;
@@ -71,10 +94,58 @@ public class ScheduleMonitorController {
      */
     @GetMapping("/pending-tasks")
     public ApiResponse<List<Task>> getPendingTasks() {
+        if (SessionContext.getTenantId() == null) {
+            return ApiResponse.error(40001, "缺少租户ID");
+        }
         List<Task> pendingTasks = taskSchedulerService.getPendingTasks();
         return ApiResponse.success(pendingTasks);
     }
     
+    /**
+     * 获取Quartz任务执行指标
+     * 包含线程池使用情况、执行耗时、错过触发次数和排队延迟，按最大执行耗时降序列出当前租户的任务
+     */
+    @GetMapping("/quartz-metrics")
+    public ApiResponse<Map<String, Object>> getQuartzMetrics(@RequestParam(defaultValue = "50") int limit) {
+        String tenantId = SessionContext.getTenantId();
+        if (tenantId == null) {
+            return ApiResponse.error(40001, "缺少租户ID");
+        }
+        Map<String, Object> metrics = new HashMap<>();
+        
+        if (scheduler != null) {
+            try {
+                SchedulerMetaData metaData = scheduler.getMetaData();
+                metrics.put("threadPoolSize", metaData.getThreadPoolSize());
+                metrics.put("jobsExecuted", metaData.getNumberOfJobsExecuted());
+                metrics.put("executingJobs", scheduler.getCurrentlyExecutingJobs().size());
+            } catch (SchedulerException e) {
+                logger.warn("获取Quartz调度器状态失败 - Error: {}", e.getMessage());
+            }
+        }
+        
+        if (quartzJobMetrics != null) {
+            metrics.put("summary", quartzJobMetrics.summary(tenantId));
+            metrics.put("jobs", quartzJobMetrics.snapshot(tenantId, Math.max(1, Math.min(limit, 500))));
+        }
+        
+        return ApiResponse.success(metrics);
+    }
+    
+    /**
+     * 获取执行节点状态
+     * 包含本节点的执行槽位使用情况和所有在线节点最近一次心跳的信息
+     */
+    @GetMapping("/executor-nodes")
+    public ApiResponse<Map<String, Object>> getExecutorNodes() {
+        Map<String, Object> nodes = new HashMap<>();
+        nodes.put("nodeId", nodeRegistry.getNodeId());
+        nodes.put("runningTasks", nodeRegistry.getRunningCount());
+        nodes.put("maxConcurrency", nodeRegistry.getMaxConcurrency());
+        nodes.put("activeNodes", nodeRegistry.activeNodes());
+        return ApiResponse.success(nodes);
+    }
+    
     /**
      * 获取调度中心健康状态
      */
@@ -0,0 +1,15 @@
+-- AixOne事件中心数据库迁移脚本 V2
+-- 订阅批量投递配置与批量分发记录
+
+-- 1. 订阅批量投递配置（batch_size 为空或不大于1时逐条投递）
+ALTER TABLE subscriptions ADD COLUMN IF NOT EXISTS batch_size INTEGER;
+ALTER TABLE subscriptions ADD COLUMN IF NOT EXISTS batch_linger_ms INTEGER;
+ALTER TABLE subscriptions ADD COLUMN IF NOT EXISTS partition_key VARCHAR(200);
+
+-- 2. 批量分发记录覆盖的事件ID（逗号分隔，单条分发记录为空）
+ALTER TABLE event_delivery_records ADD COLUMN IF NOT EXISTS batch_event_ids TEXT;
+
+COMMENT ON COLUMN subscriptions.batch_size IS '批量投递的最大事件数，为空或不大于1时逐条投递';
+COMMENT ON COLUMN subscriptions.batch_linger_ms IS '批量投递的最长等待时间（毫秒）';
+COMMENT ON COLUMN subscriptions.partition_key IS '保序分区键，事件数据中的字段路径（点分隔），为空时整个订阅保序';
+COMMENT ON COLUMN event_delivery_records.batch_event_ids IS '批量分发记录覆盖的事件ID，逗号分隔';
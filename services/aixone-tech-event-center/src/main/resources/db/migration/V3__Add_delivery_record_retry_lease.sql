@@ -0,0 +1,10 @@
+-- AixOne事件中心数据库迁移脚本 V3
+-- 分发记录重试租约：多个节点认领不同的重试记录，节点宕机后租约过期可被重新认领
+
+ALTER TABLE event_delivery_records ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(100);
+ALTER TABLE event_delivery_records ADD COLUMN IF NOT EXISTS lease_until TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_delivery_records_lease_owner ON event_delivery_records(lease_owner) WHERE lease_owner IS NOT NULL;
+
+COMMENT ON COLUMN event_delivery_records.lease_owner IS '重试租约持有者（节点认领令牌）';
+COMMENT ON COLUMN event_delivery_records.lease_until IS '重试租约到期时间，到期后其他节点可重新认领';
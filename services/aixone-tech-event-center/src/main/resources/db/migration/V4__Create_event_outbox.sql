@@ -0,0 +1,32 @@
+-- AixOne事件中心数据库迁移脚本 V4
+-- 事务性发件箱：事件与待发送消息在同一事务中写入，由中继按顺序批量发送到Kafka或订阅路由
+
+CREATE TABLE IF NOT EXISTS event_outbox (
+    outbox_id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    tenant_id VARCHAR(50),
+    destination VARCHAR(20) NOT NULL,
+    topic_name VARCHAR(255),
+    message_key VARCHAR(255),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    max_attempts INTEGER NOT NULL DEFAULT 10,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    lease_owner VARCHAR(100),
+    lease_until TIMESTAMP,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP,
+    CONSTRAINT fk_event_outbox_event FOREIGN KEY (event_id) REFERENCES events(event_id) ON DELETE CASCADE
+);
+
+-- 创建索引
+CREATE INDEX IF NOT EXISTS idx_event_outbox_pending ON event_outbox(outbox_id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_event_outbox_lease_owner ON event_outbox(lease_owner) WHERE lease_owner IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_event_outbox_sent_at ON event_outbox(sent_at) WHERE status = 'SENT';
+
+COMMENT ON TABLE event_outbox IS '事件发件箱，与事件同事务写入，由中继发送';
+COMMENT ON COLUMN event_outbox.destination IS '发送目标：ROUTER（订阅路由）或 KAFKA';
+COMMENT ON COLUMN event_outbox.status IS '状态：PENDING 待发送，SENT 已确认，FAILED 超过最大尝试次数';
+COMMENT ON COLUMN event_outbox.lease_owner IS '中继租约持有者（节点认领令牌）';
+COMMENT ON COLUMN event_outbox.lease_until IS '中继租约到期时间，到期后其他节点可重新认领';
@@ -0,0 +1,7 @@
+-- AixOne事件中心数据库迁移脚本 V5
+-- 任务调度引擎：Cron任务按任务时区计算下次执行时间，启动时从下次执行时间恢复调度队列
+
+ALTER TABLE schedule_tasks ADD COLUMN IF NOT EXISTS time_zone VARCHAR(50);
+
+COMMENT ON COLUMN schedule_tasks.time_zone IS 'Cron表达式使用的时区，为空时使用调度中心默认时区';
+COMMENT ON COLUMN schedule_tasks.next_execute_time IS '下次执行时间，节点重启后据此恢复调度队列';
@@ -0,0 +1,45 @@
+-- AixOne事件中心数据库迁移脚本 V6
+-- 执行节点租约：多个调度节点通过任务租约行认领执行，节点以心跳续约，节点失联后其他节点接管其执行中的任务
+
+CREATE TABLE IF NOT EXISTS schedule_executor_nodes (
+    node_id VARCHAR(100) PRIMARY KEY,
+    host_name VARCHAR(255),
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    max_concurrency INTEGER NOT NULL,
+    running_tasks INTEGER NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_heartbeat TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS schedule_task_leases (
+    task_id BIGINT PRIMARY KEY,
+    tenant_id VARCHAR(50),
+    lease_owner VARCHAR(100),
+    lease_until TIMESTAMP,
+    fire_time TIMESTAMP,
+    deadline TIMESTAMP,
+    log_id BIGINT,
+    acquired_at TIMESTAMP,
+    CONSTRAINT fk_task_lease_task FOREIGN KEY (task_id) REFERENCES schedule_tasks(task_id) ON DELETE CASCADE
+);
+
+-- 已有任务预先创建租约行，认领只需条件更新
+INSERT INTO schedule_task_leases (task_id, tenant_id)
+SELECT task_id, tenant_id FROM schedule_tasks
+ON CONFLICT (task_id) DO NOTHING;
+
+-- 创建索引
+CREATE INDEX IF NOT EXISTS idx_executor_nodes_heartbeat ON schedule_executor_nodes(last_heartbeat) WHERE status = 'ACTIVE';
+CREATE INDEX IF NOT EXISTS idx_task_leases_owner ON schedule_task_leases(lease_owner) WHERE lease_owner IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_task_leases_until ON schedule_task_leases(lease_until) WHERE lease_owner IS NOT NULL;
+
+COMMENT ON TABLE schedule_executor_nodes IS '调度执行节点注册表，节点定期写入心跳';
+COMMENT ON COLUMN schedule_executor_nodes.status IS '状态：ACTIVE 在线，DEAD 心跳超时，LEFT 已正常下线';
+COMMENT ON COLUMN schedule_executor_nodes.max_concurrency IS '节点最多同时持有的执行租约数';
+COMMENT ON COLUMN schedule_executor_nodes.running_tasks IS '最近一次心跳时节点持有的执行租约数';
+COMMENT ON TABLE schedule_task_leases IS '任务执行租约，每个任务一行，同一时刻只有一个节点持有';
+COMMENT ON COLUMN schedule_task_leases.lease_owner IS '租约持有节点，为空表示任务未在执行';
+COMMENT ON COLUMN schedule_task_leases.lease_until IS '租约到期时间，持有节点心跳续约，到期后其他节点可接管';
+COMMENT ON COLUMN schedule_task_leases.fire_time IS '最近一次认领的计划执行时间，同一计划执行时间只能认领一次';
+COMMENT ON COLUMN schedule_task_leases.deadline IS '执行截止时间，超过后不再续约，由其他节点按执行失败回收';
+COMMENT ON COLUMN schedule_task_leases.log_id IS '租约对应的执行记录ID';
@@ -0,0 +1,8 @@
+-- AixOne事件中心数据库迁移脚本 V7
+-- 批量通知异步发送：同一次批量发送的通知共用批量发送ID，按批量发送ID查询发送进度
+
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS bulk_id VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_tenant_bulk_id ON notifications(tenant_id, bulk_id);
+
+COMMENT ON COLUMN notifications.bulk_id IS '批量发送ID，逐条发送的通知为空';
@@ -0,0 +1,12 @@
+-- AixOne事件中心数据库迁移脚本 V8
+-- 批量通知恢复：批量写入的通知带发送租约，租约到期仍待发送的通知由恢复任务认领后重新发送
+
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(100);
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS lease_until TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_bulk_pending ON notifications(lease_until)
+    WHERE status = 'PENDING' AND bulk_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_notifications_lease_owner ON notifications(lease_owner) WHERE lease_owner IS NOT NULL;
+
+COMMENT ON COLUMN notifications.lease_owner IS '恢复任务租约持有者（节点认领令牌），批量发送写入时为空';
+COMMENT ON COLUMN notifications.lease_until IS '发送租约到期时间，到期后仍待发送的批量通知可被恢复任务认领';
@@ -1,6 +1,9 @@
 package com.aixone.eventcenter.event.application;
 
 import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.EventOutboxMessage;
+import com.aixone.eventcenter.event.domain.EventOutboxRepository;
+import com.aixone.eventcenter.event.domain.EventOutboxWrittenEvent;
 import com.aixone.eventcenter.event.domain.EventRepository;
 import com.aixone.eventcenter.event.infrastructure.KafkaEventPublisher;
 import com.aixone.common.ddd.DomainEvent;
@@ -9,6 +12,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
@@ -36,7 +40,10 @@ class EventApplicationServiceTest {
     private KafkaEventPublisher kafkaEventPublisher;
 
     @Mock
-    private EventRoutingService eventRoutingService;
+    private EventOutboxRepository outboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private EventApplicationService eventApplicationService;
 
@@ -58,9 +65,13 @@ class EventApplicationServiceTest {
             kafkaEventPublisherField.setAccessible(true);
             kafkaEventPublisherField.set(eventApplicationService, kafkaEventPublisher);
             
-            java.lang.reflect.Field eventRoutingServiceField = EventApplicationService.class.getDeclaredField("eventRoutingService");
-            eventRoutingServiceField.setAccessible(true);
-            eventRoutingServiceField.set(eventApplicationService, eventRoutingService);
+            java.lang.reflect.Field outboxRepositoryField = EventApplicationService.class.getDeclaredField("outboxRepository");
+            outboxRepositoryField.setAccessible(true);
+            outboxRepositoryField.set(eventApplicationService, outboxRepository);
+            
+            java.lang.reflect.Field eventPublisherField = EventApplicationService.class.getDeclaredField("eventPublisher");
+            eventPublisherField.setAccessible(true);
+            eventPublisherField.set(eventApplicationService, eventPublisher);
         } catch (Exception e) {
             throw new RuntimeException("Failed to set up EventApplicationService dependencies", e);
         }
@@ -77,7 +88,6 @@ class EventApplicationServiceTest {
             Event savedEvent = createValidEvent();
             savedEvent.setEventId(1L);
             when(eventRepository.save(any(Event.class))).thenReturn(savedEvent);
-            doNothing().when(eventRoutingService).routeAndDistributeAsync(any(Event.class));
 
             // When
             Event result = eventApplicationService.publishEvent(TEST_EVENT_TYPE, TEST_SOURCE, TEST_DATA, TEST_TENANT_ID);
@@ -91,7 +101,27 @@ class EventApplicationServiceTest {
             assertEquals(TEST_TENANT_ID, result.getTenantId());
             assertNotNull(result.getCreatedAt());
             verify(eventRepository).save(any(Event.class));
-            verify(eventRoutingService).routeAndDistributeAsync(any(Event.class));
+        }
+
+        @Test
+        @DisplayName("应该在同一事务中写入路由发件箱消息并唤醒中继")
+        void shouldWriteRoutingOutboxMessage() {
+            // Given
+            Event savedEvent = createValidEvent();
+            savedEvent.setEventId(1L);
+            when(eventRepository.save(any(Event.class))).thenReturn(savedEvent);
+
+            // When
+            eventApplicationService.publishEvent(TEST_EVENT_TYPE, TEST_SOURCE, TEST_DATA, TEST_TENANT_ID);
+
+            // Then
+            ArgumentCaptor<EventOutboxMessage> captor = ArgumentCaptor.forClass(EventOutboxMessage.class);
+            verify(outboxRepository).save(captor.capture());
+            EventOutboxMessage message = captor.getValue();
+            assertEquals(1L, message.getEventId());
+            assertEquals(EventOutboxMessage.Destination.ROUTER, message.getDestination());
+            assertEquals(EventOutboxMessage.OutboxStatus.PENDING, message.getStatus());
+            verify(eventPublisher).publishEvent(any(EventOutboxWrittenEvent.class));
         }
 
         @Test
@@ -103,7 +133,6 @@ class EventApplicationServiceTest {
                 event.setEventId(1L);
                 return event;
             });
-            doNothing().when(eventRoutingService).routeAndDistributeAsync(any(Event.class));
             Instant beforePublish = Instant.now();
 
             // When
@@ -129,18 +158,37 @@ class EventApplicationServiceTest {
             Event savedEvent = createValidEvent();
             savedEvent.setEventId(1L);
             when(eventRepository.save(any(Event.class))).thenReturn(savedEvent);
-            doNothing().when(kafkaEventPublisher).publishEvent(topicName, savedEvent);
-            doNothing().when(eventRoutingService).routeAndDistributeAsync(any(Event.class));
 
             // When
             Event result = eventApplicationService.publishEventToKafka(topicName, TEST_EVENT_TYPE, TEST_SOURCE, TEST_DATA, TEST_TENANT_ID);
 
-            // Then
+            // Then：事件只保存一次，Kafka消息写入发件箱，收到确认前保持待处理
             assertNotNull(result);
             assertEquals(savedEvent, result);
-            verify(eventRepository, atLeastOnce()).save(any(Event.class));
-            verify(kafkaEventPublisher).publishEvent(topicName, savedEvent);
-            verify(eventRoutingService).routeAndDistributeAsync(any(Event.class));
+            assertEquals(Event.EventStatus.PENDING, result.getStatus());
+            verify(eventRepository, times(1)).save(any(Event.class));
+            verify(kafkaEventPublisher).validateTopic(topicName);
+            verify(kafkaEventPublisher, never()).publishEvent(anyString(), any(Event.class));
+            ArgumentCaptor<EventOutboxMessage> captor = ArgumentCaptor.forClass(EventOutboxMessage.class);
+            verify(outboxRepository).save(captor.capture());
+            assertEquals(EventOutboxMessage.Destination.KAFKA, captor.getValue().getDestination());
+            assertEquals(topicName, captor.getValue().getTopicName());
+            assertEquals("1", captor.getValue().getMessageKey());
+        }
+
+        @Test
+        @DisplayName("Topic校验失败时不应该写入事件")
+        void shouldRejectInvalidTopicWithoutSaving() {
+            // Given
+            String topicName = "unknown-topic";
+            doThrow(new IllegalArgumentException("Topic未注册: " + topicName))
+                    .when(kafkaEventPublisher).validateTopic(topicName);
+
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> eventApplicationService.publishEventToKafka(
+                    topicName, TEST_EVENT_TYPE, TEST_SOURCE, TEST_DATA, TEST_TENANT_ID));
+            verify(eventRepository, never()).save(any(Event.class));
+            verifyNoInteractions(outboxRepository);
         }
 
         @Test
@@ -153,8 +201,6 @@ class EventApplicationServiceTest {
                 event.setEventId(1L);
                 return event;
             });
-            doNothing().when(kafkaEventPublisher).publishEvent(anyString(), any(Event.class));
-            doNothing().when(eventRoutingService).routeAndDistributeAsync(any(Event.class));
             Instant beforePublish = Instant.now();
 
             // When
@@ -227,40 +273,38 @@ class EventApplicationServiceTest {
     class DomainEventPublishTests {
 
         @Test
-        @DisplayName("发布事件应该发布领域事件")
-        void publishEventShouldPublishDomainEvent() {
+        @DisplayName("发布事件应该通知发件箱中继")
+        void publishEventShouldNotifyOutboxRelay() {
             // Given
             Event savedEvent = createValidEvent();
             savedEvent.setEventId(1L);
             when(eventRepository.save(any(Event.class))).thenReturn(savedEvent);
-            doNothing().when(eventRoutingService).routeAndDistributeAsync(any(Event.class));
 
             // When
             eventApplicationService.publishEvent(TEST_EVENT_TYPE, TEST_SOURCE, TEST_DATA, TEST_TENANT_ID);
 
             // Then
-            verify(eventRepository).save(any(Event.class));
-            verify(eventRoutingService).routeAndDistributeAsync(any(Event.class));
+            ArgumentCaptor<EventOutboxWrittenEvent> captor = ArgumentCaptor.forClass(EventOutboxWrittenEvent.class);
+            verify(eventPublisher).publishEvent(captor.capture());
+            assertEquals(1L, captor.getValue().getEventId());
+            assertEquals(TEST_TENANT_ID, captor.getValue().getTenantId());
         }
 
         @Test
-        @DisplayName("发布到Kafka应该发布领域事件")
-        void publishToKafkaShouldPublishDomainEvent() {
+        @DisplayName("发布到Kafka应该通知发件箱中继")
+        void publishToKafkaShouldNotifyOutboxRelay() {
             // Given
             String topicName = "test-topic";
             Event savedEvent = createValidEvent();
             savedEvent.setEventId(1L);
             when(eventRepository.save(any(Event.class))).thenReturn(savedEvent);
-            doNothing().when(kafkaEventPublisher).publishEvent(topicName, savedEvent);
-            doNothing().when(eventRoutingService).routeAndDistributeAsync(any(Event.class));
 
             // When
             eventApplicationService.publishEventToKafka(topicName, TEST_EVENT_TYPE, TEST_SOURCE, TEST_DATA, TEST_TENANT_ID);
 
             // Then
-            verify(eventRepository, atLeastOnce()).save(any(Event.class));
-            verify(kafkaEventPublisher).publishEvent(topicName, savedEvent);
-            verify(eventRoutingService).routeAndDistributeAsync(any(Event.class));
+            verify(outboxRepository).save(any(EventOutboxMessage.class));
+            verify(eventPublisher).publishEvent(any(EventOutboxWrittenEvent.class));
         }
     }
 
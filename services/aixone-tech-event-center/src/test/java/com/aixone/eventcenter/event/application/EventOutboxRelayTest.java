@@ -0,0 +1,399 @@
+package com.aixone.eventcenter.event.application;
+
+import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.EventOutboxMessage;
+import com.aixone.eventcenter.event.domain.EventRepository;
+import com.aixone.eventcenter.event.infrastructure.EventOutboxService;
+import com.aixone.eventcenter.event.infrastructure.RoutingExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EventOutboxRelay 应用服务测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventOutboxRelay 应用服务测试")
+class EventOutboxRelayTest {
+
+    private static final String TENANT_ID = "tenant-001";
+    private static final String TOPIC = "order-events";
+
+    @Mock
+    private EventOutboxService outboxService;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private InMemoryOutboxPublisher publisher;
+    private EventOutboxRelay relay;
+    private final Map<Long, Event> events = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        publisher = new InMemoryOutboxPublisher();
+        relay = new EventOutboxRelay();
+        setField("outboxService", outboxService);
+        setField("eventRepository", eventRepository);
+        setField("outboxPublisher", publisher);
+        setField("batchSize", 2);
+        setField("leaseMs", 60_000L);
+        setField("ackTimeoutMs", 200L);
+        setField("retentionHours", 72L);
+        setField("nodeId", "node-a");
+        relay.init();
+        lenient().when(eventRepository.findByEventIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(events::get).filter(Objects::nonNull).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+    }
+
+    @Test
+    @DisplayName("路由消息应该按写入顺序路由并标记为已发送")
+    void shouldRouteInOrderAndMarkSent() {
+        // Given
+        List<EventOutboxMessage> batch = List.of(routing(1L, event(100L)), routing(2L, event(101L)));
+
+        // When
+        relay.relayBatch(batch);
+
+        // Then
+        assertEquals(List.of(100L, 101L), publisher.routed);
+        assertTrue(batch.stream().allMatch(m -> m.getStatus() == EventOutboxMessage.OutboxStatus.SENT));
+        assertTrue(batch.stream().allMatch(m -> m.getLeaseOwner() == null && m.getSentAt() != null));
+        verify(outboxService).saveResults(eq(batch), eq(List.of()));
+    }
+
+    @Test
+    @DisplayName("Kafka确认成功后应该标记事件已发布并路由，确认失败时等待退避后再发送")
+    void shouldUseAckResultForKafkaMessages() {
+        // Given
+        Event acked = event(100L);
+        Event rejected = event(101L);
+        EventOutboxMessage first = kafka(1L, acked);
+        EventOutboxMessage second = kafka(2L, rejected);
+        publisher.failures.add(101L);
+
+        // When
+        relay.relayBatch(List.of(first, second));
+
+        // Then：两条消息按顺序发出，只有确认成功的一条被路由
+        assertEquals(List.of(100L, 101L), publisher.sentToKafka);
+        assertEquals(List.of(100L), publisher.routed);
+        assertEquals(EventOutboxMessage.OutboxStatus.SENT, first.getStatus());
+        assertEquals(Event.EventStatus.PUBLISHED, acked.getStatus());
+        assertEquals(EventOutboxMessage.OutboxStatus.PENDING, second.getStatus());
+        assertEquals(1, second.getAttempts());
+        assertTrue(second.getNextAttemptAt().isAfter(Instant.now()));
+        assertTrue(second.getLastError().contains("broker unavailable"));
+        assertEquals(Event.EventStatus.PENDING, rejected.getStatus());
+        verify(outboxService).saveResults(anyList(), argThat((Collection<Event> updated) ->
+                updated.size() == 1 && updated.contains(acked)));
+    }
+
+    @Test
+    @DisplayName("等待确认超时的消息应该再次发送")
+    void shouldRetryWhenAckTimesOut() {
+        // Given
+        EventOutboxMessage message = kafka(1L, event(100L));
+        publisher.pending.add(100L);
+
+        // When
+        relay.relayBatch(List.of(message));
+
+        // Then
+        assertEquals(EventOutboxMessage.OutboxStatus.PENDING, message.getStatus());
+        assertEquals("Kafka发布失败: 等待确认超时", message.getLastError());
+        assertTrue(publisher.routed.isEmpty());
+    }
+
+    @Test
+    @DisplayName("超过最大尝试次数时消息和事件都应该标记为失败")
+    void shouldFailAfterMaxAttempts() {
+        // Given
+        Event event = event(100L);
+        EventOutboxMessage message = kafka(1L, event);
+        message.setAttempts(EventOutboxMessage.DEFAULT_MAX_ATTEMPTS - 1);
+        publisher.failures.add(100L);
+
+        // When
+        relay.relayBatch(List.of(message));
+
+        // Then
+        assertEquals(EventOutboxMessage.OutboxStatus.FAILED, message.getStatus());
+        assertEquals(Event.EventStatus.FAILED, event.getStatus());
+        verify(outboxService).saveResults(anyList(), eq(List.of(event)));
+    }
+
+    @Test
+    @DisplayName("路由失败或事件不存在时不应该影响同批其他消息")
+    void shouldIsolateFailuresWithinBatch() {
+        // Given
+        EventOutboxMessage routeFails = routing(1L, event(100L));
+        EventOutboxMessage missing = new EventOutboxMessage();
+        missing.setOutboxId(2L);
+        missing.setEventId(999L);
+        missing.setDestination(EventOutboxMessage.Destination.ROUTER);
+        EventOutboxMessage ok = routing(3L, event(101L));
+        publisher.failures.add(100L);
+
+        // When
+        relay.relayBatch(List.of(routeFails, missing, ok));
+
+        // Then
+        assertEquals(EventOutboxMessage.OutboxStatus.PENDING, routeFails.getStatus());
+        assertTrue(routeFails.getLastError().startsWith("路由失败"));
+        assertEquals(EventOutboxMessage.OutboxStatus.FAILED, missing.getStatus());
+        assertEquals(EventOutboxMessage.OutboxStatus.SENT, ok.getStatus());
+    }
+
+    @Test
+    @DisplayName("批量投递的分发记录提交前消息不应该标记为已发送")
+    void shouldMarkSentOnlyAfterDeliveryRecordsCommitted() {
+        // Given：事件 101 所在批次的记录未在确认超时内提交，事件 102 的记录提交失败
+        EventOutboxMessage recorded = routing(1L, event(100L));
+        EventOutboxMessage unrecorded = routing(2L, event(101L));
+        EventOutboxMessage failed = routing(3L, event(102L));
+        publisher.unrecorded.add(101L);
+        publisher.recordFailures.add(102L);
+
+        // When
+        relay.relayBatch(List.of(recorded, unrecorded, failed));
+
+        // Then：三条都已路由，只有记录已提交的一条标记为已发送，其余等待退避后再发送
+        assertEquals(List.of(100L, 101L, 102L), publisher.routed);
+        assertEquals(EventOutboxMessage.OutboxStatus.SENT, recorded.getStatus());
+        assertEquals(EventOutboxMessage.OutboxStatus.PENDING, unrecorded.getStatus());
+        assertEquals(1, unrecorded.getAttempts());
+        assertEquals(EventOutboxMessage.OutboxStatus.PENDING, failed.getStatus());
+        assertTrue(failed.getLastError().contains("batch record not saved"));
+    }
+
+    @Test
+    @DisplayName("配置路由执行器时应该在租户所属通道上路由，同一租户内保持写入顺序")
+    void shouldRouteOnTenantLanesInOrder() throws Exception {
+        // Given
+        RoutingExecutors executors = routingExecutors(Map.of("vip", RoutingExecutors.Lane.PRIORITY),
+                RoutingExecutors.OverflowPolicy.REJECT, 10);
+        setField("routingExecutors", executors);
+        List<EventOutboxMessage> batch = List.of(
+                routing(1L, event(100L, "vip")), routing(2L, event(101L)),
+                routing(3L, event(102L, "vip")), routing(4L, event(103L)));
+
+        try {
+            // When
+            relay.relayBatch(batch);
+
+            // Then
+            assertEquals(List.of(100L, 102L), publisher.routed.stream().filter(id -> id % 2 == 0).toList());
+            assertEquals(List.of(101L, 103L), publisher.routed.stream().filter(id -> id % 2 == 1).toList());
+            assertTrue(batch.stream().allMatch(m -> m.getStatus() == EventOutboxMessage.OutboxStatus.SENT));
+            assertTrue(publisher.routingThreads.contains("event-routing-priority-1"));
+            assertTrue(publisher.routingThreads.contains("event-routing-standard-1"));
+            verify(outboxService).saveResults(eq(batch), anyCollection());
+        } finally {
+            executors.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("路由通道拒绝时整组消息应该等待退避后再发送")
+    void shouldRetryWhenLaneRejects() throws Exception {
+        // Given：标准通道被占满且不允许排队
+        RoutingExecutors executors = routingExecutors(Map.of(), RoutingExecutors.OverflowPolicy.REJECT, 0);
+        setField("routingExecutors", executors);
+        CountDownLatch release = new CountDownLatch(1);
+        executors.submit(RoutingExecutors.Lane.STANDARD, () -> {
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        EventOutboxMessage first = routing(1L, event(100L));
+        EventOutboxMessage second = routing(2L, event(101L));
+
+        try {
+            // When
+            relay.relayBatch(List.of(first, second));
+
+            // Then
+            assertTrue(publisher.routed.isEmpty());
+            for (EventOutboxMessage message : List.of(first, second)) {
+                assertEquals(EventOutboxMessage.OutboxStatus.PENDING, message.getStatus());
+                assertEquals(1, message.getAttempts());
+                assertTrue(message.getLastError().startsWith("路由失败"));
+            }
+            verify(outboxService).saveResults(anyList(), anyCollection());
+        } finally {
+            release.countDown();
+            executors.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("应该逐批认领直到认领不满一批")
+    void shouldDrainInBatchesUntilShortBatch() {
+        // Given
+        when(outboxService.claim(eq("node-a"), eq(2), eq(Duration.ofMillis(60_000))))
+                .thenReturn(List.of(routing(1L, event(100L)), routing(2L, event(101L))))
+                .thenReturn(List.of(routing(3L, event(102L))));
+
+        // When
+        int processed = relay.drain();
+
+        // Then
+        assertEquals(3, processed);
+        assertEquals(List.of(100L, 101L, 102L), publisher.routed);
+        verify(outboxService, times(2)).claim(anyString(), anyInt(), any());
+        verify(outboxService, times(2)).saveResults(anyList(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("唤醒请求应该在中继线程上发送")
+    void shouldDrainOnRelayThreadWhenRequested() {
+        // Given
+        when(outboxService.claim(anyString(), anyInt(), any()))
+                .thenReturn(List.of(routing(1L, event(100L))))
+                .thenReturn(List.of());
+
+        // When
+        relay.requestDrain();
+
+        // Then
+        verify(outboxService, timeout(1_000)).saveResults(anyList(), anyCollection());
+        assertEquals(List.of("event-outbox-relay"), publisher.routingThreads);
+    }
+
+    @Test
+    @DisplayName("清理应该删除保留期之前已发送的消息")
+    void shouldPurgeSentMessagesBeforeRetention() {
+        // Given
+        when(outboxService.purgeSentBefore(any(Instant.class))).thenReturn(5);
+        Instant expected = Instant.now().minus(Duration.ofHours(72));
+
+        // When
+        relay.purgeSent();
+
+        // Then
+        ArgumentCaptor<Instant> before = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxService).purgeSentBefore(before.capture());
+        assertFalse(before.getValue().isBefore(expected));
+        assertTrue(before.getValue().isBefore(expected.plusSeconds(5)));
+    }
+
+    private EventOutboxMessage routing(Long outboxId, Event event) {
+        EventOutboxMessage message = EventOutboxMessage.forRouting(event);
+        message.setOutboxId(outboxId);
+        message.setLeaseOwner("node-a:token");
+        return message;
+    }
+
+    private EventOutboxMessage kafka(Long outboxId, Event event) {
+        EventOutboxMessage message = EventOutboxMessage.forKafka(event, TOPIC, null);
+        message.setOutboxId(outboxId);
+        message.setLeaseOwner("node-a:token");
+        return message;
+    }
+
+    private Event event(Long eventId) {
+        return event(eventId, TENANT_ID);
+    }
+
+    private Event event(Long eventId, String tenantId) {
+        Event event = new Event("ORDER_CREATED", "order-service", "{}", tenantId);
+        event.setEventId(eventId);
+        events.put(eventId, event);
+        return event;
+    }
+
+    private RoutingExecutors routingExecutors(Map<String, RoutingExecutors.Lane> tenantLanes,
+                                              RoutingExecutors.OverflowPolicy overflowPolicy, int queueCapacity) {
+        RoutingExecutors.LaneSettings settings = RoutingExecutors.LaneSettings.builder()
+                .concurrency(1)
+                .queueCapacity(queueCapacity)
+                .overflowPolicy(overflowPolicy)
+                .build();
+        Map<RoutingExecutors.Lane, RoutingExecutors.LaneSettings> lanes = new HashMap<>();
+        for (RoutingExecutors.Lane lane : RoutingExecutors.Lane.values()) {
+            lanes.put(lane, settings);
+        }
+        return new RoutingExecutors(lanes, tenantLanes, false);
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        java.lang.reflect.Field field = EventOutboxRelay.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(relay, value);
+    }
+
+    /**
+     * 内存发送目标：记录发送顺序，按事件ID模拟失败或不返回确认
+     */
+    private static class InMemoryOutboxPublisher implements EventOutboxPublisher {
+        private final List<Long> sentToKafka = new CopyOnWriteArrayList<>();
+        private final List<Long> routed = new CopyOnWriteArrayList<>();
+        private final List<String> routingThreads = new CopyOnWriteArrayList<>();
+        private final Set<Long> failures = new HashSet<>();
+        private final Set<Long> pending = new HashSet<>();
+        private final Set<Long> unrecorded = new HashSet<>();
+        private final Set<Long> recordFailures = new HashSet<>();
+
+        @Override
+        public CompletableFuture<?> publishToKafka(String topicName, String key, Event event) {
+            sentToKafka.add(event.getEventId());
+            if (pending.contains(event.getEventId())) {
+                return new CompletableFuture<>();
+            }
+            if (failures.contains(event.getEventId())) {
+                return CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"));
+            }
+            return CompletableFuture.completedFuture(topicName + "-0@" + sentToKafka.size());
+        }
+
+        @Override
+        public CompletableFuture<Integer> route(Event event) {
+            if (failures.contains(event.getEventId())) {
+                throw new IllegalStateException("database unavailable");
+            }
+            routed.add(event.getEventId());
+            routingThreads.add(Thread.currentThread().getName());
+            if (unrecorded.contains(event.getEventId())) {
+                return new CompletableFuture<>();
+            }
+            if (recordFailures.contains(event.getEventId())) {
+                return CompletableFuture.failedFuture(new IllegalStateException("batch record not saved"));
+            }
+            return CompletableFuture.completedFuture(1);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.aixone.eventcenter.event.application;
+
+import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.EventDeliveryRecord;
+import com.aixone.eventcenter.event.domain.EventDeliveryRecordRepository;
+import com.aixone.eventcenter.event.domain.EventRepository;
+import com.aixone.eventcenter.event.domain.Subscription;
+import com.aixone.eventcenter.event.domain.SubscriptionRepository;
+import com.aixone.eventcenter.event.infrastructure.EventDeliveryRecordService;
+import com.aixone.eventcenter.event.infrastructure.EventDistributor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EventRetryService 应用服务测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventRetryService 应用服务测试")
+class EventRetryServiceTest {
+
+    private static final String TENANT_ID = "tenant-001";
+
+    @Mock
+    private EventDeliveryRecordRepository deliveryRecordRepository;
+
+    @Mock
+    private EventDeliveryRecordService deliveryRecordService;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private EventDistributor eventDistributor;
+
+    private EventRetryService eventRetryService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        eventRetryService = new EventRetryService();
+        setField("deliveryRecordRepository", deliveryRecordRepository);
+        setField("deliveryRecordService", deliveryRecordService);
+        setField("eventRepository", eventRepository);
+        setField("subscriptionRepository", subscriptionRepository);
+        setField("eventDistributor", eventDistributor);
+        setField("batchSize", 2);
+        setField("maxBatchesPerRun", 10);
+        setField("leaseMs", 60_000L);
+        setField("nodeId", "node-a");
+        eventRetryService.init();
+    }
+
+    @Test
+    @DisplayName("应该按批认领记录直到没有可重试记录")
+    void shouldClaimInBatchesUntilEmpty() {
+        // Given
+        Subscription subscription = subscription(10L);
+        when(deliveryRecordService.claimForRetry(eq("node-a"), eq(2), eq(Duration.ofMillis(60_000))))
+                .thenReturn(List.of(record(1L, 100L, 10L), record(2L, 101L, 10L)))
+                .thenReturn(List.of(record(3L, 102L, 10L)))
+                .thenReturn(List.of());
+        when(eventRepository.findByEventIdIn(anyCollection()))
+                .thenReturn(List.of(event(100L), event(101L)))
+                .thenReturn(List.of(event(102L)));
+        when(subscriptionRepository.findBySubscriptionIdIn(anyCollection())).thenReturn(List.of(subscription));
+        when(eventDistributor.distributeAsync(any(Event.class), eq(subscription), any(EventDeliveryRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // When
+        eventRetryService.retryFailedDeliveries();
+
+        // Then
+        verify(deliveryRecordService, times(3)).claimForRetry(anyString(), anyInt(), any());
+        verify(eventRepository).findByEventIdIn(Set.of(100L, 101L));
+        verify(eventDistributor, times(3)).distributeAsync(any(Event.class), eq(subscription), any(EventDeliveryRecord.class));
+        verify(eventRepository, never()).findById(anyLong());
+        verify(subscriptionRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("一批记录应该并行发送并等待全部完成")
+    void shouldDispatchBatchInParallel() {
+        // Given
+        Subscription subscription = subscription(10L);
+        CompletableFuture<Boolean> first = new CompletableFuture<>();
+        CompletableFuture<Boolean> second = new CompletableFuture<>();
+        when(eventRepository.findByEventIdIn(anyCollection())).thenReturn(List.of(event(100L), event(101L)));
+        when(subscriptionRepository.findBySubscriptionIdIn(anyCollection())).thenReturn(List.of(subscription));
+        when(eventDistributor.distributeAsync(any(Event.class), eq(subscription), any(EventDeliveryRecord.class)))
+                .thenReturn(first, second);
+        AtomicBoolean finished = new AtomicBoolean();
+
+        // When
+        Thread worker = new Thread(() -> {
+            eventRetryService.retryBatch(List.of(record(1L, 100L, 10L), record(2L, 101L, 10L)));
+            finished.set(true);
+        });
+        worker.start();
+
+        // Then：两条重试都已发出，完成前不返回
+        verify(eventDistributor, timeout(1_000).times(2))
+                .distributeAsync(any(Event.class), eq(subscription), any(EventDeliveryRecord.class));
+        assertFalse(finished.get());
+        first.complete(true);
+        second.complete(false);
+        assertDoesNotThrow(() -> worker.join(1_000));
+        assertTrue(finished.get());
+    }
+
+    @Test
+    @DisplayName("批量记录应该只补投仍存在的事件")
+    void shouldRetryBatchRecordWithExistingEvents() {
+        // Given
+        Subscription subscription = subscription(10L);
+        EventDeliveryRecord batch = EventDeliveryRecord.forBatch(List.of(100L, 101L, 102L), 10L, TENANT_ID, 3);
+        batch.setRecordId(1L);
+        when(eventRepository.findByEventIdIn(Set.of(100L, 101L, 102L))).thenReturn(List.of(event(100L), event(102L)));
+        when(subscriptionRepository.findBySubscriptionIdIn(Set.of(10L))).thenReturn(List.of(subscription));
+        when(eventDistributor.distributeBatchAsync(anyList(), eq(subscription), eq(batch)))
+                .thenReturn(CompletableFuture.completedFuture(2));
+
+        // When
+        eventRetryService.retryBatch(List.of(batch));
+
+        // Then
+        verify(eventDistributor).distributeBatchAsync(
+                argThat((List<Event> events) -> events.size() == 2 && events.get(1).getEventId() == 102L), eq(subscription), eq(batch));
+    }
+
+    @Test
+    @DisplayName("订阅停用或事件缺失时应该标记失败并释放租约")
+    void shouldFailRecordsThatCannotBeRetried() {
+        // Given
+        Subscription inactive = subscription(10L);
+        inactive.deactivate();
+        EventDeliveryRecord inactiveRecord = record(1L, 100L, 10L);
+        EventDeliveryRecord missingEvent = record(2L, 999L, 11L);
+        inactiveRecord.setLeaseOwner("node-a:token");
+        when(eventRepository.findByEventIdIn(anyCollection())).thenReturn(List.of(event(100L)));
+        when(subscriptionRepository.findBySubscriptionIdIn(anyCollection()))
+                .thenReturn(List.of(inactive, subscription(11L)));
+
+        // When
+        eventRetryService.retryBatch(List.of(inactiveRecord, missingEvent));
+
+        // Then
+        assertEquals("订阅已停用", inactiveRecord.getErrorMessage());
+        assertNull(inactiveRecord.getLeaseOwner());
+        assertEquals("事件不存在", missingEvent.getErrorMessage());
+        verify(deliveryRecordRepository).save(inactiveRecord);
+        verify(deliveryRecordRepository).save(missingEvent);
+        verifyNoInteractions(eventDistributor);
+    }
+
+    private EventDeliveryRecord record(Long recordId, Long eventId, Long subscriptionId) {
+        EventDeliveryRecord record = new EventDeliveryRecord(eventId, subscriptionId, TENANT_ID, 3);
+        record.setRecordId(recordId);
+        record.setStatus(EventDeliveryRecord.DeliveryStatus.RETRYING);
+        record.setRetryCount(1);
+        return record;
+    }
+
+    private Subscription subscription(Long subscriptionId) {
+        Subscription subscription = new Subscription(TENANT_ID, "USER_CREATED", "test-service", "http://localhost:8080/api/events");
+        subscription.setSubscriptionId(subscriptionId);
+        return subscription;
+    }
+
+    private Event event(Long eventId) {
+        Event event = new Event("USER_CREATED", "test-source", "{}", TENANT_ID);
+        event.setEventId(eventId);
+        return event;
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        java.lang.reflect.Field field = EventRetryService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(eventRetryService, value);
+    }
+}
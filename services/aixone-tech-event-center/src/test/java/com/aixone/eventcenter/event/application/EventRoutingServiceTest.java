@@ -69,20 +69,20 @@ class EventRoutingServiceTest {
         subscription.setSubscriptionId(1L);
         List<Subscription> subscriptions = Arrays.asList(subscription);
         
-        when(eventRouter.routeSubscriptions(TEST_EVENT_TYPE)).thenReturn(subscriptions);
-        when(eventRouter.matchesFilter(event, subscription)).thenReturn(true);
+        when(eventRouter.routeSubscriptions(TEST_TENANT_ID, TEST_EVENT_TYPE)).thenReturn(subscriptions);
+        when(eventRouter.filterSubscriptions(event, subscriptions)).thenReturn(subscriptions);
         when(deliveryRecordService.findOrCreateRecord(anyLong(), anyLong(), anyString(), anyInt()))
                 .thenReturn(null); // 不创建记录，简化测试
-        when(eventDistributor.distribute(any(Event.class), any(Subscription.class), any()))
-                .thenReturn(true);
+        when(eventDistributor.distributeAsync(any(Event.class), any(Subscription.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(true));
 
         // When
         eventRoutingService.routeAndDistribute(event);
 
         // Then
-        verify(eventRouter).routeSubscriptions(TEST_EVENT_TYPE);
-        verify(eventRouter).matchesFilter(event, subscription);
-        verify(eventDistributor, atLeastOnce()).distribute(any(Event.class), any(Subscription.class), any());
+        verify(eventRouter).routeSubscriptions(TEST_TENANT_ID, TEST_EVENT_TYPE);
+        verify(eventRouter).filterSubscriptions(event, subscriptions);
+        verify(eventDistributor, atLeastOnce()).distributeAsync(any(Event.class), any(Subscription.class), any());
     }
 
     @Test
@@ -90,14 +90,14 @@ class EventRoutingServiceTest {
     void shouldSkipDistributionWhenNoSubscriptions() {
         // Given
         Event event = createValidEvent();
-        when(eventRouter.routeSubscriptions(TEST_EVENT_TYPE)).thenReturn(List.of());
+        when(eventRouter.routeSubscriptions(TEST_TENANT_ID, TEST_EVENT_TYPE)).thenReturn(List.of());
 
         // When
         eventRoutingService.routeAndDistribute(event);
 
         // Then
-        verify(eventRouter).routeSubscriptions(TEST_EVENT_TYPE);
-        verify(eventDistributor, never()).distribute(any(), any(), any());
+        verify(eventRouter).routeSubscriptions(TEST_TENANT_ID, TEST_EVENT_TYPE);
+        verify(eventDistributor, never()).distributeAsync(any(), any(), any());
     }
 
     @Test
@@ -108,16 +108,88 @@ class EventRoutingServiceTest {
         Subscription subscription = createValidSubscription();
         List<Subscription> subscriptions = Arrays.asList(subscription);
         
-        when(eventRouter.routeSubscriptions(TEST_EVENT_TYPE)).thenReturn(subscriptions);
-        when(eventRouter.matchesFilter(event, subscription)).thenReturn(false);
+        when(eventRouter.routeSubscriptions(TEST_TENANT_ID, TEST_EVENT_TYPE)).thenReturn(subscriptions);
+        when(eventRouter.filterSubscriptions(event, subscriptions)).thenReturn(List.of());
 
         // When
         eventRoutingService.routeAndDistribute(event);
 
         // Then
-        verify(eventRouter).routeSubscriptions(TEST_EVENT_TYPE);
-        verify(eventRouter).matchesFilter(event, subscription);
-        verify(eventDistributor, never()).distribute(any(), any(), any());
+        verify(eventRouter).routeSubscriptions(TEST_TENANT_ID, TEST_EVENT_TYPE);
+        verify(eventRouter).filterSubscriptions(event, subscriptions);
+        verify(eventDistributor, never()).distributeAsync(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("启用批量投递的订阅应该加入累积器而不逐条投递")
+    void shouldEnqueueBatchEnabledSubscription() {
+        // Given
+        Event event = createValidEvent();
+        Subscription subscription = createValidSubscription();
+        subscription.setSubscriptionId(1L);
+        subscription.updateBatchConfig(50, 100, null);
+        List<Subscription> subscriptions = Arrays.asList(subscription);
+        
+        when(eventRouter.routeSubscriptions(TEST_TENANT_ID, TEST_EVENT_TYPE)).thenReturn(subscriptions);
+        when(eventRouter.filterSubscriptions(event, subscriptions)).thenReturn(subscriptions);
+        when(eventDistributor.enqueueBatch(event, subscription))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+
+        // When
+        eventRoutingService.routeAndDistribute(event);
+
+        // Then
+        verify(eventDistributor).enqueueBatch(event, subscription);
+        verify(eventDistributor, never()).distributeAsync(any(), any(), any());
+        verify(deliveryRecordService, never()).findOrCreateRecord(anyLong(), anyLong(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("批量投递的事件应该在所在批次的分发记录提交后才完成路由")
+    void shouldCompleteRouteAfterBatchRecordCommitted() {
+        // Given
+        Event event = createValidEvent();
+        Subscription subscription = createValidSubscription();
+        subscription.setSubscriptionId(1L);
+        subscription.updateBatchConfig(50, 100, null);
+        List<Subscription> subscriptions = Arrays.asList(subscription);
+        CompletableFuture<Object> batchRecorded = new CompletableFuture<>();
+        
+        when(eventRouter.routeSubscriptions(TEST_TENANT_ID, TEST_EVENT_TYPE)).thenReturn(subscriptions);
+        when(eventRouter.filterSubscriptions(event, subscriptions)).thenReturn(subscriptions);
+        when(eventDistributor.enqueueBatch(event, subscription)).thenAnswer(invocation -> batchRecorded);
+
+        // When
+        CompletableFuture<Integer> routed = eventRoutingService.route(event);
+
+        // Then
+        assertFalse(routed.isDone());
+        batchRecorded.complete(null);
+        assertEquals(1, routed.join());
+    }
+
+    @Test
+    @DisplayName("批量缓冲已满时应该退回逐条投递")
+    void shouldFallBackToSingleDeliveryWhenBatchBufferFull() {
+        // Given
+        Event event = createValidEvent();
+        Subscription subscription = createValidSubscription();
+        subscription.setSubscriptionId(1L);
+        subscription.updateBatchConfig(50, 100, null);
+        List<Subscription> subscriptions = Arrays.asList(subscription);
+        
+        when(eventRouter.routeSubscriptions(TEST_TENANT_ID, TEST_EVENT_TYPE)).thenReturn(subscriptions);
+        when(eventRouter.filterSubscriptions(event, subscriptions)).thenReturn(subscriptions);
+        when(eventDistributor.enqueueBatch(event, subscription)).thenReturn(null);
+        when(deliveryRecordService.findOrCreateRecord(anyLong(), anyLong(), anyString(), anyInt())).thenReturn(null);
+        when(eventDistributor.distributeAsync(any(Event.class), any(Subscription.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // When
+        eventRoutingService.routeAndDistribute(event);
+
+        // Then
+        verify(eventDistributor).distributeAsync(event, subscription, null);
     }
 
     private Event createValidEvent() {
@@ -1,6 +1,8 @@
 package com.aixone.eventcenter.event.application;
 
 import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.EventOutboxMessage;
+import com.aixone.eventcenter.event.domain.EventOutboxRepository;
 import com.aixone.eventcenter.event.domain.EventRepository;
 import com.aixone.eventcenter.event.infrastructure.KafkaEventPublisher;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,7 +35,7 @@ class EventServiceTest {
     private KafkaEventPublisher kafkaEventPublisher;
 
     @Mock
-    private EventRoutingService eventRoutingService;
+    private EventOutboxRepository outboxRepository;
 
     private EventApplicationService eventApplicationService;
 
@@ -52,9 +54,9 @@ class EventServiceTest {
             kafkaEventPublisherField.setAccessible(true);
             kafkaEventPublisherField.set(eventApplicationService, kafkaEventPublisher);
             
-            java.lang.reflect.Field eventRoutingServiceField = EventApplicationService.class.getDeclaredField("eventRoutingService");
-            eventRoutingServiceField.setAccessible(true);
-            eventRoutingServiceField.set(eventApplicationService, eventRoutingService);
+            java.lang.reflect.Field outboxRepositoryField = EventApplicationService.class.getDeclaredField("outboxRepository");
+            outboxRepositoryField.setAccessible(true);
+            outboxRepositoryField.set(eventApplicationService, outboxRepository);
         } catch (Exception e) {
             throw new RuntimeException("Failed to set up EventApplicationService dependencies", e);
         }
@@ -80,7 +82,7 @@ class EventServiceTest {
             assertNotNull(result);
             assertEquals(savedEvent, result);
             verify(eventRepository).save(any(Event.class));
-            verify(eventRoutingService).routeAndDistributeAsync(any(Event.class));
+            verify(outboxRepository).save(any(EventOutboxMessage.class));
         }
     }
 
@@ -151,7 +153,6 @@ class EventServiceTest {
             String topic = "test-topic";
             
             when(eventRepository.save(any(Event.class))).thenReturn(savedEvent);
-            doNothing().when(kafkaEventPublisher).publishEvent(anyString(), any(Event.class));
 
             // When
             Event result = eventApplicationService.publishEventToKafka(topic, "test-event", "test-source", "test data", TEST_TENANT_ID);
@@ -159,9 +160,9 @@ class EventServiceTest {
             // Then
             assertNotNull(result);
             assertEquals(savedEvent, result);
-            verify(eventRepository, atLeastOnce()).save(any(Event.class));
-            verify(kafkaEventPublisher).publishEvent(anyString(), any(Event.class));
-            verify(eventRoutingService).routeAndDistributeAsync(any(Event.class));
+            verify(eventRepository).save(any(Event.class));
+            verify(kafkaEventPublisher).validateTopic(topic);
+            verify(outboxRepository).save(any(EventOutboxMessage.class));
         }
     }
 
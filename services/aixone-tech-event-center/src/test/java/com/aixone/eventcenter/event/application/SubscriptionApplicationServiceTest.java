@@ -2,14 +2,17 @@ package com.aixone.eventcenter.event.application;
 
 import com.aixone.common.exception.BizException;
 import com.aixone.eventcenter.event.domain.Subscription;
+import com.aixone.eventcenter.event.domain.SubscriptionChangedEvent;
 import com.aixone.eventcenter.event.domain.SubscriptionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -171,6 +174,67 @@ class SubscriptionApplicationServiceTest {
             // Then
             verify(subscriptionRepository).save(any(Subscription.class));
         }
+
+        @Test
+        @DisplayName("停用订阅应该发布订阅变更事件")
+        void shouldPublishChangedEventWhenDeactivated() throws Exception {
+            // Given
+            ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+            java.lang.reflect.Field publisherField = SubscriptionApplicationService.class.getDeclaredField("eventPublisher");
+            publisherField.setAccessible(true);
+            publisherField.set(subscriptionApplicationService, eventPublisher);
+
+            Subscription subscription = createValidSubscription();
+            subscription.setSubscriptionId(1L);
+            when(subscriptionRepository.findBySubscriptionIdAndTenantId(1L, TEST_TENANT_ID))
+                    .thenReturn(Optional.of(subscription));
+            when(subscriptionRepository.save(any(Subscription.class))).thenReturn(subscription);
+
+            // When
+            subscriptionApplicationService.deactivateSubscription(1L, TEST_TENANT_ID);
+
+            // Then
+            ArgumentCaptor<SubscriptionChangedEvent> captor = ArgumentCaptor.forClass(SubscriptionChangedEvent.class);
+            verify(eventPublisher).publishEvent(captor.capture());
+            assertEquals(TEST_TENANT_ID, captor.getValue().getTenantId());
+            assertEquals(1L, captor.getValue().getSubscriptionId());
+        }
+    }
+
+    @Nested
+    @DisplayName("批量投递配置测试")
+    class BatchConfigTests {
+
+        @Test
+        @DisplayName("应该更新批量投递配置")
+        void shouldUpdateBatchConfig() {
+            // Given
+            Subscription subscription = createValidSubscription();
+            subscription.setSubscriptionId(1L);
+            when(subscriptionRepository.findBySubscriptionIdAndTenantId(1L, TEST_TENANT_ID))
+                    .thenReturn(Optional.of(subscription));
+            when(subscriptionRepository.save(subscription)).thenReturn(subscription);
+
+            // When
+            Subscription result = subscriptionApplicationService.updateBatchConfig(
+                    1L, TEST_TENANT_ID, 100, 500, " order.customerId ");
+
+            // Then
+            assertTrue(result.isBatchEnabled());
+            assertEquals(100, result.getBatchSize());
+            assertEquals(500, result.getBatchLingerMs());
+            assertEquals("order.customerId", result.getPartitionKey());
+        }
+
+        @Test
+        @DisplayName("批量大小超出范围时应该抛出异常")
+        void shouldRejectInvalidBatchSize() {
+            // When & Then
+            BizException exception = assertThrows(BizException.class, () ->
+                    subscriptionApplicationService.updateBatchConfig(1L, TEST_TENANT_ID, 5000, null, null));
+            assertEquals("INVALID_BATCH_CONFIG", exception.getErrorCode());
+            verify(subscriptionRepository, never()).save(any());
+        }
     }
 
     @Nested
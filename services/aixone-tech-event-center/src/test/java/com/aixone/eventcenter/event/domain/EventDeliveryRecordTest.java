@@ -0,0 +1,105 @@
+package com.aixone.eventcenter.event.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventDeliveryRecord 领域模型单元测试
+ */
+@DisplayName("EventDeliveryRecord 领域模型测试")
+class EventDeliveryRecordTest {
+
+    @Nested
+    @DisplayName("重试退避测试")
+    class RetryBackoffTests {
+
+        @Test
+        @DisplayName("重试延迟应该在退避时长的一半到全长之间")
+        void shouldJitterWithinHalfToFullBackoff() {
+            for (int retryCount = 1; retryCount <= 6; retryCount++) {
+                long backoff = Math.min(300, (long) Math.pow(2, retryCount) * 30);
+                Set<Long> seen = new HashSet<>();
+                for (int i = 0; i < 500; i++) {
+                    long delay = EventDeliveryRecord.calculateRetryDelay(retryCount);
+                    assertTrue(delay >= backoff / 2 && delay <= backoff, "delay=" + delay);
+                    seen.add(delay);
+                }
+                assertTrue(seen.size() > 1, "同一重试次数的延迟应该有抖动");
+            }
+        }
+
+        @Test
+        @DisplayName("失败后应该释放租约并安排下次重试")
+        void shouldReleaseLeaseAndScheduleRetryOnFailure() {
+            // Given
+            EventDeliveryRecord record = new EventDeliveryRecord(1L, 10L, "tenant-001", 3);
+            record.setLeaseOwner("node-a:token");
+            record.setLeaseUntil(Instant.now().plusSeconds(60));
+            Instant before = Instant.now();
+
+            // When
+            record.markAsFailed("HTTP状态码: 503");
+
+            // Then
+            assertEquals(EventDeliveryRecord.DeliveryStatus.RETRYING, record.getStatus());
+            assertEquals(1, record.getRetryCount());
+            assertNull(record.getLeaseOwner());
+            assertNull(record.getLeaseUntil());
+            Duration delay = Duration.between(before, record.getNextRetryAt());
+            assertTrue(delay.getSeconds() >= 29 && delay.getSeconds() <= 61, "delay=" + delay);
+        }
+
+        @Test
+        @DisplayName("成功后应该释放租约")
+        void shouldReleaseLeaseOnDelivered() {
+            // Given
+            EventDeliveryRecord record = new EventDeliveryRecord(1L, 10L, "tenant-001", 3);
+            record.setLeaseOwner("node-a:token");
+
+            // When
+            record.markAsDelivered();
+
+            // Then
+            assertEquals(EventDeliveryRecord.DeliveryStatus.DELIVERED, record.getStatus());
+            assertNull(record.getLeaseOwner());
+        }
+    }
+
+    @Nested
+    @DisplayName("批量记录测试")
+    class BatchRecordTests {
+
+        @Test
+        @DisplayName("批量记录应该覆盖整批事件，部分失败时只保留失败事件")
+        void shouldRetainFailedEvents() {
+            // Given
+            EventDeliveryRecord record = EventDeliveryRecord.forBatch(List.of(5L, 6L, 7L), 10L, "tenant-001", 3);
+
+            // When
+            record.retainBatchEvents(Set.of(7L, 6L));
+
+            // Then
+            assertTrue(record.isBatch());
+            assertEquals(List.of(6L, 7L), record.getEventIdList());
+            assertEquals(6L, record.getEventId());
+        }
+
+        @Test
+        @DisplayName("单条记录的事件列表只有 eventId")
+        void shouldReturnSingleEventForNonBatchRecord() {
+            EventDeliveryRecord record = new EventDeliveryRecord(5L, 10L, "tenant-001", 3);
+
+            assertFalse(record.isBatch());
+            assertEquals(List.of(5L), record.getEventIdList());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.aixone.eventcenter.event.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventOutboxMessage 领域模型单元测试
+ */
+@DisplayName("EventOutboxMessage 领域模型测试")
+class EventOutboxMessageTest {
+
+    @Test
+    @DisplayName("Kafka消息默认以事件ID作为消息Key")
+    void shouldUseEventIdAsDefaultKafkaKey() {
+        // Given
+        Event event = event(42L);
+
+        // When
+        EventOutboxMessage message = EventOutboxMessage.forKafka(event, "order-events", null);
+
+        // Then
+        assertEquals(EventOutboxMessage.Destination.KAFKA, message.getDestination());
+        assertEquals("42", message.getMessageKey());
+        assertEquals("tenant-001", message.getTenantId());
+        assertEquals(EventOutboxMessage.OutboxStatus.PENDING, message.getStatus());
+        assertNotNull(message.getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("发送失败后应该释放租约并按退避时间再次发送")
+    void shouldReleaseLeaseAndBackOffOnFailure() {
+        // Given
+        EventOutboxMessage message = EventOutboxMessage.forRouting(event(1L));
+        message.setLeaseOwner("node-a:token");
+        message.setLeaseUntil(Instant.now().plusSeconds(60));
+        Instant before = Instant.now();
+
+        // When
+        message.markAttemptFailed("broker unavailable");
+
+        // Then
+        assertEquals(EventOutboxMessage.OutboxStatus.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNull(message.getLeaseOwner());
+        assertFalse(message.getNextAttemptAt().isBefore(before.plusMillis(500)));
+        assertFalse(message.getNextAttemptAt().isAfter(Instant.now().plusMillis(1_000)));
+    }
+
+    @Test
+    @DisplayName("退避时间应该指数增长并不超过5分钟")
+    void shouldCapBackoff() {
+        for (int attempts = 1; attempts <= 30; attempts++) {
+            long backoff = Math.min(300_000L, 1_000L << Math.min(attempts - 1, 20));
+            long delay = EventOutboxMessage.calculateBackoffMillis(attempts);
+            assertTrue(delay >= backoff / 2 && delay <= backoff, "delay=" + delay);
+        }
+    }
+
+    @Test
+    @DisplayName("达到最大尝试次数后应该标记为失败")
+    void shouldFailAfterMaxAttempts() {
+        // Given
+        EventOutboxMessage message = EventOutboxMessage.forRouting(event(1L));
+
+        // When
+        for (int i = 0; i < EventOutboxMessage.DEFAULT_MAX_ATTEMPTS; i++) {
+            message.markAttemptFailed("timeout");
+        }
+
+        // Then
+        assertTrue(message.isFailed());
+        assertEquals(EventOutboxMessage.DEFAULT_MAX_ATTEMPTS, message.getAttempts());
+    }
+
+    private Event event(Long eventId) {
+        Event event = new Event("ORDER_CREATED", "order-service", "{}", "tenant-001");
+        event.setEventId(eventId);
+        return event;
+    }
+}
@@ -116,6 +116,26 @@ class SubscriptionTest {
             assertEquals(newEndpoint, subscription.getSubscriberEndpoint());
             assertNotNull(subscription.getUpdatedAt());
         }
+
+        @Test
+        @DisplayName("批量大小大于1时才启用批量投递")
+        void shouldEnableBatchOnlyWhenBatchSizeGreaterThanOne() {
+            // Then
+            assertFalse(subscription.isBatchEnabled());
+
+            // When
+            subscription.updateBatchConfig(1, 100, null);
+
+            // Then
+            assertFalse(subscription.isBatchEnabled());
+
+            // When
+            subscription.updateBatchConfig(100, 200, "order.customerId");
+
+            // Then
+            assertTrue(subscription.isBatchEnabled());
+            assertEquals("order.customerId", subscription.getPartitionKey());
+            assertNotNull(subscription.getUpdatedAt());
+        }
     }
 }
-
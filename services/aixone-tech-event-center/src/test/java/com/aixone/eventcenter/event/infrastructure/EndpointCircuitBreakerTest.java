@@ -0,0 +1,84 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EndpointCircuitBreaker 单元测试
+ */
+@DisplayName("EndpointCircuitBreaker 单元测试")
+class EndpointCircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private EndpointCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new EndpointCircuitBreaker(2, 1_000, clock::get);
+    }
+
+    @Test
+    @DisplayName("打开之前发出的请求迟到成功时不应该关闭熔断器")
+    void shouldIgnoreLateSuccessFromBeforeOpen() {
+        // Given：三个请求同时发出，前两个失败后熔断
+        long slow = breaker.tryAcquire();
+        long first = breaker.tryAcquire();
+        long second = breaker.tryAcquire();
+        breaker.onFailure(first);
+        breaker.onFailure(second);
+        assertEquals(EndpointCircuitBreaker.State.OPEN, breaker.getState());
+
+        // When
+        breaker.onSuccess(slow);
+
+        // Then
+        assertEquals(EndpointCircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(EndpointCircuitBreaker.NO_PERMIT, breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("打开之前发出的请求迟到失败时不应该影响半开试探")
+    void shouldIgnoreLateFailureDuringTrial() {
+        // Given
+        long slow = breaker.tryAcquire();
+        breaker.onFailure(breaker.tryAcquire());
+        breaker.onFailure(breaker.tryAcquire());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_001));
+        long trial = breaker.tryAcquire();
+        assertNotEquals(EndpointCircuitBreaker.NO_PERMIT, trial);
+        assertEquals(EndpointCircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // When
+        breaker.onFailure(slow);
+
+        // Then：试探名额仍被占用，试探成功后关闭
+        assertEquals(EndpointCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(EndpointCircuitBreaker.NO_PERMIT, breaker.tryAcquire());
+        breaker.onSuccess(trial);
+        assertEquals(EndpointCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("半开试探失败应该重新打开，之前的试探许可随之失效")
+    void shouldReopenWhenTrialFails() {
+        // Given
+        breaker.onFailure(breaker.tryAcquire());
+        breaker.onFailure(breaker.tryAcquire());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_001));
+        long trial = breaker.tryAcquire();
+
+        // When
+        breaker.onFailure(trial);
+        breaker.onSuccess(trial);
+
+        // Then
+        assertEquals(EndpointCircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.isRejecting());
+    }
+}
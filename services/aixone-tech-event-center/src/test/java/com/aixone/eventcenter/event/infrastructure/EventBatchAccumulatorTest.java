@@ -0,0 +1,255 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.EventDeliveryRecord;
+import com.aixone.eventcenter.event.domain.Subscription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventBatchAccumulator 基础设施测试
+ */
+@DisplayName("EventBatchAccumulator 基础设施测试")
+class EventBatchAccumulatorTest {
+
+    private EventBatchAccumulator accumulator;
+    private final List<List<Long>> sentBatches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (accumulator != null) {
+            accumulator.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("达到批量大小时应该立即发送")
+    void shouldSendWhenBatchIsFull() {
+        // Given
+        accumulator = new EventBatchAccumulator(committedRecorder(), recordingSender(), 100, 60_000);
+        Subscription subscription = subscription(1L, 3, null);
+
+        // When
+        for (long id = 1; id <= 7; id++) {
+            assertNotNull(accumulator.offer(subscription, "", event(id)));
+        }
+
+        // Then：满 3 个切一批，剩余 1 个仍在累积
+        assertEquals(List.of(List.of(1L, 2L, 3L), List.of(4L, 5L, 6L)), sentBatches);
+        assertEquals(1, accumulator.bufferedCount());
+    }
+
+    @Test
+    @DisplayName("等待时间到期时应该发送未满的批次")
+    void shouldSendPartialBatchAfterLinger() throws Exception {
+        // Given
+        accumulator = new EventBatchAccumulator(committedRecorder(), recordingSender(), 100, 60_000);
+        Subscription subscription = subscription(1L, 10, 50);
+
+        // When
+        accumulator.offer(subscription, "", event(1L));
+        accumulator.offer(subscription, "", event(2L));
+
+        // Then
+        waitUntil(() -> sentBatches.size() == 1);
+        assertEquals(List.of(1L, 2L), sentBatches.get(0));
+        waitUntil(() -> accumulator.partitionCount() == 0);
+        assertEquals(0, accumulator.bufferedCount());
+    }
+
+    @Test
+    @DisplayName("同一分区同一时刻只发送一个批次并保持顺序，不同分区互不阻塞")
+    void shouldKeepOrderPerPartition() throws Exception {
+        // Given：发送方不立即完成，模拟慢端点
+        Map<String, List<CompletableFuture<Void>>> pending = new ConcurrentHashMap<>();
+        Map<String, List<List<Long>>> sentByPartition = new ConcurrentHashMap<>();
+        accumulator = new EventBatchAccumulator(committedRecorder(), (subscription, batch, record) -> {
+            String partition = batch.get(0).getEventSource();
+            sentByPartition.computeIfAbsent(partition, p -> new CopyOnWriteArrayList<>())
+                    .add(batch.stream().map(Event::getEventId).collect(Collectors.toList()));
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            pending.computeIfAbsent(partition, p -> new CopyOnWriteArrayList<>()).add(future);
+            return future;
+        }, 100, 60_000);
+        Subscription subscription = subscription(1L, 2, null);
+
+        // When
+        for (long id = 1; id <= 6; id++) {
+            accumulator.offer(subscription, "a", event(id, "a"));
+        }
+        accumulator.offer(subscription, "b", event(100L, "b"));
+        accumulator.offer(subscription, "b", event(101L, "b"));
+
+        // Then：分区 a 只有第一批在发送，分区 b 不受影响
+        assertEquals(List.of(List.of(1L, 2L)), sentByPartition.get("a"));
+        assertEquals(List.of(List.of(100L, 101L)), sentByPartition.get("b"));
+
+        // When：依次完成分区 a 的批次
+        pending.get("a").get(0).complete(null);
+        assertEquals(2, sentByPartition.get("a").size());
+        pending.get("a").get(1).complete(null);
+
+        // Then
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L, 6L)), sentByPartition.get("a"));
+        pending.get("a").get(2).complete(null);
+        pending.get("b").get(0).complete(null);
+        assertEquals(0, accumulator.bufferedCount());
+        assertEquals(0, accumulator.partitionCount());
+    }
+
+    @Test
+    @DisplayName("累积事件数达到上限时应该拒绝")
+    void shouldRejectWhenBufferFull() {
+        // Given
+        accumulator = new EventBatchAccumulator(
+                committedRecorder(), (subscription, batch, record) -> new CompletableFuture<>(), 3, 60_000);
+        Subscription subscription = subscription(1L, 10, null);
+
+        // When
+        List<Boolean> accepted = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            accepted.add(accumulator.offer(subscription, "", event(id)) != null);
+        }
+
+        // Then
+        assertEquals(List.of(true, true, true, false, false), accepted);
+        assertEquals(3, accumulator.bufferedCount());
+    }
+
+    @Test
+    @DisplayName("发送方同步完成或抛出异常时应该继续发送后续批次")
+    void shouldContinueAfterSynchronousCompletionAndFailure() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        accumulator = new EventBatchAccumulator(committedRecorder(), (subscription, batch, record) -> {
+            sentBatches.add(batch.stream().map(Event::getEventId).collect(Collectors.toList()));
+            if (calls.incrementAndGet() % 2 == 0) {
+                throw new IllegalStateException("发送失败");
+            }
+            return CompletableFuture.completedFuture(null);
+        }, 10_000, 60_000);
+        Subscription subscription = subscription(1L, 2, null);
+
+        // When
+        for (long id = 1; id <= 2_000; id++) {
+            accumulator.offer(subscription, "", event(id));
+        }
+
+        // Then
+        assertEquals(1_000, sentBatches.size());
+        assertEquals(0, accumulator.bufferedCount());
+    }
+
+    @Test
+    @DisplayName("加入返回的 Future 应该在所在批次的分发记录提交后完成，记录提交失败的批次不发送")
+    void shouldAcknowledgeOnlyAfterBatchRecorded() throws Exception {
+        // Given：记录方不立即完成，模拟数据库提交
+        List<CompletableFuture<EventDeliveryRecord>> records = new CopyOnWriteArrayList<>();
+        accumulator = new EventBatchAccumulator((subscription, batch) -> {
+            CompletableFuture<EventDeliveryRecord> record = new CompletableFuture<>();
+            records.add(record);
+            return record;
+        }, recordingSender(), 100, 60_000);
+        Subscription subscription = subscription(1L, 2, null);
+
+        // When
+        CompletableFuture<?> first = accumulator.offer(subscription, "", event(1L));
+        CompletableFuture<?> second = accumulator.offer(subscription, "", event(2L));
+        CompletableFuture<?> third = accumulator.offer(subscription, "", event(3L));
+
+        // Then：满批后开始记录，记录提交前不确认也不发送
+        assertEquals(1, records.size());
+        assertFalse(first.isDone() || second.isDone() || third.isDone());
+        assertTrue(sentBatches.isEmpty());
+
+        // When：第一批记录提交
+        records.get(0).complete(EventDeliveryRecord.forBatch(List.of(1L, 2L), 1L, "tenant-001", 3));
+
+        // Then
+        assertTrue(first.isDone() && second.isDone());
+        assertFalse(third.isDone());
+        assertEquals(List.of(List.of(1L, 2L)), sentBatches);
+
+        // When：第二批记录提交失败
+        accumulator.offer(subscription, "", event(4L));
+        records.get(1).completeExceptionally(new IllegalStateException("database unavailable"));
+
+        // Then：第二批既不确认成功也不发送，缓冲计数照常释放
+        assertTrue(third.isCompletedExceptionally());
+        assertEquals(1, sentBatches.size());
+        waitUntil(() -> accumulator.bufferedCount() == 0);
+    }
+
+    @Test
+    @DisplayName("刷新应该立即发送所有累积中的批次并等待完成")
+    void shouldFlushAllPartitions() {
+        // Given
+        accumulator = new EventBatchAccumulator(committedRecorder(), recordingSender(), 100, 60_000);
+        accumulator.offer(subscription(1L, 10, null), "", event(1L));
+        accumulator.offer(subscription(2L, 10, null), "", event(2L));
+        accumulator.offer(subscription(2L, 10, null), "x", event(3L));
+
+        // When
+        boolean flushed = accumulator.flushAll(1_000);
+
+        // Then
+        assertTrue(flushed);
+        List<Long> sent = sentBatches.stream().flatMap(List::stream).sorted().collect(Collectors.toList());
+        assertEquals(List.of(1L, 2L, 3L), sent);
+        assertEquals(3, sentBatches.size(), "不同订阅与分区各自成批");
+    }
+
+    private EventBatchAccumulator.BatchRecorder committedRecorder() {
+        return (subscription, batch) -> CompletableFuture.completedFuture(
+                EventDeliveryRecord.forBatch(batch.stream().map(Event::getEventId).collect(Collectors.toList()),
+                        subscription.getSubscriptionId(), subscription.getTenantId(), 3));
+    }
+
+    private EventBatchAccumulator.BatchSender recordingSender() {
+        return (subscription, batch, record) -> {
+            sentBatches.add(batch.stream().map(Event::getEventId).collect(Collectors.toList()));
+            return CompletableFuture.completedFuture(null);
+        };
+    }
+
+    private Subscription subscription(Long id, Integer batchSize, Integer lingerMs) {
+        Subscription subscription = new Subscription("tenant-001", "ORDER_CREATED", "order-service", "http://localhost/hook");
+        subscription.setSubscriptionId(id);
+        subscription.updateBatchConfig(batchSize, lingerMs, null);
+        return subscription;
+    }
+
+    private Event event(Long id) {
+        return event(id, "test");
+    }
+
+    private Event event(Long id, String source) {
+        Event event = new Event("ORDER_CREATED", source, "{}", "tenant-001");
+        event.setEventId(id);
+        return event;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("等待条件超时");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.Subscription;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量投递吞吐基准测试
+ * 对本地 HTTP 接收端分别逐条投递与按不同批量大小投递，先预热再分轮测量，输出每秒事件数与请求数。
+ * 类名不以 Test 结尾，默认构建不执行，手动运行：
+ * mvn test -Dtest=EventBatchDeliveryBenchmark
+ */
+@Tag("benchmark")
+@DisplayName("批量投递吞吐基准测试")
+class EventBatchDeliveryBenchmark {
+
+    private static final int EVENTS_PER_ITERATION = 20_000;
+    private static final int WARMUP_ITERATIONS = 2;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+    private static final String EVENT_DATA = "{\"order\":{\"customerId\":\"C-%d\",\"amount\":%d}}";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private WebhookDeliveryEngine engine;
+    private EventDistributor eventDistributor;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong receivedEvents = new AtomicLong();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newFixedThreadPool(16);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(serverExecutor);
+        server.createContext("/sink", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            requests.incrementAndGet();
+            receivedEvents.addAndGet(countEvents(body));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        engine = new WebhookDeliveryEngine(WebhookDeliveryEngine.Settings.builder()
+                .maxConcurrencyPerEndpoint(16)
+                .queueCapacity(EVENTS_PER_ITERATION)
+                .build());
+        eventDistributor = new EventDistributor();
+        setField("deliveryEngine", engine);
+        setField("maxBufferedEvents", EVENTS_PER_ITERATION * 2);
+        setField("defaultLingerMs", 5L);
+        setField("shutdownFlushTimeoutMs", 10_000L);
+        eventDistributor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventDistributor.shutdown();
+        engine.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("对照：逐条投递")
+    void benchmarkSingleDelivery() {
+        Subscription subscription = subscription(1, null);
+        run("single", events -> {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>(events.size());
+            for (Event event : events) {
+                futures.add(eventDistributor.distributeAsync(event, subscription));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        });
+    }
+
+    @Test
+    @DisplayName("批量投递：每批 50 个，整个订阅保序")
+    void benchmarkBatch50() {
+        Subscription subscription = subscription(50, null);
+        run("batch-50", events -> enqueueAll(subscription, events));
+    }
+
+    @Test
+    @DisplayName("批量投递：每批 200 个，按客户分区保序")
+    void benchmarkBatch200Partitioned() {
+        Subscription subscription = subscription(200, "order.customerId");
+        run("batch-200-by-key", events -> enqueueAll(subscription, events));
+    }
+
+    private void enqueueAll(Subscription subscription, List<Event> events) {
+        for (Event event : events) {
+            assertNotNull(eventDistributor.enqueueBatch(event, subscription));
+        }
+        assertTrue(waitUntilDrained());
+    }
+
+    private boolean waitUntilDrained() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (eventDistributor.bufferedBatchEventCount() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return eventDistributor.bufferedBatchEventCount() == 0;
+    }
+
+    private void run(String name, java.util.function.Consumer<List<Event>> deliverAll) {
+        List<Event> events = events();
+        for (int iteration = 0; iteration < WARMUP_ITERATIONS; iteration++) {
+            deliverAll.accept(events);
+        }
+        double best = 0;
+        double total = 0;
+        long totalRequests = 0;
+        for (int iteration = 0; iteration < MEASUREMENT_ITERATIONS; iteration++) {
+            requests.set(0);
+            receivedEvents.set(0);
+            long start = System.nanoTime();
+            deliverAll.accept(events);
+            double eventsPerSecond = EVENTS_PER_ITERATION / ((System.nanoTime() - start) / 1e9);
+            assertEquals(EVENTS_PER_ITERATION, receivedEvents.get(), "接收端应收到全部事件");
+            best = Math.max(best, eventsPerSecond);
+            total += eventsPerSecond;
+            totalRequests += requests.get();
+        }
+        System.out.printf("%-20s avg %10.0f events/s, best %10.0f events/s, %8d requests/iteration%n",
+                name, total / MEASUREMENT_ITERATIONS, best, totalRequests / MEASUREMENT_ITERATIONS);
+    }
+
+    private List<Event> events() {
+        List<Event> events = new ArrayList<>(EVENTS_PER_ITERATION);
+        for (int i = 0; i < EVENTS_PER_ITERATION; i++) {
+            Event event = new Event("ORDER_CREATED", "bench-service",
+                    String.format(EVENT_DATA, i % 64, i), "tenant-001");
+            event.setEventId((long) i + 1);
+            events.add(event);
+        }
+        return events;
+    }
+
+    private Subscription subscription(Integer batchSize, String partitionKey) {
+        Subscription subscription = new Subscription("tenant-001", "ORDER_CREATED", "bench-service",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/sink");
+        subscription.setSubscriptionId(1L);
+        subscription.updateBatchConfig(batchSize, null, partitionKey);
+        return subscription;
+    }
+
+    private static long countEvents(String body) {
+        long count = 0;
+        int index = body.indexOf("\"eventId\"");
+        while (index >= 0) {
+            count++;
+            index = body.indexOf("\"eventId\"", index + 1);
+        }
+        return count;
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        java.lang.reflect.Field field = EventDistributor.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(eventDistributor, value);
+    }
+}
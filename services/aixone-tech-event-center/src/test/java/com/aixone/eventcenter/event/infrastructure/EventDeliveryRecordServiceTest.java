@@ -0,0 +1,80 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.aixone.eventcenter.event.domain.EventDeliveryRecord;
+import com.aixone.eventcenter.event.domain.EventDeliveryRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EventDeliveryRecordService 重试认领测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventDeliveryRecordService 重试认领测试")
+class EventDeliveryRecordServiceTest {
+
+    @Mock
+    private EventDeliveryRecordRepository deliveryRecordRepository;
+
+    private EventDeliveryRecordService deliveryRecordService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        deliveryRecordService = new EventDeliveryRecordService();
+        java.lang.reflect.Field field = EventDeliveryRecordService.class.getDeclaredField("deliveryRecordRepository");
+        field.setAccessible(true);
+        field.set(deliveryRecordService, deliveryRecordRepository);
+    }
+
+    @Test
+    @DisplayName("应该以唯一令牌认领候选记录并只返回本次认领到的记录")
+    void shouldClaimCandidatesWithUniqueLeaseOwner() {
+        // Given
+        EventDeliveryRecord claimed = new EventDeliveryRecord(100L, 10L, "tenant-001", 3);
+        when(deliveryRecordRepository.findRetryCandidateIds(any(Instant.class), eq(50))).thenReturn(List.of(1L, 2L));
+        when(deliveryRecordRepository.claimForRetry(eq(List.of(1L, 2L)), anyString(), any(Instant.class), any(Instant.class)))
+                .thenReturn(1);
+        when(deliveryRecordRepository.findByLeaseOwner(anyString())).thenReturn(List.of(claimed));
+
+        // When
+        List<EventDeliveryRecord> result = deliveryRecordService.claimForRetry("node-a", 50, Duration.ofMinutes(5));
+
+        // Then
+        assertEquals(List.of(claimed), result);
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Instant> leaseUntil = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+        verify(deliveryRecordRepository).claimForRetry(anyList(), owner.capture(), leaseUntil.capture(), now.capture());
+        assertTrue(owner.getValue().startsWith("node-a:"));
+        assertEquals(Duration.ofMinutes(5), Duration.between(now.getValue(), leaseUntil.getValue()));
+        verify(deliveryRecordRepository).findByLeaseOwner(owner.getValue());
+    }
+
+    @Test
+    @DisplayName("候选记录已被其他节点认领时应该返回空")
+    void shouldReturnEmptyWhenAllCandidatesTaken() {
+        // Given
+        when(deliveryRecordRepository.findRetryCandidateIds(any(Instant.class), anyInt())).thenReturn(List.of(1L));
+        when(deliveryRecordRepository.claimForRetry(anyList(), anyString(), any(Instant.class), any(Instant.class)))
+                .thenReturn(0);
+
+        // When
+        List<EventDeliveryRecord> result = deliveryRecordService.claimForRetry("node-b", 50, Duration.ofMinutes(5));
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(deliveryRecordRepository, never()).findByLeaseOwner(anyString());
+    }
+}
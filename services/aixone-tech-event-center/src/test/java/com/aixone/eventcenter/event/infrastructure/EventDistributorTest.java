@@ -0,0 +1,215 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.EventDeliveryRecord;
+import com.aixone.eventcenter.event.domain.Subscription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EventDistributor 批量投递测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventDistributor 批量投递测试")
+class EventDistributorTest {
+
+    private static final String ENDPOINT = "http://localhost:9000/hook";
+
+    @Mock
+    private WebhookDeliveryEngine deliveryEngine;
+
+    @Mock
+    private EventDeliveryRecordService deliveryRecordService;
+
+    private EventDistributor eventDistributor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        eventDistributor = new EventDistributor();
+        setField("deliveryEngine", deliveryEngine);
+        setField("deliveryRecordService", deliveryRecordService);
+        setField("maxBufferedEvents", 100);
+        setField("defaultLingerMs", 60_000L);
+        setField("shutdownFlushTimeoutMs", 1_000L);
+        eventDistributor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventDistributor.shutdown();
+    }
+
+    @Test
+    @DisplayName("批量投递应该发送 JSON 数组并只创建一条分发记录")
+    void shouldDeliverBatchAsArrayWithSingleRecord() throws Exception {
+        // Given
+        Subscription subscription = batchSubscription(null);
+        List<Event> events = List.of(event(1L, "{}"), event(2L, "{}"), event(3L, "{}"));
+        EventDeliveryRecord record = EventDeliveryRecord.forBatch(List.of(1L, 2L, 3L), 10L, "tenant-001", 3);
+        when(deliveryRecordService.createBatchRecord(List.of(1L, 2L, 3L), 10L, "tenant-001", 3)).thenReturn(record);
+        when(deliveryEngine.deliver(eq(ENDPOINT), anyString(), eq(true)))
+                .thenReturn(CompletableFuture.completedFuture(WebhookDeliveryResult.delivered(200, "")));
+
+        // When
+        int delivered = eventDistributor.distributeBatch(events, subscription, null);
+
+        // Then
+        assertEquals(3, delivered);
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(deliveryEngine).deliver(eq(ENDPOINT), body.capture(), eq(true));
+        JsonNode payload = objectMapper.readTree(body.getValue());
+        assertTrue(payload.isArray());
+        assertEquals(3, payload.size());
+        assertEquals(2L, payload.get(1).get("eventId").asLong());
+        assertEquals(EventDeliveryRecord.DeliveryStatus.DELIVERED, record.getStatus());
+        verify(deliveryRecordService, times(1)).createBatchRecord(anyList(), anyLong(), anyString(), anyInt());
+        verify(deliveryRecordService).save(record);
+    }
+
+    @Test
+    @DisplayName("部分失败时分发记录只保留失败的事件并进入重试")
+    void shouldRetainFailedEventsOnPartialFailure() {
+        // Given
+        Subscription subscription = batchSubscription(null);
+        List<Event> events = List.of(event(1L, "{}"), event(2L, "{}"), event(3L, "{}"));
+        EventDeliveryRecord record = EventDeliveryRecord.forBatch(List.of(1L, 2L, 3L), 10L, "tenant-001", 3);
+        when(deliveryEngine.deliver(eq(ENDPOINT), anyString(), eq(true)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        WebhookDeliveryResult.delivered(200, "{\"failedEventIds\":[2,3,99]}")));
+
+        // When
+        int delivered = eventDistributor.distributeBatch(events, subscription, record);
+
+        // Then
+        assertEquals(1, delivered);
+        assertEquals(List.of(2L, 3L), record.getEventIdList());
+        assertEquals(2L, record.getEventId());
+        assertEquals(EventDeliveryRecord.DeliveryStatus.RETRYING, record.getStatus());
+        assertTrue(record.getErrorMessage().contains("2/3"));
+        verify(deliveryRecordService).save(record);
+    }
+
+    @Test
+    @DisplayName("整批失败时分发记录覆盖全部事件进入重试")
+    void shouldMarkWholeBatchFailed() {
+        // Given
+        Subscription subscription = batchSubscription(null);
+        List<Event> events = List.of(event(1L, "{}"), event(2L, "{}"));
+        EventDeliveryRecord record = EventDeliveryRecord.forBatch(List.of(1L, 2L), 10L, "tenant-001", 3);
+        when(deliveryEngine.deliver(eq(ENDPOINT), anyString(), eq(true)))
+                .thenReturn(CompletableFuture.completedFuture(WebhookDeliveryResult.httpError(503)));
+
+        // When
+        int delivered = eventDistributor.distributeBatch(events, subscription, record);
+
+        // Then
+        assertEquals(0, delivered);
+        assertEquals(List.of(1L, 2L), record.getEventIdList());
+        assertEquals(EventDeliveryRecord.DeliveryStatus.RETRYING, record.getStatus());
+    }
+
+    @Test
+    @DisplayName("加入批量投递的事件应该按分区键分批")
+    void shouldBatchByPartitionKey() throws Exception {
+        // Given
+        Subscription subscription = batchSubscription("order.customerId");
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        when(deliveryRecordService.createBatchRecord(anyList(), anyLong(), anyString(), anyInt()))
+                .thenAnswer(invocation -> EventDeliveryRecord.forBatch(invocation.getArgument(0), 10L, "tenant-001", 3));
+        when(deliveryEngine.deliver(eq(ENDPOINT), anyString(), eq(true))).thenAnswer(invocation -> {
+            bodies.add(invocation.getArgument(1));
+            return CompletableFuture.completedFuture(WebhookDeliveryResult.delivered(200, null));
+        });
+
+        // When：批量大小为 2，客户 A 两个事件成批，客户 B 一个事件仍在累积
+        CompletableFuture<?> first = eventDistributor.enqueueBatch(event(1L, "{\"order\":{\"customerId\":\"A\"}}"), subscription);
+        CompletableFuture<?> second = eventDistributor.enqueueBatch(event(2L, "{\"order\":{\"customerId\":\"B\"}}"), subscription);
+        CompletableFuture<?> third = eventDistributor.enqueueBatch(event(3L, "{\"order\":{\"customerId\":\"A\"}}"), subscription);
+
+        // Then：客户 A 的批次记录提交后确认，客户 B 的事件仍在累积，尚未确认
+        first.get(5, TimeUnit.SECONDS);
+        third.get(5, TimeUnit.SECONDS);
+        assertFalse(second.isDone());
+        waitUntil(() -> bodies.size() == 1);
+        assertTrue(bodies.get(0).contains("\"eventId\":1") && bodies.get(0).contains("\"eventId\":3"));
+        // 投递结果在回调线程池中处理，已发送批次的计数异步扣减
+        waitUntil(() -> eventDistributor.bufferedBatchEventCount() == 1);
+        verify(deliveryRecordService).createBatchRecord(eq(List.of(1L, 3L)), eq(10L), eq("tenant-001"), eq(3));
+    }
+
+    @Test
+    @DisplayName("投递结果应该在回调线程池中处理，不占用投递引擎的线程")
+    void shouldHandleResultOnCallbackExecutor() throws Exception {
+        // Given
+        Subscription subscription = batchSubscription(null);
+        EventDeliveryRecord record = new EventDeliveryRecord(1L, 10L, "tenant-001", 3);
+        CompletableFuture<WebhookDeliveryResult> response = new CompletableFuture<>();
+        when(deliveryEngine.deliver(eq(ENDPOINT), anyString())).thenReturn(response);
+        List<String> saveThreads = new ArrayList<>();
+        when(deliveryRecordService.save(record)).thenAnswer(invocation -> {
+            saveThreads.add(Thread.currentThread().getName());
+            return record;
+        });
+
+        // When：由模拟的 I/O 线程完成投递
+        CompletableFuture<Boolean> delivered = eventDistributor.distributeAsync(event(1L, "{}"), subscription, record);
+        Thread ioThread = new Thread(() -> response.complete(WebhookDeliveryResult.delivered(200, null)), "webhook-delivery-1");
+        ioThread.start();
+        ioThread.join();
+
+        // Then
+        assertTrue(delivered.get(5, TimeUnit.SECONDS));
+        assertEquals(EventDeliveryRecord.DeliveryStatus.DELIVERED, record.getStatus());
+        assertEquals(1, saveThreads.size());
+        assertTrue(saveThreads.get(0).startsWith("event-delivery-callback-"), saveThreads.get(0));
+    }
+
+    private Subscription batchSubscription(String partitionKey) {
+        Subscription subscription = new Subscription("tenant-001", "ORDER_CREATED", "order-service", ENDPOINT);
+        subscription.setSubscriptionId(10L);
+        subscription.updateBatchConfig(2, null, partitionKey);
+        return subscription;
+    }
+
+    private Event event(Long id, String eventData) {
+        Event event = new Event("ORDER_CREATED", "order-service", eventData, "tenant-001");
+        event.setEventId(id);
+        return event;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("等待条件超时");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        java.lang.reflect.Field field = EventDistributor.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(eventDistributor, value);
+    }
+}
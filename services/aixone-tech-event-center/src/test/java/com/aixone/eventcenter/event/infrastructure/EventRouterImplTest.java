@@ -40,6 +40,10 @@ class EventRouterImplTest {
             java.lang.reflect.Field repositoryField = EventRouterImpl.class.getDeclaredField("subscriptionRepository");
             repositoryField.setAccessible(true);
             repositoryField.set(eventRouter, subscriptionRepository);
+            
+            java.lang.reflect.Field compilerField = EventRouterImpl.class.getDeclaredField("filterCompiler");
+            compilerField.setAccessible(true);
+            compilerField.set(eventRouter, new SubscriptionFilterCompiler());
         } catch (Exception e) {
             throw new RuntimeException("Failed to set up EventRouterImpl dependencies", e);
         }
@@ -135,6 +139,46 @@ class EventRouterImplTest {
             // Then
             assertFalse(result);
         }
+
+        @Test
+        @DisplayName("应该支持操作符与嵌套路径")
+        void shouldMatchOperatorsAndNestedPaths() {
+            // Given
+            Event event = new Event(TEST_EVENT_TYPE, "test-source",
+                    "{\"user\":{\"level\":5,\"name\":\"alice\"}}", TEST_TENANT_ID);
+            Subscription subscription = createValidSubscription();
+            subscription.setFilterConfig("{\"user.level\":{\"$gt\":3,\"$lt\":10},\"user\":{\"name\":{\"$prefix\":\"al\"}}}");
+
+            // When
+            boolean result = eventRouter.matchesFilter(event, subscription);
+
+            // Then
+            assertTrue(result);
+        }
+
+        @Test
+        @DisplayName("批量过滤应该保持顺序并在事件数据无效时只保留无过滤配置的订阅")
+        void shouldFilterSubscriptionsWithSharedPayload() {
+            // Given
+            Subscription unfiltered = createValidSubscription();
+            Subscription matching = createValidSubscription();
+            matching.setFilterConfig("{\"userId\":{\"$in\":[\"123\",\"456\"]}}");
+            Subscription rejecting = createValidSubscription();
+            rejecting.setFilterConfig("{\"userId\":{\"$ne\":\"123\"}}");
+            List<Subscription> subscriptions = List.of(matching, rejecting, unfiltered);
+            Event invalidEvent = new Event(TEST_EVENT_TYPE, "test-source", "not-json", TEST_TENANT_ID);
+
+            // When
+            List<Subscription> result = eventRouter.filterSubscriptions(createValidEvent(), subscriptions);
+            List<Subscription> invalidResult = eventRouter.filterSubscriptions(invalidEvent, subscriptions);
+
+            // Then
+            assertEquals(2, result.size());
+            assertSame(matching, result.get(0));
+            assertSame(unfiltered, result.get(1));
+            assertEquals(1, invalidResult.size());
+            assertSame(unfiltered, invalidResult.get(0));
+        }
     }
 
     private Event createValidEvent() {
@@ -0,0 +1,119 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.aixone.eventcenter.event.domain.Event;
+import com.aixone.eventcenter.event.domain.EventOutboxMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JpaEventOutboxRepository 嵌入式数据库测试
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;INIT=CREATE SCHEMA IF NOT EXISTS ai_xone",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("JpaEventOutboxRepository 嵌入式数据库测试")
+class JpaEventOutboxRepositoryTest {
+
+    @Autowired
+    private JpaEventOutboxRepository outboxRepository;
+
+    @Test
+    @DisplayName("待发送消息应该按写入顺序返回，跳过未到期、已认领和已发送的消息")
+    void shouldFindPendingIdsInOrder() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        EventOutboxMessage first = save(message(1L));
+        EventOutboxMessage notDue = message(2L);
+        notDue.setNextAttemptAt(now.plusSeconds(60));
+        save(notDue);
+        EventOutboxMessage leased = message(3L);
+        leased.setLeaseOwner("node-b:token");
+        leased.setLeaseUntil(now.plusSeconds(60));
+        save(leased);
+        EventOutboxMessage sent = message(4L);
+        sent.markAsSent();
+        save(sent);
+        EventOutboxMessage last = save(message(5L));
+
+        // When
+        List<Long> ids = outboxRepository.findPendingIds(now.plusSeconds(1), 10);
+
+        // Then
+        assertEquals(List.of(first.getOutboxId(), last.getOutboxId()), ids);
+        assertEquals(List.of(first.getOutboxId()), outboxRepository.findPendingIds(now.plusSeconds(1), 1));
+    }
+
+    @Test
+    @DisplayName("同一消息只能被一个节点认领，租约过期后可被重新认领")
+    void shouldClaimOnlyOnceUntilLeaseExpires() {
+        // Given
+        Instant now = Instant.now();
+        EventOutboxMessage first = save(message(1L));
+        EventOutboxMessage second = save(message(2L));
+        List<Long> ids = List.of(first.getOutboxId(), second.getOutboxId());
+
+        // When
+        int claimedByA = outboxRepository.claim(ids, "node-a:token", now.plusSeconds(30), now);
+        int claimedByB = outboxRepository.claim(ids, "node-b:token", now.plusSeconds(30), now);
+        int reclaimedAfterExpiry = outboxRepository.claim(ids, "node-b:token2", now.plusSeconds(90), now.plusSeconds(60));
+
+        // Then
+        assertEquals(2, claimedByA);
+        assertEquals(0, claimedByB);
+        assertEquals(2, reclaimedAfterExpiry);
+        List<EventOutboxMessage> claimed = outboxRepository.findByLeaseOwner("node-b:token2");
+        assertEquals(ids, claimed.stream().map(EventOutboxMessage::getOutboxId).toList());
+        assertTrue(outboxRepository.findByLeaseOwner("node-a:token").isEmpty());
+    }
+
+    @Test
+    @DisplayName("清理应该只删除保留期之前已发送的消息")
+    void shouldDeleteOnlyOldSentMessages() {
+        // Given
+        Instant now = Instant.now();
+        EventOutboxMessage oldSent = message(1L);
+        oldSent.markAsSent();
+        oldSent.setSentAt(now.minusSeconds(3_600));
+        save(oldSent);
+        EventOutboxMessage recentSent = message(2L);
+        recentSent.markAsSent();
+        save(recentSent);
+        EventOutboxMessage failed = message(3L);
+        failed.markAsFailed("事件不存在");
+        save(failed);
+        save(message(4L));
+
+        // When
+        int deleted = outboxRepository.deleteSentBefore(now.minusSeconds(60));
+
+        // Then
+        assertEquals(1, deleted);
+        assertEquals(3, outboxRepository.count());
+    }
+
+    private EventOutboxMessage save(EventOutboxMessage message) {
+        return outboxRepository.saveAndFlush(message);
+    }
+
+    private EventOutboxMessage message(Long eventId) {
+        Event event = new Event("ORDER_CREATED", "order-service", "{}", "tenant-001");
+        event.setEventId(eventId);
+        return EventOutboxMessage.forRouting(event);
+    }
+}
@@ -254,6 +254,46 @@ class KafkaEventPublisherTest {
         }
     }
 
+    @Nested
+    @DisplayName("异步发布确认测试")
+    class PublishEventAsyncTests {
+
+        @Test
+        @DisplayName("应该返回Broker确认结果")
+        void shouldReturnAckFuture() {
+            // Given
+            Event event = createValidEvent();
+            CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+            when(topicRepository.findByName(TEST_TOPIC_NAME)).thenReturn(Optional.of(createValidTopic()));
+            when(kafkaTemplate.send(TEST_TOPIC_NAME, "1", event)).thenReturn(future);
+
+            // When
+            CompletableFuture<SendResult<String, Object>> ack = kafkaEventPublisher.publishEventAsync(TEST_TOPIC_NAME, "1", event);
+
+            // Then
+            assertFalse(ack.isDone());
+            future.complete(new SendResult<>(null, null));
+            assertTrue(ack.isDone() && !ack.isCompletedExceptionally());
+        }
+
+        @Test
+        @DisplayName("Topic校验失败时应该返回异常完成的结果而不抛出异常")
+        void shouldReturnFailedFutureOnValidationFailure() {
+            // Given
+            Event event = createValidEvent();
+            when(topicRepository.findByName(TEST_TOPIC_NAME)).thenReturn(Optional.empty());
+
+            // When
+            CompletableFuture<SendResult<String, Object>> ack = kafkaEventPublisher.publishEventAsync(TEST_TOPIC_NAME, "1", event);
+
+            // Then
+            assertTrue(ack.isCompletedExceptionally());
+            Exception exception = assertThrows(Exception.class, ack::join);
+            assertTrue(exception.getCause().getMessage().contains("Topic未注册: " + TEST_TOPIC_NAME));
+            verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+        }
+    }
+
     private Event createValidEvent() {
         Event event = new Event(TEST_EVENT_TYPE, TEST_SOURCE, TEST_DATA, TEST_TENANT_ID);
         event.setEventId(1L);
@@ -0,0 +1,239 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RoutingExecutors 基础设施测试
+ */
+@DisplayName("RoutingExecutors 基础设施测试")
+class RoutingExecutorsTest {
+
+    private RoutingExecutors executors;
+
+    @AfterEach
+    void tearDown() {
+        if (executors != null) {
+            executors.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("租户应该按配置归入通道，未配置的租户使用标准通道")
+    void shouldResolveLaneByTenant() {
+        // Given
+        executors = new RoutingExecutors(Map.of(),
+                Map.of("vip", RoutingExecutors.Lane.PRIORITY, "batch", RoutingExecutors.Lane.BULK), false);
+
+        // Then
+        assertEquals(RoutingExecutors.Lane.PRIORITY, executors.laneOf("vip"));
+        assertEquals(RoutingExecutors.Lane.BULK, executors.laneOf("batch"));
+        assertEquals(RoutingExecutors.Lane.STANDARD, executors.laneOf("other"));
+        assertEquals(RoutingExecutors.Lane.STANDARD, executors.laneOf(null));
+    }
+
+    @Test
+    @DisplayName("任务应该在按通道命名的线程上执行且并发不超过上限")
+    void shouldRunOnNamedThreadsWithinConcurrencyLimit() throws Exception {
+        // Given
+        executors = new RoutingExecutors(lanes(2, 100, RoutingExecutors.OverflowPolicy.REJECT), Map.of(), false);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            futures.add(executors.submit(RoutingExecutors.Lane.STANDARD, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                await(release);
+                running.decrementAndGet();
+                return Thread.currentThread().getName();
+            }));
+        }
+
+        // Then：两个执行，四个等待
+        waitUntil(() -> executors.activeCount(RoutingExecutors.Lane.STANDARD) == 2 && running.get() == 2);
+        assertEquals(4, executors.queuedCount(RoutingExecutors.Lane.STANDARD));
+        release.countDown();
+        for (CompletableFuture<String> future : futures) {
+            assertTrue(future.get(5, TimeUnit.SECONDS).startsWith("event-routing-standard-"));
+        }
+        assertEquals(2, maxRunning.get());
+        waitUntil(() -> executors.activeCount(RoutingExecutors.Lane.STANDARD) == 0);
+    }
+
+    @Test
+    @DisplayName("一个通道阻塞时其他通道不受影响")
+    void shouldIsolateLanes() throws Exception {
+        // Given
+        executors = new RoutingExecutors(lanes(1, 10, RoutingExecutors.OverflowPolicy.REJECT),
+                Map.of("slow-tenant", RoutingExecutors.Lane.BULK), false);
+        CountDownLatch release = new CountDownLatch(1);
+        executors.submit("slow-tenant", () -> await(release));
+
+        // When
+        CompletableFuture<Integer> other = executors.submit("tenant-001", () -> 42);
+
+        // Then
+        assertEquals(42, other.get(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("REJECT 策略应该在队列满时以异常完成并计数")
+    void shouldRejectWhenQueueFull() {
+        // Given
+        executors = new RoutingExecutors(lanes(1, 1, RoutingExecutors.OverflowPolicy.REJECT), Map.of(), false);
+        CountDownLatch release = new CountDownLatch(1);
+        executors.submit(RoutingExecutors.Lane.STANDARD, () -> await(release));
+        executors.submit(RoutingExecutors.Lane.STANDARD, () -> true);
+
+        // When
+        CompletableFuture<Boolean> rejected = executors.submit(RoutingExecutors.Lane.STANDARD, () -> true);
+
+        // Then
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        assertEquals(1, executors.rejectedCount(RoutingExecutors.Lane.STANDARD));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("CALLER_RUNS 策略应该在队列满时由提交线程执行")
+    void shouldRunOnCallerWhenQueueFull() {
+        // Given
+        executors = new RoutingExecutors(lanes(1, 1, RoutingExecutors.OverflowPolicy.CALLER_RUNS), Map.of(), false);
+        CountDownLatch release = new CountDownLatch(1);
+        executors.submit(RoutingExecutors.Lane.STANDARD, () -> await(release));
+        executors.submit(RoutingExecutors.Lane.STANDARD, () -> true);
+
+        // When
+        CompletableFuture<String> future = executors.submit(RoutingExecutors.Lane.STANDARD,
+                () -> Thread.currentThread().getName());
+
+        // Then
+        assertTrue(future.isDone());
+        assertEquals(Thread.currentThread().getName(), future.join());
+        assertEquals(1, executors.callerRunsCount(RoutingExecutors.Lane.STANDARD));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("DISCARD_OLDEST 策略应该丢弃最早的等待任务并接收新任务")
+    void shouldDiscardOldestWhenQueueFull() throws Exception {
+        // Given
+        executors = new RoutingExecutors(lanes(1, 1, RoutingExecutors.OverflowPolicy.DISCARD_OLDEST), Map.of(), false);
+        CountDownLatch release = new CountDownLatch(1);
+        executors.submit(RoutingExecutors.Lane.STANDARD, () -> await(release));
+        CompletableFuture<String> oldest = executors.submit(RoutingExecutors.Lane.STANDARD, () -> "oldest");
+
+        // When
+        CompletableFuture<String> newest = executors.submit(RoutingExecutors.Lane.STANDARD, () -> "newest");
+        release.countDown();
+
+        // Then
+        assertThrows(CompletionException.class, oldest::join);
+        assertEquals("newest", newest.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executors.rejectedCount(RoutingExecutors.Lane.STANDARD));
+    }
+
+    @Test
+    @DisplayName("虚拟线程模式应该在虚拟线程上执行")
+    void shouldRunOnVirtualThreads() throws Exception {
+        // Given
+        executors = new RoutingExecutors(lanes(4, 10, RoutingExecutors.OverflowPolicy.REJECT), Map.of(), true);
+
+        // When
+        CompletableFuture<Boolean> virtual = executors.submit(RoutingExecutors.Lane.STANDARD,
+                () -> Thread.currentThread().isVirtual());
+
+        // Then
+        assertTrue(virtual.get(5, TimeUnit.SECONDS));
+        assertTrue(executors.isVirtualThreads());
+    }
+
+    @Test
+    @DisplayName("任务异常应该以异常完成且不影响后续任务")
+    void shouldPropagateTaskFailure() throws Exception {
+        // Given
+        executors = new RoutingExecutors(lanes(1, 10, RoutingExecutors.OverflowPolicy.REJECT), Map.of(), false);
+
+        // When
+        CompletableFuture<Object> failed = executors.submit(RoutingExecutors.Lane.STANDARD, () -> {
+            throw new IllegalStateException("路由失败");
+        });
+        CompletableFuture<Integer> next = executors.submit(RoutingExecutors.Lane.STANDARD, () -> 1);
+
+        // Then
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals(1, next.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("应该按通道注册队列深度与拒绝指标")
+    void shouldBindMetricsPerLane() {
+        // Given
+        executors = new RoutingExecutors(lanes(1, 0, RoutingExecutors.OverflowPolicy.REJECT), Map.of(), false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executors.bindMetrics(registry);
+        CountDownLatch release = new CountDownLatch(1);
+        executors.submit(RoutingExecutors.Lane.BULK, () -> await(release));
+
+        // When
+        executors.submit(RoutingExecutors.Lane.BULK, () -> true);
+
+        // Then
+        assertEquals(1.0, registry.get("event.routing.executor.rejected").tag("lane", "bulk").functionCounter().count());
+        assertEquals(1.0, registry.get("event.routing.executor.active").tag("lane", "bulk").gauge().value());
+        assertEquals(0.0, registry.get("event.routing.executor.queued").tag("lane", "standard").gauge().value());
+        release.countDown();
+    }
+
+    private static Map<RoutingExecutors.Lane, RoutingExecutors.LaneSettings> lanes(
+            int concurrency, int queueCapacity, RoutingExecutors.OverflowPolicy policy) {
+        Map<RoutingExecutors.Lane, RoutingExecutors.LaneSettings> lanes = new EnumMap<>(RoutingExecutors.Lane.class);
+        for (RoutingExecutors.Lane lane : RoutingExecutors.Lane.values()) {
+            lanes.put(lane, RoutingExecutors.LaneSettings.builder()
+                    .concurrency(concurrency)
+                    .queueCapacity(queueCapacity)
+                    .overflowPolicy(policy)
+                    .build());
+        }
+        return lanes;
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("等待条件超时");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
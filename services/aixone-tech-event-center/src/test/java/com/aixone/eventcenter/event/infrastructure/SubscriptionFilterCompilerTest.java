@@ -0,0 +1,422 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SubscriptionFilterCompiler 基础设施测试
+ * 除逐项验证操作符语义外，还以逐次解析 JSON 的解释执行实现为参照，对比编译结果
+ */
+@DisplayName("SubscriptionFilterCompiler 基础设施测试")
+class SubscriptionFilterCompilerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SubscriptionFilterCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new SubscriptionFilterCompiler();
+    }
+
+    @Nested
+    @DisplayName("操作符语义测试")
+    class OperatorTests {
+
+        @Test
+        @DisplayName("没有过滤配置应该匹配所有事件，包括无法解析的事件数据")
+        void shouldMatchAllWithoutFilter() {
+            assertSame(SubscriptionFilter.MATCH_ALL, compiler.filterFor(null));
+            assertSame(SubscriptionFilter.MATCH_ALL, compiler.filterFor(""));
+            assertTrue(compiler.filterFor(null).matches(null));
+        }
+
+        @Test
+        @DisplayName("直接值与 $eq 按文本比较，兼容旧的过滤配置")
+        void shouldMatchEquality() {
+            assertTrue(matches("{\"userId\":\"123\"}", "{\"userId\":123}"));
+            assertTrue(matches("{\"userId\":{\"$eq\":\"123\"}}", "{\"userId\":\"123\"}"));
+            assertFalse(matches("{\"userId\":\"123\"}", "{\"userId\":\"999\"}"));
+            assertFalse(matches("{\"userId\":\"123\"}", "{}"));
+        }
+
+        @Test
+        @DisplayName("$ne 与 $exists 在字段缺失时成立")
+        void shouldMatchMissingFields() {
+            assertTrue(matches("{\"status\":{\"$ne\":\"DELETED\"}}", "{}"));
+            assertFalse(matches("{\"status\":{\"$ne\":\"DELETED\"}}", "{\"status\":\"DELETED\"}"));
+            assertTrue(matches("{\"status\":{\"$exists\":false}}", "{}"));
+            assertFalse(matches("{\"status\":{\"$exists\":true}}", "{}"));
+            assertTrue(matches("{\"status\":{}}", "{\"status\":null}"));
+        }
+
+        @Test
+        @DisplayName("$in、$prefix 与数值和文本比较")
+        void shouldMatchSetAndRangeOperators() {
+            assertTrue(matches("{\"type\":{\"$in\":[\"A\",\"B\"]}}", "{\"type\":\"B\"}"));
+            assertFalse(matches("{\"type\":{\"$in\":[\"A\",\"B\"]}}", "{\"type\":\"C\"}"));
+            assertTrue(matches("{\"code\":{\"$prefix\":\"ERR_\"}}", "{\"code\":\"ERR_TIMEOUT\"}"));
+            assertTrue(matches("{\"amount\":{\"$gt\":10,\"$lt\":100}}", "{\"amount\":\"50.5\"}"));
+            assertFalse(matches("{\"amount\":{\"$gt\":10}}", "{\"amount\":10}"));
+            assertFalse(matches("{\"amount\":{\"$gt\":10}}", "{\"amount\":\"abc\"}"));
+            assertTrue(matches("{\"at\":{\"$lt\":\"2024-06-01\"}}", "{\"at\":\"2024-05-31T23:59:59Z\"}"));
+        }
+
+        @Test
+        @DisplayName("点分路径与嵌套对象等价")
+        void shouldMatchNestedPaths() {
+            String event = "{\"order\":{\"customer\":{\"tier\":\"GOLD\"}}}";
+            assertTrue(matches("{\"order.customer.tier\":\"GOLD\"}", event));
+            assertTrue(matches("{\"order\":{\"customer\":{\"tier\":\"GOLD\"}}}", event));
+            assertTrue(matches("{\"order\":{\"customer.tier\":{\"$in\":[\"GOLD\"]}}}", event));
+            assertFalse(matches("{\"order.customer.tier.level\":\"GOLD\"}", event));
+        }
+
+        @Test
+        @DisplayName("无效配置或无效事件数据不匹配")
+        void shouldRejectInvalidInput() {
+            assertSame(SubscriptionFilter.MATCH_NONE, compiler.compile("not-json"));
+            assertSame(SubscriptionFilter.MATCH_NONE, compiler.compile("[1,2]"));
+            assertSame(SubscriptionFilter.MATCH_NONE, compiler.compile("{\"a\":{\"$regex\":\"x\"}}"));
+            assertSame(SubscriptionFilter.MATCH_NONE, compiler.compile("{\"a\":{\"$eq\":1,\"b\":2}}"));
+            assertSame(SubscriptionFilter.MATCH_NONE, compiler.compile("{\"a\":[1,2]}"));
+            assertFalse(compiler.compile("{\"a\":1}").matches(null));
+        }
+
+        @Test
+        @DisplayName("相同配置应该复用编译结果")
+        void shouldCacheCompiledFilters() {
+            String filter = "{\"userId\":\"123\"}";
+            assertSame(compiler.filterFor(filter), compiler.filterFor(new String(filter)));
+        }
+    }
+
+    @Nested
+    @DisplayName("编译与解释执行对比测试")
+    class EquivalenceTests {
+
+        private final List<String> filters = List.of(
+                "{}",
+                "{\"userId\":\"123\"}",
+                "{\"userId\":123}",
+                "{\"userId\":{\"$eq\":\"123\"}}",
+                "{\"userId\":{\"$ne\":\"123\"}}",
+                "{\"status\":{\"$in\":[\"ACTIVE\",\"LOCKED\"]}}",
+                "{\"amount\":{\"$gt\":100}}",
+                "{\"amount\":{\"$lt\":100.5}}",
+                "{\"amount\":{\"$gt\":\"100\"}}",
+                "{\"amount\":{\"$gt\":0,\"$lt\":1000}}",
+                "{\"meta.region\":{\"$prefix\":\"cn-\"}}",
+                "{\"meta\":{\"region\":\"cn-north\"}}",
+                "{\"meta\":{\"tags\":{\"$exists\":true}}}",
+                "{\"meta.tags\":{\"$exists\":false}}",
+                "{\"meta\":{}}",
+                "{\"userId\":\"123\",\"status\":\"ACTIVE\"}",
+                "{\"userId\":null}",
+                "{\"a\":{\"$unknown\":1}}",
+                "{\"a\":{\"$eq\":{\"b\":1}}}",
+                "{\"a\":{\"$exists\":\"yes\"}}",
+                "{\"$eq\":1}",
+                "{\"a\":[1]}",
+                "[]",
+                "\"text\"",
+                "not-json");
+
+        private final List<String> events = List.of(
+                "{\"userId\":\"123\",\"status\":\"ACTIVE\",\"amount\":150,\"meta\":{\"region\":\"cn-north\",\"tags\":[\"a\"]}}",
+                "{\"userId\":123,\"status\":\"LOCKED\",\"amount\":\"99.9\",\"meta\":{\"region\":\"us-east\"}}",
+                "{\"userId\":\"999\",\"amount\":\"abc\",\"meta\":\"flat\"}",
+                "{\"userId\":null,\"amount\":100}",
+                "{\"a\":1,\"meta\":{}}",
+                "{}",
+                "[1,2,3]",
+                "42",
+                "not-json",
+                "");
+
+        @Test
+        @DisplayName("固定样例上编译结果应该与解释执行一致")
+        void shouldAgreeOnFixedCorpus() {
+            for (String filter : filters) {
+                for (String event : events) {
+                    assertEquals(interpret(filter, event), compiled(filter, event),
+                            () -> "filter=" + filter + ", event=" + event);
+                }
+                assertEquals(interpret(filter, null), compiled(filter, null), () -> "filter=" + filter + ", event=null");
+            }
+        }
+
+        @Test
+        @DisplayName("随机样例上编译结果应该与解释执行一致")
+        void shouldAgreeOnRandomCorpus() {
+            Random random = new Random(20240601L);
+            List<String> randomEvents = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                randomEvents.add(randomEvent(random));
+            }
+            for (int i = 0; i < 300; i++) {
+                String filter = randomFilter(random);
+                for (String event : randomEvents) {
+                    assertEquals(interpret(filter, event), compiled(filter, event),
+                            () -> "filter=" + filter + ", event=" + event);
+                }
+            }
+        }
+    }
+
+    private boolean matches(String filter, String event) {
+        boolean result = compiled(filter, event);
+        assertEquals(interpret(filter, event), result, () -> "filter=" + filter + ", event=" + event);
+        return result;
+    }
+
+    /**
+     * 编译执行：与 EventRouterImpl 相同，事件数据解析一次后在谓词树上求值
+     */
+    private boolean compiled(String filter, String event) {
+        SubscriptionFilter compiledFilter = compiler.filterFor(filter);
+        JsonNode eventData;
+        try {
+            eventData = event == null ? null : MAPPER.readTree(event);
+        } catch (Exception e) {
+            eventData = null;
+        }
+        return compiledFilter.matches(eventData);
+    }
+
+    // ==================== 参照实现：每次求值都重新解析并逐节点解释 ====================
+
+    private static boolean interpret(String filterConfig, String event) {
+        if (filterConfig == null || filterConfig.isEmpty()) {
+            return true;
+        }
+        try {
+            JsonNode filter = MAPPER.readTree(filterConfig);
+            JsonNode eventData = MAPPER.readTree(event);
+            if (!filter.isObject()) {
+                return false;
+            }
+            return interpretObject(filter, eventData);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean interpretObject(JsonNode filter, JsonNode scope) {
+        // 不短路：先检查全部条件，保证无效配置总是抛出
+        boolean result = true;
+        Iterator<Map.Entry<String, JsonNode>> fields = filter.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            if (entry.getKey().startsWith("$")) {
+                throw new IllegalArgumentException(entry.getKey());
+            }
+            JsonNode actual = scope;
+            for (String segment : entry.getKey().split("\\.")) {
+                actual = actual != null && actual.isObject() ? actual.get(segment) : null;
+            }
+            JsonNode expected = entry.getValue();
+            boolean matched;
+            if (expected.isObject()) {
+                long operators = countOperators(expected);
+                if (expected.size() == 0) {
+                    matched = actual != null;
+                } else if (operators == expected.size()) {
+                    matched = true;
+                    Iterator<Map.Entry<String, JsonNode>> ops = expected.fields();
+                    while (ops.hasNext()) {
+                        Map.Entry<String, JsonNode> op = ops.next();
+                        matched &= interpretOperator(op.getKey(), op.getValue(), actual);
+                    }
+                } else if (operators == 0) {
+                    matched = interpretObject(expected, actual);
+                } else {
+                    throw new IllegalArgumentException("mixed");
+                }
+            } else if (expected.isArray()) {
+                throw new IllegalArgumentException("array");
+            } else {
+                matched = actual != null && actual.asText().equals(expected.asText());
+            }
+            result &= matched;
+        }
+        return result;
+    }
+
+    private static long countOperators(JsonNode node) {
+        long count = 0;
+        Iterator<String> names = node.fieldNames();
+        while (names.hasNext()) {
+            if (names.next().startsWith("$")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean interpretOperator(String operator, JsonNode operand, JsonNode actual) {
+        switch (operator) {
+            case "$eq":
+                requireScalar(operand);
+                return actual != null && actual.asText().equals(operand.asText());
+            case "$ne":
+                requireScalar(operand);
+                return actual == null || !actual.asText().equals(operand.asText());
+            case "$in": {
+                if (!operand.isArray()) {
+                    throw new IllegalArgumentException("$in");
+                }
+                boolean found = false;
+                for (JsonNode candidate : operand) {
+                    requireScalar(candidate);
+                    found |= actual != null && actual.asText().equals(candidate.asText());
+                }
+                return found;
+            }
+            case "$gt":
+                return compare(operand, actual) > 0;
+            case "$lt":
+                return compare(operand, actual) < 0;
+            case "$exists":
+                if (!operand.isBoolean()) {
+                    throw new IllegalArgumentException("$exists");
+                }
+                return (actual != null) == operand.booleanValue();
+            case "$prefix":
+                if (!operand.isTextual()) {
+                    throw new IllegalArgumentException("$prefix");
+                }
+                return actual != null && actual.isValueNode() && actual.asText().startsWith(operand.textValue());
+            default:
+                throw new IllegalArgumentException(operator);
+        }
+    }
+
+    private static void requireScalar(JsonNode operand) {
+        if (!operand.isValueNode()) {
+            throw new IllegalArgumentException("scalar");
+        }
+    }
+
+    private static int compare(JsonNode operand, JsonNode actual) {
+        if (!operand.isNumber() && !operand.isTextual()) {
+            throw new IllegalArgumentException("compare");
+        }
+        if (actual == null || actual.isNull() || !actual.isValueNode()) {
+            return 0;
+        }
+        if (operand.isNumber()) {
+            BigDecimal value;
+            if (actual.isNumber()) {
+                value = actual.decimalValue();
+            } else if (actual.isTextual()) {
+                try {
+                    value = new BigDecimal(actual.textValue().trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            } else {
+                return 0;
+            }
+            return Integer.signum(value.compareTo(operand.decimalValue()));
+        }
+        return actual.isTextual() ? Integer.signum(actual.textValue().compareTo(operand.textValue())) : 0;
+    }
+
+    // ==================== 随机样例 ====================
+
+    private static final String[] FIELDS = {"a", "b", "c", "n.x", "n.y"};
+    private static final String[] OPERATORS = {"$eq", "$ne", "$in", "$gt", "$lt", "$exists", "$prefix", "$bad"};
+
+    private static String randomEvent(Random random) {
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"a\":").append(randomScalar(random));
+        if (random.nextBoolean()) {
+            json.append(",\"b\":").append(randomScalar(random));
+        }
+        if (random.nextInt(4) > 0) {
+            json.append(",\"n\":");
+            if (random.nextInt(5) == 0) {
+                json.append(randomScalar(random));
+            } else {
+                json.append("{\"x\":").append(randomScalar(random));
+                if (random.nextBoolean()) {
+                    json.append(",\"y\":").append(randomScalar(random));
+                }
+                json.append("}");
+            }
+        }
+        return json.append("}").toString();
+    }
+
+    private static String randomFilter(Random random) {
+        StringBuilder json = new StringBuilder("{");
+        int conditions = 1 + random.nextInt(3);
+        for (int i = 0; i < conditions; i++) {
+            if (i > 0) {
+                json.append(",");
+            }
+            String field = FIELDS[random.nextInt(FIELDS.length)];
+            json.append("\"").append(field).append("\":");
+            if (random.nextInt(3) == 0) {
+                json.append(randomScalar(random));
+            } else {
+                json.append("{");
+                int operators = 1 + random.nextInt(2);
+                for (int j = 0; j < operators; j++) {
+                    if (j > 0) {
+                        json.append(",");
+                    }
+                    String operator = OPERATORS[random.nextInt(OPERATORS.length)];
+                    json.append("\"").append(operator).append("\":");
+                    json.append(randomOperand(random, operator));
+                }
+                json.append("}");
+            }
+        }
+        return json.append("}").toString();
+    }
+
+    private static String randomOperand(Random random, String operator) {
+        switch (operator) {
+            case "$in":
+                return "[" + randomScalar(random) + "," + randomScalar(random) + "]";
+            case "$exists":
+                return random.nextInt(5) == 0 ? "1" : String.valueOf(random.nextBoolean());
+            case "$prefix":
+                return random.nextInt(5) == 0 ? "1" : "\"" + (char) ('p' + random.nextInt(3)) + "\"";
+            default:
+                return randomScalar(random);
+        }
+    }
+
+    private static String randomScalar(Random random) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return String.valueOf(random.nextInt(5));
+            case 1:
+                return "\"" + random.nextInt(5) + "\"";
+            case 2:
+                return "\"" + (char) ('p' + random.nextInt(3)) + (char) ('p' + random.nextInt(3)) + "\"";
+            case 3:
+                return random.nextBoolean() ? "true" : "false";
+            case 4:
+                return "null";
+            default:
+                return random.nextInt(5) + ".5";
+        }
+    }
+}
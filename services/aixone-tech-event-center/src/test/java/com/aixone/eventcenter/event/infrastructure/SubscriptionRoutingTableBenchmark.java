@@ -0,0 +1,134 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.aixone.eventcenter.event.domain.Subscription;
+import com.aixone.eventcenter.event.domain.SubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SubscriptionRoutingTable 路由查找基准测试
+ * 200 个租户各有 50 个精确订阅、一个 USER_* 前缀订阅和一个通配符订阅，共一万余条订阅；
+ * 测量按租户和事件类型查找订阅的单次耗时，分别覆盖命中精确与前缀订阅、只命中通配符两种情况，
+ * 并以不建索引逐条匹配全部订阅作对照。
+ * 类名不以 Test 结尾，默认构建不执行，手动运行：
+ * mvn test -Dtest=SubscriptionRoutingTableBenchmark
+ */
+@Tag("benchmark")
+@DisplayName("SubscriptionRoutingTable 路由查找基准测试")
+class SubscriptionRoutingTableBenchmark {
+
+    private static final int TENANTS = 200;
+    private static final int EVENT_TYPES = 50;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int OPERATIONS_PER_ITERATION = 1_000_000;
+
+    private SubscriptionRoutingTable routingTable;
+    private List<Subscription> allSubscriptions;
+    private String[] tenantIds;
+    private String[] eventTypes;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 每个租户：每种事件类型一个精确订阅，另有一个前缀订阅和一个通配符订阅
+        allSubscriptions = new ArrayList<>();
+        tenantIds = new String[TENANTS];
+        eventTypes = new String[EVENT_TYPES];
+        for (int e = 0; e < EVENT_TYPES; e++) {
+            eventTypes[e] = (e % 2 == 0 ? "USER_" : "ORDER_") + "EVENT_" + e;
+        }
+        long id = 1;
+        for (int t = 0; t < TENANTS; t++) {
+            tenantIds[t] = "tenant-" + t;
+            for (String eventType : eventTypes) {
+                allSubscriptions.add(subscription(id++, tenantIds[t], eventType));
+            }
+            allSubscriptions.add(subscription(id++, tenantIds[t], "USER_*"));
+            allSubscriptions.add(subscription(id++, tenantIds[t], SubscriptionRoutingTable.WILDCARD));
+        }
+
+        SubscriptionRepository subscriptionRepository = mock(SubscriptionRepository.class);
+        when(subscriptionRepository.findByStatus(Subscription.SubscriptionStatus.ACTIVE)).thenReturn(allSubscriptions);
+        routingTable = new SubscriptionRoutingTable();
+        java.lang.reflect.Field repositoryField = SubscriptionRoutingTable.class.getDeclaredField("subscriptionRepository");
+        repositoryField.setAccessible(true);
+        repositoryField.set(routingTable, subscriptionRepository);
+        routingTable.reloadAll();
+    }
+
+    @Test
+    @DisplayName("按租户路由查找")
+    void benchmarkTenantRoute() {
+        long matched = run("routing-table", i -> routingTable.route(
+                tenantIds[i % TENANTS], eventTypes[(i >>> 8) % EVENT_TYPES]).size());
+        assertTrue(matched > 0);
+    }
+
+    @Test
+    @DisplayName("未命中的事件类型仅匹配通配符")
+    void benchmarkTenantRouteMiss() {
+        long matched = run("routing-table-miss", i -> routingTable.route(
+                tenantIds[i % TENANTS], "AUDIT_EVENT").size());
+        assertTrue(matched > 0);
+    }
+
+    @Test
+    @DisplayName("对照：逐条模式匹配（无索引）")
+    void benchmarkLinearScan() {
+        long matched = run("linear-scan", i -> {
+            String tenantId = tenantIds[i % TENANTS];
+            String eventType = eventTypes[(i >>> 8) % EVENT_TYPES];
+            int count = 0;
+            for (Subscription subscription : allSubscriptions) {
+                if (tenantId.equals(subscription.getTenantId())
+                        && SubscriptionRoutingTable.matches(subscription.getEventType(), eventType)) {
+                    count++;
+                }
+            }
+            return count;
+        }, OPERATIONS_PER_ITERATION / 1000);
+        assertTrue(matched > 0);
+    }
+
+    private long run(String name, ToIntFunction<Integer> operation) {
+        return run(name, operation, OPERATIONS_PER_ITERATION);
+    }
+
+    private long run(String name, ToIntFunction<Integer> operation, int operations) {
+        long sink = 0;
+        for (int iteration = 0; iteration < WARMUP_ITERATIONS; iteration++) {
+            for (int i = 0; i < operations; i++) {
+                sink += operation.applyAsInt(i);
+            }
+        }
+        double best = Double.MAX_VALUE;
+        double total = 0;
+        for (int iteration = 0; iteration < MEASUREMENT_ITERATIONS; iteration++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < operations; i++) {
+                sink += operation.applyAsInt(i);
+            }
+            double nanosPerOp = (double) (System.nanoTime() - start) / operations;
+            best = Math.min(best, nanosPerOp);
+            total += nanosPerOp;
+        }
+        System.out.printf("%-20s avg %10.1f ns/op, best %10.1f ns/op (%d subscriptions, %d tenants)%n",
+                name, total / MEASUREMENT_ITERATIONS, best, allSubscriptions.size(), TENANTS);
+        return sink;
+    }
+
+    private Subscription subscription(Long subscriptionId, String tenantId, String eventType) {
+        Subscription subscription = new Subscription(tenantId, eventType, "bench-service", "http://localhost:8080/api/events");
+        subscription.setSubscriptionId(subscriptionId);
+        return subscription;
+    }
+}
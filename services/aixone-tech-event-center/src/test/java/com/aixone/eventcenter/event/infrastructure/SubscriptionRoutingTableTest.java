@@ -0,0 +1,223 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.aixone.eventcenter.event.domain.Subscription;
+import com.aixone.eventcenter.event.domain.SubscriptionChangedEvent;
+import com.aixone.eventcenter.event.domain.SubscriptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SubscriptionRoutingTable 基础设施测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SubscriptionRoutingTable 基础设施测试")
+class SubscriptionRoutingTableTest {
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    private SubscriptionRoutingTable routingTable;
+
+    private MeterRegistry meterRegistry;
+
+    private final String TEST_TENANT_ID = "tenant-001";
+    private final String OTHER_TENANT_ID = "tenant-002";
+
+    @BeforeEach
+    void setUp() {
+        routingTable = new SubscriptionRoutingTable();
+        meterRegistry = new SimpleMeterRegistry();
+        try {
+            java.lang.reflect.Field repositoryField = SubscriptionRoutingTable.class.getDeclaredField("subscriptionRepository");
+            repositoryField.setAccessible(true);
+            repositoryField.set(routingTable, subscriptionRepository);
+
+            java.lang.reflect.Field registryField = SubscriptionRoutingTable.class.getDeclaredField("meterRegistry");
+            registryField.setAccessible(true);
+            registryField.set(routingTable, meterRegistry);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to set up SubscriptionRoutingTable dependencies", e);
+        }
+        routingTable.registerMetrics();
+    }
+
+    @Nested
+    @DisplayName("路由查找测试")
+    class RouteTests {
+
+        @Test
+        @DisplayName("应该只路由到本租户的精确匹配订阅")
+        void shouldRouteExactMatchesWithinTenant() {
+            // Given
+            Subscription own = subscription(1L, TEST_TENANT_ID, "USER_CREATED");
+            Subscription foreign = subscription(2L, OTHER_TENANT_ID, "USER_CREATED");
+            Subscription unrelated = subscription(3L, TEST_TENANT_ID, "ORDER_PAID");
+            when(subscriptionRepository.findByStatus(Subscription.SubscriptionStatus.ACTIVE))
+                    .thenReturn(List.of(own, foreign, unrelated));
+            routingTable.reloadAll();
+
+            // When
+            List<Subscription> result = routingTable.route(TEST_TENANT_ID, "USER_CREATED");
+
+            // Then
+            assertEquals(List.of(own), result);
+            assertEquals(List.of(own, foreign), sortById(routingTable.route(null, "USER_CREATED")));
+            assertTrue(routingTable.route("tenant-unknown", "USER_CREATED").isEmpty());
+        }
+
+        @Test
+        @DisplayName("应该匹配前缀模式与通配符订阅")
+        void shouldRoutePrefixAndWildcardPatterns() {
+            // Given
+            Subscription exact = subscription(3L, TEST_TENANT_ID, "USER_CREATED");
+            Subscription prefix = subscription(2L, TEST_TENANT_ID, "USER_*");
+            Subscription wildcard = subscription(1L, TEST_TENANT_ID, "*");
+            when(subscriptionRepository.findByStatus(Subscription.SubscriptionStatus.ACTIVE))
+                    .thenReturn(List.of(wildcard, prefix, exact));
+            routingTable.reloadAll();
+
+            // When
+            List<Subscription> userEvent = routingTable.route(TEST_TENANT_ID, "USER_CREATED");
+            List<Subscription> orderEvent = routingTable.route(TEST_TENANT_ID, "ORDER_PAID");
+
+            // Then
+            assertEquals(exact, userEvent.get(0));
+            assertEquals(3, userEvent.size());
+            assertTrue(userEvent.containsAll(List.of(prefix, wildcard)));
+            assertEquals(List.of(wildcard), orderEvent);
+        }
+
+        @Test
+        @DisplayName("路由结果应该不可修改且重复查找返回同一列表")
+        void shouldReturnImmutableCachedRoutes() {
+            // Given
+            when(subscriptionRepository.findByStatus(Subscription.SubscriptionStatus.ACTIVE))
+                    .thenReturn(List.of(subscription(1L, TEST_TENANT_ID, "USER_*")));
+            routingTable.reloadAll();
+
+            // When
+            List<Subscription> first = routingTable.route(TEST_TENANT_ID, "USER_CREATED");
+            List<Subscription> second = routingTable.route(TEST_TENANT_ID, "USER_CREATED");
+
+            // Then
+            assertSame(first, second);
+            assertThrows(UnsupportedOperationException.class, () -> first.add(new Subscription()));
+        }
+
+        @Test
+        @DisplayName("模式匹配规则")
+        void shouldMatchPatterns() {
+            assertTrue(SubscriptionRoutingTable.matches("*", "USER_CREATED"));
+            assertTrue(SubscriptionRoutingTable.matches("order.*", "order.paid"));
+            assertTrue(SubscriptionRoutingTable.matches("USER_CREATED", "USER_CREATED"));
+            assertFalse(SubscriptionRoutingTable.matches("order.*", "orders.paid"));
+            assertFalse(SubscriptionRoutingTable.matches("USER_CREATED", "USER_CREATED_V2"));
+            assertFalse(SubscriptionRoutingTable.matches(null, "USER_CREATED"));
+        }
+    }
+
+    @Nested
+    @DisplayName("快照更新测试")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("全量加载前应该忽略订阅变更事件")
+        void shouldIgnoreChangesBeforeLoaded() {
+            // When
+            routingTable.onSubscriptionChanged(new SubscriptionChangedEvent(TEST_TENANT_ID, 1L));
+
+            // Then
+            assertFalse(routingTable.isLoaded());
+            assertEquals(0L, routingTable.version());
+            verifyNoInteractions(subscriptionRepository);
+        }
+
+        @Test
+        @DisplayName("订阅变更后应该只重新加载该租户并替换快照")
+        void shouldReloadTenantOnChange() {
+            // Given
+            Subscription own = subscription(1L, TEST_TENANT_ID, "USER_CREATED");
+            Subscription foreign = subscription(2L, OTHER_TENANT_ID, "USER_CREATED");
+            when(subscriptionRepository.findByStatus(Subscription.SubscriptionStatus.ACTIVE))
+                    .thenReturn(List.of(own, foreign));
+            routingTable.reloadAll();
+            List<Subscription> before = routingTable.route(TEST_TENANT_ID, "USER_CREATED");
+            long version = routingTable.version();
+
+            Subscription added = subscription(3L, TEST_TENANT_ID, "USER_*");
+            when(subscriptionRepository.findByTenantIdAndStatus(TEST_TENANT_ID, Subscription.SubscriptionStatus.ACTIVE))
+                    .thenReturn(List.of(own, added));
+
+            // When
+            routingTable.onSubscriptionChanged(new SubscriptionChangedEvent(TEST_TENANT_ID, 3L));
+
+            // Then
+            assertEquals(version + 1, routingTable.version());
+            assertEquals(List.of(own, added), routingTable.route(TEST_TENANT_ID, "USER_CREATED"));
+            assertEquals(List.of(own), before);
+            assertEquals(List.of(foreign), routingTable.route(OTHER_TENANT_ID, "USER_CREATED"));
+            assertEquals(3, routingTable.size());
+        }
+
+        @Test
+        @DisplayName("租户没有活跃订阅时应该从路由表移除")
+        void shouldRemoveTenantWithoutActiveSubscriptions() {
+            // Given
+            when(subscriptionRepository.findByStatus(Subscription.SubscriptionStatus.ACTIVE))
+                    .thenReturn(List.of(subscription(1L, TEST_TENANT_ID, "USER_CREATED")));
+            routingTable.reloadAll();
+            when(subscriptionRepository.findByTenantIdAndStatus(TEST_TENANT_ID, Subscription.SubscriptionStatus.ACTIVE))
+                    .thenReturn(List.of());
+
+            // When
+            routingTable.reloadTenant(TEST_TENANT_ID);
+
+            // Then
+            assertTrue(routingTable.route(TEST_TENANT_ID, "USER_CREATED").isEmpty());
+            assertEquals(0, routingTable.tenantCount());
+            assertEquals(0, routingTable.size());
+        }
+
+        @Test
+        @DisplayName("应该暴露版本与容量指标")
+        void shouldExposeMetrics() {
+            // Given
+            when(subscriptionRepository.findByStatus(Subscription.SubscriptionStatus.ACTIVE))
+                    .thenReturn(List.of(
+                            subscription(1L, TEST_TENANT_ID, "USER_CREATED"),
+                            subscription(2L, OTHER_TENANT_ID, "*")));
+
+            // When
+            routingTable.reloadAll();
+
+            // Then
+            assertEquals(1.0, meterRegistry.get("event.routing.table.version").gauge().value());
+            assertEquals(2.0, meterRegistry.get("event.routing.table.size").gauge().value());
+            assertEquals(2.0, meterRegistry.get("event.routing.table.tenants").gauge().value());
+        }
+    }
+
+    private List<Subscription> sortById(List<Subscription> subscriptions) {
+        return subscriptions.stream()
+                .sorted(java.util.Comparator.comparing(Subscription::getSubscriptionId))
+                .toList();
+    }
+
+    private Subscription subscription(Long subscriptionId, String tenantId, String eventType) {
+        Subscription subscription = new Subscription(tenantId, eventType, "test-service", "http://localhost:8080/api/events");
+        subscription.setSubscriptionId(subscriptionId);
+        return subscription;
+    }
+}
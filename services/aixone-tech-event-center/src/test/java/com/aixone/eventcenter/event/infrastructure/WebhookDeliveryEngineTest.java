@@ -0,0 +1,307 @@
+package com.aixone.eventcenter.event.infrastructure;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WebhookDeliveryEngine 基础设施测试
+ * 使用进程内 HTTP 服务模拟正常、缓慢、失败与时好时坏的订阅端点
+ */
+@DisplayName("WebhookDeliveryEngine 基础设施测试")
+class WebhookDeliveryEngineTest {
+
+    private static final String BODY = "{\"eventId\":1}";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private WebhookDeliveryEngine engine;
+    private final AtomicLong clock = new AtomicLong();
+
+    private final Set<Integer> okClientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger slowConcurrent = new AtomicInteger();
+    private final AtomicInteger slowMaxConcurrent = new AtomicInteger();
+    private final CountDownLatch slowRelease = new CountDownLatch(1);
+    private final AtomicInteger failHits = new AtomicInteger();
+    private final AtomicBoolean flapHealthy = new AtomicBoolean(false);
+    private final AtomicInteger flapHits = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/ok", exchange -> {
+            okClientPorts.add(exchange.getRemoteAddress().getPort());
+            respond(exchange, 200);
+        });
+        server.createContext("/slow", exchange -> {
+            int concurrent = slowConcurrent.incrementAndGet();
+            slowMaxConcurrent.accumulateAndGet(concurrent, Math::max);
+            try {
+                slowRelease.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                slowConcurrent.decrementAndGet();
+            }
+            respond(exchange, 200);
+        });
+        server.createContext("/fail", exchange -> {
+            failHits.incrementAndGet();
+            respond(exchange, 503);
+        });
+        server.createContext("/flap", exchange -> {
+            flapHits.incrementAndGet();
+            respond(exchange, flapHealthy.get() ? 200 : 500);
+        });
+        server.createContext("/bad-request", exchange -> respond(exchange, 400));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowRelease.countDown();
+        if (engine != null) {
+            engine.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("正常端点应该投递成功并复用长连接")
+    void shouldDeliverAndReuseConnections() {
+        // Given
+        engine = engine(settings().build());
+
+        // When
+        List<WebhookDeliveryResult> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(engine.deliver(url("/ok"), BODY).join());
+        }
+
+        // Then
+        assertTrue(results.stream().allMatch(WebhookDeliveryResult::isSuccess));
+        assertEquals(1, okClientPorts.size(), "顺序投递应复用同一条连接");
+        assertEquals(0, engine.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("慢端点应该按请求超时失败且不影响其他端点")
+    void shouldTimeOutSlowEndpointWithoutBlockingOthers() {
+        // Given
+        engine = engine(settings().requestTimeoutMs(1_000).maxConcurrencyPerEndpoint(2).build());
+        List<CompletableFuture<WebhookDeliveryResult>> slow = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            slow.add(engine.deliver(url("/slow"), BODY));
+        }
+
+        // When
+        long start = System.nanoTime();
+        WebhookDeliveryResult fast = engine.deliver(url("/ok"), BODY).join();
+        long fastMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertTrue(fast.isSuccess());
+        assertTrue(fastMillis < 1000, "正常端点不应等待慢端点: " + fastMillis + "ms");
+        for (CompletableFuture<WebhookDeliveryResult> future : slow) {
+            WebhookDeliveryResult result = future.join();
+            assertEquals(WebhookDeliveryResult.Outcome.IO_ERROR, result.getOutcome());
+            assertTrue(result.getError().contains("超时"), result.getError());
+        }
+    }
+
+    @Test
+    @DisplayName("每个端点的并发数不应超过上限")
+    void shouldBoundPerEndpointConcurrency() throws Exception {
+        // Given
+        engine = engine(settings().maxConcurrencyPerEndpoint(3).build());
+        List<CompletableFuture<WebhookDeliveryResult>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            futures.add(engine.deliver(url("/slow"), BODY));
+        }
+        waitUntil(() -> slowConcurrent.get() == 3);
+        int queuedWhileBlocked = engine.queuedCount();
+        slowRelease.countDown();
+
+        // Then
+        for (CompletableFuture<WebhookDeliveryResult> future : futures) {
+            assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+        }
+        assertEquals(7, queuedWhileBlocked);
+        assertEquals(3, slowMaxConcurrent.get());
+        assertEquals(0, engine.queuedCount());
+    }
+
+    @Test
+    @DisplayName("等待队列满时应该立即拒绝")
+    void shouldRejectWhenQueueFull() throws Exception {
+        // Given
+        engine = engine(settings().maxConcurrencyPerEndpoint(1).queueCapacity(2).build());
+        List<CompletableFuture<WebhookDeliveryResult>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            futures.add(engine.deliver(url("/slow"), BODY));
+        }
+
+        // Then
+        assertEquals(WebhookDeliveryResult.Outcome.REJECTED, futures.get(3).getNow(null).getOutcome());
+        assertEquals(WebhookDeliveryResult.Outcome.REJECTED, futures.get(4).getNow(null).getOutcome());
+        slowRelease.countDown();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(futures.get(i).get(5, TimeUnit.SECONDS).isSuccess());
+        }
+    }
+
+    @Test
+    @DisplayName("连续失败后应该熔断，熔断期间不再请求端点")
+    void shouldOpenCircuitAfterConsecutiveFailures() {
+        // Given
+        engine = engine(settings().failureThreshold(3).build());
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertEquals(WebhookDeliveryResult.Outcome.HTTP_ERROR, engine.deliver(url("/fail"), BODY).join().getOutcome());
+        }
+        WebhookDeliveryResult rejected = engine.deliver(url("/fail"), BODY).join();
+
+        // Then
+        assertEquals(WebhookDeliveryResult.Outcome.CIRCUIT_OPEN, rejected.getOutcome());
+        assertEquals(EndpointCircuitBreaker.State.OPEN, engine.circuitState(url("/fail")));
+        assertEquals(3, failHits.get());
+        assertTrue(engine.deliver(url("/ok"), BODY).join().isSuccess(), "其他端点不受影响");
+    }
+
+    @Test
+    @DisplayName("客户端错误不计入熔断失败")
+    void shouldNotTripCircuitOnClientErrors() {
+        // Given
+        engine = engine(settings().failureThreshold(2).build());
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertEquals(WebhookDeliveryResult.Outcome.HTTP_ERROR,
+                    engine.deliver(url("/bad-request"), BODY).join().getOutcome());
+        }
+
+        // Then
+        assertEquals(EndpointCircuitBreaker.State.CLOSED, engine.circuitState(url("/bad-request")));
+    }
+
+    @Test
+    @DisplayName("时好时坏的端点：半开试探失败重新熔断，恢复后关闭")
+    void shouldRecoverFlappingEndpoint() {
+        // Given：连续失败两次后熔断
+        engine = engine(settings().failureThreshold(2).openDurationMs(1_000).build());
+        engine.deliver(url("/flap"), BODY).join();
+        engine.deliver(url("/flap"), BODY).join();
+        assertEquals(EndpointCircuitBreaker.State.OPEN, engine.circuitState(url("/flap")));
+
+        // When：打开时长结束，试探仍失败
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_001));
+        WebhookDeliveryResult trial = engine.deliver(url("/flap"), BODY).join();
+
+        // Then
+        assertEquals(WebhookDeliveryResult.Outcome.HTTP_ERROR, trial.getOutcome());
+        assertEquals(EndpointCircuitBreaker.State.OPEN, engine.circuitState(url("/flap")));
+        assertEquals(WebhookDeliveryResult.Outcome.CIRCUIT_OPEN, engine.deliver(url("/flap"), BODY).join().getOutcome());
+        assertEquals(3, flapHits.get());
+
+        // When：端点恢复，下一次试探成功
+        flapHealthy.set(true);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_001));
+
+        // Then
+        assertTrue(engine.deliver(url("/flap"), BODY).join().isSuccess());
+        assertEquals(EndpointCircuitBreaker.State.CLOSED, engine.circuitState(url("/flap")));
+        assertTrue(engine.deliver(url("/flap"), BODY).join().isSuccess());
+    }
+
+    @Test
+    @DisplayName("空闲超时的端点通道应该被回收，回收后仍可继续投递")
+    void shouldEvictIdleChannels() {
+        // Given
+        engine = engine(settings().channelIdleTimeoutMs(1_000).build());
+        assertTrue(engine.deliver(url("/ok"), BODY).join().isSuccess());
+        assertEquals(1, engine.channelCount());
+
+        // When：/ok 空闲超时后投递其他端点
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_001));
+        engine.deliver(url("/bad-request"), BODY).join();
+
+        // Then
+        assertEquals(1, engine.channelCount());
+        assertTrue(engine.deliver(url("/ok"), BODY).join().isSuccess());
+        assertEquals(2, engine.channelCount());
+    }
+
+    @Test
+    @DisplayName("无法连接或地址无效的端点应该返回 IO_ERROR")
+    void shouldFailOnUnreachableEndpoint() {
+        // Given
+        engine = engine(settings().build());
+
+        // When
+        WebhookDeliveryResult invalid = engine.deliver("not a url", BODY).join();
+        WebhookDeliveryResult unreachable = engine.deliver("http://127.0.0.1:1/none", BODY).join();
+
+        // Then
+        assertEquals(WebhookDeliveryResult.Outcome.IO_ERROR, invalid.getOutcome());
+        assertEquals(WebhookDeliveryResult.Outcome.IO_ERROR, unreachable.getOutcome());
+    }
+
+    private WebhookDeliveryEngine engine(WebhookDeliveryEngine.Settings settings) {
+        return new WebhookDeliveryEngine(settings, clock::get);
+    }
+
+    private WebhookDeliveryEngine.Settings.SettingsBuilder settings() {
+        return WebhookDeliveryEngine.Settings.builder()
+                .connectTimeoutMs(1_000)
+                .requestTimeoutMs(5_000)
+                .ioThreads(4);
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("等待条件超时");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
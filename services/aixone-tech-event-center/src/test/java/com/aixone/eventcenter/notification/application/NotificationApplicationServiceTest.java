@@ -2,22 +2,30 @@ package com.aixone.eventcenter.notification.application;
 
 import com.aixone.common.exception.BizException;
 import com.aixone.eventcenter.notification.domain.Notification;
+import com.aixone.eventcenter.notification.domain.NotificationBatchRepository;
 import com.aixone.eventcenter.notification.domain.NotificationRepository;
 import com.aixone.eventcenter.notification.domain.NotificationTemplate;
 import com.aixone.eventcenter.notification.domain.NotificationTemplateRepository;
 import com.aixone.eventcenter.notification.infrastructure.CompositeNotificationSender;
+import com.aixone.eventcenter.notification.infrastructure.NotificationFanoutExecutor;
 import com.aixone.eventcenter.notification.infrastructure.TemplateEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,6 +50,9 @@ class NotificationApplicationServiceTest {
     @Mock
     private TemplateEngine templateEngine;
 
+    @Mock
+    private NotificationBatchRepository batchRepository;
+
     private NotificationApplicationService notificationApplicationService;
 
     private final String TEST_TENANT_ID = "tenant-001";
@@ -69,6 +80,10 @@ class NotificationApplicationServiceTest {
             java.lang.reflect.Field engineField = NotificationApplicationService.class.getDeclaredField("templateEngine");
             engineField.setAccessible(true);
             engineField.set(notificationApplicationService, templateEngine);
+
+            java.lang.reflect.Field batchRepositoryField = NotificationApplicationService.class.getDeclaredField("batchRepository");
+            batchRepositoryField.setAccessible(true);
+            batchRepositoryField.set(notificationApplicationService, batchRepository);
         } catch (Exception e) {
             throw new RuntimeException("Failed to set up NotificationApplicationService dependencies", e);
         }
@@ -134,7 +149,7 @@ class NotificationApplicationServiceTest {
             
             when(templateRepository.findByTemplateIdAndTenantId(1L, TEST_TENANT_ID))
                     .thenReturn(Optional.of(template));
-            when(templateEngine.render(anyString(), anyString())).thenReturn("渲染后的内容");
+            when(templateEngine.renderContent(eq(template), any())).thenReturn(TEST_CONTENT);
             when(notificationRepository.save(any(Notification.class))).thenReturn(savedNotification);
             when(notificationSender.send(any(Notification.class))).thenReturn(true);
 
@@ -145,7 +160,9 @@ class NotificationApplicationServiceTest {
             // Then
             assertNotNull(result);
             verify(templateRepository).findByTemplateIdAndTenantId(1L, TEST_TENANT_ID);
-            verify(templateEngine, atLeastOnce()).render(anyString(), anyString());
+            verify(templateEngine).parseVariables("{\"userName\":\"John\"}");
+            verify(templateEngine).renderContent(eq(template), any());
+            verify(templateEngine, never()).render(anyString(), anyString());
             verify(notificationSender).send(any(Notification.class));
         }
 
@@ -165,6 +182,200 @@ class NotificationApplicationServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("批量发送通知测试")
+    class SendBulkNotificationTests {
+
+        @Test
+        @DisplayName("应该渲染全部接收者后批量写入、批量发送并批量回写结果")
+        void shouldRenderPersistAndSendInBatches() throws Exception {
+            // Given
+            NotificationTemplate template = new NotificationTemplate(TEST_TENANT_ID, "bulk", TEST_TYPE,
+                    "Hi {{name}}", "{{greeting}}, {{name}}", "SMS,EMAIL");
+            template.setTemplateId(1L);
+            setEngine(new TemplateEngine());
+            when(templateRepository.findByTemplateIdAndTenantId(1L, TEST_TENANT_ID)).thenReturn(Optional.of(template));
+            doAnswer(invocation -> {
+                List<Notification> notifications = invocation.getArgument(0);
+                for (int i = 0; i < notifications.size(); i++) {
+                    notifications.get(i).setNotificationId(100L + i);
+                }
+                return null;
+            }).when(batchRepository).insertAll(anyList());
+            when(notificationSender.sendBatch(anyList())).thenReturn(new boolean[]{true, false, true});
+
+            BulkSendCommand command = new BulkSendCommand();
+            command.setTemplateId(1L);
+            command.setVariables("{\"greeting\":\"Hello\",\"name\":\"Guest\"}");
+            command.setPriority(Notification.NotificationPriority.LOW);
+            command.setRecipients(List.of(
+                    recipient("{\"phone\":\"1\"}", "{\"name\":\"Ann\"}", null),
+                    recipient("{\"phone\":\"2\"}", null, null),
+                    recipient("{\"email\":\"c@example.com\"}", "{\"greeting\":\"Hey\"}",
+                            Notification.NotificationChannel.EMAIL)));
+
+            // When
+            BulkSendResult result = notificationApplicationService.sendBulkNotificationWithTemplate(TEST_TENANT_ID, command);
+
+            // Then
+            assertNotNull(result.getBulkId());
+            assertEquals(3, result.getTotalCount());
+            assertEquals(3, result.getPendingCount());
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+            verify(batchRepository).updateStatuses(captor.capture());
+            List<Notification> notifications = captor.getValue();
+            assertEquals("{\"subject\":\"Hi Ann\",\"body\":\"Hello, Ann\"}", notifications.get(0).getNotificationContent());
+            assertEquals("{\"subject\":\"Hi Guest\",\"body\":\"Hello, Guest\"}", notifications.get(1).getNotificationContent());
+            assertEquals("{\"subject\":\"Hi Guest\",\"body\":\"Hey, Guest\"}", notifications.get(2).getNotificationContent());
+            assertEquals(Notification.NotificationChannel.SMS, notifications.get(0).getChannel());
+            assertEquals(Notification.NotificationChannel.EMAIL, notifications.get(2).getChannel());
+            assertEquals(Notification.NotificationStatus.SENT, notifications.get(0).getStatus());
+            assertEquals(Notification.NotificationStatus.FAILED, notifications.get(1).getStatus());
+            assertEquals(Notification.NotificationPriority.LOW, notifications.get(2).getPriority());
+            assertEquals(101L, notifications.get(1).getNotificationId());
+            assertTrue(notifications.stream().allMatch(notification -> result.getBulkId().equals(notification.getBulkId())));
+            assertTrue(notifications.stream().allMatch(notification -> notification.getLeaseUntil() != null));
+            verify(batchRepository).insertAll(anyList());
+            verify(notificationSender, never()).send(any(Notification.class));
+            verify(notificationRepository, never()).save(any(Notification.class));
+        }
+
+        @Test
+        @DisplayName("有批量执行器时应该写入通知后立即返回，发送在后台完成")
+        void shouldReturnBeforeSendingWhenExecutorConfigured() throws Exception {
+            // Given
+            NotificationFanoutExecutor executor = new NotificationFanoutExecutor(Map.of(),
+                    NotificationFanoutExecutor.ChannelSettings.builder().build(), 1);
+            java.lang.reflect.Field executorField = NotificationApplicationService.class.getDeclaredField("fanoutExecutor");
+            executorField.setAccessible(true);
+            executorField.set(notificationApplicationService, executor);
+            NotificationTemplate template = new NotificationTemplate(TEST_TENANT_ID, "bulk", TEST_TYPE,
+                    "Hi", "Hello", "SMS");
+            template.setTemplateId(1L);
+            setEngine(new TemplateEngine());
+            when(templateRepository.findByTemplateIdAndTenantId(1L, TEST_TENANT_ID)).thenReturn(Optional.of(template));
+            CountDownLatch release = new CountDownLatch(1);
+            when(notificationSender.sendBatch(anyList())).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return new boolean[]{true, true};
+            });
+
+            try {
+                // When
+                BulkSendResult result = notificationApplicationService.sendBulkNotificationWithTemplate(TEST_TENANT_ID,
+                        bulkCommand(List.of(recipient("{\"phone\":\"1\"}", null, null),
+                                recipient("{\"phone\":\"2\"}", null, null))));
+
+                // Then
+                assertEquals(2, result.getPendingCount());
+                assertFalse(result.isCompleted());
+                verify(batchRepository).insertAll(anyList());
+                verify(batchRepository, never()).updateStatuses(anyList());
+
+                release.countDown();
+                @SuppressWarnings("unchecked")
+                ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+                verify(batchRepository, timeout(5_000)).updateStatuses(captor.capture());
+                assertTrue(captor.getValue().stream()
+                        .allMatch(notification -> notification.getStatus() == Notification.NotificationStatus.SENT));
+            } finally {
+                release.countDown();
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("发送过程抛出异常时应该把整批通知标记为失败")
+        void shouldFailWholeBatchWhenSenderThrows() {
+            // Given
+            Notification first = createValidNotification();
+            Notification second = createValidNotification();
+            when(notificationSender.sendBatch(anyList())).thenThrow(new IllegalStateException("服务商不可用"));
+
+            // When
+            int sentCount = notificationApplicationService.deliverPending(List.of(first, second));
+
+            // Then
+            assertEquals(0, sentCount);
+            assertEquals(Notification.NotificationStatus.FAILED, first.getStatus());
+            assertEquals(Notification.NotificationStatus.FAILED, second.getStatus());
+            assertEquals("发送异常: 服务商不可用", first.getErrorMessage());
+            verify(batchRepository).updateStatuses(List.of(first, second));
+        }
+
+        @Test
+        @DisplayName("应该按批量发送ID汇总各状态的通知数")
+        void shouldSummarizeBulkSendProgress() {
+            // Given
+            Map<Notification.NotificationStatus, Long> counts = new EnumMap<>(Notification.NotificationStatus.class);
+            counts.put(Notification.NotificationStatus.PENDING, 2L);
+            counts.put(Notification.NotificationStatus.SENT, 5L);
+            counts.put(Notification.NotificationStatus.FAILED, 1L);
+            when(batchRepository.countByBulkId(TEST_TENANT_ID, "bulk-1")).thenReturn(counts);
+            when(batchRepository.countByBulkId(TEST_TENANT_ID, "bulk-2")).thenReturn(Map.of());
+
+            // When
+            Optional<BulkSendResult> result = notificationApplicationService.getBulkSendResult(TEST_TENANT_ID, "bulk-1");
+            Optional<BulkSendResult> missing = notificationApplicationService.getBulkSendResult(TEST_TENANT_ID, "bulk-2");
+
+            // Then
+            assertTrue(result.isPresent());
+            assertEquals("bulk-1", result.get().getBulkId());
+            assertEquals(8, result.get().getTotalCount());
+            assertEquals(2, result.get().getPendingCount());
+            assertEquals(5, result.get().getSentCount());
+            assertEquals(1, result.get().getFailedCount());
+            assertFalse(result.get().isCompleted());
+            assertTrue(missing.isEmpty());
+        }
+
+        @Test
+        @DisplayName("接收者为空、超过上限或信息为空时应该抛出异常")
+        void shouldRejectInvalidRecipients() throws Exception {
+            // Given
+            java.lang.reflect.Field maxField = NotificationApplicationService.class.getDeclaredField("maxBulkRecipients");
+            maxField.setAccessible(true);
+            maxField.set(notificationApplicationService, 2);
+            BulkSendCommand empty = bulkCommand(new ArrayList<>());
+            BulkSendCommand tooMany = bulkCommand(List.of(recipient("a", null, null), recipient("b", null, null),
+                    recipient("c", null, null)));
+            BulkSendCommand blank = bulkCommand(List.of(recipient("a", null, null), recipient(" ", null, null)));
+
+            // When & Then
+            assertEquals("BULK_RECIPIENTS_EMPTY", assertThrows(BizException.class,
+                    () -> notificationApplicationService.sendBulkNotificationWithTemplate(TEST_TENANT_ID, empty)).getErrorCode());
+            assertEquals("BULK_RECIPIENTS_TOO_MANY", assertThrows(BizException.class,
+                    () -> notificationApplicationService.sendBulkNotificationWithTemplate(TEST_TENANT_ID, tooMany)).getErrorCode());
+            assertEquals("BULK_RECIPIENT_INVALID", assertThrows(BizException.class,
+                    () -> notificationApplicationService.sendBulkNotificationWithTemplate(TEST_TENANT_ID, blank)).getErrorCode());
+            verifyNoInteractions(batchRepository, notificationSender);
+        }
+
+        private BulkSendCommand bulkCommand(List<BulkSendCommand.Recipient> recipients) {
+            BulkSendCommand command = new BulkSendCommand();
+            command.setTemplateId(1L);
+            command.setRecipients(recipients);
+            return command;
+        }
+
+        private BulkSendCommand.Recipient recipient(String recipientInfo, String variables,
+                                                    Notification.NotificationChannel channel) {
+            BulkSendCommand.Recipient recipient = new BulkSendCommand.Recipient();
+            recipient.setRecipientInfo(recipientInfo);
+            recipient.setVariables(variables);
+            recipient.setChannel(channel);
+            return recipient;
+        }
+
+        private void setEngine(TemplateEngine engine) throws Exception {
+            java.lang.reflect.Field engineField = NotificationApplicationService.class.getDeclaredField("templateEngine");
+            engineField.setAccessible(true);
+            engineField.set(notificationApplicationService, engine);
+        }
+    }
+
     @Nested
     @DisplayName("查询测试")
     class QueryTests {
@@ -0,0 +1,112 @@
+package com.aixone.eventcenter.notification.application;
+
+import com.aixone.eventcenter.notification.domain.Notification;
+import com.aixone.eventcenter.notification.domain.NotificationBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * NotificationRecoveryService 应用服务测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationRecoveryService 应用服务测试")
+class NotificationRecoveryServiceTest {
+
+    @Mock
+    private NotificationBatchRepository batchRepository;
+
+    @Mock
+    private NotificationApplicationService notificationApplicationService;
+
+    private NotificationRecoveryService recoveryService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        recoveryService = new NotificationRecoveryService();
+        setField("batchRepository", batchRepository);
+        setField("notificationApplicationService", notificationApplicationService);
+        setField("batchSize", 2);
+        setField("maxBatchesPerRun", 3);
+        setField("leaseMs", 60_000L);
+        setField("nodeId", "node-a");
+        recoveryService.init();
+    }
+
+    @Test
+    @DisplayName("应该按批认领租约到期的通知并重新发送，直到没有可认领的通知")
+    void shouldClaimAndResendInBatchesUntilEmpty() {
+        // Given
+        List<Notification> first = List.of(notification(), notification());
+        List<Notification> second = List.of(notification());
+        when(batchRepository.claimStalePending(anyString(), eq(2), any(Instant.class), any(Instant.class)))
+                .thenReturn(first)
+                .thenReturn(second)
+                .thenReturn(List.of());
+
+        // When
+        recoveryService.recoverStalePending();
+
+        // Then
+        verify(notificationApplicationService).deliverPending(first);
+        verify(notificationApplicationService).deliverPending(second);
+        ArgumentCaptor<String> owners = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Instant> nows = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> leases = ArgumentCaptor.forClass(Instant.class);
+        verify(batchRepository, times(3)).claimStalePending(owners.capture(), eq(2), nows.capture(), leases.capture());
+        assertTrue(owners.getAllValues().stream().allMatch(owner -> owner.startsWith("node-a:")));
+        assertEquals(3, owners.getAllValues().stream().distinct().count(), "每次认领应使用新的租约令牌");
+        assertEquals(nows.getValue().plusMillis(60_000), leases.getValue());
+    }
+
+    @Test
+    @DisplayName("每次最多处理配置的批数")
+    void shouldStopAfterMaxBatchesPerRun() {
+        // Given
+        when(batchRepository.claimStalePending(anyString(), eq(2), any(Instant.class), any(Instant.class)))
+                .thenAnswer(invocation -> List.of(notification(), notification()));
+
+        // When
+        recoveryService.recoverStalePending();
+
+        // Then
+        verify(notificationApplicationService, times(3)).deliverPending(anyList());
+    }
+
+    @Test
+    @DisplayName("回写结果失败时不应该向调度线程抛出异常")
+    void shouldSwallowDeliveryFailure() {
+        // Given
+        when(batchRepository.claimStalePending(anyString(), eq(2), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(notification()));
+        when(notificationApplicationService.deliverPending(anyList())).thenThrow(new IllegalStateException("数据库不可用"));
+
+        // When & Then
+        assertDoesNotThrow(() -> recoveryService.recoverStalePending());
+        verify(batchRepository, times(1)).claimStalePending(anyString(), anyInt(), any(Instant.class), any(Instant.class));
+    }
+
+    private Notification notification() {
+        Notification notification = new Notification("tenant-001", Notification.NotificationType.SMS,
+                "{\"phone\":\"1\"}", "{\"body\":\"Hi\"}", Notification.NotificationChannel.SMS);
+        notification.setBulkId("bulk-1");
+        return notification;
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        java.lang.reflect.Field field = NotificationRecoveryService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(recoveryService, value);
+    }
+}
@@ -4,6 +4,7 @@ import com.aixone.common.exception.BizException;
 import com.aixone.eventcenter.notification.domain.Notification;
 import com.aixone.eventcenter.notification.domain.NotificationTemplate;
 import com.aixone.eventcenter.notification.domain.NotificationTemplateRepository;
+import com.aixone.eventcenter.notification.infrastructure.TemplateEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,6 +31,9 @@ class TemplateApplicationServiceTest {
     @Mock
     private NotificationTemplateRepository templateRepository;
 
+    @Mock
+    private TemplateEngine templateEngine;
+
     private TemplateApplicationService templateApplicationService;
 
     private final String TEST_TENANT_ID = "tenant-001";
@@ -43,6 +47,10 @@ class TemplateApplicationServiceTest {
             java.lang.reflect.Field repositoryField = TemplateApplicationService.class.getDeclaredField("templateRepository");
             repositoryField.setAccessible(true);
             repositoryField.set(templateApplicationService, templateRepository);
+
+            java.lang.reflect.Field engineField = TemplateApplicationService.class.getDeclaredField("templateEngine");
+            engineField.setAccessible(true);
+            engineField.set(templateApplicationService, templateEngine);
         } catch (Exception e) {
             throw new RuntimeException("Failed to set up TemplateApplicationService dependencies", e);
         }
@@ -112,6 +120,7 @@ class TemplateApplicationServiceTest {
             // Then
             assertNotNull(result);
             verify(templateRepository).save(any(NotificationTemplate.class));
+            verify(templateEngine).evict(1L);
         }
 
         @Test
@@ -126,6 +135,24 @@ class TemplateApplicationServiceTest {
                 templateApplicationService.updateTemplate(1L, TEST_TENANT_ID, null, null, null, null);
             });
             assertEquals("TEMPLATE_NOT_FOUND", exception.getErrorCode());
+            verify(templateEngine, never()).evict(any());
+        }
+
+        @Test
+        @DisplayName("删除模板应该移除编译缓存")
+        void shouldEvictCompiledTemplateOnDelete() {
+            // Given
+            NotificationTemplate template = createValidTemplate();
+            template.setTemplateId(1L);
+            when(templateRepository.findByTemplateIdAndTenantId(1L, TEST_TENANT_ID))
+                    .thenReturn(Optional.of(template));
+
+            // When
+            templateApplicationService.deleteTemplate(1L, TEST_TENANT_ID);
+
+            // Then
+            verify(templateRepository).delete(template);
+            verify(templateEngine).evict(1L);
         }
     }
 
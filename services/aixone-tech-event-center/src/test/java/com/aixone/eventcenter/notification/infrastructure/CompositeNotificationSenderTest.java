@@ -0,0 +1,129 @@
+package com.aixone.eventcenter.notification.infrastructure;
+
+import com.aixone.eventcenter.notification.domain.Notification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CompositeNotificationSender 批量发送测试
+ */
+@DisplayName("CompositeNotificationSender 批量发送测试")
+class CompositeNotificationSenderTest {
+
+    private final RecordingNotificationSender emailSender = new RecordingNotificationSender();
+    private final RecordingNotificationSender smsSender = new RecordingNotificationSender();
+    private CompositeNotificationSender compositeSender;
+    private NotificationFanoutExecutor fanoutExecutor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        compositeSender = new CompositeNotificationSender();
+        compositeSender.registerSender(Notification.NotificationChannel.EMAIL, emailSender);
+        compositeSender.registerSender(Notification.NotificationChannel.SMS, smsSender);
+        setField(compositeSender, "batchSize", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (fanoutExecutor != null) {
+            fanoutExecutor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("应该按渠道分组并按批次大小拆分，结果与入参顺序一致")
+    void shouldGroupByChannelAndSplitIntoBatches() {
+        // Given
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            notifications.add(notification("email-" + i, Notification.NotificationChannel.EMAIL));
+            notifications.add(notification("sms-" + i, Notification.NotificationChannel.SMS));
+        }
+        emailSender.failFor("email-3");
+
+        // When
+        boolean[] results = compositeSender.sendBatch(notifications);
+
+        // Then
+        assertEquals(List.of(3, 2), emailSender.getBatches().stream().map(List::size).toList());
+        assertEquals(List.of(3, 2), smsSender.getBatches().stream().map(List::size).toList());
+        assertEquals("email-0", emailSender.getBatches().get(0).get(0).getRecipientInfo());
+        for (int i = 0; i < notifications.size(); i++) {
+            assertEquals(!notifications.get(i).getRecipientInfo().equals("email-3"), results[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("没有发送器的渠道和抛出异常的批次应该按失败处理")
+    void shouldFailUnroutedAndThrowingBatches() {
+        // Given
+        compositeSender.registerSender(Notification.NotificationChannel.PUSH, new NotificationSender() {
+            @Override
+            public boolean send(Notification notification) {
+                return true;
+            }
+
+            @Override
+            public boolean[] sendBatch(List<Notification> notifications) {
+                throw new IllegalStateException("provider down");
+            }
+        });
+        List<Notification> notifications = List.of(
+                notification("wechat", Notification.NotificationChannel.WECHAT),
+                notification("push", Notification.NotificationChannel.PUSH),
+                notification("email", Notification.NotificationChannel.EMAIL));
+
+        // When
+        boolean[] results = compositeSender.sendBatch(notifications);
+
+        // Then
+        assertArrayEquals(new boolean[]{false, false, true}, results);
+        assertEquals(1, emailSender.sentCount());
+    }
+
+    @Test
+    @DisplayName("配置了批量通知执行器时应该并行发送，且不超过渠道并发上限")
+    void shouldSendBatchesInParallelWithinChannelConcurrency() throws Exception {
+        // Given
+        fanoutExecutor = new NotificationFanoutExecutor(
+                Map.of(Notification.NotificationChannel.EMAIL,
+                        NotificationFanoutExecutor.ChannelSettings.builder().concurrency(2).build()),
+                NotificationFanoutExecutor.ChannelSettings.builder().build(), 2);
+        setField(compositeSender, "fanoutExecutor", fanoutExecutor);
+        emailSender.withBatchDelay(50);
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 18; i++) {
+            notifications.add(notification("email-" + i, Notification.NotificationChannel.EMAIL));
+        }
+
+        // When
+        boolean[] results = compositeSender.sendBatch(notifications);
+
+        // Then
+        assertEquals(6, emailSender.getBatches().size());
+        assertEquals(2, emailSender.getMaxConcurrent());
+        for (boolean result : results) {
+            assertTrue(result);
+        }
+        assertEquals(18, fanoutExecutor.sentCount(Notification.NotificationChannel.EMAIL));
+        assertEquals(0, fanoutExecutor.inFlightCount(Notification.NotificationChannel.EMAIL));
+    }
+
+    private Notification notification(String recipientInfo, Notification.NotificationChannel channel) {
+        return new Notification("tenant-001", Notification.NotificationType.EMAIL, recipientInfo, "{}", channel);
+    }
+
+    private void setField(Object target, String name, Object value) throws Exception {
+        java.lang.reflect.Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
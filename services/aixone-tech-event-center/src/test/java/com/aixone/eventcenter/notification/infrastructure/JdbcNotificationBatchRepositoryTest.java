@@ -0,0 +1,100 @@
+package com.aixone.eventcenter.notification.infrastructure;
+
+import com.aixone.eventcenter.notification.domain.Notification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JdbcNotificationBatchRepository 嵌入式数据库测试
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notifications;MODE=PostgreSQL;INIT=CREATE SCHEMA IF NOT EXISTS ai_xone",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcNotificationBatchRepository.class)
+@DisplayName("JdbcNotificationBatchRepository 嵌入式数据库测试")
+class JdbcNotificationBatchRepositoryTest {
+
+    @Autowired
+    private JdbcNotificationBatchRepository batchRepository;
+
+    @Test
+    @DisplayName("应该只认领租约已到期的待发送批量通知，且同一通知只能被认领一次")
+    void shouldClaimOnlyStalePendingBulkNotificationsOnce() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Notification stale = notification("bulk-1", now.minusSeconds(1));
+        Notification leased = notification("bulk-1", now.plusSeconds(60));
+        Notification sent = notification("bulk-1", now.minusSeconds(1));
+        Notification single = notification(null, null);
+        Notification unleased = notification("bulk-2", null);
+        batchRepository.insertAll(List.of(stale, leased, sent, single, unleased));
+        sent.markAsSent();
+        batchRepository.updateStatuses(List.of(sent));
+
+        // When
+        List<Notification> claimed = batchRepository.claimStalePending("node-a:token", 10, now, now.plusSeconds(60));
+        List<Notification> again = batchRepository.claimStalePending("node-b:token", 10, now, now.plusSeconds(60));
+
+        // Then
+        assertEquals(List.of(stale.getNotificationId(), unleased.getNotificationId()),
+                claimed.stream().map(Notification::getNotificationId).toList());
+        Notification first = claimed.get(0);
+        assertEquals("tenant-001", first.getTenantId());
+        assertEquals("bulk-1", first.getBulkId());
+        assertEquals(Notification.NotificationChannel.SMS, first.getChannel());
+        assertEquals(Notification.NotificationStatus.PENDING, first.getStatus());
+        assertEquals("node-a:token", first.getLeaseOwner());
+        assertEquals(now.plusSeconds(60), first.getLeaseUntil());
+        assertTrue(again.isEmpty());
+    }
+
+    @Test
+    @DisplayName("租约再次到期后应该可以被其他节点认领，回写结果后按批量发送ID统计")
+    void shouldReclaimAfterLeaseExpiresAndCountByBulkId() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Notification first = notification("bulk-1", now.minusSeconds(1));
+        Notification second = notification("bulk-1", now.minusSeconds(1));
+        batchRepository.insertAll(List.of(first, second));
+        batchRepository.claimStalePending("node-a:token", 10, now, now.plusSeconds(60));
+
+        // When
+        List<Notification> reclaimed = batchRepository.claimStalePending("node-b:token", 1,
+                now.plusSeconds(61), now.plusSeconds(120));
+        reclaimed.get(0).markAsFailed("发送失败");
+        batchRepository.updateStatuses(reclaimed);
+
+        // Then
+        assertEquals(List.of(first.getNotificationId()), reclaimed.stream().map(Notification::getNotificationId).toList());
+        Map<Notification.NotificationStatus, Long> counts = batchRepository.countByBulkId("tenant-001", "bulk-1");
+        assertEquals(1L, counts.get(Notification.NotificationStatus.PENDING));
+        assertEquals(1L, counts.get(Notification.NotificationStatus.FAILED));
+        assertTrue(batchRepository.countByBulkId("tenant-002", "bulk-1").isEmpty());
+    }
+
+    private Notification notification(String bulkId, Instant leaseUntil) {
+        Notification notification = new Notification("tenant-001", Notification.NotificationType.SMS,
+                "{\"phone\":\"1\"}", "{\"body\":\"Hi\"}", Notification.NotificationChannel.SMS);
+        notification.setBulkId(bulkId);
+        notification.setLeaseUntil(leaseUntil);
+        return notification;
+    }
+}
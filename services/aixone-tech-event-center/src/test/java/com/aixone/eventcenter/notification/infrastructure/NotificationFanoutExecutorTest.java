@@ -0,0 +1,167 @@
+package com.aixone.eventcenter.notification.infrastructure;
+
+import com.aixone.eventcenter.notification.domain.Notification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NotificationFanoutExecutor 基础设施测试
+ */
+@DisplayName("NotificationFanoutExecutor 基础设施测试")
+class NotificationFanoutExecutorTest {
+
+    private NotificationFanoutExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new NotificationFanoutExecutor(
+                Map.of(Notification.NotificationChannel.SMS,
+                        NotificationFanoutExecutor.ChannelSettings.builder().concurrency(1).build()),
+                NotificationFanoutExecutor.ChannelSettings.builder().build(), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("并行渲染的结果应该与输入顺序一致")
+    void shouldRenderInParallelPreservingOrder() {
+        // Given
+        List<Integer> inputs = IntStream.range(0, NotificationFanoutExecutor.MIN_RENDER_CHUNK * 4).boxed().toList();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // When
+        List<String> results = executor.renderAll(inputs, input -> {
+            threads.add(Thread.currentThread().getName());
+            return "n-" + input;
+        });
+
+        // Then
+        assertEquals(inputs.size(), results.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            assertEquals("n-" + i, results.get(i));
+        }
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("notification-render-")));
+    }
+
+    @Test
+    @DisplayName("输入较少时应该在调用线程上渲染")
+    void shouldRenderSmallInputOnCallerThread() {
+        // Given
+        String caller = Thread.currentThread().getName();
+
+        // When
+        List<String> results = executor.renderAll(List.of(1, 2), input -> Thread.currentThread().getName());
+
+        // Then
+        assertEquals(List.of(caller, caller), results);
+    }
+
+    @Test
+    @DisplayName("渲染异常应该抛给调用方")
+    void shouldPropagateRenderFailure() {
+        // Given
+        List<Integer> inputs = IntStream.range(0, NotificationFanoutExecutor.MIN_RENDER_CHUNK * 2).boxed().toList();
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> executor.renderAll(inputs, input -> {
+                    if (input == 300) {
+                        throw new IllegalArgumentException("bad recipient");
+                    }
+                    return input;
+                }));
+        assertEquals("bad recipient", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("同一渠道的批次不应该超过并发上限，其他渠道不受影响")
+    void shouldLimitConcurrencyPerChannel() {
+        // Given
+        RecordingNotificationSender smsSender = new RecordingNotificationSender().withBatchDelay(30);
+        RecordingNotificationSender pushSender = new RecordingNotificationSender().withBatchDelay(30);
+        List<CompletableFuture<boolean[]>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(Notification.NotificationChannel.SMS, batch("sms-" + i), smsSender::sendBatch));
+            futures.add(executor.submit(Notification.NotificationChannel.PUSH, batch("push-" + i), pushSender::sendBatch));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        // Then
+        assertEquals(1, smsSender.getMaxConcurrent());
+        assertTrue(pushSender.getMaxConcurrent() > 1);
+        assertEquals(8, executor.sentCount(Notification.NotificationChannel.SMS));
+        assertEquals(0, executor.failedCount(Notification.NotificationChannel.SMS));
+    }
+
+    @Test
+    @DisplayName("速率限制器应该按条数预占名额，不累积空闲期的名额")
+    void shouldReserveRatePermitsByCount() {
+        // Given：每秒 100 条，即每条 10ms
+        AtomicLong now = new AtomicLong(0);
+        NotificationFanoutExecutor.RateLimiter limiter = new NotificationFanoutExecutor.RateLimiter(100, now::get);
+        long tenMillis = TimeUnit.MILLISECONDS.toNanos(10);
+
+        // When
+        long first = limiter.reserve(5);
+        long second = limiter.reserve(5);
+        now.set(tenMillis * 20);
+        long afterIdle = limiter.reserve(1);
+        long next = limiter.reserve(1);
+
+        // Then
+        assertEquals(0, first);
+        assertEquals(tenMillis * 5, second);
+        assertEquals(0, afterIdle);
+        assertEquals(tenMillis, next);
+        assertEquals(0, new NotificationFanoutExecutor.RateLimiter(0, now::get).reserve(1_000));
+    }
+
+    @Test
+    @DisplayName("执行器关闭后提交的批次应该以异常完成")
+    void shouldRejectAfterShutdown() {
+        // Given
+        executor.shutdown();
+
+        // When
+        CompletableFuture<boolean[]> future = executor.submit(Notification.NotificationChannel.EMAIL,
+                batch("email"), new RecordingNotificationSender()::sendBatch);
+
+        // Then
+        assertTrue(future.isCompletedExceptionally());
+        assertThrows(RejectedExecutionException.class, () -> {
+            try {
+                future.join();
+            } catch (Exception e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private List<Notification> batch(String prefix) {
+        return List.of(
+                new Notification("tenant-001", Notification.NotificationType.SMS, prefix + "-a", "{}",
+                        Notification.NotificationChannel.SMS),
+                new Notification("tenant-001", Notification.NotificationType.SMS, prefix + "-b", "{}",
+                        Notification.NotificationChannel.SMS));
+    }
+}
@@ -0,0 +1,83 @@
+package com.aixone.eventcenter.notification.infrastructure;
+
+import com.aixone.eventcenter.notification.domain.Notification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 记录发送批次的本地发送器，用于测试
+ * 接收者信息在失败列表中的通知发送失败，可设置每批的发送耗时以观察并发
+ */
+public class RecordingNotificationSender implements NotificationSender {
+
+    private final List<List<Notification>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final Set<String> failingRecipients = Collections.synchronizedSet(new HashSet<>());
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private volatile long batchDelayMs;
+
+    @Override
+    public boolean send(Notification notification) {
+        return sendBatch(List.of(notification))[0];
+    }
+
+    @Override
+    public boolean[] sendBatch(List<Notification> notifications) {
+        int running = concurrent.incrementAndGet();
+        maxConcurrent.accumulateAndGet(running, Math::max);
+        try {
+            if (batchDelayMs > 0) {
+                Thread.sleep(batchDelayMs);
+            }
+            batches.add(new ArrayList<>(notifications));
+            boolean[] results = new boolean[notifications.size()];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = !failingRecipients.contains(notifications.get(i).getRecipientInfo());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new boolean[notifications.size()];
+        } finally {
+            concurrent.decrementAndGet();
+        }
+    }
+
+    public RecordingNotificationSender failFor(String recipientInfo) {
+        failingRecipients.add(recipientInfo);
+        return this;
+    }
+
+    public RecordingNotificationSender withBatchDelay(long delayMs) {
+        this.batchDelayMs = delayMs;
+        return this;
+    }
+
+    /**
+     * 已发送的批次
+     */
+    public List<List<Notification>> getBatches() {
+        synchronized (batches) {
+            return new ArrayList<>(batches);
+        }
+    }
+
+    /**
+     * 已发送的通知数
+     */
+    public int sentCount() {
+        return getBatches().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * 同时发送的最大批次数
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent.get();
+    }
+}
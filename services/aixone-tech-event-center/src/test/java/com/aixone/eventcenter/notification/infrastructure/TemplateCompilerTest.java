@@ -0,0 +1,82 @@
+package com.aixone.eventcenter.notification.infrastructure;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TemplateCompiler 基础设施测试
+ */
+@DisplayName("TemplateCompiler 基础设施测试")
+class TemplateCompilerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("模板应该拆分为文本段和变量段")
+    void shouldSplitTemplateIntoSegments() {
+        // When
+        CompiledTemplate compiled = TemplateCompiler.compile("Hello {{ firstName }} {{lastName}}, {{firstName}}!");
+
+        // Then
+        assertEquals(7, compiled.segmentCount());
+        assertEquals(List.of("firstName", "lastName"), compiled.getVariableNames());
+        assertFalse(compiled.isConstant());
+    }
+
+    @Test
+    @DisplayName("不完整的占位符应该按文本处理")
+    void shouldTreatIncompletePlaceholdersAsText() throws Exception {
+        // Given
+        JsonNode variables = objectMapper.readTree("{\"a\":\"1\",\"{x\":\"2\"}");
+
+        // When & Then：与正则 \{\{([^}]+)\}\} 的匹配结果一致
+        assertEquals("{{}} {{a}b}} {{a", TemplateCompiler.compile("{{}} {{a}b}} {{a").render(variables, EscapeMode.PLAIN));
+        assertEquals("2", TemplateCompiler.compile("{{{x}}").render(variables, EscapeMode.PLAIN));
+        assertEquals("{{{a}}}", TemplateCompiler.compile("{{{a}}}").render(variables, EscapeMode.PLAIN));
+        assertTrue(TemplateCompiler.compile("{{}} {{a").isConstant());
+    }
+
+    @Test
+    @DisplayName("非文本变量应该按JSON输出")
+    void shouldRenderNonTextualValuesAsJson() throws Exception {
+        // Given
+        JsonNode variables = objectMapper.readTree("{\"count\":3,\"tags\":[\"a\"],\"none\":null}");
+
+        // When
+        String result = TemplateCompiler.compile("{{count}} {{tags}} {{none}}").render(variables, EscapeMode.PLAIN);
+
+        // Then
+        assertEquals("3 [\"a\"] null", result);
+    }
+
+    @Test
+    @DisplayName("通知内容模板应该在编译时转义模板文本")
+    void shouldEscapeTemplateTextInContentTemplate() throws Exception {
+        // Given
+        JsonNode variables = objectMapper.readTree("{\"code\":\"\\t\\u0001\"}");
+
+        // When
+        String content = TemplateCompiler.compileContent("\"Code\"", "C:\\path\n{{code}}")
+                .render(variables, EscapeMode.JSON);
+
+        // Then
+        JsonNode parsed = objectMapper.readTree(content);
+        assertEquals("\"Code\"", parsed.get("subject").asText());
+        assertEquals("C:\\path\n\t\u0001", parsed.get("body").asText());
+    }
+
+    @Test
+    @DisplayName("转义模式应该只转义需要转义的字符")
+    void shouldEscapeByMode() {
+        assertEquals("a<b>\"", EscapeMode.PLAIN.escape("a<b>\""));
+        assertEquals("a&lt;b&gt;&quot;", EscapeMode.HTML.escape("a<b>\""));
+        assertEquals("a<b>\\\"\\\\\\n\\u001f", EscapeMode.JSON.escape("a<b>\"\\\n\u001f"));
+        assertEquals("中文", EscapeMode.JSON.escape("中文"));
+    }
+}
@@ -1,5 +1,9 @@
 package com.aixone.eventcenter.notification.infrastructure;
 
+import com.aixone.eventcenter.notification.domain.Notification;
+import com.aixone.eventcenter.notification.domain.NotificationTemplate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -108,5 +112,132 @@ class TemplateEngineTest {
             assertEquals(template, result);
         }
     }
+
+    @Nested
+    @DisplayName("通知模板渲染测试")
+    class NotificationTemplateTests {
+
+        @Test
+        @DisplayName("主题和正文应该一次渲染为合法的通知内容JSON")
+        void shouldRenderContentAsValidJson() throws Exception {
+            // Given
+            NotificationTemplate template = createTemplate(1L, "Hi {{name}}", "Line1\n\"{{name}}\" {{missing}}");
+            JsonNode variables = templateEngine.parseVariables("{\"name\":\"A\\\"B\"}");
+
+            // When
+            String content = templateEngine.renderContent(template, variables);
+
+            // Then
+            JsonNode parsed = new ObjectMapper().readTree(content);
+            assertEquals("Hi A\"B", parsed.get("subject").asText());
+            assertEquals("Line1\n\"A\"B\" {{missing}}", parsed.get("body").asText());
+        }
+
+        @Test
+        @DisplayName("没有主题时通知内容只包含正文")
+        void shouldOmitSubjectWhenTemplateHasNoSubject() throws Exception {
+            // Given
+            NotificationTemplate template = createTemplate(1L, null, "Hello {{name}}");
+
+            // When
+            String content = templateEngine.renderContent(template, templateEngine.parseVariables("{\"name\":\"World\"}"));
+
+            // Then
+            JsonNode parsed = new ObjectMapper().readTree(content);
+            assertFalse(parsed.has("subject"));
+            assertEquals("Hello World", parsed.get("body").asText());
+        }
+
+        @Test
+        @DisplayName("正文应该按转义模式渲染变量值，模板文本不转义")
+        void shouldEscapeVariableValuesOnly() {
+            // Given
+            NotificationTemplate template = createTemplate(1L, null, "<p>{{name}}</p>");
+            JsonNode variables = templateEngine.parseVariables("{\"name\":\"<b>Tom & 'Jerry'</b>\"}");
+
+            // When
+            String html = templateEngine.renderBody(template, variables, EscapeMode.HTML);
+            String plain = templateEngine.renderBody(template, variables, EscapeMode.PLAIN);
+
+            // Then
+            assertEquals("<p>&lt;b&gt;Tom &amp; &#39;Jerry&#39;&lt;/b&gt;</p>", html);
+            assertEquals("<p><b>Tom & 'Jerry'</b></p>", plain);
+        }
+
+        @Test
+        @DisplayName("模板版本变化或移除缓存后应该重新编译")
+        void shouldRecompileWhenVersionChangesOrEvicted() {
+            // Given
+            NotificationTemplate template = createTemplate(1L, "S", "Hello {{name}}");
+            JsonNode variables = templateEngine.parseVariables("{\"name\":\"World\"}");
+            String before = templateEngine.renderBody(template, variables, EscapeMode.PLAIN);
+
+            // When：只改内容不改版本时仍使用缓存的编译结果
+            template.setBodyTemplate("Bye {{name}}");
+            String cached = templateEngine.renderBody(template, variables, EscapeMode.PLAIN);
+            template.updateContent("S", "Hi {{name}}");
+            String afterUpdate = templateEngine.renderBody(template, variables, EscapeMode.PLAIN);
+            template.setBodyTemplate("Hey {{name}}");
+            templateEngine.evict(1L);
+            String afterEvict = templateEngine.renderBody(template, variables, EscapeMode.PLAIN);
+
+            // Then
+            assertEquals("Hello World", before);
+            assertEquals("Hello World", cached);
+            assertEquals("Hi World", afterUpdate);
+            assertEquals("Hey World", afterEvict);
+            assertEquals(1, templateEngine.size());
+        }
+
+        @Test
+        @DisplayName("未保存的模板不应该缓存")
+        void shouldNotCacheUnsavedTemplate() {
+            // Given
+            NotificationTemplate template = createTemplate(null, "S", "Hello {{name}}");
+
+            // When
+            String result = templateEngine.renderBody(template, templateEngine.parseVariables("{\"name\":\"World\"}"),
+                    EscapeMode.PLAIN);
+
+            // Then
+            assertEquals("Hello World", result);
+            assertEquals(0, templateEngine.size());
+        }
+
+        @Test
+        @DisplayName("接收者变量应该覆盖同名公共变量，且不修改公共变量")
+        void shouldMergeRecipientVariablesOverDefaults() {
+            // Given
+            JsonNode defaults = templateEngine.parseVariables("{\"greeting\":\"Hello\",\"name\":\"Guest\"}");
+
+            // When
+            JsonNode merged = templateEngine.parseVariables("{\"name\":\"Ann\"}", defaults);
+            JsonNode fallback = templateEngine.parseVariables(null, defaults);
+
+            // Then
+            assertEquals("Hello", merged.get("greeting").asText());
+            assertEquals("Ann", merged.get("name").asText());
+            assertEquals("Guest", defaults.get("name").asText());
+            assertSame(defaults, fallback);
+        }
+
+        @Test
+        @DisplayName("相同模板文本应该共享编译结果")
+        void shouldShareCompiledTemplateForSameSource() {
+            // When
+            CompiledTemplate first = templateEngine.compile("Hello {{name}}");
+            CompiledTemplate second = templateEngine.compile(new String("Hello {{name}}"));
+
+            // Then
+            assertSame(first, second);
+        }
+
+        private NotificationTemplate createTemplate(Long templateId, String subject, String body) {
+            NotificationTemplate template = new NotificationTemplate("tenant-001", "template",
+                    Notification.NotificationType.EMAIL, subject, body, "EMAIL");
+            template.setTemplateId(templateId);
+            return template;
+        }
+    }
 }
 
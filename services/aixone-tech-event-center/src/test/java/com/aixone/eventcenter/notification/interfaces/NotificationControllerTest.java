@@ -2,6 +2,8 @@ package com.aixone.eventcenter.notification.interfaces;
 
 import com.aixone.common.api.ApiResponse;
 import com.aixone.common.session.SessionContext;
+import com.aixone.eventcenter.notification.application.BulkSendCommand;
+import com.aixone.eventcenter.notification.application.BulkSendResult;
 import com.aixone.eventcenter.notification.application.NotificationApplicationService;
 import com.aixone.eventcenter.notification.domain.Notification;
 import org.junit.jupiter.api.BeforeEach;
@@ -110,6 +112,92 @@ class NotificationControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("批量发送通知测试")
+    class SendBulkNotificationTests {
+
+        @Test
+        @DisplayName("应该成功批量发送通知")
+        void shouldSendBulkNotificationSuccessfully() {
+            // Given
+            BulkSendCommand command = new BulkSendCommand();
+            command.setTemplateId(1L);
+            BulkSendResult bulkResult = new BulkSendResult();
+            bulkResult.setTotalCount(2);
+            bulkResult.setSentCount(2);
+            when(notificationApplicationService.sendBulkNotificationWithTemplate(TEST_TENANT_ID, command))
+                    .thenReturn(bulkResult);
+
+            // When
+            try (MockedStatic<SessionContext> mockedSessionContext = mockStatic(SessionContext.class)) {
+                mockedSessionContext.when(SessionContext::getTenantId).thenReturn(TEST_TENANT_ID);
+
+                ApiResponse<BulkSendResult> result = notificationController.sendBulkNotificationWithTemplate(command);
+
+                // Then
+                assertEquals(200, result.getCode());
+                assertEquals(bulkResult, result.getData());
+            }
+        }
+
+        @Test
+        @DisplayName("缺少租户ID应该返回错误")
+        void missingTenantIdShouldReturnError() {
+            // When
+            try (MockedStatic<SessionContext> mockedSessionContext = mockStatic(SessionContext.class)) {
+                mockedSessionContext.when(SessionContext::getTenantId).thenReturn(null);
+
+                ApiResponse<BulkSendResult> result = notificationController.sendBulkNotificationWithTemplate(new BulkSendCommand());
+
+                // Then
+                assertEquals(40001, result.getCode());
+                verify(notificationApplicationService, never()).sendBulkNotificationWithTemplate(any(), any());
+            }
+        }
+
+        @Test
+        @DisplayName("应该按批量发送ID返回发送进度")
+        void shouldReturnBulkSendResult() {
+            // Given
+            BulkSendResult bulkResult = new BulkSendResult();
+            bulkResult.setBulkId("bulk-1");
+            bulkResult.setTotalCount(2);
+            bulkResult.setSentCount(2);
+            when(notificationApplicationService.getBulkSendResult(TEST_TENANT_ID, "bulk-1"))
+                    .thenReturn(Optional.of(bulkResult));
+            when(notificationApplicationService.getBulkSendResult(TEST_TENANT_ID, "bulk-2"))
+                    .thenReturn(Optional.empty());
+
+            // When
+            try (MockedStatic<SessionContext> mockedSessionContext = mockStatic(SessionContext.class)) {
+                mockedSessionContext.when(SessionContext::getTenantId).thenReturn(TEST_TENANT_ID);
+
+                ApiResponse<BulkSendResult> result = notificationController.getBulkSendResult("bulk-1");
+                ApiResponse<BulkSendResult> missing = notificationController.getBulkSendResult("bulk-2");
+
+                // Then
+                assertEquals(200, result.getCode());
+                assertEquals(bulkResult, result.getData());
+                assertEquals(40401, missing.getCode());
+            }
+        }
+
+        @Test
+        @DisplayName("查询发送进度缺少租户ID应该返回错误")
+        void missingTenantIdShouldReturnErrorWhenQueryingBulkResult() {
+            // When
+            try (MockedStatic<SessionContext> mockedSessionContext = mockStatic(SessionContext.class)) {
+                mockedSessionContext.when(SessionContext::getTenantId).thenReturn(null);
+
+                ApiResponse<BulkSendResult> result = notificationController.getBulkSendResult("bulk-1");
+
+                // Then
+                assertEquals(40001, result.getCode());
+                verify(notificationApplicationService, never()).getBulkSendResult(any(), any());
+            }
+        }
+    }
+
     @Nested
     @DisplayName("查询通知测试")
     class QueryNotificationTests {
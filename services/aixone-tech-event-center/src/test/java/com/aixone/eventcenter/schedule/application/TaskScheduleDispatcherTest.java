@@ -0,0 +1,171 @@
+package com.aixone.eventcenter.schedule.application;
+
+import com.aixone.common.session.SessionContext;
+import com.aixone.eventcenter.schedule.domain.TaskLease;
+import com.aixone.eventcenter.schedule.infrastructure.ExecutorNodeRegistry;
+import com.aixone.eventcenter.schedule.infrastructure.TaskLeaseService;
+import com.aixone.eventcenter.schedule.infrastructure.TaskScheduleQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * TaskScheduleDispatcher 应用服务测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskScheduleDispatcher 应用服务测试")
+class TaskScheduleDispatcherTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private TaskSchedulerService taskSchedulerService;
+
+    @Mock
+    private TaskLeaseService leaseService;
+
+    @Mock
+    private ExecutorNodeRegistry nodeRegistry;
+
+    private final TaskSchedulerServiceTest.MutableClock clock = new TaskSchedulerServiceTest.MutableClock(T0);
+    private final TaskScheduleQueue scheduleQueue = new TaskScheduleQueue();
+    private TaskScheduleDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dispatcher = new TaskScheduleDispatcher();
+        setField("taskSchedulerService", taskSchedulerService);
+        setField("scheduleQueue", scheduleQueue);
+        setField("leaseService", leaseService);
+        setField("nodeRegistry", nodeRegistry);
+        setField("clock", clock);
+        setField("enabled", true);
+        setField("batchSize", 2);
+        setField("retryDelayMs", 30_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SessionContext.clear();
+    }
+
+    @Test
+    @DisplayName("时钟到达执行时间后应该按时间顺序在任务租户上下文中触发")
+    void shouldFireDueTasksInTenantContext() {
+        // Given
+        scheduleQueue.schedule(1L, "tenant-001", T0.plusSeconds(10));
+        scheduleQueue.schedule(2L, "tenant-002", T0.plusSeconds(20));
+        scheduleQueue.schedule(3L, "tenant-001", T0.plusSeconds(30));
+        scheduleQueue.schedule(4L, "tenant-003", T0.plusSeconds(60));
+        List<String> firedTenants = new ArrayList<>();
+        when(taskSchedulerService.fireScheduledTask(anyLong(), any(Instant.class))).thenAnswer(invocation -> {
+            firedTenants.add(SessionContext.getTenantId());
+            return true;
+        });
+
+        // When：尚未到期时不触发
+        int beforeDue = dispatcher.fireDueTasks();
+        clock.set(T0.plusSeconds(30));
+        int fired = dispatcher.fireDueTasks();
+
+        // Then：三个任务分两批触发，未到期的任务留在队列中
+        assertEquals(0, beforeDue);
+        assertEquals(3, fired);
+        assertEquals(List.of("tenant-001", "tenant-002", "tenant-001"), firedTenants);
+        verify(taskSchedulerService).fireScheduledTask(1L, T0.plusSeconds(10));
+        verify(taskSchedulerService).fireScheduledTask(2L, T0.plusSeconds(20));
+        verify(taskSchedulerService).fireScheduledTask(3L, T0.plusSeconds(30));
+        assertEquals(T0.plusSeconds(60), scheduleQueue.nextFireTime());
+        assertNull(SessionContext.get());
+    }
+
+    @Test
+    @DisplayName("触发失败的任务应该延迟后再次触发")
+    void shouldRetryFailedFire() {
+        // Given
+        scheduleQueue.schedule(1L, "tenant-001", T0);
+        when(taskSchedulerService.fireScheduledTask(1L, T0)).thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        int fired = dispatcher.fireDueTasks();
+
+        // Then
+        assertEquals(0, fired);
+        assertEquals(T0.plusSeconds(30), scheduleQueue.get(1L).getFireTime());
+    }
+
+    @Test
+    @DisplayName("发现失联节点时应该重新加载调度队列，并在租户上下文中回收到期租约")
+    void shouldRecoverExpiredLeases() {
+        // Given
+        TaskLease first = new TaskLease(1L, "tenant-001");
+        TaskLease second = new TaskLease(2L, "tenant-002");
+        when(nodeRegistry.detectDeadNodes()).thenReturn(List.of("node-b"));
+        when(leaseService.findExpired(T0, 2)).thenReturn(List.of(first, second));
+        List<String> recoveredTenants = new ArrayList<>();
+        when(taskSchedulerService.recoverExpiredLease(any(TaskLease.class))).thenAnswer(invocation -> {
+            recoveredTenants.add(SessionContext.getTenantId());
+            return true;
+        }).thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        int recovered = dispatcher.recoverExecutions();
+
+        // Then：回收失败的租约留待下次回收
+        assertEquals(1, recovered);
+        assertEquals(List.of("tenant-001"), recoveredTenants);
+        verify(taskSchedulerService).loadSchedules();
+        verify(taskSchedulerService).recoverExpiredLease(second);
+        assertNull(SessionContext.get());
+    }
+
+    @Test
+    @DisplayName("没有失联节点时不应该重新加载调度队列")
+    void shouldNotReloadWithoutDeadNodes() {
+        // Given
+        when(nodeRegistry.detectDeadNodes()).thenReturn(List.of());
+        when(leaseService.findExpired(T0, 2)).thenReturn(List.of());
+
+        // When
+        int recovered = dispatcher.recoverExecutions();
+
+        // Then
+        assertEquals(0, recovered);
+        verify(taskSchedulerService, never()).loadSchedules();
+    }
+
+    @Test
+    @DisplayName("调度引擎未启用时不应该触发任务")
+    void shouldNotFireWhenDisabled() throws Exception {
+        // Given
+        setField("enabled", false);
+        scheduleQueue.schedule(1L, "tenant-001", T0);
+
+        // When
+        dispatcher.tick();
+        dispatcher.sweep();
+        dispatcher.recoverSchedules();
+
+        // Then
+        verifyNoInteractions(taskSchedulerService, leaseService, nodeRegistry);
+        assertEquals(1, scheduleQueue.size());
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        java.lang.reflect.Field field = TaskScheduleDispatcher.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(dispatcher, value);
+    }
+}
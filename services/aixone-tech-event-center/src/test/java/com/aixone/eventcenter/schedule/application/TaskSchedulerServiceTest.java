@@ -0,0 +1,496 @@
+package com.aixone.eventcenter.schedule.application;
+
+import com.aixone.common.exception.BizException;
+import com.aixone.common.session.SessionContext;
+import com.aixone.eventcenter.schedule.domain.*;
+import com.aixone.eventcenter.schedule.infrastructure.CronScheduleCache;
+import com.aixone.eventcenter.schedule.infrastructure.ExecutorNodeRegistry;
+import com.aixone.eventcenter.schedule.infrastructure.TaskLeaseService;
+import com.aixone.eventcenter.schedule.infrastructure.TaskScheduleQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * TaskSchedulerService 应用服务测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskSchedulerService 应用服务测试")
+class TaskSchedulerServiceTest {
+
+    private static final String TENANT_ID = "tenant-001";
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskLogRepository taskLogRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private TaskLeaseService leaseService;
+
+    @Mock
+    private ExecutorNodeRegistry nodeRegistry;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:30Z"));
+    private final TaskScheduleQueue scheduleQueue = new TaskScheduleQueue();
+    private TaskSchedulerService taskSchedulerService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        taskSchedulerService = new TaskSchedulerService();
+        setField("taskRepository", taskRepository);
+        setField("taskLogRepository", taskLogRepository);
+        setField("kafkaTemplate", kafkaTemplate);
+        setField("cronScheduleCache", new CronScheduleCache());
+        setField("scheduleQueue", scheduleQueue);
+        setField("clock", clock);
+        setField("defaultTimeZone", "UTC");
+        setField("leaseService", leaseService);
+        setField("nodeRegistry", nodeRegistry);
+        setField("busyRetryMs", 1_000L);
+        lenient().when(nodeRegistry.getNodeId()).thenReturn("node-a");
+        lenient().when(nodeRegistry.getLeaseDuration()).thenReturn(Duration.ofSeconds(30));
+        lenient().when(nodeRegistry.tryAcquireSlot()).thenReturn(true);
+        lenient().when(leaseService.acquire(anyLong(), any(), anyString(), any(), any(), any(), any()))
+                .thenReturn(TaskLeaseService.Claim.ACQUIRED);
+        lenient().when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(taskLogRepository.save(any(TaskLog.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SessionContext.clear();
+    }
+
+    @Test
+    @DisplayName("Cron任务应该调度到下一个触发时刻并放入调度队列")
+    void shouldScheduleCronTaskAtNextFireTime() {
+        // Given
+        Task task = task(1L, TaskType.CRON, "0 */5 * * * ?");
+
+        // When
+        taskSchedulerService.scheduleTask(task);
+
+        // Then
+        assertEquals(Instant.parse("2024-01-01T00:05:00Z"), task.getNextExecuteTime());
+        assertEquals(task.getNextExecuteTime(), scheduleQueue.get(1L).getFireTime());
+        verify(taskRepository).save(task);
+    }
+
+    @Test
+    @DisplayName("Cron任务应该按任务时区计算下次执行时间")
+    void shouldUseTaskTimeZone() {
+        // Given：UTC 00:00:30 即上海 08:00:30
+        Task task = task(1L, TaskType.CRON, "0 0 9 * * ?");
+        task.setTimeZone("Asia/Shanghai");
+
+        // When
+        taskSchedulerService.scheduleTask(task);
+
+        // Then
+        assertEquals(Instant.parse("2024-01-01T01:00:00Z"), task.getNextExecuteTime());
+    }
+
+    @Test
+    @DisplayName("触发延迟不应该让后续执行时间漂移")
+    void shouldNotDriftWhenFiredLate() {
+        // Given
+        Task task = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        task.setNextExecuteTime(Instant.parse("2024-01-01T00:05:00Z"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        clock.set(Instant.parse("2024-01-01T00:05:02Z"));
+
+        // When
+        boolean fired = taskSchedulerService.fireScheduledTask(1L, Instant.parse("2024-01-01T00:05:00Z"));
+
+        // Then
+        assertTrue(fired);
+        assertEquals(Instant.parse("2024-01-01T00:10:00Z"), task.getNextExecuteTime());
+        assertEquals(Instant.parse("2024-01-01T00:05:02Z"), task.getLastExecuteTime());
+        assertEquals(TaskStatus.RUNNING, task.getStatus());
+        assertEquals(Instant.parse("2024-01-01T00:10:00Z"), scheduleQueue.get(1L).getFireTime());
+        verify(kafkaTemplate).send(eq("task-execution-order-service"), any());
+    }
+
+    @Test
+    @DisplayName("间隔任务应该按固定频率调度并跳过已错过的周期")
+    void shouldScheduleIntervalAtFixedRate() {
+        // Given：计划 00:01:00 执行，节点在 00:03:30 才触发
+        Task task = task(1L, TaskType.INTERVAL, "60");
+        task.setNextExecuteTime(Instant.parse("2024-01-01T00:01:00Z"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        clock.set(Instant.parse("2024-01-01T00:03:30Z"));
+
+        // When
+        taskSchedulerService.fireScheduledTask(1L, Instant.parse("2024-01-01T00:01:00Z"));
+
+        // Then
+        assertEquals(Instant.parse("2024-01-01T00:04:00Z"), task.getNextExecuteTime());
+        verify(kafkaTemplate, times(1)).send(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("一次性任务触发后不应该再次调度")
+    void shouldNotRescheduleOnceTask() {
+        // Given
+        Task task = task(1L, TaskType.ONCE, "2024-01-01T00:00:00Z");
+        task.setNextExecuteTime(Instant.parse("2024-01-01T00:00:00Z"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        // When
+        taskSchedulerService.fireScheduledTask(1L, Instant.parse("2024-01-01T00:00:00Z"));
+
+        // Then
+        assertNull(task.getNextExecuteTime());
+        assertEquals(0, scheduleQueue.size());
+    }
+
+    @Test
+    @DisplayName("任务已被重新调度时应该按新的执行时间入队而不触发")
+    void shouldSkipStaleQueueEntry() {
+        // Given
+        Task task = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        task.setNextExecuteTime(Instant.parse("2024-01-01T00:10:00Z"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        // When
+        boolean fired = taskSchedulerService.fireScheduledTask(1L, Instant.parse("2024-01-01T00:05:00Z"));
+
+        // Then
+        assertFalse(fired);
+        assertEquals(Instant.parse("2024-01-01T00:10:00Z"), scheduleQueue.get(1L).getFireTime());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("已禁用的任务不应该触发")
+    void shouldSkipDisabledTask() {
+        // Given
+        Task task = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        task.setNextExecuteTime(Instant.parse("2024-01-01T00:00:00Z"));
+        task.setEnabled(false);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        // When
+        boolean fired = taskSchedulerService.fireScheduledTask(1L, Instant.parse("2024-01-01T00:00:00Z"));
+
+        // Then
+        assertFalse(fired);
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("启动时应该从任务表恢复调度队列")
+    void shouldLoadSchedulesFromRepository() {
+        // Given：一个任务在停机期间错过了执行，一个周期任务缺少下次执行时间
+        Task missed = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        missed.setNextExecuteTime(Instant.parse("2023-12-31T23:55:00Z"));
+        Task unscheduled = task(2L, TaskType.INTERVAL, "120");
+        Task finished = task(3L, TaskType.ONCE, "2023-12-31T00:00:00Z");
+        when(taskRepository.findSchedulableTasks()).thenReturn(List.of(missed, unscheduled, finished));
+
+        // When
+        int loaded = taskSchedulerService.loadSchedules();
+
+        // Then
+        assertEquals(2, loaded);
+        assertEquals(Instant.parse("2023-12-31T23:55:00Z"), scheduleQueue.get(1L).getFireTime());
+        assertEquals(Instant.parse("2024-01-01T00:02:30Z"), scheduleQueue.get(2L).getFireTime());
+        assertNull(scheduleQueue.get(3L));
+        verify(taskRepository).save(unscheduled);
+        verify(taskRepository, never()).save(missed);
+    }
+
+    @Test
+    @DisplayName("执行失败可重试时应该按重试时间重新入队")
+    void shouldEnqueueRetryTime() {
+        // Given
+        Task task = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        TaskLog taskLog = new TaskLog(1L, "node-a", clock.instant());
+        taskLog.setLogId(10L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskLogRepository.findById(10L)).thenReturn(Optional.of(taskLog));
+        TaskExecutionResult result = new TaskExecutionResult();
+        result.setTaskId(1L);
+        result.setLogId(10L);
+        result.setSuccess(false);
+        result.setErrorMessage("timeout");
+
+        // When
+        taskSchedulerService.handleTaskExecutionResult(result);
+
+        // Then
+        assertEquals(TaskStatus.PENDING, task.getStatus());
+        assertEquals(clock.instant().plusSeconds(60), scheduleQueue.get(1L).getFireTime());
+    }
+
+    @Test
+    @DisplayName("触发时应该以计划执行时间认领租约，执行记录使用本节点标识")
+    void shouldClaimLeaseBeforeExecution() {
+        // Given
+        Task task = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        task.setNextExecuteTime(Instant.parse("2024-01-01T00:00:00Z"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        // When
+        taskSchedulerService.fireScheduledTask(1L, Instant.parse("2024-01-01T00:00:00Z"));
+
+        // Then：截止时间为超时时间加一个租约时长
+        verify(leaseService).acquire(1L, TENANT_ID, "node-a", Instant.parse("2024-01-01T00:00:00Z"),
+                clock.instant().plusSeconds(30), clock.instant().plusSeconds(300 + 30), clock.instant());
+        verify(taskLogRepository).save(argThat(log -> "node-a".equals(log.getExecutorNode())));
+        verify(leaseService).bindLog(eq(1L), eq("node-a"), any());
+    }
+
+    @Test
+    @DisplayName("其他节点已触发本次执行时不应该重复执行")
+    void shouldNotExecuteWhenAlreadyFiredByAnotherNode() {
+        // Given
+        Task task = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        task.setNextExecuteTime(Instant.parse("2024-01-01T00:00:00Z"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(leaseService.acquire(anyLong(), any(), anyString(), any(), any(), any(), any()))
+                .thenReturn(TaskLeaseService.Claim.ALREADY_FIRED);
+
+        // When
+        boolean fired = taskSchedulerService.fireScheduledTask(1L, Instant.parse("2024-01-01T00:00:00Z"));
+
+        // Then：按下一次执行时间留在队列中，不写任务表，认领前占用的执行槽位归还
+        assertFalse(fired);
+        assertEquals(Instant.parse("2024-01-01T00:05:00Z"), scheduleQueue.get(1L).getFireTime());
+        verifyNoInteractions(kafkaTemplate);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(nodeRegistry, times(1)).releaseSlot();
+    }
+
+    @Test
+    @DisplayName("上一次执行尚未结束时应该跳过本次执行")
+    void shouldSkipOccurrenceWhileLeaseHeld() {
+        // Given
+        Task task = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        task.setNextExecuteTime(Instant.parse("2024-01-01T00:00:00Z"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(leaseService.acquire(anyLong(), any(), anyString(), any(), any(), any(), any()))
+                .thenReturn(TaskLeaseService.Claim.HELD);
+
+        // When
+        boolean fired = taskSchedulerService.fireScheduledTask(1L, Instant.parse("2024-01-01T00:00:00Z"));
+
+        // Then
+        assertFalse(fired);
+        assertEquals(Instant.parse("2024-01-01T00:05:00Z"), task.getNextExecuteTime());
+        assertEquals(Instant.parse("2024-01-01T00:05:00Z"), scheduleQueue.get(1L).getFireTime());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("本节点已达并发上限时应该稍后再试且不认领租约")
+    void shouldRetryLaterWhenNodeBusy() {
+        // Given
+        Task task = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        task.setNextExecuteTime(Instant.parse("2024-01-01T00:00:00Z"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(nodeRegistry.tryAcquireSlot()).thenReturn(false);
+
+        // When
+        boolean fired = taskSchedulerService.fireScheduledTask(1L, Instant.parse("2024-01-01T00:00:00Z"));
+
+        // Then
+        assertFalse(fired);
+        assertEquals(clock.instant().plusSeconds(1), scheduleQueue.get(1L).getFireTime());
+        assertEquals(Instant.parse("2024-01-01T00:00:00Z"), task.getNextExecuteTime());
+        verifyNoInteractions(leaseService, kafkaTemplate);
+        assertThrows(BizException.class, () -> taskSchedulerService.executeTaskImmediately(task));
+    }
+
+    @Test
+    @DisplayName("执行结果回报后应该释放租约，重复回报的结果应该被忽略")
+    void shouldReleaseLeaseAndIgnoreDuplicateResult() {
+        // Given
+        Task task = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        task.setNextExecuteTime(Instant.parse("2024-01-01T00:05:00Z"));
+        TaskLog taskLog = new TaskLog(1L, "node-a", clock.instant());
+        taskLog.setLogId(10L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskLogRepository.findById(10L)).thenReturn(Optional.of(taskLog));
+        when(leaseService.release(1L, 10L)).thenReturn(true);
+        TaskExecutionResult result = new TaskExecutionResult();
+        result.setTaskId(1L);
+        result.setLogId(10L);
+        result.setSuccess(true);
+        result.setDurationMs(5L);
+
+        // When
+        taskSchedulerService.handleTaskExecutionResult(result);
+        taskSchedulerService.handleTaskExecutionResult(result);
+
+        // Then
+        assertEquals(TaskStatus.SUCCESS, taskLog.getStatus());
+        verify(leaseService, times(1)).release(1L, 10L);
+        verify(nodeRegistry, times(1)).releaseSlot();
+        verify(taskRepository, times(1)).save(task);
+    }
+
+    @Test
+    @DisplayName("超过截止时间仍未回报结果的执行应该标记失败并安排重试")
+    void shouldRecoverExecutionPastDeadline() {
+        // Given
+        Task task = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        task.updateStatus(TaskStatus.RUNNING);
+        TaskLog taskLog = new TaskLog(1L, "node-b", clock.instant().minusSeconds(400));
+        taskLog.setLogId(10L);
+        TaskLease lease = lease("node-b", 10L, clock.instant().minusSeconds(1));
+        when(leaseService.takeOver(eq(1L), eq("node-b"), eq("node-a"), any(), any())).thenReturn(true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskLogRepository.findById(10L)).thenReturn(Optional.of(taskLog));
+
+        // When
+        boolean recovered = taskSchedulerService.recoverExpiredLease(lease);
+
+        // Then
+        assertTrue(recovered);
+        assertEquals(TaskStatus.FAILED, taskLog.getStatus());
+        assertEquals(TaskStatus.PENDING, task.getStatus());
+        assertEquals(clock.instant().plusSeconds(60), scheduleQueue.get(1L).getFireTime());
+        verify(leaseService).releaseOwned(1L, "node-a");
+        verify(nodeRegistry, never()).tryAcquireSlot();
+    }
+
+    @Test
+    @DisplayName("失联节点未超过截止时间的执行应该由本节点接管继续等待结果")
+    void shouldAdoptExecutionOfDeadNode() {
+        // Given
+        TaskLease lease = lease("node-b", 10L, clock.instant().plusSeconds(200));
+        when(leaseService.takeOver(eq(1L), eq("node-b"), eq("node-a"), any(), any())).thenReturn(true);
+
+        // When
+        boolean adopted = taskSchedulerService.recoverExpiredLease(lease);
+
+        // Then
+        assertTrue(adopted);
+        verify(nodeRegistry).tryAcquireSlot();
+        verify(leaseService, never()).releaseOwned(anyLong(), anyString());
+        verifyNoInteractions(taskLogRepository);
+    }
+
+    @Test
+    @DisplayName("应该校验调度表达式与时区")
+    void shouldValidateSchedule() {
+        assertDoesNotThrow(() -> taskSchedulerService.validateSchedule(TaskType.CRON, "0 0 12 * * ?", "Asia/Shanghai"));
+        assertThrows(BizException.class, () -> taskSchedulerService.validateSchedule(TaskType.CRON, "invalid cron", null));
+        assertThrows(BizException.class, () -> taskSchedulerService.validateSchedule(TaskType.CRON, "0 0 12 * * ?", "Mars/Olympus"));
+        assertThrows(BizException.class, () -> taskSchedulerService.validateSchedule(TaskType.INTERVAL, "0", null));
+        assertThrows(BizException.class, () -> taskSchedulerService.validateSchedule(TaskType.ONCE, "tomorrow", null));
+    }
+
+    @Test
+    @DisplayName("待执行任务应该从调度队列按执行时间返回当前租户已到期的任务")
+    void shouldReturnPendingTasksFromQueue() {
+        // Given：当前时间 00:00:30，任务 1、2 已到期，任务 4 尚未到期
+        SessionContext.set(new SessionContext.SessionInfo("user-001", TENANT_ID));
+        Task later = task(1L, TaskType.CRON, "0 */5 * * * ?");
+        later.setNextExecuteTime(Instant.parse("2024-01-01T00:00:20Z"));
+        Task sooner = task(2L, TaskType.CRON, "0 */5 * * * ?");
+        sooner.setNextExecuteTime(Instant.parse("2024-01-01T00:00:10Z"));
+        scheduleQueue.schedule(1L, TENANT_ID, later.getNextExecuteTime());
+        scheduleQueue.schedule(2L, TENANT_ID, sooner.getNextExecuteTime());
+        scheduleQueue.schedule(3L, "tenant-002", Instant.parse("2024-01-01T00:00:01Z"));
+        scheduleQueue.schedule(4L, TENANT_ID, Instant.parse("2024-01-01T00:05:00Z"));
+        when(taskRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(later, sooner));
+
+        // When
+        List<Task> pending = taskSchedulerService.getPendingTasks();
+
+        // Then
+        assertEquals(List.of(sooner, later), pending);
+        verify(taskRepository, never()).findPendingTasksForExecution(any(), any());
+    }
+
+    @Test
+    @DisplayName("没有租户上下文时待执行任务应该为空")
+    void shouldReturnNoPendingTasksWithoutTenant() {
+        // Given：队列中有两个租户已到期的任务
+        SessionContext.clear();
+        scheduleQueue.schedule(1L, TENANT_ID, Instant.parse("2024-01-01T00:00:10Z"));
+        scheduleQueue.schedule(3L, "tenant-002", Instant.parse("2024-01-01T00:00:01Z"));
+
+        // When
+        List<Task> pending = taskSchedulerService.getPendingTasks();
+
+        // Then
+        assertTrue(pending.isEmpty());
+        verify(taskRepository, never()).findAllById(any());
+    }
+
+    private Task task(Long taskId, TaskType taskType, String scheduleExpression) {
+        Task task = new Task("task-" + taskId, "测试任务", taskType, scheduleExpression,
+                "order-service", "{}", TENANT_ID);
+        task.setTaskId(taskId);
+        return task;
+    }
+
+    private TaskLease lease(String owner, Long logId, Instant deadline) {
+        TaskLease lease = new TaskLease(1L, TENANT_ID);
+        lease.acquire(owner, clock.instant().minusSeconds(400), clock.instant().minusSeconds(5), deadline,
+                clock.instant().minusSeconds(400));
+        lease.setLogId(logId);
+        return lease;
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        java.lang.reflect.Field field = TaskSchedulerService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(taskSchedulerService, value);
+    }
+
+    /**
+     * 可控时钟
+     */
+    static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import com.aixone.common.exception.BizException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.quartz.CronExpression;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CronScheduleCache 基础设施测试
+ */
+@DisplayName("CronScheduleCache 基础设施测试")
+class CronScheduleCacheTest {
+
+    private final CronScheduleCache cache = new CronScheduleCache();
+
+    @Test
+    @DisplayName("同一时区的同一表达式应该只编译一次")
+    void shouldCompileExpressionOnce() {
+        // When
+        CronExpression first = cache.compile("0 0 12 * * ?", ZoneOffset.UTC);
+        CronExpression second = cache.compile(" 0 0 12 * * ? ", ZoneOffset.UTC);
+        CronExpression shanghai = cache.compile("0 0 12 * * ?", ZoneId.of("Asia/Shanghai"));
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, shanghai);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("无效的表达式应该抛出业务异常")
+    void shouldRejectInvalidExpression() {
+        BizException invalid = assertThrows(BizException.class, () -> cache.compile("invalid cron", ZoneOffset.UTC));
+        assertEquals("INVALID_CRON_EXPRESSION", invalid.getErrorCode());
+        assertThrows(BizException.class, () -> cache.compile("0 0 12 * * 8", ZoneOffset.UTC));
+        assertThrows(BizException.class, () -> cache.compile(" ", ZoneOffset.UTC));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("数字周字段应该按Quartz约定解析，1为周日，7为周六")
+    void shouldUseQuartzDayOfWeekNumbering() {
+        // Given：2024-01-01 是周一
+        Instant after = Instant.parse("2024-01-01T12:00:00Z");
+
+        // When
+        Instant sunday = cache.nextFireTime("0 0 9 ? * 1", ZoneOffset.UTC, after);
+        Instant monday = cache.nextFireTime("0 0 9 ? * 2", ZoneOffset.UTC, after);
+        Instant saturday = cache.nextFireTime("0 0 9 ? * 7", ZoneOffset.UTC, after);
+        Instant weekdays = cache.nextFireTime("0 0 9 ? * 2-6", ZoneOffset.UTC, Instant.parse("2024-01-05T12:00:00Z"));
+        Instant secondMonday = cache.nextFireTime("0 0 9 ? * 2#2", ZoneOffset.UTC, after);
+
+        // Then
+        assertEquals(Instant.parse("2024-01-07T09:00:00Z"), sunday);
+        assertEquals(Instant.parse("2024-01-08T09:00:00Z"), monday);
+        assertEquals(Instant.parse("2024-01-06T09:00:00Z"), saturday);
+        assertEquals(Instant.parse("2024-01-08T09:00:00Z"), weekdays, "周五之后的下一个工作日是周一");
+        assertEquals(Instant.parse("2024-01-08T09:00:00Z"), secondMonday);
+    }
+
+    @Test
+    @DisplayName("应该支持Quartz的年字段，年份过后不再触发")
+    void shouldSupportYearField() {
+        // Given
+        Instant after = Instant.parse("2024-06-01T00:00:00Z");
+
+        // When
+        Instant inYear = cache.nextFireTime("0 0 12 1 1 ? 2025", ZoneOffset.UTC, after);
+        Instant expired = cache.nextFireTime("0 0 12 1 1 ? 2023", ZoneOffset.UTC, after);
+
+        // Then
+        assertEquals(Instant.parse("2025-01-01T12:00:00Z"), inYear);
+        assertNull(expired);
+    }
+
+    @Test
+    @DisplayName("下次执行时间应该按任务时区计算")
+    void shouldCalculateNextFireTimeInZone() {
+        // Given：UTC 00:00 即上海 08:00
+        Instant after = Instant.parse("2024-01-01T00:00:00Z");
+
+        // When
+        Instant shanghai = cache.nextFireTime("0 0 9 * * ?", ZoneId.of("Asia/Shanghai"), after);
+        Instant utc = cache.nextFireTime("0 0 9 * * ?", ZoneOffset.UTC, after);
+
+        // Then
+        assertEquals(Instant.parse("2024-01-01T01:00:00Z"), shanghai);
+        assertEquals(Instant.parse("2024-01-01T09:00:00Z"), utc);
+    }
+
+    @Test
+    @DisplayName("夏令时切换后应该仍在本地时间触发")
+    void shouldKeepLocalTimeAcrossDaylightSavingTransition() {
+        // Given：纽约 2024-03-10 凌晨进入夏令时，UTC偏移从 -5 变为 -4
+        ZoneId newYork = ZoneId.of("America/New_York");
+        Instant after = Instant.parse("2024-03-09T12:00:00Z");
+
+        // When
+        Instant beforeTransition = cache.nextFireTime("0 0 9 * * ?", newYork, after);
+        Instant afterTransition = cache.nextFireTime("0 0 9 * * ?", newYork, beforeTransition);
+
+        // Then
+        assertEquals(Instant.parse("2024-03-09T14:00:00Z"), beforeTransition);
+        assertEquals(Instant.parse("2024-03-10T13:00:00Z"), afterTransition);
+    }
+
+    @Test
+    @DisplayName("时区为空时使用默认时区，无效时区应该抛出业务异常")
+    void shouldResolveZone() {
+        assertEquals(ZoneOffset.UTC, cache.resolveZone(null, ZoneOffset.UTC));
+        assertEquals(ZoneId.of("Asia/Shanghai"), cache.resolveZone("Asia/Shanghai", ZoneOffset.UTC));
+        BizException invalid = assertThrows(BizException.class, () -> cache.resolveZone("Mars/Olympus", ZoneOffset.UTC));
+        assertEquals("INVALID_TIME_ZONE", invalid.getErrorCode());
+    }
+}
@@ -0,0 +1,126 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.Trigger;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * QuartzJobMetrics 基础设施测试
+ */
+@DisplayName("QuartzJobMetrics 基础设施测试")
+class QuartzJobMetricsTest {
+
+    private final QuartzJobMetrics metrics = new QuartzJobMetrics();
+
+    @Test
+    @DisplayName("应该按任务记录执行耗时和排队延迟")
+    void shouldRecordLatencyAndLagPerJob() {
+        // Given
+        JobExecutionContext slow = context("task-1", "tenant-001", 1_000L, 1_250L, 800L);
+        JobExecutionContext fast = context("task-2", "tenant-001", 2_000L, 2_010L, 100L);
+
+        // When
+        execute(slow, null);
+        execute(fast, null);
+        execute(context("task-1", "tenant-001", 3_000L, 3_050L, 400L), new JobExecutionException("失败"));
+
+        // Then
+        List<QuartzJobMetrics.JobSnapshot> jobs = metrics.snapshot("tenant-001", 10);
+        assertEquals(List.of("task-1", "task-2"), jobs.stream().map(QuartzJobMetrics.JobSnapshot::getJobName).toList());
+        QuartzJobMetrics.JobSnapshot task1 = jobs.get(0);
+        assertEquals(2, task1.getExecutions());
+        assertEquals(1, task1.getFailures());
+        assertEquals(600, task1.getAvgLatencyMs());
+        assertEquals(800, task1.getMaxLatencyMs());
+        assertEquals(150, task1.getAvgLagMs());
+        assertEquals(250, task1.getMaxLagMs());
+        assertEquals(50, task1.getLastLagMs());
+        assertEquals(0, metrics.executingCount());
+    }
+
+    @Test
+    @DisplayName("应该记录错过触发的次数")
+    void shouldCountMisfires() {
+        // Given
+        Trigger trigger = mock(Trigger.class);
+        when(trigger.getJobKey()).thenReturn(JobKey.jobKey("task-1"));
+
+        // When
+        metrics.triggerMisfired(trigger);
+        metrics.triggerMisfired(trigger);
+
+        // Then
+        assertEquals(2, metrics.summary(null).getMisfires());
+        assertEquals(2, metrics.snapshot(null, 10).get(0).getMisfires());
+    }
+
+    @Test
+    @DisplayName("汇总指标应该只统计指定租户的任务")
+    void shouldSummarizeByTenant() {
+        // Given
+        execute(context("task-1", "tenant-001", 1_000L, 1_100L, 200L), null);
+        execute(context("task-2", "tenant-002", 1_000L, 1_300L, 600L), null);
+
+        // When
+        QuartzJobMetrics.Summary tenant1 = metrics.summary("tenant-001");
+        QuartzJobMetrics.Summary all = metrics.summary(null);
+
+        // Then
+        assertEquals(1, tenant1.getJobs());
+        assertEquals(1, tenant1.getExecutions());
+        assertEquals(100, tenant1.getMaxLagMs());
+        assertEquals(2, all.getJobs());
+        assertEquals(400, all.getAvgLatencyMs());
+        assertEquals(300, all.getMaxLagMs());
+        assertTrue(metrics.snapshot("tenant-003", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("应该注册全局执行耗时、延迟与错过触发指标")
+    void shouldBindMetrics() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.bindMetrics(registry);
+
+        // When
+        execute(context("task-1", "tenant-001", 1_000L, 1_100L, 200L), null);
+
+        // Then
+        assertEquals(1, registry.get("schedule.job.execution").tag("outcome", "success").timer().count());
+        assertEquals(100.0, registry.get("schedule.job.lag").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(0.0, registry.get("schedule.job.misfires").functionCounter().count());
+    }
+
+    private void execute(JobExecutionContext context, JobExecutionException exception) {
+        metrics.jobToBeExecuted(context);
+        metrics.jobWasExecuted(context, exception);
+    }
+
+    private JobExecutionContext context(String jobName, String tenantId, long scheduledFireTime, long fireTime,
+                                        long runTime) {
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(TaskJobContext.TENANT_ID, tenantId);
+        JobDetail jobDetail = mock(JobDetail.class);
+        when(jobDetail.getKey()).thenReturn(JobKey.jobKey(jobName));
+        JobExecutionContext context = mock(JobExecutionContext.class);
+        when(context.getJobDetail()).thenReturn(jobDetail);
+        when(context.getMergedJobDataMap()).thenReturn(jobDataMap);
+        when(context.getScheduledFireTime()).thenReturn(new Date(scheduledFireTime));
+        when(context.getFireTime()).thenReturn(new Date(fireTime));
+        when(context.getJobRunTime()).thenReturn(runTime);
+        return context;
+    }
+}
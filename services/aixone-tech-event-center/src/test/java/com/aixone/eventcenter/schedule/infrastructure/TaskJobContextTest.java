@@ -0,0 +1,111 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import com.aixone.common.session.SessionContext;
+import com.aixone.eventcenter.schedule.domain.Task;
+import com.aixone.eventcenter.schedule.domain.TaskType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDataMap;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TaskJobContext 基础设施测试
+ */
+@DisplayName("TaskJobContext 基础设施测试")
+class TaskJobContextTest {
+
+    @AfterEach
+    void tearDown() {
+        SessionContext.clear();
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("调度时应该记录任务租户、当前用户和链路标识")
+    void shouldCaptureContextAtScheduleTime() {
+        // Given
+        SessionContext.set(new SessionContext.SessionInfo("user-001", "tenant-other"));
+        MDC.put(TaskJobContext.MDC_TRACE_ID, "trace-001");
+        JobDataMap jobDataMap = new JobDataMap();
+
+        // When
+        TaskJobContext.capture(jobDataMap, task("tenant-001"));
+
+        // Then
+        assertEquals("tenant-001", jobDataMap.getString(TaskJobContext.TENANT_ID));
+        assertEquals("user-001", jobDataMap.getString(TaskJobContext.USER_ID));
+        assertEquals("trace-001", jobDataMap.getString(TaskJobContext.TRACE_ID));
+    }
+
+    @Test
+    @DisplayName("没有会话时应该使用任务创建者作为用户")
+    void shouldFallBackToCreatorWithoutSession() {
+        // Given
+        JobDataMap jobDataMap = new JobDataMap();
+
+        // When
+        TaskJobContext.capture(jobDataMap, task("tenant-001"));
+
+        // Then
+        assertEquals("creator-001", jobDataMap.getString(TaskJobContext.USER_ID));
+        assertFalse(jobDataMap.containsKey(TaskJobContext.TRACE_ID));
+    }
+
+    @Test
+    @DisplayName("执行时应该恢复上下文，结束后还原线程原有的上下文")
+    void shouldRestoreAndResetContext() {
+        // Given
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(TaskJobContext.TENANT_ID, "tenant-001");
+        jobDataMap.put(TaskJobContext.USER_ID, "user-001");
+        jobDataMap.put(TaskJobContext.TRACE_ID, "trace-001");
+        SessionContext.SessionInfo workerSession = new SessionContext.SessionInfo("worker", "tenant-worker");
+        SessionContext.set(workerSession);
+
+        // When
+        try (TaskJobContext.Scope ignored = TaskJobContext.restore(jobDataMap)) {
+            // Then
+            assertEquals("tenant-001", SessionContext.getTenantId());
+            assertEquals("user-001", SessionContext.getUserId());
+            assertEquals("trace-001", MDC.get(TaskJobContext.MDC_TRACE_ID));
+            assertEquals("tenant-001", MDC.get(TaskJobContext.MDC_TENANT_ID));
+        }
+        assertSame(workerSession, SessionContext.get());
+        assertNull(MDC.get(TaskJobContext.MDC_TRACE_ID));
+        assertNull(MDC.get(TaskJobContext.MDC_TENANT_ID));
+    }
+
+    @Test
+    @DisplayName("没有链路标识时每次执行应该生成新的链路标识")
+    void shouldGenerateTraceIdPerExecution() {
+        // Given
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(TaskJobContext.TENANT_ID, "tenant-001");
+
+        // When
+        String first;
+        try (TaskJobContext.Scope ignored = TaskJobContext.restore(jobDataMap)) {
+            first = MDC.get(TaskJobContext.MDC_TRACE_ID);
+        }
+        String second;
+        try (TaskJobContext.Scope ignored = TaskJobContext.restore(jobDataMap)) {
+            second = MDC.get(TaskJobContext.MDC_TRACE_ID);
+        }
+
+        // Then
+        assertNotNull(first);
+        assertNotEquals(first, second);
+        assertNull(SessionContext.get());
+    }
+
+    private Task task(String tenantId) {
+        Task task = new Task("报表任务", "测试任务", TaskType.CRON, "0 0 12 * * ?",
+                "report-service", "{}", tenantId);
+        task.setTaskId(1L);
+        task.setCreator("creator-001");
+        return task;
+    }
+}
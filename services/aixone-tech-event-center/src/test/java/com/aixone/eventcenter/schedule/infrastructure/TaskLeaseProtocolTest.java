@@ -0,0 +1,250 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import com.aixone.eventcenter.schedule.domain.ExecutorNode;
+import com.aixone.eventcenter.schedule.domain.TaskLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 任务执行租约协议嵌入式数据库测试
+ * 同一个JVM内模拟 node-a、node-b 两个执行节点共享一个数据库
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-lease;MODE=PostgreSQL;INIT=CREATE SCHEMA IF NOT EXISTS ai_xone",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskLeaseService.class)
+@DisplayName("任务执行租约协议嵌入式数据库测试")
+class TaskLeaseProtocolTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Long TASK_ID = 1L;
+    private static final String TENANT_ID = "tenant-001";
+
+    @Autowired
+    private JpaTaskLeaseRepository leaseRepository;
+
+    @Autowired
+    private JpaExecutorNodeRepository nodeRepository;
+
+    @Autowired
+    private TaskLeaseService leaseService;
+
+    private final TestClock clock = new TestClock(T0);
+    private ExecutorNodeRegistry nodeA;
+    private ExecutorNodeRegistry nodeB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        nodeA = registry("node-a", 2);
+        nodeB = registry("node-b", 2);
+        leaseService.ensureLease(TASK_ID, TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("同一计划执行时间只能被一个节点认领")
+    void shouldClaimEachFireTimeOnce() {
+        // When
+        TaskLeaseService.Claim claimedByA = acquire("node-a", T0);
+        TaskLeaseService.Claim claimedByB = acquire("node-b", T0);
+
+        // Then
+        assertEquals(TaskLeaseService.Claim.ACQUIRED, claimedByA);
+        assertEquals(TaskLeaseService.Claim.ALREADY_FIRED, claimedByB);
+        assertEquals("node-a", lease().getLeaseOwner());
+    }
+
+    @Test
+    @DisplayName("上一次执行未释放时不能认领下一次执行，释放后可由其他节点认领")
+    void shouldNotOverlapExecutions() {
+        // Given
+        acquire("node-a", T0);
+        leaseService.bindLog(TASK_ID, "node-a", 10L);
+
+        // When
+        TaskLeaseService.Claim whileRunning = acquire("node-b", T0.plusSeconds(60));
+        boolean released = leaseService.release(TASK_ID, 10L);
+        TaskLeaseService.Claim afterRelease = acquire("node-b", T0.plusSeconds(60));
+        boolean staleRelease = leaseService.release(TASK_ID, 10L);
+
+        // Then：旧执行记录的结果不能释放新执行的租约
+        assertEquals(TaskLeaseService.Claim.HELD, whileRunning);
+        assertTrue(released);
+        assertEquals(TaskLeaseService.Claim.ACQUIRED, afterRelease);
+        assertFalse(staleRelease);
+        assertEquals("node-b", lease().getLeaseOwner());
+    }
+
+    @Test
+    @DisplayName("失联节点的租约不再续约，到期后只能被一个节点接管")
+    void shouldTakeOverLeaseOfDeadNode() {
+        // Given
+        nodeA.heartbeat();
+        nodeB.heartbeat();
+        acquire("node-a", T0);
+        clock.set(T0.plusSeconds(20));
+        nodeA.heartbeat();
+        nodeB.heartbeat();
+
+        // When：node-a 失联，只有 node-b 继续心跳
+        clock.set(T0.plusSeconds(45));
+        nodeB.heartbeat();
+        List<TaskLease> expiredBeforeTimeout = leaseService.findExpired(clock.instant(), 10);
+        clock.set(T0.plusSeconds(55));
+        nodeB.heartbeat();
+        List<String> deadNodes = nodeB.detectDeadNodes();
+        List<TaskLease> expired = leaseService.findExpired(clock.instant(), 10);
+        boolean takenOverByB = leaseService.takeOver(TASK_ID, "node-a", "node-b", T0.plusSeconds(85), clock.instant());
+        boolean takenOverAgain = leaseService.takeOver(TASK_ID, "node-a", "node-c", T0.plusSeconds(85), clock.instant());
+        nodeB.heartbeat();
+
+        // Then
+        assertTrue(expiredBeforeTimeout.isEmpty());
+        assertEquals(List.of("node-a"), deadNodes);
+        assertTrue(nodeB.detectDeadNodes().isEmpty());
+        assertEquals(1, expired.size());
+        assertEquals("node-a", expired.get(0).getLeaseOwner());
+        assertTrue(takenOverByB);
+        assertFalse(takenOverAgain);
+        assertEquals("node-b", lease().getLeaseOwner());
+        assertEquals(1, nodeB.getRunningCount());
+        assertEquals(List.of("node-b"), nodeB.activeNodes().stream().map(ExecutorNode::getNodeId).toList());
+    }
+
+    @Test
+    @DisplayName("超过执行截止时间的租约不再续约")
+    void shouldStopRenewingPastDeadline() {
+        // Given
+        leaseService.acquire(TASK_ID, TENANT_ID, "node-a", T0, T0.plusSeconds(30), T0.plusSeconds(40), T0);
+
+        // When
+        clock.set(T0.plusSeconds(20));
+        nodeA.heartbeat();
+        clock.set(T0.plusSeconds(45));
+        nodeA.heartbeat();
+
+        // Then：节点仍在线，但租约在续约到的时间后到期
+        assertEquals(T0.plusSeconds(50), lease().getLeaseUntil());
+        assertTrue(leaseService.findExpired(T0.plusSeconds(51), 10).stream()
+                .anyMatch(lease -> lease.isPastDeadline(T0.plusSeconds(51))));
+    }
+
+    @Test
+    @DisplayName("节点持有的执行租约数不应该超过并发上限，心跳时按实际持有数校准")
+    void shouldLimitConcurrencyPerNode() {
+        // Given
+        acquire("node-a", T0);
+
+        // When
+        nodeA.heartbeat();
+        boolean second = nodeA.tryAcquireSlot();
+        boolean third = nodeA.tryAcquireSlot();
+        nodeA.releaseSlot();
+        boolean afterRelease = nodeA.tryAcquireSlot();
+
+        // Then
+        assertEquals(2, nodeA.getRunningCount());
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(afterRelease);
+        assertTrue(nodeB.tryAcquireSlot());
+    }
+
+    @Test
+    @DisplayName("节点正常下线时租约应该立即到期，由其他节点接管")
+    void shouldHandOverLeasesOnDeregister() {
+        // Given
+        nodeA.heartbeat();
+        nodeB.heartbeat();
+        acquire("node-a", T0);
+
+        // When
+        clock.set(T0.plusSeconds(5));
+        nodeA.deregister();
+        clock.set(T0.plusSeconds(6));
+
+        // Then
+        assertEquals(ExecutorNode.NodeStatus.LEFT, nodeRepository.findById("node-a").orElseThrow().getStatus());
+        assertEquals(1, leaseService.findExpired(clock.instant(), 10).size());
+        assertTrue(leaseService.takeOver(TASK_ID, "node-a", "node-b", T0.plusSeconds(36), clock.instant()));
+    }
+
+    private TaskLeaseService.Claim acquire(String nodeId, Instant fireTime) {
+        Instant now = clock.instant();
+        return leaseService.acquire(TASK_ID, TENANT_ID, nodeId, fireTime, now.plusSeconds(30),
+                now.plusSeconds(330), now);
+    }
+
+    private TaskLease lease() {
+        return leaseRepository.findById(TASK_ID).orElseThrow();
+    }
+
+    private ExecutorNodeRegistry registry(String nodeId, int maxConcurrency) throws Exception {
+        ExecutorNodeRegistry registry = new ExecutorNodeRegistry();
+        setField(registry, "nodeRepository", nodeRepository);
+        setField(registry, "leaseRepository", leaseRepository);
+        setField(registry, "clock", clock);
+        setField(registry, "nodeId", nodeId);
+        setField(registry, "maxConcurrency", maxConcurrency);
+        setField(registry, "leaseMs", 30_000L);
+        setField(registry, "nodeTimeoutMs", 30_000L);
+        setField(registry, "nodeRetentionHours", 24L);
+        registry.init();
+        return registry;
+    }
+
+    private void setField(Object target, String name, Object value) throws Exception {
+        java.lang.reflect.Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * 多个模拟节点共享的可控时钟
+     */
+    private static class TestClock extends Clock {
+        private Instant instant;
+
+        TestClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.aixone.eventcenter.schedule.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TaskScheduleQueue 基础设施测试
+ */
+@DisplayName("TaskScheduleQueue 基础设施测试")
+class TaskScheduleQueueTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final TaskScheduleQueue queue = new TaskScheduleQueue();
+
+    @Test
+    @DisplayName("应该按执行时间先后取出到期任务")
+    void shouldPollDueTasksInFireTimeOrder() {
+        // Given
+        queue.schedule(3L, "tenant-001", T0.plusSeconds(30));
+        queue.schedule(1L, "tenant-001", T0.plusSeconds(10));
+        queue.schedule(2L, "tenant-002", T0.plusSeconds(20));
+
+        // When
+        List<TaskScheduleQueue.ScheduledTask> due = queue.pollDue(T0.plusSeconds(20), 10);
+
+        // Then
+        assertEquals(List.of(1L, 2L), due.stream().map(TaskScheduleQueue.ScheduledTask::getTaskId).toList());
+        assertEquals(1, queue.size());
+        assertEquals(T0.plusSeconds(30), queue.nextFireTime());
+    }
+
+    @Test
+    @DisplayName("重新调度应该替换旧的调度，取消后不再取出")
+    void shouldReplaceAndCancelSchedules() {
+        // Given
+        queue.schedule(1L, "tenant-001", T0.plusSeconds(10));
+        queue.schedule(1L, "tenant-001", T0.plusSeconds(60));
+        queue.schedule(2L, "tenant-001", T0.plusSeconds(10));
+        queue.cancel(2L);
+
+        // When
+        List<TaskScheduleQueue.ScheduledTask> due = queue.pollDue(T0.plusSeconds(30), 10);
+
+        // Then
+        assertTrue(due.isEmpty());
+        assertEquals(T0.plusSeconds(60), queue.get(1L).getFireTime());
+        assertNull(queue.get(2L));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    @DisplayName("每次最多取出指定数量的到期任务")
+    void shouldLimitDueTasks() {
+        // Given
+        for (long taskId = 1; taskId <= 5; taskId++) {
+            queue.schedule(taskId, "tenant-001", T0.plusSeconds(taskId));
+        }
+
+        // When
+        List<TaskScheduleQueue.ScheduledTask> first = queue.pollDue(T0.plusSeconds(10), 3);
+        List<TaskScheduleQueue.ScheduledTask> second = queue.pollDue(T0.plusSeconds(10), 3);
+
+        // Then
+        assertEquals(3, first.size());
+        assertEquals(List.of(4L, 5L), second.stream().map(TaskScheduleQueue.ScheduledTask::getTaskId).toList());
+        assertNull(queue.nextFireTime());
+    }
+
+    @Test
+    @DisplayName("应该按租户返回已调度的任务")
+    void shouldListScheduledTasksByTenant() {
+        // Given
+        queue.schedule(1L, "tenant-001", T0.plusSeconds(30));
+        queue.schedule(2L, "tenant-002", T0.plusSeconds(10));
+        queue.schedule(3L, "tenant-001", T0.plusSeconds(20));
+
+        // When
+        List<TaskScheduleQueue.ScheduledTask> scheduled = queue.scheduledTasks("tenant-001", 10);
+
+        // Then
+        assertEquals(List.of(3L, 1L), scheduled.stream().map(TaskScheduleQueue.ScheduledTask::getTaskId).toList());
+        assertTrue(queue.scheduledTasks(null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("频繁重新调度不应该让堆无限增长")
+    void shouldCompactStaleEntries() {
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            queue.schedule(1L, "tenant-001", T0.plusSeconds(i));
+        }
+
+        // Then
+        assertEquals(1, queue.size());
+        assertEquals(T0.plusSeconds(999), queue.nextFireTime());
+        assertEquals(1, queue.pollDue(T0.plusSeconds(1_000), 10).size());
+    }
+}
@@ -0,0 +1,38 @@
+package com.aixone.permission.abac;
+
+import java.util.Map;
+
+/**
+ * 已编译的ABAC表达式
+ * 编译结果不可变且线程安全，可在多个请求间复用
+ * 
+ * @author aixone
+ */
+public interface AbacExpression {
+    
+    /**
+     * 基于扁平上下文评估表达式（键如 user.dept、resource.owner）
+     * 
+     * @param context 上下文
+     * @return 评估结果
+     */
+    boolean evaluate(Map<String, Object> context);
+    
+    /**
+     * 基于分组属性评估表达式
+     * user.xxx 从用户属性读取，resource.xxx 从资源属性读取，context中的同名键优先
+     * 
+     * @param userAttr 用户属性
+     * @param resAttr 资源属性
+     * @param context 上下文
+     * @return 评估结果
+     */
+    boolean evaluate(Map<String, Object> userAttr, Map<String, Object> resAttr, Map<String, Object> context);
+    
+    /**
+     * 获取表达式源文本
+     * 
+     * @return 源文本
+     */
+    String getSource();
+}
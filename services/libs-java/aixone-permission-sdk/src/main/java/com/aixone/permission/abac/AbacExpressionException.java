@@ -0,0 +1,25 @@
+package com.aixone.permission.abac;
+
+/**
+ * ABAC表达式解析异常
+ * 
+ * @author aixone
+ */
+public class AbacExpressionException extends RuntimeException {
+    
+    private final int position;
+    
+    public AbacExpressionException(String message, int position) {
+        super(message + " (位置: " + position + ")");
+        this.position = position;
+    }
+    
+    /**
+     * 获取出错位置
+     * 
+     * @return 字符位置
+     */
+    public int getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,384 @@
+package com.aixone.permission.abac;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ABAC表达式语法树节点
+ * 节点在编译期完成字面量解析、作用域拆分和IN集合构建，评估期不再做字符串处理
+ *
+ * @author aixone
+ */
+abstract class AbacNode {
+
+    /**
+     * 计算节点的值
+     *
+     * @param user 用户属性（可为null）
+     * @param resource 资源属性（可为null）
+     * @param context 上下文（可为null）
+     * @return 节点值
+     */
+    abstract Object value(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context);
+
+    /**
+     * 计算节点的布尔值
+     */
+    boolean test(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+        return truthy(value(user, resource, context));
+    }
+
+    static boolean truthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue() != 0D;
+        }
+        if (value instanceof String) {
+            return Boolean.parseBoolean(((String) value).trim());
+        }
+        if (value instanceof Collection) {
+            return !((Collection<?>) value).isEmpty();
+        }
+        return true;
+    }
+
+    /**
+     * 规范化为用于IN比较的键：整数统一为Long的字符串形式，其余取toString
+     */
+    static String canonical(Object value) {
+        if (value instanceof Number) {
+            Number number = (Number) value;
+            double d = number.doubleValue();
+            if (d == Math.rint(d) && !Double.isInfinite(d) && Math.abs(d) < 1e15) {
+                return Long.toString(number.longValue());
+            }
+            return Double.toString(d);
+        }
+        return value.toString().trim();
+    }
+
+    static Set<String> splitCommaList(String text) {
+        Set<String> values = new HashSet<>();
+        for (String part : text.split(",")) {
+            values.add(part.trim());
+        }
+        return values;
+    }
+
+    // ==================== 叶子节点 ====================
+
+    /**
+     * 字面量
+     */
+    static final class Literal extends AbacNode {
+        final Object value;
+
+        Literal(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        Object value(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            return value;
+        }
+    }
+
+    /**
+     * 变量引用，编译期拆分 user./resource. 作用域
+     */
+    static final class Variable extends AbacNode {
+        private static final int SCOPE_NONE = 0;
+        private static final int SCOPE_USER = 1;
+        private static final int SCOPE_RESOURCE = 2;
+
+        final String name;
+        private final int scope;
+        private final String scopedKey;
+
+        Variable(String name) {
+            this.name = name;
+            if (name.startsWith("user.")) {
+                this.scope = SCOPE_USER;
+                this.scopedKey = name.substring("user.".length());
+            } else if (name.startsWith("resource.")) {
+                this.scope = SCOPE_RESOURCE;
+                this.scopedKey = name.substring("resource.".length());
+            } else {
+                this.scope = SCOPE_NONE;
+                this.scopedKey = name;
+            }
+        }
+
+        @Override
+        Object value(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            if (context != null) {
+                Object value = context.get(name);
+                if (value != null || scope == SCOPE_NONE) {
+                    return value;
+                }
+            }
+            if (scope == SCOPE_USER && user != null) {
+                return user.get(scopedKey);
+            }
+            if (scope == SCOPE_RESOURCE && resource != null) {
+                return resource.get(scopedKey);
+            }
+            return null;
+        }
+    }
+
+    // ==================== 逻辑节点 ====================
+
+    /**
+     * 逻辑与（短路）
+     */
+    static final class And extends AbacNode {
+        private final AbacNode left;
+        private final AbacNode right;
+
+        And(AbacNode left, AbacNode right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object value(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            return test(user, resource, context);
+        }
+
+        @Override
+        boolean test(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            return left.test(user, resource, context) && right.test(user, resource, context);
+        }
+    }
+
+    /**
+     * 逻辑或（短路）
+     */
+    static final class Or extends AbacNode {
+        private final AbacNode left;
+        private final AbacNode right;
+
+        Or(AbacNode left, AbacNode right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object value(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            return test(user, resource, context);
+        }
+
+        @Override
+        boolean test(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            return left.test(user, resource, context) || right.test(user, resource, context);
+        }
+    }
+
+    /**
+     * 逻辑非
+     */
+    static final class Not extends AbacNode {
+        private final AbacNode operand;
+
+        Not(AbacNode operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        Object value(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            return test(user, resource, context);
+        }
+
+        @Override
+        boolean test(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            return !operand.test(user, resource, context);
+        }
+    }
+
+    // ==================== 比较节点 ====================
+
+    /**
+     * 比较操作符
+     */
+    enum Operator {
+        EQ, NE, GT, GE, LT, LE
+    }
+
+    /**
+     * 二元比较，任一侧为null时结果为false（与原实现保持一致）
+     */
+    static final class Comparison extends AbacNode {
+        private final Operator operator;
+        private final AbacNode left;
+        private final AbacNode right;
+
+        Comparison(Operator operator, AbacNode left, AbacNode right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object value(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            return test(user, resource, context);
+        }
+
+        @Override
+        boolean test(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            Object l = left.value(user, resource, context);
+            Object r = right.value(user, resource, context);
+            if (l == null || r == null) {
+                return false;
+            }
+            switch (operator) {
+                case EQ:
+                    return valueEquals(l, r);
+                case NE:
+                    return !valueEquals(l, r);
+                default:
+                    Integer cmp = compare(l, r);
+                    if (cmp == null) {
+                        return false;
+                    }
+                    switch (operator) {
+                        case GT:
+                            return cmp > 0;
+                        case GE:
+                            return cmp >= 0;
+                        case LT:
+                            return cmp < 0;
+                        case LE:
+                            return cmp <= 0;
+                        default:
+                            return false;
+                    }
+            }
+        }
+
+        private static boolean valueEquals(Object l, Object r) {
+            if (l instanceof Number && r instanceof Number) {
+                return Double.compare(((Number) l).doubleValue(), ((Number) r).doubleValue()) == 0;
+            }
+            return l.equals(r);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Integer compare(Object l, Object r) {
+            if (l instanceof Number && r instanceof Number) {
+                return Double.compare(((Number) l).doubleValue(), ((Number) r).doubleValue());
+            }
+            Double ln = toDouble(l);
+            Double rn = toDouble(r);
+            if (ln != null && rn != null) {
+                return Double.compare(ln, rn);
+            }
+            if (l instanceof Comparable && l.getClass() == r.getClass()) {
+                return ((Comparable) l).compareTo(r);
+            }
+            return null;
+        }
+
+        private static Double toDouble(Object value) {
+            if (value instanceof Number) {
+                return ((Number) value).doubleValue();
+            }
+            if (value instanceof String) {
+                String s = ((String) value).trim();
+                if (s.isEmpty()) {
+                    return null;
+                }
+                char c = s.charAt(0);
+                if (!Character.isDigit(c) && c != '-' && c != '.') {
+                    return null;
+                }
+                try {
+                    return Double.parseDouble(s);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * IN 集合判断，字面量集合在编译期构建为HashSet
+     */
+    static final class In extends AbacNode {
+        private final AbacNode left;
+        private final Set<String> constantSet;
+        private final AbacNode dynamicRight;
+
+        /**
+         * 常量集合
+         */
+        In(AbacNode left, Set<String> constantSet) {
+            this.left = left;
+            this.constantSet = Collections.unmodifiableSet(constantSet);
+            this.dynamicRight = null;
+        }
+
+        /**
+         * 运行期集合（变量为集合或逗号分隔字符串）
+         */
+        In(AbacNode left, AbacNode dynamicRight) {
+            this.left = left;
+            this.constantSet = null;
+            this.dynamicRight = dynamicRight;
+        }
+
+        @Override
+        Object value(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            return test(user, resource, context);
+        }
+
+        @Override
+        boolean test(Map<String, Object> user, Map<String, Object> resource, Map<String, Object> context) {
+            Object l = left.value(user, resource, context);
+            if (l == null) {
+                return false;
+            }
+            String key = canonical(l);
+            if (constantSet != null) {
+                return constantSet.contains(key);
+            }
+            Object r = dynamicRight.value(user, resource, context);
+            if (r instanceof Collection) {
+                for (Object element : (Collection<?>) r) {
+                    if (element != null && key.equals(canonical(element))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (r instanceof String) {
+                for (String part : ((String) r).split(",")) {
+                    if (key.equals(part.trim())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        static Set<String> toConstantSet(List<Object> values) {
+            Set<String> set = new HashSet<>(Math.max(16, values.size() * 2));
+            for (Object value : values) {
+                if (value != null) {
+                    set.add(canonical(value));
+                }
+            }
+            return set;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.aixone.permission.abac;
+
+import com.aixone.permission.abac.AbacTokenizer.Token;
+import com.aixone.permission.abac.AbacTokenizer.TokenType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ABAC表达式语法分析器（Pratt解析）
+ * 优先级从低到高：OR、AND、NOT、比较/IN
+ *
+ * @author aixone
+ */
+final class AbacParser {
+
+    private static final int BP_OR = 10;
+    private static final int BP_AND = 20;
+    private static final int BP_NOT = 30;
+    private static final int BP_COMPARE = 40;
+
+    private final List<Token> tokens;
+    private int index;
+
+    private AbacParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * 解析表达式为语法树
+     *
+     * @param source 表达式
+     * @return 语法树根节点
+     */
+    static AbacNode parse(String source) {
+        AbacParser parser = new AbacParser(AbacTokenizer.tokenize(source));
+        AbacNode root = parser.expression(0);
+        Token last = parser.peek();
+        if (last.type != TokenType.EOF) {
+            throw new AbacExpressionException("多余的输入 '" + last + "'", last.position);
+        }
+        return root;
+    }
+
+    private AbacNode expression(int minBindingPower) {
+        AbacNode left = prefix(next());
+        while (true) {
+            Token op = peek();
+            int bp = infixBindingPower(op.type);
+            if (bp <= minBindingPower) {
+                return left;
+            }
+            next();
+            left = infix(op, left, bp);
+        }
+    }
+
+    private AbacNode prefix(Token token) {
+        switch (token.type) {
+            case NOT:
+                return new AbacNode.Not(expression(BP_NOT));
+            case LPAREN: {
+                AbacNode inner = expression(0);
+                consume(TokenType.RPAREN, "期望 ')'");
+                return inner;
+            }
+            case STRING:
+            case NUMBER:
+                return new AbacNode.Literal(token.value);
+            case TRUE:
+                return new AbacNode.Literal(Boolean.TRUE);
+            case FALSE:
+                return new AbacNode.Literal(Boolean.FALSE);
+            case NULL:
+                return new AbacNode.Literal(null);
+            case IDENTIFIER:
+                return new AbacNode.Variable(token.text);
+            default:
+                throw new AbacExpressionException("意外的符号 '" + token + "'", token.position);
+        }
+    }
+
+    private AbacNode infix(Token op, AbacNode left, int bp) {
+        switch (op.type) {
+            case OR:
+                return new AbacNode.Or(left, expression(bp));
+            case AND:
+                return new AbacNode.And(left, expression(bp));
+            case IN:
+                return in(left);
+            default:
+                AbacNode right = expression(bp);
+                if (infixBindingPower(peek().type) == BP_COMPARE) {
+                    throw new AbacExpressionException("比较操作不能连续使用", peek().position);
+                }
+                return new AbacNode.Comparison(toOperator(op), left, right);
+        }
+    }
+
+    /**
+     * IN 右侧：[a, b] / (a, b) 字面量列表、逗号分隔的字符串字面量或运行期变量
+     */
+    private AbacNode in(AbacNode left) {
+        Token token = peek();
+        if (token.type == TokenType.LBRACKET || token.type == TokenType.LPAREN) {
+            next();
+            TokenType close = token.type == TokenType.LBRACKET ? TokenType.RBRACKET : TokenType.RPAREN;
+            List<Object> values = new ArrayList<>();
+            if (peek().type != close) {
+                do {
+                    values.add(literal(next()));
+                } while (match(TokenType.COMMA));
+            }
+            consume(close, "期望 '" + (close == TokenType.RBRACKET ? "]" : ")") + "'");
+            return new AbacNode.In(left, AbacNode.In.toConstantSet(values));
+        }
+        if (token.type == TokenType.STRING) {
+            next();
+            return new AbacNode.In(left, AbacNode.splitCommaList((String) token.value));
+        }
+        if (token.type == TokenType.IDENTIFIER) {
+            next();
+            return new AbacNode.In(left, new AbacNode.Variable(token.text));
+        }
+        throw new AbacExpressionException("IN 右侧必须是列表、字符串或变量", token.position);
+    }
+
+    private Object literal(Token token) {
+        switch (token.type) {
+            case STRING:
+            case NUMBER:
+                return token.value;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case IDENTIFIER:
+                // 兼容未加引号的枚举值，如 [admin, manager]
+                return token.text;
+            default:
+                throw new AbacExpressionException("列表中只能包含字面量", token.position);
+        }
+    }
+
+    private static int infixBindingPower(TokenType type) {
+        switch (type) {
+            case OR:
+                return BP_OR;
+            case AND:
+                return BP_AND;
+            case EQ:
+            case NE:
+            case GT:
+            case GE:
+            case LT:
+            case LE:
+            case IN:
+                return BP_COMPARE;
+            default:
+                return -1;
+        }
+    }
+
+    private static AbacNode.Operator toOperator(Token token) {
+        switch (token.type) {
+            case EQ:
+                return AbacNode.Operator.EQ;
+            case NE:
+                return AbacNode.Operator.NE;
+            case GT:
+                return AbacNode.Operator.GT;
+            case GE:
+                return AbacNode.Operator.GE;
+            case LT:
+                return AbacNode.Operator.LT;
+            case LE:
+                return AbacNode.Operator.LE;
+            default:
+                throw new AbacExpressionException("未知的比较操作符 '" + token + "'", token.position);
+        }
+    }
+
+    private Token peek() {
+        return tokens.get(index);
+    }
+
+    private Token next() {
+        Token token = tokens.get(index);
+        if (token.type != TokenType.EOF) {
+            index++;
+        }
+        return token;
+    }
+
+    private boolean match(TokenType type) {
+        if (peek().type == type) {
+            next();
+            return true;
+        }
+        return false;
+    }
+
+    private void consume(TokenType type, String message) {
+        Token token = next();
+        if (token.type != type) {
+            throw new AbacExpressionException(message + "，实际为 '" + token + "'", token.position);
+        }
+    }
+}
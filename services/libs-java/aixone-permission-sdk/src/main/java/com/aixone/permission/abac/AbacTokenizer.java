@@ -0,0 +1,236 @@
+package com.aixone.permission.abac;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ABAC表达式词法分析器
+ *
+ * @author aixone
+ */
+final class AbacTokenizer {
+
+    /**
+     * 词法单元类型
+     */
+    enum TokenType {
+        IDENTIFIER, STRING, NUMBER, TRUE, FALSE, NULL,
+        EQ, NE, GT, GE, LT, LE, IN,
+        AND, OR, NOT,
+        LPAREN, RPAREN, LBRACKET, RBRACKET, COMMA,
+        EOF
+    }
+
+    /**
+     * 词法单元
+     */
+    static final class Token {
+        final TokenType type;
+        final String text;
+        final Object value;
+        final int position;
+
+        Token(TokenType type, String text, Object value, int position) {
+            this.type = type;
+            this.text = text;
+            this.value = value;
+            this.position = position;
+        }
+
+        @Override
+        public String toString() {
+            return type == TokenType.EOF ? "<EOF>" : text;
+        }
+    }
+
+    private final String source;
+    private int pos;
+
+    private AbacTokenizer(String source) {
+        this.source = source;
+    }
+
+    /**
+     * 将表达式切分为词法单元
+     *
+     * @param source 表达式
+     * @return 词法单元列表，以EOF结尾
+     */
+    static List<Token> tokenize(String source) {
+        return new AbacTokenizer(source).run();
+    }
+
+    private List<Token> run() {
+        List<Token> tokens = new ArrayList<>();
+        int length = source.length();
+        while (true) {
+            while (pos < length && Character.isWhitespace(source.charAt(pos))) {
+                pos++;
+            }
+            if (pos >= length) {
+                tokens.add(new Token(TokenType.EOF, "", null, pos));
+                return tokens;
+            }
+            int start = pos;
+            char c = source.charAt(pos);
+            switch (c) {
+                case '(':
+                    tokens.add(symbol(TokenType.LPAREN, 1));
+                    break;
+                case ')':
+                    tokens.add(symbol(TokenType.RPAREN, 1));
+                    break;
+                case '[':
+                    tokens.add(symbol(TokenType.LBRACKET, 1));
+                    break;
+                case ']':
+                    tokens.add(symbol(TokenType.RBRACKET, 1));
+                    break;
+                case ',':
+                    tokens.add(symbol(TokenType.COMMA, 1));
+                    break;
+                case '=':
+                    tokens.add(symbol(TokenType.EQ, peek(1) == '=' ? 2 : 1));
+                    break;
+                case '!':
+                    tokens.add(peek(1) == '=' ? symbol(TokenType.NE, 2) : symbol(TokenType.NOT, 1));
+                    break;
+                case '>':
+                    tokens.add(peek(1) == '=' ? symbol(TokenType.GE, 2) : symbol(TokenType.GT, 1));
+                    break;
+                case '<':
+                    if (peek(1) == '=') {
+                        tokens.add(symbol(TokenType.LE, 2));
+                    } else if (peek(1) == '>') {
+                        tokens.add(symbol(TokenType.NE, 2));
+                    } else {
+                        tokens.add(symbol(TokenType.LT, 1));
+                    }
+                    break;
+                case '&':
+                    expect(peek(1) == '&', "期望 &&");
+                    tokens.add(symbol(TokenType.AND, 2));
+                    break;
+                case '|':
+                    expect(peek(1) == '|', "期望 ||");
+                    tokens.add(symbol(TokenType.OR, 2));
+                    break;
+                case '\'':
+                case '"':
+                    tokens.add(string(c));
+                    break;
+                default:
+                    if (Character.isDigit(c) || (c == '-' && Character.isDigit(peek(1)))) {
+                        tokens.add(number());
+                    } else if (isIdentifierStart(c)) {
+                        tokens.add(identifier());
+                    } else {
+                        throw new AbacExpressionException("无法识别的字符 '" + c + "'", start);
+                    }
+            }
+        }
+    }
+
+    private Token symbol(TokenType type, int width) {
+        int start = pos;
+        pos += width;
+        return new Token(type, source.substring(start, pos), null, start);
+    }
+
+    private Token string(char quote) {
+        int start = pos;
+        StringBuilder sb = new StringBuilder();
+        pos++;
+        while (pos < source.length()) {
+            char c = source.charAt(pos);
+            if (c == '\\' && pos + 1 < source.length()) {
+                sb.append(source.charAt(pos + 1));
+                pos += 2;
+                continue;
+            }
+            if (c == quote) {
+                pos++;
+                return new Token(TokenType.STRING, source.substring(start, pos), sb.toString(), start);
+            }
+            sb.append(c);
+            pos++;
+        }
+        throw new AbacExpressionException("字符串未闭合", start);
+    }
+
+    private Token number() {
+        int start = pos;
+        if (source.charAt(pos) == '-') {
+            pos++;
+        }
+        boolean decimal = false;
+        while (pos < source.length()) {
+            char c = source.charAt(pos);
+            if (Character.isDigit(c)) {
+                pos++;
+            } else if (c == '.' && !decimal && Character.isDigit(peek(1))) {
+                decimal = true;
+                pos++;
+            } else {
+                break;
+            }
+        }
+        String text = source.substring(start, pos);
+        Object value = decimal ? (Object) Double.valueOf(text) : (Object) Long.valueOf(text);
+        return new Token(TokenType.NUMBER, text, value, start);
+    }
+
+    private Token identifier() {
+        int start = pos;
+        while (pos < source.length() && isIdentifierPart(source.charAt(pos))) {
+            pos++;
+        }
+        String text = source.substring(start, pos);
+        TokenType type;
+        switch (text.toUpperCase()) {
+            case "AND":
+                type = TokenType.AND;
+                break;
+            case "OR":
+                type = TokenType.OR;
+                break;
+            case "NOT":
+                type = TokenType.NOT;
+                break;
+            case "IN":
+                type = TokenType.IN;
+                break;
+            case "TRUE":
+                type = TokenType.TRUE;
+                break;
+            case "FALSE":
+                type = TokenType.FALSE;
+                break;
+            case "NULL":
+                type = TokenType.NULL;
+                break;
+            default:
+                type = TokenType.IDENTIFIER;
+        }
+        return new Token(type, text, null, start);
+    }
+
+    private char peek(int offset) {
+        int index = pos + offset;
+        return index < source.length() ? source.charAt(index) : '\0';
+    }
+
+    private void expect(boolean condition, String message) {
+        if (!condition) {
+            throw new AbacExpressionException(message, pos);
+        }
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return Character.isLetter(c) || c == '_' || c == '$';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+    }
+}
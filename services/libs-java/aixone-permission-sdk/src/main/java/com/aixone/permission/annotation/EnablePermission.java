@@ -1,5 +1,8 @@
 package com.aixone.permission.annotation;
 
+import com.aixone.permission.config.PermissionAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
 import java.lang.annotation.*;
 
 /**
@@ -9,5 +12,6 @@ import java.lang.annotation.*;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
+@Import(PermissionAutoConfiguration.class)
 public @interface EnablePermission {
 } 
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.aixone.permission.aspect;
+
+import com.aixone.permission.handler.DataPermissionHandler;
+import com.aixone.permission.model.User;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 方法级权限元数据
+ * 由注解解析一次得到的检查链与数据权限绑定，调用期只按顺序执行，不再读取注解
+ *
+ * @author aixone
+ */
+final class MethodPermissionMetadata {
+
+    /**
+     * 无任何权限注解
+     */
+    static final MethodPermissionMetadata NONE = new MethodPermissionMetadata(Collections.emptyList(), null, -1);
+
+    /**
+     * 单项权限检查，未通过时抛出异常
+     */
+    interface Check {
+        void check(User user, Object[] args);
+    }
+
+    final List<Check> checks;
+
+    /**
+     * 数据权限处理器，未声明 @DataPermission 时为null
+     */
+    final DataPermissionHandler dataPermissionHandler;
+
+    /**
+     * Resource 类型参数的位置，没有时为-1
+     */
+    final int resourceIndex;
+
+    MethodPermissionMetadata(List<Check> checks, DataPermissionHandler dataPermissionHandler, int resourceIndex) {
+        this.checks = checks;
+        this.dataPermissionHandler = dataPermissionHandler;
+        this.resourceIndex = resourceIndex;
+    }
+
+    boolean isEmpty() {
+        return checks.isEmpty() && dataPermissionHandler == null;
+    }
+}
@@ -0,0 +1,339 @@
+package com.aixone.permission.aspect;
+
+import com.aixone.common.exception.ForbiddenException;
+import com.aixone.common.exception.UnauthorizedException;
+import com.aixone.permission.abac.AbacExpression;
+import com.aixone.permission.abac.AbacExpressionUtil;
+import com.aixone.permission.annotation.DataPermission;
+import com.aixone.permission.annotation.RequireAbac;
+import com.aixone.permission.annotation.RequirePermission;
+import com.aixone.permission.annotation.RequireRole;
+import com.aixone.permission.context.PermissionContext;
+import com.aixone.permission.handler.AllDataPermissionHandler;
+import com.aixone.permission.handler.DataPermissionHandler;
+import com.aixone.permission.handler.DeptDataPermissionHandler;
+import com.aixone.permission.handler.SelfDataPermissionHandler;
+import com.aixone.permission.model.Permission;
+import com.aixone.permission.model.Resource;
+import com.aixone.permission.model.User;
+import com.aixone.permission.service.impl.DefaultPermissionService;
+import com.aixone.permission.sql.DataScope;
+import com.aixone.permission.sql.SqlCondition;
+import com.aixone.permission.sql.SqlConditionRenderer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 权限注解执行切面
+ * 对 @RequireRole、@RequirePermission、@RequireAbac、@DataPermission 进行强制校验，
+ * 方法级注解优先于类级注解。
+ *
+ * 每个方法首次调用时解析注解、编译ABAC表达式并生成检查链，按方法缓存；
+ * 之后的调用只执行检查链，不再读取注解或解析表达式。校验统一经由 {@link DefaultPermissionService}。
+ *
+ * @author aixone
+ */
+@Slf4j
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class PermissionAspect {
+
+    private static final String POINTCUT =
+            "@annotation(com.aixone.permission.annotation.RequirePermission)"
+            + " || @within(com.aixone.permission.annotation.RequirePermission)"
+            + " || @annotation(com.aixone.permission.annotation.RequireRole)"
+            + " || @within(com.aixone.permission.annotation.RequireRole)"
+            + " || @annotation(com.aixone.permission.annotation.RequireAbac)"
+            + " || @within(com.aixone.permission.annotation.RequireAbac)"
+            + " || @annotation(com.aixone.permission.annotation.DataPermission)"
+            + " || @within(com.aixone.permission.annotation.DataPermission)";
+
+    /**
+     * 内置数据权限处理器，按 dataType 匹配
+     */
+    private static final Map<String, DataPermissionHandler> BUILTIN_DATA_HANDLERS;
+
+    static {
+        Map<String, DataPermissionHandler> handlers = new HashMap<>();
+        handlers.put("self", new SelfDataPermissionHandler());
+        handlers.put("dept", new DeptDataPermissionHandler());
+        handlers.put("department", handlers.get("dept"));
+        handlers.put("all", new AllDataPermissionHandler());
+        BUILTIN_DATA_HANDLERS = Collections.unmodifiableMap(handlers);
+    }
+
+    private final DefaultPermissionService permissionService;
+    private final Map<String, DataPermissionHandler> dataPermissionHandlers;
+    private final AbacExpressionUtil expressionUtil;
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final ConcurrentMap<MethodClassKey, MethodPermissionMetadata> metadataCache = new ConcurrentHashMap<>();
+
+    public PermissionAspect(DefaultPermissionService permissionService) {
+        this(permissionService, Collections.emptyMap());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param permissionService 权限服务
+     * @param dataPermissionHandlers 数据权限处理器，key 为bean名称或数据类型
+     */
+    public PermissionAspect(DefaultPermissionService permissionService,
+                            Map<String, DataPermissionHandler> dataPermissionHandlers) {
+        this.permissionService = permissionService;
+        this.dataPermissionHandlers = dataPermissionHandlers != null ? dataPermissionHandlers : Collections.emptyMap();
+        this.expressionUtil = new AbacExpressionUtil();
+    }
+
+    @Around(POINTCUT)
+    public Object enforce(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Class<?> targetClass = joinPoint.getTarget() != null
+                ? AopUtils.getTargetClass(joinPoint.getTarget()) : signature.getDeclaringType();
+        MethodPermissionMetadata metadata = getMetadata(signature.getMethod(), targetClass);
+        if (metadata.isEmpty()) {
+            return joinPoint.proceed();
+        }
+
+        User user = PermissionContext.getUser();
+        if (user == null) {
+            throw new UnauthorizedException("未登录或会话已失效");
+        }
+
+        Object[] args = joinPoint.getArgs();
+        for (MethodPermissionMetadata.Check check : metadata.checks) {
+            check.check(user, args);
+        }
+
+        DataPermissionHandler handler = metadata.dataPermissionHandler;
+        if (handler == null) {
+            return joinPoint.proceed();
+        }
+        Resource resource = resourceArgument(args, metadata.resourceIndex);
+        DataScope scope = handler.resolveScope(user, resource);
+        SqlCondition condition = scope != null
+                ? SqlConditionRenderer.render(scope) : SqlCondition.literal(handler.buildCondition(user, resource));
+        DataScope previousScope = PermissionContext.getDataScope();
+        SqlCondition previousCondition = PermissionContext.getDataCondition();
+        PermissionContext.setDataPermission(scope, condition);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            PermissionContext.setDataPermission(previousScope, previousCondition);
+        }
+    }
+
+    /**
+     * 获取方法的权限元数据（首次调用时解析并缓存）
+     *
+     * @param method 方法
+     * @param targetClass 目标类
+     * @return 权限元数据
+     */
+    MethodPermissionMetadata getMetadata(Method method, Class<?> targetClass) {
+        MethodClassKey key = new MethodClassKey(method, targetClass);
+        MethodPermissionMetadata metadata = metadataCache.get(key);
+        if (metadata == null) {
+            metadata = metadataCache.computeIfAbsent(key, k -> resolve(method, targetClass));
+        }
+        return metadata;
+    }
+
+    /**
+     * 已缓存的方法数量
+     */
+    int cachedMethodCount() {
+        return metadataCache.size();
+    }
+
+    private MethodPermissionMetadata resolve(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        RequireRole requireRole = findAnnotation(specificMethod, targetClass, RequireRole.class);
+        RequirePermission requirePermission = findAnnotation(specificMethod, targetClass, RequirePermission.class);
+        RequireAbac requireAbac = findAnnotation(specificMethod, targetClass, RequireAbac.class);
+        DataPermission dataPermission = findAnnotation(specificMethod, targetClass, DataPermission.class);
+        if (requireRole == null && requirePermission == null && requireAbac == null && dataPermission == null) {
+            return MethodPermissionMetadata.NONE;
+        }
+
+        String target = targetClass.getSimpleName() + "." + specificMethod.getName();
+        int resourceIndex = resourceParameterIndex(specificMethod);
+        List<MethodPermissionMetadata.Check> checks = new ArrayList<>(3);
+        if (requireRole != null) {
+            checks.add(roleCheck(requireRole, target));
+        }
+        if (requirePermission != null) {
+            checks.add(permissionCheck(requirePermission, target, resourceIndex));
+        }
+        if (requireAbac != null) {
+            checks.add(abacCheck(requireAbac, specificMethod, target, resourceIndex));
+        }
+        DataPermissionHandler dataPermissionHandler =
+                dataPermission != null ? dataPermissionHandler(dataPermission, target) : null;
+        log.debug("解析方法权限元数据: {}，检查项 {} 个，数据权限 {}", target, checks.size(), dataPermissionHandler != null);
+        return new MethodPermissionMetadata(Collections.unmodifiableList(checks), dataPermissionHandler, resourceIndex);
+    }
+
+    private MethodPermissionMetadata.Check roleCheck(RequireRole annotation, String target) {
+        List<String> roleNames = new ArrayList<>();
+        for (String role : annotation.value().split(",")) {
+            if (!role.trim().isEmpty()) {
+                roleNames.add(role.trim());
+            }
+        }
+        if (roleNames.isEmpty()) {
+            throw new IllegalStateException("@RequireRole 未指定角色: " + target);
+        }
+        List<String> roles = Collections.unmodifiableList(roleNames);
+        boolean requireAll = annotation.mode() == RequireRole.Mode.ALL;
+        String message = annotation.message();
+        boolean logAccess = annotation.logAccess();
+        return (user, args) -> verdict(permissionService.hasRoles(user, roles, requireAll),
+                message, logAccess, user, target, "角色 " + roles);
+    }
+
+    /**
+     * value 为 resource:action 时按资源和操作校验；resource/action 属性可单独覆盖；
+     * 无法得到资源和操作时按权限ID校验
+     */
+    private MethodPermissionMetadata.Check permissionCheck(RequirePermission annotation, String target, int resourceIndex) {
+        String value = annotation.value().trim();
+        String resource = annotation.resource();
+        String action = annotation.action();
+        int separator = value.lastIndexOf(':');
+        if (separator > 0) {
+            resource = resource.isEmpty() ? value.substring(0, separator) : resource;
+            action = action.isEmpty() ? value.substring(separator + 1) : action;
+        } else if (resource.isEmpty() && !action.isEmpty()) {
+            resource = value;
+        }
+        String message = annotation.message();
+        boolean logAccess = annotation.logAccess();
+
+        if (resource.isEmpty() || action.isEmpty()) {
+            String permissionId = value;
+            return (user, args) -> verdict(permissionService.hasPermissionId(user, permissionId),
+                    message, logAccess, user, target, "权限 " + permissionId);
+        }
+
+        Permission permission = new Permission();
+        permission.setResource(resource);
+        permission.setAction(action);
+        String resourceType = resource;
+        boolean abacFallback = annotation.enableAbac();
+        String description = "权限 " + resource + ":" + action;
+        return (user, args) -> {
+            Resource res = resourceArgument(args, resourceIndex);
+            if (res == null) {
+                res = new Resource();
+                res.setResourceId(resourceType);
+                res.setType(resourceType);
+                res.setTenantId(user.getTenantId());
+            }
+            verdict(permissionService.checkPermission(user, permission, res, abacFallback),
+                    message, logAccess, user, target, description);
+        };
+    }
+
+    private MethodPermissionMetadata.Check abacCheck(RequireAbac annotation, Method method, String target, int resourceIndex) {
+        AbacExpression expression = expressionUtil.compile(annotation.expression());
+        String[] parameterNames = parameterNames(method);
+        String message = annotation.message();
+        boolean logAccess = annotation.logAccess();
+        String description = annotation.name().isEmpty()
+                ? "策略 " + expression.getSource() : "策略 " + annotation.name();
+        return (user, args) -> {
+            Map<String, Object> context = new HashMap<>(Math.max(16, parameterNames.length * 2 + 4));
+            for (int i = 0; i < parameterNames.length && i < args.length; i++) {
+                if (args[i] != null) {
+                    context.put(parameterNames[i], args[i]);
+                }
+            }
+            context.put("user.id", user.getUserId());
+            context.put("user.tenantId", user.getTenantId());
+            verdict(permissionService.evaluateAbac(user, expression, resourceArgument(args, resourceIndex), context),
+                    message, logAccess, user, target, description);
+        };
+    }
+
+    private DataPermissionHandler dataPermissionHandler(DataPermission annotation, String target) {
+        DataPermissionHandler handler;
+        if (!annotation.handler().isEmpty()) {
+            handler = dataPermissionHandlers.get(annotation.handler());
+        } else {
+            handler = dataPermissionHandlers.get(annotation.dataType());
+            if (handler == null) {
+                handler = BUILTIN_DATA_HANDLERS.get(annotation.dataType());
+            }
+        }
+        if (handler == null) {
+            throw new IllegalStateException("未找到数据权限处理器: dataType=" + annotation.dataType()
+                    + ", handler=" + annotation.handler() + ", 方法=" + target);
+        }
+        return handler;
+    }
+
+    private static void verdict(boolean granted, String message, boolean logAccess, User user, String target,
+                                String description) {
+        if (granted) {
+            if (logAccess) {
+                log.debug("用户 {} 通过{}校验: {}", user.getUserId(), description, target);
+            }
+            return;
+        }
+        if (logAccess) {
+            log.warn("用户 {} 未通过{}校验: {}", user.getUserId(), description, target);
+        }
+        throw new ForbiddenException(message);
+    }
+
+    private static Resource resourceArgument(Object[] args, int resourceIndex) {
+        return resourceIndex >= 0 && resourceIndex < args.length ? (Resource) args[resourceIndex] : null;
+    }
+
+    private static int resourceParameterIndex(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (Resource.class.isAssignableFrom(types[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String[] parameterNames(Method method) {
+        String[] names = parameterNameDiscoverer.getParameterNames(method);
+        if (names == null) {
+            names = new String[method.getParameterCount()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = "arg" + i;
+            }
+        }
+        return names;
+    }
+
+    private static <A extends Annotation> A findAnnotation(Method method, Class<?> targetClass, Class<A> type) {
+        A annotation = AnnotatedElementUtils.findMergedAnnotation(method, type);
+        return annotation != null ? annotation : AnnotatedElementUtils.findMergedAnnotation(targetClass, type);
+    }
+}
@@ -1,127 +1,303 @@
 package com.aixone.permission.cache;
 
+import com.aixone.permission.cache.bus.PermissionCacheInvalidation;
+import com.aixone.permission.cache.bus.PermissionCacheMessageBus;
+import com.aixone.permission.cache.impl.DefaultPermissionCache;
 import com.aixone.permission.model.Role;
 import com.aixone.permission.model.Permission;
 import com.aixone.permission.model.User;
 import com.aixone.permission.model.Policy;
+import lombok.extern.slf4j.Slf4j;
+
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
- * 分布式权限缓存（伪实现，实际可用Redis、Hazelcast等）
+ * 分布式权限缓存（两级近端缓存）
+ * L1为本地DefaultPermissionCache，L2为共享缓存（通常为RedisPermissionCache）。
+ * 写入先写L2再写L1，并通过消息总线广播失效，其他节点删除对应的L1条目。
+ * L1的TTL即为丢失失效消息时的最大陈旧时间。
+ * L2中存在的空列表同样回填L1，没有权限的用户不会每次都访问L2。
  */
+@Slf4j
 public class DistributedPermissionCache implements PermissionCache {
-    // TODO: 替换为分布式缓存实现，如Redis、Hazelcast等
-    private final Map<String, List<Role>> userRoleCache = new HashMap<>();
-    private final Map<String, List<Permission>> rolePermissionCache = new HashMap<>();
+
+    public static final long DEFAULT_L1_MAX_SIZE = 10000;
+    public static final long DEFAULT_L1_TTL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final DefaultPermissionCache local;
+    private final PermissionCache remote;
+    private final PermissionCacheMessageBus messageBus;
+    private final String nodeId;
+
+    // 本节点已发送的失效消息版本号
+    private final AtomicLong publishedVersion = new AtomicLong();
+    // 本节点已应用的失效消息序号，用于防止L2回填覆盖并发到达的失效
+    private final AtomicLong invalidationSequence = new AtomicLong();
+    // 每个来源节点最后应用的版本号，用于丢弃重复投递
+    private final Map<String, Long> lastVersionBySource = new ConcurrentHashMap<>();
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Reads = new LongAdder();
+    private final LongAdder invalidationsReceived = new LongAdder();
+    private final LongAdder staleFillsSkipped = new LongAdder();
+
+    public DistributedPermissionCache(PermissionCache remote, PermissionCacheMessageBus messageBus) {
+        this(new DefaultPermissionCache(DEFAULT_L1_MAX_SIZE, DEFAULT_L1_TTL_MILLIS), remote, messageBus,
+                UUID.randomUUID().toString());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param local L1本地缓存，其TTL决定最大陈旧时间
+     * @param remote L2共享缓存
+     * @param messageBus 失效消息总线
+     * @param nodeId 节点ID
+     */
+    public DistributedPermissionCache(DefaultPermissionCache local, PermissionCache remote,
+                                      PermissionCacheMessageBus messageBus, String nodeId) {
+        this.local = local;
+        this.remote = remote;
+        this.messageBus = messageBus;
+        this.nodeId = nodeId;
+        messageBus.subscribe(this::onInvalidation);
+    }
 
     @Override
     public List<Role> getUserRoles(String userId) {
-        // TODO: 从分布式缓存获取
-        return userRoleCache.getOrDefault(userId, Collections.emptyList());
+        return readList(DefaultPermissionCache.USER_ROLES, userId, local::getUserRoles, local::putUserRoles,
+                remote::getUserRoles);
     }
+
     @Override
     public List<Permission> getRolePermissions(String roleId) {
-        // TODO: 从分布式缓存获取
-        return rolePermissionCache.getOrDefault(roleId, Collections.emptyList());
+        return readList(DefaultPermissionCache.ROLE_PERMISSIONS, roleId, local::getRolePermissions,
+                local::putRolePermissions, remote::getRolePermissions);
     }
+
     @Override
     public void putUserRoles(String userId, List<Role> roles) {
-        // TODO: 写入分布式缓存
-        userRoleCache.put(userId, roles);
+        remote.putUserRoles(userId, roles);
+        local.putUserRoles(userId, roles);
+        publish(DefaultPermissionCache.USER_ROLES, userId);
     }
+
     @Override
     public void putRolePermissions(String roleId, List<Permission> permissions) {
-        // TODO: 写入分布式缓存
-        rolePermissionCache.put(roleId, permissions);
+        remote.putRolePermissions(roleId, permissions);
+        local.putRolePermissions(roleId, permissions);
+        publish(DefaultPermissionCache.ROLE_PERMISSIONS, roleId);
     }
+
     @Override
     public void clear() {
-        // TODO: 清空分布式缓存
-        userRoleCache.clear();
-        rolePermissionCache.clear();
+        remote.clear();
+        local.clear();
+        publish(null, null);
     }
-    
-    // 实现其他必需的方法
+
     @Override
     public List<Permission> getUserPermissions(String userId) {
-        return Collections.emptyList();
+        return readList(DefaultPermissionCache.USER_PERMISSIONS, userId, local::getUserPermissions,
+                local::putUserPermissions, remote::getUserPermissions);
     }
-    
+
     @Override
     public void putUserPermissions(String userId, List<Permission> permissions) {
-        // 简单实现
+        remote.putUserPermissions(userId, permissions);
+        local.putUserPermissions(userId, permissions);
+        publish(DefaultPermissionCache.USER_PERMISSIONS, userId);
     }
-    
+
     @Override
     public User getUser(String userId) {
-        return null;
+        return read(userId, local::getUser, local::putUser, remote::getUser);
     }
-    
+
     @Override
     public void putUser(String userId, User user) {
-        // 简单实现
+        remote.putUser(userId, user);
+        local.putUser(userId, user);
+        publish(DefaultPermissionCache.USER, userId);
     }
-    
+
     @Override
     public Permission getPermission(String permissionId) {
-        return null;
+        return read(permissionId, local::getPermission, local::putPermission, remote::getPermission);
     }
-    
+
     @Override
     public void putPermission(String permissionId, Permission permission) {
-        // 简单实现
+        remote.putPermission(permissionId, permission);
+        local.putPermission(permissionId, permission);
+        publish(DefaultPermissionCache.PERMISSION, permissionId);
     }
-    
+
     @Override
     public Role getRole(String roleId) {
-        return null;
+        return read(roleId, local::getRole, local::putRole, remote::getRole);
     }
-    
+
     @Override
     public void putRole(String roleId, Role role) {
-        // 简单实现
+        remote.putRole(roleId, role);
+        local.putRole(roleId, role);
+        publish(DefaultPermissionCache.ROLE, roleId);
     }
-    
+
     @Override
     public Policy getPolicy(String policyId) {
-        return null;
+        return read(policyId, local::getPolicy, local::putPolicy, remote::getPolicy);
     }
-    
+
     @Override
     public void putPolicy(String policyId, Policy policy) {
-        // 简单实现
+        remote.putPolicy(policyId, policy);
+        local.putPolicy(policyId, policy);
+        publish(DefaultPermissionCache.POLICY, policyId);
     }
-    
+
     @Override
     public List<Policy> getAbacPolicies(String key) {
-        return Collections.emptyList();
+        return readList(DefaultPermissionCache.ABAC_POLICIES, key, local::getAbacPolicies, local::putAbacPolicies,
+                remote::getAbacPolicies);
     }
-    
+
     @Override
     public void putAbacPolicies(String key, List<Policy> policies) {
-        // 简单实现
+        remote.putAbacPolicies(key, policies);
+        local.putAbacPolicies(key, policies);
+        publish(DefaultPermissionCache.ABAC_POLICIES, key);
     }
-    
+
     @Override
     public void clearUserCache(String userId) {
-        userRoleCache.remove(userId);
+        remote.clearUserCache(userId);
+        local.clearUserCache(userId);
+        publish(DefaultPermissionCache.USER_PERMISSIONS, userId);
+        publish(DefaultPermissionCache.USER_ROLES, userId);
+        publish(DefaultPermissionCache.USER, userId);
     }
-    
+
     @Override
     public boolean isExpired(String key) {
-        return false;
+        return local.isExpired(key) && remote.isExpired(key);
     }
-    
+
     @Override
     public void cleanExpiredCache() {
-        // 简单实现
+        local.cleanExpiredCache();
+        remote.cleanExpiredCache();
     }
-    
+
     @Override
     public Map<String, Object> getCacheStats() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("userRoleCacheSize", userRoleCache.size());
-        stats.put("rolePermissionCacheSize", rolePermissionCache.size());
+        stats.put("nodeId", nodeId);
+        stats.put("l1Hits", l1Hits.sum());
+        stats.put("l2Reads", l2Reads.sum());
+        stats.put("invalidationsPublished", publishedVersion.get());
+        stats.put("invalidationsReceived", invalidationsReceived.sum());
+        stats.put("staleFillsSkipped", staleFillsSkipped.sum());
+        stats.put("l1", local.getCacheStats());
+        stats.put("l2", remote.getCacheStats());
         return stats;
     }
-} 
\ No newline at end of file
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // ==================== 内部方法 ====================
+
+    private <T> T read(String id, Function<String, T> l1Get, BiConsumer<String, T> l1Put, Function<String, T> l2Get) {
+        T value = l1Get.apply(id);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+        long sequence = invalidationSequence.get();
+        l2Reads.increment();
+        value = l2Get.apply(id);
+        if (value != null) {
+            fill(id, value, sequence, l1Put);
+        }
+        return value;
+    }
+
+    private <T> List<T> readList(String namespace, String id, Function<String, List<T>> l1Get,
+                                 BiConsumer<String, List<T>> l1Put, Function<String, List<T>> l2Get) {
+        List<T> value = l1Get.apply(id);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+        long sequence = invalidationSequence.get();
+        l2Reads.increment();
+        value = l2Get.apply(id);
+        if (value == null || value.isEmpty()) {
+            // L2的接口不区分未命中与空列表：确认键存在时以空列表回填L1，未命中时不回填
+            if (remote.isExpired(namespace + ":" + id)) {
+                return Collections.emptyList();
+            }
+            value = Collections.emptyList();
+        }
+        fill(id, value, sequence, l1Put);
+        return value;
+    }
+
+    /**
+     * 仅当读取L2期间没有收到失效消息时才回填L1，避免旧值覆盖失效
+     */
+    private <T> void fill(String id, T value, long sequence, BiConsumer<String, T> l1Put) {
+        synchronized (invalidationSequence) {
+            if (invalidationSequence.get() == sequence) {
+                l1Put.accept(id, value);
+                return;
+            }
+        }
+        staleFillsSkipped.increment();
+    }
+
+    private void publish(String namespace, String id) {
+        PermissionCacheInvalidation message = new PermissionCacheInvalidation(
+                nodeId, namespace, id, publishedVersion.incrementAndGet());
+        try {
+            messageBus.publish(message);
+        } catch (Exception e) {
+            // 广播失败时其他节点依赖L1的TTL收敛
+            log.warn("广播缓存失效消息失败: {}", message, e);
+        }
+    }
+
+    private void onInvalidation(PermissionCacheInvalidation message) {
+        if (nodeId.equals(message.getSourceNodeId())) {
+            return;
+        }
+        Long last = lastVersionBySource.get(message.getSourceNodeId());
+        if (last != null && message.getVersion() <= last) {
+            return;
+        }
+        lastVersionBySource.put(message.getSourceNodeId(), message.getVersion());
+        synchronized (invalidationSequence) {
+            invalidationSequence.incrementAndGet();
+            if (message.getNamespace() == null) {
+                local.clear();
+                // 来源节点已递增L2命名空间版本号，丢弃本节点缓存的版本号以免读到并回填旧键
+                if (remote instanceof RedisPermissionCache) {
+                    ((RedisPermissionCache) remote).invalidateVersions();
+                }
+            } else {
+                local.invalidate(message.getNamespace(), message.getId());
+            }
+        }
+        invalidationsReceived.increment();
+        log.debug("应用缓存失效消息: {}", message);
+    }
+}
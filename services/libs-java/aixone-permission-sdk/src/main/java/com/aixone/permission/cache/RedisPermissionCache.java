@@ -4,171 +4,450 @@ import com.aixone.permission.model.Role;
 import com.aixone.permission.model.Permission;
 import com.aixone.permission.model.User;
 import com.aixone.permission.model.Policy;
-import org.springframework.data.redis.core.RedisTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * 基于Redis的分布式权限缓存实现
+ * 所有写入都带TTL；批量读取使用MGET，批量写入使用管道；
+ * 通过命名空间版本号实现clear()：版本号递增后旧键不再被访问，并在TTL到期后由Redis回收
  */
+@Slf4j
 public class RedisPermissionCache implements PermissionCache {
-    private final RedisTemplate<String, Object> redisTemplate;
+
+    // 缓存命名空间
+    public static final String USER_ROLES = "user_roles";
+    public static final String ROLE_PERMISSIONS = "role_perms";
+    public static final String USER_PERMISSIONS = "user_perms";
+    public static final String USER = "user";
+    public static final String PERMISSION = "permission";
+    public static final String ROLE = "role";
+    public static final String POLICY = "policy";
+    public static final String ABAC_POLICIES = "abac_policies";
+
+    private static final List<String> NAMESPACES = Collections.unmodifiableList(Arrays.asList(
+            USER_ROLES, ROLE_PERMISSIONS, USER_PERMISSIONS, USER, PERMISSION, ROLE, POLICY, ABAC_POLICIES));
+
+    private static final String KEY_PREFIX = "perm:";
+    private static final String VERSION_KEY_PREFIX = "perm:version:";
+
+    // 默认配置
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    public static final long DEFAULT_VERSION_REFRESH_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+    private final RedisOperations<String, Object> redisOperations;
     private final ValueOperations<String, Object> ops;
-    private static final String USER_ROLE_KEY_PREFIX = "perm:user_roles:";
-    private static final String ROLE_PERM_KEY_PREFIX = "perm:role_perms:";
-    private static final String USER_PERM_KEY_PREFIX = "perm:user_perms:";
-    private static final String USER_KEY_PREFIX = "perm:user:";
-    private static final String PERM_KEY_PREFIX = "perm:permission:";
-    private static final String ROLE_KEY_PREFIX = "perm:role:";
-    private static final String POLICY_KEY_PREFIX = "perm:policy:";
-    private static final String ABAC_POLICIES_KEY_PREFIX = "perm:abac_policies:";
+    private final long ttlMillis;
+    private final long versionRefreshMillis;
+    private final LongSupplier clock;
+
+    // 本地缓存的命名空间版本号，其他节点执行clear()后最多versionRefreshMillis内可见；
+    // 收到失效消息时调用 invalidateVersions() 立即重新加载
+    private final Map<String, Long> versions = new HashMap<>();
+    private volatile long versionsLoadedAt = Long.MIN_VALUE;
 
-    public RedisPermissionCache(RedisTemplate<String, Object> redisTemplate) {
-        this.redisTemplate = redisTemplate;
-        this.ops = redisTemplate.opsForValue();
+    public RedisPermissionCache(RedisOperations<String, Object> redisOperations) {
+        this(redisOperations, DEFAULT_TTL_MILLIS, DEFAULT_VERSION_REFRESH_MILLIS);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param redisOperations Redis操作
+     * @param ttlMillis 缓存TTL（毫秒）
+     * @param versionRefreshMillis 命名空间版本号本地刷新间隔（毫秒）
+     */
+    public RedisPermissionCache(RedisOperations<String, Object> redisOperations, long ttlMillis, long versionRefreshMillis) {
+        this(redisOperations, ttlMillis, versionRefreshMillis, System::currentTimeMillis);
+    }
+
+    RedisPermissionCache(RedisOperations<String, Object> redisOperations, long ttlMillis, long versionRefreshMillis,
+                         LongSupplier clock) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis必须大于0: " + ttlMillis);
+        }
+        this.redisOperations = redisOperations;
+        this.ops = redisOperations.opsForValue();
+        this.ttlMillis = ttlMillis;
+        this.versionRefreshMillis = versionRefreshMillis;
+        this.clock = clock;
     }
 
     @Override
     public List<Role> getUserRoles(String userId) {
-        Object val = ops.get(USER_ROLE_KEY_PREFIX + userId);
-        if (val instanceof List) {
-            return (List<Role>) val;
-        }
-        return Collections.emptyList();
+        return getList(USER_ROLES, userId);
     }
 
     @Override
     public List<Permission> getRolePermissions(String roleId) {
-        Object val = ops.get(ROLE_PERM_KEY_PREFIX + roleId);
-        if (val instanceof List) {
-            return (List<Permission>) val;
-        }
-        return Collections.emptyList();
+        return getList(ROLE_PERMISSIONS, roleId);
     }
 
     @Override
     public void putUserRoles(String userId, List<Role> roles) {
-        ops.set(USER_ROLE_KEY_PREFIX + userId, roles);
+        set(USER_ROLES, userId, roles);
     }
 
     @Override
     public void putRolePermissions(String roleId, List<Permission> permissions) {
-        ops.set(ROLE_PERM_KEY_PREFIX + roleId, permissions);
+        set(ROLE_PERMISSIONS, roleId, permissions);
     }
 
     @Override
     public void clear() {
-        // 实际生产环境建议用scan+del批量清理
-        // 这里只做占位
+        List<String> versionKeys = new ArrayList<>(NAMESPACES.size());
+        for (String namespace : NAMESPACES) {
+            versionKeys.add(VERSION_KEY_PREFIX + namespace);
+        }
+        List<Object> results = redisOperations.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                ValueOperations<String, Object> pipelineOps = (ValueOperations<String, Object>) operations.opsForValue();
+                for (String key : versionKeys) {
+                    pipelineOps.increment(key, 1);
+                }
+                return null;
+            }
+        });
+        applyVersions(results);
+        log.debug("清除所有权限缓存，命名空间版本号已递增");
     }
-    
+
+    /**
+     * 按命名空间清除缓存
+     *
+     * @param namespace 命名空间
+     */
+    public void clearNamespace(String namespace) {
+        checkNamespace(namespace);
+        Long version = ops.increment(VERSION_KEY_PREFIX + namespace, 1);
+        synchronized (versions) {
+            if (version != null) {
+                versions.put(namespace, version);
+            }
+        }
+        log.debug("清除权限缓存命名空间: namespace={}, version={}", namespace, version);
+    }
+
+    /**
+     * 丢弃本地缓存的命名空间版本号，下次访问时从Redis重新加载
+     * 其他节点执行clear()并广播失效后调用，避免在versionRefreshMillis内继续读取旧版本的键
+     */
+    public void invalidateVersions() {
+        versionsLoadedAt = Long.MIN_VALUE;
+    }
+
     // 实现其他必需的方法
     @Override
     public List<Permission> getUserPermissions(String userId) {
-        Object val = ops.get(USER_PERM_KEY_PREFIX + userId);
-        if (val instanceof List) {
-            return (List<Permission>) val;
-        }
-        return Collections.emptyList();
+        return getList(USER_PERMISSIONS, userId);
     }
-    
+
     @Override
     public void putUserPermissions(String userId, List<Permission> permissions) {
-        ops.set(USER_PERM_KEY_PREFIX + userId, permissions);
+        set(USER_PERMISSIONS, userId, permissions);
     }
-    
+
     @Override
     public User getUser(String userId) {
-        Object val = ops.get(USER_KEY_PREFIX + userId);
+        Object val = ops.get(key(USER, userId));
         if (val instanceof User) {
             return (User) val;
         }
         return null;
     }
-    
+
     @Override
     public void putUser(String userId, User user) {
-        ops.set(USER_KEY_PREFIX + userId, user);
+        set(USER, userId, user);
     }
-    
+
     @Override
     public Permission getPermission(String permissionId) {
-        Object val = ops.get(PERM_KEY_PREFIX + permissionId);
+        Object val = ops.get(key(PERMISSION, permissionId));
         if (val instanceof Permission) {
             return (Permission) val;
         }
         return null;
     }
-    
+
     @Override
     public void putPermission(String permissionId, Permission permission) {
-        ops.set(PERM_KEY_PREFIX + permissionId, permission);
+        set(PERMISSION, permissionId, permission);
     }
-    
+
     @Override
     public Role getRole(String roleId) {
-        Object val = ops.get(ROLE_KEY_PREFIX + roleId);
+        Object val = ops.get(key(ROLE, roleId));
         if (val instanceof Role) {
             return (Role) val;
         }
         return null;
     }
-    
+
     @Override
     public void putRole(String roleId, Role role) {
-        ops.set(ROLE_KEY_PREFIX + roleId, role);
+        set(ROLE, roleId, role);
     }
-    
+
     @Override
     public Policy getPolicy(String policyId) {
-        Object val = ops.get(POLICY_KEY_PREFIX + policyId);
+        Object val = ops.get(key(POLICY, policyId));
         if (val instanceof Policy) {
             return (Policy) val;
         }
         return null;
     }
-    
+
     @Override
     public void putPolicy(String policyId, Policy policy) {
-        ops.set(POLICY_KEY_PREFIX + policyId, policy);
+        set(POLICY, policyId, policy);
     }
-    
+
     @Override
     public List<Policy> getAbacPolicies(String key) {
-        Object val = ops.get(ABAC_POLICIES_KEY_PREFIX + key);
-        if (val instanceof List) {
-            return (List<Policy>) val;
-        }
-        return Collections.emptyList();
+        return getList(ABAC_POLICIES, key);
     }
-    
+
     @Override
     public void putAbacPolicies(String key, List<Policy> policies) {
-        ops.set(ABAC_POLICIES_KEY_PREFIX + key, policies);
+        set(ABAC_POLICIES, key, policies);
+    }
+
+    // ==================== 批量操作 ====================
+
+    /**
+     * 批量获取用户权限（单次MGET）
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID到权限列表的映射，未命中的用户不包含在结果中
+     */
+    public Map<String, List<Permission>> getUserPermissionsBatch(Collection<String> userIds) {
+        return multiGetLists(USER_PERMISSIONS, userIds);
+    }
+
+    /**
+     * 批量获取用户角色（单次MGET）
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID到角色列表的映射，未命中的用户不包含在结果中
+     */
+    public Map<String, List<Role>> getUserRolesBatch(Collection<String> userIds) {
+        return multiGetLists(USER_ROLES, userIds);
+    }
+
+    /**
+     * 批量获取角色权限（单次MGET）
+     *
+     * @param roleIds 角色ID集合
+     * @return 角色ID到权限列表的映射，未命中的角色不包含在结果中
+     */
+    public Map<String, List<Permission>> getRolePermissionsBatch(Collection<String> roleIds) {
+        return multiGetLists(ROLE_PERMISSIONS, roleIds);
     }
-    
+
+    /**
+     * 批量缓存用户权限（单次管道写入，带TTL）
+     *
+     * @param userPermissions 用户ID到权限列表的映射
+     */
+    public void putAllUserPermissions(Map<String, List<Permission>> userPermissions) {
+        putAll(USER_PERMISSIONS, userPermissions);
+    }
+
+    /**
+     * 批量缓存用户角色（单次管道写入，带TTL）
+     *
+     * @param userRoles 用户ID到角色列表的映射
+     */
+    public void putAllUserRoles(Map<String, List<Role>> userRoles) {
+        putAll(USER_ROLES, userRoles);
+    }
+
+    /**
+     * 批量缓存角色权限（单次管道写入，带TTL）
+     *
+     * @param rolePermissions 角色ID到权限列表的映射
+     */
+    public void putAllRolePermissions(Map<String, List<Permission>> rolePermissions) {
+        putAll(ROLE_PERMISSIONS, rolePermissions);
+    }
+
     @Override
     public void clearUserCache(String userId) {
-        redisTemplate.delete(USER_ROLE_KEY_PREFIX + userId);
-        redisTemplate.delete(USER_PERM_KEY_PREFIX + userId);
-        redisTemplate.delete(USER_KEY_PREFIX + userId);
+        redisOperations.delete(Arrays.asList(
+                key(USER_ROLES, userId),
+                key(USER_PERMISSIONS, userId),
+                key(USER, userId)));
     }
-    
+
+    /**
+     * 检查缓存是否过期
+     * 键格式为“命名空间:ID”时按当前命名空间版本检查，否则按原始Redis键检查
+     */
     @Override
     public boolean isExpired(String key) {
-        return !redisTemplate.hasKey(key);
+        if (key == null) {
+            return true;
+        }
+        int idx = key.indexOf(':');
+        if (idx > 0 && NAMESPACES.contains(key.substring(0, idx))) {
+            key = key(key.substring(0, idx), key.substring(idx + 1));
+        }
+        return !Boolean.TRUE.equals(redisOperations.hasKey(key));
     }
-    
+
     @Override
     public void cleanExpiredCache() {
         // Redis会自动处理过期键，这里不需要手动清理
     }
-    
+
     @Override
     public Map<String, Object> getCacheStats() {
         Map<String, Object> stats = new HashMap<>();
-        // 这里可以添加Redis特定的统计信息
-        stats.put("redisTemplate", redisTemplate.getClass().getSimpleName());
+        stats.put("redisTemplate", redisOperations.getClass().getSimpleName());
+        stats.put("ttlMillis", ttlMillis);
+        stats.put("versionRefreshMillis", versionRefreshMillis);
+        synchronized (versions) {
+            stats.put("namespaceVersions", new HashMap<>(versions));
+        }
         return stats;
     }
-} 
\ No newline at end of file
+
+    // ==================== 内部方法 ====================
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> getList(String namespace, String id) {
+        Object val = ops.get(key(namespace, id));
+        if (val instanceof List) {
+            return (List<T>) val;
+        }
+        return Collections.emptyList();
+    }
+
+    private void set(String namespace, String id, Object value) {
+        String key = key(namespace, id);
+        if (value == null) {
+            redisOperations.delete(key);
+            return;
+        }
+        ops.set(key, value, ttlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Map<String, List<T>> multiGetLists(String namespace, Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<String> keys = new ArrayList<>(distinctIds.size());
+        for (String id : distinctIds) {
+            keys.add(key(namespace, id));
+        }
+        List<Object> values = ops.multiGet(keys);
+        Map<String, List<T>> result = new HashMap<>(distinctIds.size() * 2);
+        if (values == null) {
+            return result;
+        }
+        for (int i = 0; i < distinctIds.size() && i < values.size(); i++) {
+            Object val = values.get(i);
+            if (val instanceof List) {
+                result.put(distinctIds.get(i), (List<T>) val);
+            }
+        }
+        return result;
+    }
+
+    private void putAll(String namespace, Map<String, ?> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        Map<String, Object> entries = new LinkedHashMap<>(values.size() * 2);
+        List<String> deletes = new ArrayList<>();
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            String key = key(namespace, entry.getKey());
+            if (entry.getValue() == null) {
+                deletes.add(key);
+            } else {
+                entries.put(key, entry.getValue());
+            }
+        }
+        redisOperations.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> pipeline = (RedisOperations<String, Object>) operations;
+                ValueOperations<String, Object> pipelineOps = pipeline.opsForValue();
+                for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                    pipelineOps.set(entry.getKey(), entry.getValue(), ttlMillis, TimeUnit.MILLISECONDS);
+                }
+                if (!deletes.isEmpty()) {
+                    pipeline.delete(deletes);
+                }
+                return null;
+            }
+        });
+        log.debug("批量缓存权限数据: namespace={}, size={}", namespace, values.size());
+    }
+
+    private String key(String namespace, String id) {
+        return KEY_PREFIX + namespace + ":v" + currentVersion(namespace) + ":" + id;
+    }
+
+    private long currentVersion(String namespace) {
+        long now = clock.getAsLong();
+        if (versionsLoadedAt == Long.MIN_VALUE || now - versionsLoadedAt >= versionRefreshMillis) {
+            refreshVersions(now);
+        }
+        synchronized (versions) {
+            Long version = versions.get(namespace);
+            return version != null ? version : 0L;
+        }
+    }
+
+    /**
+     * 通过一次管道请求加载所有命名空间版本号（INCRBY 0 不修改值且不受值序列化器影响）
+     */
+    private void refreshVersions(long now) {
+        List<Object> results = redisOperations.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                ValueOperations<String, Object> pipelineOps = (ValueOperations<String, Object>) operations.opsForValue();
+                for (String namespace : NAMESPACES) {
+                    pipelineOps.increment(VERSION_KEY_PREFIX + namespace, 0);
+                }
+                return null;
+            }
+        });
+        applyVersions(results);
+        versionsLoadedAt = now;
+    }
+
+    private void applyVersions(List<Object> results) {
+        if (results == null) {
+            return;
+        }
+        synchronized (versions) {
+            for (int i = 0; i < NAMESPACES.size() && i < results.size(); i++) {
+                Object result = results.get(i);
+                if (result instanceof Number) {
+                    versions.put(NAMESPACES.get(i), ((Number) result).longValue());
+                }
+            }
+        }
+    }
+
+    private static void checkNamespace(String namespace) {
+        if (!NAMESPACES.contains(namespace)) {
+            throw new IllegalArgumentException("未知的缓存命名空间: " + namespace);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.aixone.permission.cache.bus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 进程内消息总线，同步投递给所有订阅者
+ * 适用于单机部署和测试中模拟多个节点
+ * 
+ * @author aixone
+ */
+public class InMemoryPermissionCacheMessageBus implements PermissionCacheMessageBus {
+    
+    private final List<Consumer<PermissionCacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public void publish(PermissionCacheInvalidation message) {
+        for (Consumer<PermissionCacheInvalidation> listener : listeners) {
+            listener.accept(message);
+        }
+    }
+    
+    @Override
+    public void subscribe(Consumer<PermissionCacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
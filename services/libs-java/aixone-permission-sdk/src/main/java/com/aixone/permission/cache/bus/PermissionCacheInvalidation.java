@@ -0,0 +1,36 @@
+package com.aixone.permission.cache.bus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 权限缓存失效消息
+ * 
+ * @author aixone
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionCacheInvalidation {
+    
+    /**
+     * 发送节点ID
+     */
+    private String sourceNodeId;
+    
+    /**
+     * 缓存命名空间，为null表示所有命名空间
+     */
+    private String namespace;
+    
+    /**
+     * 缓存ID，为null表示整个命名空间
+     */
+    private String id;
+    
+    /**
+     * 发送节点上的单调递增版本号
+     */
+    private long version;
+}
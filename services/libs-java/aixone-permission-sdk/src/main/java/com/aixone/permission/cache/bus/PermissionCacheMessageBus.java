@@ -0,0 +1,26 @@
+package com.aixone.permission.cache.bus;
+
+import java.util.function.Consumer;
+
+/**
+ * 权限缓存失效消息总线
+ * 用于在多个节点之间广播本地缓存失效
+ * 
+ * @author aixone
+ */
+public interface PermissionCacheMessageBus {
+    
+    /**
+     * 广播失效消息
+     * 
+     * @param message 失效消息
+     */
+    void publish(PermissionCacheInvalidation message);
+    
+    /**
+     * 订阅失效消息
+     * 
+     * @param listener 消息监听器
+     */
+    void subscribe(Consumer<PermissionCacheInvalidation> listener);
+}
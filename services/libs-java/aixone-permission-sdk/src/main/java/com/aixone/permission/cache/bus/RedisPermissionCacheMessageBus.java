@@ -0,0 +1,59 @@
+package com.aixone.permission.cache.bus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * 基于Redis Pub/Sub的消息总线
+ * 
+ * @author aixone
+ */
+@Slf4j
+public class RedisPermissionCacheMessageBus implements PermissionCacheMessageBus {
+    
+    public static final String DEFAULT_CHANNEL = "perm:cache:invalidation";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic topic;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    public RedisPermissionCacheMessageBus(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer) {
+        this(redisTemplate, listenerContainer, DEFAULT_CHANNEL);
+    }
+    
+    public RedisPermissionCacheMessageBus(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+                                          String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.topic = new ChannelTopic(channel);
+    }
+    
+    @Override
+    public void publish(PermissionCacheInvalidation message) {
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.error("序列化缓存失效消息失败: {}", message, e);
+        }
+    }
+    
+    @Override
+    public void subscribe(Consumer<PermissionCacheInvalidation> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                listener.accept(objectMapper.readValue(body, PermissionCacheInvalidation.class));
+            } catch (Exception e) {
+                log.error("处理缓存失效消息失败: {}", body, e);
+            }
+        }, topic);
+    }
+}
@@ -7,340 +7,336 @@ import com.aixone.permission.model.Policy;
 import com.aixone.permission.cache.PermissionCache;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 /**
  * 默认权限缓存实现
- * 
+ * 每种缓存类型使用独立的分段LRU缓存（独立命名空间、条目级过期和容量上限），
+ * 写入只锁定单个分段，过期清理逐段进行，不再阻塞全部读请求
+ *
  * @author aixone
  */
 @Slf4j
 public class DefaultPermissionCache implements PermissionCache {
-    
+
+    // 缓存命名空间，isExpired支持“命名空间:ID”格式的键
+    public static final String USER_PERMISSIONS = "user_perms";
+    public static final String USER_ROLES = "user_roles";
+    public static final String USER = "user";
+    public static final String PERMISSION = "permission";
+    public static final String ROLE = "role";
+    public static final String ROLE_PERMISSIONS = "role_perms";
+    public static final String POLICY = "policy";
+    public static final String ABAC_POLICIES = "abac_policies";
+
+    // 默认缓存配置
+    public static final long DEFAULT_EXPIRE_MILLIS = TimeUnit.MINUTES.toMillis(30); // 30分钟过期
+    public static final long DEFAULT_MAX_CACHE_SIZE = 10000; // 每类缓存最大条目数
+
     // 缓存存储
-    private final ConcurrentHashMap<String, List<Permission>> userPermissionCache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, List<Role>> userRoleCache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, User> userCache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, Permission> permissionCache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, Role> roleCache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, Policy> policyCache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, List<Policy>> abacPolicyCache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, List<Permission>> rolePermissionCache = new ConcurrentHashMap<>();
-    
-    // 缓存时间戳
-    private final ConcurrentHashMap<String, Long> cacheTimestamps = new ConcurrentHashMap<>();
-    
-    // 读写锁
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    
-    // 缓存配置
-    private final long cacheExpireTime = TimeUnit.MINUTES.toMillis(30); // 30分钟过期
-    private final long maxCacheSize = 10000; // 最大缓存条目数
-    
+    private final SegmentedLruCache<List<Permission>> userPermissionCache;
+    private final SegmentedLruCache<List<Role>> userRoleCache;
+    private final SegmentedLruCache<User> userCache;
+    private final SegmentedLruCache<Permission> permissionCache;
+    private final SegmentedLruCache<Role> roleCache;
+    private final SegmentedLruCache<Policy> policyCache;
+    private final SegmentedLruCache<List<Policy>> abacPolicyCache;
+    private final SegmentedLruCache<List<Permission>> rolePermissionCache;
+
+    // 按命名空间索引，用于isExpired和统计
+    private final Map<String, SegmentedLruCache<?>> segments = new LinkedHashMap<>();
+
+    private final long cacheExpireTime;
+    private final long maxCacheSize;
+
+    public DefaultPermissionCache() {
+        this(DEFAULT_MAX_CACHE_SIZE, DEFAULT_EXPIRE_MILLIS);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param maxCacheSize 每类缓存最大条目数
+     * @param cacheExpireTime 写入后过期时间（毫秒）
+     */
+    public DefaultPermissionCache(long maxCacheSize, long cacheExpireTime) {
+        this(maxCacheSize, cacheExpireTime, System::currentTimeMillis);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param maxCacheSize 每类缓存最大条目数
+     * @param cacheExpireTime 写入后过期时间（毫秒）
+     * @param clock 毫秒时钟
+     */
+    public DefaultPermissionCache(long maxCacheSize, long cacheExpireTime, LongSupplier clock) {
+        this.maxCacheSize = maxCacheSize;
+        this.cacheExpireTime = cacheExpireTime;
+        this.userPermissionCache = register(new SegmentedLruCache<>(USER_PERMISSIONS, maxCacheSize, cacheExpireTime, clock));
+        this.userRoleCache = register(new SegmentedLruCache<>(USER_ROLES, maxCacheSize, cacheExpireTime, clock));
+        this.userCache = register(new SegmentedLruCache<>(USER, maxCacheSize, cacheExpireTime, clock));
+        this.permissionCache = register(new SegmentedLruCache<>(PERMISSION, maxCacheSize, cacheExpireTime, clock));
+        this.roleCache = register(new SegmentedLruCache<>(ROLE, maxCacheSize, cacheExpireTime, clock));
+        this.rolePermissionCache = register(new SegmentedLruCache<>(ROLE_PERMISSIONS, maxCacheSize, cacheExpireTime, clock));
+        this.policyCache = register(new SegmentedLruCache<>(POLICY, maxCacheSize, cacheExpireTime, clock));
+        this.abacPolicyCache = register(new SegmentedLruCache<>(ABAC_POLICIES, maxCacheSize, cacheExpireTime, clock));
+    }
+
+    private <V> SegmentedLruCache<V> register(SegmentedLruCache<V> segment) {
+        segments.put(segment.getName(), segment);
+        return segment;
+    }
+
     // ==================== 用户权限缓存 ====================
-    
+
     @Override
     public List<Permission> getUserPermissions(String userId) {
-        lock.readLock().lock();
-        try {
-            if (isExpired(userId)) {
-                return null;
-            }
-            return userPermissionCache.get(userId);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return userPermissionCache.get(userId);
     }
-    
+
+    /**
+     * 获取用户权限，未命中时通过loader加载并缓存
+     *
+     * @param userId 用户ID
+     * @param loader 加载函数
+     * @return 权限列表
+     */
+    public List<Permission> getUserPermissions(String userId, Function<String, List<Permission>> loader) {
+        return userPermissionCache.get(userId, loader);
+    }
+
     @Override
     public void putUserPermissions(String userId, List<Permission> permissions) {
-        lock.writeLock().lock();
-        try {
-            userPermissionCache.put(userId, permissions);
-            cacheTimestamps.put(userId, System.currentTimeMillis());
-            log.debug("缓存用户权限: userId={}, size={}", userId, permissions != null ? permissions.size() : 0);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        userPermissionCache.put(userId, permissions);
+        log.debug("缓存用户权限: userId={}, size={}", userId, permissions != null ? permissions.size() : 0);
     }
-    
+
     // ==================== 用户角色缓存 ====================
-    
+
     @Override
     public List<Role> getUserRoles(String userId) {
-        lock.readLock().lock();
-        try {
-            if (isExpired(userId)) {
-                return null;
-            }
-            return userRoleCache.get(userId);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return userRoleCache.get(userId);
     }
-    
+
+    /**
+     * 获取用户角色，未命中时通过loader加载并缓存
+     *
+     * @param userId 用户ID
+     * @param loader 加载函数
+     * @return 角色列表
+     */
+    public List<Role> getUserRoles(String userId, Function<String, List<Role>> loader) {
+        return userRoleCache.get(userId, loader);
+    }
+
     @Override
     public void putUserRoles(String userId, List<Role> roles) {
-        lock.writeLock().lock();
-        try {
-            userRoleCache.put(userId, roles);
-            cacheTimestamps.put(userId, System.currentTimeMillis());
-            log.debug("缓存用户角色: userId={}, size={}", userId, roles != null ? roles.size() : 0);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        userRoleCache.put(userId, roles);
+        log.debug("缓存用户角色: userId={}, size={}", userId, roles != null ? roles.size() : 0);
     }
-    
+
     // ==================== 用户缓存 ====================
-    
+
     @Override
     public User getUser(String userId) {
-        lock.readLock().lock();
-        try {
-            if (isExpired(userId)) {
-                return null;
-            }
-            return userCache.get(userId);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return userCache.get(userId);
     }
-    
+
     @Override
     public void putUser(String userId, User user) {
-        lock.writeLock().lock();
-        try {
-            userCache.put(userId, user);
-            cacheTimestamps.put(userId, System.currentTimeMillis());
-            log.debug("缓存用户信息: userId={}", userId);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        userCache.put(userId, user);
+        log.debug("缓存用户信息: userId={}", userId);
     }
-    
+
     // ==================== 权限缓存 ====================
-    
+
     @Override
     public Permission getPermission(String permissionId) {
-        lock.readLock().lock();
-        try {
-            if (isExpired(permissionId)) {
-                return null;
-            }
-            return permissionCache.get(permissionId);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return permissionCache.get(permissionId);
     }
-    
+
     @Override
     public void putPermission(String permissionId, Permission permission) {
-        lock.writeLock().lock();
-        try {
-            permissionCache.put(permissionId, permission);
-            cacheTimestamps.put(permissionId, System.currentTimeMillis());
-            log.debug("缓存权限信息: permissionId={}", permissionId);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        permissionCache.put(permissionId, permission);
+        log.debug("缓存权限信息: permissionId={}", permissionId);
     }
-    
+
     // ==================== 角色缓存 ====================
-    
+
     @Override
     public Role getRole(String roleId) {
-        lock.readLock().lock();
-        try {
-            if (isExpired(roleId)) {
-                return null;
-            }
-            return roleCache.get(roleId);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return roleCache.get(roleId);
     }
-    
+
     @Override
     public void putRole(String roleId, Role role) {
-        lock.writeLock().lock();
-        try {
-            roleCache.put(roleId, role);
-            cacheTimestamps.put(roleId, System.currentTimeMillis());
-            log.debug("缓存角色信息: roleId={}", roleId);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        roleCache.put(roleId, role);
+        log.debug("缓存角色信息: roleId={}", roleId);
     }
-    
+
     @Override
     public List<Permission> getRolePermissions(String roleId) {
-        lock.readLock().lock();
-        try {
-            if (isExpired(roleId)) {
-                return null;
-            }
-            return rolePermissionCache.get(roleId);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return rolePermissionCache.get(roleId);
     }
-    
+
     @Override
     public void putRolePermissions(String roleId, List<Permission> permissions) {
-        lock.writeLock().lock();
-        try {
-            rolePermissionCache.put(roleId, permissions);
-            cacheTimestamps.put(roleId, System.currentTimeMillis());
-            log.debug("缓存角色权限: roleId={}, size={}", roleId, permissions != null ? permissions.size() : 0);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        rolePermissionCache.put(roleId, permissions);
+        log.debug("缓存角色权限: roleId={}, size={}", roleId, permissions != null ? permissions.size() : 0);
     }
-    
+
     // ==================== ABAC策略缓存 ====================
-    
+
     @Override
     public Policy getPolicy(String policyId) {
-        lock.readLock().lock();
-        try {
-            if (isExpired(policyId)) {
-                return null;
-            }
-            return policyCache.get(policyId);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return policyCache.get(policyId);
     }
-    
+
     @Override
     public void putPolicy(String policyId, Policy policy) {
-        lock.writeLock().lock();
-        try {
-            policyCache.put(policyId, policy);
-            cacheTimestamps.put(policyId, System.currentTimeMillis());
-            log.debug("缓存ABAC策略: policyId={}", policyId);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        policyCache.put(policyId, policy);
+        log.debug("缓存ABAC策略: policyId={}", policyId);
     }
-    
+
     @Override
     public List<Policy> getAbacPolicies(String key) {
-        lock.readLock().lock();
-        try {
-            if (isExpired(key)) {
-                return null;
-            }
-            return abacPolicyCache.get(key);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return abacPolicyCache.get(key);
     }
-    
+
     @Override
     public void putAbacPolicies(String key, List<Policy> policies) {
-        lock.writeLock().lock();
-        try {
-            abacPolicyCache.put(key, policies);
-            cacheTimestamps.put(key, System.currentTimeMillis());
-            log.debug("缓存ABAC策略列表: key={}, size={}", key, policies != null ? policies.size() : 0);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        abacPolicyCache.put(key, policies);
+        log.debug("缓存ABAC策略列表: key={}, size={}", key, policies != null ? policies.size() : 0);
     }
-    
+
     // ==================== 缓存管理 ====================
-    
+
     @Override
     public void clearUserCache(String userId) {
-        lock.writeLock().lock();
-        try {
-            userPermissionCache.remove(userId);
-            userRoleCache.remove(userId);
-            userCache.remove(userId);
-            cacheTimestamps.remove(userId);
-            log.debug("清除用户缓存: userId={}", userId);
-        } finally {
-            lock.writeLock().unlock();
+        userPermissionCache.invalidate(userId);
+        userRoleCache.invalidate(userId);
+        userCache.invalidate(userId);
+        log.debug("清除用户缓存: userId={}", userId);
+    }
+
+    /**
+     * 清除角色相关缓存
+     *
+     * @param roleId 角色ID
+     */
+    public void clearRoleCache(String roleId) {
+        roleCache.invalidate(roleId);
+        rolePermissionCache.invalidate(roleId);
+        log.debug("清除角色缓存: roleId={}", roleId);
+    }
+
+    /**
+     * 按命名空间清除缓存
+     *
+     * @param namespace 命名空间
+     * @param id 缓存ID，为null时清除整个命名空间
+     */
+    public void invalidate(String namespace, String id) {
+        SegmentedLruCache<?> segment = segments.get(namespace);
+        if (segment == null) {
+            throw new IllegalArgumentException("未知的缓存命名空间: " + namespace);
+        }
+        if (id == null) {
+            segment.invalidateAll();
+        } else {
+            segment.invalidate(id);
         }
     }
-    
+
     @Override
     public void clear() {
-        lock.writeLock().lock();
-        try {
-            userPermissionCache.clear();
-            userRoleCache.clear();
-            userCache.clear();
-            permissionCache.clear();
-            roleCache.clear();
-            policyCache.clear();
-            abacPolicyCache.clear();
-            rolePermissionCache.clear();
-            cacheTimestamps.clear();
-            log.debug("清除所有缓存");
-        } finally {
-            lock.writeLock().unlock();
-        }
+        segments.values().forEach(SegmentedLruCache::invalidateAll);
+        log.debug("清除所有缓存");
     }
-    
+
+    /**
+     * 检查缓存是否过期
+     * 键格式为“命名空间:ID”（如 user_roles:u1）时只检查对应类型；
+     * 否则任一类型中存在未过期条目即视为未过期
+     */
     @Override
     public boolean isExpired(String key) {
-        Long timestamp = cacheTimestamps.get(key);
-        if (timestamp == null) {
+        if (key == null) {
             return true;
         }
-        return System.currentTimeMillis() - timestamp > cacheExpireTime;
+        int idx = key.indexOf(':');
+        if (idx > 0) {
+            SegmentedLruCache<?> segment = segments.get(key.substring(0, idx));
+            if (segment != null) {
+                return segment.isExpired(key.substring(idx + 1));
+            }
+        }
+        for (SegmentedLruCache<?> segment : segments.values()) {
+            if (!segment.isExpired(key)) {
+                return false;
+            }
+        }
+        return true;
     }
-    
+
     @Override
     public void cleanExpiredCache() {
-        lock.writeLock().lock();
-        try {
-            long currentTime = System.currentTimeMillis();
-            cacheTimestamps.entrySet().removeIf(entry -> {
-                boolean expired = currentTime - entry.getValue() > cacheExpireTime;
-                if (expired) {
-                    String key = entry.getKey();
-                    userPermissionCache.remove(key);
-                    userRoleCache.remove(key);
-                    userCache.remove(key);
-                    permissionCache.remove(key);
-                    roleCache.remove(key);
-                    policyCache.remove(key);
-                    abacPolicyCache.remove(key);
-                    rolePermissionCache.remove(key);
-                }
-                return expired;
-            });
-            log.debug("清理过期缓存完成");
-        } finally {
-            lock.writeLock().unlock();
+        int removed = 0;
+        for (SegmentedLruCache<?> segment : segments.values()) {
+            removed += segment.cleanUp();
         }
+        log.debug("清理过期缓存完成: removed={}", removed);
     }
-    
+
     @Override
     public Map<String, Object> getCacheStats() {
-        lock.readLock().lock();
-        try {
-            Map<String, Object> stats = new ConcurrentHashMap<>();
-            stats.put("userPermissionCacheSize", userPermissionCache.size());
-            stats.put("userRoleCacheSize", userRoleCache.size());
-            stats.put("userCacheSize", userCache.size());
-            stats.put("permissionCacheSize", permissionCache.size());
-            stats.put("roleCacheSize", roleCache.size());
-            stats.put("policyCacheSize", policyCache.size());
-            stats.put("abacPolicyCacheSize", abacPolicyCache.size());
-            stats.put("rolePermissionCacheSize", rolePermissionCache.size());
-            stats.put("totalCacheSize", cacheTimestamps.size());
-            return stats;
-        } finally {
-            lock.readLock().unlock();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("userPermissionCacheSize", userPermissionCache.size());
+        stats.put("userRoleCacheSize", userRoleCache.size());
+        stats.put("userCacheSize", userCache.size());
+        stats.put("permissionCacheSize", permissionCache.size());
+        stats.put("roleCacheSize", roleCache.size());
+        stats.put("policyCacheSize", policyCache.size());
+        stats.put("abacPolicyCacheSize", abacPolicyCache.size());
+        stats.put("rolePermissionCacheSize", rolePermissionCache.size());
+
+        long totalSize = 0;
+        long hitCount = 0;
+        long missCount = 0;
+        long evictionCount = 0;
+        long expiredCount = 0;
+        long loadCount = 0;
+        long totalLoadTimeNanos = 0;
+        Map<String, Object> segmentStats = new LinkedHashMap<>();
+        for (SegmentedLruCache<?> segment : segments.values()) {
+            Map<String, Object> s = segment.stats();
+            segmentStats.put(segment.getName(), s);
+            totalSize += (Long) s.get("size");
+            hitCount += segment.getHitCount();
+            missCount += segment.getMissCount();
+            evictionCount += segment.getEvictionCount();
+            expiredCount += segment.getExpiredCount();
+            loadCount += segment.getLoadCount();
+            totalLoadTimeNanos += segment.getTotalLoadTimeNanos();
         }
+        long requests = hitCount + missCount;
+        stats.put("totalCacheSize", totalSize);
+        stats.put("maxCacheSize", maxCacheSize);
+        stats.put("cacheExpireTime", cacheExpireTime);
+        stats.put("hitCount", hitCount);
+        stats.put("missCount", missCount);
+        stats.put("hitRate", requests == 0 ? 1.0D : (double) hitCount / requests);
+        stats.put("evictionCount", evictionCount);
+        stats.put("expiredCount", expiredCount);
+        stats.put("loadCount", loadCount);
+        stats.put("totalLoadTimeMillis", TimeUnit.NANOSECONDS.toMillis(totalLoadTimeNanos));
+        stats.put("segments", segmentStats);
+        return stats;
     }
 }
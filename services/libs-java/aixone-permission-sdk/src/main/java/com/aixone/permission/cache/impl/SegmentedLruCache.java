@@ -0,0 +1,384 @@
+package com.aixone.permission.cache.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 分段LRU缓存引擎
+ * 按key哈希分段加锁，每段为访问顺序的LinkedHashMap，支持条目级过期、容量淘汰和命中统计
+ *
+ * @param <V> 缓存值类型
+ * @author aixone
+ */
+public class SegmentedLruCache<V> {
+
+    /**
+     * 最大分段数
+     */
+    private static final int MAX_SHARDS = 16;
+
+    /**
+     * 每个分段的最小容量，容量较小时减少分段数以保证LRU精度
+     */
+    private static final int MIN_SHARD_CAPACITY = 64;
+
+    /**
+     * 容量淘汰时从LRU头部最多检查的条目数，其余过期条目由 {@link #cleanUp()} 清理
+     */
+    static final int EVICTION_SCAN_LIMIT = 8;
+
+    private final String name;
+    private final long maxSize;
+    private final long expireAfterWriteMillis;
+    private final LongSupplier clock;
+    private final Shard<V>[] shards;
+    private final int shardMask;
+
+    // 统计计数器
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param name 缓存名称（命名空间）
+     * @param maxSize 最大条目数
+     * @param expireAfterWriteMillis 写入后过期时间（毫秒），Long.MAX_VALUE表示永不过期
+     * @param clock 毫秒时钟
+     */
+    @SuppressWarnings("unchecked")
+    public SegmentedLruCache(String name, long maxSize, long expireAfterWriteMillis, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize必须大于0: " + maxSize);
+        }
+        if (expireAfterWriteMillis <= 0) {
+            throw new IllegalArgumentException("expireAfterWriteMillis必须大于0: " + expireAfterWriteMillis);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.expireAfterWriteMillis = expireAfterWriteMillis;
+        this.clock = clock;
+
+        int shardCount = shardCount(maxSize);
+        this.shards = new Shard[shardCount];
+        this.shardMask = shardCount - 1;
+        long baseCapacity = maxSize / shardCount;
+        long remainder = maxSize % shardCount;
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard<>(baseCapacity + (i < remainder ? 1 : 0));
+        }
+    }
+
+    /**
+     * 获取缓存值，不存在或已过期返回null
+     *
+     * @param key 缓存键
+     * @return 缓存值
+     */
+    public V get(String key) {
+        if (key == null) {
+            missCount.increment();
+            return null;
+        }
+        Shard<V> shard = shardFor(key);
+        long now = clock.getAsLong();
+        shard.lock.lock();
+        try {
+            Entry<V> entry = shard.map.get(key);
+            if (entry == null) {
+                missCount.increment();
+                return null;
+            }
+            if (entry.isExpired(now)) {
+                shard.map.remove(key);
+                expiredCount.increment();
+                missCount.increment();
+                return null;
+            }
+            hitCount.increment();
+            return entry.value;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * 获取缓存值，未命中时通过loader加载并写入缓存
+     * 加载过程在锁外执行，不阻塞同分段的其他读写
+     *
+     * @param key 缓存键
+     * @param loader 加载函数
+     * @return 缓存值
+     */
+    public V get(String key, Function<String, V> loader) {
+        V value = get(key);
+        if (value != null || key == null) {
+            return value;
+        }
+        long start = System.nanoTime();
+        try {
+            value = loader.apply(key);
+        } finally {
+            loadCount.increment();
+            totalLoadTimeNanos.add(System.nanoTime() - start);
+        }
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 写入缓存，值为null时等同于删除
+     *
+     * @param key 缓存键
+     * @param value 缓存值
+     */
+    public void put(String key, V value) {
+        if (key == null) {
+            return;
+        }
+        if (value == null) {
+            invalidate(key);
+            return;
+        }
+        Shard<V> shard = shardFor(key);
+        long now = clock.getAsLong();
+        long expireAt = now + expireAfterWriteMillis;
+        // 溢出时视为永不过期（expireAfterWriteMillis可传Long.MAX_VALUE）
+        Entry<V> entry = new Entry<>(value, expireAt < now ? Long.MAX_VALUE : expireAt);
+        shard.lock.lock();
+        try {
+            shard.map.put(key, entry);
+            evictIfNecessary(shard);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * 删除缓存
+     *
+     * @param key 缓存键
+     */
+    public void invalidate(String key) {
+        if (key == null) {
+            return;
+        }
+        Shard<V> shard = shardFor(key);
+        shard.lock.lock();
+        try {
+            shard.map.remove(key);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        for (Shard<V> shard : shards) {
+            shard.lock.lock();
+            try {
+                shard.map.clear();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 检查缓存是否不存在或已过期（不计入命中统计）
+     *
+     * @param key 缓存键
+     * @return 是否过期
+     */
+    public boolean isExpired(String key) {
+        if (key == null) {
+            return true;
+        }
+        Shard<V> shard = shardFor(key);
+        long now = clock.getAsLong();
+        shard.lock.lock();
+        try {
+            Entry<V> entry = shard.map.get(key);
+            return entry == null || entry.isExpired(now);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * 清理过期条目，逐段加锁，不会阻塞其他分段的读写
+     *
+     * @return 清理的条目数
+     */
+    public int cleanUp() {
+        int removed = 0;
+        long now = clock.getAsLong();
+        for (Shard<V> shard : shards) {
+            shard.lock.lock();
+            try {
+                Iterator<Entry<V>> it = shard.map.values().iterator();
+                while (it.hasNext()) {
+                    if (it.next().isExpired(now)) {
+                        it.remove();
+                        removed++;
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        if (removed > 0) {
+            expiredCount.add(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * 当前条目数（包含尚未清理的过期条目）
+     *
+     * @return 条目数
+     */
+    public long size() {
+        long size = 0;
+        for (Shard<V> shard : shards) {
+            shard.lock.lock();
+            try {
+                size += shard.map.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 缓存统计
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hits = hitCount.sum();
+        long misses = missCount.sum();
+        long requests = hits + misses;
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("hitCount", hits);
+        stats.put("missCount", misses);
+        stats.put("hitRate", requests == 0 ? 1.0D : (double) hits / requests);
+        stats.put("evictionCount", evictionCount.sum());
+        stats.put("expiredCount", expiredCount.sum());
+        stats.put("loadCount", loadCount.sum());
+        stats.put("totalLoadTimeMillis", TimeUnit.NANOSECONDS.toMillis(totalLoadTimeNanos.sum()));
+        return stats;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    public long getTotalLoadTimeNanos() {
+        return totalLoadTimeNanos.sum();
+    }
+
+    private void evictIfNecessary(Shard<V> shard) {
+        if (shard.map.size() <= shard.capacity) {
+            return;
+        }
+        long now = clock.getAsLong();
+        Iterator<Entry<V>> it = shard.map.values().iterator();
+        // 在LRU头部的少量条目中优先淘汰过期条目，不遍历整个分段
+        for (int scanned = 0; scanned < EVICTION_SCAN_LIMIT && shard.map.size() > shard.capacity && it.hasNext();
+             scanned++) {
+            if (it.next().isExpired(now)) {
+                it.remove();
+                expiredCount.increment();
+            }
+        }
+        // 仍超出容量时按LRU顺序淘汰最久未访问的条目
+        it = shard.map.values().iterator();
+        while (shard.map.size() > shard.capacity && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictionCount.increment();
+        }
+    }
+
+    private Shard<V> shardFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return shards[h & shardMask];
+    }
+
+    private static int shardCount(long maxSize) {
+        long byCapacity = Math.max(1, maxSize / MIN_SHARD_CAPACITY);
+        int count = (int) Math.min(MAX_SHARDS, byCapacity);
+        // 向下取2的幂，便于位运算定位分段
+        return Integer.highestOneBit(count);
+    }
+
+    /**
+     * 缓存分段
+     */
+    private static final class Shard<V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long capacity;
+        private final LinkedHashMap<String, Entry<V>> map;
+
+        private Shard(long capacity) {
+            this.capacity = capacity;
+            this.map = new LinkedHashMap<>(16, 0.75f, true);
+        }
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class Entry<V> {
+        private final V value;
+        private final long expireAt;
+
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
@@ -1,20 +1,28 @@
 package com.aixone.permission.config;
 
+import com.aixone.permission.aspect.PermissionAspect;
 import com.aixone.permission.filter.PermissionFilter;
+import com.aixone.permission.handler.DataPermissionHandler;
 import com.aixone.permission.provider.DefaultUserPermissionProvider;
 import com.aixone.permission.provider.UserPermissionProvider;
+import com.aixone.permission.service.impl.DefaultPermissionService;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Primary;
+import org.springframework.lang.Nullable;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import jakarta.servlet.Filter;
 
+import java.util.Map;
+
 /**
  * 权限中台自动配置
  * 通过@EnablePermission自动装配相关组件
  */
 @Configuration
+@EnableAspectJAutoProxy
 public class PermissionAutoConfiguration {
     /**
      * 注册权限上下文过滤器，自动注入到Servlet过滤器链
@@ -36,4 +44,23 @@ public class PermissionAutoConfiguration {
     public UserPermissionProvider userPermissionProvider() {
         return new DefaultUserPermissionProvider();
     }
-} 
\ No newline at end of file
+
+    /**
+     * 默认权限服务
+     */
+    @Bean
+    @ConditionalOnMissingBean(DefaultPermissionService.class)
+    public DefaultPermissionService defaultPermissionService(UserPermissionProvider userPermissionProvider) {
+        return new DefaultPermissionService(userPermissionProvider);
+    }
+
+    /**
+     * 权限注解执行切面，数据权限处理器按bean名称注册；未定义处理器bean时只使用内置处理器
+     */
+    @Bean
+    @ConditionalOnMissingBean(PermissionAspect.class)
+    public PermissionAspect permissionAspect(DefaultPermissionService defaultPermissionService,
+                                             @Nullable Map<String, DataPermissionHandler> dataPermissionHandlers) {
+        return new PermissionAspect(defaultPermissionService, dataPermissionHandlers);
+    }
+}
@@ -1,21 +1,81 @@
 package com.aixone.permission.context;
 
+import com.aixone.common.session.AbacAttributes;
+import com.aixone.common.session.SessionContext;
 import com.aixone.permission.model.User;
+import com.aixone.permission.sql.DataScope;
+import com.aixone.permission.sql.SqlCondition;
+
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * 权限上下文
  * 用于存储当前请求的用户信息等上下文数据
+ *
+ * 未显式设置用户时，回退读取统一会话上下文 {@link SessionContext}，
+ * 以兼容会话由拦截器（晚于过滤器）写入的场景。
  */
 public class PermissionContext {
     private static final ThreadLocal<User> USER_HOLDER = new ThreadLocal<>();
+    private static final ThreadLocal<DataScope> DATA_SCOPE_HOLDER = new ThreadLocal<>();
+    private static final ThreadLocal<SqlCondition> DATA_CONDITION_HOLDER = new ThreadLocal<>();
 
     public static void setUser(User user) {
         USER_HOLDER.set(user);
     }
     public static User getUser() {
-        return USER_HOLDER.get();
+        User user = USER_HOLDER.get();
+        return user != null ? user : fromSession(SessionContext.get());
+    }
+
+    /**
+     * 设置当前数据权限，由 @DataPermission 切面在方法执行期间写入
+     *
+     * @param scope 结构化数据范围（处理器不支持时为null）
+     * @param condition 带绑定参数的SQL条件
+     */
+    public static void setDataPermission(DataScope scope, SqlCondition condition) {
+        set(DATA_SCOPE_HOLDER, scope);
+        set(DATA_CONDITION_HOLDER, condition);
+    }
+    public static DataScope getDataScope() {
+        return DATA_SCOPE_HOLDER.get();
+    }
+    public static SqlCondition getDataCondition() {
+        return DATA_CONDITION_HOLDER.get();
     }
+
     public static void clear() {
         USER_HOLDER.remove();
+        DATA_SCOPE_HOLDER.remove();
+        DATA_CONDITION_HOLDER.remove();
+    }
+
+    private static <T> void set(ThreadLocal<T> holder, T value) {
+        if (value == null) {
+            holder.remove();
+        } else {
+            holder.set(value);
+        }
+    }
+
+    /**
+     * 由会话信息构建权限用户，ABAC属性作为用户属性
+     *
+     * @param session 会话信息
+     * @return 用户，会话为空或未登录时返回null
+     */
+    public static User fromSession(SessionContext.SessionInfo session) {
+        if (session == null || session.getUserId() == null || session.isExpired()) {
+            return null;
+        }
+        AbacAttributes abac = session.getAbacAttributes();
+        Map<String, Object> attributes = abac != null ? new HashMap<>(abac.asMap()) : new HashMap<>();
+        User user = new User();
+        user.setUserId(session.getUserId());
+        user.setTenantId(session.getTenantId());
+        user.setAttributes(attributes);
+        return user;
     }
-} 
\ No newline at end of file
+}
@@ -1,11 +1,16 @@
 package com.aixone.permission.filter;
 
+import com.aixone.common.session.SessionContext;
+import com.aixone.permission.context.PermissionContext;
+import com.aixone.permission.model.User;
+
 import jakarta.servlet.*;
 import java.io.IOException;
 
 /**
  * 权限上下文过滤器
  * 用于在请求入口初始化和清理权限上下文
+ * 会话已就绪时直接写入用户；会话由后续拦截器写入时，{@link PermissionContext#getUser()} 会回退读取会话
  */
 public class PermissionFilter implements Filter {
     @Override
@@ -13,15 +18,18 @@ public class PermissionFilter implements Filter {
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
-        // TODO: 解析用户信息并写入PermissionContext
+        User user = PermissionContext.fromSession(SessionContext.get());
+        if (user != null) {
+            PermissionContext.setUser(user);
+        }
         try {
             chain.doFilter(request, response);
         } finally {
             // 清理上下文
-            // PermissionContext.clear();
+            PermissionContext.clear();
         }
     }
 
     @Override
     public void destroy() {}
-} 
\ No newline at end of file
+}
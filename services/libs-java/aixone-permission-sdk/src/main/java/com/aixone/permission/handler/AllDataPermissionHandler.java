@@ -2,6 +2,7 @@ package com.aixone.permission.handler;
 
 import com.aixone.permission.model.User;
 import com.aixone.permission.model.Resource;
+import com.aixone.permission.sql.DataScope;
 
 /**
  * 全量数据权限处理器
@@ -12,4 +13,9 @@ public class AllDataPermissionHandler implements DataPermissionHandler {
     public String buildCondition(User user, Resource resource) {
         return "1=1";
     }
-} 
\ No newline at end of file
+
+    @Override
+    public DataScope resolveScope(User user, Resource resource) {
+        return DataScope.all();
+    }
+}
@@ -2,6 +2,9 @@ package com.aixone.permission.handler;
 
 import com.aixone.permission.model.User;
 import com.aixone.permission.model.Resource;
+import com.aixone.permission.sql.DataScope;
+import com.aixone.permission.sql.SqlCondition;
+import com.aixone.permission.sql.SqlConditionRenderer;
 
 /**
  * 数据权限处理器扩展点
@@ -9,10 +12,33 @@ import com.aixone.permission.model.Resource;
  */
 public interface DataPermissionHandler {
     /**
-     * 生成数据权限SQL片段
+     * 生成数据权限SQL片段（内联字面量，兼容旧调用方）
+     * 新代码应使用 {@link #buildSqlCondition(User, Resource)} 获取带绑定参数的条件
      * @param user 用户对象
      * @param resource 资源对象
      * @return SQL条件片段，如"dept_id = 1"
      */
     String buildCondition(User user, Resource resource);
-} 
\ No newline at end of file
+
+    /**
+     * 解析结构化的数据权限范围
+     * @param user 用户对象
+     * @param resource 资源对象
+     * @return 数据范围，不支持结构化范围的处理器返回null
+     */
+    default DataScope resolveScope(User user, Resource resource) {
+        return null;
+    }
+
+    /**
+     * 生成带绑定参数的数据权限条件
+     * 支持结构化范围时按范围渲染，否则包装 {@link #buildCondition(User, Resource)} 的结果
+     * @param user 用户对象
+     * @param resource 资源对象
+     * @return SQL条件
+     */
+    default SqlCondition buildSqlCondition(User user, Resource resource) {
+        DataScope scope = resolveScope(user, resource);
+        return scope != null ? SqlConditionRenderer.render(scope) : SqlCondition.literal(buildCondition(user, resource));
+    }
+}
@@ -2,16 +2,21 @@ package com.aixone.permission.handler;
 
 import com.aixone.permission.model.User;
 import com.aixone.permission.model.Resource;
+import com.aixone.permission.sql.DataScope;
+import com.aixone.permission.sql.SqlConditionRenderer;
 
 /**
  * 部门数据权限处理器
- * 只返回与用户部门匹配的数据
+ * 只返回与用户部门（含兼任部门和下级部门）匹配的数据
  */
 public class DeptDataPermissionHandler implements DataPermissionHandler {
     @Override
     public String buildCondition(User user, Resource resource) {
-        Object deptId = user.getAttributes() != null ? user.getAttributes().get("deptId") : null;
-        if (deptId == null) return "1=0";
-        return "dept_id = '" + deptId + "'";
+        return SqlConditionRenderer.renderInline(resolveScope(user, resource));
     }
-} 
\ No newline at end of file
+
+    @Override
+    public DataScope resolveScope(User user, Resource resource) {
+        return DataScope.forDepartment(user);
+    }
+}
@@ -2,6 +2,8 @@ package com.aixone.permission.handler;
 
 import com.aixone.permission.model.User;
 import com.aixone.permission.model.Resource;
+import com.aixone.permission.sql.DataScope;
+import com.aixone.permission.sql.SqlConditionRenderer;
 
 /**
  * 仅本人数据权限处理器
@@ -10,7 +12,11 @@ import com.aixone.permission.model.Resource;
 public class SelfDataPermissionHandler implements DataPermissionHandler {
     @Override
     public String buildCondition(User user, Resource resource) {
-        if (user == null || user.getUserId() == null) return "1=0";
-        return "user_id = '" + user.getUserId() + "'";
+        return SqlConditionRenderer.renderInline(resolveScope(user, resource));
     }
-} 
\ No newline at end of file
+
+    @Override
+    public DataScope resolveScope(User user, Resource resource) {
+        return DataScope.forSelf(user);
+    }
+}
@@ -60,15 +60,64 @@ public class Permission {
      */
     private LocalDateTime updatedAt;
     
+    /**
+     * 通配符
+     */
+    public static final String WILDCARD = "*";
+    
     /**
      * 检查权限是否匹配指定的资源和操作
+     * 支持通配：操作为 * 匹配任意操作；资源按 . 分段，
+     * 中间的 * 段匹配任意一段，末尾的 * 段匹配其后一段或多段（如 order.item.* 匹配 order.item.detail）
      * 
      * @param resource 资源标识
      * @param action 操作类型
      * @return 是否匹配
      */
     public boolean matches(String resource, String action) {
-        return this.resource.equals(resource) && this.action.equals(action);
+        if (this.resource == null || this.action == null || resource == null || action == null) {
+            return false;
+        }
+        return matchesAction(this.action, action) && matchesResource(this.resource, resource);
+    }
+    
+    /**
+     * 检查授权操作是否匹配
+     * 
+     * @param grant 授权操作（可为 *）
+     * @param action 请求操作
+     * @return 是否匹配
+     */
+    public static boolean matchesAction(String grant, String action) {
+        return WILDCARD.equals(grant) || grant.equals(action);
+    }
+    
+    /**
+     * 检查授权资源是否匹配（逐段比较的参考实现）
+     * 
+     * @param grant 授权资源（可包含 * 段）
+     * @param resource 请求资源
+     * @return 是否匹配
+     */
+    public static boolean matchesResource(String grant, String resource) {
+        if (grant.equals(resource)) {
+            return true;
+        }
+        String[] grantSegments = grant.split("\\.", -1);
+        String[] resourceSegments = resource.split("\\.", -1);
+        for (int i = 0; i < grantSegments.length; i++) {
+            boolean wildcard = WILDCARD.equals(grantSegments[i]);
+            if (wildcard && i == grantSegments.length - 1) {
+                return resourceSegments.length > i;
+            }
+            if (i >= resourceSegments.length) {
+                return false;
+            }
+            if (!wildcard && !grantSegments[i].equals(resourceSegments[i])) {
+                return false;
+            }
+        }
+        return grantSegments.length == resourceSegments.length;
     }
     
     /**
@@ -10,13 +10,17 @@ import com.aixone.permission.provider.UserPermissionProvider;
 import com.aixone.permission.validator.PermissionValidator;
 import com.aixone.permission.validator.RbacValidator;
 import com.aixone.permission.validator.AbacValidator;
+import com.aixone.permission.abac.AbacExpression;
 import com.aixone.permission.abac.AbacExpressionUtil;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
 
 /**
  * 默认权限服务实现
@@ -40,6 +44,19 @@ public class DefaultPermissionService implements PermissionService {
     
     @Override
     public boolean hasPermission(User user, Permission permission, Resource resource) {
+        return checkPermission(user, permission, resource, true);
+    }
+    
+    /**
+     * 检查用户是否有指定权限
+     * 
+     * @param user 用户
+     * @param permission 权限
+     * @param resource 资源
+     * @param abacFallback RBAC未通过时是否再进行ABAC检查
+     * @return 是否有权限
+     */
+    public boolean checkPermission(User user, Permission permission, Resource resource, boolean abacFallback) {
         if (user == null || permission == null) {
             log.warn("用户或权限为空，拒绝访问");
             return false;
@@ -53,6 +70,11 @@ public class DefaultPermissionService implements PermissionService {
                 return true;
             }
             
+            if (!abacFallback) {
+                log.debug("权限检查失败，用户 {} 没有权限 {}", user.getUserId(), permission.getPermissionId());
+                return false;
+            }
+            
             // 2. 再进行ABAC检查
             boolean abacResult = abacValidator.hasPermission(user, permission, resource);
             if (abacResult) {
@@ -135,6 +157,115 @@ public class DefaultPermissionService implements PermissionService {
         }
     }
     
+    /**
+     * 检查用户是否拥有指定ID的权限
+     * 
+     * @param user 用户
+     * @param permissionId 权限ID
+     * @return 是否有权限
+     */
+    public boolean hasPermissionId(User user, String permissionId) {
+        if (user == null || permissionId == null) {
+            return false;
+        }
+        
+        try {
+            if (rbacValidator instanceof RbacValidator) {
+                return ((RbacValidator) rbacValidator).hasPermissionId(user, permissionId);
+            }
+            List<Permission> userPermissions = userPermissionProvider.getUserPermissions(
+                user.getUserId(), user.getTenantId());
+            return userPermissions != null && userPermissions.stream()
+                    .anyMatch(permission -> permissionId.equals(permission.getPermissionId()));
+        } catch (Exception e) {
+            log.error("权限检查异常", e);
+            return false;
+        }
+    }
+    
+    /**
+     * 检查用户是否拥有指定角色集合，按用户所在租户只获取一次用户角色
+     * 
+     * @param user 用户
+     * @param roleNames 角色名称集合
+     * @param requireAll 是否需要拥有全部角色，否则拥有任意一个即可
+     * @return 是否满足
+     */
+    public boolean hasRoles(User user, Collection<String> roleNames, boolean requireAll) {
+        if (user == null || roleNames == null || roleNames.isEmpty()) {
+            return false;
+        }
+        
+        try {
+            List<Role> userRoles = userPermissionProvider.getUserRoles(user.getUserId(), user.getTenantId());
+            if (userRoles == null || userRoles.isEmpty()) {
+                return false;
+            }
+            
+            Set<String> owned = new HashSet<>();
+            for (Role role : userRoles) {
+                owned.add(role.getName());
+            }
+            if (requireAll) {
+                return owned.containsAll(roleNames);
+            }
+            for (String roleName : roleNames) {
+                if (owned.contains(roleName)) {
+                    return true;
+                }
+            }
+            return false;
+            
+        } catch (Exception e) {
+            log.error("角色检查异常", e);
+            return false;
+        }
+    }
+    
+    /**
+     * 评估已编译的ABAC表达式
+     * 
+     * @param user 用户
+     * @param expression 已编译表达式
+     * @param resource 资源（可为null）
+     * @param context 上下文（可为null）
+     * @return 是否通过
+     */
+    public boolean evaluateAbac(User user, AbacExpression expression, Resource resource, Map<String, Object> context) {
+        if (user == null || expression == null) {
+            return false;
+        }
+        
+        try {
+            return expression.evaluate(user.getAttributes(),
+                    resource != null ? resource.getAttributes() : null, context);
+        } catch (Exception e) {
+            log.error("ABAC表达式评估异常: {}", expression.getSource(), e);
+            return false;
+        }
+    }
+    
+    /**
+     * 清除用户的RBAC权限索引，用户的角色或权限变更后调用，下次校验时重新从提供者加载
+     * 
+     * @param tenantId 租户ID
+     * @param userId 用户ID
+     */
+    public void invalidateUserPermissions(String tenantId, String userId) {
+        if (rbacValidator instanceof RbacValidator) {
+            ((RbacValidator) rbacValidator).invalidateIndex(tenantId, userId);
+        }
+    }
+    
+    /**
+     * 清除所有用户的RBAC权限索引，角色或权限定义变更后调用
+     */
+    public void invalidateAllPermissions() {
+        if (rbacValidator instanceof RbacValidator) {
+            ((RbacValidator) rbacValidator).invalidateAll();
+        }
+    }
+    
     // ==================== 用户权限管理 ====================
     
     @Override
@@ -0,0 +1,168 @@
+package com.aixone.permission.sql;
+
+import com.aixone.permission.model.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 数据权限范围
+ * 结构化描述“某列取值属于某集合”，与具体的SQL文本无关，
+ * 可由 {@link SqlConditionRenderer} 渲染为带绑定参数的SQL片段，或由 {@link DataScopeSpecification} 转为JPA条件
+ *
+ * @author aixone
+ */
+public final class DataScope {
+
+    /**
+     * 范围类型
+     */
+    public enum Type {
+        /**
+         * 不限制
+         */
+        ALL,
+
+        /**
+         * 无任何数据
+         */
+        NONE,
+
+        /**
+         * 列值属于给定集合（单值时等价于等于）
+         */
+        IN
+    }
+
+    private static final Pattern COLUMN_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    private static final DataScope ALL = new DataScope(Type.ALL, null, Collections.emptyList());
+    private static final DataScope NONE = new DataScope(Type.NONE, null, Collections.emptyList());
+
+    private final Type type;
+    private final String column;
+    private final List<Object> values;
+
+    private DataScope(Type type, String column, List<Object> values) {
+        this.type = type;
+        this.column = column;
+        this.values = values;
+    }
+
+    public static DataScope all() {
+        return ALL;
+    }
+
+    public static DataScope none() {
+        return NONE;
+    }
+
+    /**
+     * 列值等于指定值
+     *
+     * @param column 列名，只允许字母、数字、下划线及一级限定名
+     * @param value 值，为null时返回无数据范围
+     * @return 数据范围
+     */
+    public static DataScope eq(String column, Object value) {
+        checkColumn(column);
+        if (value == null) {
+            return NONE;
+        }
+        return new DataScope(Type.IN, column, Collections.singletonList(value));
+    }
+
+    /**
+     * 列值属于指定集合，重复值和null会被去除，保持原有顺序
+     *
+     * @param column 列名，只允许字母、数字、下划线及一级限定名
+     * @param values 值集合，为空时返回无数据范围
+     * @return 数据范围
+     */
+    public static DataScope in(String column, Collection<?> values) {
+        checkColumn(column);
+        if (values == null || values.isEmpty()) {
+            return NONE;
+        }
+        Set<Object> distinct = new LinkedHashSet<>(values);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            return NONE;
+        }
+        return new DataScope(Type.IN, column, Collections.unmodifiableList(new ArrayList<>(distinct)));
+    }
+
+    /**
+     * 本人数据范围：user_id = 当前用户ID
+     *
+     * @param user 用户
+     * @return 数据范围
+     */
+    public static DataScope forSelf(User user) {
+        if (user == null || user.getUserId() == null) {
+            return NONE;
+        }
+        return eq("user_id", user.getUserId());
+    }
+
+    /**
+     * 部门数据范围：dept_id 属于用户的部门集合
+     * 合并用户属性 deptId（所属部门）、deptIds（兼任部门）与 subDeptIds（下级部门子树）
+     *
+     * @param user 用户
+     * @return 数据范围
+     */
+    public static DataScope forDepartment(User user) {
+        if (user == null || user.getAttributes() == null) {
+            return NONE;
+        }
+        Set<Object> deptIds = new LinkedHashSet<>();
+        addAll(deptIds, user.getAttributes().get("deptId"));
+        addAll(deptIds, user.getAttributes().get("deptIds"));
+        addAll(deptIds, user.getAttributes().get("subDeptIds"));
+        return in("dept_id", deptIds);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case ALL:
+                return "DataScope{ALL}";
+            case NONE:
+                return "DataScope{NONE}";
+            default:
+                return "DataScope{" + column + " IN " + values + "}";
+        }
+    }
+
+    private static void addAll(Set<Object> target, Object value) {
+        if (value instanceof Collection) {
+            target.addAll((Collection<?>) value);
+        } else if (value != null) {
+            target.add(value);
+        }
+    }
+
+    private static void checkColumn(String column) {
+        if (column == null || !COLUMN_PATTERN.matcher(column).matches()) {
+            throw new IllegalArgumentException("非法的数据权限列名: " + column);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.aixone.permission.sql;
+
+import com.aixone.permission.context.PermissionContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * 数据权限范围的JPA适配
+ * 将 {@link DataScope} 转为 {@link Specification}，值通过条件参数绑定，不拼接SQL；
+ * IN 列表与 {@link SqlConditionRenderer} 一样补齐到固定形状，减少查询计划数量
+ *
+ * <pre>
+ * userJpaRepository.findAll(spec.and(DataScopeSpecification.current()), pageable);
+ * </pre>
+ *
+ * @param <T> 实体类型
+ * @author aixone
+ */
+public class DataScopeSpecification<T> implements Specification<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final DataScope scope;
+    private final String attributePath;
+
+    private DataScopeSpecification(DataScope scope, String attributePath) {
+        this.scope = scope;
+        this.attributePath = attributePath;
+    }
+
+    /**
+     * 按列名推导实体属性（dept_id → deptId）
+     *
+     * @param scope 数据范围
+     * @return JPA条件
+     */
+    public static <T> DataScopeSpecification<T> of(DataScope scope) {
+        String column = scope != null ? scope.getColumn() : null;
+        return new DataScopeSpecification<>(scope, column != null ? toAttributePath(column) : null);
+    }
+
+    /**
+     * 指定实体属性路径，支持一级关联，如 department.id
+     *
+     * @param scope 数据范围
+     * @param attributePath 实体属性路径
+     * @return JPA条件
+     */
+    public static <T> DataScopeSpecification<T> of(DataScope scope, String attributePath) {
+        return new DataScopeSpecification<>(scope, attributePath);
+    }
+
+    /**
+     * 当前 @DataPermission 方法的数据范围；不在数据权限方法内时不做限制
+     *
+     * @return JPA条件
+     * @throws IllegalStateException 当前处理器只提供字符串条件，无法转为JPA条件
+     */
+    public static <T> DataScopeSpecification<T> current() {
+        DataScope current = PermissionContext.getDataScope();
+        if (current == null && PermissionContext.getDataCondition() != null) {
+            throw new IllegalStateException("当前数据权限处理器不支持结构化范围，无法转为JPA条件");
+        }
+        return of(current != null ? current : DataScope.all());
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (scope == null || scope.getType() == DataScope.Type.NONE) {
+            return cb.disjunction();
+        }
+        if (scope.getType() == DataScope.Type.ALL) {
+            return cb.conjunction();
+        }
+        Path<Object> path = resolve(root, attributePath);
+        List<Object> values = scope.getValues();
+        if (values.size() == 1) {
+            return cb.equal(path, values.get(0));
+        }
+        return path.in(SqlConditionRenderer.padToBucket(values));
+    }
+
+    public DataScope getScope() {
+        return scope;
+    }
+
+    public String getAttributePath() {
+        return attributePath;
+    }
+
+    static String toAttributePath(String column) {
+        StringBuilder sb = new StringBuilder(column.length());
+        boolean upper = false;
+        for (int i = 0; i < column.length(); i++) {
+            char c = column.charAt(i);
+            if (c == '_') {
+                upper = sb.length() > 0 && sb.charAt(sb.length() - 1) != '.';
+            } else {
+                sb.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Path<Object> resolve(Root<?> root, String attributePath) {
+        Path<Object> path = null;
+        for (String part : attributePath.split("\\.")) {
+            path = path == null ? root.get(part) : path.get(part);
+        }
+        return path;
+    }
+}
@@ -5,13 +5,16 @@ import com.aixone.permission.model.Resource;
 
 /**
  * 部门数据权限SQL生成器
- * 生成按部门过滤的SQL条件
+ * 生成按部门（含兼任部门和下级部门）过滤的SQL条件
  */
 public class DeptSqlConditionBuilder implements SqlConditionBuilder {
     @Override
     public String build(User user, Resource resource, String dataType) {
-        Object deptId = user.getAttributes() != null ? user.getAttributes().get("deptId") : null;
-        if (deptId == null) return "1=0";
-        return "dept_id = '" + deptId + "'";
+        return SqlConditionRenderer.renderInline(resolveScope(user, resource, dataType));
     }
-} 
\ No newline at end of file
+
+    @Override
+    public DataScope resolveScope(User user, Resource resource, String dataType) {
+        return DataScope.forDepartment(user);
+    }
+}
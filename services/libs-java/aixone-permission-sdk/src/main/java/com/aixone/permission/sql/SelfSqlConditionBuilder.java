@@ -10,7 +10,11 @@ import com.aixone.permission.model.Resource;
 public class SelfSqlConditionBuilder implements SqlConditionBuilder {
     @Override
     public String build(User user, Resource resource, String dataType) {
-        if (user.getUserId() == null) return "1=0";
-        return "user_id = '" + user.getUserId() + "'";
+        return SqlConditionRenderer.renderInline(resolveScope(user, resource, dataType));
     }
-} 
\ No newline at end of file
+
+    @Override
+    public DataScope resolveScope(User user, Resource resource, String dataType) {
+        return DataScope.forSelf(user);
+    }
+}
@@ -0,0 +1,61 @@
+package com.aixone.permission.sql;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 带绑定参数的SQL条件片段
+ * 片段中只包含列名和 ? 占位符，值全部通过参数绑定，按位置与 {@link #getParameters()} 对应
+ *
+ * @author aixone
+ */
+public final class SqlCondition {
+
+    /**
+     * 恒真条件
+     */
+    public static final SqlCondition ALWAYS_TRUE = new SqlCondition("1=1", Collections.emptyList());
+
+    /**
+     * 恒假条件
+     */
+    public static final SqlCondition ALWAYS_FALSE = new SqlCondition("1=0", Collections.emptyList());
+
+    private final String sql;
+    private final List<Object> parameters;
+
+    SqlCondition(String sql, List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    /**
+     * 包装不带参数的SQL片段，仅用于兼容自定义处理器返回的字符串条件
+     *
+     * @param sql SQL片段，为空时视为恒真
+     * @return SQL条件
+     */
+    public static SqlCondition literal(String sql) {
+        if (sql == null || sql.trim().isEmpty()) {
+            return ALWAYS_TRUE;
+        }
+        return new SqlCondition(sql, Collections.emptyList());
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    public Object[] getParameterArray() {
+        return parameters.toArray();
+    }
+
+    @Override
+    public String toString() {
+        return parameters.isEmpty() ? sql : sql + " " + parameters;
+    }
+}
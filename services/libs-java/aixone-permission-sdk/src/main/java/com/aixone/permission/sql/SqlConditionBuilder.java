@@ -9,11 +9,35 @@ import com.aixone.permission.model.Resource;
  */
 public interface SqlConditionBuilder {
     /**
-     * 生成SQL条件
+     * 生成SQL条件（内联字面量，兼容旧调用方）
+     * 新代码应使用 {@link #buildSqlCondition(User, Resource, String)} 获取带绑定参数的条件
      * @param user 用户对象
      * @param resource 资源对象
      * @param dataType 数据权限类型
      * @return SQL条件片段
      */
     String build(User user, Resource resource, String dataType);
-} 
\ No newline at end of file
+
+    /**
+     * 解析结构化的数据权限范围
+     * @param user 用户对象
+     * @param resource 资源对象
+     * @param dataType 数据权限类型
+     * @return 数据范围，不支持结构化范围的生成器返回null
+     */
+    default DataScope resolveScope(User user, Resource resource, String dataType) {
+        return null;
+    }
+
+    /**
+     * 生成带绑定参数的SQL条件
+     * @param user 用户对象
+     * @param resource 资源对象
+     * @param dataType 数据权限类型
+     * @return SQL条件
+     */
+    default SqlCondition buildSqlCondition(User user, Resource resource, String dataType) {
+        DataScope scope = resolveScope(user, resource, dataType);
+        return scope != null ? SqlConditionRenderer.render(scope) : SqlCondition.literal(build(user, resource, dataType));
+    }
+}
@@ -0,0 +1,156 @@
+package com.aixone.permission.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 数据权限SQL渲染器
+ *
+ * 将 {@link DataScope} 渲染为带绑定参数的SQL片段。IN 列表长度向上取整到2的幂（1、2、4 … 1024），
+ * 不足部分重复最后一个值补齐，使同一列只会产生少量固定形状的语句，
+ * 便于数据库与JDBC驱动复用预编译语句；每种“列 + 形状”的片段只生成一次并缓存。
+ * 超过1024个值时按1024分组，以 OR 连接。
+ *
+ * @author aixone
+ */
+public final class SqlConditionRenderer {
+
+    /**
+     * 单个 IN 列表的最大参数个数
+     */
+    public static final int MAX_IN_BUCKET = 1024;
+
+    private static final ConcurrentMap<String, String> PLANS = new ConcurrentHashMap<>();
+
+    private SqlConditionRenderer() {
+    }
+
+    /**
+     * 渲染为带绑定参数的SQL条件
+     *
+     * @param scope 数据范围，为null时视为无数据
+     * @return SQL条件
+     */
+    public static SqlCondition render(DataScope scope) {
+        if (scope == null || scope.getType() == DataScope.Type.NONE) {
+            return SqlCondition.ALWAYS_FALSE;
+        }
+        if (scope.getType() == DataScope.Type.ALL) {
+            return SqlCondition.ALWAYS_TRUE;
+        }
+        List<Object> values = scope.getValues();
+        if (values.size() <= MAX_IN_BUCKET) {
+            int bucket = bucketSize(values.size());
+            return new SqlCondition(plan(scope.getColumn(), bucket), Collections.unmodifiableList(pad(values, bucket)));
+        }
+        StringBuilder sql = new StringBuilder("(");
+        List<Object> parameters = new ArrayList<>(values.size() + MAX_IN_BUCKET);
+        for (int from = 0; from < values.size(); from += MAX_IN_BUCKET) {
+            List<Object> chunk = values.subList(from, Math.min(values.size(), from + MAX_IN_BUCKET));
+            int bucket = bucketSize(chunk.size());
+            if (from > 0) {
+                sql.append(" OR ");
+            }
+            sql.append(plan(scope.getColumn(), bucket));
+            parameters.addAll(pad(chunk, bucket));
+        }
+        return new SqlCondition(sql.append(')').toString(), Collections.unmodifiableList(parameters));
+    }
+
+    /**
+     * 渲染为内联字面量的SQL条件（兼容旧的字符串接口）
+     * 值一律按字符串字面量输出，单引号按SQL标准加倍转义，仅用于无法使用参数绑定的旧调用方
+     *
+     * @param scope 数据范围，为null时视为无数据
+     * @return SQL片段
+     */
+    public static String renderInline(DataScope scope) {
+        if (scope == null || scope.getType() == DataScope.Type.NONE) {
+            return SqlCondition.ALWAYS_FALSE.getSql();
+        }
+        if (scope.getType() == DataScope.Type.ALL) {
+            return SqlCondition.ALWAYS_TRUE.getSql();
+        }
+        List<Object> values = scope.getValues();
+        if (values.size() == 1) {
+            return scope.getColumn() + " = " + literal(values.get(0));
+        }
+        StringBuilder sql = new StringBuilder(scope.getColumn()).append(" IN (");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(literal(values.get(i)));
+        }
+        return sql.append(')').toString();
+    }
+
+    /**
+     * 将值列表补齐到对应的形状长度，供JPA等需要保持参数个数稳定的场景使用
+     *
+     * @param values 值列表
+     * @return 补齐后的列表
+     */
+    public static List<Object> padToBucket(List<Object> values) {
+        if (values.isEmpty() || values.size() > MAX_IN_BUCKET) {
+            return values;
+        }
+        return pad(values, bucketSize(values.size()));
+    }
+
+    /**
+     * 已缓存的片段数量
+     *
+     * @return 片段数量
+     */
+    public static int planCount() {
+        return PLANS.size();
+    }
+
+    static int bucketSize(int size) {
+        if (size <= 1) {
+            return 1;
+        }
+        return Math.min(MAX_IN_BUCKET, Integer.highestOneBit(size - 1) << 1);
+    }
+
+    private static String plan(String column, int bucket) {
+        String key = column + '#' + bucket;
+        String plan = PLANS.get(key);
+        if (plan == null) {
+            plan = PLANS.computeIfAbsent(key, k -> buildPlan(column, bucket));
+        }
+        return plan;
+    }
+
+    private static String buildPlan(String column, int bucket) {
+        if (bucket == 1) {
+            return column + " = ?";
+        }
+        StringBuilder sql = new StringBuilder(column.length() + 6 + bucket * 3).append(column).append(" IN (?");
+        for (int i = 1; i < bucket; i++) {
+            sql.append(", ?");
+        }
+        return sql.append(')').toString();
+    }
+
+    private static List<Object> pad(List<Object> values, int bucket) {
+        if (values.size() == bucket) {
+            return values;
+        }
+        List<Object> padded = new ArrayList<>(bucket);
+        padded.addAll(values);
+        Object last = values.get(values.size() - 1);
+        while (padded.size() < bucket) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    private static String literal(Object value) {
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+}
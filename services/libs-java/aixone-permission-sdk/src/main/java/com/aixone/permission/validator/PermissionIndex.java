@@ -0,0 +1,238 @@
+package com.aixone.permission.validator;
+
+import com.aixone.permission.model.Permission;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 用户权限索引
+ * 由用户的权限列表一次性构建，匹配语义与 {@link Permission#matches(String, String)} 一致：
+ * <ul>
+ *     <li>不含 * 段的资源进入精确表，resource → actions 一次哈希查找</li>
+ *     <li>含 * 段的资源进入按 . 分段的前缀树，中间的 * 匹配任意一段，末尾的 * 匹配其后一段或多段</li>
+ *     <li>操作为 * 的授权匹配该资源上的任意操作（如 order:*）</li>
+ * </ul>
+ * 构建后只读，可在多线程间共享。
+ *
+ * @author aixone
+ */
+public final class PermissionIndex {
+
+    /**
+     * 空索引
+     */
+    public static final PermissionIndex EMPTY = new PermissionIndex(new HashMap<>(), null, new HashSet<>(), 0);
+
+    /**
+     * 精确资源 → 操作集合
+     */
+    private final Map<String, Set<String>> exact;
+
+    /**
+     * 通配资源前缀树，没有通配授权时为null
+     */
+    private final Node wildcardRoot;
+
+    /**
+     * 权限ID集合
+     */
+    private final Set<String> permissionIds;
+
+    private final int size;
+
+    private PermissionIndex(Map<String, Set<String>> exact, Node wildcardRoot, Set<String> permissionIds, int size) {
+        this.exact = exact;
+        this.wildcardRoot = wildcardRoot;
+        this.permissionIds = permissionIds;
+        this.size = size;
+    }
+
+    /**
+     * 由权限列表构建索引，资源或操作为空的权限会被忽略
+     *
+     * @param permissions 权限列表
+     * @return 权限索引
+     */
+    public static PermissionIndex build(Collection<Permission> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Set<String>> exact = new HashMap<>();
+        Node root = null;
+        Set<String> permissionIds = new HashSet<>();
+        int size = 0;
+        for (Permission permission : permissions) {
+            if (permission != null && permission.getPermissionId() != null) {
+                permissionIds.add(permission.getPermissionId());
+            }
+            if (permission == null || permission.getResource() == null || permission.getAction() == null) {
+                continue;
+            }
+            String resource = permission.getResource();
+            String action = permission.getAction();
+            if (hasWildcardSegment(resource)) {
+                if (root == null) {
+                    root = new Node();
+                }
+                root.insert(resource, action);
+            } else {
+                exact.computeIfAbsent(resource, k -> new HashSet<>(4)).add(action);
+            }
+            size++;
+        }
+        return new PermissionIndex(exact, root, permissionIds, size);
+    }
+
+    /**
+     * 检查索引中是否有匹配指定资源和操作的授权
+     *
+     * @param resource 资源标识
+     * @param action 操作类型
+     * @return 是否匹配
+     */
+    public boolean matches(String resource, String action) {
+        if (resource == null || action == null) {
+            return false;
+        }
+        Set<String> actions = exact.get(resource);
+        if (actions != null && containsAction(actions, action)) {
+            return true;
+        }
+        return wildcardRoot != null && wildcardRoot.matches(resource, 0, action);
+    }
+
+    /**
+     * 检查索引中是否包含指定权限ID
+     *
+     * @param permissionId 权限ID
+     * @return 是否包含
+     */
+    public boolean containsPermissionId(String permissionId) {
+        return permissionId != null && permissionIds.contains(permissionId);
+    }
+
+    /**
+     * 获取索引中的有效授权数量
+     *
+     * @return 授权数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 是否为空索引
+     *
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return size == 0 && permissionIds.isEmpty();
+    }
+
+    private static boolean containsAction(Set<String> actions, String action) {
+        return actions != null && (actions.contains(action) || actions.contains(Permission.WILDCARD));
+    }
+
+    private static boolean hasWildcardSegment(String resource) {
+        int from = 0;
+        while (true) {
+            int end = resource.indexOf('.', from);
+            if (end < 0) {
+                end = resource.length();
+            }
+            if (end - from == 1 && resource.charAt(from) == '*') {
+                return true;
+            }
+            if (end == resource.length()) {
+                return false;
+            }
+            from = end + 1;
+        }
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        /**
+         * 中间 * 段对应的子节点
+         */
+        private Node anyChild;
+
+        /**
+         * 资源在此节点结束的授权操作
+         */
+        private Set<String> terminalActions;
+
+        /**
+         * 末尾 * 段的授权操作，匹配此节点之后的一段或多段
+         */
+        private Set<String> deepActions;
+
+        void insert(String resource, String action) {
+            Node node = this;
+            int from = 0;
+            while (true) {
+                int end = resource.indexOf('.', from);
+                boolean last = end < 0;
+                if (last) {
+                    end = resource.length();
+                }
+                String segment = resource.substring(from, end);
+                if (Permission.WILDCARD.equals(segment)) {
+                    if (last) {
+                        if (node.deepActions == null) {
+                            node.deepActions = new HashSet<>(4);
+                        }
+                        node.deepActions.add(action);
+                        return;
+                    }
+                    if (node.anyChild == null) {
+                        node.anyChild = new Node();
+                    }
+                    node = node.anyChild;
+                } else {
+                    node = node.children.computeIfAbsent(segment, k -> new Node());
+                }
+                if (last) {
+                    if (node.terminalActions == null) {
+                        node.terminalActions = new HashSet<>(4);
+                    }
+                    node.terminalActions.add(action);
+                    return;
+                }
+                from = end + 1;
+            }
+        }
+
+        /**
+         * 从 from 位置开始匹配剩余资源段，from 超过资源长度表示所有段已消费
+         */
+        boolean matches(String resource, int from, String action) {
+            if (from > resource.length()) {
+                return containsAction(terminalActions, action);
+            }
+            if (containsAction(deepActions, action)) {
+                return true;
+            }
+            int end = resource.indexOf('.', from);
+            if (end < 0) {
+                end = resource.length();
+            }
+            if (!children.isEmpty()) {
+                Node child = children.get(resource.substring(from, end));
+                if (child != null && child.matches(resource, end + 1, action)) {
+                    return true;
+                }
+            }
+            return anyChild != null && anyChild.matches(resource, end + 1, action);
+        }
+    }
+}
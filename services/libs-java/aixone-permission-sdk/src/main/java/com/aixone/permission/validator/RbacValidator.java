@@ -1,5 +1,6 @@
 package com.aixone.permission.validator;
 
+import com.aixone.permission.cache.impl.SegmentedLruCache;
 import com.aixone.permission.model.User;
 import com.aixone.permission.model.Permission;
 import com.aixone.permission.model.Resource;
@@ -8,21 +9,58 @@ import com.aixone.permission.provider.UserPermissionProvider;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.LongSupplier;
 
 /**
  * RBAC权限校验器
  * 基于角色权限校验
  * 
+ * 用户权限列表会构建为 {@link PermissionIndex} 并按租户和用户缓存，命中时不再调用提供者。
+ * 索引最多陈旧 indexExpireMillis；权限变更后可调用 {@link #invalidateIndex(String, String)}
+ * 或 {@link #invalidateAll()} 立即生效。
+ * 
  * @author aixone
  */
 @Slf4j
 public class RbacValidator implements PermissionValidator {
     
+    /**
+     * 默认索引缓存容量
+     */
+    public static final int DEFAULT_INDEX_CACHE_SIZE = 10000;
+    
+    /**
+     * 默认索引缓存过期时间（1分钟），即权限变更未主动失效时的最大陈旧时间
+     */
+    public static final long DEFAULT_INDEX_EXPIRE_MILLIS = 60 * 1000L;
+    
     private final UserPermissionProvider userPermissionProvider;
     
+    /**
+     * 用户权限索引缓存，key 为 tenantId:userId
+     */
+    private final SegmentedLruCache<PermissionIndex> indexCache;
+    
     public RbacValidator(UserPermissionProvider userPermissionProvider) {
+        this(userPermissionProvider, DEFAULT_INDEX_CACHE_SIZE, DEFAULT_INDEX_EXPIRE_MILLIS);
+    }
+    
+    /**
+     * 构造函数
+     * 
+     * @param userPermissionProvider 用户权限提供者
+     * @param indexCacheSize 索引缓存容量
+     * @param indexExpireMillis 索引缓存过期时间（毫秒）
+     */
+    public RbacValidator(UserPermissionProvider userPermissionProvider, long indexCacheSize, long indexExpireMillis) {
+        this(userPermissionProvider, indexCacheSize, indexExpireMillis, System::currentTimeMillis);
+    }
+    
+    RbacValidator(UserPermissionProvider userPermissionProvider, long indexCacheSize, long indexExpireMillis,
+                  LongSupplier clock) {
         this.userPermissionProvider = userPermissionProvider;
+        this.indexCache = new SegmentedLruCache<>("rbac_permission_index", indexCacheSize, indexExpireMillis, clock);
     }
     
     @Override
@@ -33,18 +71,16 @@ public class RbacValidator implements PermissionValidator {
         }
         
         try {
-            // 1. 获取用户权限列表
-            List<Permission> userPermissions = userPermissionProvider.getUserPermissions(
-                user.getTenantId(), user.getUserId());
+            // 1. 获取用户权限索引
+            PermissionIndex index = getPermissionIndex(user);
             
-            if (userPermissions == null || userPermissions.isEmpty()) {
+            if (index.isEmpty()) {
                 log.debug("用户 {} 没有权限", user.getUserId());
                 return false;
             }
             
             // 2. 检查是否有匹配的权限
-            boolean hasPermission = userPermissions.stream()
-                .anyMatch(userPerm -> userPerm.matches(permission.getResource(), permission.getAction()));
+            boolean hasPermission = index.matches(permission.getResource(), permission.getAction());
             
             if (hasPermission) {
                 log.debug("用户 {} 具有权限 {}.{}", user.getUserId(), permission.getResource(), permission.getAction());
@@ -74,15 +110,7 @@ public class RbacValidator implements PermissionValidator {
         }
         
         try {
-            List<Permission> userPermissions = userPermissionProvider.getUserPermissions(
-                user.getTenantId(), user.getUserId());
-            
-            if (userPermissions == null || userPermissions.isEmpty()) {
-                return false;
-            }
-            
-            return userPermissions.stream()
-                .anyMatch(permission -> permission.matches(resource, action));
+            return getPermissionIndex(user).matches(resource, action);
                 
         } catch (Exception e) {
             log.error("RBAC权限校验异常", e);
@@ -90,6 +118,26 @@ public class RbacValidator implements PermissionValidator {
         }
     }
     
+    /**
+     * 检查用户是否具有指定ID的权限
+     * 
+     * @param user 用户
+     * @param permissionId 权限ID
+     * @return 是否有权限
+     */
+    public boolean hasPermissionId(User user, String permissionId) {
+        if (user == null || permissionId == null) {
+            return false;
+        }
+        
+        try {
+            return getPermissionIndex(user).containsPermissionId(permissionId);
+        } catch (Exception e) {
+            log.error("RBAC权限校验异常", e);
+            return false;
+        }
+    }
+    
     /**
      * 检查用户是否具有指定角色的权限
      * 
@@ -104,7 +152,7 @@ public class RbacValidator implements PermissionValidator {
         
         try {
             List<Role> userRoles = userPermissionProvider.getUserRoles(
-                user.getTenantId(), user.getUserId());
+                user.getUserId(), user.getTenantId());
             
             if (userRoles == null || userRoles.isEmpty()) {
                 return false;
@@ -118,4 +166,46 @@ public class RbacValidator implements PermissionValidator {
             return false;
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 获取用户权限索引
+     * 缓存命中时直接返回；未命中或过期时向提供者获取权限列表并构建索引，没有权限的用户同样缓存空索引
+     * 
+     * @param user 用户
+     * @return 权限索引
+     */
+    public PermissionIndex getPermissionIndex(User user) {
+        return indexCache.get(user.getTenantId() + ":" + user.getUserId(), key -> {
+            List<Permission> userPermissions = userPermissionProvider.getUserPermissions(
+                user.getUserId(), user.getTenantId());
+            return userPermissions == null || userPermissions.isEmpty()
+                ? PermissionIndex.EMPTY : PermissionIndex.build(userPermissions);
+        });
+    }
+    
+    /**
+     * 清除指定用户的权限索引
+     * 
+     * @param tenantId 租户ID
+     * @param userId 用户ID
+     */
+    public void invalidateIndex(String tenantId, String userId) {
+        indexCache.invalidate(tenantId + ":" + userId);
+    }
+    
+    /**
+     * 清除所有用户的权限索引，角色或权限定义变更后调用
+     */
+    public void invalidateAll() {
+        indexCache.invalidateAll();
+    }
+    
+    /**
+     * 获取权限索引缓存统计信息
+     * 
+     * @return 缓存统计
+     */
+    public Map<String, Object> getIndexCacheStats() {
+        return indexCache.stats();
+    }
+}
@@ -0,0 +1,151 @@
+package com.aixone.permission.abac;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AbacExpressionUtil 单元测试
+ *
+ * @author aixone
+ */
+@DisplayName("AbacExpressionUtil 单元测试")
+class AbacExpressionUtilTest {
+
+    private AbacExpressionUtil util;
+    private Map<String, Object> context;
+
+    @BeforeEach
+    void setUp() {
+        util = new AbacExpressionUtil(16);
+        context = new HashMap<>();
+        context.put("user.dept", "d1");
+        context.put("resource.dept", "d1");
+        context.put("user.level", 3);
+        context.put("user.groups", Arrays.asList("g1", "g2"));
+        context.put("time", "10:30");
+        context.put("flag", true);
+    }
+
+    @Nested
+    @DisplayName("表达式评估测试")
+    class EvaluateTests {
+
+        @ParameterizedTest(name = "{0} => {1}")
+        @CsvSource(delimiter = ';', quoteCharacter = '"', value = {
+                "user.dept == resource.dept ; true",
+                "user.dept != resource.dept ; false",
+                "user.level >= 3 AND user.level < 5 ; true",
+                "user.level > 3 || user.dept == 'd1' ; true",
+                "NOT (user.level > 3) ; true",
+                "!flag ; false",
+                "user.level IN [1, 2, 3] ; true",
+                "user.level IN '1,2' ; false",
+                "'g2' IN user.groups ; true",
+                "user.dept IN ('d1', 'd2') and time > '09:00' ; true",
+                "user.missing == null ; false",
+                "user.level == 3.0 ; true",
+                "(user.level == 1 OR user.level == 3) AND flag ; true"
+        })
+        @DisplayName("应该正确评估表达式")
+        void shouldEvaluateExpressions(String expression, boolean expected) {
+            assertEquals(expected, util.evaluate(expression, context));
+        }
+
+        @Test
+        @DisplayName("AND应该优先于OR")
+        void shouldBindAndTighterThanOr() {
+            // a OR (b AND c)：a为真时整体为真
+            assertTrue(util.evaluate("flag OR user.level == 1 AND user.dept == 'x'", context));
+        }
+
+        @Test
+        @DisplayName("空表达式应该返回true")
+        void shouldReturnTrueForEmptyExpression() {
+            assertTrue(util.evaluate("", context));
+            assertTrue(util.evaluate(null, context));
+        }
+
+        @Test
+        @DisplayName("语法错误的表达式应该返回false")
+        void shouldReturnFalseForInvalidExpression() {
+            assertFalse(util.evaluate("user.level ==", context));
+            assertFalse(util.evaluate("user.level == 1 == 1", context));
+            assertFalse(util.evaluate("(flag", context));
+        }
+    }
+
+    @Nested
+    @DisplayName("编译缓存测试")
+    class CompileCacheTests {
+
+        @Test
+        @DisplayName("相同源文本应该复用已编译表达式")
+        void shouldReuseCompiledExpression() {
+            // When
+            AbacExpression first = util.compile("user.level > 1");
+            AbacExpression second = util.compile("user.level > 1");
+
+            // Then
+            assertSame(first, second);
+            assertEquals(1L, util.getCacheStats().get("loadCount"));
+            assertEquals(1L, util.getCacheStats().get("hitCount"));
+        }
+
+        @Test
+        @DisplayName("缓存应该有容量上限")
+        void shouldBoundCacheSize() {
+            // When
+            for (int i = 0; i < 100; i++) {
+                util.compile("user.level == " + i);
+            }
+
+            // Then
+            assertEquals(16L, util.getCacheStats().get("size"));
+        }
+
+        @Test
+        @DisplayName("语法错误应该在编译期抛出带位置的异常")
+        void shouldReportParsePosition() {
+            AbacExpressionException e = assertThrows(AbacExpressionException.class,
+                    () -> AbacParser.parse("user.level # 1"));
+            assertEquals(11, e.getPosition());
+        }
+    }
+
+    @Nested
+    @DisplayName("静态入口测试")
+    class StaticEntryTests {
+
+        @Test
+        @DisplayName("应该按作用域读取用户和资源属性")
+        void shouldResolveScopedAttributes() {
+            // Given
+            Map<String, Object> userAttr = Collections.singletonMap("dept", "d1");
+            Map<String, Object> resAttr = Collections.singletonMap("dept", "d1");
+
+            // Then
+            assertTrue(AbacExpressionUtil.evaluate("user.dept == resource.dept", userAttr, resAttr, null));
+            assertFalse(AbacExpressionUtil.evaluate("user.dept == resource.dept", userAttr,
+                    Collections.singletonMap("dept", "d2"), Collections.emptyMap()));
+        }
+
+        @Test
+        @DisplayName("上下文中的同名键应该覆盖作用域属性")
+        void shouldPreferContextValues() {
+            // Given
+            Map<String, Object> userAttr = Collections.singletonMap("dept", "d1");
+            Map<String, Object> ctx = Collections.singletonMap("user.dept", "d9");
+
+            // Then
+            assertTrue(AbacExpressionUtil.evaluate("user.dept == 'd9'", userAttr, null, ctx));
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.aixone.permission.aspect;
+
+import com.aixone.common.exception.ForbiddenException;
+import com.aixone.common.exception.UnauthorizedException;
+import com.aixone.permission.annotation.DataPermission;
+import com.aixone.permission.annotation.RequireAbac;
+import com.aixone.permission.annotation.RequirePermission;
+import com.aixone.permission.annotation.RequireRole;
+import com.aixone.permission.context.PermissionContext;
+import com.aixone.permission.handler.DataPermissionHandler;
+import com.aixone.permission.model.Permission;
+import com.aixone.permission.model.Resource;
+import com.aixone.permission.model.Role;
+import com.aixone.permission.model.User;
+import com.aixone.permission.provider.UserPermissionProvider;
+import com.aixone.permission.service.impl.DefaultPermissionService;
+import com.aixone.permission.sql.SqlCondition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PermissionAspect 单元测试
+ * 使用普通Spring上下文与内存版用户权限提供者
+ *
+ * @author aixone
+ */
+@DisplayName("PermissionAspect 单元测试")
+class PermissionAspectTest {
+
+    private AnnotationConfigApplicationContext applicationContext;
+    private FakeUserPermissionProvider provider;
+    private OrderService orderService;
+    private ReportService reportService;
+    private PermissionAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        applicationContext = new AnnotationConfigApplicationContext(TestConfig.class);
+        provider = applicationContext.getBean(FakeUserPermissionProvider.class);
+        orderService = applicationContext.getBean(OrderService.class);
+        reportService = applicationContext.getBean(ReportService.class);
+        aspect = applicationContext.getBean(PermissionAspect.class);
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("dept", "d1");
+        attributes.put("level", 3);
+        attributes.put("deptId", "d1");
+        PermissionContext.setUser(new User("u1", "t1", "alice", attributes));
+    }
+
+    @AfterEach
+    void tearDown() {
+        PermissionContext.clear();
+        applicationContext.close();
+    }
+
+    @Nested
+    @DisplayName("权限注解测试")
+    class RequirePermissionTests {
+
+        @Test
+        @DisplayName("拥有通配授权时应该放行")
+        void shouldAllowWithWildcardGrant() {
+            // Given
+            provider.grant("u1", "order", "*");
+
+            // When & Then
+            assertEquals("order-1", orderService.read("order-1"));
+        }
+
+        @Test
+        @DisplayName("没有授权时应该拒绝并返回注解中的消息")
+        void shouldDenyWithoutGrant() {
+            // Given
+            provider.grant("u1", "order", "read");
+
+            // When
+            ForbiddenException e = assertThrows(ForbiddenException.class, () -> orderService.delete("order-1"));
+
+            // Then
+            assertEquals("无权删除订单", e.getMessage());
+        }
+
+        @Test
+        @DisplayName("应该支持按权限ID校验")
+        void shouldCheckPermissionId() {
+            // Given
+            Permission permission = new Permission();
+            permission.setPermissionId("order_export");
+            provider.grant("u1", permission);
+
+            // When & Then
+            assertEquals("exported", orderService.export());
+        }
+
+        @Test
+        @DisplayName("未登录时应该抛出未认证异常")
+        void shouldRejectAnonymousUser() {
+            // Given
+            PermissionContext.clear();
+
+            // When & Then
+            assertThrows(UnauthorizedException.class, () -> orderService.read("order-1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("角色注解测试")
+    class RequireRoleTests {
+
+        @Test
+        @DisplayName("ANY模式拥有任意角色即可")
+        void shouldAllowAnyRole() {
+            // Given
+            provider.assignRole("u1", "auditor");
+
+            // When & Then
+            assertEquals("report", reportService.view());
+        }
+
+        @Test
+        @DisplayName("ALL模式需要拥有全部角色")
+        void shouldRequireAllRoles() {
+            // Given
+            provider.assignRole("u1", "admin");
+
+            // When & Then
+            assertThrows(ForbiddenException.class, () -> reportService.purge());
+            provider.assignRole("u1", "auditor");
+            assertEquals("purged", reportService.purge());
+        }
+
+        @Test
+        @DisplayName("方法级注解应该覆盖类级注解")
+        void shouldPreferMethodAnnotation() {
+            // Given：类级要求 auditor/admin，方法级只要求 viewer
+            provider.assignRole("u1", "viewer");
+
+            // When & Then
+            assertEquals("summary", reportService.summary());
+            assertThrows(ForbiddenException.class, () -> reportService.view());
+        }
+    }
+
+    @Nested
+    @DisplayName("ABAC与数据权限注解测试")
+    class AbacAndDataPermissionTests {
+
+        @Test
+        @DisplayName("应该按用户属性和资源参数属性评估ABAC表达式")
+        void shouldEvaluateAbacAgainstResourceArgument() {
+            // When & Then
+            assertEquals("approved", orderService.approve(resource("d1")));
+            assertThrows(ForbiddenException.class, () -> orderService.approve(resource("d2")));
+        }
+
+        @Test
+        @DisplayName("方法执行期间应该可以读取数据权限条件，执行后恢复")
+        void shouldExposeDataConditionDuringInvocation() {
+            // When
+            SqlCondition condition = orderService.listMine();
+
+            // Then
+            assertEquals("user_id = ?", condition.getSql());
+            assertEquals(Collections.singletonList("u1"), condition.getParameters());
+            assertNull(PermissionContext.getDataCondition());
+            assertNull(PermissionContext.getDataScope());
+        }
+
+        @Test
+        @DisplayName("应该使用按名称注册的数据权限处理器")
+        void shouldUseNamedHandler() {
+            assertEquals("tenant_id = 't1'", orderService.listTenant().getSql());
+        }
+    }
+
+    @Nested
+    @DisplayName("元数据缓存测试")
+    class MetadataCacheTests {
+
+        @Test
+        @DisplayName("每个方法只应该解析一次注解")
+        void shouldResolveMetadataOncePerMethod() {
+            // Given
+            provider.grant("u1", "order", "*");
+
+            // When
+            for (int i = 0; i < 10; i++) {
+                orderService.read("order-" + i);
+                orderService.listMine();
+            }
+
+            // Then
+            assertEquals(2, aspect.cachedMethodCount());
+        }
+    }
+
+    private static Resource resource(String dept) {
+        Resource resource = new Resource();
+        resource.setResourceId("order-1");
+        resource.setType("order");
+        resource.setAttributes(Collections.singletonMap("dept", dept));
+        return resource;
+    }
+
+    // ==================== 测试配置 ====================
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    static class TestConfig {
+
+        @Bean
+        FakeUserPermissionProvider userPermissionProvider() {
+            return new FakeUserPermissionProvider();
+        }
+
+        @Bean
+        DefaultPermissionService defaultPermissionService(FakeUserPermissionProvider provider) {
+            return new DefaultPermissionService(provider);
+        }
+
+        @Bean
+        PermissionAspect permissionAspect(DefaultPermissionService permissionService) {
+            DataPermissionHandler tenantHandler = (user, resource) -> "tenant_id = '" + user.getTenantId() + "'";
+            return new PermissionAspect(permissionService, Collections.singletonMap("tenantHandler", tenantHandler));
+        }
+
+        @Bean
+        OrderService orderService() {
+            return new OrderService();
+        }
+
+        @Bean
+        ReportService reportService() {
+            return new ReportService();
+        }
+    }
+
+    static class OrderService {
+
+        @RequirePermission("order:read")
+        public String read(String orderId) {
+            return orderId;
+        }
+
+        @RequirePermission(value = "order", action = "delete", message = "无权删除订单")
+        public String delete(String orderId) {
+            return orderId;
+        }
+
+        @RequirePermission("order_export")
+        public String export() {
+            return "exported";
+        }
+
+        @RequireAbac(expression = "user.dept == resource.dept AND user.level >= 3")
+        public String approve(Resource order) {
+            return "approved";
+        }
+
+        @DataPermission(dataType = "self")
+        public SqlCondition listMine() {
+            return PermissionContext.getDataCondition();
+        }
+
+        @DataPermission(dataType = "tenant", handler = "tenantHandler")
+        public SqlCondition listTenant() {
+            return PermissionContext.getDataCondition();
+        }
+    }
+
+    @RequireRole("auditor,admin")
+    static class ReportService {
+
+        public String view() {
+            return "report";
+        }
+
+        @RequireRole(value = "admin,auditor", mode = RequireRole.Mode.ALL)
+        public String purge() {
+            return "purged";
+        }
+
+        @RequireRole("viewer")
+        public String summary() {
+            return "summary";
+        }
+    }
+
+    /**
+     * 内存版用户权限提供者，同一用户始终返回同一权限列表实例
+     */
+    static class FakeUserPermissionProvider implements UserPermissionProvider {
+
+        private final Map<String, List<Permission>> permissions = new HashMap<>();
+        private final Map<String, List<Role>> roles = new HashMap<>();
+
+        void grant(String userId, String resource, String action) {
+            Permission permission = new Permission();
+            permission.setPermissionId(resource + ":" + action);
+            permission.setResource(resource);
+            permission.setAction(action);
+            grant(userId, permission);
+        }
+
+        void grant(String userId, Permission permission) {
+            List<Permission> list = new ArrayList<>(permissions.getOrDefault(userId, Collections.emptyList()));
+            list.add(permission);
+            permissions.put(userId, list);
+        }
+
+        void assignRole(String userId, String roleName) {
+            Role role = new Role();
+            role.setRoleId(roleName);
+            role.setName(roleName);
+            roles.computeIfAbsent(userId, k -> new ArrayList<>()).add(role);
+        }
+
+        @Override
+        public List<Permission> getPermissions(User user) {
+            return getUserPermissions(user.getUserId());
+        }
+
+        @Override
+        public User getUser(String userId) {
+            return new User(userId, "t1", userId, new HashMap<>());
+        }
+
+        @Override
+        public List<Permission> getUserPermissions(String userId) {
+            return permissions.getOrDefault(userId, Collections.emptyList());
+        }
+
+        @Override
+        public List<Permission> getUserPermissions(String userId, String tenantId) {
+            return getUserPermissions(userId);
+        }
+
+        @Override
+        public List<Role> getUserRoles(String userId) {
+            return roles.getOrDefault(userId, Collections.emptyList());
+        }
+
+        @Override
+        public List<Role> getUserRoles(String userId, String tenantId) {
+            return getUserRoles(userId);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.aixone.permission.cache;
+
+import com.aixone.permission.cache.bus.InMemoryPermissionCacheMessageBus;
+import com.aixone.permission.cache.bus.PermissionCacheInvalidation;
+import com.aixone.permission.cache.bus.PermissionCacheMessageBus;
+import com.aixone.permission.cache.impl.DefaultPermissionCache;
+import com.aixone.permission.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DistributedPermissionCache 单元测试
+ * 在同一JVM中模拟多个节点：共享进程内Redis替身作为L2，通过进程内消息总线广播失效
+ *
+ * @author aixone
+ */
+@DisplayName("DistributedPermissionCache 单元测试")
+class DistributedPermissionCacheTest {
+
+    private static final long L1_TTL_MILLIS = 5_000L;
+
+    private AtomicLong clock;
+    private InMemoryRedisStandIn redis;
+    private InMemoryPermissionCacheMessageBus bus;
+    private DistributedPermissionCache nodeA;
+    private DistributedPermissionCache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0L);
+        redis = new InMemoryRedisStandIn(clock);
+        bus = new InMemoryPermissionCacheMessageBus();
+        nodeA = createNode("node-a", bus);
+        nodeB = createNode("node-b", bus);
+    }
+
+    @Nested
+    @DisplayName("近端缓存测试")
+    class NearCacheTests {
+
+        @Test
+        @DisplayName("L1命中时应该不访问L2")
+        void shouldServeFromLocalMemory() {
+            // Given
+            nodeA.putUserRoles("u1", Collections.singletonList(createRole("r1")));
+            nodeB.getUserRoles("u1");
+            redis.resetRoundTrips();
+
+            // When
+            for (int i = 0; i < 100; i++) {
+                assertEquals(1, nodeB.getUserRoles("u1").size());
+            }
+
+            // Then
+            assertEquals(0, redis.roundTrips());
+            assertEquals(100L, nodeB.getCacheStats().get("l1Hits"));
+        }
+
+        @Test
+        @DisplayName("L2未命中时应该返回空列表")
+        void shouldReturnEmptyListOnMiss() {
+            assertTrue(nodeA.getUserPermissions("missing").isEmpty());
+            assertNull(nodeA.getUser("missing"));
+        }
+
+        @Test
+        @DisplayName("L2中的空列表应该回填L1，未命中时不回填")
+        void shouldCacheEmptyListsInLocalMemory() {
+            // Given
+            nodeA.putUserPermissions("u1", Collections.emptyList());
+            nodeB.getUserPermissions("u1");
+            nodeB.getUserPermissions("missing");
+            redis.resetRoundTrips();
+
+            // When
+            assertTrue(nodeB.getUserPermissions("u1").isEmpty());
+            assertTrue(nodeB.getUserPermissions("missing").isEmpty());
+
+            // Then 只有未命中的键再次访问L2
+            assertEquals(1L, nodeB.getCacheStats().get("l1Hits"));
+            assertEquals(3L, nodeB.getCacheStats().get("l2Reads"));
+        }
+    }
+
+    @Nested
+    @DisplayName("跨节点一致性测试")
+    class CoherenceTests {
+
+        @Test
+        @DisplayName("其他节点更新后本节点应该读到新值")
+        void shouldInvalidateOtherNodes() {
+            // Given
+            nodeA.putUserRoles("u1", Collections.singletonList(createRole("r1")));
+            assertEquals("r1", nodeB.getUserRoles("u1").get(0).getRoleId());
+
+            // When
+            nodeA.putUserRoles("u1", Arrays.asList(createRole("r1"), createRole("r2")));
+
+            // Then
+            assertEquals(2, nodeB.getUserRoles("u1").size());
+        }
+
+        @Test
+        @DisplayName("清除用户缓存应该传播到所有节点")
+        void shouldPropagateClearUserCache() {
+            // Given
+            nodeA.putUserPermissions("u1", Collections.singletonList(createPermission("p1")));
+            assertEquals(1, nodeB.getUserPermissions("u1").size());
+
+            // When
+            nodeA.clearUserCache("u1");
+
+            // Then
+            assertTrue(nodeB.getUserPermissions("u1").isEmpty());
+        }
+
+        @Test
+        @DisplayName("清除全部缓存应该传播到所有节点")
+        void shouldPropagateClear() {
+            // Given
+            nodeA.putRole("r1", createRole("r1"));
+            assertNotNull(nodeB.getRole("r1"));
+
+            // When
+            nodeA.clear();
+
+            // Then
+            assertNull(nodeB.getRole("r1"));
+            clock.addAndGet(L1_TTL_MILLIS);
+            assertNull(nodeB.getRole("r1"));
+        }
+
+        @Test
+        @DisplayName("读取L2期间收到失效时应该不回填L1")
+        void shouldSkipFillWhenInvalidatedDuringRead() {
+            // Given：L2在读取时模拟另一个节点并发更新
+            InMemoryPermissionCacheMessageBus raceBus = new InMemoryPermissionCacheMessageBus();
+            InMemoryPermissionCache slowRemote = new InMemoryPermissionCache() {
+                @Override
+                public List<Role> getUserRoles(String userId) {
+                    List<Role> snapshot = super.getUserRoles(userId);
+                    raceBus.publish(new PermissionCacheInvalidation(
+                            "node-x", DefaultPermissionCache.USER_ROLES, userId, 1L));
+                    return snapshot;
+                }
+            };
+            slowRemote.putUserRoles("u1", Collections.singletonList(createRole("old")));
+            DistributedPermissionCache node = new DistributedPermissionCache(
+                    new DefaultPermissionCache(100, L1_TTL_MILLIS, clock::get), slowRemote, raceBus, "node-c");
+
+            // When：第一次读取被并发失效打断，第二次读取时重复消息被忽略并正常回填
+            node.getUserRoles("u1");
+            node.getUserRoles("u1");
+            node.getUserRoles("u1");
+
+            // Then
+            assertEquals(1L, node.getCacheStats().get("staleFillsSkipped"));
+            assertEquals(2L, node.getCacheStats().get("l2Reads"));
+            assertEquals(1L, node.getCacheStats().get("l1Hits"));
+        }
+
+        @Test
+        @DisplayName("重复投递的失效消息应该只应用一次")
+        void shouldIgnoreDuplicateMessages() {
+            // Given
+            PermissionCacheInvalidation message = new PermissionCacheInvalidation(
+                    "node-x", DefaultPermissionCache.ROLE, "r1", 7L);
+
+            // When
+            bus.publish(message);
+            bus.publish(message);
+
+            // Then
+            assertEquals(1L, nodeA.getCacheStats().get("invalidationsReceived"));
+        }
+    }
+
+    @Nested
+    @DisplayName("陈旧时间上限测试")
+    class StalenessBoundTests {
+
+        @Test
+        @DisplayName("失效消息丢失时L1条目应该在TTL后收敛")
+        void shouldConvergeWithinL1Ttl() {
+            // Given：节点C连接到独立的总线，收不到节点A的失效消息
+            DistributedPermissionCache isolated = createNode("node-c", new InMemoryPermissionCacheMessageBus());
+            nodeA.putUserRoles("u1", Collections.singletonList(createRole("r1")));
+            assertEquals(1, isolated.getUserRoles("u1").size());
+            nodeA.putUserRoles("u1", Arrays.asList(createRole("r1"), createRole("r2")));
+
+            // Then
+            assertEquals(1, isolated.getUserRoles("u1").size());
+            clock.addAndGet(L1_TTL_MILLIS);
+            assertEquals(2, isolated.getUserRoles("u1").size());
+        }
+    }
+
+    private DistributedPermissionCache createNode(String nodeId, PermissionCacheMessageBus messageBus) {
+        RedisPermissionCache remote = new RedisPermissionCache(redis.operations(), 60_000L, 1_000L, clock::get);
+        DefaultPermissionCache local = new DefaultPermissionCache(100, L1_TTL_MILLIS, clock::get);
+        return new DistributedPermissionCache(local, remote, messageBus, nodeId);
+    }
+
+    private Role createRole(String roleId) {
+        Role role = new Role();
+        role.setRoleId(roleId);
+        return role;
+    }
+
+    private Permission createPermission(String permissionId) {
+        Permission permission = new Permission();
+        permission.setPermissionId(permissionId);
+        permission.setResource("user");
+        permission.setAction("read");
+        return permission;
+    }
+}
@@ -0,0 +1,146 @@
+package com.aixone.permission.cache;
+
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 进程内Redis替身
+ * 基于Map模拟键值、TTL、MGET、INCRBY和管道，并统计网络往返次数
+ *
+ * @author aixone
+ */
+class InMemoryRedisStandIn {
+
+    private final Map<String, Object> values = new HashMap<>();
+    private final Map<String, Long> expireAt = new HashMap<>();
+    private final AtomicLong clock;
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private List<Object> pipelineResults;
+
+    private final RedisOperations<String, Object> operations;
+    private final ValueOperations<String, Object> valueOperations;
+
+    @SuppressWarnings("unchecked")
+    InMemoryRedisStandIn(AtomicLong clock) {
+        this.clock = clock;
+        this.operations = mock(RedisOperations.class);
+        this.valueOperations = mock(ValueOperations.class);
+
+        when(operations.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(any())).thenAnswer(inv -> reply(read(inv.getArgument(0))));
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(inv -> {
+            Collection<String> keys = inv.getArgument(0);
+            List<Object> result = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                result.add(read(key));
+            }
+            return reply(result);
+        });
+        doAnswer(inv -> {
+            String key = inv.getArgument(0);
+            long timeout = inv.getArgument(2);
+            TimeUnit unit = inv.getArgument(3);
+            values.put(key, inv.getArgument(1));
+            expireAt.put(key, clock.get() + unit.toMillis(timeout));
+            return reply(null);
+        }).when(valueOperations).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+        when(valueOperations.increment(anyString(), anyLong())).thenAnswer(inv -> {
+            String key = inv.getArgument(0);
+            long delta = inv.getArgument(1);
+            Object current = read(key);
+            long next = (current instanceof Number ? ((Number) current).longValue() : 0L) + delta;
+            values.put(key, next);
+            expireAt.remove(key);
+            return reply(next);
+        });
+        when(operations.delete(anyString())).thenAnswer(inv -> reply(remove(inv.getArgument(0))));
+        when(operations.delete(anyCollection())).thenAnswer(inv -> {
+            Collection<String> keys = inv.getArgument(0);
+            long removed = 0;
+            for (String key : keys) {
+                if (remove(key)) {
+                    removed++;
+                }
+            }
+            return reply(removed);
+        });
+        when(operations.hasKey(anyString())).thenAnswer(inv -> reply(read(inv.getArgument(0)) != null));
+        when(operations.executePipelined(any(SessionCallback.class))).thenAnswer(inv -> {
+            SessionCallback<?> callback = inv.getArgument(0);
+            roundTrips.incrementAndGet();
+            pipelineResults = new ArrayList<>();
+            try {
+                callback.execute(operations);
+                return pipelineResults;
+            } finally {
+                pipelineResults = null;
+            }
+        });
+    }
+
+    RedisOperations<String, Object> operations() {
+        return operations;
+    }
+
+    int roundTrips() {
+        return roundTrips.get();
+    }
+
+    void resetRoundTrips() {
+        roundTrips.set(0);
+    }
+
+    /**
+     * 当前未过期的键数量
+     */
+    long liveKeyCount(String prefix) {
+        return values.keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .filter(key -> read(key) != null)
+                .count();
+    }
+
+    Long ttlOf(String keyPrefix) {
+        return expireAt.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(keyPrefix))
+                .map(e -> e.getValue() - clock.get())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private Object read(String key) {
+        Long deadline = expireAt.get(key);
+        if (deadline != null && clock.get() >= deadline) {
+            values.remove(key);
+            expireAt.remove(key);
+            return null;
+        }
+        return values.get(key);
+    }
+
+    private boolean remove(String key) {
+        expireAt.remove(key);
+        return values.remove(key) != null;
+    }
+
+    /**
+     * 管道中收集结果并返回null（与真实管道一致），否则计为一次往返
+     */
+    private Object reply(Object result) {
+        if (pipelineResults != null) {
+            pipelineResults.add(result);
+            return null;
+        }
+        roundTrips.incrementAndGet();
+        return result;
+    }
+}
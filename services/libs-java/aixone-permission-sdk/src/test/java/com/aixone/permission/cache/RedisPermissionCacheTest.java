@@ -0,0 +1,173 @@
+package com.aixone.permission.cache;
+
+import com.aixone.permission.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RedisPermissionCache 单元测试（基于进程内Redis替身）
+ *
+ * @author aixone
+ */
+@DisplayName("RedisPermissionCache 单元测试")
+class RedisPermissionCacheTest {
+
+    private static final long TTL_MILLIS = 60_000L;
+    private static final long VERSION_REFRESH_MILLIS = 1_000L;
+
+    private AtomicLong clock;
+    private InMemoryRedisStandIn redis;
+    private RedisPermissionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0L);
+        redis = new InMemoryRedisStandIn(clock);
+        cache = new RedisPermissionCache(redis.operations(), TTL_MILLIS, VERSION_REFRESH_MILLIS, clock::get);
+    }
+
+    @Nested
+    @DisplayName("TTL测试")
+    class TtlTests {
+
+        @Test
+        @DisplayName("写入应该带TTL并在过期后失效")
+        void shouldWriteWithTtl() {
+            // Given
+            cache.putUserRoles("u1", Collections.singletonList(createRole("r1")));
+
+            // Then
+            assertEquals(TTL_MILLIS, redis.ttlOf("perm:user_roles:"));
+            assertEquals(1, cache.getUserRoles("u1").size());
+
+            // When
+            clock.addAndGet(TTL_MILLIS);
+
+            // Then
+            assertTrue(cache.getUserRoles("u1").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("批量操作测试")
+    class BatchTests {
+
+        @Test
+        @DisplayName("批量读写应该各只需一次网络往返")
+        void shouldUseSingleRoundTripForBatch() {
+            // Given
+            Map<String, List<Permission>> input = new LinkedHashMap<>();
+            for (int i = 0; i < 100; i++) {
+                input.put("u" + i, Collections.singletonList(createPermission("p" + i)));
+            }
+            cache.getUserPermissions("warm-up");
+            redis.resetRoundTrips();
+
+            // When
+            cache.putAllUserPermissions(input);
+            int writeTrips = redis.roundTrips();
+            redis.resetRoundTrips();
+            List<String> ids = new ArrayList<>(input.keySet());
+            ids.add("missing");
+            Map<String, List<Permission>> result = cache.getUserPermissionsBatch(ids);
+
+            // Then
+            assertEquals(1, writeTrips);
+            assertEquals(1, redis.roundTrips());
+            assertEquals(100, result.size());
+            assertFalse(result.containsKey("missing"));
+            assertEquals("p42", result.get("u42").get(0).getPermissionId());
+        }
+
+        @Test
+        @DisplayName("空集合批量读取应该不访问Redis")
+        void shouldSkipEmptyBatch() {
+            // When
+            Map<String, List<Role>> result = cache.getUserRolesBatch(Collections.emptyList());
+
+            // Then
+            assertTrue(result.isEmpty());
+            assertEquals(0, redis.roundTrips());
+        }
+    }
+
+    @Nested
+    @DisplayName("版本化清除测试")
+    class VersionedClearTests {
+
+        @Test
+        @DisplayName("clear后旧数据应该不可见")
+        void shouldHideEntriesAfterClear() {
+            // Given
+            cache.putUserPermissions("u1", Collections.singletonList(createPermission("p1")));
+            cache.putRolePermissions("r1", Collections.singletonList(createPermission("p1")));
+
+            // When
+            cache.clear();
+
+            // Then
+            assertTrue(cache.getUserPermissions("u1").isEmpty());
+            assertTrue(cache.getRolePermissions("r1").isEmpty());
+        }
+
+        @Test
+        @DisplayName("按命名空间清除应该只影响该命名空间")
+        void shouldClearSingleNamespace() {
+            // Given
+            cache.putUserRoles("u1", Collections.singletonList(createRole("r1")));
+            cache.putRolePermissions("r1", Collections.singletonList(createPermission("p1")));
+
+            // When
+            cache.clearNamespace(RedisPermissionCache.USER_ROLES);
+
+            // Then
+            assertTrue(cache.getUserRoles("u1").isEmpty());
+            assertEquals(1, cache.getRolePermissions("r1").size());
+        }
+
+        @Test
+        @DisplayName("其他节点的clear应该在版本刷新间隔后可见")
+        void shouldObserveRemoteClearAfterRefresh() {
+            // Given
+            RedisPermissionCache otherNode = new RedisPermissionCache(
+                    redis.operations(), TTL_MILLIS, VERSION_REFRESH_MILLIS, clock::get);
+            cache.putUserPermissions("u1", Collections.singletonList(createPermission("p1")));
+            assertEquals(1, otherNode.getUserPermissions("u1").size());
+
+            // When
+            cache.clear();
+
+            // Then
+            assertEquals(1, otherNode.getUserPermissions("u1").size());
+            clock.addAndGet(VERSION_REFRESH_MILLIS);
+            assertTrue(otherNode.getUserPermissions("u1").isEmpty());
+        }
+
+        @Test
+        @DisplayName("未知命名空间应该抛出异常")
+        void shouldRejectUnknownNamespace() {
+            assertThrows(IllegalArgumentException.class, () -> cache.clearNamespace("unknown"));
+        }
+    }
+
+    private Role createRole(String roleId) {
+        Role role = new Role();
+        role.setRoleId(roleId);
+        return role;
+    }
+
+    private Permission createPermission(String permissionId) {
+        Permission permission = new Permission();
+        permission.setPermissionId(permissionId);
+        permission.setResource("user");
+        permission.setAction("read");
+        return permission;
+    }
+}
@@ -0,0 +1,233 @@
+package com.aixone.permission.cache.impl;
+
+import com.aixone.permission.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DefaultPermissionCache 单元测试
+ *
+ * @author aixone
+ */
+@DisplayName("DefaultPermissionCache 单元测试")
+class DefaultPermissionCacheTest {
+
+    private static final long EXPIRE_MILLIS = 1000L;
+
+    private AtomicLong clock;
+    private DefaultPermissionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0L);
+        cache = new DefaultPermissionCache(4, EXPIRE_MILLIS, clock::get);
+    }
+
+    @Nested
+    @DisplayName("命名空间隔离测试")
+    class NamespaceTests {
+
+        @Test
+        @DisplayName("相同ID在不同缓存类型中应该互不影响")
+        void shouldIsolateSameIdAcrossTypes() {
+            // Given
+            String id = "same-id";
+            cache.putRole(id, createRole(id));
+            clock.addAndGet(EXPIRE_MILLIS - 1);
+            cache.putUser(id, createUser(id));
+
+            // When
+            clock.addAndGet(2);
+
+            // Then
+            assertNull(cache.getRole(id));
+            assertNotNull(cache.getUser(id));
+            assertTrue(cache.isExpired(DefaultPermissionCache.ROLE + ":" + id));
+            assertFalse(cache.isExpired(DefaultPermissionCache.USER + ":" + id));
+            assertFalse(cache.isExpired(id));
+        }
+
+        @Test
+        @DisplayName("清除用户缓存不应影响角色缓存")
+        void shouldClearUserCacheOnly() {
+            // Given
+            String id = "u1";
+            cache.putUserRoles(id, Collections.singletonList(createRole("r1")));
+            cache.putRolePermissions(id, Collections.singletonList(createPermission("p1")));
+
+            // When
+            cache.clearUserCache(id);
+
+            // Then
+            assertNull(cache.getUserRoles(id));
+            assertNotNull(cache.getRolePermissions(id));
+        }
+    }
+
+    @Nested
+    @DisplayName("过期与淘汰测试")
+    class ExpireAndEvictionTests {
+
+        @Test
+        @DisplayName("条目应该在过期时间后失效")
+        void shouldExpireEntry() {
+            // Given
+            cache.putUserPermissions("u1", Collections.singletonList(createPermission("p1")));
+
+            // When & Then
+            clock.addAndGet(EXPIRE_MILLIS - 1);
+            assertNotNull(cache.getUserPermissions("u1"));
+            clock.addAndGet(1);
+            assertNull(cache.getUserPermissions("u1"));
+        }
+
+        @Test
+        @DisplayName("超过最大容量时应该淘汰最久未访问的条目")
+        void shouldEvictLeastRecentlyUsed() {
+            // Given
+            for (int i = 1; i <= 4; i++) {
+                cache.putPermission("p" + i, createPermission("p" + i));
+            }
+            cache.getPermission("p1");
+
+            // When
+            cache.putPermission("p5", createPermission("p5"));
+
+            // Then
+            assertNotNull(cache.getPermission("p1"));
+            assertNull(cache.getPermission("p2"));
+            assertNotNull(cache.getPermission("p5"));
+            assertEquals(4L, cache.getCacheStats().get("permissionCacheSize"));
+            assertEquals(1L, cache.getCacheStats().get("evictionCount"));
+        }
+
+        @Test
+        @DisplayName("容量淘汰只检查LRU头部的少量条目，其余过期条目留给清理任务")
+        void shouldOnlyScanHeadWhenEvicting() {
+            // Given 单分段容量64：a0..a9 先写入，b0..b53 后写入，随后访问 a* 使其移到LRU尾部
+            SegmentedLruCache<String> engine = new SegmentedLruCache<>("test", 64, EXPIRE_MILLIS, clock::get);
+            for (int i = 0; i < 10; i++) {
+                engine.put("a" + i, "a" + i);
+            }
+            clock.set(500);
+            for (int i = 0; i < 54; i++) {
+                engine.put("b" + i, "b" + i);
+            }
+            clock.set(600);
+            for (int i = 0; i < 10; i++) {
+                engine.get("a" + i);
+            }
+            clock.set(EXPIRE_MILLIS);
+
+            // When a* 已过期但位于尾部，头部条目均未过期
+            engine.put("c", "c");
+
+            // Then 直接淘汰LRU头部，过期条目由 cleanUp 清理
+            assertNull(engine.get("b0"));
+            assertEquals(1L, engine.getEvictionCount());
+            assertEquals(0L, engine.getExpiredCount());
+            assertEquals(10, engine.cleanUp());
+            assertEquals(54L, engine.size());
+        }
+
+        @Test
+        @DisplayName("容量淘汰应该优先移除LRU头部的过期条目")
+        void shouldPreferExpiredEntriesAtHead() {
+            // Given
+            SegmentedLruCache<String> engine = new SegmentedLruCache<>("test", 64, EXPIRE_MILLIS, clock::get);
+            engine.put("old", "old");
+            clock.set(500);
+            for (int i = 0; i < 63; i++) {
+                engine.put("k" + i, "k" + i);
+            }
+            clock.set(EXPIRE_MILLIS);
+
+            // When
+            engine.put("new", "new");
+
+            // Then
+            assertEquals(0L, engine.getEvictionCount());
+            assertEquals(1L, engine.getExpiredCount());
+            assertEquals("k0", engine.get("k0"));
+        }
+
+        @Test
+        @DisplayName("清理过期缓存应该只移除过期条目")
+        void shouldCleanExpiredEntriesOnly() {
+            // Given
+            cache.putPolicy("old", new Policy());
+            clock.addAndGet(EXPIRE_MILLIS);
+            cache.putPolicy("new", new Policy());
+
+            // When
+            cache.cleanExpiredCache();
+
+            // Then
+            assertEquals(1L, cache.getCacheStats().get("policyCacheSize"));
+            assertNotNull(cache.getPolicy("new"));
+        }
+    }
+
+    @Nested
+    @DisplayName("统计信息测试")
+    class StatsTests {
+
+        @Test
+        @DisplayName("应该统计命中、未命中和加载次数")
+        void shouldRecordHitMissAndLoad() {
+            // Given
+            AtomicInteger loads = new AtomicInteger();
+            List<Permission> permissions = Collections.singletonList(createPermission("p1"));
+
+            // When
+            cache.getUserPermissions("u1", id -> {
+                loads.incrementAndGet();
+                return permissions;
+            });
+            cache.getUserPermissions("u1", id -> {
+                loads.incrementAndGet();
+                return permissions;
+            });
+            Map<String, Object> stats = cache.getCacheStats();
+
+            // Then
+            assertEquals(1, loads.get());
+            assertEquals(1L, stats.get("hitCount"));
+            assertEquals(1L, stats.get("missCount"));
+            assertEquals(1L, stats.get("loadCount"));
+            assertEquals(1L, stats.get("userPermissionCacheSize"));
+            assertTrue(stats.containsKey("totalLoadTimeMillis"));
+            assertTrue(stats.containsKey("segments"));
+        }
+    }
+
+    private User createUser(String userId) {
+        User user = new User();
+        user.setUserId(userId);
+        return user;
+    }
+
+    private Role createRole(String roleId) {
+        Role role = new Role();
+        role.setRoleId(roleId);
+        return role;
+    }
+
+    private Permission createPermission(String permissionId) {
+        Permission permission = new Permission();
+        permission.setPermissionId(permissionId);
+        permission.setResource("user");
+        permission.setAction("read");
+        return permission;
+    }
+}
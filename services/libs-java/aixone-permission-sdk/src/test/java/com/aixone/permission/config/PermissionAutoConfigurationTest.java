@@ -0,0 +1,50 @@
+package com.aixone.permission.config;
+
+import com.aixone.permission.aspect.PermissionAspect;
+import com.aixone.permission.handler.DataPermissionHandler;
+import com.aixone.permission.handler.SelfDataPermissionHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PermissionAutoConfiguration 单元测试
+ *
+ * @author aixone
+ */
+@DisplayName("PermissionAutoConfiguration 单元测试")
+class PermissionAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PermissionAutoConfiguration.class);
+
+    @Test
+    @DisplayName("未定义数据权限处理器时应该正常注册切面")
+    void shouldRegisterAspectWithoutDataPermissionHandlers() {
+        contextRunner.run(context -> {
+            // Then
+            assertNull(context.getStartupFailure());
+            PermissionAspect aspect = context.getBean(PermissionAspect.class);
+            Map<?, ?> handlers = (Map<?, ?>) ReflectionTestUtils.getField(aspect, "dataPermissionHandlers");
+            assertTrue(handlers.isEmpty());
+        });
+    }
+
+    @Test
+    @DisplayName("应该按bean名称注册自定义数据权限处理器")
+    void shouldRegisterDataPermissionHandlersByBeanName() {
+        contextRunner
+                .withBean("region", DataPermissionHandler.class, SelfDataPermissionHandler::new)
+                .run(context -> {
+                    // Then
+                    PermissionAspect aspect = context.getBean(PermissionAspect.class);
+                    Map<?, ?> handlers = (Map<?, ?>) ReflectionTestUtils.getField(aspect, "dataPermissionHandlers");
+                    assertSame(context.getBean("region"), handlers.get("region"));
+                });
+    }
+}
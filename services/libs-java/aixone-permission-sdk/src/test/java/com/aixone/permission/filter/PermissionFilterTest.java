@@ -0,0 +1,71 @@
+package com.aixone.permission.filter;
+
+import com.aixone.common.session.AbacAttributes;
+import com.aixone.common.session.SessionContext;
+import com.aixone.permission.context.PermissionContext;
+import com.aixone.permission.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PermissionFilter 单元测试
+ *
+ * @author aixone
+ */
+@DisplayName("PermissionFilter 单元测试")
+class PermissionFilterTest {
+
+    private final PermissionFilter filter = new PermissionFilter();
+
+    @AfterEach
+    void tearDown() {
+        SessionContext.clear();
+        PermissionContext.clear();
+    }
+
+    @Test
+    @DisplayName("应该从会话填充权限上下文并在请求结束后清理")
+    void shouldFillContextFromSession() throws Exception {
+        // Given
+        AbacAttributes abac = new AbacAttributes();
+        abac.put("deptId", "d1");
+        SessionContext.SessionInfo session = new SessionContext.SessionInfo("u1", "t1");
+        session.setAbacAttributes(abac);
+        SessionContext.set(session);
+        AtomicReference<User> seen = new AtomicReference<>();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> seen.set(PermissionContext.getUser()));
+
+        // Then
+        assertEquals("u1", seen.get().getUserId());
+        assertEquals("t1", seen.get().getTenantId());
+        assertEquals("d1", seen.get().getAttribute("deptId"));
+        SessionContext.clear();
+        assertNull(PermissionContext.getUser());
+    }
+
+    @Test
+    @DisplayName("会话在过滤器之后写入时应该回退读取会话")
+    void shouldFallBackToSessionSetLater() throws Exception {
+        // Given
+        AtomicReference<User> seen = new AtomicReference<>();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+            SessionContext.set(new SessionContext.SessionInfo("u2", "t1"));
+            seen.set(PermissionContext.getUser());
+        });
+
+        // Then
+        assertEquals("u2", seen.get().getUserId());
+    }
+}
@@ -174,15 +174,15 @@ class SelfDataPermissionHandlerTest {
         void shouldPreventSqlInjection() {
             // Given
             testUser.setUserId("'; DROP TABLE users; --");
-            String expectedCondition = "user_id = ''; DROP TABLE users; --'";
+            String expectedCondition = "user_id = '''; DROP TABLE users; --'";
 
             // When
             String result = handler.buildCondition(testUser, testResource);
 
             // Then
             assertEquals(expectedCondition, result);
-            // 注意：这个实现没有进行SQL注入防护，实际使用时应该进行转义
-            assertTrue(result.contains("DROP TABLE"));
+            // 单引号加倍转义后，整个值仍位于同一个字符串字面量内
+            assertTrue(result.startsWith("user_id = '''"));
         }
 
         @Test
@@ -190,15 +190,14 @@ class SelfDataPermissionHandlerTest {
         void shouldHandleUserIdWithSingleQuotes() {
             // Given
             testUser.setUserId("user's_id");
-            String expectedCondition = "user_id = 'user's_id'";
+            String expectedCondition = "user_id = 'user''s_id'";
 
             // When
             String result = handler.buildCondition(testUser, testResource);
 
             // Then
             assertEquals(expectedCondition, result);
-            // 注意：这个实现没有进行SQL注入防护，实际使用时应该进行转义
-            assertTrue(result.contains("user's_id"));
+            assertTrue(result.contains("user''s_id"));
         }
 
         @Test
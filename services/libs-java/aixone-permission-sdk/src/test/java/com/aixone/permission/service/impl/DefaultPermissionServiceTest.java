@@ -238,6 +238,37 @@ class DefaultPermissionServiceTest {
             verify(userPermissionProvider).getUserRoles(userId);
         }
 
+        @Test
+        @DisplayName("应该按 (userId, tenantId) 顺序加载权限后检查权限ID")
+        void shouldCheckPermissionIdWithinUserTenant() {
+            // Given
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
+                .thenReturn(Arrays.asList(testPermission));
+
+            // When & Then
+            assertTrue(permissionService.hasPermissionId(testUser, testPermission.getPermissionId()));
+            assertFalse(permissionService.hasPermissionId(testUser, "perm-unknown"));
+            verify(userPermissionProvider, never()).getUserPermissions(testUser.getTenantId(), testUser.getUserId());
+        }
+
+        @Test
+        @DisplayName("应该按用户所在租户检查角色集合")
+        void shouldCheckRolesWithinUserTenant() {
+            // Given
+            when(userPermissionProvider.getUserRoles(testUser.getUserId(), testUser.getTenantId()))
+                .thenReturn(Arrays.asList(testRole));
+
+            // When
+            boolean any = permissionService.hasRoles(testUser, Arrays.asList("admin", "auditor"), false);
+            boolean all = permissionService.hasRoles(testUser, Arrays.asList("admin", "auditor"), true);
+
+            // Then
+            assertTrue(any);
+            assertFalse(all);
+            verify(userPermissionProvider, times(2)).getUserRoles(testUser.getUserId(), testUser.getTenantId());
+            verify(userPermissionProvider, never()).getUserRoles(testUser.getUserId());
+        }
+
         @Test
         @DisplayName("应该处理角色检查异常")
         void shouldHandleRoleCheckException() {
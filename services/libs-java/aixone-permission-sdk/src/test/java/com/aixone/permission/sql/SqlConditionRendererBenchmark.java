@@ -0,0 +1,79 @@
+package com.aixone.permission.sql;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlConditionRenderer 渲染基准测试
+ * 测量 20 个部门ID的 IN 数据范围渲染为参数化条件（SQL 片段加参数列表）的单次耗时，
+ * 以内联字面量的字符串拼接渲染作对照，确认改为参数化后数据权限过滤条件的生成没有变慢。
+ * 类名不以 Test 结尾，默认构建不执行，手动运行：
+ * mvn test -Dtest=SqlConditionRendererBenchmark
+ *
+ * @author aixone
+ */
+@Tag("benchmark")
+@DisplayName("SqlConditionRenderer 渲染基准测试")
+class SqlConditionRendererBenchmark {
+
+    private static final int DEPT_COUNT = 20;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int OPERATIONS_PER_ITERATION = 200_000;
+
+    private DataScope scope;
+
+    @BeforeEach
+    void setUp() {
+        List<String> deptIds = new ArrayList<>();
+        for (int i = 0; i < DEPT_COUNT; i++) {
+            deptIds.add("dept-" + i);
+        }
+        scope = DataScope.in("dept_id", deptIds);
+    }
+
+    @Test
+    @DisplayName("参数化渲染")
+    void benchmarkRender() {
+        long sink = run("render", i -> SqlConditionRenderer.render(scope).getParameters().size());
+        assertTrue(sink > 0);
+    }
+
+    @Test
+    @DisplayName("对照：字符串拼接渲染")
+    void benchmarkRenderInline() {
+        long sink = run("render-inline", i -> SqlConditionRenderer.renderInline(scope).length());
+        assertTrue(sink > 0);
+    }
+
+    private long run(String name, ToIntFunction<Integer> operation) {
+        long sink = 0;
+        for (int iteration = 0; iteration < WARMUP_ITERATIONS; iteration++) {
+            for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+                sink += operation.applyAsInt(i);
+            }
+        }
+        double best = Double.MAX_VALUE;
+        double total = 0;
+        for (int iteration = 0; iteration < MEASUREMENT_ITERATIONS; iteration++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+                sink += operation.applyAsInt(i);
+            }
+            double nanosPerOp = (double) (System.nanoTime() - start) / OPERATIONS_PER_ITERATION;
+            best = Math.min(best, nanosPerOp);
+            total += nanosPerOp;
+        }
+        System.out.printf("%-15s avg %8.1f ns/op, best %8.1f ns/op (%d values)%n",
+                name, total / MEASUREMENT_ITERATIONS, best, DEPT_COUNT);
+        return sink;
+    }
+}
@@ -0,0 +1,162 @@
+package com.aixone.permission.sql;
+
+import com.aixone.permission.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlConditionRenderer 单元测试
+ *
+ * @author aixone
+ */
+@DisplayName("SqlConditionRenderer 单元测试")
+class SqlConditionRendererTest {
+
+    @Nested
+    @DisplayName("注入防护测试")
+    class InjectionTests {
+
+        @Test
+        @DisplayName("恶意值只应该出现在绑定参数中")
+        void shouldKeepMaliciousValueOutOfSql() {
+            // Given
+            String malicious = "'; DROP TABLE users; --";
+
+            // When
+            SqlCondition condition = SqlConditionRenderer.render(DataScope.eq("user_id", malicious));
+
+            // Then
+            assertEquals("user_id = ?", condition.getSql());
+            assertEquals(Collections.singletonList(malicious), condition.getParameters());
+            assertFalse(condition.getSql().contains("DROP"));
+        }
+
+        @Test
+        @DisplayName("内联渲染应该加倍转义单引号")
+        void shouldEscapeQuotesWhenInline() {
+            // When
+            String sql = SqlConditionRenderer.renderInline(DataScope.in("dept_id", Arrays.asList("d1", "x' OR '1'='1")));
+
+            // Then
+            assertEquals("dept_id IN ('d1', 'x'' OR ''1''=''1')", sql);
+        }
+
+        @Test
+        @DisplayName("非法列名应该被拒绝")
+        void shouldRejectIllegalColumn() {
+            assertThrows(IllegalArgumentException.class, () -> DataScope.eq("user_id = 1 OR 1", "u1"));
+            assertThrows(IllegalArgumentException.class, () -> DataScope.in("dept_id;--", Collections.singletonList("d1")));
+            assertEquals("t.dept_id = ?", SqlConditionRenderer.render(DataScope.eq("t.dept_id", "d1")).getSql());
+        }
+    }
+
+    @Nested
+    @DisplayName("语句形状测试")
+    class ShapeTests {
+
+        @Test
+        @DisplayName("IN列表应该补齐到2的幂")
+        void shouldPadInListToPowerOfTwo() {
+            // When
+            SqlCondition condition = SqlConditionRenderer.render(DataScope.in("dept_id", Arrays.asList("d1", "d2", "d3")));
+
+            // Then
+            assertEquals("dept_id IN (?, ?, ?, ?)", condition.getSql());
+            assertEquals(Arrays.asList("d1", "d2", "d3", "d3"), condition.getParameters());
+        }
+
+        @Test
+        @DisplayName("同一形状应该复用同一个SQL片段")
+        void shouldReusePlanForSameShape() {
+            // When
+            SqlCondition first = SqlConditionRenderer.render(DataScope.in("shape_col", Arrays.asList(1, 2, 3)));
+            int plans = SqlConditionRenderer.planCount();
+            SqlCondition second = SqlConditionRenderer.render(DataScope.in("shape_col", Arrays.asList(4, 5, 6, 7)));
+
+            // Then
+            assertSame(first.getSql(), second.getSql());
+            assertEquals(plans, SqlConditionRenderer.planCount());
+        }
+
+        @Test
+        @DisplayName("超过上限的值应该分组并以OR连接")
+        void shouldSplitLargeInList() {
+            // Given
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < SqlConditionRenderer.MAX_IN_BUCKET + 3; i++) {
+                ids.add(i);
+            }
+
+            // When
+            SqlCondition condition = SqlConditionRenderer.render(DataScope.in("id", ids));
+
+            // Then
+            assertTrue(condition.getSql().startsWith("(id IN (?"));
+            assertTrue(condition.getSql().endsWith(" OR id IN (?, ?, ?, ?))"));
+            assertEquals(SqlConditionRenderer.MAX_IN_BUCKET + 4, condition.getParameters().size());
+        }
+
+        @Test
+        @DisplayName("空范围与全部范围应该渲染为常量条件")
+        void shouldRenderConstantScopes() {
+            assertEquals("1=0", SqlConditionRenderer.render(DataScope.in("dept_id", Collections.emptyList())).getSql());
+            assertEquals("1=0", SqlConditionRenderer.render(null).getSql());
+            assertEquals("1=1", SqlConditionRenderer.render(DataScope.all()).getSql());
+            assertEquals(0, SqlConditionRenderer.render(DataScope.all()).getParameters().size());
+        }
+
+        @Test
+        @DisplayName("形状长度计算")
+        void shouldComputeBucketSize() {
+            assertEquals(1, SqlConditionRenderer.bucketSize(1));
+            assertEquals(2, SqlConditionRenderer.bucketSize(2));
+            assertEquals(8, SqlConditionRenderer.bucketSize(5));
+            assertEquals(1024, SqlConditionRenderer.bucketSize(1024));
+            assertEquals(1024, SqlConditionRenderer.bucketSize(5000));
+        }
+    }
+
+    @Nested
+    @DisplayName("数据范围测试")
+    class DataScopeTests {
+
+        @Test
+        @DisplayName("部门范围应该合并所属部门、兼任部门和下级部门")
+        void shouldUnionDepartments() {
+            // Given
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put("deptId", "d1");
+            attributes.put("deptIds", Arrays.asList("d2", "d1"));
+            attributes.put("subDeptIds", Arrays.asList("d11", "d12"));
+            User user = new User("u1", "t1", "alice", attributes);
+
+            // When
+            DataScope scope = DataScope.forDepartment(user);
+
+            // Then
+            assertEquals("dept_id", scope.getColumn());
+            assertEquals(Arrays.asList("d1", "d2", "d11", "d12"), scope.getValues());
+        }
+
+        @Test
+        @DisplayName("没有部门信息的用户应该看不到任何数据")
+        void shouldReturnNoneWithoutDepartment() {
+            User user = new User("u1", "t1", "alice", new HashMap<>());
+            assertEquals(DataScope.Type.NONE, DataScope.forDepartment(user).getType());
+            assertEquals(DataScope.Type.NONE, DataScope.forSelf(new User()).getType());
+        }
+
+        @Test
+        @DisplayName("列名应该转换为实体属性路径")
+        void shouldConvertColumnToAttributePath() {
+            assertEquals("deptId", DataScopeSpecification.toAttributePath("dept_id"));
+            assertEquals("t.userId", DataScopeSpecification.toAttributePath("t.user_id"));
+            assertEquals("id", DataScopeSpecification.toAttributePath("id"));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.aixone.permission.validator;
+
+import com.aixone.permission.model.Permission;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PermissionIndex 单元测试
+ *
+ * @author aixone
+ */
+@DisplayName("PermissionIndex 单元测试")
+class PermissionIndexTest {
+
+    @Nested
+    @DisplayName("通配匹配测试")
+    class WildcardTests {
+
+        @ParameterizedTest(name = "{0}:{1} 请求 {2}:{3} => {4}")
+        @CsvSource({
+                "user, read, user, read, true",
+                "user, read, user, write, false",
+                "order, *, order, delete, true",
+                "order, *, order.item, read, false",
+                "order.item.*, read, order.item.detail, read, true",
+                "order.item.*, read, order.item.detail.sku, read, true",
+                "order.item.*, read, order.item, read, false",
+                "order.*.detail, read, order.item.detail, read, true",
+                "order.*.detail, read, order.item.sku.detail, read, false",
+                "*, *, any.thing, write, true",
+                "*, read, any, write, false"
+        })
+        @DisplayName("应该按通配语义匹配")
+        void shouldMatchWildcards(String grantResource, String grantAction,
+                                  String resource, String action, boolean expected) {
+            // Given
+            Permission grant = permission(grantResource, grantAction);
+            PermissionIndex index = PermissionIndex.build(Collections.singletonList(grant));
+
+            // Then
+            assertEquals(expected, grant.matches(resource, action));
+            assertEquals(expected, index.matches(resource, action));
+        }
+
+        @Test
+        @DisplayName("应该忽略资源或操作为空的权限")
+        void shouldIgnoreIncompletePermissions() {
+            // Given
+            PermissionIndex index = PermissionIndex.build(Arrays.asList(
+                    permission(null, "read"), permission("user", null), permission("user", "read")));
+
+            // Then
+            assertEquals(1, index.size());
+            assertTrue(index.matches("user", "read"));
+            assertFalse(index.matches(null, "read"));
+        }
+
+        @Test
+        @DisplayName("空列表应该返回空索引")
+        void shouldReturnEmptyIndexForEmptyList() {
+            assertSame(PermissionIndex.EMPTY, PermissionIndex.build(null));
+            assertSame(PermissionIndex.EMPTY, PermissionIndex.build(Collections.emptyList()));
+            assertFalse(PermissionIndex.EMPTY.matches("user", "read"));
+        }
+    }
+
+    @Nested
+    @DisplayName("与逐条匹配对照测试")
+    class ReferenceComparisonTests {
+
+        private final String[] segments = {"order", "item", "user", "*", "detail", ""};
+        private final String[] actions = {"read", "write", "*"};
+
+        @Test
+        @DisplayName("随机授权集合的匹配结果应该与逐条匹配一致")
+        void shouldAgreeWithNaiveMatcher() {
+            Random random = new Random(20240601L);
+            for (int round = 0; round < 2000; round++) {
+                // Given
+                List<Permission> grants = new ArrayList<>();
+                int grantCount = random.nextInt(10);
+                for (int i = 0; i < grantCount; i++) {
+                    grants.add(permission(randomResource(random), actions[random.nextInt(actions.length)]));
+                }
+                PermissionIndex index = PermissionIndex.build(grants);
+
+                for (int query = 0; query < 30; query++) {
+                    String resource = randomResource(random);
+                    String action = actions[random.nextInt(actions.length)];
+
+                    // When
+                    boolean expected = grants.stream().anyMatch(p -> p.matches(resource, action));
+
+                    // Then
+                    assertEquals(expected, index.matches(resource, action),
+                            () -> "授权 " + describe(grants) + " 请求 " + resource + ":" + action);
+                }
+            }
+        }
+
+        private String randomResource(Random random) {
+            int length = 1 + random.nextInt(4);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    sb.append('.');
+                }
+                sb.append(segments[random.nextInt(segments.length)]);
+            }
+            return sb.toString();
+        }
+
+        private String describe(List<Permission> grants) {
+            StringBuilder sb = new StringBuilder("[");
+            for (Permission grant : grants) {
+                sb.append(grant.getResource()).append(':').append(grant.getAction()).append(' ');
+            }
+            return sb.append(']').toString();
+        }
+    }
+
+    private static Permission permission(String resource, String action) {
+        Permission permission = new Permission();
+        permission.setResource(resource);
+        permission.setAction(action);
+        return permission;
+    }
+}
@@ -10,9 +10,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -56,7 +58,7 @@ class RbacValidatorTest {
         void shouldCheckUserPermissionSuccessfully() {
             // Given
             List<Permission> userPermissions = Arrays.asList(testPermission);
-            when(userPermissionProvider.getUserPermissions(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(userPermissions);
 
             // When
@@ -64,7 +66,7 @@ class RbacValidatorTest {
 
             // Then
             assertTrue(result);
-            verify(userPermissionProvider).getUserPermissions(testUser.getTenantId(), testUser.getUserId());
+            verify(userPermissionProvider).getUserPermissions(testUser.getUserId(), testUser.getTenantId());
         }
 
         @Test
@@ -80,7 +82,7 @@ class RbacValidatorTest {
         @DisplayName("应该拒绝没有权限的用户")
         void shouldDenyUserWithoutPermissions() {
             // Given
-            when(userPermissionProvider.getUserPermissions(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(Collections.emptyList());
 
             // When
@@ -88,14 +90,14 @@ class RbacValidatorTest {
 
             // Then
             assertFalse(result);
-            verify(userPermissionProvider).getUserPermissions(testUser.getTenantId(), testUser.getUserId());
+            verify(userPermissionProvider).getUserPermissions(testUser.getUserId(), testUser.getTenantId());
         }
 
         @Test
         @DisplayName("应该拒绝null权限列表的用户")
         void shouldDenyUserWithNullPermissions() {
             // Given
-            when(userPermissionProvider.getUserPermissions(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(null);
 
             // When
@@ -103,7 +105,7 @@ class RbacValidatorTest {
 
             // Then
             assertFalse(result);
-            verify(userPermissionProvider).getUserPermissions(testUser.getTenantId(), testUser.getUserId());
+            verify(userPermissionProvider).getUserPermissions(testUser.getUserId(), testUser.getTenantId());
         }
 
         @Test
@@ -115,7 +117,7 @@ class RbacValidatorTest {
             differentPermission.setAction("different-action");
             
             List<Permission> userPermissions = Arrays.asList(differentPermission);
-            when(userPermissionProvider.getUserPermissions(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(userPermissions);
 
             // When
@@ -129,7 +131,7 @@ class RbacValidatorTest {
         @DisplayName("应该处理权限检查异常")
         void shouldHandlePermissionCheckException() {
             // Given
-            when(userPermissionProvider.getUserPermissions(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
                 .thenThrow(new RuntimeException("权限检查异常"));
 
             // When
@@ -151,7 +153,7 @@ class RbacValidatorTest {
             String resource = "user";
             String action = "read";
             List<Permission> userPermissions = Arrays.asList(testPermission);
-            when(userPermissionProvider.getUserPermissions(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(userPermissions);
 
             // When
@@ -159,7 +161,7 @@ class RbacValidatorTest {
 
             // Then
             assertTrue(result);
-            verify(userPermissionProvider).getUserPermissions(testUser.getTenantId(), testUser.getUserId());
+            verify(userPermissionProvider).getUserPermissions(testUser.getUserId(), testUser.getTenantId());
         }
 
         @Test
@@ -179,7 +181,7 @@ class RbacValidatorTest {
             String resource = "different-resource";
             String action = "different-action";
             List<Permission> userPermissions = Arrays.asList(testPermission);
-            when(userPermissionProvider.getUserPermissions(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(userPermissions);
 
             // When
@@ -193,7 +195,7 @@ class RbacValidatorTest {
         @DisplayName("应该处理资源和操作权限检查异常")
         void shouldHandleResourceActionPermissionCheckException() {
             // Given
-            when(userPermissionProvider.getUserPermissions(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
                 .thenThrow(new RuntimeException("权限检查异常"));
 
             // When
@@ -214,7 +216,7 @@ class RbacValidatorTest {
             // Given
             String roleName = "admin";
             List<Role> userRoles = Arrays.asList(testRole);
-            when(userPermissionProvider.getUserRoles(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserRoles(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(userRoles);
 
             // When
@@ -222,7 +224,7 @@ class RbacValidatorTest {
 
             // Then
             assertTrue(result);
-            verify(userPermissionProvider).getUserRoles(testUser.getTenantId(), testUser.getUserId());
+            verify(userPermissionProvider).getUserRoles(testUser.getUserId(), testUser.getTenantId());
         }
 
         @Test
@@ -238,7 +240,7 @@ class RbacValidatorTest {
         @DisplayName("应该拒绝没有角色的用户")
         void shouldDenyUserWithoutRoles() {
             // Given
-            when(userPermissionProvider.getUserRoles(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserRoles(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(Collections.emptyList());
 
             // When
@@ -246,14 +248,14 @@ class RbacValidatorTest {
 
             // Then
             assertFalse(result);
-            verify(userPermissionProvider).getUserRoles(testUser.getTenantId(), testUser.getUserId());
+            verify(userPermissionProvider).getUserRoles(testUser.getUserId(), testUser.getTenantId());
         }
 
         @Test
         @DisplayName("应该拒绝null角色列表的用户")
         void shouldDenyUserWithNullRoles() {
             // Given
-            when(userPermissionProvider.getUserRoles(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserRoles(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(null);
 
             // When
@@ -261,7 +263,7 @@ class RbacValidatorTest {
 
             // Then
             assertFalse(result);
-            verify(userPermissionProvider).getUserRoles(testUser.getTenantId(), testUser.getUserId());
+            verify(userPermissionProvider).getUserRoles(testUser.getUserId(), testUser.getTenantId());
         }
 
         @Test
@@ -270,7 +272,7 @@ class RbacValidatorTest {
             // Given
             String roleName = "non-existent";
             List<Role> userRoles = Arrays.asList(testRole);
-            when(userPermissionProvider.getUserRoles(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserRoles(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(userRoles);
 
             // When
@@ -284,7 +286,7 @@ class RbacValidatorTest {
         @DisplayName("应该处理角色检查异常")
         void shouldHandleRoleCheckException() {
             // Given
-            when(userPermissionProvider.getUserRoles(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserRoles(testUser.getUserId(), testUser.getTenantId()))
                 .thenThrow(new RuntimeException("角色检查异常"));
 
             // When
@@ -316,7 +318,7 @@ class RbacValidatorTest {
             perm3.setAction("read");
             
             List<Permission> userPermissions = Arrays.asList(perm1, perm2, perm3);
-            when(userPermissionProvider.getUserPermissions(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(userPermissions);
 
             // When & Then
@@ -341,7 +343,7 @@ class RbacValidatorTest {
             role3.setName("guest");
             
             List<Role> userRoles = Arrays.asList(role1, role2, role3);
-            when(userPermissionProvider.getUserRoles(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserRoles(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(userRoles);
 
             // When & Then
@@ -358,7 +360,7 @@ class RbacValidatorTest {
             Role role = createTestRole();
             role.setName("Admin");
             List<Role> userRoles = Arrays.asList(role);
-            when(userPermissionProvider.getUserRoles(testUser.getTenantId(), testUser.getUserId()))
+            when(userPermissionProvider.getUserRoles(testUser.getUserId(), testUser.getTenantId()))
                 .thenReturn(userRoles);
 
             // When & Then
@@ -368,6 +370,109 @@ class RbacValidatorTest {
         }
     }
 
+    @Nested
+    @DisplayName("通配权限与索引缓存测试")
+    class WildcardIndexTests {
+
+        @Test
+        @DisplayName("应该通过通配授权匹配资源和操作")
+        void shouldMatchWildcardGrants() {
+            // Given
+            Permission orderAll = createTestPermission();
+            orderAll.setResource("order");
+            orderAll.setAction("*");
+            Permission itemTree = createTestPermission();
+            itemTree.setResource("order.item.*");
+            itemTree.setAction("read");
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
+                .thenReturn(Arrays.asList(orderAll, itemTree));
+
+            // When & Then
+            assertTrue(rbacValidator.hasPermission(testUser, "order", "delete"));
+            assertTrue(rbacValidator.hasPermission(testUser, "order.item.detail", "read"));
+            assertTrue(rbacValidator.hasPermission(testUser, "order.item.detail.sku", "read"));
+            assertFalse(rbacValidator.hasPermission(testUser, "order.item", "read"));
+            assertFalse(rbacValidator.hasPermission(testUser, "order.item.detail", "write"));
+        }
+
+        @Test
+        @DisplayName("索引命中时应该不再调用提供者")
+        void shouldServeIndexWithoutCallingProvider() {
+            // Given 提供者每次返回新的列表实例
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
+                .thenAnswer(inv -> new ArrayList<>(Arrays.asList(testPermission)));
+
+            // When
+            PermissionIndex first = rbacValidator.getPermissionIndex(testUser);
+            PermissionIndex second = rbacValidator.getPermissionIndex(testUser);
+
+            // Then
+            assertSame(first, second);
+            assertEquals(1L, rbacValidator.getIndexCacheStats().get("hitCount"));
+            verify(userPermissionProvider, times(1))
+                .getUserPermissions(testUser.getUserId(), testUser.getTenantId());
+        }
+
+        @Test
+        @DisplayName("没有权限的用户应该缓存空索引")
+        void shouldCacheEmptyIndex() {
+            // Given
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
+                .thenReturn(Collections.emptyList());
+
+            // When
+            assertFalse(rbacValidator.hasPermission(testUser, "user", "read"));
+            assertFalse(rbacValidator.hasPermission(testUser, "user", "read"));
+
+            // Then
+            verify(userPermissionProvider, times(1))
+                .getUserPermissions(testUser.getUserId(), testUser.getTenantId());
+        }
+
+        @Test
+        @DisplayName("失效或过期后应该重新加载权限")
+        void shouldReloadAfterInvalidationOrExpiry() {
+            // Given
+            AtomicLong clock = new AtomicLong();
+            RbacValidator validator = new RbacValidator(userPermissionProvider, 100, 1_000L, clock::get);
+            Permission write = createTestPermission();
+            write.setAction("write");
+            when(userPermissionProvider.getUserPermissions(testUser.getUserId(), testUser.getTenantId()))
+                .thenReturn(Arrays.asList(testPermission))
+                .thenReturn(Arrays.asList(write))
+                .thenReturn(Arrays.asList(testPermission));
+
+            // When & Then
+            assertTrue(validator.hasPermission(testUser, "user", "read"));
+            assertTrue(validator.hasPermission(testUser, "user", "read"));
+            validator.invalidateIndex(testUser.getTenantId(), testUser.getUserId());
+            assertFalse(validator.hasPermission(testUser, "user", "read"));
+            clock.addAndGet(1_000L);
+            assertTrue(validator.hasPermission(testUser, "user", "read"));
+        }
+    }
+
+    @Nested
+    @DisplayName("提供者调用测试")
+    class ProviderArgumentTests {
+
+        @Test
+        @DisplayName("应该按 (userId, tenantId) 顺序向提供者查询权限和角色")
+        void shouldQueryProviderByUserIdThenTenantId() {
+            // Given 提供者只按用户ID匹配
+            when(userPermissionProvider.getUserPermissions(eq(testUser.getUserId()), anyString()))
+                .thenReturn(Arrays.asList(testPermission));
+            when(userPermissionProvider.getUserRoles(eq(testUser.getUserId()), anyString()))
+                .thenReturn(Arrays.asList(testRole));
+
+            // When & Then
+            assertTrue(rbacValidator.hasPermission(testUser, "user", "read"));
+            assertTrue(rbacValidator.hasRole(testUser, testRole.getName()));
+            verify(userPermissionProvider).getUserPermissions(testUser.getUserId(), testUser.getTenantId());
+            verify(userPermissionProvider).getUserRoles(testUser.getUserId(), testUser.getTenantId());
+        }
+    }
+
     // ==================== 辅助方法 ====================
 
     private User createTestUser() {